@@ -3,6 +3,7 @@ package com.kimbap.kbs;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @MapperScan({"com.kimbap.kbs.standard.mapper",
 			 "com.kimbap.kbs.simjaejine.mapper",
@@ -15,6 +16,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 			 "com.kimbap.kbs.dashboard.mapper",
 		   "com.kimbap.kbs.distribution.mapper"})
 @SpringBootApplication
+@EnableScheduling
 public class KbsApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,165 @@
+package com.kimbap.kbs.common.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.kimbap.kbs.common.exception.QueryBudgetExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청별 SQL 실행 수 제한 (N+1 감지)
+ *
+ * - StatementMetricsInterceptor 가 요청 안에서 실행한 매퍼 문장을 여기에 기록한다 (요청 속성에 집계, fork 한 조회 포함).
+ * - 요청 하나의 전체 실행 수가 endpoint 별 허용치(kbs.query-budget.limits, 없으면 default-limit)를 넘거나
+ *   같은 문장이 repeat-limit 번을 넘게 반복되면 (반복문 안의 조회 = N+1) 위반으로 본다.
+ * - 위반 시 kbs.query-budget.exceeded 카운터(endpoint, kind=total|repeat, statement 태그)를 올리고 WARN 로그.
+ *   요청마다 종류별로 한 번만 기록한다.
+ * - mode=fail 이면 위반한 문장에서 QueryBudgetExceededException 을 던진다 - 통합 테스트에서 왕복 수 회귀를 잡는 용도.
+ *   mode=off 면 아무것도 기록하지 않는다.
+ * - 요청이 끝나면 kbs.query-budget.statements (요청당 실행 수 분포, endpoint 태그) 에 남긴다.
+ */
+@Slf4j
+@Component
+public class QueryBudget {
+
+  enum Mode {
+    OFF, WARN, FAIL
+  }
+
+  private static final String ATTRIBUTE = QueryBudget.class.getName() + ".tracker";
+
+  private final Mode mode;
+  private final int defaultLimit;
+  private final Map<String, Integer> limits;
+  private final int repeatLimit;
+  private final MeterRegistry registry;
+
+  @Autowired
+  public QueryBudget(@Value("${kbs.query-budget.mode:warn}") String mode,
+      @Value("${kbs.query-budget.default-limit:50}") int defaultLimit,
+      @Value("${kbs.query-budget.limits:}") String limits,
+      @Value("${kbs.query-budget.repeat-limit:10}") int repeatLimit,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this(Mode.valueOf(mode.trim().toUpperCase()), defaultLimit, parseLimits(limits), repeatLimit,
+        meterRegistry.getIfAvailable());
+  }
+
+  QueryBudget(Mode mode, int defaultLimit, Map<String, Integer> limits, int repeatLimit, MeterRegistry registry) {
+    this.mode = mode;
+    this.defaultLimit = defaultLimit;
+    this.limits = limits;
+    this.repeatLimit = repeatLimit;
+    this.registry = registry;
+  }
+
+  // 요청 처리 중이 아니면 (스케줄러, 스트리밍 응답 스레드 등) 무시
+  public void record(String endpoint, String statement) {
+    if (mode == Mode.OFF || StatementMetricsInterceptor.NO_ENDPOINT.equals(endpoint)) {
+      return;
+    }
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return;
+    }
+    tracker(attributes, endpoint).record(statement);
+  }
+
+  int limitOf(String endpoint) {
+    return limits.getOrDefault(endpoint, defaultLimit);
+  }
+
+  private Tracker tracker(RequestAttributes attributes, String endpoint) {
+    Tracker tracker = (Tracker) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (tracker != null) {
+      return tracker;
+    }
+    // fork 한 조회가 동시에 첫 문장을 실행할 수 있다
+    synchronized (this) {
+      tracker = (Tracker) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+      if (tracker == null) {
+        Tracker created = new Tracker(endpoint, limitOf(endpoint));
+        attributes.setAttribute(ATTRIBUTE, created, RequestAttributes.SCOPE_REQUEST);
+        attributes.registerDestructionCallback(ATTRIBUTE, created::completed, RequestAttributes.SCOPE_REQUEST);
+        tracker = created;
+      }
+      return tracker;
+    }
+  }
+
+  private void violated(String endpoint, String kind, String statement, String message) {
+    if (registry != null) {
+      Counter.builder("kbs.query-budget.exceeded")
+          .description("요청당 SQL 실행 수 허용치 초과")
+          .tag("endpoint", endpoint).tag("kind", kind).tag("statement", statement)
+          .register(registry).increment();
+    }
+    log.warn("SQL 실행 수 초과 [{}] {}", endpoint, message);
+    if (mode == Mode.FAIL) {
+      throw new QueryBudgetExceededException("[" + endpoint + "] " + message);
+    }
+  }
+
+  // "GET /api/order/list=10,POST /api/distribution/release=20" → endpoint 별 허용치
+  static Map<String, Integer> parseLimits(String spec) {
+    Map<String, Integer> map = new HashMap<>();
+    if (spec == null || spec.isBlank()) {
+      return map;
+    }
+    for (String pair : spec.split(",")) {
+      int eq = pair.lastIndexOf('=');
+      if (eq <= 0) {
+        throw new IllegalArgumentException("kbs.query-budget.limits 형식 오류: " + pair);
+      }
+      map.put(pair.substring(0, eq).trim(), Integer.parseInt(pair.substring(eq + 1).trim()));
+    }
+    return map;
+  }
+
+  // 요청 하나의 집계
+  private final class Tracker {
+    private final String endpoint;
+    private final int limit;
+    private final AtomicInteger total = new AtomicInteger();
+    private final Map<String, AtomicInteger> perStatement = new ConcurrentHashMap<>();
+
+    private Tracker(String endpoint, int limit) {
+      this.endpoint = endpoint;
+      this.limit = limit;
+    }
+
+    private void record(String statement) {
+      int count = total.incrementAndGet();
+      int repeated = perStatement.computeIfAbsent(statement, k -> new AtomicInteger()).incrementAndGet();
+      // 허용치를 넘는 순간 한 번만
+      if (repeated == repeatLimit + 1) {
+        violated(endpoint, "repeat", statement,
+            statement + " 가 " + repeated + "번째 실행됨 (반복 허용 " + repeatLimit + "번, N+1 의심)");
+      }
+      if (count == limit + 1) {
+        violated(endpoint, "total", "*", count + "번째 SQL 실행 (허용 " + limit + "번), 마지막 문장 " + statement);
+      }
+    }
+
+    private void completed() {
+      if (registry != null) {
+        DistributionSummary.builder("kbs.query-budget.statements")
+            .description("요청당 SQL 실행 수").baseUnit("statements")
+            .tag("endpoint", endpoint)
+            .register(registry).record(total.get());
+      }
+    }
+  }
+}
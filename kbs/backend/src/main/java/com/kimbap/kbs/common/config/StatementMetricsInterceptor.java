@@ -0,0 +1,212 @@
+package com.kimbap.kbs.common.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 매퍼 문장(statement)별 실행 시간 / 처리 행 수 측정 (MyBatis 플러그인)
+ *
+ * - kbs.mybatis.statement (Timer) : statement(Mapper.method), type(select/insert/...), endpoint, outcome 태그
+ * - kbs.mybatis.rows (분포)        : statement, type, endpoint 태그 - select 는 결과 건수, DML 은 영향 행 수
+ *   /actuator/metrics, /actuator/prometheus 로 노출된다.
+ * - endpoint 는 요청을 처리 중인 컨트롤러 매핑 패턴 ("GET /api/mat/list"). 요청 밖(스케줄러 등)이면 "none".
+ * - 실행 시간이 kbs.mybatis.slow-query-ms 이상이면 WARN 으로 남긴다.
+ *   바인딩 값과 SQL 안의 문자열 리터럴은 남기지 않고 파라미터 이름과 타입만 남긴다 (개인정보/단가 노출 방지).
+ * - 요청 안에서 실행한 문장은 QueryBudget 에 넘겨 요청당 실행 수/반복(N+1)을 확인한다.
+ * - Cursor 조회는 여는 시간만 잰다 (행 수는 읽는 쪽에서 결정되므로 기록하지 않음).
+ */
+@Slf4j
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "update",
+        args = {MappedStatement.class, Object.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+        args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+  static final String NO_ENDPOINT = "none";
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final MeterRegistry registry;
+  private final long slowQueryNanos;
+  private final QueryBudget queryBudget;
+  // (statement, endpoint) 별 미터 - 호출마다 레지스트리에서 찾지 않도록
+  private final Map<MeterKey, Meters> meters = new ConcurrentHashMap<>();
+
+  @Autowired
+  public StatementMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${kbs.mybatis.slow-query-ms:500}") long slowQueryMillis,
+      QueryBudget queryBudget) {
+    this(meterRegistry.getIfAvailable(), slowQueryMillis, queryBudget);
+  }
+
+  StatementMetricsInterceptor(MeterRegistry registry, long slowQueryMillis, QueryBudget queryBudget) {
+    this.registry = registry;
+    this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+    this.queryBudget = queryBudget;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    Object[] args = invocation.getArgs();
+    MappedStatement ms = (MappedStatement) args[0];
+    String endpoint = currentEndpoint();
+    long start = System.nanoTime();
+    Object result = null;
+    boolean success = false;
+    try {
+      result = invocation.proceed();
+      success = true;
+      if (queryBudget != null) {
+        queryBudget.record(endpoint, shortId(ms.getId()));
+      }
+      return result;
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      long rows = rowCount(result);
+      if (registry != null) {
+        Meters m = meters.computeIfAbsent(new MeterKey(ms.getId(), endpoint), k -> register(ms, endpoint));
+        (success ? m.success : m.error).record(elapsed, TimeUnit.NANOSECONDS);
+        if (success && rows >= 0) {
+          m.rows.record(rows);
+        }
+      }
+      if (elapsed >= slowQueryNanos && log.isWarnEnabled()) {
+        logSlow(ms, args, endpoint, elapsed, rows, success);
+      }
+    }
+  }
+
+  private Meters register(MappedStatement ms, String endpoint) {
+    String statement = shortId(ms.getId());
+    String type = ms.getSqlCommandType().name().toLowerCase();
+    Timer.Builder timer = Timer.builder("kbs.mybatis.statement")
+        .description("매퍼 문장 실행 시간")
+        .tag("statement", statement).tag("type", type).tag("endpoint", endpoint);
+    return new Meters(
+        timer.tag("outcome", "success").register(registry),
+        timer.tag("outcome", "error").register(registry),
+        DistributionSummary.builder("kbs.mybatis.rows")
+            .description("매퍼 문장 처리 행 수").baseUnit("rows")
+            .tag("statement", statement).tag("type", type).tag("endpoint", endpoint)
+            .register(registry));
+  }
+
+  private void logSlow(MappedStatement ms, Object[] args, String endpoint, long elapsedNanos, long rows,
+      boolean success) {
+    try {
+      BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+      log.warn("느린 SQL {}ms {} endpoint={} rows={}{} params={} sql={}",
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos), shortId(ms.getId()), endpoint, rows,
+          success ? "" : " (실패)", describeParameters(ms, boundSql), redact(boundSql.getSql()));
+    } catch (RuntimeException e) {
+      log.warn("느린 SQL {}ms {} endpoint={} (SQL 확인 실패: {})",
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos), shortId(ms.getId()), endpoint, e.toString());
+    }
+  }
+
+  // com.kimbap.kbs.materials.mapper.MateMapper.getNextLotSequenceWithLock → MateMapper.getNextLotSequenceWithLock
+  static String shortId(String id) {
+    int method = id.lastIndexOf('.');
+    int mapper = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+    return id.substring(mapper + 1);
+  }
+
+  // 요청 처리 스레드면 "메서드 매핑패턴", 아니면 none
+  static String currentEndpoint() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes instanceof ServletRequestAttributes servlet) {
+      Object pattern = servlet.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+          RequestAttributes.SCOPE_REQUEST);
+      if (pattern != null) {
+        return servlet.getRequest().getMethod() + " " + pattern;
+      }
+    }
+    return NO_ENDPOINT;
+  }
+
+  // select 는 결과 건수, DML 은 영향 행 수, 알 수 없으면 -1
+  private static long rowCount(Object result) {
+    if (result instanceof List<?> list) {
+      return list.size();
+    }
+    if (result instanceof Integer count) {
+      return count;
+    }
+    return -1;
+  }
+
+  // 줄바꿈/들여쓰기를 한 칸으로, 문자열 리터럴은 '?' 로
+  static String redact(String sql) {
+    String literalsRemoved = STRING_LITERAL.matcher(sql).replaceAll("'?'");
+    return WHITESPACE.matcher(literalsRemoved).replaceAll(" ").trim();
+  }
+
+  // 바인딩 값 대신 "이름:타입" 목록 (DefaultParameterHandler 와 같은 순서로 값을 찾는다)
+  static List<String> describeParameters(MappedStatement ms, BoundSql boundSql) {
+    Object parameter = boundSql.getParameterObject();
+    MetaObject metaObject = null;
+    List<String> result = new ArrayList<>();
+    for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+      String name = mapping.getProperty();
+      Object value;
+      if (boundSql.hasAdditionalParameter(name)) {
+        value = boundSql.getAdditionalParameter(name);
+      } else if (parameter == null) {
+        value = null;
+      } else if (ms.getConfiguration().getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+        value = parameter;
+      } else {
+        if (metaObject == null) {
+          metaObject = ms.getConfiguration().newMetaObject(parameter);
+        }
+        value = metaObject.getValue(name);
+      }
+      result.add(name + ":" + (value == null ? "null" : value.getClass().getSimpleName()));
+    }
+    return result;
+  }
+
+  private record MeterKey(String statementId, String endpoint) {
+  }
+
+  private record Meters(Timer success, Timer error, DistributionSummary rows) {
+  }
+}
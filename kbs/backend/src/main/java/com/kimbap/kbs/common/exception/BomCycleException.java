@@ -0,0 +1,7 @@
+package com.kimbap.kbs.common.exception;
+
+public class BomCycleException extends RuntimeException {
+    public BomCycleException(String message) {
+        super(message);
+    }
+}
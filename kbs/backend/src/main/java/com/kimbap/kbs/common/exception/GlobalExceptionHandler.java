@@ -26,4 +26,19 @@ public class GlobalExceptionHandler {
     return ResponseEntity.badRequest()
                          .body(Map.of("message", e.getMessage()));
   }
-}
\ No newline at end of file
+  @ExceptionHandler(BomCycleException.class)
+  public ResponseEntity<?> handleBomCycle(BomCycleException e) {
+    return ResponseEntity.badRequest()
+                         .body(Map.of("message", e.getMessage()));
+  }
+  @ExceptionHandler(PutAwayException.class)
+  public ResponseEntity<?> handlePutAway(PutAwayException e) {
+    return ResponseEntity.badRequest()
+                         .body(Map.of("message", e.getMessage()));
+  }
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<?> handleInvalidCursor(InvalidCursorException e) {
+    return ResponseEntity.badRequest()
+                         .body(Map.of("message", e.getMessage()));
+  }
+}
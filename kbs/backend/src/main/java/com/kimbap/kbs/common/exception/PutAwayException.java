@@ -0,0 +1,8 @@
+package com.kimbap.kbs.common.exception;
+
+// 적재 계획 불가 (구역 용량 부족 / 다른 품목 적재 구역 지정 / 창고 공간 부족)
+public class PutAwayException extends RuntimeException {
+  public PutAwayException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package com.kimbap.kbs.common.exception;
+
+// 요청 하나의 SQL 실행 수가 허용치를 넘음 (kbs.query-budget.mode=fail 일 때만 - 통합 테스트용)
+public class QueryBudgetExceededException extends RuntimeException {
+  public QueryBudgetExceededException(String message) {
+    super(message);
+  }
+}
@@ -9,4 +9,7 @@ import com.kimbap.kbs.common.service.CommonDetailCodeVO;
 @Mapper
 public interface CommonDetailCodeMapper {
   List<CommonDetailCodeVO> selectDetailCodesByGroup(String groupCd);
+
+  // 전체 그룹 (group_cd, seq 순)
+  List<CommonDetailCodeVO> selectAllDetailCodes();
 }
@@ -0,0 +1,27 @@
+package com.kimbap.kbs.common.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface KeySequenceMapper {
+  // 블록 상한(high-water) 증가 - 갱신된 행 수 반환 (0이면 해당 키의 행이 아직 없음)
+  int increaseHighWater(@Param("seqKey") String seqKey,
+                        @Param("seqDt") String seqDt,
+                        @Param("blockSize") int blockSize);
+
+  // 키별 최초 행 등록
+  int insertHighWater(@Param("seqKey") String seqKey,
+                      @Param("seqDt") String seqDt,
+                      @Param("hiVal") long hiVal);
+
+  // 현재 블록 상한 조회
+  long selectHighWater(@Param("seqKey") String seqKey,
+                       @Param("seqDt") String seqDt);
+
+  // 기존 데이터 기준 마지막 순번 조회 (키/버킷별 최초 1회만 사용)
+  long selectSeedSequence(@Param("seedTable") String seedTable,
+                          @Param("seedColumn") String seedColumn,
+                          @Param("keyPrefix") String keyPrefix,
+                          @Param("seqStart") int seqStart);
+}
@@ -0,0 +1,26 @@
+package com.kimbap.kbs.common.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.kimbap.kbs.common.service.StockBalanceVO;
+import com.kimbap.kbs.common.service.StockEntryVO;
+
+@Mapper
+public interface StockLedgerMapper {
+  // 원장 일괄 추가 (ledger_id 는 시퀀스)
+  int insertEntries(List<StockEntryVO> entries);
+
+  // 현재고 일괄 증감 - (itemCode, verCd, fcode) 중복 없이 합산해서 넘긴다
+  int mergeBalances(List<StockBalanceVO> deltas);
+
+  // 품목/버전(/공장) 현재고 - 공장을 비우면 전 공장
+  List<StockBalanceVO> selectBalances(@Param("itemCode") String itemCode,
+                                      @Param("verCd") String verCd,
+                                      @Param("fcode") String fcode);
+
+  // 현재고 vs ware_stock 합계 차이
+  List<StockBalanceVO> selectBalanceDrift();
+}
@@ -0,0 +1,16 @@
+package com.kimbap.kbs.common.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import com.kimbap.kbs.common.service.AreaOccupancyVO;
+
+@Mapper
+public interface WarehouseOccupancyMapper {
+  // 사용 중인 창고구역 전체 (창고/공장코드 포함)
+  List<AreaOccupancyVO> selectAreas();
+
+  // 구역/품목별 현재 적재량 (수량 0 인 재고행 제외)
+  List<AreaOccupancyVO> selectOccupancy();
+}
@@ -0,0 +1,24 @@
+package com.kimbap.kbs.common.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 창고구역 적재 현황 (구역 기준정보 + 현재 적재량/적재 품목)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AreaOccupancyVO {
+  private String wcode;           // 창고코드
+  private String fcode;           // 공장코드
+  private String wareAreaCd;      // 창고구역코드
+  private String areaRow;         // 구역행
+  private Integer areaCol;        // 구역열
+  private Integer areaFloor;      // 구역층
+  private Integer vol;            // 용량
+  private Integer currentVolume;  // 현재 적재량
+  private Integer availableVolume; // 잔여 용량
+  private String currentItem;     // 적재된 품목코드 (자재 mcode / 제품 pcode, 비어 있으면 null)
+}
@@ -0,0 +1,122 @@
+package com.kimbap.kbs.common.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * 공통코드 사전 (group_cd → d_cd → 코드명 / 순번)
+ *
+ * 한 번 만들면 바뀌지 않는다 - 갱신은 사전을 통째로 새로 만들어 바꾼다.
+ * 순번(ordinal)은 그룹 안 seq 순서대로 0, 1, 2 ... 없는 코드는 -1.
+ * 상태별 건수처럼 메모리에서 모으는 곳은 문자열 대신 순번 배열(int[size])로 집계한다.
+ */
+public final class CommonCodeDictionary {
+
+  private final Map<String, Group> groups;
+
+  public CommonCodeDictionary(Map<String, Group> groups) {
+    this.groups = Map.copyOf(groups);
+  }
+
+  // 없는 그룹이면 빈 그룹
+  public Group group(String groupCd) {
+    Group group = groups.get(groupCd);
+    return group != null ? group : Group.empty(groupCd);
+  }
+
+  // 코드명 (사전에 없으면 코드 그대로)
+  public String label(String groupCd, String code) {
+    Group group = groups.get(groupCd);
+    return group != null ? group.label(code) : code;
+  }
+
+  public int ordinal(String groupCd, String code) {
+    Group group = groups.get(groupCd);
+    return group != null ? group.ordinal(code) : -1;
+  }
+
+  public Set<String> groupCodes() {
+    return groups.keySet();
+  }
+
+  public static final class Group {
+
+    private static final byte[] EMPTY_JSON = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final String groupCd;
+    private final List<CommonDetailCodeVO> rows;
+    private final String[] codes;
+    private final String[] labels;
+    private final Map<String, Integer> ordinals;
+    private final byte[] json;
+    private final String etag;
+
+    /**
+     * @param rows seq 순으로 정렬된 그룹의 코드
+     * @param json rows 를 /api/common/{groupCd} 응답 그대로 직렬화한 값
+     */
+    public Group(String groupCd, List<CommonDetailCodeVO> rows, byte[] json) {
+      this.groupCd = groupCd;
+      this.rows = List.copyOf(rows);
+      this.codes = new String[rows.size()];
+      this.labels = new String[rows.size()];
+      this.ordinals = new HashMap<>(rows.size() * 2);
+      for (int i = 0; i < rows.size(); i++) {
+        CommonDetailCodeVO row = rows.get(i);
+        codes[i] = row.getDCd();
+        labels[i] = row.getCdInfo();
+        ordinals.putIfAbsent(row.getDCd(), i);
+      }
+      this.json = json;
+      this.etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+    }
+
+    static Group empty(String groupCd) {
+      return new Group(groupCd, List.of(), EMPTY_JSON);
+    }
+
+    public String getGroupCd() {
+      return groupCd;
+    }
+
+    public List<CommonDetailCodeVO> rows() {
+      return rows;
+    }
+
+    public int size() {
+      return codes.length;
+    }
+
+    public int ordinal(String code) {
+      Integer ordinal = code != null ? ordinals.get(code) : null;
+      return ordinal != null ? ordinal : -1;
+    }
+
+    public String codeAt(int ordinal) {
+      return codes[ordinal];
+    }
+
+    public String labelAt(int ordinal) {
+      return labels[ordinal];
+    }
+
+    public String label(String code) {
+      int ordinal = ordinal(code);
+      return ordinal >= 0 ? labels[ordinal] : code;
+    }
+
+    // 미리 직렬화한 응답 본문 (공유 배열이라 수정 금지)
+    public byte[] json() {
+      return json;
+    }
+
+    public String etag() {
+      return etag;
+    }
+  }
+}
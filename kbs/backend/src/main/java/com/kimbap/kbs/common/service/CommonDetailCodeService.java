@@ -4,4 +4,10 @@ import java.util.List;
 
 public interface CommonDetailCodeService {
   List<CommonDetailCodeVO> getDetailCodes(String groupCd);
+
+  // 전체 공통코드 사전 (코드명 / 순번 조회, 그룹별 응답 본문)
+  CommonCodeDictionary getDictionary();
+
+  // 코드명 (사전에 없으면 코드 그대로)
+  String getLabel(String groupCd, String code);
 }
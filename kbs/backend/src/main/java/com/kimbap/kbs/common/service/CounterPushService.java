@@ -0,0 +1,52 @@
+package com.kimbap.kbs.common.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 건수 변경 푸시 채널 (SSE)
+ * 화면은 구독한 뒤 기존 건수 API 로 기준값을 한 번 읽고, 이후에는 "counters" 이벤트의 증감만 더한다.
+ * 이벤트 데이터는 {"토픽.키": 증감} (예: {"moveRequest.d1": -1, "moveRequest.d2": 1}).
+ *
+ * 토픽: dashboard(prodInbo/prodReturn/releaseOrd/prodRel), moveRequest(move_status),
+ *       purchaseOrder(purc_d_status), order(ord_status_customer),
+ *       return(v1 요청대기 / v2 요청취소 / w1 승인 / w2 거절)
+ *
+ * 브라우저 EventSource 는 Authorization 헤더를 못 보내므로, 로그인한 화면이 issueTicket 으로 받은
+ * 일회용 티켓(짧은 유효시간)을 쿼리 파라미터로 붙여 구독한다. JWT 자체는 URL 에 싣지 않는다.
+ */
+public interface CounterPushService {
+
+  // 구독용 일회용 티켓 발급
+  String issueTicket(String username);
+
+  // 티켓 사용 (유효하면 true, 한 번 쓰면 없어진다)
+  boolean redeemTicket(String ticket);
+
+  // 구독 (SSE 연결)
+  SseEmitter subscribe();
+
+  // 건수 증감 방송 - 트랜잭션 안에서 호출하면 커밋 후에 보낸다
+  void publish(String topic, Map<String, Integer> deltas);
+
+  // 상태 이동 count 건 (from → to) 방송 - from 이 null 이면 새로 생긴 건, 같은 상태면 보내지 않는다
+  default void publishTransition(String topic, String from, String to, int count) {
+    if (count == 0 || Objects.equals(from, to)) {
+      return;
+    }
+    Map<String, Integer> deltas = new HashMap<>();
+    if (from != null) {
+      deltas.put(from, -count);
+    }
+    if (to != null) {
+      deltas.put(to, count);
+    }
+    publish(topic, deltas);
+  }
+
+  // 현재 구독자 수
+  int getSubscriberCount();
+}
@@ -0,0 +1,68 @@
+package com.kimbap.kbs.common.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 업무코드 형식 정의: 접두어 + [날짜 버킷 + 구분자] + 순번(width 자리 0 채움)
+ *
+ * 예) LOT-100-20250530-001 : prefix "LOT-100-", datePattern "yyyyMMdd", separator "-", width 3
+ *     ORD-20250001         : prefix "ORD-",     datePattern "yyyy",     separator "",  width 4
+ *     PURC-001             : prefix "PURC-",    datePattern 없음,        width 3
+ *
+ * - 날짜가 바뀌면 버킷이 바뀌어 순번이 1부터 다시 시작한다.
+ * - 순번이 width 자리를 넘으면 자릿수가 늘어난다 (IN-999 → IN-1000). 중복/예외 없음.
+ * - seedTable/seedColumn 은 키별 최초 예약 시 기존 데이터의 마지막 순번을 읽는 데 쓴다.
+ */
+@Getter
+public final class KeyFormat {
+
+  public static final String NO_DATE_BUCKET = "ALL";
+
+  private final String name;
+  private final String prefix;
+  private final String datePattern;
+  private final String separator;
+  private final int width;
+  private final String seedTable;
+  private final String seedColumn;
+
+  private final DateTimeFormatter dateFormatter;
+
+  @Builder
+  private KeyFormat(String name, String prefix, String datePattern, String separator, int width,
+                    String seedTable, String seedColumn) {
+    this.name = name;
+    this.prefix = prefix;
+    this.datePattern = datePattern;
+    this.separator = separator != null ? separator : "";
+    this.width = width;
+    this.seedTable = seedTable;
+    this.seedColumn = seedColumn;
+    this.dateFormatter = datePattern != null ? DateTimeFormatter.ofPattern(datePattern) : null;
+  }
+
+  // 날짜 버킷 (날짜 없는 코드는 ALL)
+  public String bucket(LocalDate date) {
+    return dateFormatter != null ? date.format(dateFormatter) : NO_DATE_BUCKET;
+  }
+
+  // 순번 앞부분 (LIKE 조회/순번 위치 계산용)
+  public String keyPrefix(String bucket) {
+    return dateFormatter != null ? prefix + bucket + separator : prefix;
+  }
+
+  public String format(String bucket, long seq) {
+    String keyPrefix = keyPrefix(bucket);
+    String digits = Long.toString(seq);
+    StringBuilder sb = new StringBuilder(keyPrefix.length() + Math.max(width, digits.length()));
+    sb.append(keyPrefix);
+    for (int i = digits.length(); i < width; i++) {
+      sb.append('0');
+    }
+    return sb.append(digits).toString();
+  }
+}
@@ -0,0 +1,103 @@
+package com.kimbap.kbs.common.service;
+
+/**
+ * 업무코드 형식 모음. 새 코드가 필요하면 여기에 KeyFormat 을 추가해서 KeyGeneratorService 로 발번한다.
+ */
+public final class KeyFormats {
+
+  private KeyFormats() {
+  }
+
+  // ===== LOT / 창고재고 =====
+  // 자재 LOT (원자재 100 / 부자재 200): LOT-100-20250530-001
+  public static final KeyFormat MATE_LOT_100 = lot("100", "mate_inbo");
+  public static final KeyFormat MATE_LOT_200 = lot("200", "mate_inbo");
+  // 완제품 LOT: LOT-300-20250530-1
+  public static final KeyFormat PROD_LOT = KeyFormat.builder()
+      .name("LOT_300").prefix("LOT-300-").datePattern("yyyyMMdd").separator("-").width(1)
+      .seedTable("prod_inbo").seedColumn("lot_no").build();
+  // 창고재고목록: WStock-250530-001
+  public static final KeyFormat WARE_STOCK = KeyFormat.builder()
+      .name("WSTOCK").prefix("WStock-").datePattern("yyMMdd").separator("-").width(3)
+      .seedTable("ware_stock").seedColumn("wslcode").build();
+
+  // ===== 자재 =====
+  // 발주서: PURC-001
+  public static final KeyFormat PURC = KeyFormat.builder()
+      .name("PURC").prefix("PURC-").width(3)
+      .seedTable("purc_ord").seedColumn("purc_cd").build();
+  // 발주서상세: PURC-D-001
+  public static final KeyFormat PURC_D = KeyFormat.builder()
+      .name("PURC_D").prefix("PURC-D-").width(3)
+      .seedTable("purc_ord_d").seedColumn("purc_d_cd").build();
+  // 이동요청: MR-250530-001
+  public static final KeyFormat MOVE_REQ = KeyFormat.builder()
+      .name("MOVE_REQ").prefix("MR-").datePattern("yyMMdd").separator("-").width(3)
+      .seedTable("move_req").seedColumn("move_req_cd").build();
+  // 이동요청상세: MRD-250530-001
+  public static final KeyFormat MOVE_REQ_D = KeyFormat.builder()
+      .name("MOVE_REQ_D").prefix("MRD-").datePattern("yyMMdd").separator("-").width(3)
+      .seedTable("move_req_d").seedColumn("mrdcode").build();
+  // 창고이동이력: WMH-250530-001
+  public static final KeyFormat WARE_MOVE = KeyFormat.builder()
+      .name("WARE_MOVE").prefix("WMH-").datePattern("yyMMdd").separator("-").width(3)
+      .seedTable("ware_move_his").seedColumn("ware_move_cd").build();
+
+  // ===== 주문 / 출고 =====
+  // 주문: ORD-20250001
+  public static final KeyFormat ORD = KeyFormat.builder()
+      .name("ORD").prefix("ORD-").datePattern("yyyy").width(4)
+      .seedTable("order_list").seedColumn("ord_cd").build();
+  // 주문상세: ORDD-2025-000001
+  public static final KeyFormat ORD_D = KeyFormat.builder()
+      .name("ORD_D").prefix("ORDD-").datePattern("yyyy").separator("-").width(6)
+      .seedTable("order_d").seedColumn("ord_d_cd").build();
+  // 출고지시: REL-20250530-0001
+  public static final KeyFormat REL_ORD = KeyFormat.builder()
+      .name("REL_ORD").prefix("REL-").datePattern("yyyyMMdd").separator("-").width(4)
+      .seedTable("release_ord").seedColumn("rel_ord_cd").build();
+  // 제품출고: PR-202505300001
+  public static final KeyFormat PROD_REL = KeyFormat.builder()
+      .name("PROD_REL").prefix("PR-").datePattern("yyyyMMdd").width(4)
+      .seedTable("prod_rel").seedColumn("prod_rel_cd").build();
+
+  // ===== 생산 =====
+  // 제품입고: IN-20250804-0001
+  public static final KeyFormat PROD_INBO = KeyFormat.builder()
+      .name("PROD_INBO").prefix("IN-").datePattern("yyyyMMdd").separator("-").width(4)
+      .seedTable("prod_inbo").seedColumn("prod_inbo_cd").build();
+  // 자재출고: MATO-202505-0001
+  public static final KeyFormat MATE_REL = KeyFormat.builder()
+      .name("MATE_REL").prefix("MATO-").datePattern("yyyyMM").separator("-").width(4)
+      .seedTable("mate_rel").seedColumn("mate_rel_cd").build();
+  // MRP상세: MRPD-2025-000001
+  public static final KeyFormat MRP_D = KeyFormat.builder()
+      .name("MRP_D").prefix("MRPD-").datePattern("yyyy").separator("-").width(6)
+      .seedTable("mrp_d").seedColumn("mrp_d_cd").build();
+
+  // ===== 기준정보 =====
+  // 버전 참조 동기화 작업: VSYNC-250530-001
+  public static final KeyFormat VER_SYNC = KeyFormat.builder()
+      .name("VER_SYNC").prefix("VSYNC-").datePattern("yyMMdd").separator("-").width(3)
+      .seedTable("ver_sync_job").seedColumn("job_id").build();
+
+  // ===== 회계 =====
+  // 입금: IN-001 / 출금: OUT-001
+  public static final KeyFormat CASH_IN = KeyFormat.builder()
+      .name("CASH_IN").prefix("IN-").width(3)
+      .seedTable("statement").seedColumn("statement_cd").build();
+  public static final KeyFormat CASH_OUT = KeyFormat.builder()
+      .name("CASH_OUT").prefix("OUT-").width(3)
+      .seedTable("statement").seedColumn("statement_cd").build();
+
+  // 자재유형 LOT 코드(100/200)에 맞는 형식
+  public static KeyFormat mateLot(String lotTypeCode) {
+    return "200".equals(lotTypeCode) ? MATE_LOT_200 : MATE_LOT_100;
+  }
+
+  private static KeyFormat lot(String lotTypeCode, String seedTable) {
+    return KeyFormat.builder()
+        .name("LOT_" + lotTypeCode).prefix("LOT-" + lotTypeCode + "-").datePattern("yyyyMMdd")
+        .separator("-").width(3).seedTable(seedTable).seedColumn("lot_no").build();
+  }
+}
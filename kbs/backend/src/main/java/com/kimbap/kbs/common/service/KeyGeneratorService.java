@@ -0,0 +1,14 @@
+package com.kimbap.kbs.common.service;
+
+import java.util.List;
+
+public interface KeyGeneratorService {
+  // 오늘 날짜 버킷 기준 다음 코드
+  String nextKey(KeyFormat format);
+
+  // 여러 건 한 번에 발번 (상세 목록 등록 등)
+  List<String> nextKeys(KeyFormat format, int count);
+
+  // (형식, 버킷)별 다음 순번
+  long nextSequence(KeyFormat format, String bucket);
+}
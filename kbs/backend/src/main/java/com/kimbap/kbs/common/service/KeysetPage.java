@@ -0,0 +1,17 @@
+package com.kimbap.kbs.common.service;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// keyset 페이지 응답 (다음 페이지는 nextCursor 를 cursor 로 넘겨서 조회)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetPage<T> {
+  private List<T> items;
+  private String nextCursor;   // 마지막 페이지면 null
+  private boolean hasNext;
+}
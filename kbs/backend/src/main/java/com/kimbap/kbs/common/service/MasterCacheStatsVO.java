@@ -0,0 +1,22 @@
+package com.kimbap.kbs.common.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 기준정보 캐시 영역별 통계
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MasterCacheStatsVO {
+  private String region;          // 영역
+  private int size;               // 현재 건수
+  private int maxSize;            // 최대 건수
+  private long hits;              // 적중
+  private long misses;            // 미적중 (DB 조회)
+  private long evictions;         // 크기 초과로 밀려난 건수
+  private long invalidations;     // 기준정보 저장으로 지운 횟수
+  private double hitRate;         // 적중률 (0~1)
+}
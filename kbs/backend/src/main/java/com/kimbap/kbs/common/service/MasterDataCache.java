@@ -0,0 +1,42 @@
+package com.kimbap.kbs.common.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 기준정보(자재/제품/공장/창고/거래처/공통코드) read-through 캐시
+ *
+ * 키는 코드|버전|용도. 버전을 지정하지 않는 조회(사용중 최신)는 LATEST,
+ * 목록은 코드 자리에 LIST 를 두고 버전 자리에 조건(공장코드 등)을 넣는다.
+ * 값은 여러 요청이 같이 쓰므로 꺼낸 객체를 수정하지 않는다 (목록은 수정 불가로 저장).
+ */
+public interface MasterDataCache {
+  // 사용중 최신 버전
+  String LATEST = "latest";
+
+  // 목록 캐시의 코드 자리 (해당 영역의 어떤 코드가 바뀌어도 같이 지운다)
+  String LIST = "*";
+
+  static String key(String code, String version, String view) {
+    return code + "|" + version + "|" + view;
+  }
+
+  // 있으면 캐시 값, 없으면 loader 결과를 저장하고 반환 (null 도 저장)
+  <T> T get(MasterRegion region, String key, Supplier<T> loader);
+
+  // 코드 여러 개 - 캐시에 없는 코드만 loader 한 번으로 조회 (loader 결과에 없는 코드는 '없음'으로 저장)
+  <T> Map<String, T> getAll(MasterRegion region, Collection<String> codes, String version, String view,
+      Function<List<String>, Map<String, T>> loader);
+
+  // 코드의 모든 버전/용도 + 영역의 목록 캐시 제거 (기준정보 저장 후)
+  void evict(MasterRegion region, String code);
+
+  // 영역 전체 제거
+  void evictAll(MasterRegion region);
+
+  // 영역별 건수 / 적중 / 미적중 / 밀어냄 통계
+  List<MasterCacheStatsVO> stats();
+}
@@ -0,0 +1,11 @@
+package com.kimbap.kbs.common.service;
+
+// 기준정보 캐시 영역 (영역마다 크기 제한/통계/무효화가 따로)
+public enum MasterRegion {
+  MATERIAL,      // material (+ 공급사)
+  PRODUCT,       // product
+  FACTORY,       // factory
+  WAREHOUSE,     // warehouse
+  COMPANY,       // company
+  COMMON_CODE    // detail_cd
+}
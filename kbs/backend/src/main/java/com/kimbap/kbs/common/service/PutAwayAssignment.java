@@ -0,0 +1,5 @@
+package com.kimbap.kbs.common.service;
+
+// 적재 계획 결과 1건 (입력 라인 lineNo 의 qty 를 wareAreaCd 에 적재)
+public record PutAwayAssignment(int lineNo, String wareAreaCd, int qty) {
+}
@@ -0,0 +1,8 @@
+package com.kimbap.kbs.common.service;
+
+/**
+ * 적재 계획 입력 1건
+ * wareAreaCd 가 있으면 그 구역에 전량 적재, 없으면 fcode 공장의 창고에서 구역을 골라 나눠 적재한다.
+ */
+public record PutAwayLine(String itemCode, int qty, String wareAreaCd, String fcode) {
+}
@@ -0,0 +1,24 @@
+package com.kimbap.kbs.common.service;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 품목/버전/공장별 현재고 (stock_balance)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockBalanceVO {
+  private String itemCode;
+  private String verCd;
+  private String fcode;
+  private String itemType;
+  private BigDecimal qty;
+  private BigDecimal wareQty;   // 대사용 - ware_stock 합계
+}
@@ -0,0 +1,34 @@
+package com.kimbap.kbs.common.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 원장 1행 (stock_ledger). qty 는 부호 있는 증감 (+ 적재/이동도착, - 출고/이동출발)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockEntryVO {
+  private Long ledgerId;
+  private String entryType;     // I 입고(적재), O 출고, M 이동, B 기초
+  private String entryCat;      // 구분 (발주, 출고유형 코드, 이동사유 등 - 입출고 내역 화면 표시용)
+  private String itemType;      // h1 원자재, h2 부자재, h3 완제품 (모르면 null)
+  private String itemCode;      // mcode / pcode
+  private String verCd;         // 자재/제품 버전
+  private String lotNo;
+  private String wareAreaCd;
+  private String fcode;         // 구역의 공장 (비우면 적재 현황 인덱스에서 찾는다)
+  private String wslcode;       // 관련 창고재고목록코드 (알 때만)
+  private BigDecimal qty;
+  private String refCd;         // 원천 문서 (입고코드, 출고코드, 이동요청상세코드 ...)
+  private String note;
+  private String regi;
+  private Timestamp regDt;
+}
@@ -0,0 +1,21 @@
+package com.kimbap.kbs.common.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface StockLedgerService {
+  // 버전/공장 코드를 모를 때 쓰는 값 (잔량 키에 NULL 을 두지 않는다)
+  String NONE = "-";
+
+  // 재고 증감 기록 - 원장 추가 + 공장별 현재고 갱신 + 구역 적재 현황 반영 (호출한 트랜잭션 안에서)
+  void post(List<StockEntryVO> entries);
+
+  // 품목/버전 현재고 (전 공장 합계)
+  BigDecimal getOnHand(String itemCode, String verCd);
+
+  // 품목/버전/공장 현재고
+  BigDecimal getOnHand(String itemCode, String verCd, String fcode);
+
+  // 현재고와 ware_stock 합계가 다른 (품목, 버전, 공장) 목록 (로그만 남김)
+  List<StockBalanceVO> reconcile();
+}
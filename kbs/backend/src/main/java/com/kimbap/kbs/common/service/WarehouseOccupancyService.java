@@ -0,0 +1,36 @@
+package com.kimbap.kbs.common.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 창고구역 적재 현황 인덱스
+ * 구역별 적재량/적재 품목을 메모리에 들고 있다가 ware_stock 쓰기 경로에서 증분 반영한다.
+ * 기록(recordChange)은 트랜잭션 안에서 호출하면 커밋 후에 반영된다.
+ */
+public interface WarehouseOccupancyService {
+
+  // 창고의 층별 구역 현황 (행/열 순)
+  List<AreaOccupancyVO> getAreasByFloor(String wcode, int floor);
+
+  // 공장 내 전체 창고의 구역 현황 (창고별 행/열/층 순)
+  List<AreaOccupancyVO> getAreasByFactory(String fcode);
+
+  // 구역 1건 (없는 구역이면 null)
+  AreaOccupancyVO getArea(String wareAreaCd);
+
+  // 같은 품목이 적재돼 있고 잔여 용량이 있는 공장 내 다른 구역 (잔여 용량 큰 순)
+  List<AreaOccupancyVO> getSameItemAreas(String itemCode, String fcode, String excludeAreaCd);
+
+  // 구역 재고 증감 (itemCode 는 자재 mcode / 제품 pcode)
+  void recordChange(String wareAreaCd, String itemCode, int delta);
+
+  // 원장 수량 그대로의 증감 - 소수 수량이면 적재량을 메모리로 맞출 수 없으므로 커밋 후 다시 적재한다
+  void recordChange(String wareAreaCd, String itemCode, BigDecimal delta);
+
+  // 창고/구역 기준정보 변경 - 다음 조회 때 다시 적재
+  void invalidate();
+
+  // DB 기준으로 다시 적재하고, 메모리와 달랐던 구역코드를 돌려준다
+  List<String> reconcile();
+}
@@ -1,25 +1,76 @@
 package com.kimbap.kbs.common.serviceimpl;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kimbap.kbs.common.mapper.CommonDetailCodeMapper;
+import com.kimbap.kbs.common.service.CommonCodeDictionary;
 import com.kimbap.kbs.common.service.CommonDetailCodeService;
 import com.kimbap.kbs.common.service.CommonDetailCodeVO;
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CommonDetailCodeServiceImpl implements CommonDetailCodeService {
-  
+
+  private static final String DICTIONARY_KEY = MasterDataCache.key(MasterDataCache.LIST, MasterDataCache.LATEST, "dictionary");
+
   @Autowired
   private final CommonDetailCodeMapper commonDetailCodeMapper;
+  private final MasterDataCache masterDataCache;
+  private final ObjectMapper objectMapper;
 
     @Override
     public List<CommonDetailCodeVO> getDetailCodes(String groupCd) {
-        return commonDetailCodeMapper.selectDetailCodesByGroup(groupCd);
+        return getDictionary().group(groupCd).rows();
+    }
+
+    // 전체 그룹을 한 번에 읽어 사전으로 보관 (detail_cd 는 화면에서 수정하지 않아 TTL 로만 갱신)
+    @Override
+    public CommonCodeDictionary getDictionary() {
+        return masterDataCache.get(MasterRegion.COMMON_CODE, DICTIONARY_KEY,
+            () -> compile(commonDetailCodeMapper.selectAllDetailCodes(), objectMapper));
+    }
+
+    @Override
+    public String getLabel(String groupCd, String code) {
+        return getDictionary().label(groupCd, code);
+    }
+
+    // group_cd, seq 순으로 정렬된 행 → 그룹별 순번표와 응답 본문. 코드 문자열은 intern 해서 그룹 간에 공유
+    static CommonCodeDictionary compile(List<CommonDetailCodeVO> rows, ObjectMapper objectMapper) {
+        Map<String, List<CommonDetailCodeVO>> byGroup = new LinkedHashMap<>();
+        for (CommonDetailCodeVO row : rows) {
+            row.setGroupCd(intern(row.getGroupCd()));
+            row.setDCd(intern(row.getDCd()));
+            row.setIsUsed(intern(row.getIsUsed()));
+            byGroup.computeIfAbsent(row.getGroupCd(), g -> new ArrayList<>()).add(row);
+        }
+        Map<String, CommonCodeDictionary.Group> groups = new LinkedHashMap<>();
+        byGroup.forEach((groupCd, codes) -> {
+            try {
+                groups.put(groupCd, new CommonCodeDictionary.Group(groupCd, codes, objectMapper.writeValueAsBytes(codes)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("공통코드 직렬화 실패: " + groupCd, e);
+            }
+        });
+        log.info("공통코드 사전 적재: {}개 그룹, {}건", groups.size(), rows.size());
+        return new CommonCodeDictionary(groups);
+    }
+
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
     }
 }
@@ -0,0 +1,161 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.kimbap.kbs.common.service.CounterPushService;
+import com.kimbap.kbs.common.util.TxUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 건수 변경 푸시 채널 구현
+ *
+ * - 구독자마다 가상 스레드 하나가 보낼 증감을 모아서 보낸다. 방송하는 쪽은 증감을 합쳐 두기만 하므로
+ *   느린 연결이 있어도 쓰기 트랜잭션이 기다리지 않는다.
+ * - 보내지 못한 증감은 키별로 합산되므로 연결당 메모리는 건수 키 개수를 넘지 않는다.
+ * - 전송이 실패하거나 연결이 끝나면 구독을 정리한다.
+ * - 구독 티켓은 무작위 값(32바이트)이고 TICKET_TTL_MS 안에 한 번만 쓸 수 있다. 만료된 티켓은 발급할 때 정리한다.
+ */
+@Slf4j
+@Service
+public class CounterPushServiceImpl implements CounterPushService {
+
+  // SSE 연결 유지 시간 (끊기면 브라우저 EventSource 가 다시 연결)
+  static final long TIMEOUT_MS = 30 * 60 * 1000L;
+
+  // 구독 티켓 유효시간 (발급 직후 바로 연결하므로 짧게)
+  static final long TICKET_TTL_MS = 30 * 1000L;
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  // 티켓 → 만료 시각(ms)
+  private final Map<String, Long> tickets = new ConcurrentHashMap<>();
+
+  @Override
+  public String issueTicket(String username) {
+    long now = System.currentTimeMillis();
+    tickets.values().removeIf(expiresAt -> expiresAt < now);
+    byte[] bytes = new byte[32];
+    RANDOM.nextBytes(bytes);
+    String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    tickets.put(ticket, now + TICKET_TTL_MS);
+    log.debug("건수 푸시 구독 티켓 발급: {}", username);
+    return ticket;
+  }
+
+  @Override
+  public boolean redeemTicket(String ticket) {
+    if (ticket == null) {
+      return false;
+    }
+    Long expiresAt = tickets.remove(ticket);
+    return expiresAt != null && expiresAt >= System.currentTimeMillis();
+  }
+
+  @Override
+  public SseEmitter subscribe() {
+    SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+    Subscriber subscriber = subscribe(deltas -> emitter.send(SseEmitter.event().name("counters").data(deltas)));
+    emitter.onCompletion(subscriber::close);
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(e -> subscriber.close());
+    return emitter;
+  }
+
+  // 구독 등록 (전송 방법 지정)
+  Subscriber subscribe(Sink sink) {
+    Subscriber subscriber = new Subscriber(sink);
+    subscribers.add(subscriber);
+    subscriber.sender.start();
+    return subscriber;
+  }
+
+  @Override
+  public void publish(String topic, Map<String, Integer> deltas) {
+    Map<String, Integer> event = new HashMap<>();
+    deltas.forEach((key, delta) -> {
+      if (delta != null && delta != 0) {
+        event.merge(topic + "." + key, delta, Integer::sum);
+      }
+    });
+    if (!event.isEmpty()) {
+      TxUtil.afterCommit(() -> subscribers.forEach(s -> s.offer(event)));
+    }
+  }
+
+  @Override
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  // 구독자에게 증감을 보내는 방법
+  @FunctionalInterface
+  interface Sink {
+    void send(Map<String, Integer> deltas) throws IOException;
+  }
+
+  // 구독자 1명 - 보낼 증감(키별 합산)과 전송 가상 스레드
+  final class Subscriber {
+    private final Sink sink;
+    private final Thread sender;
+    private Map<String, Integer> pending = new HashMap<>(); // this 로 보호
+    private volatile boolean closed;
+
+    private Subscriber(Sink sink) {
+      this.sink = sink;
+      this.sender = Thread.ofVirtual().name("counter-push").unstarted(this::run);
+    }
+
+    private void offer(Map<String, Integer> deltas) {
+      synchronized (this) {
+        deltas.forEach((key, delta) -> pending.merge(key, delta, Integer::sum));
+      }
+      LockSupport.unpark(sender);
+    }
+
+    // 보내지 않고 쌓여 있는 키 수
+    synchronized int pendingSize() {
+      return pending.size();
+    }
+
+    void close() {
+      closed = true;
+      subscribers.remove(this);
+      LockSupport.unpark(sender);
+    }
+
+    private void run() {
+      while (!closed) {
+        Map<String, Integer> batch;
+        synchronized (this) {
+          pending.values().removeIf(delta -> delta == 0);
+          batch = pending.isEmpty() ? null : pending;
+          if (batch != null) {
+            pending = new HashMap<>();
+          }
+        }
+        if (batch == null) {
+          LockSupport.park(this);
+          continue;
+        }
+        try {
+          sink.send(batch);
+        } catch (IOException | RuntimeException e) {
+          log.debug("건수 푸시 전송 실패 - 구독 정리: {}", e.getMessage());
+          close();
+        }
+      }
+    }
+  }
+}
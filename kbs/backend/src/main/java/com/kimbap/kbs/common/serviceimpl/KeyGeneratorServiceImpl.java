@@ -0,0 +1,153 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kimbap.kbs.common.mapper.KeySequenceMapper;
+import com.kimbap.kbs.common.service.KeyFormat;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 업무코드 발번 서비스 (SELECT MAX(code)+1 방식 대체)
+ *
+ * - (코드 종류, 날짜 버킷)마다 key_seq 한 행에 예약된 블록의 상한만 저장한다.
+ * - 노드마다 blockSize 만큼 순번을 미리 예약해두고 메모리(AtomicLong)에서 나눠준다.
+ * - 블록이 소진될 때만 별도 트랜잭션으로 상한을 올리므로 코드 한 건마다 DB 를 조회하지 않고,
+ *   업무 트랜잭션이 원본 테이블을 스캔/잠그며 직렬화되지도 않는다.
+ * - 재기동/롤백 시 예약된 순번은 버려질 수 있다 (순번 공백 허용, 중복은 없음).
+ * - 블록 예약은 (코드 종류, 버킷)별 잠금 안에서 맵 밖에서 한다 - 같은 키는 한 스레드만 예약하고,
+ *   다른 키의 발번이나 블록 조회는 DB I/O 를 기다리지 않는다.
+ * - 예약은 REQUIRES_NEW 라 업무 트랜잭션 안에서 부르면 커넥션을 하나 더 쓴다. 동시에 예약하는 스레드는
+ *   키마다 하나뿐이므로 커넥션 풀은 (동시 업무 트랜잭션 수 + 동시에 소진되는 코드 종류 수) 이상으로 잡는다
+ *   (application.properties.example 의 spring.datasource.hikari.* 참고).
+ */
+@Slf4j
+@Service
+public class KeyGeneratorServiceImpl implements KeyGeneratorService {
+
+  private final KeySequenceMapper keySequenceMapper;
+  private final TransactionTemplate requiresNew;
+  private final int blockSize;
+
+  private final ConcurrentMap<String, SeqBlock> blocks = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ReentrantLock> refillLocks = new ConcurrentHashMap<>();
+
+  public KeyGeneratorServiceImpl(KeySequenceMapper keySequenceMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${kbs.key-seq.block-size:20}") int blockSize) {
+    this.keySequenceMapper = keySequenceMapper;
+    this.requiresNew = new TransactionTemplate(transactionManager);
+    this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.blockSize = Math.max(1, blockSize);
+  }
+
+  @Override
+  public String nextKey(KeyFormat format) {
+    String bucket = format.bucket(LocalDate.now());
+    return format.format(bucket, nextSequence(format, bucket));
+  }
+
+  @Override
+  public List<String> nextKeys(KeyFormat format, int count) {
+    String bucket = format.bucket(LocalDate.now());
+    List<String> keys = new ArrayList<>(count);
+    if (count > blockSize) {
+      // 블록보다 큰 요청(대량 주문 접수 등)은 공유 블록을 거치지 않고 count 만큼을 한 번에 예약
+      SeqBlock range = reserveBlock(format, bucket, count);
+      for (long seq = range.next.get(); seq <= range.hi; seq++) {
+        keys.add(format.format(bucket, seq));
+      }
+      return keys;
+    }
+    for (int i = 0; i < count; i++) {
+      keys.add(format.format(bucket, nextSequence(format, bucket)));
+    }
+    return keys;
+  }
+
+  @Override
+  public long nextSequence(KeyFormat format, String bucket) {
+    String mapKey = format.getName() + ":" + bucket;
+    while (true) {
+      SeqBlock block = blocks.get(mapKey);
+      if (block == null) {
+        evictOtherBuckets(format.getName(), bucket);
+      } else {
+        long seq = block.next.getAndIncrement();
+        if (seq <= block.hi) {
+          return seq;
+        }
+      }
+      // 블록 소진 (또는 최초) → 같은 키에 대해 한 스레드만 새 블록 예약 (맵 잠금 밖에서 DB I/O)
+      ReentrantLock lock = refillLocks.computeIfAbsent(mapKey, k -> new ReentrantLock());
+      lock.lock();
+      try {
+        SeqBlock cur = blocks.get(mapKey);
+        if (cur == null || cur.next.get() > cur.hi) {
+          blocks.put(mapKey, reserveBlock(format, bucket, blockSize));
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  // 지난 날짜 버킷 블록 정리
+  private void evictOtherBuckets(String name, String bucket) {
+    String prefix = name + ":";
+    blocks.keySet().removeIf(k -> k.startsWith(prefix) && !k.equals(prefix + bucket));
+    refillLocks.keySet().removeIf(k -> k.startsWith(prefix) && !k.equals(prefix + bucket));
+  }
+
+  // 별도 트랜잭션에서 key_seq 상한을 size 만큼 올리고 [hi - size + 1, hi] 구간을 가져온다
+  private SeqBlock reserveBlock(KeyFormat format, String bucket, int size) {
+    String name = format.getName();
+    Long hi = requiresNew.execute(status -> {
+      if (keySequenceMapper.increaseHighWater(name, bucket, size) == 0) {
+        long seed = seedSequence(format, bucket);
+        try {
+          keySequenceMapper.insertHighWater(name, bucket, seed + size);
+        } catch (DuplicateKeyException e) {
+          // 다른 노드가 먼저 등록함 → 그 행 기준으로 예약
+          keySequenceMapper.increaseHighWater(name, bucket, size);
+        }
+      }
+      return keySequenceMapper.selectHighWater(name, bucket);
+    });
+    log.debug("순번 블록 예약: {}/{} → {}~{}", name, bucket, hi - size + 1, hi);
+    return new SeqBlock(hi - size + 1, hi);
+  }
+
+  private long seedSequence(KeyFormat format, String bucket) {
+    if (format.getSeedTable() == null) {
+      return 0;
+    }
+    String keyPrefix = format.keyPrefix(bucket);
+    return keySequenceMapper.selectSeedSequence(
+        format.getSeedTable(), format.getSeedColumn(), keyPrefix, keyPrefix.length() + 1);
+  }
+
+  private static final class SeqBlock {
+    private final AtomicLong next;
+    private final long hi;
+
+    private SeqBlock(long from, long hi) {
+      this.next = new AtomicLong(from);
+      this.hi = hi;
+    }
+  }
+}
@@ -0,0 +1,238 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.kimbap.kbs.common.service.MasterCacheStatsVO;
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기준정보 캐시 구현
+ *
+ * - 영역마다 최근 사용 순(LRU) 맵, 최대 maxEntries 건. 넘치면 가장 오래 안 쓴 항목을 밀어낸다.
+ * - 저장 후 ttlMillis 가 지나면 다시 조회 (DB 를 직접 고친 경우 대비). 정상 경로의 변경은 evict 로 즉시 반영.
+ * - 영역마다 세대 번호를 두고 evict 할 때 올린다. 조회 도중 무효화가 일어났으면 그 결과는 저장하지 않는다
+ *   (커밋 전 옛 값을 읽어 온 조회가 무효화 뒤에 캐시를 다시 채우는 것 방지).
+ * - 같은 키를 동시에 처음 조회하면 각자 DB 를 읽는다 (기준정보라 드묾, 잠금 대기보다 낫다).
+ */
+@Slf4j
+@Service
+public class MasterDataCacheImpl implements MasterDataCache {
+
+  // null 결과 (없는 코드) 저장용
+  private static final Object ABSENT = new Object();
+
+  private final int maxEntries;
+  private final long ttlMillis;
+  private final LongSupplier clock;
+  private final Map<MasterRegion, Region> regions = new EnumMap<>(MasterRegion.class);
+
+  @Autowired
+  public MasterDataCacheImpl(@Value("${kbs.master-cache.max-entries:5000}") int maxEntries,
+      @Value("${kbs.master-cache.ttl-ms:600000}") long ttlMillis,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this(maxEntries, ttlMillis, System::currentTimeMillis);
+    meterRegistry.ifAvailable(this::bindMetrics);
+  }
+
+  MasterDataCacheImpl(int maxEntries, long ttlMillis, LongSupplier clock) {
+    this.maxEntries = maxEntries;
+    this.ttlMillis = ttlMillis;
+    this.clock = clock;
+    for (MasterRegion region : MasterRegion.values()) {
+      regions.put(region, new Region());
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(MasterRegion name, String key, Supplier<T> loader) {
+    Region region = regions.get(name);
+    long generation;
+    synchronized (region) {
+      Object cached = region.lookup(key, clock.getAsLong());
+      if (cached != null) {
+        region.hits.increment();
+        return cached == ABSENT ? null : (T) cached;
+      }
+      generation = region.generation;
+    }
+    region.misses.increment();
+    T value = freeze(loader.get());
+    synchronized (region) {
+      if (region.generation == generation) {
+        region.entries.put(key, new Entry(value == null ? ABSENT : value, clock.getAsLong()));
+      }
+    }
+    return value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Map<String, T> getAll(MasterRegion name, Collection<String> codes, String version, String view,
+      Function<List<String>, Map<String, T>> loader) {
+    Region region = regions.get(name);
+    Map<String, T> found = new HashMap<>();
+    List<String> missing = new ArrayList<>();
+    long generation;
+    synchronized (region) {
+      long now = clock.getAsLong();
+      for (String code : codes) {
+        Object cached = region.lookup(MasterDataCache.key(code, version, view), now);
+        if (cached == null) {
+          missing.add(code);
+        } else if (cached != ABSENT) {
+          found.put(code, (T) cached);
+        }
+      }
+      generation = region.generation;
+    }
+    region.hits.add(codes.size() - missing.size());
+    if (missing.isEmpty()) {
+      return found;
+    }
+    region.misses.add(missing.size());
+    Map<String, T> loaded = loader.apply(missing);
+    synchronized (region) {
+      boolean store = region.generation == generation;
+      long now = clock.getAsLong();
+      for (String code : missing) {
+        T value = loaded.get(code);
+        if (value != null) {
+          found.put(code, value);
+        }
+        if (store) {
+          region.entries.put(MasterDataCache.key(code, version, view), new Entry(value == null ? ABSENT : value, now));
+        }
+      }
+    }
+    return found;
+  }
+
+  @Override
+  public void evict(MasterRegion name, String code) {
+    Region region = regions.get(name);
+    String prefix = code + "|";
+    synchronized (region) {
+      region.generation++;
+      region.entries.keySet().removeIf(key -> key.startsWith(prefix) || key.startsWith(LIST + "|"));
+    }
+    region.invalidations.increment();
+    log.debug("기준정보 캐시 무효화 {} {}", name, code);
+  }
+
+  @Override
+  public void evictAll(MasterRegion name) {
+    Region region = regions.get(name);
+    synchronized (region) {
+      region.generation++;
+      region.entries.clear();
+    }
+    region.invalidations.increment();
+  }
+
+  @Override
+  public List<MasterCacheStatsVO> stats() {
+    List<MasterCacheStatsVO> stats = new ArrayList<>(regions.size());
+    regions.forEach((name, region) -> {
+      long hits = region.hits.sum();
+      long misses = region.misses.sum();
+      stats.add(MasterCacheStatsVO.builder()
+          .region(name.name())
+          .size(region.size())
+          .maxSize(maxEntries)
+          .hits(hits)
+          .misses(misses)
+          .evictions(region.evictions.sum())
+          .invalidations(region.invalidations.sum())
+          .hitRate(hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+          .build());
+    });
+    return stats;
+  }
+
+  // /actuator/metrics/kbs.master-cache.* (region 태그)
+  private void bindMetrics(MeterRegistry registry) {
+    regions.forEach((name, region) -> {
+      String tag = name.name().toLowerCase();
+      FunctionCounter.builder("kbs.master-cache.requests", region, r -> r.hits.sum())
+          .tag("region", tag).tag("result", "hit").register(registry);
+      FunctionCounter.builder("kbs.master-cache.requests", region, r -> r.misses.sum())
+          .tag("region", tag).tag("result", "miss").register(registry);
+      FunctionCounter.builder("kbs.master-cache.evictions", region, r -> r.evictions.sum())
+          .tag("region", tag).register(registry);
+      Gauge.builder("kbs.master-cache.size", region, Region::size)
+          .tag("region", tag).register(registry);
+    });
+  }
+
+  // 목록은 수정 불가 사본으로 저장 (여러 요청이 같은 목록을 받는다)
+  @SuppressWarnings("unchecked")
+  private static <T> T freeze(T value) {
+    if (value instanceof List<?> list) {
+      return (T) Collections.unmodifiableList(new ArrayList<>(list));
+    }
+    return value;
+  }
+
+  private record Entry(Object value, long loadedAt) {
+  }
+
+  private final class Region {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private long generation;
+
+    // 접근 순서 유지 - 가장 오래 안 쓴 항목부터 밀어낸다
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        if (size() > maxEntries) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+
+    // 유효한 캐시 값 (없거나 만료면 null, 만료 항목은 지운다)
+    private Object lookup(String key, long now) {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (now - entry.loadedAt() >= ttlMillis) {
+        entries.remove(key);
+        return null;
+      }
+      return entry.value();
+    }
+
+    private synchronized int size() {
+      return entries.size();
+    }
+  }
+}
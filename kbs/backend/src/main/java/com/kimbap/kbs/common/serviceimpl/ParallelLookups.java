@@ -0,0 +1,248 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서로 의존하지 않는 조회(매퍼 select)를 가상 스레드로 동시에 실행한다.
+ *
+ * try (Scope scope = parallelLookups.open()) 안에서 fork 한 조회는 close 전에 모두 끝난다 (스레드가 새지 않음).
+ * 다른 스레드로 넘기는 조회 수는 허가(permit) 개수로 제한 - kbs.fan-out.permits, 0 이면 커넥션 풀 크기의 절반.
+ * 허가가 모두 쓰이는 중이거나 풀에 놀고 있는 커넥션이 없으면 기다리지 않고 호출 스레드에서 실행한다
+ * - 풀이 포화된 상태에서는 기존 순차 실행과 같다.
+ *
+ * 다음 경우에는 fork 한 조회를 호출 스레드에서 순서대로 실행한다.
+ * - 트랜잭션 안: 다른 스레드는 같은 커넥션/트랜잭션을 쓰지 못해 커밋 전 변경을 못 본다
+ * - 이미 fork 된 조회 안에서 다시 open: 허가를 이중으로 잡아 풀이 막히는 것 방지
+ */
+@Slf4j
+@Component
+public class ParallelLookups {
+
+  private static final ThreadLocal<Boolean> FORKED = ThreadLocal.withInitial(() -> false);
+
+  private final Semaphore permits;
+  private final int size;
+  private final BooleanSupplier poolBusy;
+
+  @Autowired
+  public ParallelLookups(ObjectProvider<DataSource> dataSource,
+      @Value("${kbs.fan-out.permits:0}") int configured) {
+    this(configured > 0 ? configured : fromPool(hikari(dataSource.getIfAvailable())),
+        busyWhen(hikari(dataSource.getIfAvailable())));
+  }
+
+  ParallelLookups(int size) {
+    this(size, () -> false);
+  }
+
+  ParallelLookups(int size, BooleanSupplier poolBusy) {
+    this.size = size;
+    this.permits = new Semaphore(Math.max(size, 1), true);
+    this.poolBusy = poolBusy;
+    log.info("조회 동시 실행 허가 {}개", size);
+  }
+
+  private static HikariDataSource hikari(DataSource dataSource) {
+    try {
+      if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+        return dataSource.unwrap(HikariDataSource.class);
+      }
+    } catch (SQLException e) {
+      log.warn("커넥션 풀 확인 실패, 기본값 사용", e);
+    }
+    return null;
+  }
+
+  // 풀 크기의 절반 - 나머지는 동시에 들어오는 다른 요청 몫
+  private static int fromPool(HikariDataSource hikari) {
+    return hikari != null ? Math.max(hikari.getMaximumPoolSize() / 2, 1) : 4;
+  }
+
+  // 놀고 있는 커넥션이 없거나 커넥션을 기다리는 스레드가 있으면 나눠 실행해도 줄만 길어진다
+  private static BooleanSupplier busyWhen(HikariDataSource hikari) {
+    if (hikari == null) {
+      return () -> false;
+    }
+    return () -> {
+      HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+      return pool != null && (pool.getIdleConnections() == 0 || pool.getThreadsAwaitingConnection() > 0);
+    };
+  }
+
+  public Scope open() {
+    boolean sequential = size <= 0
+        || FORKED.get()
+        || TransactionSynchronizationManager.isActualTransactionActive();
+    return new Scope(sequential);
+  }
+
+  // 조회 두 개를 동시에 실행하고 결과를 합친다 - 두 번째는 기다리는 동안 호출 스레드가 직접 실행
+  public <A, B, R> R both(Supplier<A> first, Supplier<B> second, BiFunction<A, B, R> combine) {
+    try (Scope scope = open()) {
+      Lookup<A> a = scope.fork(first::get);
+      B b = second.get();
+      scope.join();
+      return combine.apply(a.get(), b);
+    }
+  }
+
+  public int permits() {
+    return size;
+  }
+
+  // fork 결과 - join 이후에만 꺼낸다
+  public interface Lookup<T> {
+    T get();
+  }
+
+  public final class Scope implements AutoCloseable {
+
+    private final boolean sequential;
+    private final List<CompletableFuture<?>> results = new ArrayList<>();
+    private final List<Future<?>> running = new ArrayList<>();
+    private final List<AtomicBoolean> claims = new ArrayList<>();
+    private final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+    private ExecutorService executor;
+    private boolean joined;
+
+    private Scope(boolean sequential) {
+      this.sequential = sequential;
+    }
+
+    public boolean isSequential() {
+      return sequential;
+    }
+
+    public <T> Lookup<T> fork(Callable<T> task) {
+      if (sequential) {
+        T value = call(task);
+        return () -> value;
+      }
+      // 남는 허가가 없거나 풀이 바쁘면 기다리지 않고 호출 스레드에서 바로 실행
+      if (poolBusy.getAsBoolean() || !permits.tryAcquire()) {
+        T value = call(task);
+        CompletableFuture<T> done = CompletableFuture.completedFuture(value);
+        results.add(done);
+        return () -> value;
+      }
+      if (executor == null) {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lookup-", 0).factory());
+      }
+      CompletableFuture<T> result = new CompletableFuture<>();
+      AtomicBoolean started = new AtomicBoolean();
+      // 요청 정보 전달 - 매퍼 측정(endpoint 태그)이 호출한 요청으로 집계되도록
+      RequestAttributes request = RequestContextHolder.getRequestAttributes();
+      claims.add(started);
+      running.add(executor.submit(() -> {
+        if (!started.compareAndSet(false, true)) {
+          return;
+        }
+        FORKED.set(true);
+        RequestContextHolder.setRequestAttributes(request);
+        try {
+          result.complete(task.call());
+        } catch (Throwable e) {
+          result.completeExceptionally(e);
+        } finally {
+          RequestContextHolder.resetRequestAttributes();
+          FORKED.remove();
+          permits.release();
+        }
+      }));
+      result.whenComplete((value, e) -> {
+        if (e != null) {
+          firstFailure.completeExceptionally(e);
+        }
+      });
+      results.add(result);
+      return () -> {
+        if (!joined) {
+          throw new IllegalStateException("join 전에 조회 결과를 꺼낼 수 없습니다.");
+        }
+        return result.resultNow();
+      };
+    }
+
+    // 모두 끝날 때까지 대기, 하나라도 실패하면 나머지를 바로 취소하고 그 예외를 던진다
+    public void join() {
+      try {
+        CompletableFuture.anyOf(CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)), firstFailure).get();
+        joined = true;
+      } catch (ExecutionException e) {
+        running.forEach(f -> f.cancel(true));
+        throw unwrap(e.getCause());
+      } catch (InterruptedException e) {
+        running.forEach(f -> f.cancel(true));
+        Thread.currentThread().interrupt();
+        throw new CancellationException("조회 대기 중 인터럽트");
+      }
+    }
+
+    @Override
+    public void close() {
+      if (executor != null) {
+        if (!joined) {
+          running.forEach(f -> f.cancel(true));
+        }
+        executor.close();
+        // 시작도 못 하고 취소된 조회의 허가 반납
+        for (AtomicBoolean started : claims) {
+          if (started.compareAndSet(false, true)) {
+            permits.release();
+          }
+        }
+      }
+    }
+
+    private <T> T call(Callable<T> task) {
+      try {
+        return task.call();
+      } catch (Exception e) {
+        throw unwrap(e);
+      }
+    }
+  }
+
+  private static RuntimeException unwrap(Throwable cause) {
+    if (cause instanceof CompletionException completion && completion.getCause() != null) {
+      return unwrap(completion.getCause());
+    }
+    if (cause instanceof RuntimeException runtime) {
+      return runtime;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new IllegalStateException(cause);
+  }
+}
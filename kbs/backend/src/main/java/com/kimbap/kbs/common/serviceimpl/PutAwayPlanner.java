@@ -0,0 +1,203 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.springframework.stereotype.Component;
+
+import com.kimbap.kbs.common.exception.PutAwayException;
+import com.kimbap.kbs.common.service.AreaOccupancyVO;
+import com.kimbap.kbs.common.service.PutAwayAssignment;
+import com.kimbap.kbs.common.service.PutAwayLine;
+import com.kimbap.kbs.common.service.WarehouseOccupancyService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 일괄 적재 계획기 (자재/제품 적재 공용)
+ *
+ * - 적재 현황 인덱스를 한 번 복사해서 그 위에서 입고 라인 전체의 구역 배정을 계산한다 (DB 조회 없음).
+ * - 구역 지정 라인을 먼저 검증한다: 다른 품목이 적재된 구역이면 안 되고, 잔여 용량 안에서만 적재한다.
+ * - 자동 배정 라인은 같은 품목이 적재된 구역부터 잔여 용량이 큰 순으로 채우고 (동일자재 구역 추천과 같은 기준),
+ *   남으면 빈 구역을 낮은 층, 행/열 순으로 새로 쓴다. 한 구역에는 한 품목만 적재한다.
+ * - 계획 중간에 실패하면 아무것도 배정하지 않고 PutAwayException.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PutAwayPlanner {
+
+  private final WarehouseOccupancyService warehouseOccupancyService;
+
+  /**
+   * 입고 라인별 구역 배정 (lineNo 순, 한 라인이 여러 구역으로 나뉠 수 있음)
+   */
+  public List<PutAwayAssignment> plan(List<PutAwayLine> lines) {
+    Plan plan = new Plan();
+    List<PutAwayAssignment> assignments = new ArrayList<>();
+
+    // 1. 구역 지정 라인
+    for (int lineNo = 0; lineNo < lines.size(); lineNo++) {
+      PutAwayLine line = lines.get(lineNo);
+      if (line.qty() <= 0 || line.wareAreaCd() == null) {
+        continue;
+      }
+      Slot slot = plan.slot(line.wareAreaCd());
+      if (slot == null) {
+        throw new PutAwayException("해당 구역 정보를 찾을 수 없습니다: " + line.wareAreaCd());
+      }
+      if (slot.item != null && !slot.item.equals(line.itemCode())) {
+        throw new PutAwayException("해당 구역에는 다른 품목(" + slot.item + ")이 적재되어 있습니다: " + slot.areaCd);
+      }
+      if (line.qty() > slot.avail) {
+        throw new PutAwayException(String.format("구역 용량이 부족합니다. 구역: %s, 잔여용량: %d, 요청수량: %d",
+            slot.areaCd, slot.avail, line.qty()));
+      }
+      plan.take(slot, line.itemCode(), line.qty());
+      assignments.add(new PutAwayAssignment(lineNo, slot.areaCd, line.qty()));
+    }
+
+    // 2. 자동 배정 라인 - 같은 품목 구역(잔여 용량 큰 순) → 빈 구역(낮은 층부터)
+    for (int lineNo = 0; lineNo < lines.size(); lineNo++) {
+      PutAwayLine line = lines.get(lineNo);
+      if (line.qty() <= 0 || line.wareAreaCd() != null) {
+        continue;
+      }
+      if (line.fcode() == null) {
+        throw new PutAwayException("적재할 공장이 지정되지 않았습니다: " + line.itemCode());
+      }
+      Factory factory = plan.factory(line.fcode());
+      int remaining = line.qty();
+      PriorityQueue<Candidate> same = factory.sameItem.get(line.itemCode());
+      while (remaining > 0 && same != null && !same.isEmpty()) {
+        Candidate candidate = same.poll();
+        Slot slot = candidate.slot;
+        if (!line.itemCode().equals(slot.item) || slot.avail <= 0) {
+          continue;
+        }
+        if (candidate.avail != slot.avail) {
+          same.add(new Candidate(slot)); // 구역 지정 라인으로 잔여 용량이 바뀐 구역
+          continue;
+        }
+        remaining -= assign(plan, factory, slot, line, lineNo, remaining, assignments);
+      }
+      while (remaining > 0) {
+        Slot slot = factory.nextEmpty();
+        if (slot == null) {
+          throw new PutAwayException(String.format("창고 적재 공간이 부족합니다. 품목: %s, 미배정 수량: %d",
+              line.itemCode(), remaining));
+        }
+        remaining -= assign(plan, factory, slot, line, lineNo, remaining, assignments);
+      }
+    }
+
+    assignments.sort(Comparator.comparingInt(PutAwayAssignment::lineNo));
+    log.debug("적재 계획 - 라인 {}건, 배정 {}건, 구역 {}개", lines.size(), assignments.size(), plan.slots.size());
+    return assignments;
+  }
+
+  // 구역에 남은 만큼 배정하고, 잔여 용량이 있으면 같은 품목 후보로 다시 넣는다
+  private static int assign(Plan plan, Factory factory, Slot slot, PutAwayLine line, int lineNo, int remaining,
+                            List<PutAwayAssignment> assignments) {
+    int qty = Math.min(remaining, slot.avail);
+    plan.take(slot, line.itemCode(), qty);
+    assignments.add(new PutAwayAssignment(lineNo, slot.areaCd, qty));
+    if (slot.avail > 0) {
+      factory.sameItem.computeIfAbsent(line.itemCode(), k -> newQueue()).add(new Candidate(slot));
+    }
+    return qty;
+  }
+
+  private static PriorityQueue<Candidate> newQueue() {
+    return new PriorityQueue<>(Comparator.comparingInt((Candidate c) -> c.avail).reversed());
+  }
+
+  // 계획 1회분의 구역 상태 (적재 현황 인덱스 복사본)
+  private final class Plan {
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final Map<String, Factory> factories = new HashMap<>();
+
+    private Slot slot(String areaCd) {
+      Slot slot = slots.get(areaCd);
+      if (slot == null) {
+        AreaOccupancyVO area = warehouseOccupancyService.getArea(areaCd);
+        if (area == null) {
+          return null;
+        }
+        slot = new Slot(area);
+        slots.put(areaCd, slot);
+      }
+      return slot;
+    }
+
+    private Factory factory(String fcode) {
+      Factory factory = factories.get(fcode);
+      if (factory != null) {
+        return factory;
+      }
+      factory = new Factory();
+      List<AreaOccupancyVO> areas = warehouseOccupancyService.getAreasByFactory(fcode);
+      areas.sort(Comparator.comparingInt(AreaOccupancyVO::getAreaFloor)); // 안정 정렬 - 층 안에서는 행/열 순
+      for (AreaOccupancyVO area : areas) {
+        Slot slot = slots.computeIfAbsent(area.getWareAreaCd(), k -> new Slot(area));
+        if (slot.item == null) {
+          factory.empty.add(slot);
+        } else if (slot.avail > 0) {
+          factory.sameItem.computeIfAbsent(slot.item, k -> newQueue()).add(new Candidate(slot));
+        }
+      }
+      factories.put(fcode, factory);
+      return factory;
+    }
+
+    private void take(Slot slot, String itemCode, int qty) {
+      slot.avail -= qty;
+      slot.item = itemCode;
+    }
+  }
+
+  // 공장 1곳의 자동 배정 후보
+  private static final class Factory {
+    private final List<Slot> empty = new ArrayList<>();
+    private final Map<String, PriorityQueue<Candidate>> sameItem = new HashMap<>();
+    private int nextEmpty;
+
+    private Slot nextEmpty() {
+      while (nextEmpty < empty.size()) {
+        Slot slot = empty.get(nextEmpty++);
+        if (slot.item == null && slot.avail > 0) {
+          return slot;
+        }
+      }
+      return null;
+    }
+  }
+
+  private static final class Slot {
+    private final String areaCd;
+    private int avail;
+    private String item;
+
+    private Slot(AreaOccupancyVO area) {
+      this.areaCd = area.getWareAreaCd();
+      this.avail = area.getAvailableVolume();
+      this.item = area.getCurrentItem();
+    }
+  }
+
+  // 큐에 넣을 때의 잔여 용량으로 정렬 (꺼냈을 때 달라졌으면 다시 넣는다)
+  private static final class Candidate {
+    private final Slot slot;
+    private final int avail;
+
+    private Candidate(Slot slot) {
+      this.slot = slot;
+      this.avail = slot.avail;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.kimbap.kbs.common.mapper.StockLedgerMapper;
+import com.kimbap.kbs.common.service.AreaOccupancyVO;
+import com.kimbap.kbs.common.service.StockBalanceVO;
+import com.kimbap.kbs.common.service.StockEntryVO;
+import com.kimbap.kbs.common.service.StockLedgerService;
+import com.kimbap.kbs.common.service.WarehouseOccupancyService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 재고 원장 + 공장별 현재고
+ *
+ * - 적재/이동/출고 쓰기 경로는 ware_stock(LOT/구역별 잔량)을 바꾼 뒤 같은 트랜잭션에서 post 를 한 번 부른다.
+ *   원장은 추가만 하고, stock_balance 는 (품목, 버전, 공장) 키로 합산한 증감을 MERGE 한 번으로 반영한다.
+ * - 공장은 구역의 공장(적재 현황 인덱스)으로 정한다. 구역이 없거나 모르는 구역이면 '-'.
+ * - 구역 적재 현황(recordChange)도 여기서 같이 반영한다.
+ * - 현재고 조회(MRP, 대시보드)는 ware_stock 을 합산하지 않고 stock_balance 를 읽는다.
+ *   reconcile 이 주기적으로 ware_stock 합계와 비교해서 다른 키를 로그로 남긴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+  // INSERT ... UNION ALL / MERGE USING 한 번에 넣는 행 수
+  private static final int CHUNK_SIZE = 500;
+
+  private final StockLedgerMapper stockLedgerMapper;
+  private final WarehouseOccupancyService warehouseOccupancyService;
+
+  @Override
+  public void post(List<StockEntryVO> entries) {
+    if (entries == null || entries.isEmpty()) {
+      return;
+    }
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    Map<String, StockBalanceVO> deltas = new LinkedHashMap<>();
+    for (StockEntryVO entry : entries) {
+      if (entry.getFcode() == null) {
+        AreaOccupancyVO area = entry.getWareAreaCd() != null
+            ? warehouseOccupancyService.getArea(entry.getWareAreaCd()) : null;
+        entry.setFcode(area != null && area.getFcode() != null ? area.getFcode() : NONE);
+      }
+      if (entry.getVerCd() == null) {
+        entry.setVerCd(NONE);
+      }
+      if (entry.getRegDt() == null) {
+        entry.setRegDt(now);
+      }
+      String key = entry.getItemCode() + '\u0000' + entry.getVerCd() + '\u0000' + entry.getFcode();
+      StockBalanceVO delta = deltas.computeIfAbsent(key, k -> StockBalanceVO.builder()
+          .itemCode(entry.getItemCode())
+          .verCd(entry.getVerCd())
+          .fcode(entry.getFcode())
+          .itemType(entry.getItemType())
+          .qty(BigDecimal.ZERO)
+          .build());
+      delta.setQty(delta.getQty().add(entry.getQty()));
+      if (delta.getItemType() == null) {
+        delta.setItemType(entry.getItemType());
+      }
+    }
+
+    for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+      stockLedgerMapper.insertEntries(entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size())));
+    }
+    // 이동처럼 같은 공장 안에서 상쇄되는 키는 쓰지 않는다
+    List<StockBalanceVO> changed = new ArrayList<>();
+    for (StockBalanceVO delta : deltas.values()) {
+      if (delta.getQty().signum() != 0) {
+        changed.add(delta);
+      }
+    }
+    for (int from = 0; from < changed.size(); from += CHUNK_SIZE) {
+      stockLedgerMapper.mergeBalances(changed.subList(from, Math.min(from + CHUNK_SIZE, changed.size())));
+    }
+
+    for (StockEntryVO entry : entries) {
+      if (entry.getWareAreaCd() != null) {
+        warehouseOccupancyService.recordChange(entry.getWareAreaCd(), entry.getItemCode(), entry.getQty());
+      }
+    }
+  }
+
+  @Override
+  public BigDecimal getOnHand(String itemCode, String verCd) {
+    return getOnHand(itemCode, verCd, null);
+  }
+
+  @Override
+  public BigDecimal getOnHand(String itemCode, String verCd, String fcode) {
+    BigDecimal total = BigDecimal.ZERO;
+    for (StockBalanceVO balance : stockLedgerMapper.selectBalances(itemCode, verCd != null ? verCd : NONE, fcode)) {
+      if (balance.getQty() != null) {
+        total = total.add(balance.getQty());
+      }
+    }
+    return total;
+  }
+
+  @Override
+  public List<StockBalanceVO> reconcile() {
+    List<StockBalanceVO> drift = stockLedgerMapper.selectBalanceDrift();
+    for (StockBalanceVO row : drift) {
+      log.warn("현재고 불일치 - {} {} {}: 현재고 {}, ware_stock {}", row.getItemCode(), row.getVerCd(),
+          row.getFcode(), row.getQty(), row.getWareQty());
+    }
+    return drift;
+  }
+
+  @Scheduled(fixedDelayString = "${kbs.stock-ledger.reconcile-ms:3600000}",
+             initialDelayString = "${kbs.stock-ledger.reconcile-ms:3600000}")
+  public void scheduledReconcile() {
+    try {
+      List<StockBalanceVO> drift = reconcile();
+      if (!drift.isEmpty()) {
+        log.warn("현재고 대사 - 불일치 {}건", drift.size());
+      }
+    } catch (RuntimeException e) {
+      log.warn("현재고 대사 실패: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,470 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kimbap.kbs.common.mapper.WarehouseOccupancyMapper;
+import com.kimbap.kbs.common.service.AreaOccupancyVO;
+import com.kimbap.kbs.common.service.WarehouseOccupancyService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 창고구역 적재 현황 인덱스
+ *
+ * - 첫 조회 때 구역 기준정보와 구역/품목별 적재량을 쿼리 2번으로 읽는다.
+ * - 창고(wcode)마다 행/열/층 인덱스로 펼친 배열(용량, 적재량, 적재 품목)을 두고, 층별 현황은 배열을 순서대로 훑어 만든다.
+ * - 적재/이동/출고/생산출고 쓰기 경로의 recordChange 를 커밋 후에 반영한다.
+ *   적재량은 정수 배열이라 소수 수량 증감은 반영하지 않고 다음 조회 때 다시 적재한다.
+ * - 재적재는 커밋 울타리(commitFence)로 스냅샷 전후를 가른다. 쓰기 트랜잭션은 커밋 직전부터 반영이 끝날 때까지
+ *   읽기 잠금을, 재적재는 스냅샷을 읽는 동안 쓰기 잠금을 잡는다. 그래서 스냅샷 전에 커밋된 증분은 이미 옛 인덱스에
+ *   반영이 끝났고, 스냅샷 뒤에 커밋된 증분만 모아 두었다가 새 인덱스에 다시 반영한다 (같은 증분을 두 번 세지 않는다).
+ *   트랜잭션 밖에서 들어온 증분은 스냅샷 전후를 알 수 없으므로 재적재 중이었다면 새 인덱스를 다음 조회 때 다시 적재한다.
+ * - 모르는 구역이거나 메모리로 판단할 수 없는 상태(적재 품목이 섞인 구역에서 대표 품목이 빠짐 등)가 되면
+ *   다음 조회 때 다시 적재한다. 주기적인 reconcile 로 DB 기준으로 맞추고 어긋났던 구역을 로그로 남긴다.
+ * - 적재 품목은 수량이 남아 있는 재고행 기준이다 (품목이 섞인 구역은 수량이 가장 많은 품목).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarehouseOccupancyServiceImpl implements WarehouseOccupancyService {
+
+  private final WarehouseOccupancyMapper mapper;
+
+  private final ReentrantLock reloadLock = new ReentrantLock();
+  // 커밋 중(커밋 직전 ~ 반영 끝) 읽기 잠금 / 스냅샷 읽는 동안 쓰기 잠금
+  final ReentrantReadWriteLock commitFence = new ReentrantReadWriteLock();
+  // 현재 인덱스 (첫 조회 전에는 null)
+  private volatile Index index;
+  // 스냅샷 뒤에 커밋되어 새 인덱스에 다시 반영할 증분 (재적재 중이 아니면 null) - this 로 보호
+  private List<Change> pending;
+  // 재적재 중 여부 / 그 사이 트랜잭션 밖 증분이 있었는지 - this 로 보호
+  private boolean reloading;
+  private boolean unfencedDuringReload;
+
+  @Override
+  public List<AreaOccupancyVO> getAreasByFloor(String wcode, int floor) {
+    Grid grid = current().grids.get(wcode);
+    return grid != null ? grid.floor(floor) : new ArrayList<>();
+  }
+
+  @Override
+  public List<AreaOccupancyVO> getAreasByFactory(String fcode) {
+    List<AreaOccupancyVO> areas = new ArrayList<>();
+    for (Grid grid : current().grids.values()) {
+      if (Objects.equals(grid.fcode, fcode)) {
+        grid.all(areas);
+      }
+    }
+    return areas;
+  }
+
+  @Override
+  public AreaOccupancyVO getArea(String wareAreaCd) {
+    Grid grid = current().gridByArea.get(wareAreaCd);
+    return grid != null ? grid.area(grid.slotByArea.get(wareAreaCd)) : null;
+  }
+
+  @Override
+  public List<AreaOccupancyVO> getSameItemAreas(String itemCode, String fcode, String excludeAreaCd) {
+    List<AreaOccupancyVO> areas = new ArrayList<>();
+    if (itemCode == null) {
+      return areas;
+    }
+    for (Grid grid : current().grids.values()) {
+      if (Objects.equals(grid.fcode, fcode)) {
+        grid.sameItem(itemCode, excludeAreaCd, areas);
+      }
+    }
+    areas.sort(Comparator.comparing(AreaOccupancyVO::getAvailableVolume).reversed());
+    return areas;
+  }
+
+  @Override
+  public void recordChange(String wareAreaCd, String itemCode, int delta) {
+    if (wareAreaCd == null || delta == 0) {
+      return;
+    }
+    record(new Change(wareAreaCd, itemCode, delta, true));
+  }
+
+  @Override
+  public void recordChange(String wareAreaCd, String itemCode, BigDecimal delta) {
+    if (wareAreaCd == null || delta == null || delta.signum() == 0) {
+      return;
+    }
+    BigDecimal whole = delta.stripTrailingZeros();
+    if (whole.scale() <= 0 && whole.abs().compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) <= 0) {
+      recordChange(wareAreaCd, itemCode, whole.intValueExact());
+      return;
+    }
+    // 소수 수량 - 정수 배열에 반영하지 않고 커밋 후 다시 적재
+    record(new Change(wareAreaCd, itemCode, 0, false));
+  }
+
+  private void record(Change change) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply(change, false);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      private boolean fenced;
+
+      @Override
+      public void beforeCommit(boolean readOnly) {
+        commitFence.readLock().lock();
+        fenced = true;
+      }
+
+      @Override
+      public void afterCommit() {
+        apply(change, true);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        if (fenced) {
+          fenced = false;
+          commitFence.readLock().unlock();
+        }
+      }
+    });
+  }
+
+  @Override
+  public void invalidate() {
+    Index idx = index;
+    if (idx != null) {
+      idx.stale = true;
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${kbs.warehouse.reconcile-ms:600000}",
+             initialDelayString = "${kbs.warehouse.reconcile-ms:600000}")
+  public void reconcileLoaded() {
+    if (index != null && !reloadLock.isLocked()) {
+      reconcile();
+    }
+  }
+
+  @Override
+  public List<String> reconcile() {
+    reloadLock.lock();
+    try {
+      Index old = index;
+      Index fresh = reload();
+      List<String> drift = old != null ? old.diff(fresh) : new ArrayList<>();
+      if (!drift.isEmpty()) {
+        log.warn("창고 적재 인덱스 불일치 {}개 구역 - DB 기준으로 교체: {}", drift.size(),
+            drift.size() > 20 ? drift.subList(0, 20) + " ..." : drift);
+      }
+      return drift;
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  // 인덱스가 없거나 다시 적재해야 하면 적재
+  private Index current() {
+    Index idx = index;
+    if (idx == null || idx.stale) {
+      reloadLock.lock();
+      try {
+        idx = index;
+        if (idx == null || idx.stale) {
+          idx = reload();
+        }
+      } finally {
+        reloadLock.unlock();
+      }
+    }
+    return idx;
+  }
+
+  private Index reload() {
+    // 이 스레드가 커밋 중(다른 afterCommit 에서 조회)이면 울타리를 칠 수 없다 - 읽고 다음 조회 때 다시 적재
+    boolean fenced = commitFence.getReadHoldCount() == 0;
+    synchronized (this) {
+      reloading = true;
+      unfencedDuringReload = !fenced;
+    }
+    Index fresh;
+    try {
+      if (fenced) {
+        commitFence.writeLock().lock();
+      }
+      try {
+        fresh = load();
+        synchronized (this) {
+          pending = new ArrayList<>();
+        }
+      } finally {
+        if (fenced) {
+          commitFence.writeLock().unlock();
+        }
+      }
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        reloading = false;
+        pending = null;
+      }
+      throw e;
+    }
+    synchronized (this) {
+      pending.forEach(fresh::apply);
+      if (unfencedDuringReload) {
+        fresh.stale = true;
+      }
+      reloading = false;
+      pending = null;
+      index = fresh;
+    }
+    log.debug("창고 적재 인덱스 적재 - 창고 {}개, 구역 {}개", fresh.grids.size(), fresh.gridByArea.size());
+    return fresh;
+  }
+
+  private Index load() {
+    Map<String, List<AreaOccupancyVO>> areasByWcode = new LinkedHashMap<>();
+    for (AreaOccupancyVO area : mapper.selectAreas()) {
+      if (area.getWcode() == null || area.getWareAreaCd() == null || area.getAreaRow() == null
+          || area.getAreaCol() == null || area.getAreaCol() < 1
+          || area.getAreaFloor() == null || area.getAreaFloor() < 1) {
+        log.warn("창고구역 위치 정보 누락 - 인덱스에서 제외: {}", area.getWareAreaCd());
+        continue;
+      }
+      areasByWcode.computeIfAbsent(area.getWcode(), k -> new ArrayList<>()).add(area);
+    }
+
+    Index idx = new Index();
+    areasByWcode.forEach((wcode, areas) -> {
+      Grid grid = new Grid(wcode, areas);
+      idx.grids.put(wcode, grid);
+      grid.slotByArea.keySet().forEach(areaCd -> idx.gridByArea.put(areaCd, grid));
+    });
+
+    for (AreaOccupancyVO row : mapper.selectOccupancy()) {
+      Grid grid = idx.gridByArea.get(row.getWareAreaCd());
+      if (grid != null && row.getCurrentVolume() != null) {
+        grid.load(grid.slotByArea.get(row.getWareAreaCd()), row.getCurrentItem(), row.getCurrentVolume());
+      }
+    }
+    return idx;
+  }
+
+  // fenced: 트랜잭션 커밋 후 반영 (커밋 울타리 안)
+  private synchronized void apply(Change change, boolean fenced) {
+    if (reloading && !fenced) {
+      unfencedDuringReload = true;
+    } else if (pending != null) {
+      pending.add(change);
+    }
+    Index idx = index;
+    if (idx != null) {
+      idx.apply(change);
+    }
+  }
+
+  // 구역 재고 증감 1건 (exact=false 면 정수로 반영할 수 없는 증감 - 다시 적재)
+  private record Change(String wareAreaCd, String itemCode, int delta, boolean exact) {
+  }
+
+  // 전체 창고의 적재 현황
+  private static final class Index {
+    private final Map<String, Grid> grids = new LinkedHashMap<>();
+    private final Map<String, Grid> gridByArea = new HashMap<>();
+    private volatile boolean stale;
+
+    private void apply(Change change) {
+      Grid grid = gridByArea.get(change.wareAreaCd());
+      // 기동 후 생긴 구역이거나 메모리로 판단할 수 없는 상태 - 다음 조회 때 다시 적재
+      if (grid == null || !change.exact() || !grid.apply(grid.slotByArea.get(change.wareAreaCd()), change.itemCode(), change.delta())) {
+        stale = true;
+      }
+    }
+
+    // 적재량/적재 품목이 다른 구역코드 (구역 구성이 달라진 것도 포함)
+    private List<String> diff(Index other) {
+      List<String> drift = new ArrayList<>();
+      for (Map.Entry<String, Grid> entry : gridByArea.entrySet()) {
+        Grid mine = entry.getValue();
+        Grid theirs = other.gridByArea.get(entry.getKey());
+        if (theirs == null || !mine.sameState(mine.slotByArea.get(entry.getKey()),
+            theirs, theirs.slotByArea.get(entry.getKey()))) {
+          drift.add(entry.getKey());
+        }
+      }
+      for (String areaCd : other.gridByArea.keySet()) {
+        if (!gridByArea.containsKey(areaCd)) {
+          drift.add(areaCd);
+        }
+      }
+      return drift;
+    }
+  }
+
+  /**
+   * 창고 1개의 구역 배열. slot = (행 * 열수 + 열) * 층수 + 층 (0부터)
+   * 행은 구역행 값(1, 2 / A, B ...)을 정렬한 순서로 번호를 매긴다.
+   */
+  private static final class Grid {
+    private final String wcode;
+    private final String fcode;
+    private final int cols;
+    private final int floors;
+    private final String[] rowLabels;
+    private final String[] areaCd;
+    private final int[] vol;
+    private final int[] used;
+    private final String[] item;
+    private final int[] itemQty;
+    private final Map<String, Integer> slotByArea = new HashMap<>();
+
+    private Grid(String wcode, List<AreaOccupancyVO> areas) {
+      this.wcode = wcode;
+      this.fcode = areas.get(0).getFcode();
+
+      TreeSet<String> labels = new TreeSet<>(Comparator.comparingInt(String::length)
+          .thenComparing(Comparator.naturalOrder()));
+      int maxCol = 0;
+      int maxFloor = 0;
+      for (AreaOccupancyVO area : areas) {
+        labels.add(area.getAreaRow());
+        maxCol = Math.max(maxCol, area.getAreaCol());
+        maxFloor = Math.max(maxFloor, area.getAreaFloor());
+      }
+      this.rowLabels = labels.toArray(new String[0]);
+      this.cols = maxCol;
+      this.floors = maxFloor;
+
+      int size = rowLabels.length * cols * floors;
+      this.areaCd = new String[size];
+      this.vol = new int[size];
+      this.used = new int[size];
+      this.item = new String[size];
+      this.itemQty = new int[size];
+
+      Map<String, Integer> rowIndex = new HashMap<>();
+      for (int r = 0; r < rowLabels.length; r++) {
+        rowIndex.put(rowLabels[r], r);
+      }
+      for (AreaOccupancyVO area : areas) {
+        int slot = slot(rowIndex.get(area.getAreaRow()), area.getAreaCol() - 1, area.getAreaFloor() - 1);
+        areaCd[slot] = area.getWareAreaCd();
+        vol[slot] = area.getVol() != null ? area.getVol() : 0;
+        slotByArea.put(area.getWareAreaCd(), slot);
+      }
+    }
+
+    private int slot(int row, int col, int floor) {
+      return (row * cols + col) * floors + floor;
+    }
+
+    // 적재 시 구역/품목별 합계 1행 반영 (가장 많은 품목을 대표 품목으로)
+    private void load(int slot, String itemCode, int qty) {
+      used[slot] += qty;
+      if (itemCode != null && qty > itemQty[slot]) {
+        item[slot] = itemCode;
+        itemQty[slot] = qty;
+      }
+    }
+
+    // false 면 메모리로 판단할 수 없는 상태
+    private synchronized boolean apply(int slot, String itemCode, int delta) {
+      used[slot] += delta;
+      if (itemCode == null) {
+        return false;
+      }
+      if (itemCode.equals(item[slot])) {
+        itemQty[slot] += delta;
+      } else if (item[slot] == null) {
+        if (delta < 0) {
+          return false;
+        }
+        item[slot] = itemCode;
+        itemQty[slot] = delta;
+      }
+      // 대표 품목이 아닌 품목의 증감은 적재량에만 반영
+      if (itemQty[slot] <= 0) {
+        if (used[slot] > 0) {
+          return false; // 남은 품목을 알 수 없음
+        }
+        item[slot] = null;
+        itemQty[slot] = 0;
+      }
+      return used[slot] >= 0;
+    }
+
+    private synchronized List<AreaOccupancyVO> floor(int floor) {
+      List<AreaOccupancyVO> areas = new ArrayList<>();
+      if (floor < 1 || floor > floors) {
+        return areas;
+      }
+      for (int r = 0; r < rowLabels.length; r++) {
+        for (int c = 0; c < cols; c++) {
+          int slot = slot(r, c, floor - 1);
+          if (areaCd[slot] != null) {
+            areas.add(area(slot));
+          }
+        }
+      }
+      return areas;
+    }
+
+    private synchronized void all(List<AreaOccupancyVO> out) {
+      for (int slot = 0; slot < areaCd.length; slot++) {
+        if (areaCd[slot] != null) {
+          out.add(area(slot));
+        }
+      }
+    }
+
+    private synchronized void sameItem(String itemCode, String excludeAreaCd, List<AreaOccupancyVO> out) {
+      for (int slot = 0; slot < areaCd.length; slot++) {
+        if (itemCode.equals(item[slot]) && vol[slot] - used[slot] > 0 && !areaCd[slot].equals(excludeAreaCd)) {
+          out.add(area(slot));
+        }
+      }
+    }
+
+    private synchronized AreaOccupancyVO area(int slot) {
+      int floor = slot % floors;
+      int col = slot / floors % cols;
+      int row = slot / floors / cols;
+      return AreaOccupancyVO.builder()
+          .wcode(wcode)
+          .fcode(fcode)
+          .wareAreaCd(areaCd[slot])
+          .areaRow(rowLabels[row])
+          .areaCol(col + 1)
+          .areaFloor(floor + 1)
+          .vol(vol[slot])
+          .currentVolume(used[slot])
+          .availableVolume(vol[slot] - used[slot])
+          .currentItem(item[slot])
+          .build();
+    }
+
+    private synchronized boolean sameState(int slot, Grid other, int otherSlot) {
+      synchronized (other) {
+        return used[slot] == other.used[otherSlot]
+            && vol[slot] == other.vol[otherSlot]
+            && Objects.equals(item[slot], other.item[otherSlot]);
+      }
+    }
+  }
+}
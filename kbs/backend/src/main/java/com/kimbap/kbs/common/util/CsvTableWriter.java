@@ -0,0 +1,80 @@
+package com.kimbap.kbs.common.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip CSV (UTF-8 BOM, RFC 4180, CRLF)
+ * 엑셀에서 수식으로 해석되지 않도록 =, +, -, @ 로 시작하는 문자열 앞에는 ' 를 붙인다.
+ */
+class CsvTableWriter implements TableWriter {
+
+  private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private final GZIPOutputStream gzip;
+  private final BufferedWriter writer;
+
+  CsvTableWriter(OutputStream out) throws IOException {
+    this.gzip = new GZIPOutputStream(out, 64 * 1024);
+    this.writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), 64 * 1024);
+    writer.write('\uFEFF'); // 엑셀이 UTF-8 로 읽도록
+  }
+
+  @Override
+  public void header(List<String> headers) throws IOException {
+    row(headers.toArray());
+  }
+
+  @Override
+  public void row(Object[] values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writeCell(values[i]);
+    }
+    writer.write("\r\n");
+  }
+
+  @Override
+  public void finish() throws IOException {
+    writer.flush();
+    gzip.finish();
+  }
+
+  private void writeCell(Object value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    if (value instanceof Number || value instanceof Boolean) {
+      writer.write(value.toString());
+      return;
+    }
+    if (value instanceof Date date) {
+      LocalDateTime at = LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+      writer.write((at.toLocalTime().toNanoOfDay() == 0 ? DATE : DATE_TIME).format(at));
+      return;
+    }
+    String text = value.toString();
+    if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+      text = "'" + text;
+    }
+    if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+      writer.write(text);
+      return;
+    }
+    writer.write('"');
+    writer.write(text.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
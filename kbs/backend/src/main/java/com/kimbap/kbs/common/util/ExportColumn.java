@@ -0,0 +1,14 @@
+package com.kimbap.kbs.common.util;
+
+import java.util.function.Function;
+
+/**
+ * 내보내기 컬럼 (머리글 + 행에서 값을 꺼내는 함수)
+ * 값은 String / Number / Boolean / Date 그대로 두면 형식에 맞게 쓴다.
+ */
+public record ExportColumn<T>(String header, Function<T, ?> value) {
+
+  public static <T> ExportColumn<T> of(String header, Function<T, ?> value) {
+    return new ExportColumn<>(header, value);
+  }
+}
@@ -0,0 +1,39 @@
+package com.kimbap.kbs.common.util;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 내보내기 형식
+ */
+public enum ExportFormat {
+
+  XLSX("xlsx", MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")),
+  CSV("csv.gz", MediaType.parseMediaType("application/gzip"));
+
+  private final String extension;
+  private final MediaType mediaType;
+
+  ExportFormat(String extension, MediaType mediaType) {
+    this.extension = extension;
+    this.mediaType = mediaType;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  // 요청 파라미터 format (xlsx / csv, 없으면 xlsx)
+  public static ExportFormat from(String format) {
+    if (format == null || format.isBlank() || "xlsx".equalsIgnoreCase(format)) {
+      return XLSX;
+    }
+    if ("csv".equalsIgnoreCase(format) || "csv.gz".equalsIgnoreCase(format)) {
+      return CSV;
+    }
+    throw new IllegalArgumentException("지원하지 않는 내보내기 형식: " + format);
+  }
+}
@@ -0,0 +1,76 @@
+package com.kimbap.kbs.common.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 목록 파일 내보내기 (XLSX / gzip CSV)
+ *
+ * 행은 MyBatis ResultHandler 에서 하나씩 받아 바로 응답 스트림에 쓴다 (JsonStreamUtil 과 같은 방식).
+ * 전체 목록을 메모리에 올리지 않으므로 행 수와 관계없이 힙 사용량이 일정하다.
+ */
+@Slf4j
+@Component
+public class ExportUtil {
+
+  private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+  /**
+   * source 가 넘겨주는 행을 파일로 내려보내는 응답
+   * @param fileName 확장자 없는 파일명 (뒤에 _yyyyMMdd 와 확장자가 붙는다)
+   * @param source   행마다 인자로 받은 Consumer 를 호출하는 조회 (예: 서비스의 stream 메서드)
+   */
+  public <T> ResponseEntity<StreamingResponseBody> export(String fileName, ExportFormat format,
+                                                          List<ExportColumn<T>> columns,
+                                                          Consumer<Consumer<T>> source) {
+    List<String> headers = new ArrayList<>(columns.size());
+    for (ExportColumn<T> column : columns) {
+      headers.add(column.header());
+    }
+
+    StreamingResponseBody body = out -> {
+      TableWriter writer = format == ExportFormat.CSV ? new CsvTableWriter(out) : new XlsxTableWriter(out);
+      writer.header(headers);
+      long[] rows = {0};
+      try {
+        source.accept(row -> {
+          Object[] values = new Object[columns.size()];
+          for (int i = 0; i < values.length; i++) {
+            values[i] = columns.get(i).value().apply(row);
+          }
+          try {
+            writer.row(values);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          rows[0]++;
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      writer.finish();
+      log.debug("내보내기 {} - {}건 ({})", fileName, rows[0], format);
+    };
+
+    String attachment = fileName + "_" + LocalDate.now().format(FILE_DATE) + "." + format.getExtension();
+    return ResponseEntity.ok()
+        .contentType(format.getMediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(attachment, StandardCharsets.UTF_8).build().toString())
+        .body(body);
+  }
+}
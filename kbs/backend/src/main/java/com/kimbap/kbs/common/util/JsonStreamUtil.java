@@ -0,0 +1,67 @@
+package com.kimbap.kbs.common.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * 목록을 JSON 배열로 한 행씩 내려보낸다 (MyBatis ResultHandler 와 함께 사용).
+ * 전체 목록을 메모리에 올리지 않으므로 힙 사용량이 행 수와 무관하고, 첫 행부터 바로 전송된다.
+ * 중간에 조회가 실패하면 응답 상태는 이미 200 이므로 배열을 닫지 않고 끊는다 - 잘린 목록이 정상 응답처럼 보이지 않게.
+ */
+@Component
+public class JsonStreamUtil {
+
+  // 이 행 수마다 flush (첫 행은 바로 flush)
+  static final int FLUSH_EVERY = 200;
+
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter rowWriter;
+
+  public JsonStreamUtil(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  /**
+   * source 가 넘겨주는 행을 JSON 배열로 스트리밍하는 응답
+   * @param source 행마다 인자로 받은 Consumer 를 호출하는 조회 (예: 서비스의 stream 메서드)
+   */
+  public <T> ResponseEntity<StreamingResponseBody> array(Consumer<Consumer<T>> source) {
+    StreamingResponseBody body = out -> {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+        generator.writeStartArray();
+        int[] rows = {0};
+        try {
+          source.accept(row -> {
+            try {
+              rowWriter.writeValue(generator, row);
+              if (++rows[0] % FLUSH_EVERY == 1) {
+                generator.flush();
+              }
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+        } catch (RuntimeException e) {
+          generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+          throw e;
+        }
+        generator.writeEndArray();
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+}
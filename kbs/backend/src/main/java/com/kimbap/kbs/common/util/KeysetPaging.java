@@ -0,0 +1,120 @@
+package com.kimbap.kbs.common.util;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.kimbap.kbs.common.exception.InvalidCursorException;
+import com.kimbap.kbs.common.service.KeysetPage;
+
+/**
+ * keyset 페이지 공통 처리
+ *
+ * - 조회조건 map 에 keysetSort / keysetId (마지막 행의 정렬값, 식별값)와 keysetFetch (페이지 크기 + 1)를 넣는다.
+ *   XML 은 mapper/common/Keyset.xml 의 조건을 include 한다.
+ * - 커서는 마지막 행의 (정렬값, 식별값)을 base64url 로 인코딩한 문자열이다.
+ * - 페이지 크기는 1 ~ MAX_SIZE (기본 DEFAULT_SIZE).
+ */
+public final class KeysetPaging {
+
+  public static final int DEFAULT_SIZE = 100;
+  public static final int MAX_SIZE = 500;
+
+  static final String SORT = "keysetSort";
+  static final String ID = "keysetId";
+  static final String FETCH = "keysetFetch";
+
+  private static final char SEPARATOR = '\u001f';
+  private static final String NULL = "~";
+
+  private KeysetPaging() {
+  }
+
+  // 조회조건에 커서/페이지 크기 추가
+  public static Map<String, Object> apply(Map<String, Object> params, String cursor, Integer size) {
+    params.put(FETCH, pageSize(size) + 1);
+    if (cursor != null && !cursor.isBlank()) {
+      Object[] keys = decode(cursor);
+      params.put(SORT, keys[0]);
+      params.put(ID, keys[1]);
+    }
+    return params;
+  }
+
+  // 식별값 하나로 정렬하는 목록의 페이지
+  public static <T> KeysetPage<T> toPage(List<T> rows, Map<String, Object> params, Function<T, Object> idKey) {
+    return toPage(rows, params, row -> null, idKey);
+  }
+
+  // (정렬값, 식별값)으로 정렬하는 목록의 페이지 - 한 건 더 읽었으면 잘라내고 다음 커서를 만든다
+  public static <T> KeysetPage<T> toPage(List<T> rows, Map<String, Object> params,
+                                         Function<T, Object> sortKey, Function<T, Object> idKey) {
+    int size = (Integer) params.get(FETCH) - 1;
+    if (rows.size() <= size) {
+      return new KeysetPage<>(rows, null, false);
+    }
+    List<T> items = rows.subList(0, size);
+    T last = items.get(size - 1);
+    return new KeysetPage<>(items, encode(sortKey.apply(last), idKey.apply(last)), true);
+  }
+
+  static int pageSize(Integer size) {
+    if (size == null) {
+      return DEFAULT_SIZE;
+    }
+    return Math.max(1, Math.min(size, MAX_SIZE));
+  }
+
+  static String encode(Object sort, Object id) {
+    String raw = value(sort) + SEPARATOR + value(id);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static Object[] decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int at = raw.indexOf(SEPARATOR);
+      if (at < 0) {
+        throw new InvalidCursorException("잘못된 커서: " + cursor);
+      }
+      return new Object[] {parse(raw.substring(0, at)), parse(raw.substring(at + 1))};
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException("잘못된 커서: " + cursor);
+    }
+  }
+
+  private static String value(Object value) {
+    if (value == null) {
+      return NULL;
+    }
+    if (value instanceof Date date) {
+      return "d" + date.getTime();
+    }
+    if (value instanceof Number number) {
+      return "n" + new BigDecimal(number.toString()).toPlainString();
+    }
+    return "s" + value;
+  }
+
+  private static Object parse(String value) {
+    if (NULL.equals(value) || value.isEmpty()) {
+      return null;
+    }
+    String body = value.substring(1);
+    switch (value.charAt(0)) {
+      case 'd':
+        return new Timestamp(Long.parseLong(body));
+      case 'n':
+        return new BigDecimal(body);
+      case 's':
+        return body;
+      default:
+        throw new IllegalArgumentException(value);
+    }
+  }
+}
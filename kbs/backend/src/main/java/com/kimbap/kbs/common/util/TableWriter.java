@@ -0,0 +1,17 @@
+package com.kimbap.kbs.common.util;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 표 형식 출력 (머리글 1줄 + 행). 행을 받는 즉시 출력 스트림에 쓰고 보관하지 않는다.
+ */
+interface TableWriter {
+
+  void header(List<String> headers) throws IOException;
+
+  void row(Object[] values) throws IOException;
+
+  // 남은 내용을 쓰고 압축 스트림을 마무리한다 (응답 스트림은 닫지 않는다)
+  void finish() throws IOException;
+}
@@ -0,0 +1,24 @@
+package com.kimbap.kbs.common.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TxUtil {
+
+  private TxUtil() {
+  }
+
+  // 트랜잭션 안이면 커밋 후(롤백되면 실행 안 함), 아니면 바로 실행
+  public static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+}
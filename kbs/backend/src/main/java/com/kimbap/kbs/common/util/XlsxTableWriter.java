@@ -0,0 +1,225 @@
+package com.kimbap.kbs.common.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 스트리밍 XLSX (SpreadsheetML 최소 구성)
+ *
+ * - 시트 XML 을 행 단위로 zip 엔트리에 바로 쓴다. 메모리에는 버퍼만 남고 임시 파일도 만들지 않는다.
+ * - 문자열은 inline string 으로 써서 공유 문자열 표를 두지 않는다.
+ * - 시트 하나의 행 한도(1,048,576)를 넘으면 다음 시트로 이어 쓴다. workbook.xml 은 마지막에 쓴다.
+ */
+class XlsxTableWriter implements TableWriter {
+
+  // 시트당 데이터 행 수 (머리글 1행 제외)
+  static final int MAX_ROWS_PER_SHEET = 1_048_575;
+
+  // Excel 날짜 기준일 (1900 날짜 체계)
+  private static final LocalDateTime EPOCH = LocalDateTime.of(1899, 12, 30, 0, 0);
+
+  // styles.xml 의 cellXfs 순서
+  private static final int STYLE_HEADER = 1;
+  private static final int STYLE_DATE = 2;
+  private static final int STYLE_DATE_TIME = 3;
+
+  private final ZipOutputStream zip;
+  private final Writer writer;
+  private final int maxRowsPerSheet;
+  private List<String> headers;
+  private int sheets;
+  private int rowNum;
+
+  XlsxTableWriter(OutputStream out) {
+    this(out, MAX_ROWS_PER_SHEET);
+  }
+
+  XlsxTableWriter(OutputStream out, int maxRowsPerSheet) {
+    this.maxRowsPerSheet = maxRowsPerSheet;
+    this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+    this.zip.setLevel(Deflater.BEST_SPEED);
+    this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+  }
+
+  @Override
+  public void header(List<String> headers) throws IOException {
+    this.headers = headers;
+    startSheet();
+  }
+
+  @Override
+  public void row(Object[] values) throws IOException {
+    if (rowNum > maxRowsPerSheet) {
+      endSheet();
+      startSheet();
+    }
+    rowNum++;
+    writer.write("<row r=\"");
+    writer.write(Integer.toString(rowNum));
+    writer.write("\">");
+    for (Object value : values) {
+      writeCell(value);
+    }
+    writer.write("</row>");
+  }
+
+  @Override
+  public void finish() throws IOException {
+    endSheet();
+    entry("[Content_Types].xml", contentTypes());
+    entry("_rels/.rels", """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+        <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+        </Relationships>""");
+    entry("xl/workbook.xml", workbook());
+    entry("xl/_rels/workbook.xml.rels", workbookRels());
+    entry("xl/styles.xml", """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">\
+        <numFmts count="2"><numFmt numFmtId="164" formatCode="yyyy-mm-dd"/><numFmt numFmtId="165" formatCode="yyyy-mm-dd hh:mm:ss"/></numFmts>\
+        <fonts count="2"><font><sz val="11"/><name val="맑은 고딕"/></font><font><b/><sz val="11"/><name val="맑은 고딕"/></font></fonts>\
+        <fills count="2"><fill><patternFill patternType="none"/></fill><fill><patternFill patternType="gray125"/></fill></fills>\
+        <borders count="1"><border><left/><right/><top/><bottom/><diagonal/></border></borders>\
+        <cellStyleXfs count="1"><xf numFmtId="0" fontId="0" fillId="0" borderId="0"/></cellStyleXfs>\
+        <cellXfs count="4"><xf numFmtId="0" fontId="0" fillId="0" borderId="0" xfId="0"/>\
+        <xf numFmtId="0" fontId="1" fillId="0" borderId="0" xfId="0" applyFont="1"/>\
+        <xf numFmtId="164" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/>\
+        <xf numFmtId="165" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/></cellXfs>\
+        </styleSheet>""");
+    zip.finish();
+  }
+
+  private void startSheet() throws IOException {
+    sheets++;
+    rowNum = 1;
+    zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+    writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+        + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+        + "<sheetViews><sheetView workbookViewId=\"0\"><pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/></sheetView></sheetViews>"
+        + "<sheetData><row r=\"1\">");
+    for (String header : headers) {
+      writer.write("<c s=\"" + STYLE_HEADER + "\" t=\"inlineStr\"><is><t>");
+      escape(header);
+      writer.write("</t></is></c>");
+    }
+    writer.write("</row>");
+  }
+
+  private void endSheet() throws IOException {
+    writer.write("</sheetData></worksheet>");
+    writer.flush();
+    zip.closeEntry();
+  }
+
+  private void writeCell(Object value) throws IOException {
+    if (value == null) {
+      writer.write("<c/>");
+      return;
+    }
+    if (value instanceof Number number && !isNonFinite(number)) {
+      writer.write("<c><v>");
+      writer.write(number.toString());
+      writer.write("</v></c>");
+      return;
+    }
+    if (value instanceof Boolean bool) {
+      writer.write(bool ? "<c t=\"b\"><v>1</v></c>" : "<c t=\"b\"><v>0</v></c>");
+      return;
+    }
+    if (value instanceof Date date) {
+      LocalDateTime at = LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+      double serial = Duration.between(EPOCH, at).toMillis() / 86_400_000d;
+      int style = at.toLocalTime().toNanoOfDay() == 0 ? STYLE_DATE : STYLE_DATE_TIME;
+      writer.write("<c s=\"" + style + "\"><v>");
+      writer.write(Double.toString(serial));
+      writer.write("</v></c>");
+      return;
+    }
+    writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+    escape(value.toString());
+    writer.write("</t></is></c>");
+  }
+
+  private static boolean isNonFinite(Number number) {
+    return (number instanceof Double d && !Double.isFinite(d)) || (number instanceof Float f && !Float.isFinite(f));
+  }
+
+  // XML 특수문자 이스케이프 + XML 에 쓸 수 없는 제어문자 제거
+  private void escape(String text) throws IOException {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '<' -> writer.write("&lt;");
+        case '>' -> writer.write("&gt;");
+        case '&' -> writer.write("&amp;");
+        case '"' -> writer.write("&quot;");
+        default -> {
+          if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+            writer.write(c);
+          }
+        }
+      }
+    }
+  }
+
+  private void entry(String name, String content) throws IOException {
+    zip.putNextEntry(new ZipEntry(name));
+    writer.write(content);
+    writer.flush();
+    zip.closeEntry();
+  }
+
+  private String contentTypes() {
+    StringBuilder xml = new StringBuilder("""
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+        <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+        <Default Extension="xml" ContentType="application/xml"/>\
+        <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+        <Override PartName="/xl/styles.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml"/>""");
+    for (int i = 1; i <= sheets; i++) {
+      xml.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+          .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+    }
+    return xml.append("</Types>").toString();
+  }
+
+  private String workbook() {
+    StringBuilder xml = new StringBuilder("""
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+        xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships"><sheets>""");
+    for (int i = 1; i <= sheets; i++) {
+      xml.append("<sheet name=\"Sheet").append(i).append("\" sheetId=\"").append(i)
+          .append("\" r:id=\"rId").append(i).append("\"/>");
+    }
+    return xml.append("</sheets></workbook>").toString();
+  }
+
+  private String workbookRels() {
+    StringBuilder xml = new StringBuilder("""
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">""");
+    for (int i = 1; i <= sheets; i++) {
+      xml.append("<Relationship Id=\"rId").append(i)
+          .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet")
+          .append(i).append(".xml\"/>");
+    }
+    xml.append("<Relationship Id=\"rId").append(sheets + 1)
+        .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>");
+    return xml.append("</Relationships>").toString();
+  }
+}
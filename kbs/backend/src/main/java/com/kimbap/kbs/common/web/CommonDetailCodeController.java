@@ -1,14 +1,16 @@
 package com.kimbap.kbs.common.web;
 
-import java.util.List;
-
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.kimbap.kbs.common.service.CommonCodeDictionary;
 import com.kimbap.kbs.common.service.CommonDetailCodeService;
-import com.kimbap.kbs.common.service.CommonDetailCodeVO;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,8 +20,17 @@ import lombok.RequiredArgsConstructor;
 public class CommonDetailCodeController {
   private final CommonDetailCodeService commonDetailCodeService;
 
+  // 미리 직렬화한 본문 + ETag. 브라우저가 If-None-Match 로 다시 물으면 변경 없을 때 304
   @GetMapping("/{groupCd}")
-  public List<CommonDetailCodeVO> getDetailCodes(@PathVariable String groupCd) {
-      return commonDetailCodeService.getDetailCodes(groupCd);
+  public ResponseEntity<byte[]> getDetailCodes(@PathVariable String groupCd, WebRequest request) {
+      CommonCodeDictionary.Group group = commonDetailCodeService.getDictionary().group(groupCd);
+      if (request.checkNotModified(group.etag())) {
+          return null;
+      }
+      return ResponseEntity.ok()
+          .eTag(group.etag())
+          .cacheControl(CacheControl.noCache())
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(group.json());
   }
 }
@@ -0,0 +1,40 @@
+package com.kimbap.kbs.common.web;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.kimbap.kbs.common.service.CounterPushService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/push")
+@RequiredArgsConstructor
+public class CounterPushController {
+  private final CounterPushService counterPushService;
+
+  // 구독용 일회용 티켓 발급 (Authorization 헤더로 인증된 요청만)
+  @PostMapping("/ticket")
+  public Map<String, String> issueTicket(Authentication authentication) {
+    return Map.of("ticket", counterPushService.issueTicket(authentication.getName()));
+  }
+
+  // 대시보드/승인 건수 증감 구독 - EventSource 는 헤더를 못 보내므로 티켓으로 인증
+  @GetMapping(value = "/counters", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> subscribeCounters(@RequestParam(required = false) String ticket) {
+    if (!counterPushService.redeemTicket(ticket)) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+    return ResponseEntity.ok(counterPushService.subscribe());
+  }
+}
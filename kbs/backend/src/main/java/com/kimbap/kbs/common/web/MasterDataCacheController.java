@@ -0,0 +1,34 @@
+package com.kimbap.kbs.common.web;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kimbap.kbs.common.service.MasterCacheStatsVO;
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/master-cache")
+@RequiredArgsConstructor
+public class MasterDataCacheController {
+  private final MasterDataCache masterDataCache;
+
+  // 영역별 건수 / 적중률
+  @GetMapping
+  public List<MasterCacheStatsVO> getStats() {
+    return masterDataCache.stats();
+  }
+
+  // DB 를 직접 고친 뒤 영역 비우기 (예: /api/master-cache/COMMON_CODE)
+  @DeleteMapping("/{region}")
+  public void evict(@PathVariable MasterRegion region) {
+    masterDataCache.evictAll(region);
+  }
+}
@@ -20,6 +20,9 @@ public interface ChartMapper {
 
   // 금일 주문요청 목록 데이터
   public List<ChartVO> getOrderData();
+
+  // 제품코드별 제품명 (대시보드 스냅샷용)
+  public List<ChartVO> getProductNames();
   
 
 }
@@ -15,4 +15,7 @@ public interface ChartService {
   // 금일 주문요청 목록 데이터
   List<ChartVO> getOrderData();
 
+  // 대시보드 네 가지 데이터 한 번에 조회
+  DashboardSummaryVO getSummary();
+
 }
\ No newline at end of file
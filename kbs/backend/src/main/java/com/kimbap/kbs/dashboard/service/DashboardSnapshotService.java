@@ -0,0 +1,36 @@
+package com.kimbap.kbs.dashboard.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 대시보드 집계 스냅샷
+ * 금일 건수, 월별 매출, 이번 달 제품별 출고량을 메모리에 들고 있다가 쓰기 경로에서 증분 반영한다.
+ * 기록(record*)은 트랜잭션 안에서 호출하면 커밋 후에 반영된다.
+ */
+public interface DashboardSnapshotService {
+
+  // 대시보드 상단 건수
+  ChartVO getCounters();
+
+  // 이번 달 제품별 출고량 (많은 순)
+  List<ChartVO> getPieData();
+
+  // 월별 매출 (월 순)
+  List<ChartVO> getBarData();
+
+  // 제품입고 등록
+  void recordProdInbound(int count);
+
+  // 제품반품 등록
+  void recordProdReturn(int count);
+
+  // 출고지시 상세 등록
+  void recordReleaseOrder(int count);
+
+  // 제품출고 등록 (prod_rel 1건)
+  void recordProdRelease(String pcode, String lotNo, int relQty, BigDecimal unitPrice);
+
+  // DB 기준으로 다시 집계
+  void reconcile();
+}
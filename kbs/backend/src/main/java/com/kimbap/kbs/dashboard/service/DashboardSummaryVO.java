@@ -0,0 +1,21 @@
+package com.kimbap.kbs.dashboard.service;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 대시보드 첫 화면 데이터 한 번에 (필드명은 개별 API 경로와 같음)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardSummaryVO {
+
+  private ChartVO chartData;         // 상단 건수
+  private List<ChartVO> pieData;     // 제품별 출고 파이차트
+  private List<ChartVO> barData;     // 월별 매출
+  private List<ChartVO> orderData;   // 금일 주문요청 목록
+}
@@ -7,6 +7,8 @@ import org.springframework.stereotype.Service;
 import com.kimbap.kbs.dashboard.mapper.ChartMapper;
 import com.kimbap.kbs.dashboard.service.ChartService;
 import com.kimbap.kbs.dashboard.service.ChartVO;
+import com.kimbap.kbs.dashboard.service.DashboardSnapshotService;
+import com.kimbap.kbs.dashboard.service.DashboardSummaryVO;
 
 import lombok.RequiredArgsConstructor;
 @Service
@@ -14,23 +16,24 @@ import lombok.RequiredArgsConstructor;
 public class ChartServiceImpl implements ChartService{
   
       private final ChartMapper chartMapper;
+      private final DashboardSnapshotService dashboardSnapshotService;
 
-    // 대시보드 상단 건수 조회
+    // 대시보드 상단 건수 조회 (스냅샷)
     @Override
     public ChartVO getChartData() {
-        return chartMapper.getChartData();
+        return dashboardSnapshotService.getCounters();
     }
 
-    // 대시보드 파이차트 데이터 조회
+    // 대시보드 파이차트 데이터 조회 (스냅샷)
     @Override
     public List<ChartVO> getPieData() {
-        return chartMapper.getPieData();
+        return dashboardSnapshotService.getPieData();
     }
 
-    // 대시보드 바 차트 데이터 조회
+    // 대시보드 바 차트 데이터 조회 (스냅샷)
     @Override
     public List<ChartVO> getBarData() {
-        return chartMapper.getBarData();
+        return dashboardSnapshotService.getBarData();
     }
 
     // 금일 주문요청 목록 데이터
@@ -39,4 +42,15 @@ public class ChartServiceImpl implements ChartService{
         return chartMapper.getOrderData();
     }
 
+    // 대시보드 전체 - 건수/파이/바는 메모리 스냅샷이라 DB 조회는 주문요청 목록 하나
+    @Override
+    public DashboardSummaryVO getSummary() {
+        return DashboardSummaryVO.builder()
+                .chartData(getChartData())
+                .pieData(getPieData())
+                .barData(getBarData())
+                .orderData(getOrderData())
+                .build();
+    }
+
 }
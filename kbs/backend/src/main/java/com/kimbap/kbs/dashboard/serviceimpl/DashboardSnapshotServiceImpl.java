@@ -0,0 +1,310 @@
+package com.kimbap.kbs.dashboard.serviceimpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kimbap.kbs.common.service.CounterPushService;
+import com.kimbap.kbs.dashboard.mapper.ChartMapper;
+import com.kimbap.kbs.dashboard.service.ChartVO;
+import com.kimbap.kbs.dashboard.service.DashboardSnapshotService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 대시보드 집계 스냅샷
+ *
+ * - 기동 시(실패하면 첫 조회 시) DB 에서 한 번 집계하고, 이후에는 쓰기 경로의 record* 호출로 증분 반영한다.
+ * - 날짜가 바뀌었거나 모르는 제품이 출고되면 다음 조회 때 다시 집계한다.
+ * - 증분 누락/중복은 주기적인 reconcile 로 DB 기준으로 맞춘다.
+ *   재집계는 WarehouseOccupancyServiceImpl 과 같은 커밋 울타리(commitFence)로 스냅샷 전후를 가른다.
+ *   스냅샷 뒤에 커밋된 증분만 모아 두었다가 새 스냅샷에 다시 반영한다 (스냅샷에 이미 들어간 증분을 두 번 세지 않는다).
+ * - 상단 건수 증감은 CounterPushService 로 방송한다.
+ * - 파이/바 차트는 기존 쿼리와 같이 LOT 번호의 생산일자(LOT-100-yyyyMMdd-001) 기준 월로 집계한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardSnapshotServiceImpl implements DashboardSnapshotService {
+
+  private static final DateTimeFormatter LOT_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+  private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+  private final ChartMapper chartMapper;
+  private final CounterPushService counterPushService;
+
+  private final ReentrantLock reloadLock = new ReentrantLock();
+  // 커밋 중(커밋 직전 ~ 반영 끝) 읽기 잠금 / 스냅샷 읽는 동안 쓰기 잠금
+  final ReentrantReadWriteLock commitFence = new ReentrantReadWriteLock();
+  // 현재 스냅샷 (reload 전에는 null)
+  private volatile Snapshot snapshot;
+  // 스냅샷 뒤에 커밋되어 새 스냅샷에 다시 반영할 증분 (재집계 중이 아니면 null) - this 로 보호
+  private List<Consumer<Snapshot>> pending;
+  // 재집계 중 여부 / 그 사이 트랜잭션 밖 증분이 있었는지 - this 로 보호
+  private boolean reloading;
+  private boolean unfencedDuringReload;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void seed() {
+    try {
+      reconcile();
+    } catch (RuntimeException e) {
+      log.warn("대시보드 스냅샷 초기 집계 실패 - 첫 조회 시 다시 시도: {}", e.getMessage());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${kbs.dashboard.reconcile-ms:300000}",
+             initialDelayString = "${kbs.dashboard.reconcile-ms:300000}")
+  @Override
+  public void reconcile() {
+    if (!reloadLock.tryLock()) {
+      return; // 이미 재집계 중
+    }
+    try {
+      reload();
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  @Override
+  public ChartVO getCounters() {
+    Snapshot s = current();
+    return ChartVO.builder()
+        .prodInbo(s.prodInbo.get())
+        .prodReturn(s.prodReturn.get())
+        .releaseOrd(s.releaseOrd.get())
+        .prodRel(s.prodRel.get())
+        .build();
+  }
+
+  @Override
+  public List<ChartVO> getPieData() {
+    List<ChartVO> pie = new ArrayList<>();
+    current().pieQty.forEach((prodName, qty) ->
+        pie.add(ChartVO.builder().prodName(prodName).pieTotalQty(qty.get()).build()));
+    pie.sort(Comparator.comparingInt(ChartVO::getPieTotalQty).reversed());
+    return pie;
+  }
+
+  @Override
+  public List<ChartVO> getBarData() {
+    List<ChartVO> bar = new ArrayList<>();
+    current().sales.forEach((month, sales) ->
+        bar.add(ChartVO.builder().month(month).totalSales(sales.intValue()).build()));
+    bar.sort(Comparator.comparing(ChartVO::getMonth));
+    return bar;
+  }
+
+  @Override
+  public void recordProdInbound(int count) {
+    record(s -> s.prodInbo.addAndGet(count), "prodInbo", count);
+  }
+
+  @Override
+  public void recordProdReturn(int count) {
+    record(s -> s.prodReturn.addAndGet(count), "prodReturn", count);
+  }
+
+  @Override
+  public void recordReleaseOrder(int count) {
+    record(s -> s.releaseOrd.addAndGet(count), "releaseOrd", count);
+  }
+
+  @Override
+  public void recordProdRelease(String pcode, String lotNo, int relQty, BigDecimal unitPrice) {
+    LocalDate lotDate = lotDate(lotNo);
+    record(s -> {
+      s.prodRel.incrementAndGet();
+      if (lotDate == null) {
+        return;
+      }
+      BigDecimal amount = (unitPrice != null ? unitPrice : BigDecimal.ZERO).multiply(BigDecimal.valueOf(relQty));
+      s.sales.merge(lotDate.format(MONTH), amount, BigDecimal::add);
+      if (YearMonth.from(lotDate).equals(YearMonth.from(s.day))) {
+        String prodName = s.productNames.get(pcode);
+        if (prodName == null) {
+          s.stale = true; // 기동 후 등록된 제품 - 다음 조회 때 재집계
+          return;
+        }
+        s.pieQty.computeIfAbsent(prodName, k -> new AtomicInteger()).addAndGet(relQty);
+      }
+    }, "prodRel", 1);
+  }
+
+  // 스냅샷이 없거나 오래됐으면 다시 집계
+  private Snapshot current() {
+    Snapshot s = snapshot;
+    if (s == null || s.stale || !s.day.equals(LocalDate.now())) {
+      reloadLock.lock();
+      try {
+        s = snapshot;
+        if (s == null || s.stale || !s.day.equals(LocalDate.now())) {
+          s = reload();
+        }
+      } finally {
+        reloadLock.unlock();
+      }
+    }
+    return s;
+  }
+
+  private Snapshot reload() {
+    // 이 스레드가 커밋 중(다른 afterCommit 에서 조회)이면 울타리를 칠 수 없다 - 읽고 다음 조회 때 다시 집계
+    boolean fenced = commitFence.getReadHoldCount() == 0;
+    synchronized (this) {
+      reloading = true;
+      unfencedDuringReload = !fenced;
+    }
+    Snapshot fresh;
+    try {
+      if (fenced) {
+        commitFence.writeLock().lock();
+      }
+      try {
+        fresh = load();
+        synchronized (this) {
+          pending = new ArrayList<>();
+        }
+      } finally {
+        if (fenced) {
+          commitFence.writeLock().unlock();
+        }
+      }
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        reloading = false;
+        pending = null;
+      }
+      throw e;
+    }
+    synchronized (this) {
+      pending.forEach(change -> change.accept(fresh));
+      if (unfencedDuringReload) {
+        fresh.stale = true;
+      }
+      reloading = false;
+      pending = null;
+      snapshot = fresh;
+    }
+    log.debug("대시보드 스냅샷 집계 - 제품 {}종, 월 {}개", fresh.pieQty.size(), fresh.sales.size());
+    return fresh;
+  }
+
+  private Snapshot load() {
+    Snapshot s = new Snapshot(LocalDate.now());
+    ChartVO counters = chartMapper.getChartData();
+    if (counters != null) {
+      s.prodInbo.set(counters.getProdInbo());
+      s.prodReturn.set(counters.getProdReturn());
+      s.releaseOrd.set(counters.getReleaseOrd());
+      s.prodRel.set(counters.getProdRel());
+    }
+    for (ChartVO row : chartMapper.getPieData()) {
+      s.pieQty.put(row.getProdName(), new AtomicInteger(row.getPieTotalQty()));
+    }
+    for (ChartVO row : chartMapper.getBarData()) {
+      if (row.getMonth() != null) {
+        s.sales.put(row.getMonth(), BigDecimal.valueOf(row.getTotalSales()));
+      }
+    }
+    for (ChartVO row : chartMapper.getProductNames()) {
+      s.productNames.put(row.getPcode(), row.getProdName());
+    }
+    return s;
+  }
+
+  // 커밋 후 스냅샷 반영 + 건수 증감 방송
+  private void record(Consumer<Snapshot> change, String counter, int delta) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        private boolean fenced;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+          commitFence.readLock().lock();
+          fenced = true;
+        }
+
+        @Override
+        public void afterCommit() {
+          apply(change, true);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          if (fenced) {
+            fenced = false;
+            commitFence.readLock().unlock();
+          }
+        }
+      });
+    } else {
+      apply(change, false);
+    }
+    counterPushService.publish("dashboard", Map.of(counter, delta));
+  }
+
+  // fenced: 트랜잭션 커밋 후 반영 (커밋 울타리 안)
+  private synchronized void apply(Consumer<Snapshot> change, boolean fenced) {
+    if (reloading && !fenced) {
+      unfencedDuringReload = true;
+    } else if (pending != null) {
+      pending.add(change);
+    }
+    if (snapshot != null) {
+      change.accept(snapshot);
+    }
+  }
+
+  // LOT-100-20250530-001 → 2025-05-30 (형식이 다르면 null)
+  static LocalDate lotDate(String lotNo) {
+    if (lotNo == null || lotNo.length() < 16) {
+      return null;
+    }
+    try {
+      return LocalDate.parse(lotNo.substring(8, 16), LOT_DATE);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  // 집계 기준일의 스냅샷
+  private static final class Snapshot {
+    private final LocalDate day;
+    private final AtomicInteger prodInbo = new AtomicInteger();
+    private final AtomicInteger prodReturn = new AtomicInteger();
+    private final AtomicInteger releaseOrd = new AtomicInteger();
+    private final AtomicInteger prodRel = new AtomicInteger();
+    // 제품명 → 이번 달 출고수량
+    private final Map<String, AtomicInteger> pieQty = new ConcurrentHashMap<>();
+    // yyyy-MM → 매출
+    private final Map<String, BigDecimal> sales = new ConcurrentHashMap<>();
+    // pcode → 제품명
+    private final Map<String, String> productNames = new ConcurrentHashMap<>();
+    private volatile boolean stale;
+
+    private Snapshot(LocalDate day) {
+      this.day = day;
+    }
+  }
+}
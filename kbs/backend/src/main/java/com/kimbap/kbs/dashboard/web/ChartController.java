@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.kimbap.kbs.dashboard.service.ChartService;
 import com.kimbap.kbs.dashboard.service.ChartVO;
+import com.kimbap.kbs.dashboard.service.DashboardSummaryVO;
 
 import lombok.RequiredArgsConstructor;
 
@@ -38,5 +39,11 @@ public class ChartController {
         return chartService.getOrderData();
     }
 
+    // 대시보드 첫 화면용 - 위 네 가지를 한 번에
+    @GetMapping("/summary")
+    public DashboardSummaryVO getSummary() {
+        return chartService.getSummary();
+    }
+
     
 }
@@ -5,21 +5,31 @@ import java.util.Map;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import com.kimbap.kbs.distribution.service.DistributionVO;
 import com.kimbap.kbs.distribution.service.LotStockVO;
+import com.kimbap.kbs.distribution.service.ProdRelVO;
 import com.kimbap.kbs.distribution.service.RelDetailVO;
 import com.kimbap.kbs.distribution.service.RelOrdModalVO;
 import com.kimbap.kbs.distribution.service.RelOrderAndResultVO;
+import com.kimbap.kbs.distribution.service.ReleaseLineVO;
 import com.kimbap.kbs.distribution.service.ReleaseMasterOrdVO;
 import com.kimbap.kbs.distribution.service.ReleaseOrdVO;
+import com.kimbap.kbs.distribution.service.ReleaseProgressVO;
 import com.kimbap.kbs.distribution.service.WarehouseVO;
+import com.kimbap.kbs.standard.service.ProdVO;
 
 @Mapper
 public interface DistributionMapper {
   // 입출고조회
   List<DistributionVO> getInOutCheck(DistributionVO filter);
 
+  // 입출고조회 keyset 페이지 / 스트리밍
+  List<DistributionVO> getInOutCheckPage(Map<String, Object> params);
+
+  void streamInOutCheck(Map<String, Object> params, ResultHandler<DistributionVO> handler);
+
   // 출고 지시서 조회
   List<RelOrderAndResultVO> getRelOrdList(RelOrderAndResultVO filter);
 
@@ -41,12 +51,14 @@ public interface DistributionMapper {
 
   void insertReleaseOrdList(List<ReleaseOrdVO> releaseList);
 
+  // 주문 고객상태 조회 (상태 변경 전 - 건수 푸시용)
+  String selectOrdStatusCustomer(@Param("ordCd") String ordCd);
+
   int updateOrdStatusCustomer(@Param("ordCd") String ordCd);
 
   // 출고마스터코드 자동 생성
   String selectNewRelMasCd();
 
-  int selectMaxRelOrdSeqToday();
 
   // 출고지시서 불러오기 모달
   List<RelOrderAndResultVO> getRelOrdListWaiting();
@@ -57,16 +69,28 @@ public interface DistributionMapper {
   // lot
   List<LotStockVO> getLotsByPcode(@Param("pcode") String pcode);
 
-  // 출고처리 코드
-  String nextProdRelCd();
+  // ===== 출고처리 (ReleaseEngine) =====
+  // 출고지시코드 / 주문상세코드별 단가, 주문코드, 주문수량
+  List<ReleaseLineVO> selectReleaseLines(@Param("relOrdCds") List<String> relOrdCds,
+                                         @Param("ordDCds") List<String> ordDCds);
+
+  // 제품별 최신 버전과 포장단위
+  List<ProdVO> selectLatestProducts(List<String> pcodes);
+
+  // (LOT, 창고구역) 재고 행 잠금 - LOT/구역 순으로 잠가서 교착 방지
+  List<LotStockVO> selectLotStocksForUpdate(List<LotStockVO> lots);
+
+  // 재고 일괄 차감 (wslcode, qty) - 음수가 되는 행은 갱신하지 않음
+  int decreaseLotStocks(List<LotStockVO> deltas);
+
+  // prod_rel 일괄 INSERT
+  int insertProdRels(List<ProdRelVO> rels);
 
-  // 재고 잠금 & 차감
-List<Map<String, Object>> selectLotQtyRowsForUpdate(@Param("lotNo") String lotNo,
-                                                    @Param("wareAreaCd") String wareAreaCd);
+  // 주문상세별 누적 출고 현황 (이번 지시서 상세 + 주문 전체 상세)
+  List<ReleaseProgressVO> selectReleaseProgress(@Param("relMasCd") String relMasCd,
+                                                @Param("ordCds") List<String> ordCds);
 
-int decreaseLotQtyByRowId(@Param("rid") String rid,
-                          @Param("qty") Integer qty);
-  // 지시 상태 갱신 및 합계
+  // 지시 상태 갱신
   int updateRelOrderStatus(@Param("relMasCd") String relMasCd,
       @Param("status") String status);
 
@@ -74,39 +98,13 @@ int decreaseLotQtyByRowId(@Param("rid") String rid,
   int updateOrderDetailStatus(@Param("ord_d_cd") String ordDCd,
       @Param("status") String status);
 
-  // 최신 제품버전 조회 (없으면 null)
-  String selectLatestProdVerCd(@Param("pcode") String pcode);
-
-  // prod_rel 한 행 INSERT (LOT 1건 = 행 1건)
-  int insertProdRel(@Param("prodRelCd") String prodRelCd,
-                    @Param("lotNo") String lotNo,
-                    @Param("relQty") Integer relQty,
-                    @Param("relOrdCd") String relOrdCd,
-                    @Param("remainQty") Integer remainQty,
-                    @Param("ordDCd") String ordDCd,
-                    @Param("pcode") String pcode,
-                    @Param("prodVerCd") String prodVerCd);
-
-  java.math.BigDecimal selectUnitPriceByOrdDCd(@Param("ord_d_cd") String ordDCd);     
-  
+  // 전량 출고된 주문상세 → t3
+  int updateOrderDetailStatusesToT3(List<String> ordDCds);
+
   int increaseCompanyUnsettledAmount(@Param("cpCd") String cpCd,
                                    @Param("amount") java.math.BigDecimal amount);
 
-  int updateCustomerOrderStatus(@Param("ordCd") String ordCd,
-                              @Param("status") String status);      
-                              
-  String selectOrdCdByOrdDCd(@Param("ord_d_cd") String ord_d_cd);
-
-  int countRemainingQtyByOrdCd(@Param("ordCd") String ordCd);
-
-  void updateOrderDetailStatusToT3(String ordDCd);
-
-  Integer selectOrderQtyByOrdDCd(String ordDCd);
-  
-  Integer sumReleasedQtyByOrdDCd(String ordDCd);
-
-  Long selectTotalRequestQtyByRelMasCd(String relMasCd);
-
-  Long selectTotalReleasedQtyAllByRelMasCd(String relMasCd);
-
+  // 주문 고객상태 일괄 갱신
+  int updateCustomerOrderStatuses(@Param("ordCds") List<String> ordCds,
+                                  @Param("status") String status);
 }
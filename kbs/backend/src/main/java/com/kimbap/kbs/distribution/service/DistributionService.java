@@ -1,12 +1,21 @@
 package com.kimbap.kbs.distribution.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import com.kimbap.kbs.common.service.KeysetPage;
 
 public interface DistributionService {
 
   // 입출고 조회
   List<DistributionVO> getInOutCheck(DistributionVO filter);
 
+  // 입출고 조회 keyset 페이지 (일시 최신순)
+  KeysetPage<DistributionVO> getInOutCheckPage(DistributionVO filter, String cursor, Integer size);
+
+  // 입출고 내역 전체를 한 행씩 전달
+  void streamInOutCheck(DistributionVO filter, Consumer<DistributionVO> consumer);
+
   // 출고 지시서 조회
   List<RelOrderAndResultVO> getRelOrdList(RelOrderAndResultVO filter);
 
@@ -22,4 +22,5 @@ public class DistributionVO {
     private String note;          // 비고
     private Date startDate;       // 시작일
     private Date endDate;         // 종료일
+    private String rowKey;        // 입출고 행 식별값 (페이지 커서용)
 }
@@ -11,4 +11,6 @@ public class LotStockVO {
     private String wcode;        // 창고코드 (ware_stock.wcode)
     private String wareAreaCd;   // 창고 구역코드 (ware_stock.ware_area_cd)
     private Timestamp inboDt;    // 입고일시 (prod_inbo.inbo_dt) - FIFO 정렬용
+    private String wslcode;      // 창고재고코드 (출고 시 잠금/차감 대상 행)
+    private String prodVerCd;    // 제품버전코드 (prod_inbo.prod_ver_cd)
 }
\ No newline at end of file
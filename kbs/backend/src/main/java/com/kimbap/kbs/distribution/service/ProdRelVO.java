@@ -0,0 +1,27 @@
+package com.kimbap.kbs.distribution.service;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 제품 출고 (prod_rel 한 행 = LOT/창고구역 하나)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProdRelVO {
+    private String prodRelCd;         // 출고처리코드 (PR-yyyyMMdd0001)
+    private String lotNo;
+    private String wareAreaCd;
+    private int relQty;               // 출고수량 (박스)
+    private int remainQty;            // 출고 후 LOT/구역 잔여 (개)
+    private BigDecimal unitPrice;     // 단가 (개당)
+    private BigDecimal relTotalAmount; // 단가 x 출고수량(개)
+    private String relOrdCd;
+    private String ordDCd;
+    private String pcode;
+    private String prodVerCd;
+}
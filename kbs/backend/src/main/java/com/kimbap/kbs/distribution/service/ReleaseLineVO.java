@@ -0,0 +1,15 @@
+package com.kimbap.kbs.distribution.service;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+// 출고처리 라인 정보 (출고지시/주문상세 기준 단가, 주문코드, 주문수량)
+@Data
+public class ReleaseLineVO {
+    private String relOrdCd;      // 출고지시코드 (주문상세코드로 조회한 행은 null)
+    private String ordDCd;        // 주문상세코드
+    private String ordCd;         // 주문코드
+    private Integer ordQty;       // 주문수량
+    private BigDecimal unitPrice; // 단가
+}
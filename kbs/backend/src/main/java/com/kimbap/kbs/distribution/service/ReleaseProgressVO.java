@@ -0,0 +1,14 @@
+package com.kimbap.kbs.distribution.service;
+
+import lombok.Data;
+
+// 출고처리 후 상태 재계산용 주문상세별 누적 출고 현황
+@Data
+public class ReleaseProgressVO {
+    private String ordCd;
+    private String ordDCd;
+    private long ordQty;       // 주문수량
+    private long releasedQty;  // 누적 출고수량 (prod_rel 합계)
+    private int masLines;      // 이번 출고지시서(rel_mas_cd)에 포함된 지시 행 수 (0 이면 다른 지시서 소속)
+    private String ordStatusCustomer; // 갱신 전 주문 고객상태 (건수 푸시용)
+}
@@ -1,16 +1,25 @@
 package com.kimbap.kbs.distribution.serviceimpl;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.CounterPushService;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.service.KeysetPage;
+import com.kimbap.kbs.common.service.StockLedgerService;
+import com.kimbap.kbs.common.util.KeysetPaging;
+import com.kimbap.kbs.dashboard.service.DashboardSnapshotService;
 import com.kimbap.kbs.distribution.mapper.DistributionMapper;
 import com.kimbap.kbs.distribution.service.DistributionService;
 import com.kimbap.kbs.distribution.service.DistributionVO;
 import com.kimbap.kbs.distribution.service.LotStockVO;
+import com.kimbap.kbs.distribution.service.ProdRelVO;
 import com.kimbap.kbs.distribution.service.RelDetailVO;
 import com.kimbap.kbs.distribution.service.RelOrdModalVO;
 import com.kimbap.kbs.distribution.service.RelOrderAndResultVO;
@@ -28,6 +37,11 @@ import lombok.extern.slf4j.Slf4j;
 public class DistributionServiceImpl implements DistributionService {
 
     private final DistributionMapper distributionMapper;
+    private final KeyGeneratorService keyGeneratorService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final StockLedgerService stockLedgerService;
+    private final ReleaseEngine releaseEngine;
+    private final CounterPushService counterPushService;
 
     // 입출고 조회
     @Override
@@ -35,6 +49,33 @@ public class DistributionServiceImpl implements DistributionService {
         return distributionMapper.getInOutCheck(filter);
     };
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<DistributionVO> getInOutCheckPage(DistributionVO filter, String cursor, Integer size) {
+        Map<String, Object> params = KeysetPaging.apply(inOutParams(filter), cursor, size);
+        return KeysetPaging.toPage(distributionMapper.getInOutCheckPage(params), params, DistributionVO::getRowKey);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamInOutCheck(DistributionVO filter, Consumer<DistributionVO> consumer) {
+        distributionMapper.streamInOutCheck(inOutParams(filter), context -> consumer.accept(context.getResultObject()));
+    }
+
+    // 입출고 조회 검색 조건
+    private Map<String, Object> inOutParams(DistributionVO filter) {
+        Map<String, Object> params = new HashMap<>();
+        if (filter != null) {
+            params.put("prodName", filter.getProdName());
+            params.put("pCode", filter.getPCode());
+            params.put("wareAreaCd", filter.getWareAreaCd());
+            params.put("type", filter.getType());
+            params.put("startDate", filter.getStartDate());
+            params.put("endDate", filter.getEndDate());
+        }
+        return params;
+    }
+
     // 출고 지시서 조회
     @Override
     public List<RelOrderAndResultVO> getRelOrdList(RelOrderAndResultVO filter) {
@@ -68,26 +109,28 @@ public class DistributionServiceImpl implements DistributionService {
         // 2) 마스터 INSERT
         distributionMapper.insertReleaseOrdMaster(master);
 
-        // 3) 시퀀스 준비
-        int maxSeq = distributionMapper.selectMaxRelOrdSeqToday();
-        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        int nextSeq = maxSeq + 1;
+        // 3) 디테일 코드 일괄 발번 (REL-yyyyMMdd-0001)
+        List<String> relOrdCds = keyGeneratorService.nextKeys(KeyFormats.REL_ORD, detailList.size());
 
         // 4) 디테일 코드/마스터 세팅
-        for (ReleaseOrdVO item : detailList) {
-            String relOrdCd = "REL-" + today + "-" + String.format("%04d", nextSeq++);
-            item.setNewRelOrdCd(relOrdCd);
+        for (int i = 0; i < detailList.size(); i++) {
+            ReleaseOrdVO item = detailList.get(i);
+            item.setNewRelOrdCd(relOrdCds.get(i));
             item.setRelMasCd(relMasCd);
         }
 
         // 5) 디테일 INSERT
         distributionMapper.insertReleaseOrdList(detailList);
+        dashboardSnapshotService.recordReleaseOrder(detailList.size());
 
         // 6) 주문 상태 업데이트 (고객용 상태 s7)
         if (master.getOrdCd() == null || master.getOrdCd().isBlank()) {
             throw new IllegalArgumentException("ordCd가 없어 주문 상태를 갱신할 수 없습니다.");
         }
-        distributionMapper.updateOrdStatusCustomer(master.getOrdCd());
+        String beforeStatus = distributionMapper.selectOrdStatusCustomer(master.getOrdCd());
+        if (distributionMapper.updateOrdStatusCustomer(master.getOrdCd()) > 0) {
+            counterPushService.publishTransition("order", beforeStatus, "s7", 1);
+        }
     }
 
     @Override
@@ -108,127 +151,26 @@ public class DistributionServiceImpl implements DistributionService {
     @Transactional
     @Override
     public String insertRelease(ReleaseRequestVO vo) {
-        java.math.BigDecimal requestTotal = java.math.BigDecimal.ZERO;
-        java.util.Set<String> touchedOrdCds = new java.util.HashSet<>();
-
-        for (var item : vo.getItems()) {
-            java.math.BigDecimal unitPrice = distributionMapper.selectUnitPriceByOrdDCd(item.getRelOrdCd());
-            if (unitPrice == null)
-                unitPrice = distributionMapper.selectUnitPriceByOrdDCd(item.getOrd_d_cd());
-            if (unitPrice == null)
-                unitPrice = java.math.BigDecimal.ZERO;
-
-            String prodVerCd = distributionMapper.selectLatestProdVerCd(item.getPcode());
-
-            for (var lot : item.getLots()) {
-                final String lotNo = lot.getLotNo();
-                final String area = lot.getWareAreaCd();
-
-                final int UNITS_PER_BOX = 40; // 1박스 = 40개
-                final int qtyBox = Math.max(0, lot.getAllocQty()); // 출고수량(박스)
-                final int need = qtyBox * UNITS_PER_BOX; // 재고 차감(개수)
-
-                // 1) 관련 재고행 잠금 (해당 LOT / 창고구역)
-                java.util.List<java.util.Map<String, Object>> rows = distributionMapper.selectLotQtyRowsForUpdate(lotNo,
-                        area);
-                if (rows == null || rows.isEmpty()) {
-                    throw new IllegalStateException("LOT " + lotNo + " / " + area + " 재고가 없습니다.");
-                }
-
-                // 2) 현재 보유 합계(개) 계산
-                int totalQty = 0;
-                for (var r : rows) {
-                    Number q = (Number) (r.get("QTY") != null ? r.get("QTY") : r.get("qty"));
-                    totalQty += (q == null ? 0 : q.intValue());
-                }
-                if (totalQty < need) {
-                    throw new IllegalStateException(
-                            "LOT " + lotNo + " / " + area + " 재고부족(필요 " + need + ", 보유 " + totalQty + ")");
-                }
-
-                // ✅ 3) 차감 후 잔여(개) = 현재합계 - 필요개수
-                int remainUnits = totalQty - need;
-
-                // 4) prod_rel INSERT — rel_qty는 '박스', remain_qty는 '개'
-                String prodRelCd = distributionMapper.nextProdRelCd();
-                distributionMapper.insertProdRel(
-                        prodRelCd,
-                        lotNo,
-                        qtyBox, // rel_qty(박스)
-                        item.getRelOrdCd(),
-                        remainUnits, // ✅ remain_qty(개)
-                        item.getOrd_d_cd(),
-                        item.getPcode(),
-                        prodVerCd);
-
-                // 5) 창고 재고 차감(개 단위)
-                int remain = need;
-                for (var r : rows) {
-                    if (remain <= 0)
-                        break;
-                    String rid = String.valueOf(r.get("RID") != null ? r.get("RID") : r.get("rid"));
-                    Number qn = (Number) (r.get("QTY") != null ? r.get("QTY") : r.get("qty"));
-                    int rowQty = (qn == null ? 0 : qn.intValue());
-                    if (rowQty <= 0)
-                        continue;
-
-                    int dec = Math.min(rowQty, remain);
-                    int updated = distributionMapper.decreaseLotQtyByRowId(rid, dec);
-                    if (updated != 1) {
-                        throw new IllegalStateException("재고 차감 실패(동시성 가능). RID=" + rid);
-                    }
-                    remain -= dec;
-                }
-                if (remain != 0) {
-                    throw new IllegalStateException("분배 차감 잔여가 0이 아닙니다. remain=" + remain);
-                }
-
-                // 6) 금액 누적(단가가 개당이면 need 사용)
-                requestTotal = requestTotal.add(
-                        unitPrice.multiply(java.math.BigDecimal.valueOf(need)));
-            }
+        // LOT 배분 / 재고 차감 / 출고 이력 / 주문·지시서 상태 (일괄 처리)
+        ReleaseEngine.Result result = releaseEngine.release(vo);
 
-            // ✅ 이 라인(주문상세)이 전량 출고됐는지 확인 후, 전량이면 t3로 상태 변경
-            int ordered = distributionMapper.selectOrderQtyByOrdDCd(item.getOrd_d_cd()); // 주문수량
-            int released = distributionMapper.sumReleasedQtyByOrdDCd(item.getOrd_d_cd()); // 누적 실제 출고
-            if (released >= ordered) {
-                distributionMapper.updateOrderDetailStatusToT3(item.getOrd_d_cd());
-            }
-
-            // 이 아이템이 속한 주문코드 수집
-            String ordCd = distributionMapper.selectOrdCdByOrdDCd(item.getOrd_d_cd());
-            if (ordCd != null)
-                touchedOrdCds.add(ordCd);
+        for (ProdRelVO rel : result.rels()) {
+            dashboardSnapshotService.recordProdRelease(rel.getPcode(), rel.getLotNo(), rel.getRelQty(), rel.getUnitPrice());
         }
 
-        // 마스터 상태 갱신 (기존 그대로)
-        // 주문 전체 요청 수량
-        long totalRequestQty = distributionMapper.selectTotalRequestQtyByRelMasCd(vo.getRelMasCd());
-        // 주문 전체에서 누적 출고된 수량
-        long totalReleasedQtyAll = distributionMapper.selectTotalReleasedQtyAllByRelMasCd(vo.getRelMasCd());
-
-        String relStatus;
-        if (totalReleasedQtyAll == 0) {
-            relStatus = "m1"; // 미출고
-        } else if (totalReleasedQtyAll >= totalRequestQty) {
-            relStatus = "m2"; // 전부 출고
-        } else {
-            relStatus = "m3"; // 부분 출고
-        }
-        distributionMapper.updateRelOrderStatus(vo.getRelMasCd(), relStatus);
+        // 재고 원장 출고(O) 행 + 현재고 + 구역 적재 현황
+        stockLedgerService.post(result.entries());
 
-        // 주문 고객상태 갱신: 남은 수량 있으면 s8, 없으면 s3
-        for (String ordCd : touchedOrdCds) {
-            int remainCnt = distributionMapper.countRemainingQtyByOrdCd(ordCd);
-            String custStatus = (remainCnt > 0) ? "s8" : "s3";
-            distributionMapper.updateCustomerOrderStatus(ordCd, custStatus);
+        // 주문 고객상태 건수 (s8 부분출고 / s3 출고완료)
+        if (!result.orderStatusDeltas().isEmpty()) {
+            counterPushService.publish("order", result.orderStatusDeltas());
         }
 
         // 미정산금액 증가
-        if (requestTotal.signum() > 0) {
-            int updated = distributionMapper.increaseCompanyUnsettledAmount(vo.getCpCd(), requestTotal);
+        if (result.totalAmount().signum() > 0) {
+            int updated = distributionMapper.increaseCompanyUnsettledAmount(vo.getCpCd(), result.totalAmount());
             if (updated == 0) {
-                log.warn("[UNSETTLED NOT UPDATED] cpCd={}, amount={}", vo.getCpCd(), requestTotal);
+                log.warn("[UNSETTLED NOT UPDATED] cpCd={}, amount={}", vo.getCpCd(), result.totalAmount());
             }
         }
 
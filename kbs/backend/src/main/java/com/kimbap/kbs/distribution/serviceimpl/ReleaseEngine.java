@@ -0,0 +1,386 @@
+package com.kimbap.kbs.distribution.serviceimpl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+
+import com.kimbap.kbs.common.exception.InsufficientStockException;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.service.StockEntryVO;
+import com.kimbap.kbs.distribution.mapper.DistributionMapper;
+import com.kimbap.kbs.distribution.service.LotStockVO;
+import com.kimbap.kbs.distribution.service.ProdRelVO;
+import com.kimbap.kbs.distribution.service.ReleaseLineVO;
+import com.kimbap.kbs.distribution.service.ReleaseProgressVO;
+import com.kimbap.kbs.distribution.service.ReleaseRequestVO;
+import com.kimbap.kbs.standard.service.ProdVO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 제품 출고처리 계산기
+ *
+ * - 요청 전체의 단가/주문코드, 제품 최신버전/포장단위, (LOT, 창고구역) 재고 행을 각각 한 번에 조회한다.
+ *   재고 행은 FOR UPDATE NOWAIT 로 잠근다. ORDER BY 가 있어도 Oracle 은 행 잠금 순서를 보장하지 않으므로,
+ *   잠금을 기다리지 않고 바로 실패한 뒤 잠시 쉬었다가 다시 잠근다 (MaterialIssueEngine 과 같은 방식).
+ *   LOT 묶음(CHUNK_SIZE)은 LOT/구역 순으로 잠가서 묶음끼리 서로 물고 도는 재시도를 막는다.
+ * - LOT 배분(박스 → 개 환산, 재고 확인, 행별 차감량)은 잠근 수량으로 메모리에서 계산하고,
+ *   부족하면 아무것도 쓰지 않고 예외.
+ * - 재고 차감(MERGE), 출고 이력(INSERT ALL)은 묶어서 쓰고,
+ *   주문상세/지시서/주문 상태는 누적 출고 집계 한 번으로 다시 계산한다.
+ * - 박스당 개수는 제품 포장단위(pac_unit) 코드별 설정값 (kbs.release.units-per-pack).
+ */
+@Slf4j
+@Component
+public class ReleaseEngine {
+
+    // IN 목록 / 일괄 처리 한 번에 보낼 최대 건수
+    static final int CHUNK_SIZE = 500;
+    // 잠금 실패(NOWAIT) 시 재시도하는 총 시간, 첫 대기 시간 (매번 두 배, 최대 LOCK_RETRY_MAX_MILLIS)
+    static final long LOCK_WAIT_MILLIS = 5_000;
+    static final long LOCK_RETRY_MILLIS = 5;
+    static final long LOCK_RETRY_MAX_MILLIS = 100;
+
+    private final DistributionMapper mapper;
+    private final KeyGeneratorService keyGeneratorService;
+    private final Map<String, Integer> unitsPerPack;
+    private final int defaultUnitsPerPack;
+
+    public ReleaseEngine(DistributionMapper mapper,
+                         KeyGeneratorService keyGeneratorService,
+                         @Value("${kbs.release.units-per-pack:l1=40}") String unitsPerPack,
+                         @Value("${kbs.release.default-units-per-pack:40}") int defaultUnitsPerPack) {
+        this.mapper = mapper;
+        this.keyGeneratorService = keyGeneratorService;
+        this.unitsPerPack = parseUnitsPerPack(unitsPerPack);
+        this.defaultUnitsPerPack = defaultUnitsPerPack;
+    }
+
+    /**
+     * 출고처리 결과 - 서비스가 재고 원장/대시보드/미정산금액 반영에 사용
+     * orderStatusDeltas: 주문 고객상태별 건수 증감 (예: {s7: -1, s8: 1}) - 건수 푸시용
+     */
+    public record Result(List<ProdRelVO> rels, List<StockEntryVO> entries, BigDecimal totalAmount,
+                         Map<String, Integer> orderStatusDeltas) {
+    }
+
+    public Result release(ReleaseRequestVO vo) {
+        List<ReleaseRequestVO.ItemVO> items = vo.getItems() != null ? vo.getItems() : List.of();
+
+        // 1. 라인 단가/주문코드, 제품 버전/포장단위 일괄 조회
+        Set<String> relOrdCds = new LinkedHashSet<>();
+        Set<String> ordDCds = new LinkedHashSet<>();
+        Set<String> pcodes = new LinkedHashSet<>();
+        Map<String, LotStockVO> lotKeys = new HashMap<>();
+        for (ReleaseRequestVO.ItemVO item : items) {
+            addIfPresent(relOrdCds, item.getRelOrdCd());
+            addIfPresent(ordDCds, item.getOrd_d_cd());
+            addIfPresent(pcodes, item.getPcode());
+            if (item.getLots() != null) {
+                for (ReleaseRequestVO.LotVO lot : item.getLots()) {
+                    LotStockVO key = new LotStockVO();
+                    key.setLotNo(lot.getLotNo());
+                    key.setWareAreaCd(lot.getWareAreaCd());
+                    lotKeys.putIfAbsent(lotKey(lot.getLotNo(), lot.getWareAreaCd()), key);
+                }
+            }
+        }
+        Map<String, ReleaseLineVO> byRelOrd = new HashMap<>();
+        Map<String, ReleaseLineVO> byOrdD = new HashMap<>();
+        List<String> relOrdList = new ArrayList<>(relOrdCds);
+        List<String> ordDList = new ArrayList<>(ordDCds);
+        for (int from = 0; from < Math.max(relOrdList.size(), ordDList.size()); from += CHUNK_SIZE) {
+            for (ReleaseLineVO line : mapper.selectReleaseLines(slice(relOrdList, from), slice(ordDList, from))) {
+                if (line.getRelOrdCd() != null) {
+                    byRelOrd.put(line.getRelOrdCd(), line);
+                } else {
+                    byOrdD.put(line.getOrdDCd(), line);
+                }
+            }
+        }
+        Map<String, ProdVO> products = new HashMap<>();
+        List<String> pcodeList = new ArrayList<>(pcodes);
+        for (int from = 0; from < pcodeList.size(); from += CHUNK_SIZE) {
+            for (ProdVO prod : mapper.selectLatestProducts(slice(pcodeList, from))) {
+                products.put(prod.getPcode(), prod);
+            }
+        }
+
+        // 2. (LOT, 창고구역) 재고 행 일괄 잠금 - LOT/구역 순
+        List<LotStockVO> lockOrder = new ArrayList<>(lotKeys.values());
+        lockOrder.sort(Comparator.comparing(LotStockVO::getLotNo).thenComparing(LotStockVO::getWareAreaCd));
+        Map<String, List<LotStockVO>> stocksByLot = new HashMap<>();
+        for (int from = 0; from < lockOrder.size(); from += CHUNK_SIZE) {
+            for (LotStockVO stock : lockStocks(slice(lockOrder, from))) {
+                stocksByLot.computeIfAbsent(lotKey(stock.getLotNo(), stock.getWareAreaCd()), k -> new ArrayList<>())
+                    .add(stock);
+            }
+        }
+
+        // 3. 메모리 배분 - 같은 LOT/구역을 여러 라인이 쓰면 앞 라인 차감분을 반영한다
+        List<ProdRelVO> rels = new ArrayList<>();
+        List<StockEntryVO> entries = new ArrayList<>();
+        List<ProdRelVO> entryRels = new ArrayList<>(); // 원장 행별 출고 이력 (출고처리코드 발번 후 refCd)
+        Map<String, Integer> deltaByStock = new LinkedHashMap<>();
+        Set<String> touchedOrdCds = new LinkedHashSet<>();
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (ReleaseRequestVO.ItemVO item : items) {
+            ReleaseLineVO line = byRelOrd.get(item.getRelOrdCd());
+            ReleaseLineVO ordLine = byOrdD.get(item.getOrd_d_cd());
+            BigDecimal unitPrice = line != null && line.getUnitPrice() != null ? line.getUnitPrice()
+                : ordLine != null && ordLine.getUnitPrice() != null ? ordLine.getUnitPrice() : BigDecimal.ZERO;
+            if (ordLine != null && ordLine.getOrdCd() != null) {
+                touchedOrdCds.add(ordLine.getOrdCd());
+            }
+            ProdVO prod = products.get(item.getPcode());
+            String prodVerCd = prod != null ? prod.getProdVerCd() : null;
+            int unitsPerBox = unitsPerBox(prod);
+
+            if (item.getLots() == null) {
+                continue;
+            }
+            for (ReleaseRequestVO.LotVO lot : item.getLots()) {
+                String lotNo = lot.getLotNo();
+                String area = lot.getWareAreaCd();
+                int qtyBox = Math.max(0, lot.getAllocQty() != null ? lot.getAllocQty() : 0); // 출고수량(박스)
+                int need = qtyBox * unitsPerBox;                                          // 재고 차감(개)
+
+                List<LotStockVO> rows = stocksByLot.get(lotKey(lotNo, area));
+                if (rows == null || rows.isEmpty()) {
+                    throw new InsufficientStockException("LOT " + lotNo + " / " + area + " 재고가 없습니다.");
+                }
+                int totalQty = 0;
+                for (LotStockVO row : rows) {
+                    totalQty += qty(row);
+                }
+                if (totalQty < need) {
+                    throw new InsufficientStockException(
+                        "LOT " + lotNo + " / " + area + " 재고부족(필요 " + need + ", 보유 " + totalQty + ")");
+                }
+
+                BigDecimal amount = unitPrice.multiply(BigDecimal.valueOf(need));
+                ProdRelVO rel = ProdRelVO.builder()
+                    .lotNo(lotNo).wareAreaCd(area).relQty(qtyBox).remainQty(totalQty - need)
+                    .unitPrice(unitPrice).relTotalAmount(amount)
+                    .relOrdCd(item.getRelOrdCd()).ordDCd(item.getOrd_d_cd())
+                    .pcode(item.getPcode()).prodVerCd(prodVerCd)
+                    .build();
+                rels.add(rel);
+
+                int remain = need;
+                for (LotStockVO row : rows) {
+                    if (remain <= 0) {
+                        break;
+                    }
+                    int rowQty = qty(row);
+                    if (rowQty <= 0) {
+                        continue;
+                    }
+                    int dec = Math.min(rowQty, remain);
+                    row.setQty(rowQty - dec);
+                    deltaByStock.merge(row.getWslcode(), dec, Integer::sum);
+                    remain -= dec;
+                    entries.add(StockEntryVO.builder()
+                        .entryType("O")
+                        .entryCat("제품출고")
+                        .itemType("h3")
+                        .itemCode(item.getPcode())
+                        .verCd(row.getProdVerCd() != null ? row.getProdVerCd() : prodVerCd)
+                        .lotNo(lotNo)
+                        .wareAreaCd(area)
+                        .wslcode(row.getWslcode())
+                        .qty(BigDecimal.valueOf(-dec))
+                        .build());
+                    entryRels.add(rel);
+                }
+                totalAmount = totalAmount.add(amount);
+            }
+        }
+
+        // 4. 재고 일괄 차감 - 잠근 행이므로 전부 차감되어야 한다
+        if (!deltaByStock.isEmpty()) {
+            List<LotStockVO> decrements = new ArrayList<>(deltaByStock.size());
+            deltaByStock.forEach((wslcode, delta) -> {
+                LotStockVO d = new LotStockVO();
+                d.setWslcode(wslcode);
+                d.setQty(delta);
+                decrements.add(d);
+            });
+            int updated = 0;
+            for (int from = 0; from < decrements.size(); from += CHUNK_SIZE) {
+                updated += mapper.decreaseLotStocks(slice(decrements, from));
+            }
+            if (updated != decrements.size()) {
+                throw new InsufficientStockException("제품 재고 차감 실패: " + updated + "/" + decrements.size());
+            }
+        }
+
+        // 5. 출고 이력 일괄 등록 (LOT 1건 = 행 1건)
+        if (!rels.isEmpty()) {
+            List<String> prodRelCds = keyGeneratorService.nextKeys(KeyFormats.PROD_REL, rels.size());
+            for (int i = 0; i < rels.size(); i++) {
+                rels.get(i).setProdRelCd(prodRelCds.get(i));
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).setRefCd(entryRels.get(i).getProdRelCd());
+            }
+            for (int from = 0; from < rels.size(); from += CHUNK_SIZE) {
+                mapper.insertProdRels(slice(rels, from));
+            }
+        }
+
+        // 6. 주문상세(t3) / 지시서(m1~m3) / 주문 고객상태(s3, s8) 재계산 - 누적 출고 집계 1회
+        Map<String, Integer> orderStatusDeltas = updateStatuses(vo.getRelMasCd(), ordDCds, new ArrayList<>(touchedOrdCds));
+
+        log.debug("제품 출고 - 라인 {}건, LOT {}건, 재고행 {}건, 금액 {}",
+            items.size(), rels.size(), deltaByStock.size(), totalAmount);
+        return new Result(rels, entries, totalAmount, orderStatusDeltas);
+    }
+
+    // LOT 묶음의 재고 행 잠금 - 다른 트랜잭션이 잡고 있으면 기다리지 않고 물러났다가 다시 시도
+    private List<LotStockVO> lockStocks(List<LotStockVO> chunk) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LOCK_WAIT_MILLIS);
+        long backoff = LOCK_RETRY_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return mapper.selectLotStocksForUpdate(chunk);
+            } catch (CannotAcquireLockException e) {
+                if (System.nanoTime() - deadline > 0) {
+                    throw e;
+                }
+                log.debug("제품 재고 잠금 실패 - {}번째 재시도 ({}ms 후)", attempt, backoff);
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoff = Math.min(backoff * 2, LOCK_RETRY_MAX_MILLIS);
+            }
+        }
+    }
+
+    // 상태 갱신 후 주문 고객상태별 건수 증감을 돌려준다
+    private Map<String, Integer> updateStatuses(String relMasCd, Set<String> releasedOrdDCds, List<String> ordCds) {
+        List<ReleaseProgressVO> progress = mapper.selectReleaseProgress(relMasCd, ordCds);
+
+        List<String> completedLines = new ArrayList<>();
+        long requestQty = 0;
+        long releasedQty = 0;
+        Map<String, Boolean> ordRemaining = new LinkedHashMap<>();
+        Map<String, String> ordStatusBefore = new HashMap<>();
+        for (String ordCd : ordCds) {
+            ordRemaining.put(ordCd, false);
+        }
+        for (ReleaseProgressVO p : progress) {
+            ordStatusBefore.putIfAbsent(p.getOrdCd(), p.getOrdStatusCustomer());
+            // 이번에 출고한 라인이 전량 출고됐으면 t3
+            if (releasedOrdDCds.contains(p.getOrdDCd()) && p.getReleasedQty() >= p.getOrdQty()) {
+                completedLines.add(p.getOrdDCd());
+            }
+            // 지시서 기준 요청/누적 출고 합계
+            if (p.getMasLines() > 0) {
+                requestQty += p.getOrdQty() * p.getMasLines();
+                releasedQty += p.getReleasedQty();
+            }
+            // 주문별 잔여수량 있는 상세 여부
+            if (ordRemaining.containsKey(p.getOrdCd()) && p.getOrdQty() - p.getReleasedQty() > 0) {
+                ordRemaining.put(p.getOrdCd(), true);
+            }
+        }
+
+        for (int from = 0; from < completedLines.size(); from += CHUNK_SIZE) {
+            mapper.updateOrderDetailStatusesToT3(slice(completedLines, from));
+        }
+
+        String relStatus;
+        if (releasedQty == 0) {
+            relStatus = "m1"; // 미출고
+        } else if (releasedQty >= requestQty) {
+            relStatus = "m2"; // 전부 출고
+        } else {
+            relStatus = "m3"; // 부분 출고
+        }
+        mapper.updateRelOrderStatus(relMasCd, relStatus);
+
+        // 남은 수량 있으면 s8, 없으면 s3
+        List<String> partial = new ArrayList<>();
+        List<String> done = new ArrayList<>();
+        ordRemaining.forEach((ordCd, remaining) -> (remaining ? partial : done).add(ordCd));
+        if (!partial.isEmpty()) {
+            mapper.updateCustomerOrderStatuses(partial, "s8");
+        }
+        if (!done.isEmpty()) {
+            mapper.updateCustomerOrderStatuses(done, "s3");
+        }
+
+        Map<String, Integer> deltas = new HashMap<>();
+        ordRemaining.forEach((ordCd, remaining) -> {
+            String before = ordStatusBefore.get(ordCd);
+            String after = remaining ? "s8" : "s3";
+            if (!after.equals(before)) {
+                if (before != null) {
+                    deltas.merge(before, -1, Integer::sum);
+                }
+                deltas.merge(after, 1, Integer::sum);
+            }
+        });
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas;
+    }
+
+    // 제품 포장단위 기준 박스당 개수
+    int unitsPerBox(ProdVO prod) {
+        if (prod == null || prod.getPacUnit() == null) {
+            return defaultUnitsPerPack;
+        }
+        return unitsPerPack.getOrDefault(prod.getPacUnit(), defaultUnitsPerPack);
+    }
+
+    // "l1=40,l2=20" → {l1: 40, l2: 20}
+    static Map<String, Integer> parseUnitsPerPack(String spec) {
+        Map<String, Integer> map = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return map;
+        }
+        for (String pair : spec.split(",")) {
+            String[] kv = pair.split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("kbs.release.units-per-pack 형식 오류: " + pair);
+            }
+            map.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+        }
+        return map;
+    }
+
+    private static int qty(LotStockVO row) {
+        return row.getQty() != null ? row.getQty() : 0;
+    }
+
+    private static <T> List<T> slice(List<T> list, int from) {
+        return from >= list.size() ? List.of() : list.subList(from, Math.min(from + CHUNK_SIZE, list.size()));
+    }
+
+    private static void addIfPresent(Set<String> set, String value) {
+        if (value != null && !value.isBlank()) {
+            set.add(value);
+        }
+    }
+
+    private static String lotKey(String lotNo, String wareAreaCd) {
+        return lotNo + "|" + wareAreaCd;
+    }
+}
@@ -11,7 +11,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.kimbap.kbs.common.service.KeysetPage;
+import com.kimbap.kbs.common.util.ExportColumn;
+import com.kimbap.kbs.common.util.ExportFormat;
+import com.kimbap.kbs.common.util.ExportUtil;
+import com.kimbap.kbs.common.util.JsonStreamUtil;
 import com.kimbap.kbs.distribution.service.DistributionService;
 import com.kimbap.kbs.distribution.service.DistributionVO;
 import com.kimbap.kbs.distribution.service.LotStockVO;
@@ -30,12 +36,46 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class DistributionController {
     private final DistributionService distributionService;
+    private final JsonStreamUtil jsonStreamUtil;
+    private final ExportUtil exportUtil;
 
     @PostMapping("/distributionInOut")
     public List<DistributionVO> getInOutCheck(@RequestBody DistributionVO filter) {
         return distributionService.getInOutCheck(filter);
     }
 
+    // 입출고 조회 페이지 (cursor 는 이전 응답의 nextCursor, size 최대 500)
+    @PostMapping("/distributionInOut/page")
+    public KeysetPage<DistributionVO> getInOutCheckPage(@RequestBody DistributionVO filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return distributionService.getInOutCheckPage(filter, cursor, size);
+    }
+
+    // 입출고 내역 전체 스트리밍 (JSON 배열)
+    @PostMapping("/distributionInOut/stream")
+    public ResponseEntity<StreamingResponseBody> streamInOutCheck(@RequestBody DistributionVO filter) {
+        return jsonStreamUtil.<DistributionVO>array(consumer -> distributionService.streamInOutCheck(filter, consumer));
+    }
+
+    // 입출고 내역 파일 내보내기 (format: xlsx 기본 / csv)
+    @PostMapping("/distributionInOut/export")
+    public ResponseEntity<StreamingResponseBody> exportInOutCheck(@RequestBody DistributionVO filter,
+            @RequestParam(required = false) String format) {
+        return exportUtil.export("제품입출고내역", ExportFormat.from(format), IN_OUT_COLUMNS,
+                consumer -> distributionService.streamInOutCheck(filter, consumer));
+    }
+
+    private static final List<ExportColumn<DistributionVO>> IN_OUT_COLUMNS = List.of(
+            ExportColumn.of("입출고일자", DistributionVO::getRegDt),
+            ExportColumn.of("구분", DistributionVO::getType),
+            ExportColumn.of("제품코드", DistributionVO::getPCode),
+            ExportColumn.of("제품명", DistributionVO::getProdName),
+            ExportColumn.of("수량", DistributionVO::getQty),
+            ExportColumn.of("창고", DistributionVO::getWareAreaCd),
+            ExportColumn.of("잔여재고", DistributionVO::getStockQty),
+            ExportColumn.of("비고", DistributionVO::getNote));
+
     @PostMapping("/relOrdList")
     public List<RelOrderAndResultVO> getRelOrdList(@RequestBody RelOrderAndResultVO filter) {
         return distributionService.getRelOrdList(filter);
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import com.kimbap.kbs.materials.service.MaterialsVO;
 import com.kimbap.kbs.materials.service.PurchaseOrderViewVO;
@@ -24,6 +25,11 @@ public interface MateMapper {
 
     List<MaterialsVO> getMateInboList();
 
+    // 자재입고 목록 keyset 페이지 / 스트리밍
+    List<MaterialsVO> getMateInboPage(Map<String, Object> params);
+
+    void streamMateInboList(ResultHandler<MaterialsVO> handler);
+
     void updateMateInbo(MaterialsVO mateInbo);
 
     MaterialsVO getMateInboById(String mateInboCd);
@@ -66,19 +72,15 @@ public interface MateMapper {
      */
     void updatePurcOrder(MaterialsVO purcOrder);
 
-    int countLotsByPattern(@Param("lotPattern") String lotPattern);
-
     String getMaterialType(@Param("mcode") String mcode);
 
     List<MaterialsVO> getActiveFactoryList();
 
-    String getLastPurcCode();
 
     void deletePurcOrderDetails(String purcCd);
 
     void updatePurcOrderDetail(MaterialsVO purcOrderDetail);
 
-    String getLastPurcDetailCode();
 
     List<MaterialsVO> getSuppliersByMaterial(SearchCriteria criteria);
 
@@ -173,6 +175,11 @@ public interface MateMapper {
     List<MaterialsVO> selectMaterialFlowList(MaterialsVO search);
     List<MaterialsVO> selectTodayMaterialFlowList();
 
+    // 자재 입출고 내역 keyset 페이지 / 스트리밍
+    List<MaterialsVO> selectMaterialFlowPage(Map<String, Object> params);
+
+    void streamMaterialFlowList(Map<String, Object> params, ResultHandler<MaterialsVO> handler);
+
     /**
      * @param searchParams 검색 조건이 담긴 MaterialsVO
      * @return 자재 재고 목록
@@ -185,19 +192,13 @@ public interface MateMapper {
      */
     List<MaterialsVO> getMaterialStockStatus(MaterialsVO searchParams);
 
+    // 자재 재고 현황 스트리밍 (내보내기용)
+    void streamMaterialStockStatus(MaterialsVO searchParams, ResultHandler<MaterialsVO> handler);
+
     /**
      * 🔍 LOT별 재고 조회
      * @param mcode 자재코드
      * @return LOT별 재고 목록
      */
     List<MaterialsVO> getMaterialLotStock(@Param("mcode") String mcode);
-
-    /**
-     *  동시성 제어를 위한 LOT 번호 생성 (FOR UPDATE)
-     * @param lotTypeCode LOT 타입 코드 (100, 200)
-     * @param dateStr 날짜 문자열 (yyyyMMdd)
-     * @return 다음 시퀀스 번호
-     */
-    int getNextLotSequenceWithLock(@Param("lotTypeCode") String lotTypeCode, 
-                                   @Param("dateStr") String dateStr);
 }
@@ -0,0 +1,38 @@
+package com.kimbap.kbs.materials.mapper;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+
+import com.kimbap.kbs.materials.service.MoveStockVO;
+import com.kimbap.kbs.materials.service.StockMovementVO;
+
+// 이동요청 일괄 승인 (목록 단위 조회/저장)
+public interface MoveApprovalMapper {
+
+    // 이동요청 헤더 잠금 조회 (move_req_cd, move_status, move_rea)
+    List<StockMovementVO> selectRequestsForUpdate(List<String> moveReqCds);
+
+    // 이동요청 상세 (요청코드, 상세코드 순)
+    List<StockMovementVO> selectRequestDetails(List<String> moveReqCds);
+
+    // 이동 대상 LOT 의 창고재고 행 잠금 조회 (입고일, 창고재고목록코드 순)
+    List<MoveStockVO> selectStocksForUpdate(@Param("mates") List<MoveStockVO> mates,
+                                            @Param("prods") List<MoveStockVO> prods);
+
+    // 이동요청 승인 (요청 상태인 것만)
+    int approveRequests(@Param("moveReqCds") List<String> moveReqCds,
+                        @Param("appr") String appr,
+                        @Param("appDt") Timestamp appDt,
+                        @Param("note") String note);
+
+    // 창고이동이력 일괄 등록
+    int insertWareMoveHistories(List<StockMovementVO> histories);
+
+    // 기존 재고행 일괄 증감 (음수가 되는 행은 바꾸지 않음)
+    int applyStockDeltas(List<MoveStockVO> deltas);
+
+    // 도착 구역 새 재고행 일괄 등록
+    int insertWareStocks(List<MoveStockVO> stocks);
+}
@@ -0,0 +1,30 @@
+package com.kimbap.kbs.materials.mapper;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+
+import com.kimbap.kbs.materials.service.PurchaseStatVO;
+
+// 발주 통계 일별 집계 (purc_stat_d)
+public interface PurchaseStatMapper {
+
+    // 발주/발주상세 코드가 속한 발주일 (중복 제거)
+    List<LocalDate> selectOrderDays(@Param("purcCds") List<String> purcCds,
+                                    @Param("purcDCds") List<String> purcDCds);
+
+    // 발주가 있는 모든 날 (전체 재집계용)
+    List<LocalDate> selectAllOrderDays();
+
+    // 해당 날짜 집계 삭제 / 발주상세에서 다시 집계
+    int deleteDays(List<LocalDate> days);
+
+    int insertDays(List<LocalDate> days);
+
+    // 집계가 한 건이라도 있으면 1
+    int existsStatRows();
+
+    // 기간 내 상태별 / 월별 / 거래처별 / 자재별 / 전체 합계
+    List<PurchaseStatVO> selectStatistics(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -17,14 +17,6 @@ public interface StockMovementMapper {
     // 이동요청상세 등록 (MOVE_REQ_D 테이블)
     void insertMoveRequestDetail(StockMovementVO stockMovement);
     
-    // 이동요청코드 시퀀스 조회
-    int getLastMoveReqSequence(@Param("datePattern") String datePattern);
-    
-    // 이동요청상세코드 시퀀스 조회
-    int getLastMoveReqDetailSequence(@Param("datePattern") String datePattern);
-    
-    // 창고이동코드 시퀀스 조회
-    int getLastWareMoveSequence(@Param("datePattern") String datePattern);
 
     // ========== 이동요청 목록 조회 관련 ==========
     
@@ -79,12 +71,6 @@ public interface StockMovementMapper {
     
     // 창고이동이력 등록 (WARE_MOVE_HIS 테이블)
     void insertWareMoveHistory(StockMovementVO stockMovement);
-    
-    // 창고재고 업데이트 (출발지 재고 차감)
-    void updateStockDecrease(StockMovementVO stockMovement);
-    
-    // 창고재고 업데이트 (도착지 재고 증가)
-    void updateStockIncrease(StockMovementVO stockMovement);
 
     // ========== 유효성 검증 관련 ==========
     
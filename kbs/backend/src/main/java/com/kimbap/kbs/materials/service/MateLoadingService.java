@@ -10,6 +10,8 @@ public interface MateLoadingService {
   MateLoadingVO getMateLoadingByInboCd(String mateInboCd);
   // 적재 처리
   String processMateLoading(MateLoadingVO mateLoading);
+  // 일괄 적재 계획 (구역 미지정 라인 자동 배정, 구역별로 나눈 적재 라인)
+  List<MateLoadingVO> planMateLoading(List<MateLoadingVO> mateLoadingList);
   // 자재 적재 처리
   String processMateLoadingBatch(List<MateLoadingVO> mateLoadingList);
   // 활성화된 공장 목록 조회 (드롭다운)
@@ -2,6 +2,9 @@ package com.kimbap.kbs.materials.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+
+import com.kimbap.kbs.common.service.KeysetPage;
 
 public interface MateService {
 
@@ -10,6 +13,12 @@ public interface MateService {
 
     List<MaterialsVO> getMateInboList();
 
+    // 자재입고 목록 keyset 페이지 (입고일자 최신순)
+    KeysetPage<MaterialsVO> getMateInboPage(String cursor, Integer size);
+
+    // 자재입고 목록 전체를 한 행씩 전달
+    void streamMateInboList(Consumer<MaterialsVO> consumer);
+
     void updateMateInbo(MaterialsVO mateInbo);
 
     MaterialsVO getMateInboById(String mateInboCd);
@@ -115,8 +124,17 @@ public interface MateService {
 
     List<MaterialsVO> getTodayMaterialFlowList();
 
+    // 자재 입출고 내역 keyset 페이지 (등록일자 최신순)
+    KeysetPage<MaterialsVO> getMaterialFlowPage(MaterialsVO search, String cursor, Integer size);
+
+    // 자재 입출고 내역 전체를 한 행씩 전달
+    void streamMaterialFlowList(MaterialsVO search, Consumer<MaterialsVO> consumer);
+
     List<MaterialsVO> getMaterialStockStatus(MaterialsVO searchParams);
 
+    // 자재 재고 현황 전체를 한 행씩 전달 (내보내기용)
+    void streamMaterialStockStatus(MaterialsVO searchParams, Consumer<MaterialsVO> consumer);
+
     /**
      * 🔍 LOT별 재고 조회
      *
@@ -141,6 +141,7 @@ public class MaterialsVO {
     private String regDtStart;
     private String regDtEnd;
     private Integer qty;
+    private String flowKey;          // 입출고 내역 행 식별값 (페이지 커서용)
 
     // ========== LOT별 재고 조회 추가 필드 ==========
     private Integer quantity;               // 재고수량
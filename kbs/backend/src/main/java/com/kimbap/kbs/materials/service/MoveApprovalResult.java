@@ -0,0 +1,12 @@
+package com.kimbap.kbs.materials.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이동요청 일괄 승인 결과
+ * @param approved 승인된 이동요청코드 (요청 순서)
+ * @param failed   승인하지 못한 이동요청코드 → 사유
+ */
+public record MoveApprovalResult(List<String> approved, Map<String, String> failed) {
+}
@@ -0,0 +1,30 @@
+package com.kimbap.kbs.materials.service;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이동 승인용 창고재고 행 (ware_stock + 입고 LOT 정보)
+ */
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class MoveStockVO {
+    private String wslcode;         // 창고재고목록코드 (새 행이면 저장 직전에 발번)
+    private String mateInboCd;      // 자재입고코드
+    private String prodInboCd;      // 제품입고코드
+    private String itemType;        // 품목유형 (h1, h2, h3)
+    private String itemCode;        // mcode / pcode
+    private String verCd;           // 자재/제품 버전
+    private String lotNo;           // LOT번호
+    private String wareAreaCd;      // 창고구역코드
+    private BigDecimal qty;         // 수량 (승인 계산 중에는 반영 후 수량)
+    private String unit;            // 단위
+    private String regi;            // 등록자 (새 행)
+    private BigDecimal delta;       // 기존 행 증감 (저장용)
+}
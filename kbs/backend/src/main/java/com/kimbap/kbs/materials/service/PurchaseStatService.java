@@ -0,0 +1,20 @@
+package com.kimbap.kbs.materials.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// 발주 통계 (일별 사전 집계 기반)
+public interface PurchaseStatService {
+
+    // 기간(발주일, 양끝 포함) 통계 - null 이면 제한 없음
+    Map<String, Object> getStatistics(LocalDate from, LocalDate to);
+
+    // 발주 헤더/상세를 저장했을 때 (발주일이 바뀔 수 있으면 변경 전에 호출) - 커밋 후 해당 날짜 재집계
+    void ordersChanged(String... purcCds);
+
+    // 발주상세 상태/수량만 바뀌었을 때 - 커밋 후 해당 날짜 재집계
+    void detailsChanged(String... purcDCds);
+
+    // 전체 날짜 재집계
+    void rebuild();
+}
@@ -0,0 +1,23 @@
+package com.kimbap.kbs.materials.service;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 발주 통계 집계 행 (purc_stat_d 를 GROUPING SETS 로 묶은 결과 한 줄)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseStatVO {
+    private String statDim;         // 집계 기준 (status, month, supplier, material, total)
+    private String statKey;         // 상태코드 / yyyy-MM / 거래처코드 / 자재코드 (total 이면 null)
+    private String statName;        // 거래처명 / 자재명
+    private long cnt;               // 발주상세 건수
+    private BigDecimal amount;      // 발주금액 합계 (수량 x 단가)
+}
@@ -56,6 +56,7 @@ public class StockMovementVO {
     private String wareMoveCd;       // 창고이동코드
     private Timestamp moveDt;        // 이동일자
     private String mname;            // 담당자
+    private String wslcode;          // 도착지 신규 적재 시 창고재고목록코드
     
     // ========== 조인용 추가 필드들 ==========
     // 자재 정보
@@ -1,10 +1,12 @@
 package com.kimbap.kbs.materials.serviceimpl;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -12,10 +14,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.AreaOccupancyVO;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+import com.kimbap.kbs.common.service.PutAwayAssignment;
+import com.kimbap.kbs.common.service.PutAwayLine;
+import com.kimbap.kbs.common.service.StockEntryVO;
+import com.kimbap.kbs.common.service.StockLedgerService;
+import com.kimbap.kbs.common.service.WarehouseOccupancyService;
+import com.kimbap.kbs.common.serviceimpl.PutAwayPlanner;
 import com.kimbap.kbs.materials.mapper.MateLoadingMapper;
 import com.kimbap.kbs.materials.service.MateLoadingService;
 import com.kimbap.kbs.materials.service.MateLoadingVO;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
 @Transactional
 public class MateLoadingServiceImpl implements MateLoadingService {
@@ -23,6 +39,24 @@ public class MateLoadingServiceImpl implements MateLoadingService {
     @Autowired
     private MateLoadingMapper mateLoadingMapper;
 
+    @Autowired
+    private KeyGeneratorService keyGeneratorService;
+
+    @Autowired
+    private WarehouseOccupancyService warehouseOccupancyService;
+
+    @Autowired
+    private PutAwayPlanner putAwayPlanner;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private MasterDataCache masterDataCache;
+
+    // IN 목록 / 일괄 처리 한 번에 보낼 최대 건수
+    private static final int CHUNK_SIZE = 500;
+
     @Override
     public List<MateLoadingVO> getAllMateLoadingWaitList() {
         List<MateLoadingVO> list = mateLoadingMapper.getAllMateLoadingWaitList();
@@ -38,10 +72,10 @@ public class MateLoadingServiceImpl implements MateLoadingService {
     @Override
     public String processMateLoading(MateLoadingVO mateLoading) {
         
-        // material 테이블에서 자재 정보 조회
+        // material 테이블에서 자재 정보 조회 (기준정보 캐시)
         MateLoadingVO materialInfo = null;
         try {
-            materialInfo = mateLoadingMapper.getMaterialInfo(mateLoading.getMcode());
+            materialInfo = materialInfos(List.of(mateLoading.getMcode())).get(mateLoading.getMcode());
         } catch (Exception e) {
             throw new RuntimeException("자재 정보 조회 실패: " + mateLoading.getMcode(), e);
         }
@@ -74,6 +108,7 @@ public class MateLoadingServiceImpl implements MateLoadingService {
         // ware_stock 테이블에 적재 정보 저장
         try {
             mateLoadingMapper.insertWareStock(mateLoading);
+            stockLedgerService.post(List.of(toLedgerEntry(mateLoading)));
             
             // loaded_qty 업데이트 및 상태 변경 (c8 적재중/c9 적재완료)
             mateLoadingMapper.updateLoadedQtyAndStatus(mateLoading.getMateInboCd(), mateLoading.getQty().intValue());
@@ -85,79 +120,138 @@ public class MateLoadingServiceImpl implements MateLoadingService {
         return "자재 적재 처리가 완료되었습니다.";
     }
     
+    @Override
+    public List<MateLoadingVO> planMateLoading(List<MateLoadingVO> mateLoadingList) {
+        // 적재 계획 라인 (구역 미지정 라인은 공장 안에서 자동 배정)
+        List<PutAwayLine> lines = new ArrayList<>(mateLoadingList.size());
+        for (MateLoadingVO mateLoading : mateLoadingList) {
+            lines.add(new PutAwayLine(mateLoading.getMcode(), palletQty(mateLoading.getQty()),
+                    blankToNull(mateLoading.getWareAreaCd()), mateLoading.getFcode()));
+        }
+        List<PutAwayAssignment> assignments = putAwayPlanner.plan(lines);
+
+        // 배정 결과대로 라인을 구역별로 나눈다 (마지막 조각이 소수점 이하 수량까지 가져감)
+        List<MateLoadingVO> planned = new ArrayList<>(assignments.size());
+        BigDecimal assigned = BigDecimal.ZERO;
+        for (int i = 0; i < assignments.size(); i++) {
+            PutAwayAssignment assignment = assignments.get(i);
+            MateLoadingVO mateLoading = mateLoadingList.get(assignment.lineNo());
+            boolean last = i + 1 == assignments.size() || assignments.get(i + 1).lineNo() != assignment.lineNo();
+            BigDecimal qty = last ? mateLoading.getQty().subtract(assigned) : BigDecimal.valueOf(assignment.qty());
+            assigned = last ? BigDecimal.ZERO : assigned.add(qty);
+            planned.add(mateLoading.toBuilder().wareAreaCd(assignment.wareAreaCd()).qty(qty).build());
+        }
+        return planned;
+    }
+
     @Override
     public String processMateLoadingBatch(List<MateLoadingVO> mateLoadingList) {
-        
-        int successCount = 0;
-        int failCount = 0;
-        
-        for (int i = 0; i < mateLoadingList.size(); i++) {
-            MateLoadingVO mateLoading = mateLoadingList.get(i);
-            
-            try {
-                // material 테이블에서 자재 정보 조회
-                MateLoadingVO materialInfo = null;
-                try {
-                materialInfo = mateLoadingMapper.getMaterialInfo(mateLoading.getMcode());
-            } catch (Exception e) {
-                // 자재 정보 조회 실패 시 해당 항목은 건너뜀
-            }                // 현재 시간 설정
-                mateLoading.setInboDt(Timestamp.valueOf(LocalDateTime.now()));
-                
-                // 창고재고목록코드 생성
-                String wslcode = generateWareStockCode();
-                mateLoading.setWslcode(wslcode);
-                
-                // 등록자 설정 - 프론트엔드에서 전달된 empCd 사용
-                if (mateLoading.getRegi() == null || mateLoading.getRegi().trim().isEmpty()) {
-                    mateLoading.setRegi("system"); // 기본값
-                }
-                
-                if (materialInfo == null) {
-                    // 기본값으로 처리 계속 진행
-                    mateLoading.setItemType("h1"); // 기본값: 원자재 (품목유형 코드)
-                    // unit은 기존 값 유지
-                } else {
-                    // mate_type을 item_type으로 변환 (H1 -> h1, H2 -> h2)
-                    String itemType = convertMateTypeToItemType(materialInfo.getMateType());
-                    mateLoading.setItemType(itemType);
-                    
-                    // unit을 material 테이블의 unit(공통코드)으로 설정
-                    mateLoading.setUnit(materialInfo.getUnit());
-                }
-                
-                // ware_stock 테이블에 적재 정보 저장
-                mateLoadingMapper.insertWareStock(mateLoading);
-                
-                // loaded_qty 업데이트 및 상태 변경 (c8 적재중/c9 적재완료)
-                mateLoadingMapper.updateLoadedQtyAndStatus(mateLoading.getMateInboCd(), mateLoading.getQty().intValue());
-                
-                successCount++;
-                
-            } catch (Exception e) {
-                failCount++;
+        // 1. 적재 계획 (구역 검증 + 자동 배정) - 실패하면 아무것도 쓰지 않는다
+        List<MateLoadingVO> planned = planMateLoading(mateLoadingList);
+        if (planned.isEmpty()) {
+            return String.format("다중 자재 적재 처리 완료 - 성공: %d건, 실패: %d건", 0, 0);
+        }
+
+        // 2. 자재 정보 일괄 조회 (mate_type → item_type, unit)
+        Map<String, MateLoadingVO> materialByMcode = materialInfos(
+                planned.stream().map(MateLoadingVO::getMcode).distinct().toList());
+
+        // 3. 창고재고목록코드 일괄 발번 + 적재 행 채우기
+        List<String> wslcodes = keyGeneratorService.nextKeys(KeyFormats.WARE_STOCK, planned.size());
+        Timestamp inboDt = Timestamp.valueOf(LocalDateTime.now());
+        Map<String, BigDecimal> loadedQtyByInbo = new LinkedHashMap<>();
+        for (int i = 0; i < planned.size(); i++) {
+            MateLoadingVO mateLoading = planned.get(i);
+            mateLoading.setWslcode(wslcodes.get(i));
+            mateLoading.setInboDt(inboDt);
+            if (mateLoading.getRegi() == null || mateLoading.getRegi().trim().isEmpty()) {
+                mateLoading.setRegi("system"); // 기본값
+            }
+            MateLoadingVO materialInfo = materialByMcode.get(mateLoading.getMcode());
+            if (materialInfo == null) {
+                mateLoading.setItemType("h1"); // 기본값: 원자재 (unit은 기존 값 유지)
+            } else {
+                mateLoading.setItemType(convertMateTypeToItemType(materialInfo.getMateType()));
+                mateLoading.setUnit(materialInfo.getUnit());
             }
         }
-        
-        String result = String.format("다중 자재 적재 처리 완료 - 성공: %d건, 실패: %d건", 
-                                     successCount, failCount);
-        
-        System.out.println("=== 다중 적재 처리 완료 ===");
-        System.out.println(result);
-        
+        // 입고건별 적재 수량 (단건 적재와 같이 원 라인 수량의 정수부)
+        for (MateLoadingVO mateLoading : mateLoadingList) {
+            if (mateLoading.getQty() != null && mateLoading.getQty().signum() > 0) {
+                loadedQtyByInbo.merge(mateLoading.getMateInboCd(),
+                        BigDecimal.valueOf(mateLoading.getQty().intValue()), BigDecimal::add);
+            }
+        }
+
+        // 4. ware_stock INSERT ALL + mate_inbo MERGE (500건 단위)
+        for (int from = 0; from < planned.size(); from += CHUNK_SIZE) {
+            mateLoadingMapper.insertWareStocks(planned.subList(from, Math.min(from + CHUNK_SIZE, planned.size())));
+        }
+        List<MateLoadingVO> loadedQtys = new ArrayList<>(loadedQtyByInbo.size());
+        loadedQtyByInbo.forEach((mateInboCd, qty) ->
+                loadedQtys.add(MateLoadingVO.builder().mateInboCd(mateInboCd).qty(qty).build()));
+        for (int from = 0; from < loadedQtys.size(); from += CHUNK_SIZE) {
+            mateLoadingMapper.updateLoadedQtyAndStatuses(
+                    loadedQtys.subList(from, Math.min(from + CHUNK_SIZE, loadedQtys.size())));
+        }
+        List<StockEntryVO> entries = new ArrayList<>(planned.size());
+        for (MateLoadingVO mateLoading : planned) {
+            entries.add(toLedgerEntry(mateLoading));
+        }
+        stockLedgerService.post(entries);
+
+        String result = String.format("다중 자재 적재 처리 완료 - 성공: %d건, 실패: %d건", mateLoadingList.size(), 0);
+        log.info("{} (구역 {}건)", result, planned.size());
         return result;
     }
 
+    // 자재 정보 (mate_type, unit) - 기준정보 캐시에 없는 코드만 IN 목록으로 조회
+    private Map<String, MateLoadingVO> materialInfos(List<String> mcodes) {
+        return masterDataCache.getAll(MasterRegion.MATERIAL, mcodes, MasterDataCache.LATEST, "loading", missing -> {
+            Map<String, MateLoadingVO> loaded = new HashMap<>();
+            for (int from = 0; from < missing.size(); from += CHUNK_SIZE) {
+                for (MateLoadingVO material : mateLoadingMapper.getMaterialInfos(
+                        missing.subList(from, Math.min(from + CHUNK_SIZE, missing.size())))) {
+                    loaded.put(material.getMcode(), material);
+                }
+            }
+            return loaded;
+        });
+    }
+
+    // 적재 1건 → 재고 원장 입고(I) 행
+    private StockEntryVO toLedgerEntry(MateLoadingVO mateLoading) {
+        return StockEntryVO.builder()
+                .entryType("I")
+                .entryCat("발주")
+                .itemType(mateLoading.getItemType())
+                .itemCode(mateLoading.getMcode())
+                .verCd(mateLoading.getMateVerCd())
+                .lotNo(mateLoading.getLotNo())
+                .wareAreaCd(mateLoading.getWareAreaCd())
+                .wslcode(mateLoading.getWslcode())
+                .qty(mateLoading.getQty())
+                .refCd(mateLoading.getMateInboCd())
+                .note(mateLoading.getNote())
+                .regi(mateLoading.getRegi())
+                .regDt(mateLoading.getInboDt())
+                .build();
+    }
+
     @Override
     public List<MateLoadingVO> getActiveFactoryList() {
-        List<MateLoadingVO> factoryList = mateLoadingMapper.getActiveFactoryList();
+        List<MateLoadingVO> factoryList = masterDataCache.get(MasterRegion.FACTORY,
+                MasterDataCache.key(MasterDataCache.LIST, "active", "mateLoading"),
+                mateLoadingMapper::getActiveFactoryList);
         return factoryList;
     }
 
         @Override
     public List<MateLoadingVO> getWarehousesByFactory(String fcode) {
         try {
-            List<MateLoadingVO> warehouseList = mateLoadingMapper.getWarehousesByFactory(fcode);
+            List<MateLoadingVO> warehouseList = masterDataCache.get(MasterRegion.WAREHOUSE,
+                    MasterDataCache.key(MasterDataCache.LIST, fcode, "mateLoading"),
+                    () -> mateLoadingMapper.getWarehousesByFactory(fcode));
             System.out.println("공장별 창고 목록 조회 완료: " + fcode + " - " + warehouseList.size() + "개");
             return warehouseList;
         } catch (Exception e) {
@@ -169,12 +263,13 @@ public class MateLoadingServiceImpl implements MateLoadingService {
     @Override
     public List<Map<String, Object>> getWarehouseAreasWithStock(String wcode, Integer floor) {
         try {
-            // 해당 층의 구역 정보 조회
-            List<MateLoadingVO> warehouseAreas = mateLoadingMapper.getWarehouseAreasByFloor(wcode, floor);
-            
             List<Map<String, Object>> result = new ArrayList<>();
-            
-            for (MateLoadingVO area : warehouseAreas) {
+            if (floor == null) {
+                return result;
+            }
+
+            // 해당 층의 구역별 적재 현황 (적재 현황 인덱스)
+            for (AreaOccupancyVO area : warehouseOccupancyService.getAreasByFloor(wcode, floor)) {
                 Map<String, Object> areaInfo = new HashMap<>();
                 
                 // 기본 구역 정보
@@ -184,16 +279,10 @@ public class MateLoadingServiceImpl implements MateLoadingService {
                 areaInfo.put("areaFloor", area.getAreaFloor());
                 areaInfo.put("vol", area.getVol());
                 
-                // 현재 적재량 조회
-                Integer currentVolume = mateLoadingMapper.getCurrentVolumeByArea(area.getWareAreaCd());
-                if (currentVolume == null) currentVolume = 0;
-                
-                areaInfo.put("currentVolume", currentVolume);
-                areaInfo.put("availableVolume", area.getVol().intValue() - currentVolume);
-                
-                // 현재 적재된 자재 조회
-                String currentMaterial = mateLoadingMapper.getCurrentMaterialByArea(area.getWareAreaCd());
-                areaInfo.put("currentMaterial", currentMaterial);
+                // 현재 적재량 / 적재된 자재
+                areaInfo.put("currentVolume", area.getCurrentVolume());
+                areaInfo.put("availableVolume", area.getAvailableVolume());
+                areaInfo.put("currentMaterial", area.getCurrentItem());
                 
                 result.add(areaInfo);
             }
@@ -233,21 +322,17 @@ public class MateLoadingServiceImpl implements MateLoadingService {
         Map<String, Object> result = new HashMap<>();
         
         try {
-            // 현재 적재량 조회
-            Integer currentVolume = mateLoadingMapper.getCurrentVolumeByArea(wareAreaCd);
-            if (currentVolume == null) currentVolume = 0;
-            
-            // 구역 정보 조회 (용량 확인용)
-            MateLoadingVO areaStock = mateLoadingMapper.getWarehouseAreaStock(wareAreaCd);
+            // 구역 정보 + 현재 적재 현황 (적재 현황 인덱스)
+            AreaOccupancyVO area = warehouseOccupancyService.getArea(wareAreaCd);
             
-            if (areaStock == null) {
+            if (area == null) {
                 result.put("isValid", false);
                 result.put("message", "해당 구역 정보를 찾을 수 없습니다.");
                 return result;
             }
             
-            // 현재 적재된 자재 확인
-            String currentMaterial = mateLoadingMapper.getCurrentMaterialByArea(wareAreaCd);
+            int currentVolume = area.getCurrentVolume();
+            String currentMaterial = area.getCurrentItem();
             
             // 다른 자재가 적재되어 있는지 확인
             if (currentMaterial != null && !currentMaterial.equals(mcode)) {
@@ -257,9 +342,9 @@ public class MateLoadingServiceImpl implements MateLoadingService {
                 return result;
             }
             
-            // 용량 확인 - 실제 구역 용량 조회
-            int maxVolume = (areaStock.getVol() != null) ? areaStock.getVol().intValue() : 100; // 기본값 100
-            int availableVolume = maxVolume - currentVolume;
+            // 용량 확인 - 실제 구역 용량
+            int maxVolume = area.getVol();
+            int availableVolume = area.getAvailableVolume();
             
             if (allocateQty > availableVolume) {
                 result.put("isValid", false);
@@ -292,7 +377,18 @@ public class MateLoadingServiceImpl implements MateLoadingService {
     @Override
     public List<MateLoadingVO> getSameMaterialAreas(String mcode, String fcode, String excludeAreaCd) {
         try {
-            List<MateLoadingVO> sameMaterialAreas = mateLoadingMapper.getSameMaterialAreas(mcode, fcode, excludeAreaCd);
+            List<MateLoadingVO> sameMaterialAreas = new ArrayList<>();
+            for (AreaOccupancyVO area : warehouseOccupancyService.getSameItemAreas(mcode, fcode, excludeAreaCd)) {
+                sameMaterialAreas.add(MateLoadingVO.builder()
+                        .wareAreaCd(area.getWareAreaCd())
+                        .areaRow(area.getAreaRow())
+                        .areaCol(BigDecimal.valueOf(area.getAreaCol()))
+                        .areaFloor(BigDecimal.valueOf(area.getAreaFloor()))
+                        .vol(BigDecimal.valueOf(area.getVol()))
+                        .currentVolume(area.getCurrentVolume())
+                        .availableVolume(area.getAvailableVolume())
+                        .build());
+            }
             System.out.println("동일 자재 적재 구역 조회 완료: " + mcode + " - " + sameMaterialAreas.size() + "개 구역");
             return sameMaterialAreas;
         } catch (Exception e) {
@@ -303,33 +399,10 @@ public class MateLoadingServiceImpl implements MateLoadingService {
 
     @Override
     public String generateWareStockCode() {
-        try {
-            // 현재 날짜 (yyMMdd 형식)
-            String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-            
-            // 해당 날짜의 마지막 순번 조회
-            int lastSequence = mateLoadingMapper.getLastWareStockSequence(datePattern);
-            
-            // 다음 순번 계산 (1부터 시작)
-            int nextSequence = lastSequence + 1;
-            
-            // WStock-yyMMdd-순번 형식으로 생성
-            String wslCode = String.format("WStock-%s-%03d", datePattern, nextSequence);
-            
-            System.out.println("창고재고목록코드 생성: " + wslCode);
-            return wslCode;
-            
-        } catch (Exception e) {
-            System.err.println("창고재고목록코드 생성 실패: " + e.getMessage());
-            
-            // 실패 시 임시 코드 생성
-            String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-            long timestamp = System.currentTimeMillis() % 1000;
-            String fallbackCode = String.format("WStock-%s-%03d", datePattern, (int) timestamp);
-            
-            System.out.println("임시 창고재고목록코드 생성: " + fallbackCode);
-            return fallbackCode;
-        }
+        // WStock-yyMMdd-순번
+        String wslCode = keyGeneratorService.nextKey(KeyFormats.WARE_STOCK);
+        log.debug("창고재고목록코드 생성: {}", wslCode);
+        return wslCode;
     }
     
     /**
@@ -362,4 +435,13 @@ public class MateLoadingServiceImpl implements MateLoadingService {
         System.out.println("mate_type 변환: " + mateType + " -> " + itemType);
         return itemType;
     }
+
+    // 적재 계획용 수량 (소수점 이하는 한 칸을 차지하므로 올림)
+    private static int palletQty(BigDecimal qty) {
+        return qty == null ? 0 : qty.setScale(0, RoundingMode.CEILING).intValue();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value;
+    }
 }
\ No newline at end of file
@@ -4,22 +4,32 @@ import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.CommonDetailCodeService;
+import com.kimbap.kbs.common.service.CounterPushService;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeysetPage;
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+import com.kimbap.kbs.common.util.KeysetPaging;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
 import com.kimbap.kbs.materials.mapper.MateMapper;
 import com.kimbap.kbs.materials.service.MateService;
 import com.kimbap.kbs.materials.service.MaterialsVO;
 import com.kimbap.kbs.materials.service.PurchaseOrderViewVO;
+import com.kimbap.kbs.materials.service.PurchaseStatService;
 import com.kimbap.kbs.materials.service.SearchCriteria;
 
 @Service
@@ -29,14 +39,29 @@ public class MateServiceImpl implements MateService {
     @Autowired
     private MateMapper mateMapper;
 
+    @Autowired
+    private MasterDataCache masterDataCache;
+
+    @Autowired
+    private CommonDetailCodeService commonDetailCodeService;
+
+    @Autowired
+    private PurchaseStatService purchaseStatService;
+
+    @Autowired
+    private KeyGeneratorService keyGeneratorService;
+
+    @Autowired
+    private CounterPushService counterPushService;
+
     @Override
     public void insertMateInbo(MaterialsVO mateInbo) {
         try {
-            // ✅ INSERT 시에도 LOT 번호가 없으면 자동 생성 (동시성 제어 적용)
+            // ✅ INSERT 시에도 LOT 번호가 없으면 자동 생성
             if (mateInbo.getLotNo() == null || mateInbo.getLotNo().trim().isEmpty()) {
-                String lotNumber = generateMaterialLotNumberWithLock(mateInbo.getMcode());
+                String lotNumber = generateMaterialLotNumber(mateInbo.getMcode());
                 mateInbo.setLotNo(lotNumber);
-                System.out.println("INSERT 시 LOT 번호 자동 생성 (동시성 제어): " + lotNumber);
+                System.out.println("INSERT 시 LOT 번호 자동 생성: " + lotNumber);
             }
 
             mateMapper.insertMateInbo(mateInbo);  // ✅ 올바른 INSERT 호출
@@ -50,11 +75,11 @@ public class MateServiceImpl implements MateService {
     @Override
     public void updateMateInbo(MaterialsVO mateInbo) {
         try {
-            // ✅ UPDATE 시에도 LOT 번호가 없으면 자동 생성 (입고처리 시, 동시성 제어 적용)
+            // ✅ UPDATE 시에도 LOT 번호가 없으면 자동 생성 (입고처리 시)
             if (mateInbo.getLotNo() == null || mateInbo.getLotNo().trim().isEmpty()) {
-                String lotNumber = generateMaterialLotNumberWithLock(mateInbo.getMcode());
+                String lotNumber = generateMaterialLotNumber(mateInbo.getMcode());
                 mateInbo.setLotNo(lotNumber);
-                System.out.println("UPDATE 시 LOT 번호 자동 생성 (동시성 제어): " + lotNumber);
+                System.out.println("UPDATE 시 LOT 번호 자동 생성: " + lotNumber);
             }
 
             System.out.println("=== 자재입고 수정 요청 ===");
@@ -95,6 +120,9 @@ public class MateServiceImpl implements MateService {
 
                     // 발주 상세 상태만 업데이트
                     mateMapper.updatePurcOrderDetailStatus(purcUpdateData);
+                    purchaseStatService.detailsChanged(mateInbo.getPurcDCd());
+                    counterPushService.publishTransition("purchaseOrder",
+                            purcOrderDetail.getPurcDStatus(), newPurcDStatus, 1);
 
                     System.out.println("✅ 발주상태만 업데이트 완료: " + mateInbo.getPurcDCd()
                             + " → 상태: " + newPurcDStatus + " (curr_qty는 변경하지 않음)");
@@ -118,97 +146,14 @@ public class MateServiceImpl implements MateService {
      * - 품목유형: 100(원자재), 200(부자재)
      * - 순번: 3자리 형식, 날짜별로 1부터 시작, 자재 입고처리 시마다 증가
      * - 예시: LOT-100-20250530-001, LOT-200-20250530-002
-     */
-    private String generateMaterialLotNumber(String mcode) {
-        try {
-            // 1. 현재 날짜 (yyyyMMdd)
-            String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-            // 2. 자재 정보 조회해서 품목 유형 확인
-            String mateType = getMaterialType(mcode);
-            String lotTypeCode = getLotTypeByMaterialType(mateType);
-
-            // 3. 🔍 오늘 날짜의 해당 품목유형 LOT 개수 조회 (동시성 고려)
-            String lotPattern = "LOT-" + lotTypeCode + "-" + today + "-%";
-            int existingCount = mateMapper.countLotsByPattern(lotPattern);
-
-            // 4. 다음 시퀀스 = 기존 개수 + 1 (날짜별로 1부터 시작)
-            int nextSequence = existingCount + 1;
-
-            // 5. 🎯 LOT 번호 생성: LOT-품목유형-연월일-순번 (3자리 형식)
-            String lotNumber = String.format("LOT-%s-%s-%03d", lotTypeCode, today, nextSequence);
-
-            System.out.println("=== 📦 LOT 번호 생성 과정 ===");
-            System.out.println("🏷️  자재코드: " + mcode);
-            System.out.println("📂 품목유형: " + mateType + " → LOT코드: " + lotTypeCode);
-            System.out.println("📅 오늘날짜: " + today);
-            System.out.println("🔢 기존LOT수: " + existingCount + "개");
-            System.out.println("⬆️  다음순번: " + nextSequence);
-            System.out.println("✨ 생성결과: " + lotNumber);
-            System.out.println("===============================");
-
-            return lotNumber;
-
-        } catch (Exception e) {
-            System.err.println("❌ LOT 번호 생성 실패, 임시 번호 사용: " + e.getMessage());
-            e.printStackTrace();
-
-            // 실패 시 임시 번호 생성 (3자리 형식 유지)
-            String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-            long timestamp = System.currentTimeMillis() % 1000;
-            return String.format("LOT-TMP-%s-%03d", today, timestamp);
-        }
-    }
-
-    /**
-     * 🔒 동시성 제어가 적용된 LOT 번호 생성 (여러 건 동시 입력 시 사용)
      * 
-     * @param mcode 자재코드
-     * @return 생성된 LOT 번호
+     * 🔒 순번은 KeyGeneratorService 가 (품목유형, 일자)별 블록 단위로 예약해 메모리에서 발번
+     *    (mate_inbo 스캔/FOR UPDATE 없음, 동시 입고 시에도 중복 없음)
      */
-    @Transactional
-    private String generateMaterialLotNumberWithLock(String mcode) {
-        try {
-            // 1. 현재 날짜 (yyyyMMdd)
-            String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-            // 2. 자재 정보 조회해서 품목 유형 확인
-            String mateType = getMaterialType(mcode);
-            String lotTypeCode = getLotTypeByMaterialType(mateType);
-
-            // 3. 🔒 DB 레벨에서 동시성 제어하여 다음 시퀀스 조회
-            int nextSequence = mateMapper.getNextLotSequenceWithLock(lotTypeCode, today);
-
-            // 4. 🎯 LOT 번호 생성: LOT-품목유형-연월일-순번 (3자리 형식)
-            String lotNumber = String.format("LOT-%s-%s-%03d", lotTypeCode, today, nextSequence);
-
-            System.out.println("=== 🔒 동시성 제어 LOT 번호 생성 ===");
-            System.out.println("🏷️  자재코드: " + mcode);
-            System.out.println("📂 품목유형: " + mateType + " → LOT코드: " + lotTypeCode);
-            System.out.println("📅 오늘날짜: " + today);
-            System.out.println("🔢 다음순번: " + nextSequence + " (DB 락 적용)");
-            System.out.println("✨ 생성결과: " + lotNumber);
-            System.out.println("===================================");
-
-            return lotNumber;
-
-        } catch (Exception e) {
-            System.err.println("❌ 동시성 제어 LOT 번호 생성 실패: " + e.getMessage());
-            System.err.println("🔄 기본 방식으로 폴백 처리 시작...");
-            e.printStackTrace();
-
-            // 실패 시 기본 LOT 생성 방식으로 폴백
-            try {
-                return generateMaterialLotNumber(mcode);
-            } catch (Exception fallbackException) {
-                System.err.println("❌ 폴백 LOT 생성도 실패, 응급 임시 번호 생성: " + fallbackException.getMessage());
-                
-                // 최종 응급처리: 타임스탬프 기반 고유 번호
-                String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-                long timestamp = System.currentTimeMillis() % 10000; // 4자리로 제한
-                return String.format("LOT-EMG-%s-%04d", today, timestamp);
-            }
-        }
+    private String generateMaterialLotNumber(String mcode) {
+        String mateType = getMaterialType(mcode);
+        String lotTypeCode = getLotTypeByMaterialType(mateType);
+        return keyGeneratorService.nextKey(KeyFormats.mateLot(lotTypeCode));
     }
 
     @Override
@@ -236,7 +181,10 @@ public class MateServiceImpl implements MateService {
      */
     private String getMaterialType(String mcode) {
         try {
-            String mateType = mateMapper.getMaterialType(mcode);
+            // LOT 발번마다 부르므로 기준정보 캐시
+            String mateType = masterDataCache.get(MasterRegion.MATERIAL,
+                    MasterDataCache.key(mcode, MasterDataCache.LATEST, "type"),
+                    () -> mateMapper.getMaterialType(mcode));
             System.out.println("자재코드 " + mcode + "의 품목유형: " + mateType);
             return mateType != null ? mateType : "h1"; // 기본값: 원자재
         } catch (Exception e) {
@@ -360,7 +308,9 @@ public class MateServiceImpl implements MateService {
     @Override
     public List<MaterialsVO> getActiveFactoryList() {
         try {
-            List<MaterialsVO> factoryList = mateMapper.getActiveFactoryList();
+            List<MaterialsVO> factoryList = masterDataCache.get(MasterRegion.FACTORY,
+                    MasterDataCache.key(MasterDataCache.LIST, "active", "mate"),
+                    mateMapper::getActiveFactoryList);
             System.out.println("=== 공장 목록 조회 결과 ===");
 
             if (factoryList != null && !factoryList.isEmpty()) {
@@ -495,45 +445,13 @@ public class MateServiceImpl implements MateService {
 
     @Override
     public String generatePurchaseCode() {
-        try {
-            String lastPurcCd = mateMapper.getLastPurcCode();
-
-            if (lastPurcCd != null && lastPurcCd.startsWith("PURC-")) {
-                // "PURC-001" → "001" 추출
-                String numberPart = lastPurcCd.substring(5);
-                int nextNumber = Integer.parseInt(numberPart) + 1;
-                // 🔥 PURC-XXX 형식! (3자리)
-                System.out.println("마지막 발주번호: " + lastPurcCd + " → 다음 번호: PURC-" + String.format("%03d", nextNumber));
-                return "PURC-" + String.format("%03d", nextNumber);
-            } else {
-                // 🔥 첫 번째는 PURC-001
-                return "PURC-001";
-            }
-        } catch (Exception e) {
-            long timestamp = System.currentTimeMillis() % 1000;
-            return "PURC-" + String.format("%03d", (int) timestamp);
-        }
+        // PURC-XXX 형식 (3자리, 초과 시 자릿수 증가)
+        return keyGeneratorService.nextKey(KeyFormats.PURC);
     }
 
     private String generatePurcDetailCode() {
-        try {
-            // PURC-D-XXX 패턴으로 마지막 번호 조회
-            String lastPurcDCd = mateMapper.getLastPurcDetailCode();
-
-            if (lastPurcDCd != null && lastPurcDCd.startsWith("PURC-D-")) {
-                // "PURC-D-001" → "001" 추출
-                String numberPart = lastPurcDCd.substring(7); // "PURC-D-" 제거
-                int nextNumber = Integer.parseInt(numberPart) + 1;
-                return "PURC-D-" + String.format("%03d", nextNumber);
-            } else {
-                // 첫 번째는 PURC-D-001
-                return "PURC-D-001";
-            }
-        } catch (Exception e) {
-            System.err.println("발주상세번호 생성 실패, 임시번호 사용: " + e.getMessage());
-            long timestamp = System.currentTimeMillis() % 1000;
-            return "PURC-D-" + String.format("%03d", (int) timestamp);
-        }
+        // PURC-D-XXX 형식
+        return keyGeneratorService.nextKey(KeyFormats.PURC_D);
     }
 
     private String updateExistingPurchaseOrder(Map<String, Object> orderData) {
@@ -552,6 +470,8 @@ public class MateServiceImpl implements MateService {
                     .ordTotalAmount(convertToBigDecimal(header.get("ordTotalAmount")))
                     .build();
 
+            // 발주일이 바뀔 수 있으므로 수정 전에 통계 재집계 대상 기록
+            purchaseStatService.ordersChanged(purcCd);
             mateMapper.updatePurcOrder(headerVO);
             System.out.println("✅ 발주 헤더 수정 완료");
 
@@ -597,6 +517,8 @@ public class MateServiceImpl implements MateService {
                         .build();
 
                 mateMapper.updatePurcOrderDetail(detailVO);
+                counterPushService.publishTransition("purchaseOrder",
+                        (String) existingDetail.get("purcDStatus"), detailVO.getPurcDStatus(), 1);
                 System.out.println("✅ 발주상세 업데이트 완료: " + existingPurcDCd);
             }
 
@@ -674,7 +596,9 @@ public class MateServiceImpl implements MateService {
                         .build();
 
                 mateMapper.insertPurcOrderDetail(detailVO);
+                counterPushService.publishTransition("purchaseOrder", null, detailVO.getPurcDStatus(), 1);
             }
+            purchaseStatService.ordersChanged(purcCd);
 
             System.out.println("✅ 새 발주서 생성 완료: " + purcCd);
             return purcCd;
@@ -721,6 +645,7 @@ public class MateServiceImpl implements MateService {
 
             // 상태 업데이트 실행
             mateMapper.updatePurcOrderDetailStatus(statusData);
+            purchaseStatService.detailsChanged(statusData.getPurcDCd());
 
             // 상태 변경이 '승인'인 경우, 발주 헤더의 상태도 업데이트
             if ("c2".equals(statusData.getPurcDStatus())) {
@@ -731,6 +656,13 @@ public class MateServiceImpl implements MateService {
                 mateMapper.updatePurcOrderHeaderStatus(headerUpdate);
             }
 
+            // 발주상세 상태별 건수 증감 푸시 (c1 = 승인 대기)
+            existingData.stream()
+                    .filter(row -> statusData.getPurcDCd().equals(row.getPurcDCd()))
+                    .findFirst()
+                    .ifPresent(row -> counterPushService.publishTransition("purchaseOrder",
+                            row.getPurcDStatus(), statusData.getPurcDStatus(), 1));
+
             System.out.println("✅ 발주 상태 업데이트 완료: " + statusData.getPurcDCd());
 
             // 알림 전송 (선택사항)
@@ -769,83 +701,20 @@ public class MateServiceImpl implements MateService {
 
     @Override
     public Map<String, Object> getPurchaseOrderStatistics(SearchCriteria criteria) {
-        try {
-            System.out.println("📊 발주 통계 조회 시작");
-
-            // 전체 발주 데이터 조회
-            List<MaterialsVO> allOrders = mateMapper.getPurcOrdList(criteria);
-
-            // 상태별 집계
-            Map<String, Long> statusCounts = allOrders.stream()
-                    .collect(Collectors.groupingBy(
-                            order -> order.getPurcDStatus() != null ? order.getPurcDStatus() : "unknown",
-                            Collectors.counting()
-                    ));
-
-            // 총 금액 계산
-            BigDecimal totalAmount = allOrders.stream()
-                    .filter(order -> order.getUnitPrice() != null && order.getPurcQty() != null)
-                    .map(order -> order.getUnitPrice().multiply(BigDecimal.valueOf(order.getPurcQty())))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // 월별 집계 (주문일자 기준)
-            Map<String, Long> monthlyStats = allOrders.stream()
-                    .filter(order -> order.getOrdDt() != null)
-                    .collect(Collectors.groupingBy(
-                            order -> {
-                                SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM");
-                                return sdf.format(order.getOrdDt());
-                            },
-                            Collectors.counting()
-                    ));
-
-            // 공급업체별 집계
-            Map<String, Long> supplierStats = allOrders.stream()
-                    .filter(order -> order.getCpName() != null && !order.getCpName().isEmpty())
-                    .collect(Collectors.groupingBy(
-                            MaterialsVO::getCpName,
-                            Collectors.counting()
-                    ));
-
-            // 자재별 집계 (TOP 10)
-            Map<String, Long> materialStats = allOrders.stream()
-                    .filter(order -> order.getMateName() != null && !order.getMateName().isEmpty())
-                    .collect(Collectors.groupingBy(
-                            MaterialsVO::getMateName,
-                            Collectors.counting()
-                    ))
-                    .entrySet().stream()
-                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                    .limit(10)
-                    .collect(Collectors.toMap(
-                            Map.Entry::getKey,
-                            Map.Entry::getValue,
-                            (e1, e2) -> e1,
-                            LinkedHashMap::new
-                    ));
-
-            // 결과 구성
-            Map<String, Object> statistics = new HashMap<>();
-            statistics.put("totalOrders", allOrders.size());
-            statistics.put("totalAmount", totalAmount);
-            statistics.put("statusCounts", statusCounts);
-            statistics.put("monthlyStats", monthlyStats);
-            statistics.put("supplierStats", supplierStats);
-            statistics.put("topMaterials", materialStats);
-
-            // 주요 지표들
-            statistics.put("pendingApproval", statusCounts.getOrDefault("c1", 0L));
-            statistics.put("approved", statusCounts.getOrDefault("c2", 0L));
-            statistics.put("rejected", statusCounts.getOrDefault("c6", 0L));
-            statistics.put("completed", statusCounts.getOrDefault("c5", 0L));
-
-            System.out.println("✅ 발주 통계 조회 완료");
-            return statistics;
+        // 일별 사전 집계에서 계산 (발주 이력 전체를 읽지 않음)
+        return purchaseStatService.getStatistics(toDate(criteria.getStartDate()), toDate(criteria.getEndDate()));
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ 발주 통계 조회 실패: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("발주 통계 조회 실패: " + e.getMessage(), e);
+    // yyyy-MM-dd (뒤에 시간이 붙어 있으면 날짜만)
+    private static LocalDate toDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String date = value.trim();
+        try {
+            return LocalDate.parse(date.length() > 10 ? date.substring(0, 10) : date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다(yyyy-MM-dd): " + value, e);
         }
     }
 
@@ -870,27 +739,10 @@ public class MateServiceImpl implements MateService {
     }
 
     /**
-     * 상태 코드를 텍스트로 변환하는 헬퍼 메서드
+     * 발주 상태 코드(0C)를 코드명으로 변환 - 공통코드 사전 조회, 없으면 코드 그대로
      */
     private String getStatusText(String statusCode) {
-        switch (statusCode) {
-            case "c1":
-                return "요청";
-            case "c2":
-                return "승인";
-            case "c3":
-                return "입고대기";
-            case "c4":
-                return "부분입고";
-            case "c5":
-                return "입고완료";
-            case "c6":
-                return "거절";
-            case "c7":
-                return "반품";
-            default:
-                return statusCode;
-        }
+        return commonDetailCodeService.getLabel("0C", statusCode);
     }
 
     @Override
@@ -1175,6 +1027,8 @@ public class MateServiceImpl implements MateService {
             // 🎯 Mapper 호출
             System.out.println("📤 Mapper.updatePurchaseOrderCurrQtyAndStatus 호출");
             mateMapper.updatePurchaseOrderCurrQtyAndStatus(updateData);
+            purchaseStatService.detailsChanged(updateData.getPurcDCd());
+            counterPushService.publishTransition("purchaseOrder", currentData.getPurcDStatus(), newStatus, 1);
 
             System.out.println("✅ ServiceImpl: curr_qty 및 상태 업데이트 완료!");
             System.out.println("  최종 curr_qty: " + newCurrQty);
@@ -1199,6 +1053,49 @@ public class MateServiceImpl implements MateService {
         return mateMapper.selectTodayMaterialFlowList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<MaterialsVO> getMateInboPage(String cursor, Integer size) {
+        Map<String, Object> params = KeysetPaging.apply(new HashMap<>(), cursor, size);
+        return KeysetPaging.toPage(mateMapper.getMateInboPage(params), params,
+                MaterialsVO::getInboDt, MaterialsVO::getMateInboCd);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamMateInboList(Consumer<MaterialsVO> consumer) {
+        mateMapper.streamMateInboList(context -> consumer.accept(context.getResultObject()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<MaterialsVO> getMaterialFlowPage(MaterialsVO search, String cursor, Integer size) {
+        Map<String, Object> params = KeysetPaging.apply(materialFlowParams(search), cursor, size);
+        return KeysetPaging.toPage(mateMapper.selectMaterialFlowPage(params), params,
+                MaterialsVO::getRegDt, MaterialsVO::getFlowKey);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamMaterialFlowList(MaterialsVO search, Consumer<MaterialsVO> consumer) {
+        mateMapper.streamMaterialFlowList(materialFlowParams(search),
+                context -> consumer.accept(context.getResultObject()));
+    }
+
+    // 자재 입출고 내역 검색 조건
+    private Map<String, Object> materialFlowParams(MaterialsVO search) {
+        Map<String, Object> params = new HashMap<>();
+        if (search != null) {
+            params.put("movementType", search.getMovementType());
+            params.put("mateName", search.getMateName());
+            params.put("wareName", search.getWareName());
+            params.put("lotNo", search.getLotNo());
+            params.put("regDtStart", search.getRegDtStart());
+            params.put("regDtEnd", search.getRegDtEnd());
+        }
+        return params;
+    }
+
     @Override
     public List<MaterialsVO> getMaterialStockStatus(MaterialsVO searchParams) {
         try {
@@ -1216,14 +1113,7 @@ public class MateServiceImpl implements MateService {
             // 🔧 stockPercentage 후처리 (DB에서 null인 경우 직접 계산)
             if (stockStatusList != null) {
                 for (MaterialsVO item : stockStatusList) {
-                    if (item.getStockPercentage() == null
-                            && item.getSafeStock() != null
-                            && item.getSafeStock() > 0
-                            && item.getTotalQuantity() != null) {
-
-                        double calculatedPercentage = (item.getTotalQuantity().doubleValue() / item.getSafeStock()) * 100;
-                        item.setStockPercentage(Math.round(calculatedPercentage * 100.0) / 100.0); // 소수점 둘째 자리까지
-
+                    if (fillStockPercentage(item)) {
                         System.out.println("🔧 stockPercentage 보정: " + item.getMaterialCode()
                                 + " -> " + item.getStockPercentage() + "%");
                     }
@@ -1262,6 +1152,29 @@ public class MateServiceImpl implements MateService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamMaterialStockStatus(MaterialsVO searchParams, Consumer<MaterialsVO> consumer) {
+        mateMapper.streamMaterialStockStatus(searchParams, context -> {
+            MaterialsVO item = context.getResultObject();
+            fillStockPercentage(item);
+            consumer.accept(item);
+        });
+    }
+
+    // stockPercentage 가 null 이면 총 재고량 / 안전재고로 계산 (소수점 둘째 자리까지), 보정했으면 true
+    private static boolean fillStockPercentage(MaterialsVO item) {
+        if (item.getStockPercentage() != null
+                || item.getSafeStock() == null
+                || item.getSafeStock() <= 0
+                || item.getTotalQuantity() == null) {
+            return false;
+        }
+        double calculatedPercentage = (item.getTotalQuantity().doubleValue() / item.getSafeStock()) * 100;
+        item.setStockPercentage(Math.round(calculatedPercentage * 100.0) / 100.0);
+        return true;
+    }
+
     /**
      * 🔍 LOT별 재고 조회
      *
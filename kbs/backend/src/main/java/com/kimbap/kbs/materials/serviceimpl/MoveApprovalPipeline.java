@@ -0,0 +1,338 @@
+package com.kimbap.kbs.materials.serviceimpl;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.service.StockEntryVO;
+import com.kimbap.kbs.common.service.StockLedgerService;
+import com.kimbap.kbs.materials.mapper.MoveApprovalMapper;
+import com.kimbap.kbs.materials.service.MoveApprovalResult;
+import com.kimbap.kbs.materials.service.MoveStockVO;
+import com.kimbap.kbs.materials.service.StockMovementVO;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이동요청 일괄 승인
+ *
+ * - 헤더(잠금)와 상세를 목록 단위 쿼리로 읽고, 이동 대상 LOT 의 재고행을 한 번에 잠근다.
+ *   Oracle 은 FOR UPDATE 의 행 잠금 순서를 보장하지 않으므로 잠금은 NOWAIT 로 바로 실패하고,
+ *   잠시 쉬었다가 다시 잠근다 (MaterialIssueEngine 과 같은 방식). 기다리지 않으므로 동시 승인끼리 교착되지 않는다.
+ * - 요청 순서대로 출발 구역 재고를 메모리에서 차감/도착 구역에 가산하며 검증한다.
+ *   앞 요청이 옮겨 놓은 재고를 뒤 요청이 다시 옮길 수 있다.
+ *   재고 부족/상태 불일치 요청은 그 요청만 되돌리고 실패로 돌려준다 (나머지는 승인).
+ * - 이동이력 코드/새 재고행 코드는 한 번에 발번하고, 승인/이력/재고 증감/새 재고행/원장은 500건 단위 묶음으로 쓴다.
+ * - 호출한 트랜잭션 안에서 동작한다. 쓰기 단계의 DB 오류는 묶음 전체를 롤백한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MoveApprovalPipeline {
+
+    // IN 목록 / 일괄 처리 한 번에 보낼 최대 건수
+    static final int CHUNK_SIZE = 500;
+    // 잠금 실패(NOWAIT) 시 재시도하는 총 시간, 첫 대기 시간 (매번 두 배, 최대 LOCK_RETRY_MAX_MILLIS)
+    static final long LOCK_WAIT_MILLIS = 5_000;
+    static final long LOCK_RETRY_MILLIS = 5;
+    static final long LOCK_RETRY_MAX_MILLIS = 100;
+
+    private final MoveApprovalMapper mapper;
+    private final KeyGeneratorService keyGeneratorService;
+    private final StockLedgerService stockLedgerService;
+
+    public MoveApprovalResult approve(List<String> moveReqCds, String approver, String comment) {
+        List<String> codes = new ArrayList<>(new LinkedHashSet<>(moveReqCds));
+        Map<String, String> failed = new HashMap<>();
+
+        // 1. 헤더 잠금 + 상태 확인
+        Map<String, StockMovementVO> headers = new HashMap<>();
+        for (int from = 0; from < codes.size(); from += CHUNK_SIZE) {
+            List<String> chunk = codes.subList(from, Math.min(from + CHUNK_SIZE, codes.size()));
+            for (StockMovementVO header : lock("이동요청", () -> mapper.selectRequestsForUpdate(chunk))) {
+                headers.put(header.getMoveReqCd(), header);
+            }
+        }
+        List<String> pending = new ArrayList<>();
+        for (String code : codes) {
+            StockMovementVO header = headers.get(code);
+            if (header == null) {
+                failed.put(code, "이동요청이 없습니다");
+            } else if (!"d1".equals(header.getMoveStatus())) {
+                failed.put(code, "요청 상태가 아닙니다 (" + header.getMoveStatus() + ")");
+            } else {
+                pending.add(code);
+            }
+        }
+
+        // 2. 상세 일괄 조회
+        Map<String, List<StockMovementVO>> detailsByReq = new HashMap<>();
+        for (int from = 0; from < pending.size(); from += CHUNK_SIZE) {
+            for (StockMovementVO detail : mapper.selectRequestDetails(pending.subList(from, Math.min(from + CHUNK_SIZE, pending.size())))) {
+                detailsByReq.computeIfAbsent(detail.getMoveReqCd(), k -> new ArrayList<>()).add(detail);
+            }
+        }
+
+        // 3. 이동 대상 LOT 재고행 잠금 조회
+        Stocks stocks = new Stocks();
+        stocks.load(detailsByReq);
+
+        // 4. 요청 순서대로 메모리 검증 - 실패한 요청은 되돌린다
+        List<String> approved = new ArrayList<>();
+        List<StockMovementVO> histories = new ArrayList<>();
+        List<StockEntryVO> entries = new ArrayList<>();
+        for (String code : pending) {
+            List<StockMovementVO> details = detailsByReq.get(code);
+            if (details == null) {
+                failed.put(code, "이동요청 상세가 없습니다");
+                continue;
+            }
+            List<Move> moves = new ArrayList<>();
+            String error = null;
+            for (StockMovementVO detail : details) {
+                error = stocks.move(detail, approver, moves);
+                if (error != null) {
+                    break;
+                }
+            }
+            if (error != null) {
+                for (int i = moves.size() - 1; i >= 0; i--) {
+                    moves.get(i).undo();
+                }
+                failed.put(code, error);
+                continue;
+            }
+            approved.add(code);
+            for (StockMovementVO detail : details) {
+                detail.setMoveRea(headers.get(code).getMoveRea());
+                detail.setMname(approver);
+                histories.add(detail);
+                entries.add(toLedgerEntry(detail, detail.getDepaAreaCd(), detail.getMoveQty().negate()));
+                entries.add(toLedgerEntry(detail, detail.getArrAreaCd(), detail.getMoveQty()));
+            }
+        }
+        if (approved.isEmpty()) {
+            return result(codes, approved, failed);
+        }
+
+        // 5. 저장 - 승인, 이동이력, 기존 행 증감, 새 행, 원장
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int updated = 0;
+        for (int from = 0; from < approved.size(); from += CHUNK_SIZE) {
+            updated += mapper.approveRequests(approved.subList(from, Math.min(from + CHUNK_SIZE, approved.size())),
+                    approver, now, comment);
+        }
+        if (updated != approved.size()) {
+            throw new IllegalStateException("이동요청 승인 실패: " + updated + "/" + approved.size());
+        }
+
+        List<String> wareMoveCds = keyGeneratorService.nextKeys(KeyFormats.WARE_MOVE, histories.size());
+        for (int i = 0; i < histories.size(); i++) {
+            StockMovementVO history = histories.get(i);
+            history.setWareMoveCd(wareMoveCds.get(i));
+            history.setMoveDt(now);
+            history.setRegDt(now);
+        }
+        for (int from = 0; from < histories.size(); from += CHUNK_SIZE) {
+            mapper.insertWareMoveHistories(histories.subList(from, Math.min(from + CHUNK_SIZE, histories.size())));
+        }
+
+        List<MoveStockVO> deltas = new ArrayList<>();
+        List<MoveStockVO> created = new ArrayList<>();
+        for (MoveStockVO row : stocks.rows) {
+            if (row.getWslcode() != null && row.getDelta().signum() != 0) {
+                deltas.add(row);
+            } else if (row.getWslcode() == null && row.getQty().signum() > 0) {
+                created.add(row);
+            }
+        }
+        int applied = 0;
+        for (int from = 0; from < deltas.size(); from += CHUNK_SIZE) {
+            applied += mapper.applyStockDeltas(deltas.subList(from, Math.min(from + CHUNK_SIZE, deltas.size())));
+        }
+        if (applied != deltas.size()) {
+            throw new IllegalStateException("재고 이동 반영 실패: " + applied + "/" + deltas.size());
+        }
+        if (!created.isEmpty()) {
+            List<String> wslcodes = keyGeneratorService.nextKeys(KeyFormats.WARE_STOCK, created.size());
+            for (int i = 0; i < created.size(); i++) {
+                created.get(i).setWslcode(wslcodes.get(i));
+            }
+            for (int from = 0; from < created.size(); from += CHUNK_SIZE) {
+                mapper.insertWareStocks(created.subList(from, Math.min(from + CHUNK_SIZE, created.size())));
+            }
+        }
+        stockLedgerService.post(entries);
+
+        log.debug("이동요청 일괄 승인 - 승인 {}건, 실패 {}건, 이력 {}건, 재고행 증감 {}건, 새 재고행 {}건",
+                approved.size(), failed.size(), histories.size(), deltas.size(), created.size());
+        return result(codes, approved, failed);
+    }
+
+    // 실패 목록도 요청 순서로
+    private static MoveApprovalResult result(List<String> codes, List<String> approved, Map<String, String> failed) {
+        Map<String, String> ordered = new LinkedHashMap<>();
+        for (String code : codes) {
+            if (failed.containsKey(code)) {
+                ordered.put(code, failed.get(code));
+            }
+        }
+        return new MoveApprovalResult(approved, ordered);
+    }
+
+    private static StockEntryVO toLedgerEntry(StockMovementVO detail, String wareAreaCd, BigDecimal qty) {
+        boolean product = "h3".equals(detail.getItemType());
+        return StockEntryVO.builder()
+                .entryType("M")
+                .entryCat(detail.getMoveRea())
+                .itemType(detail.getItemType())
+                .itemCode(product ? detail.getPcode() : detail.getMcode())
+                .verCd(product ? detail.getProdVerCd() : detail.getMateVerCd())
+                .lotNo(detail.getLotNo())
+                .wareAreaCd(wareAreaCd)
+                .qty(qty)
+                .refCd(detail.getMrdcode())
+                .regi(detail.getMname())
+                .build();
+    }
+
+    private static String lotKey(String itemCode, String verCd, String lotNo) {
+        return itemCode + "|" + verCd + "|" + lotNo;
+    }
+
+    // 재고행 1개에 대한 증감 (되돌리기용)
+    private record Move(MoveStockVO row, BigDecimal qty) {
+        void undo() {
+            row.setQty(row.getQty().subtract(qty));
+            row.setDelta(row.getDelta().subtract(qty));
+        }
+    }
+
+    // 잠금 조회 - 다른 트랜잭션이 잡고 있으면 기다리지 않고 물러났다가 다시 시도
+    private static <T> List<T> lock(String target, Supplier<List<T>> select) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LOCK_WAIT_MILLIS);
+        long backoff = LOCK_RETRY_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return select.get();
+            } catch (CannotAcquireLockException e) {
+                if (System.nanoTime() - deadline > 0) {
+                    throw e;
+                }
+                log.debug("{} 잠금 실패 - {}번째 재시도 ({}ms 후)", target, attempt, backoff);
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoff = Math.min(backoff * 2, LOCK_RETRY_MAX_MILLIS);
+            }
+        }
+    }
+
+    // 잠근 재고행 + 이번 묶음에서 생길 새 행
+    private final class Stocks {
+        final List<MoveStockVO> rows = new ArrayList<>();
+        final Map<String, List<MoveStockVO>> byLot = new HashMap<>();
+        final Map<String, MoveStockVO> byInboArea = new HashMap<>();
+
+        void load(Map<String, List<StockMovementVO>> detailsByReq) {
+            Map<String, MoveStockVO> mates = new LinkedHashMap<>();
+            Map<String, MoveStockVO> prods = new LinkedHashMap<>();
+            for (List<StockMovementVO> details : detailsByReq.values()) {
+                for (StockMovementVO detail : details) {
+                    boolean product = "h3".equals(detail.getItemType());
+                    MoveStockVO lot = MoveStockVO.builder()
+                            .itemCode(product ? detail.getPcode() : detail.getMcode())
+                            .verCd(product ? detail.getProdVerCd() : detail.getMateVerCd())
+                            .lotNo(detail.getLotNo())
+                            .build();
+                    (product ? prods : mates).putIfAbsent(lotKey(lot.getItemCode(), lot.getVerCd(), lot.getLotNo()), lot);
+                }
+            }
+            List<MoveStockVO> mateLots = new ArrayList<>(mates.values());
+            List<MoveStockVO> prodLots = new ArrayList<>(prods.values());
+            for (int from = 0; from < Math.max(mateLots.size(), prodLots.size()); from += CHUNK_SIZE) {
+                List<MoveStockVO> mateChunk = mateLots.subList(Math.min(from, mateLots.size()), Math.min(from + CHUNK_SIZE, mateLots.size()));
+                List<MoveStockVO> prodChunk = prodLots.subList(Math.min(from, prodLots.size()), Math.min(from + CHUNK_SIZE, prodLots.size()));
+                for (MoveStockVO row : lock("재고", () -> mapper.selectStocksForUpdate(mateChunk, prodChunk))) {
+                    row.setDelta(BigDecimal.ZERO);
+                    add(row);
+                }
+            }
+        }
+
+        void add(MoveStockVO row) {
+            rows.add(row);
+            byLot.computeIfAbsent(lotKey(row.getItemCode(), row.getVerCd(), row.getLotNo()), k -> new ArrayList<>()).add(row);
+            byInboArea.put(inboAreaKey(row, row.getWareAreaCd()), row);
+        }
+
+        // 상세 1건 이동 - 출발 구역 행을 입고일 순으로 차감, 같은 입고건의 도착 구역 행에 가산. 실패 사유를 돌려준다
+        String move(StockMovementVO detail, String approver, List<Move> moves) {
+            BigDecimal remaining = detail.getMoveQty();
+            if (remaining == null || remaining.signum() <= 0) {
+                return "이동수량이 없습니다: " + detail.getMrdcode();
+            }
+            boolean product = "h3".equals(detail.getItemType());
+            String itemCode = product ? detail.getPcode() : detail.getMcode();
+            String verCd = product ? detail.getProdVerCd() : detail.getMateVerCd();
+            List<MoveStockVO> lotRows = byLot.getOrDefault(lotKey(itemCode, verCd, detail.getLotNo()), List.of());
+            for (int i = 0; i < lotRows.size() && remaining.signum() > 0; i++) {
+                MoveStockVO source = lotRows.get(i);
+                if (!source.getWareAreaCd().equals(detail.getDepaAreaCd()) || source.getQty().signum() <= 0) {
+                    continue;
+                }
+                BigDecimal qty = source.getQty().min(remaining);
+                MoveStockVO target = byInboArea.get(inboAreaKey(source, detail.getArrAreaCd()));
+                if (target == null) {
+                    target = MoveStockVO.builder()
+                            .mateInboCd(source.getMateInboCd())
+                            .prodInboCd(source.getProdInboCd())
+                            .itemType(detail.getItemType())
+                            .itemCode(itemCode)
+                            .verCd(verCd)
+                            .lotNo(detail.getLotNo())
+                            .wareAreaCd(detail.getArrAreaCd())
+                            .qty(BigDecimal.ZERO)
+                            .unit(detail.getUnit() != null ? detail.getUnit() : source.getUnit())
+                            .regi(approver)
+                            .delta(BigDecimal.ZERO)
+                            .build();
+                    add(target);
+                }
+                apply(source, qty.negate(), moves);
+                apply(target, qty, moves);
+                remaining = remaining.subtract(qty);
+            }
+            return remaining.signum() > 0
+                    ? "출발 구역 재고 부족: " + detail.getMrdcode() + " (" + itemCode + " / " + detail.getLotNo() + ", 부족 " + remaining + ")"
+                    : null;
+        }
+
+        private void apply(MoveStockVO row, BigDecimal qty, List<Move> moves) {
+            row.setQty(row.getQty().add(qty));
+            row.setDelta(row.getDelta().add(qty));
+            moves.add(new Move(row, qty));
+        }
+
+        private String inboAreaKey(MoveStockVO row, String wareAreaCd) {
+            return (row.getMateInboCd() != null ? "M" + row.getMateInboCd() : "P" + row.getProdInboCd()) + "|" + wareAreaCd;
+        }
+    }
+}
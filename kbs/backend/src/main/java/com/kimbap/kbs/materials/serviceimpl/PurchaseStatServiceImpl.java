@@ -0,0 +1,317 @@
+package com.kimbap.kbs.materials.serviceimpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kimbap.kbs.common.util.TxUtil;
+import com.kimbap.kbs.materials.mapper.PurchaseStatMapper;
+import com.kimbap.kbs.materials.service.PurchaseStatService;
+import com.kimbap.kbs.materials.service.PurchaseStatVO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 발주 통계 (purc_stat_d 일별 사전 집계)
+ *
+ * - 발주 저장/상태 변경이 커밋되면 그 발주의 발주일만 다시 집계한다 (날짜 단위 DELETE + INSERT ... SELECT GROUP BY).
+ *   재집계는 한 스레드가 모아서 처리 - 일괄 승인처럼 같은 날 변경이 몰려도 그 날은 한 번만 다시 집계.
+ * - 조회는 일별 집계를 GROUPING SETS 로 한 번 읽어 상태/월/거래처/자재/합계를 같이 낸다.
+ *   읽는 행 수는 (기간 일수 x 상태 x 자재 x 거래처 조합) 이라 발주 이력 건수와 무관하다.
+ * - 같은 기간 결과는 다음 재집계 전까지 메모리에 둔다.
+ * - 집계 테이블이 비어 있으면 기동 시 전체 집계, 매일 새벽 최근 reconcileDays 일은 다시 맞춘다
+ *   (DB 를 직접 고친 경우 / 재집계 실패 대비).
+ */
+@Slf4j
+@Service
+public class PurchaseStatServiceImpl implements PurchaseStatService {
+
+    // 한 트랜잭션에서 다시 집계하는 날 수
+    private static final int DAY_CHUNK = 31;
+    // 보관할 기간별 결과 수
+    private static final int MAX_ROLLUPS = 64;
+    private static final int TOP_MATERIALS = 10;
+    // 코드로 발주일을 찾을 때 IN 목록 크기 (Oracle 1000 제한)
+    private static final int CODE_CHUNK = 500;
+
+    private final PurchaseStatMapper purchaseStatMapper;
+    private final TransactionTemplate requiresNew;
+    private final int reconcileDays;
+
+    // 커밋 후 재집계 대기 (발주코드 / 발주상세코드 / 날짜)
+    private final Queue<String> pendingOrders = new ConcurrentLinkedQueue<>();
+    private final Queue<String> pendingDetails = new ConcurrentLinkedQueue<>();
+    private final Set<LocalDate> pendingDays = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuildRequested;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean requested;
+
+    // 기간별 결과 - 재집계가 끝날 때마다 세대를 올리고 비운다
+    private final Map<String, Map<String, Object>> rollups = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public PurchaseStatServiceImpl(PurchaseStatMapper purchaseStatMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${kbs.purc-stat.reconcile-days:35}") int reconcileDays) {
+        this.purchaseStatMapper = purchaseStatMapper;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reconcileDays = Math.max(1, reconcileDays);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            if (purchaseStatMapper.existsStatRows() == 0) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("발주 통계 집계 테이블 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${kbs.purc-stat.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < reconcileDays; i++) {
+            pendingDays.add(today.minusDays(i));
+        }
+        wakeUp();
+    }
+
+    @Override
+    public void rebuild() {
+        rebuildRequested = true;
+        wakeUp();
+    }
+
+    @Override
+    public void ordersChanged(String... purcCds) {
+        List<String> codes = codes(purcCds);
+        if (codes.isEmpty()) {
+            return;
+        }
+        // 발주일이 바뀌는 수정이면 지금(변경 전) 날짜도 다시 집계해야 한다
+        Set<LocalDate> before = orderDays(codes, List.of());
+        TxUtil.afterCommit(() -> {
+            pendingDays.addAll(before);
+            pendingOrders.addAll(codes);
+            wakeUp();
+        });
+    }
+
+    @Override
+    public void detailsChanged(String... purcDCds) {
+        List<String> codes = codes(purcDCds);
+        if (codes.isEmpty()) {
+            return;
+        }
+        TxUtil.afterCommit(() -> {
+            pendingDetails.addAll(codes);
+            wakeUp();
+        });
+    }
+
+    // 재집계 요청 - 처리 중이면 끝난 뒤 한 번 더 돈다
+    public void wakeUp() {
+        requested = true;
+        if (running.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("purc-stat").start(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (requested) {
+                requested = false;
+                refreshPending();
+            }
+        } catch (RuntimeException e) {
+            log.warn("발주 통계 재집계 실패 - 다음 요청/정기 재집계 때 다시 시도: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+        // running 을 내리기 직전에 들어온 요청은 wakeUp 이 새 스레드를 띄우지 못했으므로 여기서 다시 깨운다
+        if (requested) {
+            wakeUp();
+        }
+    }
+
+    /**
+     * 대기 중인 날짜를 다시 집계한다.
+     * @return 다시 집계한 날 수
+     */
+    int refreshPending() {
+        Set<LocalDate> days = new TreeSet<>();
+        boolean rebuild = rebuildRequested;
+        rebuildRequested = false;
+        List<String> orders = drainQueue(pendingOrders);
+        List<String> details = drainQueue(pendingDetails);
+        try {
+            if (rebuild) {
+                days.addAll(purchaseStatMapper.selectAllOrderDays());
+            }
+            days.addAll(orderDays(orders, details));
+        } catch (RuntimeException e) {
+            // 날짜를 못 찾았으면 요청을 되돌려 둔다
+            rebuildRequested |= rebuild;
+            pendingOrders.addAll(orders);
+            pendingDetails.addAll(details);
+            throw e;
+        }
+        for (LocalDate day : List.copyOf(pendingDays)) {
+            pendingDays.remove(day);
+            days.add(day);
+        }
+        if (days.isEmpty()) {
+            return 0;
+        }
+
+        List<LocalDate> all = new ArrayList<>(days);
+        int done = 0;
+        try {
+            for (; done < all.size(); done += DAY_CHUNK) {
+                List<LocalDate> chunk = all.subList(done, Math.min(done + DAY_CHUNK, all.size()));
+                requiresNew.executeWithoutResult(status -> {
+                    purchaseStatMapper.deleteDays(chunk);
+                    purchaseStatMapper.insertDays(chunk);
+                });
+            }
+        } catch (RuntimeException e) {
+            pendingDays.addAll(all.subList(done, all.size())); // 남은 날은 다음에
+            throw e;
+        } finally {
+            if (done > 0) {
+                generation.incrementAndGet();
+                rollups.clear();
+            }
+        }
+        log.debug("발주 통계 재집계 {}일 ({} ~ {})", all.size(), all.get(0), all.get(all.size() - 1));
+        return all.size();
+    }
+
+    private Set<LocalDate> orderDays(List<String> orders, List<String> details) {
+        Set<LocalDate> days = new TreeSet<>();
+        for (int i = 0; i < orders.size(); i += CODE_CHUNK) {
+            days.addAll(purchaseStatMapper.selectOrderDays(orders.subList(i, Math.min(i + CODE_CHUNK, orders.size())), List.of()));
+        }
+        for (int i = 0; i < details.size(); i += CODE_CHUNK) {
+            days.addAll(purchaseStatMapper.selectOrderDays(List.of(), details.subList(i, Math.min(i + CODE_CHUNK, details.size()))));
+        }
+        return days;
+    }
+
+    private static List<String> codes(String... codes) {
+        return Arrays.stream(codes).filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static List<String> drainQueue(Queue<String> queue) {
+        List<String> codes = new ArrayList<>();
+        for (String code = queue.poll(); code != null; code = queue.poll()) {
+            codes.add(code);
+        }
+        return codes;
+    }
+
+    @Override
+    public Map<String, Object> getStatistics(LocalDate from, LocalDate to) {
+        String key = from + "~" + to;
+        Map<String, Object> cached = rollups.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        Map<String, Object> statistics = Collections.unmodifiableMap(assemble(purchaseStatMapper.selectStatistics(from, to)));
+        // 조회 중에 재집계가 끝났으면 보관하지 않는다
+        if (generation.get() == seen && rollups.size() < MAX_ROLLUPS) {
+            rollups.put(key, statistics);
+        }
+        return statistics;
+    }
+
+    // GROUPING SETS 결과 → 기존 통계 응답 형식
+    static Map<String, Object> assemble(List<PurchaseStatVO> rows) {
+        long totalOrders = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        Map<String, Long> statusCounts = new HashMap<>();
+        Map<String, Long> monthlyStats = new TreeMap<>();
+        Map<String, Long> supplierStats = new HashMap<>();
+        List<PurchaseStatVO> materials = new ArrayList<>();
+        for (PurchaseStatVO row : rows) {
+            switch (row.getStatDim()) {
+                case "total" -> {
+                    totalOrders = row.getCnt();
+                    totalAmount = row.getAmount() != null ? row.getAmount() : BigDecimal.ZERO;
+                }
+                case "status" -> statusCounts.put(row.getStatKey(), row.getCnt());
+                case "month" -> monthlyStats.put(row.getStatKey(), row.getCnt());
+                // 이름 기준 (이름이 같은 거래처는 합친다)
+                case "supplier" -> {
+                    if (row.getStatName() != null && !row.getStatName().isEmpty()) {
+                        supplierStats.merge(row.getStatName(), row.getCnt(), Long::sum);
+                    }
+                }
+                case "material" -> {
+                    if (row.getStatName() != null && !row.getStatName().isEmpty()) {
+                        materials.add(row);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        Map<String, Long> byMaterialName = new HashMap<>();
+        materials.forEach(row -> byMaterialName.merge(row.getStatName(), row.getCnt(), Long::sum));
+        Map<String, Long> topMaterials = new LinkedHashMap<>();
+        byMaterialName.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(TOP_MATERIALS)
+                .forEach(e -> topMaterials.put(e.getKey(), e.getValue()));
+        Map<String, Long> topSuppliers = new LinkedHashMap<>();
+        supplierStats.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> topSuppliers.put(e.getKey(), e.getValue()));
+
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("totalOrders", totalOrders);
+        statistics.put("totalAmount", totalAmount);
+        statistics.put("statusCounts", statusCounts);
+        statistics.put("statusBreakdown", statusCounts);
+        statistics.put("monthlyStats", monthlyStats);
+        statistics.put("supplierStats", topSuppliers);
+        statistics.put("topSuppliers", topSuppliers);
+        statistics.put("topMaterials", topMaterials);
+
+        // 주요 지표들
+        statistics.put("pendingApproval", statusCounts.getOrDefault("c1", 0L));
+        statistics.put("approved", statusCounts.getOrDefault("c2", 0L));
+        statistics.put("rejected", statusCounts.getOrDefault("c6", 0L));
+        statistics.put("completed", statusCounts.getOrDefault("c5", 0L));
+        return statistics;
+    }
+}
@@ -2,7 +2,6 @@ package com.kimbap.kbs.materials.serviceimpl;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,10 +10,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.CounterPushService;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
 import com.kimbap.kbs.materials.mapper.StockMovementMapper;
+import com.kimbap.kbs.materials.service.MoveApprovalResult;
 import com.kimbap.kbs.materials.service.StockMovementService;
 import com.kimbap.kbs.materials.service.StockMovementVO;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
 @Transactional
 public class StockMovementServiceImpl implements StockMovementService {
@@ -22,6 +30,18 @@ public class StockMovementServiceImpl implements StockMovementService {
     @Autowired
     private StockMovementMapper stockMovementMapper;
 
+    @Autowired
+    private MasterDataCache masterDataCache;
+
+    @Autowired
+    private KeyGeneratorService keyGeneratorService;
+
+    @Autowired
+    private CounterPushService counterPushService;
+
+    @Autowired
+    private MoveApprovalPipeline moveApprovalPipeline;
+
     // ========== 이동요청서 등록 관련 ==========
 
     @Override
@@ -41,6 +61,7 @@ public class StockMovementServiceImpl implements StockMovementService {
             
             // 이동요청서 등록
             stockMovementMapper.insertMoveRequest(stockMovement);
+            counterPushService.publishTransition("moveRequest", null, "d1", 1);
             
             System.out.println("이동요청서 등록 완료: " + moveReqCd);
             return moveReqCd;
@@ -193,7 +214,9 @@ public class StockMovementServiceImpl implements StockMovementService {
     @Override
     public List<StockMovementVO> getActiveFactoryList() {
         try {
-            List<StockMovementVO> list = stockMovementMapper.getActiveFactoryList();
+            List<StockMovementVO> list = masterDataCache.get(MasterRegion.FACTORY,
+                    MasterDataCache.key(MasterDataCache.LIST, "active", "stockMovement"),
+                    stockMovementMapper::getActiveFactoryList);
             System.out.println("활성 공장 목록 조회 완료: " + list.size() + "개");
             return list;
         } catch (Exception e) {
@@ -205,7 +228,9 @@ public class StockMovementServiceImpl implements StockMovementService {
     @Override
     public List<StockMovementVO> getWarehousesByFactory(String fcode) {
         try {
-            List<StockMovementVO> list = stockMovementMapper.getWarehousesByFactory(fcode);
+            List<StockMovementVO> list = masterDataCache.get(MasterRegion.WAREHOUSE,
+                    MasterDataCache.key(MasterDataCache.LIST, fcode, "stockMovement"),
+                    () -> stockMovementMapper.getWarehousesByFactory(fcode));
             System.out.println("공장별 창고 목록 조회 완료: " + fcode + " - " + list.size() + "개");
             return list;
         } catch (Exception e) {
@@ -230,59 +255,19 @@ public class StockMovementServiceImpl implements StockMovementService {
 
     @Override
     public String approveMoveRequest(String moveReqCd, String approver, String comment) {
-        System.out.println("=== 이동요청 승인 처리 시작: " + moveReqCd + " ===");
-        
-        try {
-            // 1. 이동요청 상태를 승인(d2)으로 변경
-            StockMovementVO approvalData = new StockMovementVO();
-            approvalData.setMoveReqCd(moveReqCd);
-            approvalData.setMoveStatus("d2");
-            approvalData.setAppr(approver);
-            approvalData.setAppDt(Timestamp.valueOf(LocalDateTime.now()));
-            approvalData.setNote(comment);
-            
-            stockMovementMapper.approveMoveRequest(approvalData);
-            System.out.println("이동요청 상태 변경 완료: " + moveReqCd);
-            
-            // 2. 이동요청 상세 목록 조회
-            List<StockMovementVO> moveRequestDetails = stockMovementMapper.getMoveRequestDetailList(moveReqCd);
-            System.out.println("이동요청 상세 목록 조회 완료: " + moveRequestDetails.size() + "건");
-            
-            // 3. 각 상세 항목별로 실제 재고 이동 처리
-            for (StockMovementVO detail : moveRequestDetails) {
-                System.out.println("재고 이동 처리 중: " + detail.getMrdcode());
-                
-                // 3-1. 창고이동이력 코드 생성
-                String wareMoveCode = generateWareMoveCode();
-                detail.setWareMoveCd(wareMoveCode);
-                detail.setMoveDt(Timestamp.valueOf(LocalDateTime.now()));
-                
-                // 원본 이동요청 정보 조회하여 이동사유 설정
-                StockMovementVO originalRequest = stockMovementMapper.getMoveRequestById(moveReqCd);
-                detail.setMoveRea(originalRequest.getMoveRea());
-                detail.setMname(approver);
-                detail.setRegDt(Timestamp.valueOf(LocalDateTime.now()));
-                
-                // 3-2. 창고이동이력 테이블에 INSERT
-                stockMovementMapper.insertWareMoveHistory(detail);
-                System.out.println("창고이동이력 등록 완료: " + wareMoveCode);
-                
-                // 3-3. 출발지 재고 차감
-                stockMovementMapper.updateStockDecrease(detail);
-                System.out.println("출발지 재고 차감 완료");
-                
-                // 3-4. 도착지 재고 증가 (기존 재고가 있으면 수량 증가, 없으면 새로 INSERT)
-                stockMovementMapper.updateStockIncrease(detail);
-                System.out.println("도착지 재고 증가 완료");
-            }
-            
-            System.out.println("=== 이동요청 승인 처리 완료: " + moveReqCd + " ===");
-            return "이동요청 승인 및 재고 이동 처리 완료: " + moveReqCd;
-            
-        } catch (Exception e) {
-            System.err.println("이동요청 승인 처리 실패: " + e.getMessage());
-            throw new RuntimeException("이동요청 승인 처리 중 오류가 발생했습니다: " + e.getMessage());
+        log.debug("=== 이동요청 승인 처리 시작: {} ===", moveReqCd);
+
+        // 일괄 승인과 같은 경로 (헤더/상세/재고 목록 조회 + 묶음 저장)
+        MoveApprovalResult result = moveApprovalPipeline.approve(List.of(moveReqCd), approver, comment);
+        if (!result.failed().isEmpty()) {
+            throw new RuntimeException("이동요청 승인 처리 중 오류가 발생했습니다: " + result.failed().get(moveReqCd));
         }
+
+        // 상태별 건수 증감 푸시 (요청 → 승인)
+        counterPushService.publish("moveRequest", Map.of("d1", -1, "d2", 1));
+
+        log.debug("=== 이동요청 승인 처리 완료: {} ===", moveReqCd);
+        return "이동요청 승인 및 재고 이동 처리 완료: " + moveReqCd;
     }
 
     @Override
@@ -299,6 +284,9 @@ public class StockMovementServiceImpl implements StockMovementService {
             rejectionData.setRetuRea(rejectReason);
             
             stockMovementMapper.rejectMoveRequest(rejectionData);
+
+            // 상태별 건수 증감 푸시 (요청 → 거절)
+            counterPushService.publish("moveRequest", Map.of("d1", -1, "d3", 1));
             
             System.out.println("=== 이동요청 거절 처리 완료: " + moveReqCd + " ===");
             return "이동요청 거절 처리 완료: " + moveReqCd;
@@ -311,25 +299,26 @@ public class StockMovementServiceImpl implements StockMovementService {
 
     @Override
     public String approveBatchMoveRequest(List<String> moveReqCdList, String approver, String comment) {
-        try {
-            System.out.println("=== 다중 이동요청 승인 처리 시작 ===");
-            
-            int successCount = 0;
-            for (String moveReqCd : moveReqCdList) {
-                stockMovementMapper.updateMoveRequestStatus(moveReqCd, "d2", approver, null);
-                successCount++;
-            }
-            
-            String result = String.format("다중 이동요청 승인 완료: %d건", successCount);
-            System.out.println(result);
-            return result;
-            
-        } catch (Exception e) {
-            System.err.println("다중 이동요청 승인 실패: " + e.getMessage());
-            throw new RuntimeException("다중 이동요청 승인 중 오류가 발생했습니다: " + e.getMessage(), e);
+        log.debug("=== 다중 이동요청 승인 처리 시작: {}건 ===", moveReqCdList.size());
+
+        // 요청별로 검증해서 재고 부족 등 실패한 요청만 빼고 승인
+        MoveApprovalResult result = moveApprovalPipeline.approve(moveReqCdList, approver, comment);
+        int approved = result.approved().size();
+        if (approved > 0) {
+            counterPushService.publish("moveRequest", Map.of("d1", -approved, "d2", approved));
         }
+
+        String message = String.format("다중 이동요청 승인 완료: %d건, 실패: %d건", approved, result.failed().size());
+        if (!result.failed().isEmpty()) {
+            StringBuilder reasons = new StringBuilder(message);
+            result.failed().forEach((moveReqCd, reason) -> reasons.append("\n").append(moveReqCd).append(" - ").append(reason));
+            message = reasons.toString();
+        }
+        log.debug(message);
+        return message;
     }
 
+
     // ========== 이동처리 실행 관련 ==========
 
     @Override
@@ -405,64 +394,18 @@ public class StockMovementServiceImpl implements StockMovementService {
 
     @Override
     public String generateMoveReqCode() {
-        try {
-            String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-            int lastSequence = stockMovementMapper.getLastMoveReqSequence(datePattern);
-            int nextSequence = lastSequence + 1;
-            
-            String moveReqCd = String.format("MR-%s-%03d", datePattern, nextSequence);
-            System.out.println("이동요청코드 생성: " + moveReqCd);
-            return moveReqCd;
-            
-        } catch (Exception e) {
-            String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-            long timestamp = System.currentTimeMillis() % 1000;
-            String fallbackCode = String.format("MR-%s-%03d", datePattern, (int) timestamp);
-            System.out.println("임시 이동요청코드 생성: " + fallbackCode);
-            return fallbackCode;
-        }
+        // MR-yyMMdd-001 형식
+        String moveReqCd = keyGeneratorService.nextKey(KeyFormats.MOVE_REQ);
+        log.debug("이동요청코드 생성: {}", moveReqCd);
+        return moveReqCd;
     }
 
     @Override
     public String generateMoveReqDetailCode() {
-        try {
-            String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-            int lastSequence = stockMovementMapper.getLastMoveReqDetailSequence(datePattern);
-            int nextSequence = lastSequence + 1;
-            
-            String mrdCode = String.format("MRD-%s-%03d", datePattern, nextSequence);
-            System.out.println("이동요청상세코드 생성: " + mrdCode);
-            return mrdCode;
-            
-        } catch (Exception e) {
-            String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-            long timestamp = System.currentTimeMillis() % 1000;
-            String fallbackCode = String.format("MRD-%s-%03d", datePattern, (int) timestamp);
-            System.out.println("임시 이동요청상세코드 생성: " + fallbackCode);
-            return fallbackCode;
-        }
-    }
-
-    /**
-     * 창고이동코드 생성 (WMH-yyMMdd-001 형식)
-     */
-    private String generateWareMoveCode() {
-        try {
-            String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-            int lastSequence = stockMovementMapper.getLastWareMoveSequence(datePattern);
-            int nextSequence = lastSequence + 1;
-            
-            String wareMoveCd = String.format("WMH-%s-%03d", datePattern, nextSequence);
-            System.out.println("창고이동코드 생성: " + wareMoveCd);
-            return wareMoveCd;
-            
-        } catch (Exception e) {
-            String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-            long timestamp = System.currentTimeMillis() % 1000;
-            String fallbackCode = String.format("WMH-%s-%03d", datePattern, (int) timestamp);
-            System.out.println("임시 창고이동코드 생성: " + fallbackCode);
-            return fallbackCode;
-        }
+        // MRD-yyMMdd-001 형식
+        String mrdCode = keyGeneratorService.nextKey(KeyFormats.MOVE_REQ_D);
+        log.debug("이동요청상세코드 생성: {}", mrdCode);
+        return mrdCode;
     }
 
     // ========== 통계/대시보드 관련 ==========
@@ -5,7 +5,6 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,16 +23,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.kimbap.kbs.common.service.KeysetPage;
+import com.kimbap.kbs.common.util.ExportColumn;
+import com.kimbap.kbs.common.util.ExportFormat;
+import com.kimbap.kbs.common.util.ExportUtil;
+import com.kimbap.kbs.common.util.JsonStreamUtil;
 import com.kimbap.kbs.materials.service.MateService;
 import com.kimbap.kbs.materials.service.MaterialsVO;
 import com.kimbap.kbs.materials.service.PurchaseOrderViewVO;
 import com.kimbap.kbs.materials.service.SearchCriteria;
+import com.kimbap.kbs.security.service.JwtPrincipal;
 import com.kimbap.kbs.security.util.JwtUtil;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/materials")
 @CrossOrigin(origins = "*")
@@ -45,6 +53,12 @@ public class MateController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private JsonStreamUtil jsonStreamUtil;
+
+    @Autowired
+    private ExportUtil exportUtil;
+
     // ========== 자재입고 관련 API ==========
     /**
      * 자재입고 목록 조회
@@ -59,6 +73,24 @@ public class MateController {
         }
     }
 
+    /**
+     * 자재입고 목록 페이지 조회 (cursor 는 이전 응답의 nextCursor, size 최대 500)
+     */
+    @GetMapping("/inbound/page")
+    public KeysetPage<MaterialsVO> getMateInboPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return mateService.getMateInboPage(cursor, size);
+    }
+
+    /**
+     * 자재입고 목록 전체 스트리밍 (JSON 배열)
+     */
+    @GetMapping("/inbound/stream")
+    public ResponseEntity<StreamingResponseBody> streamMateInboList() {
+        return jsonStreamUtil.array(mateService::streamMateInboList);
+    }
+
     /**
      * 자재입고 단건 조회
      */
@@ -510,42 +542,15 @@ public class MateController {
                     .memtype("p1")
                     .build();
 
-            // 전체 발주 데이터 조회
-            List<MaterialsVO> allOrders = mateService.getPurchaseOrders(criteria);
-
-            // 상태별 통계 계산
-            Map<String, Long> statusCounts = allOrders.stream()
-                    .collect(Collectors.groupingBy(
-                            MaterialsVO::getPurcDStatus,
-                            Collectors.counting()
-                    ));
-
-            // 총 금액 계산
-            BigDecimal totalAmount = allOrders.stream()
-                    .filter(order -> order.getUnitPrice() != null && order.getPurcQty() != null)
-                    .map(order -> order.getUnitPrice().multiply(BigDecimal.valueOf(order.getPurcQty())))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // 공급업체별 통계
-            Map<String, Long> supplierCounts = allOrders.stream()
-                    .filter(order -> order.getCpName() != null)
-                    .collect(Collectors.groupingBy(
-                            MaterialsVO::getCpName,
-                            Collectors.counting()
-                    ));
-
-            Map<String, Object> statistics = new HashMap<>();
-            statistics.put("totalOrders", allOrders.size());
-            statistics.put("pendingApproval", statusCounts.getOrDefault("c1", 0L));
-            statistics.put("approved", statusCounts.getOrDefault("c2", 0L));
-            statistics.put("rejected", statusCounts.getOrDefault("c6", 0L));
-            statistics.put("totalAmount", totalAmount);
-            statistics.put("statusBreakdown", statusCounts);
-            statistics.put("topSuppliers", supplierCounts);
+            // 일별 사전 집계에서 계산
+            Map<String, Object> statistics = mateService.getPurchaseOrderStatistics(criteria);
 
             System.out.println("✅ 발주 통계 조회 완료");
             return ResponseEntity.ok(statistics);
 
+        } catch (IllegalArgumentException e) {
+            log.warn("발주 통계 조회 조건 오류: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             System.err.println("❌ 발주 통계 조회 실패: " + e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -642,145 +647,38 @@ public class MateController {
         }
     }
 
-    // getCurrentUserCpCd
+    // 로그인 사용자의 회사코드 - JWT → 인증 정보 → 세션 → 요청 속성 순, 없으면 기본값 CP-001
     private String getCurrentUserCpCd(HttpServletRequest request) {
-        System.out.println("🔍==================== getCurrentUserCpCd 시작 ====================");
-
-        // 🎯 방법 1: JWT 토큰에서 cpCd 추출
         String authHeader = request.getHeader("Authorization");
-        System.out.println("🔍 Authorization 헤더: " + authHeader);
-
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            try {
-                String token = authHeader.substring(7);
-                System.out.println("🔍 JWT 토큰 발견, 길이: " + token.length());
-                System.out.println("🔍 JWT 토큰 일부: " + token.substring(0, Math.min(50, token.length())) + "...");
-
-                // JWT 토큰에서 cpCd 추출 시도
-                try {
-                    String cpCd = jwtUtil.getCpCdFromToken(token);
-                    if (cpCd != null && !cpCd.isEmpty()) {
-                        System.out.println("✅ JWT에서 cpCd 추출 성공: " + cpCd);
-                        return cpCd;
-                    } else {
-                        System.out.println("❌ JWT에서 cpCd 추출 실패: null 또는 빈 문자열");
-                    }
-                } catch (Exception jwtException) {
-                    System.err.println("❌ JWT 파싱 중 예외 발생: " + jwtException.getMessage());
-                    jwtException.printStackTrace();
-                }
-
-                // 토큰 내용 직접 파싱해서 확인
-                try {
-                    String[] parts = token.split("\\.");
-                    if (parts.length >= 2) {
-                        String payload = new String(java.util.Base64.getDecoder().decode(parts[1]));
-                        System.out.println("🔍 JWT 페이로드 원본: " + payload);
-
-                        // JSON 파싱 시도
-                        if (payload.contains("\"cpCd\"")) {
-                            System.out.println("✅ JWT 페이로드에 cpCd 필드 발견!");
-                            // 간단한 문자열 파싱으로 cpCd 추출
-                            String cpCdPattern = "\"cpCd\":\"([^\"]+)\"";
-                            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(cpCdPattern);
-                            java.util.regex.Matcher matcher = pattern.matcher(payload);
-                            if (matcher.find()) {
-                                String extractedCpCd = matcher.group(1);
-                                System.out.println("🎯 정규식으로 추출한 cpCd: " + extractedCpCd);
-                                return extractedCpCd;
-                            }
-                        } else {
-                            System.out.println("❌ JWT 페이로드에 cpCd 필드가 없습니다");
-                        }
-                    }
-                } catch (Exception e) {
-                    System.out.println("❌ JWT 페이로드 직접 파싱 실패: " + e.getMessage());
-                }
-            } catch (Exception e) {
-                System.out.println("❌ JWT 토큰 처리 중 예외: " + e.getMessage());
-                e.printStackTrace();
+            String cpCd = jwtUtil.getCpCdFromToken(authHeader.substring(7));
+            if (cpCd != null && !cpCd.isEmpty()) {
+                return cpCd;
             }
         }
 
-        // 🎯 방법 2: SecurityContext에서 인증 정보 확인
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
-                System.out.println("🔍 SecurityContext 인증 정보:");
-                System.out.println("   - Principal: " + auth.getPrincipal());
-                System.out.println("   - Name: " + auth.getName());
-                System.out.println("   - Authorities: " + auth.getAuthorities());
-                System.out.println("   - Details: " + auth.getDetails());
-
-                // Authentication Details에서 추출
-                if (auth.getDetails() instanceof Map) {
-                    Map<String, Object> details = (Map<String, Object>) auth.getDetails();
-                    Object cpCdObj = details.get("cpCd");
-                    if (cpCdObj != null) {
-                        String cpCd = cpCdObj.toString();
-                        System.out.println("✅ Authentication Details에서 cpCd 추출 성공: " + cpCd);
-                        return cpCd;
-                    }
-                }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated()) {
+            if (auth.getPrincipal() instanceof JwtPrincipal principal
+                    && principal.getCpCd() != null && !principal.getCpCd().isEmpty()) {
+                return principal.getCpCd();
+            }
+            if (auth.getDetails() instanceof Map<?, ?> details && details.get("cpCd") != null) {
+                return details.get("cpCd").toString();
             }
-        } catch (Exception e) {
-            System.out.println("❌ SecurityContext에서 cpCd 조회 실패: " + e.getMessage());
         }
 
-        // 🎯 방법 3: 세션에서 가져오기
         HttpSession session = request.getSession(false);
-        if (session != null) {
-            System.out.println("🔍 세션 정보:");
-            System.out.println("   - 세션 ID: " + session.getId());
-            System.out.println("   - 생성 시간: " + new Date(session.getCreationTime()));
-            System.out.println("   - 마지막 접근: " + new Date(session.getLastAccessedTime()));
-
-            // 모든 세션 속성 출력
-            Enumeration<String> attributeNames = session.getAttributeNames();
-            while (attributeNames.hasMoreElements()) {
-                String name = attributeNames.nextElement();
-                Object value = session.getAttribute(name);
-                System.out.println("   - " + name + ": " + value);
-            }
-
-            String cpCd = (String) session.getAttribute("cpCd");
-            if (cpCd != null && !cpCd.isEmpty()) {
-                System.out.println("✅ 세션에서 cpCd 추출 성공: " + cpCd);
-                return cpCd;
-            }
-        } else {
-            System.out.println("❌ 세션이 존재하지 않습니다.");
+        if (session != null && session.getAttribute("cpCd") instanceof String cpCd && !cpCd.isEmpty()) {
+            return cpCd;
         }
 
-        // 🎯 방법 4: 요청 속성에서 확인 (JWT 필터에서 설정했을 수도 있음)
         Object reqCpCd = request.getAttribute("cpCd");
         if (reqCpCd != null) {
-            String cpCd = reqCpCd.toString();
-            System.out.println("✅ 요청 속성에서 cpCd 추출 성공: " + cpCd);
-            return cpCd;
+            return reqCpCd.toString();
         }
 
-        // 🎯 디버깅: 모든 요청 속성 출력
-        System.out.println("🔍 요청 속성들:");
-        Enumeration<String> reqAttributeNames = request.getAttributeNames();
-        while (reqAttributeNames.hasMoreElements()) {
-            String name = reqAttributeNames.nextElement();
-            Object value = request.getAttribute(name);
-            System.out.println("   - " + name + ": " + value);
-        }
-
-        // 🔍 추가 디버깅: 모든 요청 헤더 출력
-        System.out.println("🔍 요청 헤더들:");
-        Enumeration<String> headerNames = request.getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            String headerName = headerNames.nextElement();
-            String headerValue = request.getHeader(headerName);
-            System.out.println("   - " + headerName + ": " + headerValue);
-        }
-
-        // 🎯 마지막 대안: 기본값 반환
-        System.out.println("⚠️ cpCd를 찾을 수 없어서 기본값 사용: CP-001");
-        System.out.println("🔍==================== getCurrentUserCpCd 종료 ====================");
+        log.warn("cpCd를 찾을 수 없어서 기본값 사용: CP-001 ({})", request.getRequestURI());
         return "CP-001";
     }
 
@@ -1046,6 +944,40 @@ public class MateController {
         return mateService.getMaterialFlowList(search);
     }
 
+    // 자재 입출고 내역 페이지 조회
+    @GetMapping("/flow/page")
+    public KeysetPage<MaterialsVO> getMaterialFlowPage(MaterialsVO search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return mateService.getMaterialFlowPage(search, cursor, size);
+    }
+
+    // 자재 입출고 내역 전체 스트리밍 (JSON 배열)
+    @GetMapping("/flow/stream")
+    public ResponseEntity<StreamingResponseBody> streamMaterialFlowList(MaterialsVO search) {
+        return jsonStreamUtil.<MaterialsVO>array(consumer -> mateService.streamMaterialFlowList(search, consumer));
+    }
+
+    // 자재 입출고 내역 파일 내보내기 (format: xlsx 기본 / csv)
+    @GetMapping("/flow/export")
+    public ResponseEntity<StreamingResponseBody> exportMaterialFlowList(MaterialsVO search,
+            @RequestParam(required = false) String format) {
+        return exportUtil.export("자재입출고내역", ExportFormat.from(format), MATERIAL_FLOW_COLUMNS,
+                consumer -> mateService.streamMaterialFlowList(search, consumer));
+    }
+
+    private static final List<ExportColumn<MaterialsVO>> MATERIAL_FLOW_COLUMNS = List.of(
+            ExportColumn.of("일자", MaterialsVO::getRegDt),
+            ExportColumn.of("구분", MaterialsVO::getMovementType),
+            ExportColumn.of("유형", MaterialsVO::getMovementCategory),
+            ExportColumn.of("자재코드", MaterialsVO::getMcode),
+            ExportColumn.of("자재명", MaterialsVO::getMateName),
+            ExportColumn.of("수량", MaterialsVO::getQty),
+            ExportColumn.of("단위", MaterialsVO::getUnit),
+            ExportColumn.of("창고", MaterialsVO::getWareName),
+            ExportColumn.of("LOT", MaterialsVO::getLotNo),
+            ExportColumn.of("비고", MaterialsVO::getNote));
+
     @GetMapping("/flow/today")
     public List<MaterialsVO> getTodayMaterialFlowList() {
         return mateService.getTodayMaterialFlowList();
@@ -1222,46 +1154,58 @@ public class MateController {
      * @param mateName 자재명 (선택)
      * @param mateType 자재유형 (선택)
      * @param facName 공장명 (선택)
-     * @return ResponseEntity<byte[]> 엑셀 파일 바이너리 데이터
+     * @param format xlsx (기본) / csv (gzip)
+     * @return 한 행씩 쓰는 파일 응답
      */
     @GetMapping("/stock-status/export")
-    public ResponseEntity<Map<String, Object>> exportStockStatusToExcel(
+    public ResponseEntity<StreamingResponseBody> exportStockStatusToExcel(
             @RequestParam(required = false) String mcode,
             @RequestParam(required = false) String mateName,
             @RequestParam(required = false) String mateType,
-            @RequestParam(required = false) String facName) {
-
-        try {
-            System.out.println("=== 📊 재고 현황 엑셀 다운로드 ===");
+            @RequestParam(required = false) String facName,
+            @RequestParam(required = false) String format) {
 
-            // 동일한 검색 조건으로 데이터 조회
-            MaterialsVO searchParams = MaterialsVO.builder()
-                    .mcode(mcode)
-                    .mateName(mateName)
-                    .mateType(mateType)
-                    .facName(facName)
-                    .build();
-
-            List<MaterialsVO> stockStatusList = mateService.getMaterialStockStatus(searchParams);
-
-            // TODO: Apache POI를 사용한 엑셀 파일 생성 로직 구현
-            // byte[] excelData = createExcelFile(stockStatusList);
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "엑셀 다운로드 기능 구현 예정");
-            response.put("dataCount", stockStatusList.size());
-            response.put("timestamp", new Date());
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            System.err.println("❌ 엑셀 다운로드 실패: " + e.getMessage());
+        // 동일한 검색 조건으로 데이터 조회
+        MaterialsVO searchParams = MaterialsVO.builder()
+                .mcode(mcode)
+                .mateName(mateName)
+                .mateType(mateType)
+                .facName(facName)
+                .build();
 
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("error", "엑셀 다운로드 중 오류가 발생했습니다.");
-            errorResponse.put("message", e.getMessage());
+        return exportUtil.export("재고현황", ExportFormat.from(format), STOCK_STATUS_COLUMNS,
+                consumer -> mateService.streamMaterialStockStatus(searchParams, consumer));
+    }
 
-            return ResponseEntity.internalServerError().body(errorResponse);
+    private static final List<ExportColumn<MaterialsVO>> STOCK_STATUS_COLUMNS = List.of(
+            ExportColumn.of("자재코드", MaterialsVO::getMaterialCode),
+            ExportColumn.of("자재명", MaterialsVO::getMaterialName),
+            ExportColumn.of("자재유형", MaterialsVO::getMaterialTypeText),
+            ExportColumn.of("규격", MaterialsVO::getSpecification),
+            ExportColumn.of("공장", MaterialsVO::getFactoryName),
+            ExportColumn.of("총재고", MaterialsVO::getTotalQuantity),
+            ExportColumn.of("단위", MaterialsVO::getUnitText),
+            ExportColumn.of("안전재고", MaterialsVO::getSafeStock),
+            ExportColumn.of("안전재고 대비 차이", MaterialsVO::getStockDifference),
+            ExportColumn.of("안전재고 대비(%)", MaterialsVO::getStockPercentage),
+            ExportColumn.of("재고상태", item -> stockStatusText(item.getStockStatus())),
+            ExportColumn.of("보관조건", MaterialsVO::getStorageConditionText),
+            ExportColumn.of("원산지", MaterialsVO::getOrigin),
+            ExportColumn.of("유통기한(일)", MaterialsVO::getExpiryDays),
+            ExportColumn.of("최근 입고일", MaterialsVO::getLastInboundDate),
+            ExportColumn.of("보관 창고 수", MaterialsVO::getWarehouseCount));
+
+    private static String stockStatusText(String stockStatus) {
+        if (stockStatus == null) {
+            return null;
         }
+        return switch (stockStatus) {
+            case "empty" -> "재고없음";
+            case "shortage" -> "부족";
+            case "overstock" -> "과다";
+            case "normal" -> "정상";
+            default -> stockStatus;
+        };
     }
 
     /**
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.kimbap.kbs.common.exception.PutAwayException;
 import com.kimbap.kbs.materials.service.MateLoadingService;
 import com.kimbap.kbs.materials.service.MateLoadingVO;
 
@@ -126,6 +127,12 @@ public class MateLoadingController {
             System.out.println("다중 자재 적재 처리 완료: " + mateLoadingList.size() + "건");
             return ResponseEntity.ok(response);
             
+        } catch (PutAwayException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             System.err.println("다중 자재 적재 처리 실패: " + e.getMessage());
             e.printStackTrace();
@@ -139,6 +146,14 @@ public class MateLoadingController {
     }
 
 
+// 일괄 적재 계획 미리보기 (구역 미지정 라인 자동 배정, 저장하지 않음)
+
+    @PostMapping("/plan")
+    public ResponseEntity<List<MateLoadingVO>> planMateLoading(@RequestBody List<MateLoadingVO> mateLoadingList) {
+        return ResponseEntity.ok(mateLoadingService.planMateLoading(mateLoadingList));
+    }
+
+
 // 활성화된 공장 목록 조회 (검색조건 드롭다운용)
 
     @GetMapping("/factories")
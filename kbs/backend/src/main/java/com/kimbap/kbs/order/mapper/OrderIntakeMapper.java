@@ -0,0 +1,15 @@
+package com.kimbap.kbs.order.mapper;
+
+import java.util.List;
+
+import com.kimbap.kbs.order.service.OrderIntakeResultVO;
+
+// 대량 주문 접수 멱등키 (order_intake_key)
+public interface OrderIntakeMapper {
+
+  // (cpCd, idemKey) 목록 중 이미 접수된 키와 그 주문코드
+  List<OrderIntakeResultVO> selectIntakeKeys(List<OrderIntakeResultVO> keys);
+
+  // 멱등키 일괄 등록 - 이미 있는 키가 섞여 있으면 DuplicateKeyException
+  int insertIntakeKeys(List<OrderIntakeResultVO> keys);
+}
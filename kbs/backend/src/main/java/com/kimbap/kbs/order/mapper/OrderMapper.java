@@ -3,6 +3,8 @@ package com.kimbap.kbs.order.mapper;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.ibatis.session.ResultHandler;
+
 import com.kimbap.kbs.order.service.OrderDetailVO;
 import com.kimbap.kbs.order.service.OrderVO;
 
@@ -13,15 +15,23 @@ public interface OrderMapper {
   // 주문 상세 등록
   int insertOrderDetail(OrderDetailVO detailVO);
 
+  // 주문 마스터 / 상세 일괄 등록 (INSERT ALL)
+  int insertOrderMasters(List<OrderVO> orders);
+
+  int insertOrderDetails(List<OrderDetailVO> details);
+
   // 주문 상세 코드 자동 생성
   String getGeneratedOrderDetailCode();
 
-  // 오늘 날짜 기준 가장 큰 주문 코드
-  String getLatestOrderCode();
 
   // 주문 목록 조회
   List<OrderVO> getOrderList(Map<String, Object> params);
 
+  // 주문 목록 keyset 페이지 / 스트리밍
+  List<OrderVO> getOrderPage(Map<String, Object> params);
+
+  void streamOrderList(Map<String, Object> params, ResultHandler<OrderVO> handler);
+
   // 주문 비활성화
   void deactivateOrder(String ordCd);
 
@@ -37,11 +47,9 @@ public interface OrderMapper {
   // 주문 상세 전체 삭제
   void deleteOrderDetails(String ordCd);
 
-  // 주문 상세 개별 삭제
-  void deleteOrderDetailByOrdDCd(String ordDCd);
+  // 주문 상세 선택 삭제
+  int deleteOrderDetailsByOrdDCds(List<String> ordDCds);
 
-  // 주문 상세 시퀀스 번호 조회
-  int getNextOrderDetailSeq();
 
   // 기존 상세 수정
   int updateOrderDetail(OrderDetailVO detail);
@@ -4,6 +4,9 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.ibatis.session.ResultHandler;
+
+import com.kimbap.kbs.order.service.OrderDetailStatusCountVO;
 import com.kimbap.kbs.order.service.ReturnItemVO;
 
 public interface ReturnMapper {
@@ -20,18 +23,23 @@ public interface ReturnMapper {
   // 주문 마스터 상태 변경 → 부분반품(s5) / 반품완료(s6)
   int updateOrderStatusCustomer(Map<String, String> params);
 
+  // 주문 마스터 고객상태 조회 (변경 전 상태 - 건수 푸시용)
+  String getOrderStatusCustomer(String ordCd);
+
   // 반품 이력 조회 (주문상세 기준으로 조회할 경우는 추가로 만들 수 있음)
   List<ReturnItemVO> getReturnHistoryByOrdCd(String ordCd);
 
-  // 주문 상세 전체 건수 조회
-  int getOrderDetailCount(String ordCd);
-
-  // 주문 상세 특정 상태 건수 조회 (t5 등)
-  int getOrderDetailStatusCount(String ordCd, String status);
+  // 주문 상세 전체 / 반품완료(t5) / 반품요청(t4) 건수 한 번에 조회
+  OrderDetailStatusCountVO getOrderDetailStatusCounts(String ordCd);
 
   // 반품 목록 조회
   List<ReturnItemVO> getReturnList(Map<String, Object> params);
 
+  // 반품 목록 keyset 페이지 / 스트리밍
+  List<ReturnItemVO> getReturnPage(Map<String, Object> params);
+
+  void streamReturnList(Map<String, Object> params, ResultHandler<ReturnItemVO> handler);
+
   // 반품 상태 업데이트 (승인/거절 공통)
   void updateReturnStatus(Map<String, Object> params);
 
@@ -51,7 +59,7 @@ public interface ReturnMapper {
   void updateOrderDetailStatusToT3(String ordDCd);
 
   // prod_return 상태를 반품요청취소(v2)로 변경
-  void updateProdReturnStatusToV2(String ordDCd);
+  int updateProdReturnStatusToV2(String ordDCd);
 
   // 주문상세 코드로 주문코드 조회
   String getOrdCdByOrdDCd(String ordDCd);
@@ -0,0 +1,17 @@
+package com.kimbap.kbs.order.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 주문 마스터 상태 판정용 주문상세 건수 (한 번의 조회로 집계)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderDetailStatusCountVO {
+    private int totalCount;     // 사용중 주문상세 전체
+    private int returnedCount;  // 반품완료(t5)
+    private int pendingCount;   // 반품요청(t4)
+}
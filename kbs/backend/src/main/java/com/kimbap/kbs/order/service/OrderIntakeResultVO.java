@@ -0,0 +1,25 @@
+package com.kimbap.kbs.order.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 대량 주문 접수 - 주문별 처리 결과 (order_intake_key 행 겸용)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderIntakeResultVO {
+    public static final String CREATED = "CREATED";       // 새로 등록
+    public static final String DUPLICATE = "DUPLICATE";   // 같은 멱등키로 이미 등록됨 (ordCd 는 기존 주문)
+    public static final String FAILED = "FAILED";         // 검증/등록 실패 (message 참고)
+
+    private int seq;            // 요청 목록에서의 순번 (0부터)
+    private String idemKey;
+    private String cpCd;
+    private String ordCd;
+    private String result;
+    private int lineCount;      // 등록된 상세 수
+    private String message;
+}
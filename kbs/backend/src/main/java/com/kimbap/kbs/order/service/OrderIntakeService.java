@@ -0,0 +1,11 @@
+package com.kimbap.kbs.order.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// 대량 주문 접수 (멱등키 기반 재시도 안전)
+public interface OrderIntakeService {
+
+  // 주문 목록을 묶음 단위로 등록하고, 묶음이 커밋될 때마다 주문별 결과를 consumer 로 전달
+  void intake(List<OrderVO> orders, Consumer<OrderIntakeResultVO> consumer);
+}
@@ -2,6 +2,9 @@ package com.kimbap.kbs.order.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+
+import com.kimbap.kbs.common.service.KeysetPage;
 
 public interface  OrderService {
   // 주문 등록
@@ -13,6 +16,12 @@ public interface  OrderService {
   // 주문 목록 조회
   List<OrderVO> getOrderList(Map<String, Object> params);
 
+  // 주문 목록 keyset 페이지 (주문코드 역순)
+  KeysetPage<OrderVO> getOrderPage(Map<String, Object> params, String cursor, Integer size);
+
+  // 주문 목록 전체를 한 행씩 전달
+  void streamOrderList(Map<String, Object> params, Consumer<OrderVO> consumer);
+
   // 주문 상세 조회 (상세 정보 포함)
   OrderVO getOrderWithDetails(String ordCd);
 
@@ -47,4 +47,7 @@ public class OrderVO {
 
     // 미수금
     private BigDecimal  unsettledAmount;
+
+    // 대량 접수 멱등키 (클라이언트 발급, 같은 매출업체 안에서 유일)
+    private String idemKey;
 }
@@ -2,6 +2,9 @@ package com.kimbap.kbs.order.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+
+import com.kimbap.kbs.common.service.KeysetPage;
 
 public interface ReturnService {
 
@@ -14,6 +17,12 @@ public interface ReturnService {
     // 반품 목록 조회
     List<ReturnItemVO> getReturnList(Map<String, Object> params);
 
+    // 반품 목록 keyset 페이지 (반품코드 순)
+    KeysetPage<ReturnItemVO> getReturnPage(Map<String, Object> params, String cursor, Integer size);
+
+    // 반품 목록 전체를 한 행씩 전달
+    void streamReturnList(Map<String, Object> params, Consumer<ReturnItemVO> consumer);
+
     // 반품 승인
     void approveReturn(ReturnItemVO request);
 
@@ -0,0 +1,293 @@
+package com.kimbap.kbs.order.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kimbap.kbs.common.service.CounterPushService;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.order.mapper.OrderIntakeMapper;
+import com.kimbap.kbs.order.mapper.OrderMapper;
+import com.kimbap.kbs.order.service.OrderDetailVO;
+import com.kimbap.kbs.order.service.OrderIntakeResultVO;
+import com.kimbap.kbs.order.service.OrderIntakeService;
+import com.kimbap.kbs.order.service.OrderVO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 대량 주문 접수
+ *
+ * - 주문을 묶음(CHUNK_ORDERS 건 또는 CHUNK_LINES 줄)으로 나눠 묶음마다 한 트랜잭션으로 등록한다.
+ * - 묶음 안의 주문코드/상세코드는 KeyGeneratorService.nextKeys 로 한 번에 발번하고,
+ *   멱등키/마스터/상세는 INSERT ALL 로 묶어서 쓴다 (주문 한 줄마다 왕복하지 않음).
+ * - 커밋된 신규 주문 수만큼 주문 건수(s1) 증가를 CounterPushService 로 방송한다 (registerOrder 와 동일).
+ * - (cpCd, idemKey) 가 이미 order_intake_key 에 있으면 다시 등록하지 않고 기존 주문코드를 DUPLICATE 로 돌려준다.
+ *   멱등키는 주문과 같은 트랜잭션에서 등록되므로 타임아웃 후 재시도해도 주문이 두 번 생기지 않는다.
+ * - 묶음 등록이 실패하면 (동시 재시도로 인한 키 중복, 잘못된 제품코드 등) 그 묶음만 주문 한 건씩 다시 등록해
+ *   문제 있는 주문만 FAILED/DUPLICATE 로 돌려준다.
+ * - 응답은 묶음마다 바로 내려가므로(이미 200) 예외를 밖으로 던지지 않는다. 키 조회/발번이 실패한 묶음도
+ *   주문마다 FAILED 로 돌려줘서 모든 주문이 결과를 받는다 (같은 멱등키로 다시 보내면 된다).
+ */
+@Slf4j
+@Service
+public class OrderIntakeServiceImpl implements OrderIntakeService {
+
+    // 한 트랜잭션으로 묶는 주문 수 / 상세 수 (먼저 차는 쪽 기준)
+    static final int CHUNK_ORDERS = 200;
+    static final int CHUNK_LINES = 2_000;
+
+    private static final int MAX_IDEM_KEY_LENGTH = 100;
+
+    private final OrderMapper orderMapper;
+    private final OrderIntakeMapper orderIntakeMapper;
+    private final KeyGeneratorService keyGeneratorService;
+    private final CounterPushService counterPushService;
+    private final TransactionTemplate tx;
+
+    public OrderIntakeServiceImpl(OrderMapper orderMapper,
+                                  OrderIntakeMapper orderIntakeMapper,
+                                  KeyGeneratorService keyGeneratorService,
+                                  CounterPushService counterPushService,
+                                  PlatformTransactionManager transactionManager) {
+        this.orderMapper = orderMapper;
+        this.orderIntakeMapper = orderIntakeMapper;
+        this.keyGeneratorService = keyGeneratorService;
+        this.counterPushService = counterPushService;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void intake(List<OrderVO> orders, Consumer<OrderIntakeResultVO> consumer) {
+        // 요청 안에서 같은 멱등키가 다시 나오면 먼저 나온 주문의 결과를 따른다
+        Map<String, OrderIntakeResultVO> firstByKey = new HashMap<>();
+        List<Entry> chunk = new ArrayList<>();
+        int lines = 0;
+        for (int i = 0; i < orders.size(); i++) {
+            OrderVO order = orders.get(i);
+            Entry entry = new Entry(order, OrderIntakeResultVO.builder()
+                .seq(i).idemKey(order.getIdemKey()).cpCd(order.getCpCd()).build());
+            String invalid = validate(order);
+            if (invalid != null) {
+                entry.fail(invalid);
+            } else {
+                OrderIntakeResultVO first = firstByKey.putIfAbsent(order.getCpCd() + "|" + order.getIdemKey(), entry.result);
+                if (first != null) {
+                    entry.sameAs = first;
+                } else {
+                    lines += order.getOrderDetails().size();
+                }
+            }
+            chunk.add(entry);
+            if (chunk.size() >= CHUNK_ORDERS || lines >= CHUNK_LINES) {
+                flush(chunk, consumer);
+                chunk.clear();
+                lines = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, consumer);
+        }
+    }
+
+    private void flush(List<Entry> chunk, Consumer<OrderIntakeResultVO> consumer) {
+        List<Entry> fresh = new ArrayList<>();
+        for (Entry entry : chunk) {
+            if (entry.result.getResult() == null && entry.sameAs == null) {
+                fresh.add(entry);
+            }
+        }
+
+        try {
+            // 1. 이미 접수된 멱등키 → 기존 주문코드
+            if (!fresh.isEmpty()) {
+                Map<String, String> existing = selectExisting(fresh);
+                fresh.removeIf(entry -> {
+                    String ordCd = existing.get(entry.key());
+                    if (ordCd != null) {
+                        entry.duplicate(ordCd);
+                    }
+                    return ordCd != null;
+                });
+            }
+
+            // 2. 신규 주문 - 주문코드/상세코드를 한 번에 발번하고 한 트랜잭션으로 등록
+            if (!fresh.isEmpty()) {
+                prepare(fresh);
+                try {
+                    tx.executeWithoutResult(status -> write(fresh));
+                    fresh.forEach(Entry::created);
+                } catch (RuntimeException e) {
+                    // 커밋 결과를 모르는 실패도 한 건씩 다시 등록하면 멱등키로 DUPLICATE 가 된다
+                    log.warn("대량 주문 접수 묶음 등록 실패 ({}건) → 한 건씩 다시 등록: {}", fresh.size(), message(e));
+                    fresh.forEach(this::writeOne);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("대량 주문 접수 묶음 처리 실패 ({}건)", fresh.size(), e);
+            for (Entry entry : fresh) {
+                if (entry.result.getResult() == null) {
+                    entry.fail("주문 접수 처리 중 오류가 발생했습니다: " + message(e));
+                }
+            }
+        }
+
+        // 3. 요청 안 중복은 먼저 나온 주문 결과를 따른다
+        for (Entry entry : chunk) {
+            if (entry.sameAs != null) {
+                if (OrderIntakeResultVO.FAILED.equals(entry.sameAs.getResult())) {
+                    entry.fail("같은 멱등키의 앞선 주문이 실패했습니다.");
+                } else {
+                    entry.duplicate(entry.sameAs.getOrdCd());
+                }
+            }
+            consumer.accept(entry.result);
+        }
+    }
+
+    // 묶음 등록이 실패했을 때 주문 한 건씩 등록 (코드는 이미 발번된 것을 그대로 사용)
+    private void writeOne(Entry entry) {
+        try {
+            tx.executeWithoutResult(status -> write(List.of(entry)));
+            entry.created();
+        } catch (DuplicateKeyException e) {
+            // 다른 요청(재시도)이 같은 멱등키를 먼저 커밋함
+            String ordCd = selectExisting(List.of(entry)).get(entry.key());
+            if (ordCd != null) {
+                entry.duplicate(ordCd);
+            } else {
+                entry.fail(e.getMostSpecificCause().getMessage());
+            }
+        } catch (RuntimeException e) {
+            entry.fail(message(e));
+        }
+    }
+
+    private static String message(RuntimeException e) {
+        return NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+    }
+
+    private Map<String, String> selectExisting(List<Entry> entries) {
+        Map<String, String> existing = new HashMap<>();
+        for (int i = 0; i < entries.size(); i += OrderServiceImpl.INSERT_CHUNK) {
+            List<OrderIntakeResultVO> keys = new ArrayList<>();
+            for (Entry entry : entries.subList(i, Math.min(i + OrderServiceImpl.INSERT_CHUNK, entries.size()))) {
+                keys.add(entry.result);
+            }
+            for (OrderIntakeResultVO row : orderIntakeMapper.selectIntakeKeys(keys)) {
+                existing.put(row.getCpCd() + "|" + row.getIdemKey(), row.getOrdCd());
+            }
+        }
+        return existing;
+    }
+
+    // 신규 주문 초기값 (registerOrder 와 동일) + 코드 발번
+    private void prepare(List<Entry> fresh) {
+        int lineCount = 0;
+        for (Entry entry : fresh) {
+            lineCount += entry.order.getOrderDetails().size();
+        }
+        List<String> ordCds = keyGeneratorService.nextKeys(KeyFormats.ORD, fresh.size());
+        List<String> ordDCds = keyGeneratorService.nextKeys(KeyFormats.ORD_D, lineCount);
+        int d = 0;
+        for (int i = 0; i < fresh.size(); i++) {
+            OrderVO order = fresh.get(i).order;
+            order.setOrdCd(ordCds.get(i));
+            order.setIsUsed("f1");
+            order.setOrdStatusInternal("a1");   // 내부 요청 상태
+            order.setOrdStatusCustomer("s1");   // 고객 접수 대기 상태
+            for (OrderDetailVO detail : order.getOrderDetails()) {
+                detail.setOrdCd(order.getOrdCd());
+                detail.setOrdDCd(ordDCds.get(d++));
+                detail.setIsUsed("f1");
+                detail.setDeliAvailDt(null);
+            }
+            fresh.get(i).result.setOrdCd(order.getOrdCd());
+        }
+    }
+
+    // 주문 등록 + 건수 방송 (방송은 커밋 후)
+    private void write(List<Entry> entries) {
+        List<OrderIntakeResultVO> keys = new ArrayList<>(entries.size());
+        List<OrderVO> masters = new ArrayList<>(entries.size());
+        List<OrderDetailVO> details = new ArrayList<>();
+        for (Entry entry : entries) {
+            keys.add(entry.result);
+            masters.add(entry.order);
+            details.addAll(entry.order.getOrderDetails());
+        }
+        // 멱등키를 먼저 등록 → 동시 재시도는 여기서 DuplicateKeyException 으로 멈춘다
+        for (int i = 0; i < keys.size(); i += OrderServiceImpl.INSERT_CHUNK) {
+            orderIntakeMapper.insertIntakeKeys(keys.subList(i, Math.min(i + OrderServiceImpl.INSERT_CHUNK, keys.size())));
+        }
+        for (int i = 0; i < masters.size(); i += OrderServiceImpl.INSERT_CHUNK) {
+            orderMapper.insertOrderMasters(masters.subList(i, Math.min(i + OrderServiceImpl.INSERT_CHUNK, masters.size())));
+        }
+        OrderServiceImpl.insertDetails(orderMapper, details);
+        counterPushService.publishTransition("order", null, "s1", entries.size());
+    }
+
+    // 등록 전 검증 - 문제가 없으면 null
+    static String validate(OrderVO order) {
+        if (order.getIdemKey() == null || order.getIdemKey().isBlank()) {
+            return "멱등키(idemKey)가 없습니다.";
+        }
+        if (order.getIdemKey().length() > MAX_IDEM_KEY_LENGTH) {
+            return "멱등키(idemKey)는 " + MAX_IDEM_KEY_LENGTH + "자 이하여야 합니다.";
+        }
+        if (order.getCpCd() == null || order.getCpCd().isBlank()) {
+            return "매출업체(cpCd)가 없습니다.";
+        }
+        List<OrderDetailVO> details = order.getOrderDetails();
+        if (details == null || details.isEmpty()) {
+            return "주문 상세가 없습니다.";
+        }
+        for (int i = 0; i < details.size(); i++) {
+            OrderDetailVO detail = details.get(i);
+            if (detail.getPcode() == null || detail.getOrdQty() == null || detail.getOrdQty() <= 0) {
+                return "주문 상세 " + (i + 1) + "번째 제품코드/수량이 올바르지 않습니다.";
+            }
+        }
+        return null;
+    }
+
+    private static final class Entry {
+        private final OrderVO order;
+        private final OrderIntakeResultVO result;
+        private OrderIntakeResultVO sameAs;
+
+        private Entry(OrderVO order, OrderIntakeResultVO result) {
+            this.order = order;
+            this.result = result;
+        }
+
+        private String key() {
+            return result.getCpCd() + "|" + result.getIdemKey();
+        }
+
+        private void created() {
+            result.setResult(OrderIntakeResultVO.CREATED);
+            result.setLineCount(order.getOrderDetails().size());
+        }
+
+        private void duplicate(String ordCd) {
+            result.setResult(OrderIntakeResultVO.DUPLICATE);
+            result.setOrdCd(ordCd);
+        }
+
+        private void fail(String message) {
+            result.setResult(OrderIntakeResultVO.FAILED);
+            result.setOrdCd(null);
+            result.setMessage(message);
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.kimbap.kbs.order.serviceimpl;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.CounterPushService;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.service.KeysetPage;
+import com.kimbap.kbs.common.serviceimpl.ParallelLookups;
+import com.kimbap.kbs.common.util.KeysetPaging;
 import com.kimbap.kbs.order.mapper.OrderMapper;
 import com.kimbap.kbs.order.service.OrderDetailVO;
 import com.kimbap.kbs.order.service.OrderService;
@@ -21,7 +28,13 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderServiceImpl  implements OrderService {
 
+    // INSERT ALL / IN 목록 한 문장당 행 수
+    static final int INSERT_CHUNK = 500;
+
     private final OrderMapper orderMapper;
+    private final KeyGeneratorService keyGeneratorService;
+    private final ParallelLookups parallelLookups;
+    private final CounterPushService counterPushService;
 
     @Override
     @Transactional
@@ -39,24 +52,20 @@ public class OrderServiceImpl  implements OrderService {
 
         // 2. 주문 마스터 등록
         orderMapper.insertOrderMaster(orderVO);
-
-        // 3. 주문 상세 등록 (반복)
-        if (orderVO.getOrderDetails() != null) {
-            for (OrderDetailVO detail : orderVO.getOrderDetails()) {
+        counterPushService.publishTransition("order", null, orderVO.getOrdStatusCustomer(), 1);
+
+        // 3. 주문 상세 등록 - 상세코드는 한 번에 발번하고 INSERT ALL 로 묶어서 등록
+        List<OrderDetailVO> details = orderVO.getOrderDetails();
+        if (details != null && !details.isEmpty()) {
+            List<String> ordDCds = keyGeneratorService.nextKeys(KeyFormats.ORD_D, details.size());
+            for (int i = 0; i < details.size(); i++) {
+                OrderDetailVO detail = details.get(i);
                 detail.setOrdCd(newOrderCode); // 외래키 세팅
                 detail.setIsUsed("f1");
-
                 detail.setDeliAvailDt(null);
-
-                // 시퀀스로 주문상세코드 생성
-                String year = new SimpleDateFormat("yyyy").format(new Date());
-                int seq = orderMapper.getNextOrderDetailSeq();
-                String newOrdDCd = "ORDD-" + year + "-" + String.format("%06d", seq);
-
-                detail.setOrdDCd(newOrdDCd);
-
-                orderMapper.insertOrderDetail(detail);
+                detail.setOrdDCd(ordDCds.get(i)); // 주문상세코드 (ORDD-yyyy-000001)
             }
+            insertDetails(orderMapper, details);
         }
     }
 
@@ -66,16 +75,39 @@ public class OrderServiceImpl  implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<OrderVO> getOrderPage(Map<String, Object> params, String cursor, Integer size) {
+        Map<String, Object> query = KeysetPaging.apply(new HashMap<>(params), cursor, size);
+        return KeysetPaging.toPage(orderMapper.getOrderPage(query), query, OrderVO::getOrdCd);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamOrderList(Map<String, Object> params, Consumer<OrderVO> consumer) {
+        orderMapper.streamOrderList(params, context -> consumer.accept(context.getResultObject()));
+    }
+
+    @Override
+    @Transactional
     public void deactivateOrder(String ordCd) {
+        OrderVO existingOrder = orderMapper.selectOrder(ordCd);
         orderMapper.deactivateOrder(ordCd);
+        // 비활성 주문은 목록/건수에서 빠진다
+        if (existingOrder != null && !"f2".equals(existingOrder.getIsUsed())) {
+            counterPushService.publishTransition("order", existingOrder.getOrdStatusCustomer(), null, 1);
+        }
     }
 
     @Override
     public OrderVO getOrderWithDetails(String ordCd) {
-        OrderVO order = orderMapper.selectOrder(ordCd);
-        List<OrderDetailVO> details = orderMapper.selectOrderDetail(ordCd);
-        order.setOrderDetails(details);
-        return order;
+        // 주문 헤더와 상세는 서로 독립된 조회라 동시에 실행
+        return parallelLookups.both(
+                () -> orderMapper.selectOrder(ordCd),
+                () -> orderMapper.selectOrderDetail(ordCd),
+                (order, details) -> {
+                    order.setOrderDetails(details);
+                    return order;
+                });
     }
 
     @Override
@@ -126,55 +158,50 @@ public class OrderServiceImpl  implements OrderService {
 
         // 1. 주문 마스터 수정
         orderMapper.updateOrderMaster(orderVO);
+        counterPushService.publishTransition("order",
+                existingOrder.getOrdStatusCustomer(), orderVO.getOrdStatusCustomer(), 1);
 
-        // 2. 주문 상세 처리
+        // 2. 주문 상세 처리 - 기존 제품은 UPDATE, 신규 제품은 모아서 한 번에 발번/INSERT
+        List<OrderDetailVO> newDetails = new ArrayList<>();
         if (orderVO.getOrderDetails() != null) {
             for (OrderDetailVO detail : orderVO.getOrderDetails()) {
                 detail.setOrdCd(orderVO.getOrdCd());
                 detail.setIsUsed("f1");
 
                 if (detail.getOrdDCd() == null || detail.getOrdDCd().isEmpty()) {
-                    // 신규 제품 → 시퀀스로 코드 생성 후 INSERT
-                    int seq = orderMapper.getNextOrderDetailSeq(); // 시퀀스
-                    String year = new SimpleDateFormat("yyyy").format(new Date());
-                    String newOrdDCd = "ORDD-" + year + "-" + String.format("%06d", seq);
-                    detail.setOrdDCd(newOrdDCd);
-
-                    orderMapper.insertOrderDetail(detail);
-                } else {
-                    // 기존 제품 → UPDATE
-                    orderMapper.updateOrderDetail(detail);
-                }
-
-                if (detail.getOrdDStatus() != null) {
-                    log.info("💥 상태 강제 업데이트 실행 → 상세코드: {}, 상태: {}", detail.getOrdDCd(), detail.getOrdDStatus());
-                    orderMapper.updateOrderStatus(detail);
+                    newDetails.add(detail);
+                    continue;
                 }
+                // 기존 제품 → UPDATE (ord_d_status 도 함께 갱신되므로 상태만 따로 다시 쓰지 않는다)
+                orderMapper.updateOrderDetail(detail);
+            }
+        }
+        if (!newDetails.isEmpty()) {
+            List<String> ordDCds = keyGeneratorService.nextKeys(KeyFormats.ORD_D, newDetails.size());
+            for (int i = 0; i < newDetails.size(); i++) {
+                newDetails.get(i).setOrdDCd(ordDCds.get(i));
             }
+            insertDetails(orderMapper, newDetails);
         }
 
         // 3. 삭제 대상 상세가 있다면 삭제 처리 (프론트에서 넘겨줄 경우)
-        if (orderVO.getDeletedOrdDCdList() != null) {
-            for (String ordDCd : orderVO.getDeletedOrdDCdList()) {
-                orderMapper.deleteOrderDetailByOrdDCd(ordDCd);
+        List<String> deleted = orderVO.getDeletedOrdDCdList();
+        if (deleted != null && !deleted.isEmpty()) {
+            for (int i = 0; i < deleted.size(); i += INSERT_CHUNK) {
+                orderMapper.deleteOrderDetailsByOrdDCds(deleted.subList(i, Math.min(i + INSERT_CHUNK, deleted.size())));
             }
         }
     }
 
+    // 주문 상세 INSERT ALL (한 문장당 INSERT_CHUNK 행)
+    static void insertDetails(OrderMapper orderMapper, List<OrderDetailVO> details) {
+        for (int i = 0; i < details.size(); i += INSERT_CHUNK) {
+            orderMapper.insertOrderDetails(details.subList(i, Math.min(i + INSERT_CHUNK, details.size())));
+        }
+    }
 
     // 주문코드 생성 메서드 (요구사항 형식 맞춤: ORD-20250001)
     private String generateOrderCode() {
-        String year = new SimpleDateFormat("yyyy").format(new Date());
-        String prefix = "ORD-" + year;
-
-        String latest = orderMapper.getLatestOrderCode();
-
-        int nextNumber = 1;
-        if (latest != null && latest.startsWith(prefix)) {
-            String lastSeq = latest.substring(prefix.length()); // '0001' 이런 숫자 부분
-            nextNumber = Integer.parseInt(lastSeq) + 1;
-        }
-
-        return prefix + String.format("%04d", nextNumber); // 4자리 형식
+        return keyGeneratorService.nextKey(KeyFormats.ORD); // 4자리 형식
     }
 }
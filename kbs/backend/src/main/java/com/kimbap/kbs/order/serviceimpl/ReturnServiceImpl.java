@@ -6,11 +6,17 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.CounterPushService;
+import com.kimbap.kbs.common.service.KeysetPage;
+import com.kimbap.kbs.common.util.KeysetPaging;
+import com.kimbap.kbs.dashboard.service.DashboardSnapshotService;
 import com.kimbap.kbs.order.mapper.ReturnMapper;
+import com.kimbap.kbs.order.service.OrderDetailStatusCountVO;
 import com.kimbap.kbs.order.service.ReturnItemVO;
 import com.kimbap.kbs.order.service.ReturnRequestVO;
 import com.kimbap.kbs.order.service.ReturnService;
@@ -24,6 +30,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ReturnServiceImpl implements ReturnService {
 
     private final ReturnMapper returnMapper;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final CounterPushService counterPushService;
 
     @Override
     @Transactional
@@ -55,6 +63,8 @@ public class ReturnServiceImpl implements ReturnService {
 
             // 제품반품 등록
             returnMapper.insertReturnItem(item);
+            dashboardSnapshotService.recordProdReturn(1);
+            counterPushService.publishTransition("return", null, "v1", 1);
             log.info("반품 등록 완료: {}");
 
             // 주문 상세 상태 → 반품요청(t4)
@@ -62,10 +72,14 @@ public class ReturnServiceImpl implements ReturnService {
             log.info("주문상세 상태 변경 → t4 (ord_d_cd: {})", item.getOrdDCd());
         }
 
+        String beforeStatus = returnMapper.getOrderStatusCustomer(ordCd);
         Map<String, String> params = new HashMap<>();
         params.put("ordCd", ordCd);
         params.put("status", "v1");
         int updatedRows = returnMapper.updateOrderStatusCustomer(params);
+        if (updatedRows > 0) {
+            counterPushService.publishTransition("order", beforeStatus, "v1", 1);
+        }
 
         // 업데이트된 Row 수를 로그로 출력 (0이면 update 실패)
         log.info("주문마스터 상태 v1 업데이트 결과 → 업데이트된 건수: {}", updatedRows);
@@ -87,6 +101,19 @@ public class ReturnServiceImpl implements ReturnService {
         return returnMapper.getReturnList(params);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ReturnItemVO> getReturnPage(Map<String, Object> params, String cursor, Integer size) {
+        Map<String, Object> query = KeysetPaging.apply(new HashMap<>(params), cursor, size);
+        return KeysetPaging.toPage(returnMapper.getReturnPage(query), query, ReturnItemVO::getProdReturnCd);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamReturnList(Map<String, Object> params, Consumer<ReturnItemVO> consumer) {
+        returnMapper.streamReturnList(params, context -> consumer.accept(context.getResultObject()));
+    }
+
     @Override
     @Transactional
     public void approveReturn(ReturnItemVO request) {
@@ -126,6 +153,7 @@ public class ReturnServiceImpl implements ReturnService {
         statusParams.put("prodReturnCd", request.getProdReturnCd());
         statusParams.put("manager", request.getManager());
         returnMapper.updateReturnStatus(statusParams);
+        counterPushService.publishTransition("return", "v1", "w1", 1);
         log.info("반품 상태 승인(w1) 처리 완료");
 
         // 6. 주문 상세 상태 t5(반품완료)로 변경
@@ -162,6 +190,7 @@ public class ReturnServiceImpl implements ReturnService {
         params.put("manager", request.getManager());
         params.put("rejectRea", request.getRejectRea());
         returnMapper.updateReturnStatus(params);
+        counterPushService.publishTransition("return", "v1", "w2", 1);
         log.info("반품 상태 거절(w2) 처리 완료");
 
         // 2. 주문 상세 상태 t1(주문접수)로 복구
@@ -179,9 +208,12 @@ public class ReturnServiceImpl implements ReturnService {
 
     @Transactional
     public void updateOrderMasterStatus(String ordCd) {
-        int totalDetails = returnMapper.getOrderDetailCount(ordCd);
-        int returnCompletedCount = returnMapper.getOrderDetailStatusCount(ordCd, "t5");
-        int pendingReturnCount = returnMapper.getOrderDetailStatusCount(ordCd, "t4");
+        String beforeStatus = returnMapper.getOrderStatusCustomer(ordCd);
+        // 트랜잭션 안에서 방금 바꾼 상세 상태를 봐야 하므로 병렬 대신 한 번의 집계 조회
+        OrderDetailStatusCountVO counts = returnMapper.getOrderDetailStatusCounts(ordCd);
+        int totalDetails = counts.getTotalCount();
+        int returnCompletedCount = counts.getReturnedCount();
+        int pendingReturnCount = counts.getPendingCount();
 
         log.info("=== 상태 점검 ===");
         log.info("ordCd: {}", ordCd);
@@ -210,7 +242,9 @@ public class ReturnServiceImpl implements ReturnService {
             log.info("모든 반품 거절 → 주문 마스터 상태 s3(출고완료)로 복구");
         }
 
-        returnMapper.updateOrderStatusCustomer(updateParams);
+        if (returnMapper.updateOrderStatusCustomer(updateParams) > 0) {
+            counterPushService.publishTransition("order", beforeStatus, updateParams.get("status"), 1);
+        }
     }
 
     @Override
@@ -222,7 +256,8 @@ public class ReturnServiceImpl implements ReturnService {
             log.info("주문상세 상태 복구 → t3 (ord_d_cd: {})", ordDCd);
 
             // 2. prod_return 상태를 반품요청취소(v2)로 변경
-            returnMapper.updateProdReturnStatusToV2(ordDCd);
+            int cancelled = returnMapper.updateProdReturnStatusToV2(ordDCd);
+            counterPushService.publishTransition("return", "v1", "v2", cancelled);
             log.info("prod_return 상태 변경 → v2 (ord_d_cd: {})", ordDCd);
         }
 
@@ -15,7 +15,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.kimbap.kbs.common.service.KeysetPage;
+import com.kimbap.kbs.common.util.JsonStreamUtil;
+import com.kimbap.kbs.order.service.OrderIntakeResultVO;
+import com.kimbap.kbs.order.service.OrderIntakeService;
 import com.kimbap.kbs.order.service.OrderService;
 import com.kimbap.kbs.order.service.OrderVO;
 
@@ -28,7 +33,12 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/api/order")
 @RequiredArgsConstructor
 public class OrderController {
+  // 대량 접수 한 번에 받는 주문 수 상한
+  static final int MAX_BULK_ORDERS = 2_000;
+
   private final OrderService orderService;
+  private final OrderIntakeService orderIntakeService;
+  private final JsonStreamUtil jsonStreamUtil;
 
   // 주문 등록
   @PostMapping("/register")
@@ -51,6 +61,19 @@ public class OrderController {
       }
   }
 
+  // 대량 주문 접수 (주문마다 idemKey 필수, 같은 키로 재시도하면 기존 주문코드를 DUPLICATE 로 돌려줌)
+  // 응답은 주문별 결과의 JSON 배열이며, 묶음이 커밋될 때마다 바로 내려간다
+  @PostMapping("/bulk")
+  public ResponseEntity<?> intakeOrders(@RequestBody List<OrderVO> orders) {
+      if (orders == null || orders.isEmpty() || orders.size() > MAX_BULK_ORDERS) {
+          return ResponseEntity.badRequest().body(Map.of(
+              "result_code", "FAIL",
+              "message", "주문은 1건 이상 " + MAX_BULK_ORDERS + "건 이하로 보내야 합니다."
+          ));
+      }
+      return jsonStreamUtil.<OrderIntakeResultVO>array(consumer -> orderIntakeService.intake(orders, consumer));
+  }
+
   // 주문 삭제 (비활성화)
     @PutMapping("/{ordCd}/deactivate")
     public ResponseEntity<?> deactivateOrder(@PathVariable String ordCd) {
@@ -70,64 +93,10 @@ public class OrderController {
 
     // 주문 목록 조회
     @GetMapping("/list")
-    public Map<String, Object> getOrderList(
-        @RequestParam(required = false) String id,
-        @RequestParam(required = false) String memType,
-        @RequestParam(required = false) String ordCd,
-        @RequestParam(required = false) String ordDtStart,
-        @RequestParam(required = false) String ordDtEnd,
-        @RequestParam(required = false) String deliReqDtStart,
-        @RequestParam(required = false) String deliReqDtEnd,
-        @RequestParam(required = false) String cpName,
-        @RequestParam(required = false) String ordStatus,
-        @RequestParam(required = false) String cpCd,
-        @RequestParam(required = false) String prodName
-    ) {
+    public Map<String, Object> getOrderList(@RequestParam Map<String, String> paramMap) {
         Map<String, Object> response = new HashMap<>();
         try {
-            Map<String, Object> params = new HashMap<>();
-
-            // 매출업체면 프론트에서 전달된 cpCd 대신 서버에 저장된 cpCd를 사용해야 안전
-            if ("p2".equals(memType)) {
-                // 예: 로그인 사용자 정보에서 cpCd를 꺼내는 게 더 안전
-                params.put("cpCd", cpCd);  // ← 일단 유지하지만 보안상 개선 대상
-            }
-            log.info("memType: {}, cpCd: {}", memType, cpCd);
-
-            // 검색 조건 추가
-            if (ordCd != null && !ordCd.isEmpty()) {
-                params.put("ordCd", ordCd);
-            }
-            if (cpName != null && !cpName.isEmpty()) {
-                params.put("cpName", cpName);
-            }
-            if (ordStatus != null && !ordStatus.isEmpty()) {
-                if ("p2".equals(memType)) {
-                    params.put("ordStatusCustomer", ordStatus); // 매출업체
-                } else {
-                    params.put("ordStatusInternal", ordStatus); // 내부직원
-                }
-            }
-            if (prodName != null && !prodName.isEmpty()) {
-                params.put("prodName", prodName);
-            }
-
-
-            // 날짜 범위 분리
-            if (ordDtStart != null && !ordDtStart.isEmpty()) {
-                params.put("ordDtStart", ordDtStart);
-            }
-            if (ordDtEnd != null && !ordDtEnd.isEmpty()) {
-                params.put("ordDtEnd", ordDtEnd);
-            }
-            if (deliReqDtStart != null && !deliReqDtStart.isEmpty()) {
-                params.put("deliReqDtStart", deliReqDtStart);
-            }
-            if (deliReqDtEnd != null && !deliReqDtEnd.isEmpty()) {
-                params.put("deliReqDtEnd", deliReqDtEnd);
-            }
-
-            List<OrderVO> list = orderService.getOrderList(params);
+            List<OrderVO> list = orderService.getOrderList(orderListParams(paramMap));
 
             response.put("result_code", "SUCCESS");
             response.put("message", "주문 목록 조회 성공");
@@ -139,6 +108,60 @@ public class OrderController {
         }
         return response;
     }
+
+    // 주문 목록 페이지 조회 (cursor 는 이전 응답의 nextCursor, size 최대 500)
+    @GetMapping("/list/page")
+    public KeysetPage<OrderVO> getOrderPage(@RequestParam Map<String, String> paramMap,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size
+    ) {
+        return orderService.getOrderPage(orderListParams(paramMap), cursor, size);
+    }
+
+    // 주문 목록 전체 스트리밍 (JSON 배열)
+    @GetMapping("/list/stream")
+    public ResponseEntity<StreamingResponseBody> streamOrderList(@RequestParam Map<String, String> paramMap) {
+        Map<String, Object> params = orderListParams(paramMap);
+        return jsonStreamUtil.<OrderVO>array(consumer -> orderService.streamOrderList(params, consumer));
+    }
+
+    // 주문 목록 검색 조건 (id, memType, ordCd, cpName, ordStatus, cpCd, prodName, 주문일자/납기요청일자 범위)
+    private Map<String, Object> orderListParams(Map<String, String> paramMap) {
+        Map<String, Object> params = new HashMap<>();
+        String memType = paramMap.get("memType");
+        String cpCd = paramMap.get("cpCd");
+
+        // 매출업체면 프론트에서 전달된 cpCd 대신 서버에 저장된 cpCd를 사용해야 안전
+        if ("p2".equals(memType)) {
+            // 예: 로그인 사용자 정보에서 cpCd를 꺼내는 게 더 안전
+            params.put("cpCd", cpCd);  // ← 일단 유지하지만 보안상 개선 대상
+        }
+        log.info("memType: {}, cpCd: {}", memType, cpCd);
+
+        // 검색 조건 추가
+        putIfPresent(params, "ordCd", paramMap.get("ordCd"));
+        putIfPresent(params, "cpName", paramMap.get("cpName"));
+        String ordStatus = paramMap.get("ordStatus");
+        if ("p2".equals(memType)) {
+            putIfPresent(params, "ordStatusCustomer", ordStatus); // 매출업체
+        } else {
+            putIfPresent(params, "ordStatusInternal", ordStatus); // 내부직원
+        }
+        putIfPresent(params, "prodName", paramMap.get("prodName"));
+
+        // 날짜 범위 분리
+        putIfPresent(params, "ordDtStart", paramMap.get("ordDtStart"));
+        putIfPresent(params, "ordDtEnd", paramMap.get("ordDtEnd"));
+        putIfPresent(params, "deliReqDtStart", paramMap.get("deliReqDtStart"));
+        putIfPresent(params, "deliReqDtEnd", paramMap.get("deliReqDtEnd"));
+        return params;
+    }
+
+    private static void putIfPresent(Map<String, Object> params, String key, String value) {
+        if (value != null && !value.isEmpty()) {
+            params.put(key, value);
+        }
+    }
     
 
     // 주문 상세 조회 (주문코드로 단건 조회)
@@ -15,7 +15,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.kimbap.kbs.common.service.KeysetPage;
+import com.kimbap.kbs.common.util.JsonStreamUtil;
 import com.kimbap.kbs.order.service.ReturnItemVO;
 import com.kimbap.kbs.order.service.ReturnRequestVO;
 import com.kimbap.kbs.order.service.ReturnService;
@@ -31,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ReturnController {
 
     private final ReturnService returnService;
+    private final JsonStreamUtil jsonStreamUtil;
 
     // 반품 등록
     @PostMapping("/register")
@@ -76,13 +80,7 @@ public class ReturnController {
     // 반품 목록 조회
     @GetMapping("/list")
     public ResponseEntity<Map<String, Object>> getReturnList(@RequestParam Map<String, String> paramMap) {
-        Map<String, Object> params = new HashMap<>();
-
-        params.put("cpName", paramMap.getOrDefault("cpName", ""));
-        params.put("prodName", paramMap.getOrDefault("prodName", ""));
-        params.put("returnStatusInternal", paramMap.getOrDefault("returnStatusInternal", ""));
-        params.put("startDate", paramMap.getOrDefault("startDate", ""));
-        params.put("endDate", paramMap.getOrDefault("endDate", ""));
+        Map<String, Object> params = returnListParams(paramMap);
 
         log.info("검색 파라미터: {}", params);
 
@@ -102,6 +100,32 @@ public class ReturnController {
         }
     }
 
+    // 반품 목록 페이지 조회 (cursor 는 이전 응답의 nextCursor, size 최대 500)
+    @GetMapping("/list/page")
+    public KeysetPage<ReturnItemVO> getReturnPage(@RequestParam Map<String, String> paramMap,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return returnService.getReturnPage(returnListParams(paramMap), cursor, size);
+    }
+
+    // 반품 목록 전체 스트리밍 (JSON 배열)
+    @GetMapping("/list/stream")
+    public ResponseEntity<StreamingResponseBody> streamReturnList(@RequestParam Map<String, String> paramMap) {
+        Map<String, Object> params = returnListParams(paramMap);
+        return jsonStreamUtil.<ReturnItemVO>array(consumer -> returnService.streamReturnList(params, consumer));
+    }
+
+    // 반품 목록 검색 조건
+    private Map<String, Object> returnListParams(Map<String, String> paramMap) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("cpName", paramMap.getOrDefault("cpName", ""));
+        params.put("prodName", paramMap.getOrDefault("prodName", ""));
+        params.put("returnStatusInternal", paramMap.getOrDefault("returnStatusInternal", ""));
+        params.put("startDate", paramMap.getOrDefault("startDate", ""));
+        params.put("endDate", paramMap.getOrDefault("endDate", ""));
+        return params;
+    }
+
 
     // 반품 승인 처리 (다중)
     @PutMapping("/approve")
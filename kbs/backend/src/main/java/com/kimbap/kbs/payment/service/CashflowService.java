@@ -2,10 +2,15 @@ package com.kimbap.kbs.payment.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+
+import com.kimbap.kbs.common.service.KeysetPage;
 
 
 public interface CashflowService {
     List<CashflowVO> getCashflowList(Map<String, Object> params); // 입출금 내역 조회
+    KeysetPage<CashflowVO> getCashflowPage(Map<String, Object> params, String cursor, Integer size); // 입출금 내역 페이지 조회
+    void streamCashflowList(Map<String, Object> params, Consumer<CashflowVO> consumer); // 입출금 내역 전체를 한 행씩 전달
     void insertCf(CashflowVO cf); // 입출금 내역 등록
     void updateCf(CashflowVO cf); // 입출금 내역 수정
     Map<String, Object> getCfDetail(String statementCd); // 입출금 내역 단건 조회
@@ -3,11 +3,16 @@ package com.kimbap.kbs.payment.serviceimpl;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.service.KeysetPage;
+import com.kimbap.kbs.common.util.KeysetPaging;
 import com.kimbap.kbs.payment.mapper.CashflowMapper;
 import com.kimbap.kbs.payment.service.CashflowService;
 import com.kimbap.kbs.payment.service.CashflowVO;
@@ -18,11 +23,29 @@ public class CashflowServiceImpl implements CashflowService{
     @Autowired
     private CashflowMapper cashflowMapper;
 
+    @Autowired
+    private KeyGeneratorService keyGeneratorService;
+
     // 입출금 내역 목록 조회
     @Override
     public List<CashflowVO> getCashflowList(Map<String, Object> params) {
         return cashflowMapper.getCashflowList(params);  // 👈 Mapper로 그대로 전달
     }
+
+    // 입출금 내역 페이지 조회 (입출금내역코드 순)
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<CashflowVO> getCashflowPage(Map<String, Object> params, String cursor, Integer size) {
+        Map<String, Object> query = KeysetPaging.apply(new HashMap<>(params), cursor, size);
+        return KeysetPaging.toPage(cashflowMapper.getCashflowPage(query), query, CashflowVO::getStatementCd);
+    }
+
+    // 입출금 내역 스트리밍
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCashflowList(Map<String, Object> params, Consumer<CashflowVO> consumer) {
+        cashflowMapper.streamCashflowList(params, context -> consumer.accept(context.getResultObject()));
+    }
     
     // 입금 내역 목록 조회
     @Override
@@ -37,24 +60,18 @@ public class CashflowServiceImpl implements CashflowService{
         String statementCd;
         String transType = cf.getTransType(); // u1: 입금, u2: 출금
 
-        int next;
-
+        // 999 를 넘으면 자릿수가 늘어남 (IN-999 → IN-1000)
         if ("u1".equalsIgnoreCase(transType)) {
-            next = cashflowMapper.getNextInCashflowCode(); // 입금 시퀀스 사용
-            if (next > 999) throw new RuntimeException("IN 코드 범위 초과 (IN-001 ~ IN-999)");
-            statementCd = String.format("IN-%03d", next);
+            statementCd = keyGeneratorService.nextKey(KeyFormats.CASH_IN);
 
         } else if ("u2".equalsIgnoreCase(transType)) {
-            next = cashflowMapper.getNextOutCashflowCode(); // 출금 시퀀스 사용
-            if (next > 999) throw new RuntimeException("OUT 코드 범위 초과 (OUT-001 ~ OUT-999)");
-            statementCd = String.format("OUT-%03d", next);
+            statementCd = keyGeneratorService.nextKey(KeyFormats.CASH_OUT);
 
         } else {
             throw new RuntimeException("알 수 없는 거래유형: " + transType);
         }
 
-        System.out.println("생성된 statementCd : " + statementCd);
-
+        // 발번 블록은 최초 예약 때만 기존 최대 코드에서 시작하므로, 그 뒤 DB 에 직접 넣은 코드와 겹치는지 확인
         if (cashflowMapper.existsCfcode(statementCd) > 0) {
             throw new RuntimeException("이미 존재하는 입출금 내역 코드: " + statementCd);
         }
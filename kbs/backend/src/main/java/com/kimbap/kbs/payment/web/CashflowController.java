@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,7 +14,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.kimbap.kbs.common.service.KeysetPage;
+import com.kimbap.kbs.common.util.ExportColumn;
+import com.kimbap.kbs.common.util.ExportFormat;
+import com.kimbap.kbs.common.util.ExportUtil;
+import com.kimbap.kbs.common.util.JsonStreamUtil;
 import com.kimbap.kbs.payment.service.CashflowService;
 import com.kimbap.kbs.payment.service.CashflowVO;
 
@@ -28,12 +35,59 @@ public class CashflowController {
     @Autowired
     private CashflowService cashflowService;
 
+    @Autowired
+    private JsonStreamUtil jsonStreamUtil;
+
+    @Autowired
+    private ExportUtil exportUtil;
+
     // 입출금 내역 목록 조회
     @GetMapping("/list")
     public List<CashflowVO> getCashflows(@RequestParam Map<String, Object> params) {
         return cashflowService.getCashflowList(params);
     }
 
+    // 입출금 내역 페이지 조회 (cursor 는 이전 응답의 nextCursor, size 최대 500)
+    @GetMapping("/list/page")
+    public KeysetPage<CashflowVO> getCashflowPage(@RequestParam Map<String, Object> params,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return cashflowService.getCashflowPage(params, cursor, size);
+    }
+
+    // 입출금 내역 전체 스트리밍 (JSON 배열)
+    @GetMapping("/list/stream")
+    public ResponseEntity<StreamingResponseBody> streamCashflows(@RequestParam Map<String, Object> params) {
+        return jsonStreamUtil.<CashflowVO>array(consumer -> cashflowService.streamCashflowList(params, consumer));
+    }
+
+    // 입출금 내역 파일 내보내기 (format: xlsx 기본 / csv)
+    @GetMapping("/list/export")
+    public ResponseEntity<StreamingResponseBody> exportCashflows(@RequestParam Map<String, Object> params,
+            @RequestParam(required = false) String format) {
+        return exportUtil.export("입출금내역", ExportFormat.from(format), CASHFLOW_COLUMNS,
+                consumer -> cashflowService.streamCashflowList(params, consumer));
+    }
+
+    private static final List<ExportColumn<CashflowVO>> CASHFLOW_COLUMNS = List.of(
+            ExportColumn.of("입출금내역코드", CashflowVO::getStatementCd),
+            ExportColumn.of("거래유형", cf -> codeText(cf.getTransType(), "u1", "입금", "u2", "출금")),
+            ExportColumn.of("입금자명", CashflowVO::getDepo),
+            ExportColumn.of("금액", CashflowVO::getDepositAmount),
+            ExportColumn.of("은행명", CashflowVO::getBankName),
+            ExportColumn.of("정산상태", cf -> codeText(cf.getCalStatus(), "x1", "미정산", "x2", "정산 완료")),
+            ExportColumn.of("등록자", CashflowVO::getRegi),
+            ExportColumn.of("등록일자", CashflowVO::getRegDt),
+            ExportColumn.of("비고", CashflowVO::getNote));
+
+    // 코드 → 화면 표시명 (u1: 입금 / u2: 출금, x1: 미정산 / x2: 정산 완료)
+    private static String codeText(String code, String code1, String text1, String code2, String text2) {
+        if (code1.equals(code)) {
+            return text1;
+        }
+        return code2.equals(code) ? text2 : code;
+    }
+
     // 입금 내역 조회
     @GetMapping("/income")
     public List<CashflowVO> getOnlyIncome() {
@@ -0,0 +1,11 @@
+package com.kimbap.kbs.production.mapper;
+
+import java.util.List;
+
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.BomVO;
+
+public interface BomMapper {
+    // 상위 품목 목록의 한 단계 BOM 구성 일괄 조회 (pcode/prodVerCd 에 상위 품목, subAssembly 에 반제품 여부)
+    List<BomDetailVO> selectBomComponents(List<BomVO> list);
+}
@@ -6,9 +6,7 @@ import java.util.List;
 
 import org.apache.ibatis.annotations.Param;
 
-import com.kimbap.kbs.production.service.BomDetailVO;
 import com.kimbap.kbs.production.service.MateSupplierVO;
-import com.kimbap.kbs.production.service.MaterVO;
 import com.kimbap.kbs.production.service.MrpDetailVO;
 import com.kimbap.kbs.production.service.MrpVO;
 import com.kimbap.kbs.production.service.ProdPlanDetailVO;
@@ -41,22 +39,15 @@ public interface ProdPlanMapper {
     // MRP 기능 =========================================
     String getNewMrpCd();                                                // MRP PK코드 생성
     void insertMrp(MrpVO vo);                                            // MRP 등록
-    void insertMrpDetail(MrpDetailVO vo);                                // MRP 상세 등록
-    List<BomDetailVO> selectBomMaterials(                                // 제품별 필요 자재 조회
-        @Param("pcode") String pcode,
-        @Param("prodVerCd") String prodVerCd
-    );
-    BigDecimal selectTotalStockByMate(                                   // 필요한 자재수량 조회
-        @Param("mcode") String mcode,
-        @Param("mateVerCd") String mateVerCd
+    void insertMrpDetails(List<MrpDetailVO> list);                       // MRP 상세 일괄 등록
+    List<MrpDetailVO> selectTotalStockByMates(                           // 자재 목록의 현재고 일괄 조회
+        List<MrpDetailVO> list
     );
 
     // 발주서 자동 등록 기능 ==============================
     // 발주서 관련 메소드
-    String getNewPurcCd();                                              // 발주서 PK 생성
-    String getNewPurcDCd();                                             // 발주서상세 PK 생성
     void insertPurchaseOrder(PurcOrdVO vo);                             // 발주서 등록
-    void insertPurchaseOrderDetail(PurcOrdDetailVO vo);                 // 발주서상세 등록
+    void insertPurchaseOrderDetails(List<PurcOrdDetailVO> list);        // 발주서상세 일괄 등록
     void updatePurchaseOrderTotalAmount(                                // 발주서 총액 업데이트
         @Param("purcCd") String purcCd, 
         @Param("totalAmount") BigDecimal totalAmount
@@ -64,13 +55,8 @@ public interface ProdPlanMapper {
     
     // MRP 기반 발주서 생성용 조회 메소드
     List<MrpDetailVO> selectMrpDetailsByMrpCd(String mrpCd);            // MRP 상세 조회
-    MateSupplierVO selectBestSupplierByMaterial(                        // 최저가 공급업체 조회
-        @Param("mcode") String mcode, 
-        @Param("mateVerCd") String mateVerCd
-    );
-    MaterVO selectMaterialInfo(                                         // 자재 기본정보 조회
-        @Param("mcode") String mcode, 
-        @Param("mateVerCd") String mateVerCd
+    List<MateSupplierVO> selectBestSuppliersByMates(                    // 자재 목록의 최저가 공급업체 + 최소발주단위 일괄 조회
+        List<MrpDetailVO> list
     );
     // 생산계획코드로 최신 MRP 코드 조회 (필요 시 사용)
     String selectLatestMrpCdByProdPlan(String produPlanCd);
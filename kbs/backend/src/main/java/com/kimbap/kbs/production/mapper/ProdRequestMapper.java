@@ -1,6 +1,5 @@
 package com.kimbap.kbs.production.mapper;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Param;
@@ -34,21 +33,15 @@ public interface ProdRequestMapper {
     void deleteProductionReq(String produReqCd);                                // 생산계획 삭제
 
     // 생산 요청 시 자동 자재출고, 제품입고 기능 =========
-    // BOM 자재 목록 조회
-    List<BomDetailVO> selectBomMaterials(@Param("pcode") String pcode, @Param("prodVerCd") String prodVerCd);
-    // 사용 가능한 자재재고 조회
-    List<WaStockVO> selectAvailableStocks(@Param("mcode") String mcode, @Param("mateVerCd") String mateVerCd);
-    // 재고 차감
-    int decreaseWareStock(@Param("wslcode") String wslcode, @Param("delta") BigDecimal delta);
-    BigDecimal selectQtyByWslcode(String wslcode);
-
-    String getNewMateRelCd();                   // 자재 출고 코드 생성
-    void insertMateRel(MateReleaseVO vo);       // 자재 출고 테이블 입력
+    // 자재 목록의 출고 가능 재고 일괄 조회 + 잠금 (자재별 LOT 오름차순)
+    List<WaStockVO> selectAvailableStocksByMates(List<BomDetailVO> list);
+    // 재고 일괄 차감 (qty = 차감수량, 재고 부족 행은 제외) - 차감된 행 수 반환
+    int decreaseWareStocks(List<WaStockVO> list);
+
+    void insertMateRels(List<MateReleaseVO> list); // 자재 출고 테이블 일괄 입력
     String getNewProdInboCd();                  // 제품 입고 코드 생성
     // String getNewLotNo300();                 // 제품 입고 LOT 생성
     void insertProdInbo(ProdInboundVO vo);      // 제품 입고 테이블 입력
-    int selectTodayProdInboSeq();               // 제품 입고 코드 가장 최근 값 가져오기
-    int getMaxLotSequenceForToday(String today);// 제품 입고 LOT 오늘날짜 MAX값 가져오기
     // 생산요청 상태 업데이트
     void updateProductionReqStatus(@Param("produReqCd") String produReqCd, 
                                   @Param("status") String status);
@@ -23,4 +23,7 @@ public class BomDetailVO {
 
   // JOIN
   private String mateName;    // 자재명
+  private String pcode;       // 제품코드 (MRP 일괄 조회용)
+  private String prodVerCd;   // 제품버전 (MRP 일괄 조회용)
+  private Boolean subAssembly; // 반제품 여부 (하위 BOM 존재)
 }
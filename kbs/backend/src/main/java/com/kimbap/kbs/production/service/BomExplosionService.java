@@ -0,0 +1,18 @@
+package com.kimbap.kbs.production.service;
+
+import java.util.List;
+
+public interface BomExplosionService {
+
+  // 제품 1개당 필요한 최하위 자재 목록 (다단계 BOM 전개 결과, 읽기 전용)
+  List<BomDetailVO> getUnitMaterials(String pcode, String prodVerCd);
+
+  // 여러 제품 일괄 전개 - 결과는 products 순서와 같다
+  List<List<BomDetailVO>> getUnitMaterials(List<BomVO> products);
+
+  // 제품(모든 버전)과 그 제품을 반제품으로 쓰는 상위 제품의 전개 결과 무효화
+  void evictProduct(String pcode);
+
+  // 전체 무효화 (자재 버전 변경 등)
+  void evictAll();
+}
@@ -19,6 +19,7 @@ public class MateReleaseVO {
   private String mcode;           // 자재마스터코드
   private String mateVerCd;       // 자재버전코드
   private String wslcode;         // 창고재고목록코드
+  private String wareAreaCd;      // 창고구역코드 (출고 위치, mate_rel 에는 저장 안 함)
   private String lotNo;           // Lot 번호
   private BigDecimal relQty;      // 출고수량
   private String unit;            // 단위
@@ -19,4 +19,6 @@ public class MateSupplierVO {
   private BigDecimal unitPrice;   // 단가
   private Integer ltime;          // 리드타임
   private String cpName;          // 업체명 (조인으로 가져올 예정)
+  private String mateName;        // 자재명 (MRP 일괄 조회용)
+  private BigDecimal moqty;       // 최소발주단위 (MRP 일괄 조회용)
 }
@@ -15,6 +15,8 @@ public interface ProdLoadingService {
   List<ProdInboundVO> getSameProductAreas(String pcode, String fcode, String excludeAreaCd);
   // 제품 단건 적재 처리
   String processProdLoading(ProdInboundVO prodLoading);
+  // 일괄 적재 계획 (구역 미지정 라인 자동 배정, 구역별로 나눈 적재 라인)
+  List<ProdInboundVO> planProdLoading(List<ProdInboundVO> prodLoadingList);
   // 제품 다중 적재 처리
   String processProdLoadingBatch(List<ProdInboundVO> prodLoadingList);  
   // 창고재고목록코드 생성
@@ -27,4 +27,6 @@ public class WaStockVO {
   private String unit;          // 단위
 
   private String lotNo;         // 자재입고 LOT번호(JOIN)
+  private String mcode;         // 자재코드(JOIN)
+  private String mateVerCd;     // 자재버전(JOIN)
 }
@@ -0,0 +1,245 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import com.kimbap.kbs.common.exception.BomCycleException;
+import com.kimbap.kbs.common.util.TxUtil;
+import com.kimbap.kbs.production.mapper.BomMapper;
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.BomExplosionService;
+import com.kimbap.kbs.production.service.BomVO;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다단계 BOM 전개 서비스 (MRP, 생산요청 자재출고 공용)
+ *
+ * - 구성 자재 중 자체 BOM 이 있는 품목(반제품)은 하위 BOM 까지 펼쳐 최하위 자재 소요량으로 합산한다.
+ * - 트리는 단계별로 한 번씩 IN 조회로 읽고, (pcode, prodVerCd)별 전개 결과를 캐시한다.
+ *   반제품의 전개 결과도 함께 캐시되므로 여러 제품이 같은 반제품을 쓰면 한 번만 전개한다.
+ * - 순환 참조가 있으면 BomCycleException.
+ * - 제품 버전/BOM 이 바뀌면 evictProduct 로 해당 제품과 그 제품을 포함하는 상위 제품의 결과를 버린다.
+ *   무효화는 저장 트랜잭션이 커밋된 뒤에 한다 - 커밋 전에 버리면 동시 전개가 커밋 전 BOM 으로 다시 채운다.
+ * - 캐시된 자재 행은 호출자에게 복사본으로 넘긴다 (호출자가 소요량 등을 바꿔도 캐시는 그대로).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BomExplosionServiceImpl implements BomExplosionService {
+
+  // IN 목록 한 번에 보낼 최대 건수
+  static final int CHUNK_SIZE = 500;
+
+  private final BomMapper bomMapper;
+
+  // 품목키(pcode|prodVerCd) → 전개 결과
+  private final ConcurrentMap<String, Explosion> cache = new ConcurrentHashMap<>();
+  // pcode → 그 제품이 포함된 전개 결과의 품목키 (자기 자신 포함)
+  private final ConcurrentMap<String, Set<String>> dependents = new ConcurrentHashMap<>();
+  // 무효화 세대 - 전개 중에 무효화가 일어나면 그 결과는 캐시하지 않는다
+  private final AtomicLong generation = new AtomicLong();
+
+  @Override
+  public List<BomDetailVO> getUnitMaterials(String pcode, String prodVerCd) {
+    return getUnitMaterials(List.of(BomVO.builder().pcode(pcode).prodVerCd(prodVerCd).build())).get(0);
+  }
+
+  @Override
+  public List<List<BomDetailVO>> getUnitMaterials(List<BomVO> products) {
+    Map<String, Explosion> resolved = new HashMap<>();
+    List<BomVO> missing = new ArrayList<>();
+    for (BomVO product : products) {
+      String key = key(product.getPcode(), product.getProdVerCd());
+      Explosion cached = cache.get(key);
+      if (cached != null) {
+        resolved.put(key, cached);
+      } else if (!resolved.containsKey(key)) {
+        resolved.put(key, null);
+        missing.add(product);
+      }
+    }
+    if (!missing.isEmpty()) {
+      resolved.putAll(explode(missing));
+    }
+
+    List<List<BomDetailVO>> result = new ArrayList<>(products.size());
+    for (BomVO product : products) {
+      result.add(copyOf(resolved.get(key(product.getPcode(), product.getProdVerCd())).materials));
+    }
+    return result;
+  }
+
+  @Override
+  public void evictProduct(String pcode) {
+    TxUtil.afterCommit(() -> {
+      generation.incrementAndGet();
+      Set<String> keys = dependents.remove(pcode);
+      if (keys != null) {
+        keys.forEach(cache::remove);
+      }
+    });
+  }
+
+  @Override
+  public void evictAll() {
+    TxUtil.afterCommit(() -> {
+      generation.incrementAndGet();
+      cache.clear();
+      dependents.clear();
+    });
+  }
+
+  // 캐시에 없는 제품들의 BOM 트리를 단계별로 읽어 전개
+  private Map<String, Explosion> explode(List<BomVO> roots) {
+    long startGeneration = generation.get();
+    Map<String, List<BomDetailVO>> children = new HashMap<>();
+    Map<String, Explosion> memo = new HashMap<>();
+
+    List<BomVO> level = roots;
+    int depth = 0;
+    while (!level.isEmpty()) {
+      for (BomVO parent : level) {
+        children.put(key(parent.getPcode(), parent.getProdVerCd()), new ArrayList<>());
+      }
+      List<BomVO> next = new ArrayList<>();
+      for (BomDetailVO row : selectInChunks(level)) {
+        children.get(key(row.getPcode(), row.getProdVerCd())).add(row);
+        if (!Boolean.TRUE.equals(row.getSubAssembly())) {
+          continue;
+        }
+        String childKey = key(row.getMcode(), row.getMateVerCd());
+        if (children.containsKey(childKey) || memo.containsKey(childKey)) {
+          continue;
+        }
+        Explosion cached = cache.get(childKey);
+        if (cached != null) {
+          memo.put(childKey, cached);
+        } else {
+          children.put(childKey, new ArrayList<>());
+          next.add(BomVO.builder().pcode(row.getMcode()).prodVerCd(row.getMateVerCd()).build());
+        }
+      }
+      level = next;
+      depth++;
+    }
+
+    Map<String, Explosion> result = new HashMap<>();
+    for (BomVO root : roots) {
+      String key = key(root.getPcode(), root.getProdVerCd());
+      result.put(key, flatten(key, root.getPcode(), children, memo, new LinkedHashSet<>()));
+    }
+
+    if (generation.get() == startGeneration) {
+      memo.forEach((key, explosion) -> {
+        if (cache.putIfAbsent(key, explosion) == null) {
+          for (String pcode : explosion.pcodes) {
+            dependents.computeIfAbsent(pcode, k -> ConcurrentHashMap.newKeySet()).add(key);
+          }
+        }
+      });
+    }
+    log.debug("BOM 전개 - 제품 {}개, 단계 {}, 품목 {}개", roots.size(), depth, children.size());
+    return result;
+  }
+
+  // 품목 1개당 최하위 자재 소요량 (반제품은 하위 전개 결과 x 소요량)
+  private Explosion flatten(String key, String pcode, Map<String, List<BomDetailVO>> children,
+                            Map<String, Explosion> memo, LinkedHashSet<String> path) {
+    Explosion done = memo.get(key);
+    if (done != null) {
+      return done;
+    }
+    if (!path.add(key)) {
+      List<String> cycle = new ArrayList<>(path);
+      cycle.add(key);
+      throw new BomCycleException("BOM 순환 참조: " + String.join(" → ", cycle));
+    }
+
+    Map<String, BomDetailVO> materials = new LinkedHashMap<>();
+    Set<String> pcodes = new HashSet<>();
+    pcodes.add(pcode);
+    for (BomDetailVO child : children.getOrDefault(key, List.of())) {
+      if (Boolean.TRUE.equals(child.getSubAssembly())) {
+        Explosion sub = flatten(key(child.getMcode(), child.getMateVerCd()), child.getMcode(),
+            children, memo, path);
+        for (BomDetailVO leaf : sub.materials) {
+          add(materials, leaf, leaf.getNeedQty().multiply(child.getNeedQty()));
+        }
+        pcodes.addAll(sub.pcodes);
+      } else {
+        add(materials, child, child.getNeedQty());
+      }
+    }
+    path.remove(key);
+
+    Explosion explosion = new Explosion(List.copyOf(materials.values()), Set.copyOf(pcodes));
+    memo.put(key, explosion);
+    return explosion;
+  }
+
+  private static void add(Map<String, BomDetailVO> materials, BomDetailVO material, BigDecimal needQty) {
+    BomDetailVO acc = materials.get(key(material.getMcode(), material.getMateVerCd()));
+    if (acc != null) {
+      acc.setNeedQty(acc.getNeedQty().add(needQty));
+      return;
+    }
+    materials.put(key(material.getMcode(), material.getMateVerCd()), BomDetailVO.builder()
+        .mcode(material.getMcode())
+        .mateVerCd(material.getMateVerCd())
+        .mateName(material.getMateName())
+        .unit(material.getUnit())
+        .needQty(needQty)
+        .build());
+  }
+
+  private static List<BomDetailVO> copyOf(List<BomDetailVO> materials) {
+    List<BomDetailVO> copy = new ArrayList<>(materials.size());
+    for (BomDetailVO material : materials) {
+      copy.add(BomDetailVO.builder()
+          .mcode(material.getMcode())
+          .mateVerCd(material.getMateVerCd())
+          .mateName(material.getMateName())
+          .unit(material.getUnit())
+          .needQty(material.getNeedQty())
+          .build());
+    }
+    return copy;
+  }
+
+  private List<BomDetailVO> selectInChunks(List<BomVO> parents) {
+    List<BomDetailVO> rows = new ArrayList<>();
+    for (int from = 0; from < parents.size(); from += CHUNK_SIZE) {
+      rows.addAll(bomMapper.selectBomComponents(parents.subList(from, Math.min(from + CHUNK_SIZE, parents.size()))));
+    }
+    return rows;
+  }
+
+  private static String key(String code, String verCd) {
+    return code + "|" + verCd;
+  }
+
+  // 전개 결과 (최하위 자재 목록 + 포함된 제품코드)
+  private static final class Explosion {
+    private final List<BomDetailVO> materials;
+    private final Set<String> pcodes;
+
+    private Explosion(List<BomDetailVO> materials, Set<String> pcodes) {
+      this.materials = materials;
+      this.pcodes = pcodes;
+    }
+  }
+}
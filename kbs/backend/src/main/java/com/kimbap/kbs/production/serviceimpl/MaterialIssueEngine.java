@@ -0,0 +1,197 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+
+import com.kimbap.kbs.common.exception.InsufficientStockException;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.production.mapper.ProdRequestMapper;
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.BomExplosionService;
+import com.kimbap.kbs.production.service.BomVO;
+import com.kimbap.kbs.production.service.MateReleaseVO;
+import com.kimbap.kbs.production.service.ProdRequestDetailVO;
+import com.kimbap.kbs.production.service.WaStockVO;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 생산요청 자재 출고 계산기 (FIFO)
+ *
+ * - 요청 전체에 필요한 자재의 재고 행을 한 번에 조회하면서 잠근다 (FOR UPDATE NOWAIT).
+ *   ORDER BY 가 있어도 Oracle 은 행 잠금 순서를 보장하지 않으므로, 잠금을 기다리지 않고 바로 실패한 뒤
+ *   잠시 쉬었다가 다시 잠근다. 이 경로는 잠금을 기다리는 일이 없으므로 교착 상대가 되지 않는다.
+ *   자재 묶음(CHUNK_SIZE)은 자재코드/버전 순으로 잠가서 묶음끼리 서로 물고 도는 재시도도 막는다.
+ * - 잠근 수량으로 라인별/자재별 LOT 분할을 메모리에서 계산하고, 부족하면 아무것도 쓰지 않고 예외.
+ *   소수 소요량도 남은 수량 그대로 뺀다 (올림하지 않음 - 필요량보다 많이 출고하지 않는다).
+ * - 재고 차감(MERGE)과 출고 이력(INSERT ALL)은 묶어서 처리한다.
+ * - 같은 자재 버전은 소비기한이 같으므로 입고일 순(LOT 순) 출고가 곧 소비기한 순 출고다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MaterialIssueEngine {
+
+  // IN 목록 / 일괄 처리 한 번에 보낼 최대 건수
+  static final int CHUNK_SIZE = 500;
+  // 잠금 실패(NOWAIT) 시 재시도하는 총 시간, 첫 대기 시간 (매번 두 배, 최대 LOCK_RETRY_MAX_MILLIS)
+  static final long LOCK_WAIT_MILLIS = 5_000;
+  static final long LOCK_RETRY_MILLIS = 5;
+  static final long LOCK_RETRY_MAX_MILLIS = 100;
+
+  private final ProdRequestMapper mapper;
+  private final BomExplosionService bomExplosionService;
+  private final KeyGeneratorService keyGeneratorService;
+
+  /**
+   * 생산요청 상세 라인별 BOM 자재를 출고한다.
+   * @return 등록된 자재출고 이력
+   */
+  public List<MateReleaseVO> issue(List<ProdRequestDetailVO> details, String mname) {
+    // 1. 라인별 자재 소요량 (다단계 BOM 전개)
+    List<BomVO> products = new ArrayList<>();
+    for (ProdRequestDetailVO detail : details) {
+      products.add(BomVO.builder().pcode(detail.getPcode()).prodVerCd(detail.getProdVerCd()).build());
+    }
+    List<List<BomDetailVO>> boms = bomExplosionService.getUnitMaterials(products);
+
+    // 2. 출고 대상 자재 재고 일괄 조회 + 잠금
+    Map<String, BomDetailVO> mates = new HashMap<>();
+    for (List<BomDetailVO> bom : boms) {
+      for (BomDetailVO material : bom) {
+        mates.putIfAbsent(key(material.getMcode(), material.getMateVerCd()), material);
+      }
+    }
+    List<BomDetailVO> lockOrder = new ArrayList<>(mates.values());
+    lockOrder.sort(Comparator.comparing(BomDetailVO::getMcode).thenComparing(BomDetailVO::getMateVerCd));
+    Map<String, List<WaStockVO>> stocksByMate = new HashMap<>();
+    for (int from = 0; from < lockOrder.size(); from += CHUNK_SIZE) {
+      List<BomDetailVO> chunk = lockOrder.subList(from, Math.min(from + CHUNK_SIZE, lockOrder.size()));
+      for (WaStockVO stock : lockStocks(chunk)) {
+        stocksByMate.computeIfAbsent(key(stock.getMcode(), stock.getMateVerCd()), k -> new ArrayList<>()).add(stock);
+      }
+    }
+
+    // 3. 라인 순서대로 LOT 오름차순 분할 (잠근 수량 기준)
+    Map<String, Integer> cursorByMate = new HashMap<>();
+    Map<String, BigDecimal> deltaByStock = new LinkedHashMap<>();
+    List<MateReleaseVO> releases = new ArrayList<>();
+    LocalDate today = LocalDate.now();
+    for (int i = 0; i < details.size(); i++) {
+      ProdRequestDetailVO detail = details.get(i);
+      if (detail.getReqQty() == null || detail.getReqQty() <= 0) {
+        continue;
+      }
+      for (BomDetailVO material : boms.get(i)) {
+        String mateKey = key(material.getMcode(), material.getMateVerCd());
+        List<WaStockVO> stocks = stocksByMate.getOrDefault(mateKey, List.of());
+        int cursor = cursorByMate.getOrDefault(mateKey, 0);
+
+        // 총 필요수량 = 요청수량 * 소요량
+        BigDecimal remaining = BigDecimal.valueOf(detail.getReqQty()).multiply(material.getNeedQty());
+        while (remaining.signum() > 0 && cursor < stocks.size()) {
+          WaStockVO stock = stocks.get(cursor);
+          // 이 행에서 뺄 양 = min(행재고, 남은수량)
+          BigDecimal delta = stock.getQty().min(remaining);
+          stock.setQty(stock.getQty().subtract(delta));
+          if (stock.getQty().signum() <= 0) {
+            cursor++;
+          }
+          deltaByStock.merge(stock.getWslcode(), delta, BigDecimal::add);
+          releases.add(release(detail.getProduProdCd(), material, stock, delta, mname, today));
+          remaining = remaining.subtract(delta);
+        }
+        cursorByMate.put(mateKey, cursor);
+
+        if (remaining.signum() > 0) {
+          throw new InsufficientStockException("자재 재고 부족: " + material.getMcode());
+        }
+      }
+    }
+    if (releases.isEmpty()) {
+      return releases;
+    }
+
+    // 4. 재고 일괄 차감 - 잠근 행이므로 전부 차감되어야 한다
+    List<WaStockVO> decrements = new ArrayList<>(deltaByStock.size());
+    deltaByStock.forEach((wslcode, delta) -> decrements.add(WaStockVO.builder().wslcode(wslcode).qty(delta).build()));
+    int updated = 0;
+    for (int from = 0; from < decrements.size(); from += CHUNK_SIZE) {
+      updated += mapper.decreaseWareStocks(decrements.subList(from, Math.min(from + CHUNK_SIZE, decrements.size())));
+    }
+    if (updated != decrements.size()) {
+      throw new InsufficientStockException("자재 재고 차감 실패: " + updated + "/" + decrements.size());
+    }
+
+    // 5. 출고 이력 일괄 등록
+    List<String> mateRelCds = keyGeneratorService.nextKeys(KeyFormats.MATE_REL, releases.size());
+    for (int i = 0; i < releases.size(); i++) {
+      releases.get(i).setMateRelCd(mateRelCds.get(i));
+    }
+    for (int from = 0; from < releases.size(); from += CHUNK_SIZE) {
+      mapper.insertMateRels(releases.subList(from, Math.min(from + CHUNK_SIZE, releases.size())));
+    }
+
+    log.debug("자재 출고 - 라인 {}건, 자재 {}종, 재고행 {}건, 출고 {}건",
+        details.size(), mates.size(), decrements.size(), releases.size());
+    return releases;
+  }
+
+  // 자재 묶음의 재고 행 잠금 - 다른 트랜잭션이 잡고 있으면 기다리지 않고 물러났다가 다시 시도
+  private List<WaStockVO> lockStocks(List<BomDetailVO> chunk) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LOCK_WAIT_MILLIS);
+    long backoff = LOCK_RETRY_MILLIS;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return mapper.selectAvailableStocksByMates(chunk);
+      } catch (CannotAcquireLockException e) {
+        if (System.nanoTime() - deadline > 0) {
+          throw e;
+        }
+        log.debug("자재 재고 잠금 실패 - {}번째 재시도 ({}ms 후)", attempt, backoff);
+        try {
+          Thread.sleep(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+        backoff = Math.min(backoff * 2, LOCK_RETRY_MAX_MILLIS);
+      }
+    }
+  }
+
+  private static MateReleaseVO release(String produProdCd, BomDetailVO material, WaStockVO stock,
+                                       BigDecimal relQty, String mname, LocalDate today) {
+    MateReleaseVO rel = new MateReleaseVO();
+    rel.setProduProdCd(produProdCd);
+    rel.setMcode(material.getMcode());
+    rel.setMateVerCd(material.getMateVerCd());
+    rel.setWslcode(stock.getWslcode());
+    rel.setWareAreaCd(stock.getWareAreaCd());
+    rel.setLotNo(stock.getLotNo());
+    rel.setRelQty(relQty);
+    rel.setUnit(material.getUnit());
+    rel.setRelDt(today);
+    rel.setRelType("y1"); // 생산출고
+    rel.setMname(mname);
+    rel.setCreDt(today);
+    return rel;
+  }
+
+  private static String key(String code, String verCd) {
+    return code + "|" + verCd;
+  }
+}
@@ -0,0 +1,209 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.kimbap.kbs.production.mapper.ProdPlanMapper;
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.BomExplosionService;
+import com.kimbap.kbs.production.service.BomVO;
+import com.kimbap.kbs.production.service.MateSupplierVO;
+import com.kimbap.kbs.production.service.MrpDetailVO;
+import com.kimbap.kbs.production.service.ProdPlanDetailVO;
+import com.kimbap.kbs.production.service.PurcOrdDetailVO;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 집합 기반 MRP 계산기 (MRP 실행 / 미리보기 공용)
+ *
+ * - 현재고, 최저가 공급사(단가/리드타임/최소발주단위)를 계획 전체에 대해 몇 번의 IN 조회로 가져온다.
+ *   BOM 은 BomExplosionService 의 다단계 전개 결과(캐시)를 쓴다.
+ * - 제품/자재를 int 인덱스로 바꿔 배열 위에서 소요량을 전개하므로 계획 라인 수만큼 DB 를 왕복하지 않는다.
+ * - 등록은 INSERT ALL 로 묶어서 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MrpEngine {
+
+  // IN 목록 / INSERT ALL 한 번에 보낼 최대 건수
+  static final int CHUNK_SIZE = 500;
+
+  private final ProdPlanMapper mapper;
+  private final BomExplosionService bomExplosionService;
+
+  /**
+   * 생산계획 상세 → 최하위 자재별 부족량 (부족한 자재만, BOM 최초 등장 순서)
+   * requiredQty 는 부족량, currentStock 은 현재고
+   */
+  public List<MrpDetailVO> explode(List<ProdPlanDetailVO> planDetails) {
+    if (planDetails == null || planDetails.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    // 1. 제품 인덱스 + 제품별 계획수량 합계
+    Map<String, Integer> prodIndex = new HashMap<>();
+    List<BomVO> products = new ArrayList<>();
+    List<BigDecimal> planQtyByProd = new ArrayList<>();
+    for (ProdPlanDetailVO detail : planDetails) {
+      BigDecimal planQty = BigDecimal.valueOf(detail.getPlanQty() != null ? detail.getPlanQty() : 0);
+      Integer prodId = prodIndex.get(key(detail.getPcode(), detail.getProdVerCd()));
+      if (prodId == null) {
+        prodIndex.put(key(detail.getPcode(), detail.getProdVerCd()), products.size());
+        products.add(BomVO.builder().pcode(detail.getPcode()).prodVerCd(detail.getProdVerCd()).build());
+        planQtyByProd.add(planQty);
+      } else {
+        planQtyByProd.set(prodId, planQtyByProd.get(prodId).add(planQty));
+      }
+    }
+
+    // 2. 제품별 다단계 BOM 전개 → 자재 인덱스 부여 + 자재별 총 필요량
+    List<List<BomDetailVO>> bomByProd = bomExplosionService.getUnitMaterials(products);
+    Map<String, Integer> mateIndex = new HashMap<>();
+    List<MrpDetailVO> mates = new ArrayList<>();
+    int bomRows = bomByProd.stream().mapToInt(List::size).sum();
+    BigDecimal[] required = new BigDecimal[bomRows];
+    for (int prodId = 0; prodId < products.size(); prodId++) {
+      BigDecimal planQty = planQtyByProd.get(prodId);
+      for (BomDetailVO bom : bomByProd.get(prodId)) {
+        String mateKey = key(bom.getMcode(), bom.getMateVerCd());
+        Integer mateId = mateIndex.get(mateKey);
+        if (mateId == null) {
+          mateId = mates.size();
+          mateIndex.put(mateKey, mateId);
+          mates.add(MrpDetailVO.builder()
+              .mcode(bom.getMcode())
+              .mateVerCd(bom.getMateVerCd())
+              .mateName(bom.getMateName())
+              .unit(bom.getUnit())
+              .field("생산계획")
+              .build());
+          required[mateId] = BigDecimal.ZERO;
+        }
+        required[mateId] = required[mateId].add(bom.getNeedQty().multiply(planQty));
+      }
+    }
+
+    // 3. 현재고 일괄 조회
+    BigDecimal[] stock = new BigDecimal[mates.size()];
+    for (MrpDetailVO row : selectInChunks(mates, mapper::selectTotalStockByMates)) {
+      Integer mateId = mateIndex.get(key(row.getMcode(), row.getMateVerCd()));
+      if (mateId != null && row.getCurrentStock() != null) {
+        stock[mateId] = row.getCurrentStock();
+      }
+    }
+
+    // 4. 부족량 = 총 필요량 - 현재고
+    List<MrpDetailVO> shortages = new ArrayList<>();
+    for (int mateId = 0; mateId < mates.size(); mateId++) {
+      BigDecimal stockQty = stock[mateId] != null ? stock[mateId] : BigDecimal.ZERO;
+      BigDecimal lackQty = required[mateId].subtract(stockQty);
+      if (lackQty.signum() > 0) {
+        MrpDetailVO mrpDetail = mates.get(mateId);
+        mrpDetail.setRequiredQty(lackQty);
+        mrpDetail.setCurrentStock(stockQty);
+        shortages.add(mrpDetail);
+      }
+    }
+
+    log.debug("MRP 전개 - 계획 {}건, 제품 {}종, BOM {}행, 자재 {}종, 부족 {}종",
+        planDetails.size(), products.size(), bomRows, mates.size(), shortages.size());
+    return shortages;
+  }
+
+  /**
+   * 부족량 → 발주서 상세 (최저가 공급사, 최소발주단위 배수 올림, 리드타임 기준 납기예정일)
+   * 공급사나 자재 정보가 없는 자재는 제외한다. 발주코드/발주상세코드는 호출하는 쪽에서 채운다.
+   */
+  public List<PurcOrdDetailVO> planPurchase(List<MrpDetailVO> shortages, LocalDate baseDt) {
+    List<PurcOrdDetailVO> orderDetails = new ArrayList<>();
+    if (shortages == null || shortages.isEmpty()) {
+      return orderDetails;
+    }
+
+    Map<String, MateSupplierVO> supplierByMate = new HashMap<>();
+    for (MateSupplierVO supplier : selectInChunks(shortages, mapper::selectBestSuppliersByMates)) {
+      supplierByMate.put(key(supplier.getMcode(), supplier.getMateVerCd()), supplier);
+    }
+
+    for (MrpDetailVO mrpDetail : shortages) {
+      MateSupplierVO supplier = supplierByMate.get(key(mrpDetail.getMcode(), mrpDetail.getMateVerCd()));
+      if (supplier == null) {
+        log.warn("공급업체 없음: {} ({})", mrpDetail.getMcode(), mrpDetail.getMateVerCd());
+        continue;
+      }
+
+      BigDecimal requiredQty = mrpDetail.getRequiredQty();
+      BigDecimal purcQty = roundUpToMoq(requiredQty, supplier.getMoqty());
+      int leadTime = supplier.getLtime() != null ? supplier.getLtime() : 0;
+
+      orderDetails.add(PurcOrdDetailVO.builder()
+          .mcode(mrpDetail.getMcode())
+          .mateVerCd(mrpDetail.getMateVerCd())
+          .mateName(supplier.getMateName())
+          .supplierName(supplier.getCpName())
+          .purcQty(purcQty)
+          .unit(mrpDetail.getUnit())
+          .unitPrice(supplier.getUnitPrice())
+          .totalAmount(purcQty.multiply(supplier.getUnitPrice()))
+          .exDeliDt(baseDt.plusDays(leadTime))
+          .leadTime(leadTime)
+          .note("MRP 자동생성 - 소요량: " + requiredQty)
+          .purcDStatus("c1")
+          .mateCpCd(supplier.getMateCpCd())
+          .currQty(BigDecimal.ZERO)
+          .build());
+    }
+    return orderDetails;
+  }
+
+  // MRP 상세 일괄 등록
+  public void insertMrpDetails(List<MrpDetailVO> mrpDetails) {
+    forEachChunk(mrpDetails, mapper::insertMrpDetails);
+  }
+
+  // 발주서 상세 일괄 등록
+  public void insertPurchaseOrderDetails(List<PurcOrdDetailVO> orderDetails) {
+    forEachChunk(orderDetails, mapper::insertPurchaseOrderDetails);
+  }
+
+  // 최소발주단위의 배수로 올림 (최소발주단위가 없으면 1)
+  static BigDecimal roundUpToMoq(BigDecimal requiredQty, BigDecimal moqty) {
+    if (moqty == null || moqty.signum() <= 0) {
+      moqty = BigDecimal.ONE;
+    }
+    if (requiredQty.remainder(moqty).signum() == 0) {
+      return requiredQty;
+    }
+    return requiredQty.divide(moqty, 0, RoundingMode.UP).multiply(moqty);
+  }
+
+  private static String key(String code, String verCd) {
+    return code + "|" + verCd;
+  }
+
+  private static <T, R> List<R> selectInChunks(List<T> keys, Function<List<T>, List<R>> query) {
+    List<R> rows = new ArrayList<>();
+    for (int from = 0; from < keys.size(); from += CHUNK_SIZE) {
+      rows.addAll(query.apply(keys.subList(from, Math.min(from + CHUNK_SIZE, keys.size()))));
+    }
+    return rows;
+  }
+
+  private static <T> void forEachChunk(List<T> rows, Consumer<List<T>> insert) {
+    for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+      insert.accept(rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size())));
+    }
+  }
+}
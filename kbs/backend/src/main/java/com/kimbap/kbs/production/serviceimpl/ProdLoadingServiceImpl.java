@@ -1,8 +1,9 @@
 package com.kimbap.kbs.production.serviceimpl;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -12,10 +13,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.AreaOccupancyVO;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+import com.kimbap.kbs.common.service.PutAwayAssignment;
+import com.kimbap.kbs.common.service.PutAwayLine;
+import com.kimbap.kbs.common.service.StockEntryVO;
+import com.kimbap.kbs.common.service.StockLedgerService;
+import com.kimbap.kbs.common.service.WarehouseOccupancyService;
+import com.kimbap.kbs.common.serviceimpl.PutAwayPlanner;
 import com.kimbap.kbs.production.mapper.ProdLoadingMapper;
 import com.kimbap.kbs.production.service.ProdInboundVO;
 import com.kimbap.kbs.production.service.ProdLoadingService;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
 @Transactional
 public class ProdLoadingServiceImpl implements ProdLoadingService {
@@ -23,6 +38,24 @@ public class ProdLoadingServiceImpl implements ProdLoadingService {
   @Autowired
   private ProdLoadingMapper prodLoadingMapper;
 
+  @Autowired
+  private KeyGeneratorService keyGeneratorService;
+
+  @Autowired
+  private WarehouseOccupancyService warehouseOccupancyService;
+
+  @Autowired
+  private PutAwayPlanner putAwayPlanner;
+
+  @Autowired
+  private StockLedgerService stockLedgerService;
+
+  @Autowired
+  private MasterDataCache masterDataCache;
+
+  // IN 목록 / 일괄 처리 한 번에 보낼 최대 건수
+  private static final int CHUNK_SIZE = 500;
+
   // 제품 적재 대기 목록 전체 조회
   @Override
   public List<ProdInboundVO> getAllProdLoadingWaitList() {
@@ -35,21 +68,17 @@ public class ProdLoadingServiceImpl implements ProdLoadingService {
       Map<String, Object> result = new HashMap<>();
       
       try {
-        // 현재 적재량 조회
-        Integer currentVolume = prodLoadingMapper.getCurrentVolumeByArea(wareAreaCd);
-        if (currentVolume == null) currentVolume = 0;
-        
-        // 구역 정보 조회 (용량 확인용)
-        ProdInboundVO areaStock = prodLoadingMapper.getWarehouseAreaStock(wareAreaCd);
+        // 구역 정보 + 현재 적재 현황 (적재 현황 인덱스)
+        AreaOccupancyVO area = warehouseOccupancyService.getArea(wareAreaCd);
         
-        if (areaStock == null) {
+        if (area == null) {
           result.put("isValid", false);
           result.put("message", "해당 구역 정보를 찾을 수 없습니다.");
           return result;
         }
         
-        // 현재 적재된 자재 확인
-        String currentProduct = prodLoadingMapper.getCurrentProductByArea(wareAreaCd);
+        int currentVolume = area.getCurrentVolume();
+        String currentProduct = area.getCurrentItem();
         
         // 다른 자재가 적재되어 있는지 확인
         if (currentProduct != null && !currentProduct.equals(pcode)) {
@@ -59,9 +88,9 @@ public class ProdLoadingServiceImpl implements ProdLoadingService {
           return result;
         }
         
-        // 용량 확인 - 실제 구역 용량 조회
-        int maxVolume = (areaStock.getVol() != null) ? areaStock.getVol().intValue() : 100; // 기본값 100
-        int availableVolume = maxVolume - currentVolume;
+        // 용량 확인 - 실제 구역 용량
+        int maxVolume = area.getVol();
+        int availableVolume = area.getAvailableVolume();
         
         if (allocateQty > availableVolume) {
           result.put("isValid", false);
@@ -94,7 +123,18 @@ public class ProdLoadingServiceImpl implements ProdLoadingService {
   @Override
   public List<ProdInboundVO> getSameProductAreas(String pcode, String fcode, String excludeAreaCd) {
     try {
-      List<ProdInboundVO> sameProductAreas = prodLoadingMapper.getSameProductAreas(pcode, fcode, excludeAreaCd);
+      List<ProdInboundVO> sameProductAreas = new ArrayList<>();
+      for (AreaOccupancyVO area : warehouseOccupancyService.getSameItemAreas(pcode, fcode, excludeAreaCd)) {
+        ProdInboundVO vo = new ProdInboundVO();
+        vo.setWareAreaCd(area.getWareAreaCd());
+        vo.setAreaRow(area.getAreaRow());
+        vo.setAreaCol(BigDecimal.valueOf(area.getAreaCol()));
+        vo.setAreaFloor(BigDecimal.valueOf(area.getAreaFloor()));
+        vo.setVol(BigDecimal.valueOf(area.getVol()));
+        vo.setCurrentVolume(area.getCurrentVolume());
+        vo.setAvailableVolume(area.getAvailableVolume());
+        sameProductAreas.add(vo);
+      }
       System.out.println("동일 제품 적재 구역 조회 완료: " + pcode + " - " + sameProductAreas.size() + "개 구역");
       return sameProductAreas;
     } catch (Exception e) {
@@ -112,7 +152,7 @@ public class ProdLoadingServiceImpl implements ProdLoadingService {
     // product 테이블에서 자재 정보 조회
     ProdInboundVO productInfo = null;
     try {
-      productInfo = prodLoadingMapper.getProductInfo(prodLoading.getPcode());
+      productInfo = productInfos(List.of(prodLoading.getPcode())).get(prodLoading.getPcode());
     } catch (Exception e) {
       System.err.println("제품 정보 조회 실패: " + prodLoading.getPcode() + " - " + e.getMessage());
       e.printStackTrace();
@@ -131,11 +171,8 @@ public class ProdLoadingServiceImpl implements ProdLoadingService {
     // 현재 시간 설정
     prodLoading.setInboDt(Timestamp.valueOf(LocalDateTime.now()));
     
-    // 🔥 창고재고목록코드 생성 - DB에서 최신 시퀀스 조회
-    String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-    int lastSequence = prodLoadingMapper.getLastWareStockSequence(datePattern);
-    int nextSequence = lastSequence + 1;
-    String wslcode = String.format("WStock-%s-%03d", datePattern, nextSequence);
+    // 🔥 창고재고목록코드 생성
+    String wslcode = generateWareStockCode();
     prodLoading.setWslcode(wslcode);
     
     // 🔥 등록자 설정 - 프론트엔드에서 전달된 empCd 사용
@@ -144,7 +181,7 @@ public class ProdLoadingServiceImpl implements ProdLoadingService {
     }
     
     System.out.println("처리 전 최종 데이터:");
-    System.out.println("  wslcode: " + prodLoading.getWslcode() + " (시퀀스: " + nextSequence + ")");
+    System.out.println("  wslcode: " + prodLoading.getWslcode());
     System.out.println("  wareAreaCd: " + prodLoading.getWareAreaCd());
     System.out.println("  mateInboCd: " + prodLoading.getProdInboCd());
     System.out.println("  qty: " + prodLoading.getQty());
@@ -156,6 +193,7 @@ public class ProdLoadingServiceImpl implements ProdLoadingService {
     // ware_stock 테이블에 적재 정보 저장
     try {
       prodLoadingMapper.insertWareStock(prodLoading);
+      stockLedgerService.post(List.of(toLedgerEntry(prodLoading)));
       System.out.println("=== ware_stock INSERT 성공 ===");
     } catch (Exception e) {
       System.err.println("=== ware_stock INSERT 실패 ===");
@@ -168,127 +206,133 @@ public class ProdLoadingServiceImpl implements ProdLoadingService {
   }
   
   
+  @Override
+  public List<ProdInboundVO> planProdLoading(List<ProdInboundVO> prodLoadingList) {
+    // 적재 계획 라인 (구역 미지정 라인은 공장 안에서 자동 배정)
+    List<PutAwayLine> lines = new ArrayList<>(prodLoadingList.size());
+    for (ProdInboundVO prodLoading : prodLoadingList) {
+      lines.add(new PutAwayLine(prodLoading.getPcode(), palletQty(prodLoading.getQty()),
+          blankToNull(prodLoading.getWareAreaCd()), prodLoading.getFcode()));
+    }
+    List<PutAwayAssignment> assignments = putAwayPlanner.plan(lines);
+
+    // 배정 결과대로 라인을 구역별로 나눈다 (마지막 조각이 소수점 이하 수량까지 가져감)
+    List<ProdInboundVO> planned = new ArrayList<>(assignments.size());
+    BigDecimal assigned = BigDecimal.ZERO;
+    for (int i = 0; i < assignments.size(); i++) {
+      PutAwayAssignment assignment = assignments.get(i);
+      ProdInboundVO prodLoading = prodLoadingList.get(assignment.lineNo());
+      boolean last = i + 1 == assignments.size() || assignments.get(i + 1).lineNo() != assignment.lineNo();
+      BigDecimal qty = last ? prodLoading.getQty().subtract(assigned) : BigDecimal.valueOf(assignment.qty());
+      assigned = last ? BigDecimal.ZERO : assigned.add(qty);
+      planned.add(prodLoading.toBuilder().wareAreaCd(assignment.wareAreaCd()).qty(qty).build());
+    }
+    return planned;
+  }
+
   @Override
   public String processProdLoadingBatch(List<ProdInboundVO> prodLoadingList) {
-    System.out.println("=== 다중 적재 처리 시작 ===");
-    System.out.println("처리할 항목 수: " + prodLoadingList.size());
-    
-    int successCount = 0;
-    int failCount = 0;
-    
-    // 🔥 시퀀스 관리를 위한 초기화
-    String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-    int currentSequence = prodLoadingMapper.getLastWareStockSequence(datePattern);
-    
-    for (int i = 0; i < prodLoadingList.size(); i++) {
-      ProdInboundVO prodLoading = prodLoadingList.get(i);
-      System.out.println(String.format("=== [%d/%d] 처리 중 ===", i+1, prodLoadingList.size()));
-      
-      try {
-        // 🔥 material 테이블에서 자재 정보 조회
-        ProdInboundVO productInfo = null;
-        try {
-            productInfo = prodLoadingMapper.getProductInfo(prodLoading.getPcode());
-        } catch (Exception e) {
-            System.err.println("제품 정보 조회 실패: " + prodLoading.getPcode() + " - " + e.getMessage());
-        }
-        
-        // 현재 시간 설정
-        prodLoading.setInboDt(Timestamp.valueOf(LocalDateTime.now()));
-        
-        // 🔥 창고재고목록코드 생성 - 트랜잭션 내에서 시퀀스 증가
-        currentSequence++;
-        String wslcode = String.format("WStock-%s-%03d", datePattern, currentSequence);
-        prodLoading.setWslcode(wslcode);
-        
-        // 등록자 설정 - 프론트엔드에서 전달된 empCd 사용
-        if (prodLoading.getRegi() == null || prodLoading.getRegi().trim().isEmpty()) {
-            prodLoading.setRegi("system"); // 기본값
-        }
-        
-        if (productInfo == null) {
-            System.err.println("제품 정보를 찾을 수 없습니다: " + prodLoading.getPcode());
-            // 기본값으로 처리 계속 진행
-            prodLoading.setItemType("h3"); // 기본값: 원자재 (품목유형 코드)
-            // unit은 기존 값 유지
-        } else {
-            // 🔥 unit을 material 테이블의 unit(공통코드)으로 설정
-            prodLoading.setUnit(productInfo.getUnit());
-        }
-        
-        System.out.println("처리 데이터:");
-        System.out.println("  prodInboCd: " + prodLoading.getProdInboCd());
-        System.out.println("  pcode: " + prodLoading.getPcode());
-        System.out.println("  wareAreaCd: " + prodLoading.getWareAreaCd());
-        System.out.println("  qty: " + prodLoading.getQty());
-        System.out.println("  unit: " + prodLoading.getUnit() + " (product 테이블에서 조회)");
-        System.out.println("  regi: " + prodLoading.getRegi());
-        System.out.println("  itemType: " + prodLoading.getItemType() + " (product 테이블에서 조회)");
-        System.out.println("  wslcode: " + wslcode + " (시퀀스: " + currentSequence + ")");
-        
-        // ware_stock 테이블에 적재 정보 저장
-        prodLoadingMapper.insertWareStock(prodLoading);
-        
-        successCount++;
-        System.out.println("적재 처리 성공: " + prodLoading.getProdInboCd() + " -> " + wslcode);
-        
-      } catch (Exception e) {
-        failCount++;
-        System.err.println("적재 처리 실패: " + prodLoading.getProdInboCd() + " - " + e.getMessage());
-        e.printStackTrace();
-        
-        // 🔥 실패 시에도 시퀀스는 유지 (다음 처리에서 중복 방지)
-        // currentSequence는 증가된 상태로 유지
+    // 1. 적재 계획 (구역 검증 + 자동 배정) - 실패하면 아무것도 쓰지 않는다
+    List<ProdInboundVO> planned = planProdLoading(prodLoadingList);
+    if (planned.isEmpty()) {
+      return String.format("다중 자재 적재 처리 완료 - 성공: %d건, 실패: %d건", 0, 0);
+    }
+
+    // 2. 제품 정보 일괄 조회 (unit)
+    Map<String, ProdInboundVO> productByPcode = productInfos(
+        planned.stream().map(ProdInboundVO::getPcode).distinct().toList());
+
+    // 3. 창고재고목록코드 일괄 발번 + 적재 행 채우기
+    List<String> wslcodes = keyGeneratorService.nextKeys(KeyFormats.WARE_STOCK, planned.size());
+    Timestamp inboDt = Timestamp.valueOf(LocalDateTime.now());
+    for (int i = 0; i < planned.size(); i++) {
+      ProdInboundVO prodLoading = planned.get(i);
+      prodLoading.setWslcode(wslcodes.get(i));
+      prodLoading.setInboDt(inboDt);
+      prodLoading.setItemType("h3"); // 제품 (품목유형 코드)
+      if (prodLoading.getRegi() == null || prodLoading.getRegi().trim().isEmpty()) {
+        prodLoading.setRegi("system"); // 기본값
+      }
+      ProdInboundVO productInfo = productByPcode.get(prodLoading.getPcode());
+      if (productInfo != null) {
+        prodLoading.setUnit(productInfo.getUnit()); // 없으면 기존 값 유지
       }
     }
-    
-    String result = String.format("다중 자재 적재 처리 완료 - 성공: %d건, 실패: %d건", 
-                                successCount, failCount);
-    
-    System.out.println("=== 다중 적재 처리 완료 ===");
-    System.out.println(result);
-    
+
+    // 4. ware_stock INSERT ALL (500건 단위)
+    for (int from = 0; from < planned.size(); from += CHUNK_SIZE) {
+      prodLoadingMapper.insertWareStocks(planned.subList(from, Math.min(from + CHUNK_SIZE, planned.size())));
+    }
+    List<StockEntryVO> entries = new ArrayList<>(planned.size());
+    for (ProdInboundVO prodLoading : planned) {
+      entries.add(toLedgerEntry(prodLoading));
+    }
+    stockLedgerService.post(entries);
+
+    String result = String.format("다중 자재 적재 처리 완료 - 성공: %d건, 실패: %d건", prodLoadingList.size(), 0);
+    log.info("{} (구역 {}건)", result, planned.size());
     return result;
   }
+
+  // 제품 정보 (unit) - 기준정보 캐시에 없는 코드만 IN 목록으로 조회
+  private Map<String, ProdInboundVO> productInfos(List<String> pcodes) {
+    return masterDataCache.getAll(MasterRegion.PRODUCT, pcodes, MasterDataCache.LATEST, "loading", missing -> {
+      Map<String, ProdInboundVO> loaded = new HashMap<>();
+      for (int from = 0; from < missing.size(); from += CHUNK_SIZE) {
+        for (ProdInboundVO product : prodLoadingMapper.getProductInfos(
+            missing.subList(from, Math.min(from + CHUNK_SIZE, missing.size())))) {
+          loaded.put(product.getPcode(), product);
+        }
+      }
+      return loaded;
+    });
+  }
+
+  // 적재 1건 → 재고 원장 입고(I) 행
+  private static StockEntryVO toLedgerEntry(ProdInboundVO prodLoading) {
+    return StockEntryVO.builder()
+        .entryType("I")
+        .entryCat("생산")
+        .itemType("h3")
+        .itemCode(prodLoading.getPcode())
+        .verCd(prodLoading.getProdVerCd())
+        .lotNo(prodLoading.getLotNo())
+        .wareAreaCd(prodLoading.getWareAreaCd())
+        .wslcode(prodLoading.getWslcode())
+        .qty(prodLoading.getQty())
+        .refCd(prodLoading.getProdInboCd())
+        .note(prodLoading.getNote())
+        .regi(prodLoading.getRegi())
+        .regDt(prodLoading.getInboDt())
+        .build();
+  }
+
+  // 적재 계획용 수량 (소수점 이하는 한 칸을 차지하므로 올림)
+  private static int palletQty(BigDecimal qty) {
+    return qty == null ? 0 : qty.setScale(0, RoundingMode.CEILING).intValue();
+  }
+
+  private static String blankToNull(String value) {
+    return value == null || value.trim().isEmpty() ? null : value;
+  }
+
   @Override
   public String generateWareStockCode() {
-    try {
-      // 현재 날짜 (yyMMdd 형식)
-      String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-      
-      // 해당 날짜의 마지막 순번 조회
-      int lastSequence = prodLoadingMapper.getLastWareStockSequence(datePattern);
-      
-      // 다음 순번 계산 (1부터 시작)
-      int nextSequence = lastSequence + 1;
-      
-      // WStock-yyMMdd-순번 형식으로 생성
-      String wslCode = String.format("WStock-%s-%03d", datePattern, nextSequence);
-      
-      System.out.println("창고재고목록코드 생성: " + wslCode);
-      return wslCode;
-      
-    } catch (Exception e) {
-      System.err.println("창고재고목록코드 생성 실패: " + e.getMessage());
-      
-      // 실패 시 임시 코드 생성 (자재 파트와 동일)
-      String datePattern = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-      long timestamp = System.currentTimeMillis() % 1000;
-      String fallbackCode = String.format("WStock-%s-%03d", datePattern, (int) timestamp);
-      
-      System.out.println("임시 창고재고목록코드 생성: " + fallbackCode);
-      return fallbackCode;
-    }
+    // WStock-yyMMdd-순번
+    String wslCode = keyGeneratorService.nextKey(KeyFormats.WARE_STOCK);
+    log.debug("창고재고목록코드 생성: {}", wslCode);
+    return wslCode;
   }
   @Override
   public List<Map<String, Object>> getWarehouseAreasWithStock(String wcode, Integer floor) {
     try {
-      // 해당 층의 구역 정보 조회
-      List<ProdInboundVO> warehouseAreas = prodLoadingMapper.getWarehouseAreasByFloor(wcode, floor);
-      
       List<Map<String, Object>> result = new ArrayList<>();
+      if (floor == null) {
+        return result;
+      }
       
-      for (ProdInboundVO area : warehouseAreas) {
+      // 해당 층의 구역별 적재 현황 (적재 현황 인덱스)
+      for (AreaOccupancyVO area : warehouseOccupancyService.getAreasByFloor(wcode, floor)) {
         Map<String, Object> areaInfo = new HashMap<>();
         
         // 기본 구역 정보
@@ -298,16 +342,10 @@ public class ProdLoadingServiceImpl implements ProdLoadingService {
         areaInfo.put("areaFloor", area.getAreaFloor());
         areaInfo.put("vol", area.getVol());
         
-        // 현재 적재량 조회
-        Integer currentVolume = prodLoadingMapper.getCurrentVolumeByArea(area.getWareAreaCd());
-        if (currentVolume == null) currentVolume = 0;
-        
-        areaInfo.put("currentVolume", currentVolume);
-        areaInfo.put("availableVolume", area.getVol().intValue() - currentVolume);
-        
-        // 현재 적재된 자재 조회 (pcode 반환)
-        String currentProduct = prodLoadingMapper.getCurrentProductByArea(area.getWareAreaCd());
-        areaInfo.put("currentProduct", currentProduct);
+        // 현재 적재량 / 적재된 제품 (pcode)
+        areaInfo.put("currentVolume", area.getCurrentVolume());
+        areaInfo.put("availableVolume", area.getAvailableVolume());
+        areaInfo.put("currentProduct", area.getCurrentItem());
         
         result.add(areaInfo);
       }
@@ -2,10 +2,7 @@ package com.kimbap.kbs.production.serviceimpl;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -14,10 +11,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.CounterPushService;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
 import com.kimbap.kbs.production.mapper.ProdPlanMapper;
-import com.kimbap.kbs.production.service.BomDetailVO;
-import com.kimbap.kbs.production.service.MateSupplierVO;
-import com.kimbap.kbs.production.service.MaterVO;
 import com.kimbap.kbs.production.service.MrpDetailVO;
 import com.kimbap.kbs.production.service.MrpPreviewVO;
 import com.kimbap.kbs.production.service.MrpVO;
@@ -37,6 +34,9 @@ public class ProdPlanServiceImpl implements ProdPlanService {
 
     @Autowired
     private final ProdPlanMapper mapper;
+    private final KeyGeneratorService keyGeneratorService;
+    private final MrpEngine mrpEngine;
+    private final CounterPushService counterPushService;
 
     @Override
     public List<ProdPlanVO> getAllPlans() {
@@ -126,59 +126,19 @@ public class ProdPlanServiceImpl implements ProdPlanService {
         mrp.setRegi("시스템");
         mapper.insertMrp(mrp);
         
-        List<ProdPlanDetailVO> planDetails = mapper.selectDetailsByPlanCd(produPlanCd);
+        // 자재별 부족량 계산 (BOM/재고 일괄 조회)
+        List<MrpDetailVO> mrpDetails = mrpEngine.explode(mapper.selectDetailsByPlanCd(produPlanCd));
         
-        // 자재별 총 부족량을 합산하기 위한 Map 생성
-        Map<String, MrpDetailVO> materialRequirementMap = new HashMap<>();
-        
-        for (ProdPlanDetailVO detail : planDetails) {
-            List<BomDetailVO> bomList = mapper.selectBomMaterials(detail.getPcode(), detail.getProdVerCd());
-            
-            for (BomDetailVO bom : bomList) {
-                BigDecimal requiredQty = bom.getNeedQty().multiply(new BigDecimal(detail.getPlanQty()));
-                
-                // 자재별로 필요량 합산
-                String materialKey = bom.getMcode() + "_" + bom.getMateVerCd();
-                
-                if (materialRequirementMap.containsKey(materialKey)) {
-                    // 기존 자재의 필요량에 추가
-                    MrpDetailVO existingMrpDetail = materialRequirementMap.get(materialKey);
-                    BigDecimal totalRequired = existingMrpDetail.getRequiredQty().add(requiredQty);
-                    existingMrpDetail.setRequiredQty(totalRequired);
-                } else {
-                    // 새로운 자재 추가
-                    MrpDetailVO mrpDetail = new MrpDetailVO();
-                    mrpDetail.setMrpCd(mrpCd);
-                    mrpDetail.setMcode(bom.getMcode());
-                    mrpDetail.setMateVerCd(bom.getMateVerCd());
-                    mrpDetail.setRequiredQty(requiredQty);
-                    mrpDetail.setUnit(bom.getUnit());
-                    mrpDetail.setField("생산계획");
-                    
-                    materialRequirementMap.put(materialKey, mrpDetail);
-                }
-            }
-        }
-        
-        // 자재별 총 필요량에서 재고를 차감하여 실제 부족량 계산 및 MRP 상세 저장
-        for (MrpDetailVO mrpDetail : materialRequirementMap.values()) {
-            BigDecimal totalRequiredQty = mrpDetail.getRequiredQty();
-            BigDecimal stockQty = mapper.selectTotalStockByMate(mrpDetail.getMcode(), mrpDetail.getMateVerCd());
-            BigDecimal lackQty = totalRequiredQty.subtract(stockQty).max(BigDecimal.ZERO);
-            
-            System.out.println("자재: " + mrpDetail.getMcode() + 
-                            ", 총 필요량: " + totalRequiredQty + 
-                            ", 현재고: " + stockQty + 
-                            ", 부족량: " + lackQty);
-            
-            if (lackQty.compareTo(BigDecimal.ZERO) > 0) {
-                mrpDetail.setRequiredQty(lackQty); // 부족량으로 업데이트
-                mapper.insertMrpDetail(mrpDetail);
-            }
+        // 부족한 자재만 MRP 상세 저장
+        List<String> mrpDCds = keyGeneratorService.nextKeys(KeyFormats.MRP_D, mrpDetails.size());
+        for (int i = 0; i < mrpDetails.size(); i++) {
+            mrpDetails.get(i).setMrpDCd(mrpDCds.get(i));
+            mrpDetails.get(i).setMrpCd(mrpCd);
         }
+        mrpEngine.insertMrpDetails(mrpDetails);
         
         // 2. 바로 발주서 생성
-        createPurchaseOrderFromMrp(mrpCd);
+        createPurchaseOrder(mrpDetails);
         
         return mrpCd;
     }
@@ -194,20 +154,17 @@ public class ProdPlanServiceImpl implements ProdPlanService {
     @Transactional
     @Override
     public void createPurchaseOrderFromMrp(String mrpCd) {
-        System.out.println("발주서 생성 시작 - MRP 코드: " + mrpCd);
-        
-        // 1. MRP 상세 목록 조회 (부족한 자재 목록)
-        List<MrpDetailVO> mrpDetails = mapper.selectMrpDetailsByMrpCd(mrpCd);
-        System.out.println("MRP 상세 조회 결과: " + mrpDetails.size() + "개");
-        
+        // MRP 상세 목록 조회 (부족한 자재 목록)
+        createPurchaseOrder(mapper.selectMrpDetailsByMrpCd(mrpCd));
+    }
+
+    private void createPurchaseOrder(List<MrpDetailVO> mrpDetails) {
         if (mrpDetails.isEmpty()) {
-            System.out.println("MRP 상세가 없어서 발주서 생성 중단");
             return; // 발주할 자재가 없으면 종료
         }
         
-        // 2. 발주서 마스터 생성
-        String purcCd = mapper.getNewPurcCd();
-        System.out.println("생성된 발주서 코드: " + purcCd);
+        // 1. 발주서 마스터 생성
+        String purcCd = keyGeneratorService.nextKey(KeyFormats.PURC);
         PurcOrdVO purchaseOrder = new PurcOrdVO();
         purchaseOrder.setPurcCd(purcCd);
         purchaseOrder.setOrdDt(LocalDate.now());
@@ -216,65 +173,24 @@ public class ProdPlanServiceImpl implements ProdPlanService {
         purchaseOrder.setOrdTotalAmount(BigDecimal.ZERO); // 일단 0으로 설정, 상세 저장 후 업데이트
         
         mapper.insertPurchaseOrder(purchaseOrder);
-        System.out.println("발주서 마스터 등록 완료");
         
+        // 2. 부족 자재별 발주서 상세 생성 (최저가 공급업체, 최소발주단위, 리드타임)
+        List<PurcOrdDetailVO> orderDetails = mrpEngine.planPurchase(mrpDetails, LocalDate.now());
+        List<String> purcDCds = keyGeneratorService.nextKeys(KeyFormats.PURC_D, orderDetails.size());
         BigDecimal totalAmount = BigDecimal.ZERO;
-        
-        // 3. 각 부족 자재별로 발주서 상세 생성
-        for (MrpDetailVO mrpDetail : mrpDetails) {
-            // 3-1. 해당 자재의 최저가 공급업체 조회
-            MateSupplierVO bestSupplier = mapper.selectBestSupplierByMaterial(
-                mrpDetail.getMcode(), 
-                mrpDetail.getMateVerCd()
-            );
-            
-            if (bestSupplier == null) {
-                // 공급업체가 없는 경우 로그 남기고 스킵
-                System.out.println("공급업체 없음: " + mrpDetail.getMcode());
-                continue;
-            }
-            
-            // 3-2. 자재 기본정보 조회 (최소발주단위 확인용)
-            MaterVO material = mapper.selectMaterialInfo(
-                mrpDetail.getMcode(), 
-                mrpDetail.getMateVerCd()
-            );
-            
-            // 3-3. 발주수량 계산 (최소발주단위 고려)
-            BigDecimal requiredQty = mrpDetail.getRequiredQty();
-            BigDecimal moqty = material.getMoqty() != null ? material.getMoqty() : BigDecimal.ONE;
-            
-            // 최소발주단위의 배수로 올림 계산
-            BigDecimal purcQty = requiredQty;
-            if (requiredQty.remainder(moqty).compareTo(BigDecimal.ZERO) > 0) {
-                purcQty = requiredQty.divide(moqty, 0, BigDecimal.ROUND_UP).multiply(moqty);
-            }
-            
-            // 3-4. 납기예정일 계산 (리드타임 기준)
-            LocalDate exDeliDt = LocalDate.now().plusDays(bestSupplier.getLtime());
-            
-            // 3-5. 발주서 상세 생성
-            PurcOrdDetailVO orderDetail = new PurcOrdDetailVO();
-            orderDetail.setPurcDCd(mapper.getNewPurcDCd());
+        for (int i = 0; i < orderDetails.size(); i++) {
+            PurcOrdDetailVO orderDetail = orderDetails.get(i);
+            orderDetail.setPurcDCd(purcDCds.get(i));
             orderDetail.setPurcCd(purcCd);
-            orderDetail.setMcode(mrpDetail.getMcode());
-            orderDetail.setMateVerCd(mrpDetail.getMateVerCd());
-            orderDetail.setPurcQty(purcQty);
-            orderDetail.setUnit(mrpDetail.getUnit());
-            orderDetail.setUnitPrice(bestSupplier.getUnitPrice());
-            orderDetail.setExDeliDt(exDeliDt);
-            orderDetail.setNote("MRP 자동생성 - 소요량: " + requiredQty);
-            orderDetail.setPurcDStatus("c1");
-            orderDetail.setMateCpCd(bestSupplier.getMateCpCd());
-            orderDetail.setCurrQty(BigDecimal.ZERO);
-            
-            mapper.insertPurchaseOrderDetail(orderDetail);
-            
-            // 3-6. 총액 계산
-            totalAmount = totalAmount.add(purcQty.multiply(bestSupplier.getUnitPrice()));
+            totalAmount = totalAmount.add(orderDetail.getTotalAmount());
         }
+        mrpEngine.insertPurchaseOrderDetails(orderDetails);
+        orderDetails.stream()
+            .filter(orderDetail -> orderDetail.getPurcDStatus() != null)
+            .collect(Collectors.groupingBy(PurcOrdDetailVO::getPurcDStatus, Collectors.counting()))
+            .forEach((status, count) -> counterPushService.publishTransition("purchaseOrder", null, status, count.intValue()));
         
-        // 4. 발주서 총액 업데이트
+        // 3. 발주서 총액 업데이트
         purchaseOrder.setOrdTotalAmount(totalAmount);
         mapper.updatePurchaseOrderTotalAmount(purcCd, totalAmount);
     }
@@ -288,154 +204,19 @@ public class ProdPlanServiceImpl implements ProdPlanService {
         preview.setPreviewMrpCd(virtualMrpCd);
         preview.setPreviewPurcCd(virtualPurcCd);
         
-        // MRP 로직을 시뮬레이션
-        List<MrpDetailVO> mrpDetails = simulateMrpGeneration(fullVO);
-        List<PurcOrdDetailVO> purchaseOrderDetails = simulatePurchaseOrderGeneration(mrpDetails, virtualPurcCd);
+        // MRP 실행과 같은 계산기로 계산 (DB 저장 없이)
+        List<MrpDetailVO> mrpDetails = mrpEngine.explode(fullVO.getPlanDetails());
+        List<PurcOrdDetailVO> purchaseOrderDetails = mrpEngine.planPurchase(mrpDetails, LocalDate.now());
+        for (PurcOrdDetailVO orderDetail : purchaseOrderDetails) {
+            orderDetail.setPurcCd(virtualPurcCd);
+            orderDetail.setPurcDStatus("대기");
+        }
         
         preview.setMrpDetails(mrpDetails);
         preview.setPurchaseOrderDetails(purchaseOrderDetails);
         
         return preview;
     }
-    
-    /**
-     * 기존 runMrpByProdPlan 로직을 시뮬레이션 (DB 저장 없이)
-     */
-    private List<MrpDetailVO> simulateMrpGeneration(ProdPlanFullVO fullVO) {
-        List<MrpDetailVO> mrpDetails = new ArrayList<>();
-        
-        // 자재별 총 부족량을 합산하기 위한 Map 생성
-        Map<String, MrpDetailVO> materialRequirementMap = new HashMap<>();
-        
-        // 기존 MRP 로직과 동일한 처리
-        for (ProdPlanDetailVO detail : fullVO.getPlanDetails()) {
-            List<BomDetailVO> bomList = mapper.selectBomMaterials(detail.getPcode(), detail.getProdVerCd());
-            
-            for (BomDetailVO bom : bomList) {
-                BigDecimal requiredQty = bom.getNeedQty().multiply(new BigDecimal(detail.getPlanQty()));
-            
-                // 자재별로 필요량 합산
-                String materialKey = bom.getMcode() + "_" + bom.getMateVerCd();
-                
-                if (materialRequirementMap.containsKey(materialKey)) {
-                    // 기존 자재의 필요량에 추가
-                    MrpDetailVO existingMrpDetail = materialRequirementMap.get(materialKey);
-                    BigDecimal totalRequired = existingMrpDetail.getRequiredQty().add(requiredQty);
-                    existingMrpDetail.setRequiredQty(totalRequired);
-                    
-                    System.out.println("자재 " + bom.getMcode() + " 필요량 합산: " + totalRequired);
-                } else {
-                    // 새로운 자재 추가
-                    MrpDetailVO mrpDetail = new MrpDetailVO();
-                    mrpDetail.setMcode(bom.getMcode());
-                    mrpDetail.setMateVerCd(bom.getMateVerCd());
-                    mrpDetail.setMateName(bom.getMateName());
-                    mrpDetail.setRequiredQty(requiredQty);
-                    mrpDetail.setUnit(bom.getUnit());
-                    mrpDetail.setField("생산계획");
-                    
-                    materialRequirementMap.put(materialKey, mrpDetail);
-                    System.out.println("새 자재 추가: " + bom.getMcode() + ", 필요량: " + requiredQty);
-                }
-            }
-        }
-        
-        // 자재별 총 필요량에서 재고를 차감하여 실제 부족량 계산
-        for (MrpDetailVO mrpDetail : materialRequirementMap.values()) {
-            BigDecimal totalRequiredQty = mrpDetail.getRequiredQty();
-            BigDecimal stockQty = mapper.selectTotalStockByMate(mrpDetail.getMcode(), mrpDetail.getMateVerCd());
-            BigDecimal lackQty = totalRequiredQty.subtract(stockQty).max(BigDecimal.ZERO);
-            
-            System.out.println("최종 계산 - 자재: " + mrpDetail.getMcode() + 
-                            ", 총 필요량: " + totalRequiredQty + 
-                            ", 현재고: " + stockQty + 
-                            ", 부족량: " + lackQty);
-            
-            if (lackQty.compareTo(BigDecimal.ZERO) > 0) {
-                mrpDetail.setRequiredQty(lackQty);      // 부족량으로 업데이트
-                mrpDetail.setCurrentStock(stockQty);    // 현재고 정보도 추가 (미리보기용)
-                mrpDetails.add(mrpDetail);
-            }
-        }
-        
-        System.out.println("최종 MRP 상세 개수 (중복 제거 후): " + mrpDetails.size());
-        return mrpDetails;
-    }
-    
-    /**
-     * 기존 createPurchaseOrderFromMrp 로직을 시뮬레이션 (DB 저장 없이)
-     */
-    private List<PurcOrdDetailVO> simulatePurchaseOrderGeneration(List<MrpDetailVO> mrpDetails, String virtualPurcCd) {
-        List<PurcOrdDetailVO> purchaseOrderDetails = new ArrayList<>();
-        
-        System.out.println("MRP 상세 개수: " + mrpDetails.size());
-        
-        for (MrpDetailVO mrpDetail : mrpDetails) {
-            System.out.println("처리 중인 자재: " + mrpDetail.getMcode() + " (버전: " + mrpDetail.getMateVerCd() + ")");
-            
-            // 1. 공급업체 조회
-            MateSupplierVO bestSupplier = mapper.selectBestSupplierByMaterial(
-                mrpDetail.getMcode(), 
-                mrpDetail.getMateVerCd()
-            );
-            
-            if (bestSupplier == null) {
-                System.out.println("공급업체 없음: " + mrpDetail.getMcode());
-                continue;
-            }
-            
-            System.out.println("공급업체 발견: " + bestSupplier.getCpName() + " (단가: " + bestSupplier.getUnitPrice() + ")");
-            
-            // 2. 자재 기본정보 조회
-            MaterVO material = mapper.selectMaterialInfo(
-                mrpDetail.getMcode(), 
-                mrpDetail.getMateVerCd()
-            );
-            
-            if (material == null) {
-                System.out.println("자재 정보 없음: " + mrpDetail.getMcode());
-                continue;
-            }
-            
-            System.out.println("자재 정보: " + material.getMateName() + " (MOQ: " + material.getMoqty() + ")");
-            
-            // 3. 발주수량 계산
-            BigDecimal requiredQty = mrpDetail.getRequiredQty();
-            BigDecimal moqty = material.getMoqty() != null ? material.getMoqty() : BigDecimal.ONE;
-            BigDecimal purcQty = requiredQty;
-            if (requiredQty.remainder(moqty).compareTo(BigDecimal.ZERO) > 0) {
-                purcQty = requiredQty.divide(moqty, 0, BigDecimal.ROUND_UP).multiply(moqty);
-            }
-            
-            LocalDate exDeliDt = LocalDate.now().plusDays(bestSupplier.getLtime());
-            BigDecimal totalAmount = purcQty.multiply(bestSupplier.getUnitPrice());
-            
-            System.out.println("발주수량 계산: 필요=" + requiredQty + ", MOQ=" + moqty + ", 발주=" + purcQty);
-            
-            PurcOrdDetailVO orderDetail = new PurcOrdDetailVO();
-            orderDetail.setPurcCd(virtualPurcCd);
-            orderDetail.setMcode(mrpDetail.getMcode());
-            orderDetail.setMateVerCd(mrpDetail.getMateVerCd());
-            orderDetail.setMateName(material.getMateName()); 
-            orderDetail.setSupplierName(bestSupplier.getCpName()); 
-            orderDetail.setPurcQty(purcQty);
-            orderDetail.setUnit(mrpDetail.getUnit());
-            orderDetail.setUnitPrice(bestSupplier.getUnitPrice());
-            orderDetail.setTotalAmount(totalAmount); 
-            orderDetail.setExDeliDt(exDeliDt);
-            orderDetail.setLeadTime(bestSupplier.getLtime()); 
-            orderDetail.setNote("MRP 자동생성 - 소요량: " + requiredQty);
-            orderDetail.setPurcDStatus("대기");
-            orderDetail.setMateCpCd(bestSupplier.getMateCpCd());
-            orderDetail.setCurrQty(BigDecimal.ZERO);
-            
-            purchaseOrderDetails.add(orderDetail);
-            System.out.println("발주서 상세 추가 완료");
-        }
-        
-        System.out.println("최종 발주서 상세 개수: " + purchaseOrderDetails.size());
-        return purchaseOrderDetails;
-    }
 
     // 통합 저장 메소드만 새로 추가
     public String saveProdPlanWithMrpAndUpdateUser(ProdPlanFullVO fullVO, String empCd) {
@@ -1,11 +1,8 @@
 package com.kimbap.kbs.production.serviceimpl;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.sql.Timestamp;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -15,16 +12,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.kimbap.kbs.common.exception.InsufficientStockException;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.service.StockEntryVO;
+import com.kimbap.kbs.common.service.StockLedgerService;
+import com.kimbap.kbs.dashboard.service.DashboardSnapshotService;
 import com.kimbap.kbs.production.mapper.ProdRequestMapper;
-import com.kimbap.kbs.production.service.BomDetailVO;
 import com.kimbap.kbs.production.service.MateReleaseVO;
 import com.kimbap.kbs.production.service.ProdInboundVO;
 import com.kimbap.kbs.production.service.ProdRequestDetailVO;
 import com.kimbap.kbs.production.service.ProdRequestFullVO;
 import com.kimbap.kbs.production.service.ProdRequestService;
 import com.kimbap.kbs.production.service.ProdRequestVO;
-import com.kimbap.kbs.production.service.WaStockVO;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,6 +33,10 @@ public class ProdRequestServiceImpl implements ProdRequestService {
   
   @Autowired  
   private final ProdRequestMapper mapper;
+  private final KeyGeneratorService keyGeneratorService;
+  private final MaterialIssueEngine materialIssueEngine;
+  private final DashboardSnapshotService dashboardSnapshotService;
+  private final StockLedgerService stockLedgerService;
 
   // 생산요청 조건 검색
   @Override
@@ -81,10 +84,6 @@ public class ProdRequestServiceImpl implements ProdRequestService {
     String fcode = request.getFcode();
     String facVerCd = request.getFacVerCd();
 
-    // LOT 번호 생성을 위한 시퀀스 관리
-    String today = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-    int lotSequence = mapper.getMaxLotSequenceForToday(today);
-
     // 신규 또는 수정 분기 처리
     for (ProdRequestDetailVO detail : details) {
       detail.setProduReqCd(produReqCd);
@@ -95,107 +94,50 @@ public class ProdRequestServiceImpl implements ProdRequestService {
       } else {
         mapper.updateProdReqDetail(detail);
       }
-        // 자재출고 처리
-        String produProdCd = detail.getProduProdCd();
-        String pcode = detail.getPcode();
-        String prodVerCd = detail.getProdVerCd();
-        Integer reqQty = detail.getReqQty();
-
-        // BOM 조회
-        List<BomDetailVO> materials = mapper.selectBomMaterials(pcode, prodVerCd);
-        for (BomDetailVO material : materials) {
-            // 총 필요수량 = 요청수량 * 소요량
-            BigDecimal remaining = BigDecimal.valueOf(reqQty).multiply(material.getNeedQty());
-
-            // mcode + mateVerCd 기준 LOT FIFO 조회
-            List<WaStockVO> stocks = mapper.selectAvailableStocks(material.getMcode(), material.getMateVerCd());
-
-            for (WaStockVO stock : stocks) {
-                if (remaining.compareTo(BigDecimal.ZERO) <= 0) break;
-
-                // 이 행에서 뺄 양 = min(행재고, 남은수량)
-                BigDecimal delta = stock.getQty().min(remaining).setScale(0, RoundingMode.CEILING);
-                if (delta.compareTo(BigDecimal.ZERO) <= 0) continue;
-
-                // 음수 방지 가드(AND qty >= :delta)가 있는 UPDATE
-                int updated = mapper.decreaseWareStock(stock.getWslcode(), delta);
-                if (updated == 0) {
-                    // 경쟁 등으로 수량 변동 → 현재 수량 재조회 후 가능한 만큼만 재시도
-                    BigDecimal cur = mapper.selectQtyByWslcode(stock.getWslcode());
-                    if (cur != null && cur.compareTo(BigDecimal.ZERO) > 0) {
-                      BigDecimal retry = cur.min(delta).setScale(0, RoundingMode.CEILING);
-                      if (retry.compareTo(BigDecimal.ZERO) > 0) {
-                        mapper.decreaseWareStock(stock.getWslcode(), retry);
-                        insertMateRel(produProdCd, material, stock, retry, mname, resolveRelType(material.getMcode()));
-                        remaining = remaining.subtract(retry);
-                      } 
-                    }
-                  continue;
-                }
-
-                // 출고 이력 기록
-                insertMateRel(produProdCd, material, stock, delta, mname, resolveRelType(material.getMcode()));
-                remaining = remaining.subtract(delta);
-            }
-
-            if (remaining.compareTo(BigDecimal.ZERO) > 0) {
-                throw new InsufficientStockException("자재 재고 부족: " + material.getMcode());
-            }
-        }
+    }
+
+    // 자재출고 처리 (요청 전체 자재를 한 번에 잠그고 LOT FIFO 출고)
+    List<StockEntryVO> entries = new ArrayList<>();
+    for (MateReleaseVO rel : materialIssueEngine.issue(details, mname)) {
+      entries.add(StockEntryVO.builder()
+          .entryType("O")
+          .entryCat(rel.getRelType())
+          .itemCode(rel.getMcode())
+          .verCd(rel.getMateVerCd())
+          .lotNo(rel.getLotNo())
+          .wareAreaCd(rel.getWareAreaCd())
+          .wslcode(rel.getWslcode())
+          .qty(rel.getRelQty().negate())
+          .refCd(rel.getMateRelCd())
+          .note(rel.getNote())
+          .regi(rel.getMname())
+          .build());
+    }
+    stockLedgerService.post(entries);
 
+    for (ProdRequestDetailVO detail : details) {
       // 제품입고 처리 - 각 제품마다 고유한 LOT 번호 생성
-      lotSequence++; // 시퀀스 증가
-      String lotNo = String.format("LOT-300-%s-%d", today, lotSequence);
+      String lotNo = keyGeneratorService.nextKey(KeyFormats.PROD_LOT);
       
       // 제품입고 처리
       ProdInboundVO inbo = new ProdInboundVO();
       inbo.setProdInboCd(createNewProdInboCd());
       inbo.setLotNo(lotNo);
-      inbo.setPcode(pcode);
-      inbo.setProdVerCd(prodVerCd);
-      inbo.setInboQty(reqQty);
-      inbo.setProduProdCd(produProdCd);
+      inbo.setPcode(detail.getPcode());
+      inbo.setProdVerCd(detail.getProdVerCd());
+      inbo.setInboQty(detail.getReqQty());
+      inbo.setProduProdCd(detail.getProduProdCd());
       inbo.setInboStatus("b4");
       inbo.setInboDt(Timestamp.valueOf(LocalDateTime.now()));
       inbo.setFcode(fcode);
       inbo.setFacVerCd(facVerCd);
       mapper.insertProdInbo(inbo);
-
-      mapper.updateProductionReqStatus(produReqCd, "b4");
-
     }
-  }
-  // ===== Helper: 출고 이력 Insert =====
-  private void insertMateRel(String produProdCd,
-                            BomDetailVO material,
-                            WaStockVO stock,
-                            BigDecimal relQty,
-                            String mname,
-                            String relType) {
-    MateReleaseVO rel = new MateReleaseVO();
-    rel.setMateRelCd(mapper.getNewMateRelCd());
-    rel.setProduProdCd(produProdCd);
-    rel.setMcode(material.getMcode());
-    rel.setMateVerCd(material.getMateVerCd());
-    rel.setWslcode(stock.getWslcode());
-    rel.setLotNo(stock.getLotNo());
-    rel.setRelQty(relQty);
-    rel.setUnit(material.getUnit());
-    rel.setRelDt(LocalDate.now());
-    rel.setRelType(relType);
-    rel.setMname(mname);
-    rel.setCreDt(LocalDate.now());
-    mapper.insertMateRel(rel);
-  }
 
-  // ===== Helper: 자재 유형 → relType =====
-  private String resolveRelType(String mcode) {
-    if (mcode != null && mcode.length() >= 5) {
-      String typeDigit = mcode.substring(4, 5);
-      if ("1".equals(typeDigit)) return "y1";
-      if ("2".equals(typeDigit)) return "y1";
+    if (!details.isEmpty()) {
+      mapper.updateProductionReqStatus(produReqCd, "b4");
+      dashboardSnapshotService.recordProdInbound(details.size());
     }
-    return "y1";
   }
 
   // 생산요청과 관련 상세 삭제
@@ -207,13 +149,7 @@ public class ProdRequestServiceImpl implements ProdRequestService {
   }
   
   public String createNewProdInboCd() {
-      int latestSeq = mapper.selectTodayProdInboSeq(); // 가장 최근 일련번호
-      int newSeq = latestSeq + 1;
-
-      String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-      String pk = String.format("IN-%s-%04d", today, newSeq); // 예: IN-20250804-0004
-
-      return pk;
+      return keyGeneratorService.nextKey(KeyFormats.PROD_INBO); // 예: IN-20250804-0004
   }
 
 }
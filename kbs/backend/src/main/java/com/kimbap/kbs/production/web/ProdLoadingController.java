@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.kimbap.kbs.common.exception.PutAwayException;
 import com.kimbap.kbs.production.service.ProdInboundVO;
 import com.kimbap.kbs.production.service.ProdLoadingService;
 
@@ -97,6 +98,12 @@ public class ProdLoadingController {
           System.out.println("다중 제품 적재 처리 완료: " + prodLoadingList.size() + "건");
           return ResponseEntity.ok(response);
           
+      } catch (PutAwayException e) {
+          Map<String, Object> errorResponse = new HashMap<>();
+          errorResponse.put("success", false);
+          errorResponse.put("message", e.getMessage());
+          
+          return ResponseEntity.badRequest().body(errorResponse);
       } catch (Exception e) {
           System.err.println("다중 제품 적재 처리 실패: " + e.getMessage());
           e.printStackTrace();
@@ -109,6 +116,12 @@ public class ProdLoadingController {
       }
   }
 
+  // 일괄 적재 계획 미리보기 (구역 미지정 라인 자동 배정, 저장하지 않음)
+  @PostMapping("/plan")
+  public ResponseEntity<List<ProdInboundVO>> planProdLoading(@RequestBody List<ProdInboundVO> prodLoadingList) {
+    return ResponseEntity.ok(prodLoadingService.planProdLoading(prodLoadingList));
+  }
+
   // 구역 적재 가능 여부 검증
   @GetMapping("/validate-area")
   public ResponseEntity<Map<String, Object>> validateAreaAllocation(
@@ -21,7 +21,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.kimbap.kbs.security.filter.JwtAuthenticationFilter;
-import com.kimbap.kbs.security.util.JwtUtil;
+import com.kimbap.kbs.security.service.VerifiedTokenCache;
 
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -31,7 +31,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
 
     // 1. 비밀번호 인코더
@@ -92,6 +92,9 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
             // 기존 규칙 유지
             .requestMatchers("/api/memberAdd").hasRole("ADMIN")
 
+            // 건수 푸시 구독 티켓은 로그인 사용자만 (구독 자체는 티켓으로 확인)
+            .requestMatchers("/api/push/ticket").authenticated()
+
             // 나머지는 전부 허용 (정책에 따라 authenticated()로 변경 가능)
             .anyRequest().permitAll()
         )
@@ -101,7 +104,7 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
                 response.setStatus(HttpServletResponse.SC_OK);
             })
         )
-        .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, userDetailsService),
+        .addFilterBefore(new JwtAuthenticationFilter(verifiedTokenCache, userDetailsService),
             UsernamePasswordAuthenticationFilter.class)
         .build();
 }
@@ -1,29 +1,41 @@
 package com.kimbap.kbs.security.filter;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.kimbap.kbs.security.util.JwtUtil;
+import com.kimbap.kbs.security.service.JwtPrincipal;
+import com.kimbap.kbs.security.service.VerifiedTokenCache;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JWT 인증 필터
+ *
+ * - 토큰은 VerifiedTokenCache 로 한 번만 검증/파싱하고, 그 결과(JwtPrincipal)를 인증 주체로 쓴다.
+ * - 권한과 사용 가능/잠금 여부는 사용자 조회(UserDetailsService, TTL 캐시) 결과를 쓴다.
+ *   토큰 클레임의 권한은 쓰지 않으므로 권한 변경/잠금은 캐시가 비워지는 즉시 반영된다.
+ * - cpCd 는 기존처럼 요청 속성과 Authentication details 에도 넣는다.
+ */
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private static final String BEARER = "Bearer ";
+
+    private final VerifiedTokenCache tokenCache;
     private final UserDetailsService userDetailsService;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache, UserDetailsService userDetailsService) {
+        this.tokenCache = tokenCache;
         this.userDetailsService = userDetailsService;
     }
 
@@ -34,82 +46,51 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         // ✅ 로그인 요청은 JWT 검사 없이 통과시킴
-        String requestURI = request.getRequestURI();
-        System.out.println("JWT 필터 동작 중: " + request.getRequestURI());
-        if (requestURI.startsWith("/login")) {
+        if (request.getRequestURI().startsWith("/login")) {
             filterChain.doFilter(request, response);
             return;
         }
 
         String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            System.out.println("🔍 JWT 토큰 발견, 길이: " + token.length());
-            
-            String username = jwtUtil.getUsernameFromToken(token);
-            System.out.println("🔍 JWT에서 추출한 사용자명: " + username);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                System.out.println("🔍 UserDetails 로드 완료: " + userDetails.getUsername());
-
-                if (jwtUtil.validateToken(token)) {
-                    System.out.println("🔍 JWT 토큰 검증 성공!");
-                    
-                    // JWT 토큰에서 cpCd 추출
-                    String cpCd = jwtUtil.getCpCdFromToken(token);
-                    System.out.println("🔍 JWT에서 추출한 cpCd: " + cpCd);
-
-                    // 토큰 내용 직접 파싱해서 확인 (항상 실행)
-                    try {
-                        String[] parts = token.split("\\.");
-                        if (parts.length >= 2) {
-                            String payload = new String(java.util.Base64.getDecoder().decode(parts[1]));
-                            System.out.println("🔍 JWT 페이로드 원본: " + payload);
-                        }
-                    } catch (Exception e) {
-                        System.out.println("❌ JWT 페이로드 파싱 실패: " + e.getMessage());
-                    }
-
-                    // 요청 속성에 cpCd 저장
-                    if (cpCd != null && !cpCd.isEmpty()) {
-                        request.setAttribute("cpCd", cpCd);
-                        System.out.println("✅ 요청 속성에 cpCd 저장 완료: " + cpCd);
-                    } else {
-                        System.out.println("❌ JWT에서 cpCd를 추출할 수 없습니다");
-                    }
-
-                    UsernamePasswordAuthenticationToken authToken
-                            = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-
-                    // Authentication Details에도 cpCd 저장
-                    if (cpCd != null && !cpCd.isEmpty()) {
-                        Map<String, Object> details = new HashMap<>();
-                        details.put("cpCd", cpCd);
-                        authToken.setDetails(details);
-                        System.out.println("✅ Authentication Details에 cpCd 저장 완료: " + cpCd);
-                    }
-
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                } else {
-                    System.out.println("❌ JWT 토큰 검증 실패!");
-                }
-            } else {
-                if (username == null) {
-                    System.out.println("❌ JWT에서 사용자명 추출 실패");
-                }
-                if (SecurityContextHolder.getContext().getAuthentication() != null) {
-                    System.out.println("🔍 이미 인증된 사용자가 있음");
-                }
-            }
-        } else {
-            if (authHeader == null) {
-                System.out.println("❌ Authorization 헤더가 없습니다");
-            } else {
-                System.out.println("❌ Bearer 토큰이 아닙니다: " + authHeader);
-            }
+        if (authHeader != null && authHeader.startsWith(BEARER)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(request, authHeader.substring(BEARER.length()));
         }
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void authenticate(HttpServletRequest request, String token) {
+        JwtPrincipal principal = tokenCache.verify(token);
+        if (principal == null || principal.getUsername() == null) {
+            log.debug("JWT 토큰 검증 실패: {}", request.getRequestURI());
+            return;
+        }
+        UserDetails user = activeUser(principal.getUsername());
+        if (user == null) {
+            log.debug("사용할 수 없는 계정의 토큰: {}", principal.getUsername());
+            return;
+        }
+
+        // 요청 속성에 cpCd 저장
+        if (principal.getCpCd() != null && !principal.getCpCd().isEmpty()) {
+            request.setAttribute("cpCd", principal.getCpCd());
+        }
+
+        UsernamePasswordAuthenticationToken authToken
+                = new UsernamePasswordAuthenticationToken(principal, null, user.getAuthorities());
+        // Authentication Details에도 cpCd 저장
+        authToken.setDetails(principal.getDetails());
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    // 계정이 남아 있고 잠기지 않았으면 그 사용자 정보, 아니면 null (사용자 조회는 캐시됨)
+    private UserDetails activeUser(String username) {
+        try {
+            UserDetails user = userDetailsService.loadUserByUsername(username);
+            return user.isEnabled() && user.isAccountNonLocked() ? user : null;
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+}
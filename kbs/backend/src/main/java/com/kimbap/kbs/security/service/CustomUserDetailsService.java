@@ -1,7 +1,10 @@
 package com.kimbap.kbs.security.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,18 +15,68 @@ import org.springframework.stereotype.Service;
 import com.kimbap.kbs.simjaejine.mapper.MemberMapper;
 import com.kimbap.kbs.simjaejine.service.MemberVO;
 
-import lombok.RequiredArgsConstructor;
-
+/**
+ * 사용자/권한 조회 (짧은 TTL 캐시)
+ *
+ * - JWT 필터가 요청마다 부르므로 사용자 정보 + 권한 조회 결과를 ttlMillis 동안 캐시한다 (없는 사용자도 캐시).
+ * - 잠금/해제, 회원 등록 등 회원 정보가 바뀌면 MemberServiceImpl 이 evict 로 바로 버린다.
+ * - 캐시에는 바뀌지 않는 스냅샷만 두고, 호출마다 새 UserDetails 를 만들어 준다 (credentials 지우기가 캐시에 닿지 않도록).
+ */
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final MemberMapper memberMapper;
+    private final long ttlMillis;
+    // 사용자 ID → 조회 결과
+    private final Map<String, Snapshot> cache = new ConcurrentHashMap<>();
+
+    public CustomUserDetailsService(MemberMapper memberMapper,
+            @Value("${kbs.security.user-cache-ttl-ms:30000}") long ttlMillis) {
+        this.memberMapper = memberMapper;
+        this.ttlMillis = ttlMillis;
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        Snapshot snapshot = cache.get(username);
+        if (snapshot == null || now - snapshot.loadedAt >= ttlMillis) {
+            snapshot = load(username, now);
+            cache.put(username, snapshot);
+        }
+        if (snapshot.user == null) throw new UsernameNotFoundException("사용자 없음");
+
+        return User.builder()
+            .username(snapshot.user.getId())
+            .password(snapshot.user.getPw())
+            .authorities(snapshot.authorities) // ✅ 핵심
+            .accountLocked("f2".equals(snapshot.user.getIdUsed())) // 로그인 실패 잠금
+            .build();
+    }
+
+    // 사용자 한 명의 캐시를 버린다 (회원 정보/권한/잠금 상태가 바뀌었을 때)
+    public void evict(String username) {
+        if (username != null) {
+            cache.remove(username);
+        }
+    }
+
+    // 회원코드로 캐시를 버린다
+    public void evictMember(String memCd) {
+        if (memCd != null) {
+            cache.values().removeIf(snapshot -> snapshot.user != null && memCd.equals(snapshot.user.getMemCd()));
+        }
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+
+    private Snapshot load(String username, long now) {
         MemberVO user = memberMapper.getUserInfo(username);
-        if (user == null) throw new UsernameNotFoundException("사용자 없음");
+        if (user == null) {
+            return new Snapshot(null, List.of(), now);
+        }
 
         // DB에서 권한 읽기
         List<String> roles = memberMapper.selectRolesByMemberId(username); // 예: ["ROLE_ADMIN", "ROLE_USER"]
@@ -33,12 +86,9 @@ public class CustomUserDetailsService implements UserDetailsService {
             .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
             .map(SimpleGrantedAuthority::new)
             .toList();
+        return new Snapshot(user, authorities, now);
+    }
 
-        return User.builder()
-            .username(user.getId())
-            .password(user.getPw())
-            .authorities(authorities) // ✅ 핵심
-            .build();
+    private record Snapshot(MemberVO user, List<SimpleGrantedAuthority> authorities, long loadedAt) {
     }
 }
-
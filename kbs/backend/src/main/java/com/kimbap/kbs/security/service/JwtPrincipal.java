@@ -0,0 +1,62 @@
+package com.kimbap.kbs.security.service;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * 검증된 JWT 의 내용 (사용자 ID, 회사코드, 권한, 만료시각). 한 번 만들면 바뀌지 않으므로 요청 간에 공유한다.
+ */
+public final class JwtPrincipal implements Principal {
+
+    private final String username;
+    private final String cpCd;
+    private final List<GrantedAuthority> authorities;
+    private final long expiresAt;
+    // Authentication details (기존 호환: {"cpCd": ...})
+    private final Map<String, Object> details;
+
+    public JwtPrincipal(String username, String cpCd, List<GrantedAuthority> authorities, long expiresAt) {
+        this.username = username;
+        this.cpCd = cpCd;
+        this.authorities = List.copyOf(authorities);
+        this.expiresAt = expiresAt;
+        this.details = cpCd != null && !cpCd.isEmpty() ? Map.of("cpCd", cpCd) : null;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getCpCd() {
+        return cpCd;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
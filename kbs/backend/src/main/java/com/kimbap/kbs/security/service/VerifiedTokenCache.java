@@ -0,0 +1,79 @@
+package com.kimbap.kbs.security.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.kimbap.kbs.security.util.JwtUtil;
+
+/**
+ * 서명 검증을 마친 토큰 → JwtPrincipal 캐시
+ *
+ * - 같은 토큰으로 들어오는 요청은 서명 검증/파싱 없이 캐시된 principal 을 쓴다. 만료된 항목은 쓰지 않는다.
+ * - 최대 maxSize 개. 가득 차면 만료된 항목을 먼저 지우고, 그래도 가득이면 만료가 가까운 순으로 1/4 을 비운다
+ *   (방금 로그인해 받은 토큰일수록 오래 남는다).
+ * - 키는 토큰 문자열 전체이므로 한 글자라도 다른 토큰은 새로 검증한다.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final int maxSize;
+    private final Map<String, JwtPrincipal> cache = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, @Value("${kbs.security.token-cache-size:10000}") int maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.maxSize = maxSize;
+    }
+
+    /**
+      * 토큰의 principal (서명이 틀렸거나 만료되었으면 null)
+      */
+    public JwtPrincipal verify(String token) {
+        long now = System.currentTimeMillis();
+        JwtPrincipal cached = cache.get(token);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            cache.remove(token, cached);
+        }
+
+        JwtPrincipal principal = jwtUtil.parse(token);
+        if (principal == null || principal.isExpired(now)) {
+            return null;
+        }
+        if (cache.size() >= maxSize) {
+            shrink(now);
+        }
+        cache.put(token, principal);
+        return principal;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    // 만료 항목 제거, 그래도 가득 차 있으면 만료가 가까운 순으로 1/4 을 비운다
+    private void shrink(long now) {
+        cache.values().removeIf(principal -> principal.isExpired(now));
+        if (cache.size() < maxSize) {
+            return;
+        }
+        int toRemove = cache.size() - maxSize * 3 / 4;
+        List<Map.Entry<String, JwtPrincipal>> entries = new ArrayList<>(cache.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().getExpiresAt()));
+        for (Map.Entry<String, JwtPrincipal> entry : entries.subList(0, Math.min(toRemove, entries.size()))) {
+            cache.remove(entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -2,28 +2,36 @@ package com.kimbap.kbs.security.util;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import com.kimbap.kbs.security.service.JwtPrincipal;
 import com.kimbap.kbs.simjaejine.service.MemberVO;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Component
 public class JwtUtil {
 
     private final Key key = Keys.hmacShaKeyFor("KimbapJwtSecretKey1234567890KimbapJwt!".getBytes(StandardCharsets.UTF_8));
     private final long EXPIRATION = 1000 * 60 * 60; // 1시간
+    // 서명 검증기 (thread-safe, 재사용)
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
 
     public String generateToken(MemberVO user) {
-        System.out.println("🔍 JWT 토큰 생성 시작 - 사용자: " + user.getId() + ", cpCd: " + user.getCpCd());
-        
-        String token = Jwts.builder()
+        return Jwts.builder()
                 .setSubject(user.getId())
                 .claim("authorities", user.getAuthorities()) // 토큰에서 권한 꺼내기
                 .claim("cpCd", user.getCpCd())
@@ -31,66 +39,58 @@ public class JwtUtil {
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
-        
-        System.out.println("✅ JWT 토큰 생성 완료, 길이: " + token.length());
-        
-        // 생성된 토큰 검증
+    }
+
+    /**
+     * 토큰을 한 번 검증/파싱해서 principal 로 만든다 (요청 필터용, 실패하면 null)
+     * 권한은 로그인 시 넣은 authorities 클레임 (ROLE_ 접두사가 없으면 붙인다)
+     */
+    public JwtPrincipal parse(String token) {
+        Claims claims;
         try {
-            Claims claims = Jwts.parserBuilder().setSigningKey(key).build()
-                    .parseClaimsJws(token).getBody();
-            System.out.println("🔍 생성된 토큰 검증 - subject: " + claims.getSubject());
-            System.out.println("🔍 생성된 토큰 검증 - cpCd: " + claims.get("cpCd", String.class));
-        } catch (Exception e) {
-            System.out.println("❌ 생성된 토큰 검증 실패: " + e.getMessage());
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (claims.get("authorities") instanceof List<?> roles) {
+            for (Object role : roles) {
+                if (role != null) {
+                    String name = role.toString();
+                    authorities.add(new SimpleGrantedAuthority(name.startsWith("ROLE_") ? name : "ROLE_" + name));
+                }
+            }
         }
-        
-        return token;
+        Date expiration = claims.getExpiration();
+        return new JwtPrincipal(claims.getSubject(), claims.get("cpCd", String.class), authorities,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
     }
 
     public String getUsernameFromToken(String token) {
         try {
-            System.out.println("🔍 getUsernameFromToken 시작");
-            String username = Jwts.parserBuilder().setSigningKey(key).build()
-                    .parseClaimsJws(token).getBody().getSubject();
-            System.out.println("🔍 getUsernameFromToken 성공: " + username);
-            return username;
+            return parser.parseClaimsJws(token).getBody().getSubject();
         } catch (JwtException e) {
-            System.out.println("❌ getUsernameFromToken 실패: " + e.getMessage());
-            e.printStackTrace();
+            log.debug("토큰에서 사용자 ID 추출 실패: {}", e.getMessage());
             return null;
         }
     }
 
     public String getCpCdFromToken(String token) {
         try {
-            System.out.println("🔍 getCpCdFromToken 시작");
-            Claims claims = Jwts.parserBuilder().setSigningKey(key).build()
-                    .parseClaimsJws(token).getBody();
-            
-            System.out.println("🔍 JWT 클레임 파싱 성공");
-            System.out.println("🔍 모든 클레임: " + claims);
-            
-            String cpCd = claims.get("cpCd", String.class);
-            System.out.println("🔍 추출된 cpCd: " + cpCd);
-            
-            return cpCd;
+            return parser.parseClaimsJws(token).getBody().get("cpCd", String.class);
         } catch (JwtException e) {
-            System.out.println("❌ JWT에서 cpCd 추출 실패: " + e.getMessage());
-            e.printStackTrace();
+            log.debug("토큰에서 cpCd 추출 실패: {}", e.getMessage());
             return null;
         }
     }
 
     public boolean validateToken(String token) {
         try {
-            System.out.println("🔍 validateToken 시작");
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            System.out.println("✅ validateToken 성공");
+            parser.parseClaimsJws(token);
             return true;
         } catch (JwtException e) {
-            System.out.println("❌ validateToken 실패: " + e.getMessage());
-            e.printStackTrace();
+            log.debug("토큰 검증 실패: {}", e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+}
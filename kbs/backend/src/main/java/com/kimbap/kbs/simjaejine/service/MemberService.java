@@ -24,7 +24,7 @@ public interface MemberService {
     // ✅ 로그인 실패 시 처리
     void loginFailure(LoginSecurityVO vo);
     
-    // 🔽 권한(role) 리스트 조회
-    List<String> selectRolesByMemberId(String memCd);
+    // 🔽 권한(role) 리스트 조회 (로그인 ID 기준)
+    List<String> selectRolesByMemberId(String id);
 
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.util.TxUtil;
+import com.kimbap.kbs.security.service.CustomUserDetailsService;
 import com.kimbap.kbs.simjaejine.mapper.MemberMapper;
 import com.kimbap.kbs.simjaejine.service.EmpCpCheckVO;
 import com.kimbap.kbs.simjaejine.service.LoginSecurityVO;
@@ -20,6 +22,7 @@ import lombok.RequiredArgsConstructor;
 public class MemberServiceImpl implements MemberService {
     private final MemberMapper memberMapper;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     public MemberVO getUserInfo(String id) {
@@ -28,7 +31,8 @@ public class MemberServiceImpl implements MemberService {
 
         // 2. 사용자 권한 조회 및 VO에 세팅
         if (user != null) {
-            List<String> roles = memberMapper.selectRolesByMemberId(user.getMemCd());
+            // 매퍼는 member.id(로그인 ID) 로 조회한다 (mem_cd 가 아님 - WHERE m.id = #{username})
+            List<String> roles = memberMapper.selectRolesByMemberId(user.getId());
             user.setAuthorities(roles); // ✅ 권한 주입
         }
 
@@ -37,19 +41,26 @@ public class MemberServiceImpl implements MemberService {
     }
 
     @Override
-    public List<String> selectRolesByMemberId(String memCd) {
-        return memberMapper.selectRolesByMemberId(memCd);
+    public List<String> selectRolesByMemberId(String id) {
+        return memberMapper.selectRolesByMemberId(id);
     }
 
+    @Transactional
     @Override
     public void loginSuccess(LoginSecurityVO vo) {
         memberMapper.loginSuccess(vo);   // 실패 횟수 초기화
         memberMapper.recentLogin(vo);    // 최근 로그인 시간 갱신
+        String memCd = vo.getMemCd();
+        TxUtil.afterCommit(() -> userDetailsService.evictMember(memCd));
     }
 
+    @Transactional
     @Override
     public void loginFailure(LoginSecurityVO vo) {
         memberMapper.loginFailure(vo);   // 실패 횟수 증가 및 잠금 처리
+        // 잠겼으면 기존 토큰도 바로 막힘 (커밋 후에 버려야 이전 상태가 다시 캐시되지 않는다)
+        String memCd = vo.getMemCd();
+        TxUtil.afterCommit(() -> userDetailsService.evictMember(memCd));
     }
 
     // 회원등록
@@ -67,6 +78,10 @@ public class MemberServiceImpl implements MemberService {
         // login_security 테이블 등록 (위에서 생성된 memCd 사용)
         memberMapper.memberAddSecurity(memberAddVO);
 
+        // 없는 사용자로 캐시되어 있었을 수 있음 (커밋 후에 버려야 다시 캐시되지 않는다)
+        String id = memberAddVO.getId();
+        TxUtil.afterCommit(() -> userDetailsService.evict(id));
+
         return result;
     }
 
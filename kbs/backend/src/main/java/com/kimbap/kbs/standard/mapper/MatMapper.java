@@ -14,6 +14,7 @@ public interface MatMapper  {
 	boolean existsMcode(String mcode);
 	MatVO getMatDetail(String mcode); // 자재 단건 조회
 	List<MatSupplierVO> getMatSuppliers(String mcode); // 해당자재의 공급사 조회
+	List<MatSupplierVO> selectLatestMatSuppliers(String mcode); // 최신 사용 버전(getMatDetail 기준)의 사용중 공급사
 	List<MatVO> selectMatHistory(String mcode); // 자재기준정보 이력조회
 	MatVO selectLatestVersion(String mcode); // 최신 버전 조회
 	int disableOldVersion(String mcode); // 기존 버전 비활성화
@@ -1,8 +1,12 @@
 package com.kimbap.kbs.standard.mapper;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import com.kimbap.kbs.standard.service.VersionSyncJobVO;
+
 @Mapper
 public interface VersionSyncMapper {
     int updateVersionDynamic(@Param("table") String table,
@@ -11,4 +15,45 @@ public interface VersionSyncMapper {
                              @Param("code") String code,
                              @Param("oldVer") String oldVer,
                              @Param("newVer") String newVer);
+
+    // ===== 버전 참조 동기화 작업 (ver_sync_job) =====
+
+    // 버전 변경 기록 (참조 테이블별 1행)
+    int insertJobs(List<VersionSyncJobVO> jobs);
+
+    // 처리할 작업 - 대기/진행(임대 만료)/실패(재시도 간격 경과), 같은 코드의 앞선 작업이 끝난 것만
+    List<VersionSyncJobVO> selectRunnableJobs(@Param("leaseSeconds") int leaseSeconds,
+                                              @Param("limit") int limit);
+
+    // 작업 선점 (0이면 다른 노드가 처리 중)
+    int claimJob(@Param("jobId") String jobId,
+                 @Param("tblName") String tblName,
+                 @Param("leaseSeconds") int leaseSeconds);
+
+    // afterRowid 다음부터 옛 버전 행 chunkSize 개를 덮는 rowid 구간의 끝 (없으면 null)
+    String selectChunkEnd(@Param("job") VersionSyncJobVO job,
+                          @Param("afterRowid") String afterRowid,
+                          @Param("chunkSize") int chunkSize);
+
+    // (afterRowid, endRowid] 구간의 옛 버전 행만 새 버전으로
+    int updateVersionRange(@Param("job") VersionSyncJobVO job,
+                           @Param("afterRowid") String afterRowid,
+                           @Param("endRowid") String endRowid);
+
+    // 청크 처리 결과 기록 (같은 트랜잭션에서 updateVersionRange 직후)
+    int updateProgress(@Param("jobId") String jobId,
+                       @Param("tblName") String tblName,
+                       @Param("rows") int rows,
+                       @Param("lastRowid") String lastRowid);
+
+    int completeJob(@Param("jobId") String jobId,
+                    @Param("tblName") String tblName);
+
+    int failJob(@Param("jobId") String jobId,
+                @Param("tblName") String tblName,
+                @Param("errMsg") String errMsg);
+
+    // 진행 현황 (코드 지정 시 해당 코드만, 최근 순)
+    List<VersionSyncJobVO> selectJobs(@Param("code") String code,
+                                      @Param("limit") int limit);
 }
@@ -0,0 +1,28 @@
+package com.kimbap.kbs.standard.service;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VersionSyncJobVO {
+    private String jobId;          // 버전 변경 1건 (VSYNC-yyMMdd-001)
+    private String tblName;        // 참조 테이블
+    private String codeCol;        // 기준 코드 컬럼 (MCODE, PCODE ...)
+    private String verCol;         // 버전 컬럼 (MATE_VER_CD ...)
+    private String code;           // 기준 코드
+    private String oldVer;         // 이전 버전
+    private String newVer;         // 새 버전
+    private String status;         // P 대기, R 진행, C 완료, F 실패
+    private Long doneRows;         // 지금까지 바꾼 행 수
+    private String lastRowid;      // 마지막으로 처리한 청크 끝 rowid (재개 위치)
+    private String errMsg;         // 마지막 실패 사유
+    private Timestamp creDt;
+    private Timestamp updDt;
+}
@@ -1,97 +1,103 @@
 package com.kimbap.kbs.standard.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.util.TxUtil;
 import com.kimbap.kbs.standard.mapper.VersionSyncMapper;
+import com.kimbap.kbs.standard.serviceimpl.VersionSyncWorker;
 
+/**
+ * 기준정보 버전 변경 시 참조 테이블의 버전 컬럼 동기화
+ *
+ * - 기준정보 성격의 작은 테이블(BOM, 공장최대생산량, 창고구역 등)은 호출한 트랜잭션 안에서 바로 바꾼다.
+ *   BOM 전개 캐시/적재 현황 인덱스가 이 테이블들을 보므로 커밋 시점에 맞아야 한다.
+ * - 입고/출고/이동 같은 이력 테이블은 ver_sync_job 에 변경만 기록하고 바로 돌아온다.
+ *   커밋 후 VersionSyncWorker 가 rowid 구간 단위로 나눠서 바꾸므로 수정 화면이 창고 작업의 행 잠금을 오래 잡지 않는다.
+ */
 @Service
 @RequiredArgsConstructor
 public class VersionSyncService {
 
     private final VersionSyncMapper versionSyncMapper;
+    private final KeyGeneratorService keyGeneratorService;
+    private final VersionSyncWorker versionSyncWorker;
 
     /**
      * 공장 기준정보 버전 동기화 처리
      */
     public void syncFactoryVersion(String fcode, String oldVer, String newVer) {
-        List<String> targetTables = List.of("FACTORY_MAX", "PROD_PLAN", "PROD_INBO", "WAREHOUSE");
-
-        for (String table : targetTables) {
-            versionSyncMapper.updateVersionDynamic(
-                table,
-                "FCODE",        // 공장코드 컬럼명
-                "FAC_VER_CD",   // 버전 컬럼명
-                fcode,
-                oldVer,
-                newVer
-            );
-        }
+        sync("FCODE", "FAC_VER_CD", fcode, oldVer, newVer,
+            List.of("FACTORY_MAX", "WAREHOUSE"),
+            List.of("PROD_PLAN", "PROD_INBO"));
     }
 
-    // 자재, 제품도 마찬가지로 동일하게 확장 가능
+    // 자재
     public void syncMaterialVersion(String mcode, String oldVer, String newVer) {
-        List<String> matTables = List.of("BOM_D",
-        "MATE_INBO",
-        "MATE_REL",
-        "MATE_SUPPLIER",
-        "MOVE_REQ_D",
-        "MRP_D",
-        "PURC_ORD_D",
-        "SUPPLY_PLAN_D");
-        for (String table : matTables) {
-            versionSyncMapper.updateVersionDynamic(
-                table,
-                "MCODE",
-                "MATE_VER_CD",
-                mcode,
-                oldVer,
-                newVer
-            );
-        }
+        sync("MCODE", "MATE_VER_CD", mcode, oldVer, newVer,
+            List.of("BOM_D", "MATE_SUPPLIER"),
+            List.of("MATE_INBO",
+                "MATE_REL",
+                "MOVE_REQ_D",
+                "MRP_D",
+                "PURC_ORD_D",
+                "SUPPLY_PLAN_D"));
     }
 
-    // 제품 
+    // 제품
     public void syncProductVersion(String pcode, String oldVer, String newVer) {
-        List<String> productTables = List.of(
-            "BOM",
-            "FACTORY_MAX",
-            "MOVE_REQ_D",
-            "PROD_INBO",
-            "PROD_PLAN_D",
-            "PROD_REL",
-            "PROD_REQ"
-            // "ORDER_D"는 애초에 제외됨
-        );
-
-        for (String table : productTables) {
-            versionSyncMapper.updateVersionDynamic(
-                table,
-                "PCODE",         // 기준 코드 컬럼명
-                "PROD_VER_CD",   // 버전 컬럼명
-                pcode,
-                oldVer,
-                newVer
-            );
-        }
+        sync("PCODE", "PROD_VER_CD", pcode, oldVer, newVer,
+            List.of("BOM", "FACTORY_MAX"),
+            List.of(
+                "MOVE_REQ_D",
+                "PROD_INBO",
+                "PROD_PLAN_D",
+                "PROD_REL",
+                "PROD_REQ"
+                // "ORDER_D"는 애초에 제외됨
+            ));
     }
 
     // 창고
     public void syncWarehouseVersion(String wcode, String oldVer, String newVer) {
-        List<String> warehouseTables = List.of(
-            "RELEASE_ORD",
-            "WARE_D"
-        );
+        sync("WCODE", "WARE_VER_CD", wcode, oldVer, newVer,
+            List.of("WARE_D"),
+            List.of("RELEASE_ORD"));
+    }
+
+    // 진행 현황 (code 가 없으면 전체, 최근 순)
+    public List<VersionSyncJobVO> getJobs(String code, int limit) {
+        return versionSyncMapper.selectJobs(code, limit);
+    }
+
+    /**
+     * @param masterTables  바로 바꾸는 테이블
+     * @param historyTables 작업으로 기록해서 나중에 바꾸는 테이블
+     */
+    private void sync(String codeCol, String verCol, String code, String oldVer, String newVer,
+                      List<String> masterTables, List<String> historyTables) {
+        for (String table : masterTables) {
+            versionSyncMapper.updateVersionDynamic(table, codeCol, verCol, code, oldVer, newVer);
+        }
 
-        for (String table : warehouseTables) {
-            versionSyncMapper.updateVersionDynamic(
-                table,
-                "WCODE",         // 창고 코드 컬럼
-                "WARE_VER_CD",   // 창고 버전 컬럼
-                wcode,
-                oldVer,
-                newVer
-            );
+        String jobId = keyGeneratorService.nextKey(KeyFormats.VER_SYNC);
+        List<VersionSyncJobVO> jobs = new ArrayList<>();
+        for (String table : historyTables) {
+            jobs.add(VersionSyncJobVO.builder()
+                .jobId(jobId)
+                .tblName(table)
+                .codeCol(codeCol)
+                .verCol(verCol)
+                .code(code)
+                .oldVer(oldVer)
+                .newVer(newVer)
+                .build());
         }
+        versionSyncMapper.insertJobs(jobs);
+        // 기준정보 수정이 커밋된 뒤에 처리 시작 (롤백되면 작업 행도 같이 사라진다)
+        TxUtil.afterCommit(versionSyncWorker::wakeUp);
     }
-}
\ No newline at end of file
+}
@@ -8,6 +8,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+import com.kimbap.kbs.common.util.TxUtil;
 import com.kimbap.kbs.standard.mapper.CompanyMapper;
 import com.kimbap.kbs.standard.service.CompanyService;
 import com.kimbap.kbs.standard.service.CompanyVO;
@@ -18,21 +21,27 @@ public class CompanyServiceImpl implements CompanyService {
     @Autowired
     private CompanyMapper companyMapper;
 
+    @Autowired
+    private MasterDataCache masterDataCache;
+
     // 거래처 목록 조회
     @Override
     public List<CompanyVO> getCompanyList() {
-        return companyMapper.getCompanyList();
+        return masterDataCache.get(MasterRegion.COMPANY,
+                MasterDataCache.key(MasterDataCache.LIST, "all", "company"), companyMapper::getCompanyList);
     }
 
-    // 공급업체 목록 조회
+    // 공급업체 목록 조회 (발주/자재 화면 드롭다운)
     @Override
     public List<CompanyVO> getSupplierList(){
-        return companyMapper.getSupplierList();
+        return masterDataCache.get(MasterRegion.COMPANY,
+                MasterDataCache.key(MasterDataCache.LIST, "j1", "company"), companyMapper::getSupplierList);
     }
-    // 매출업체 목록 조회
+    // 매출업체 목록 조회 (주문 화면 드롭다운)
     @Override
     public List<CompanyVO> getSalesList(){
-        return companyMapper.getSalesList();
+        return masterDataCache.get(MasterRegion.COMPANY,
+                MasterDataCache.key(MasterDataCache.LIST, "j2", "company"), companyMapper::getSalesList);
     }
     
    @Transactional
@@ -67,6 +76,7 @@ public class CompanyServiceImpl implements CompanyService {
             cp.setRegi("admin");
         }
         companyMapper.insertCp(cp);
+        evictMasterCache(cpCd);
         System.out.println("등록되는 VO : " + cp);
     }
 
@@ -84,6 +94,7 @@ public class CompanyServiceImpl implements CompanyService {
         }
 
         companyMapper.updateCp(cp);
+        evictMasterCache(cp.getCpCd());
     }
 
 
@@ -100,6 +111,11 @@ public class CompanyServiceImpl implements CompanyService {
     }
 
 
+    // 거래처 목록 캐시 무효화 (커밋 후)
+    private void evictMasterCache(String cpCd) {
+        TxUtil.afterCommit(() -> masterDataCache.evict(MasterRegion.COMPANY, cpCd));
+    }
+
     // 미수금 내역 조회
     @Override
     public List<CompanyVO> getCustomerOutstanding() {
@@ -13,6 +13,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+import com.kimbap.kbs.common.util.TxUtil;
 import com.kimbap.kbs.standard.mapper.FacMapper;
 import com.kimbap.kbs.standard.service.ChangeItemVO;
 import com.kimbap.kbs.standard.service.FacMaxVO;
@@ -29,6 +32,9 @@ public class FacServiceImpl  implements FacService{
     @Autowired
     private VersionSyncService versionSyncService;
 
+    @Autowired
+    private MasterDataCache masterDataCache;
+
     // 목록 조회
     @Override
     public List<FacVO> getFacList(){
@@ -63,6 +69,7 @@ public class FacServiceImpl  implements FacService{
 
         // 공장 등록
         facMapper.insertFac(fac);
+        evictMasterCache(fcode);
         System.out.println("등록되는 VO: " + fac);
 
         // 최대 생산량 등록
@@ -83,6 +90,14 @@ public class FacServiceImpl  implements FacService{
         }
     }
 
+    // 공장 목록 캐시 무효화 (커밋 후). 창고의 공장 버전도 같은 트랜잭션에서 바뀌므로 창고 목록도 같이
+    private void evictMasterCache(String fcode) {
+        TxUtil.afterCommit(() -> {
+            masterDataCache.evict(MasterRegion.FACTORY, fcode);
+            masterDataCache.evictAll(MasterRegion.WAREHOUSE);
+        });
+    }
+
     // 버전 코드 생성 함수 (V001 -> V002)
     private String getNextVersion(String currentVer) {
         int verNum = Integer.parseInt(currentVer.replace("V", ""));
@@ -98,6 +113,7 @@ public class FacServiceImpl  implements FacService{
         if (oldFac == null) {
             throw new RuntimeException("존재하지 않는 공장코드: " + newFac.getFcode());
         }
+        evictMasterCache(newFac.getFcode());
 
         // 2) 기존 FacMax(자식) 목록 조회
         List<FacMaxVO> oldFacMaxList = facMapper.selectFacMaxbyFactory(
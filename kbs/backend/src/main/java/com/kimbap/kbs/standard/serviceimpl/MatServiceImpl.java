@@ -13,6 +13,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+import com.kimbap.kbs.common.serviceimpl.ParallelLookups;
+import com.kimbap.kbs.common.util.TxUtil;
+import com.kimbap.kbs.production.service.BomExplosionService;
 import com.kimbap.kbs.standard.mapper.MatMapper;
 import com.kimbap.kbs.standard.service.ChangeItemVO;
 import com.kimbap.kbs.standard.service.MatService;
@@ -29,6 +34,15 @@ public class MatServiceImpl implements MatService {
     @Autowired
     private VersionSyncService versionSyncService;
 
+    @Autowired
+    private BomExplosionService bomExplosionService;
+
+    @Autowired
+    private ParallelLookups parallelLookups;
+
+    @Autowired
+    private MasterDataCache masterDataCache;
+
     @Override
     public List<MatVO> getMatList() {
         return matMapper.getMatList();
@@ -76,6 +90,7 @@ public class MatServiceImpl implements MatService {
 
         // ✅ 자재 등록
         matMapper.insertMat(mat);
+        evictMasterCache(mcode);
         System.out.println("등록되는 VO: " + mat);
 
         // ✅ 공급사 등록
@@ -100,16 +115,15 @@ public class MatServiceImpl implements MatService {
     public Map<String, Object> getMaterialDetail(String mcode) {
         Map<String, Object> result = new HashMap<>();
 
-        MatVO material = matMapper.getMatDetail(mcode); // 여기서 mateVerCd도 나옴
-        List<MatSupplierVO> suppliers = matMapper.selectMatSuppliersByMaterial(
-                mcode,
-                material.getMateVerCd() // 버전 전달
-        );
-
-        result.put("material", material);
-        result.put("suppliers", suppliers);
-
-        return result;
+        // 공급사는 최신 사용 버전을 SQL 안에서 찾으므로 자재 조회와 동시에 실행
+        return parallelLookups.both(
+                () -> matMapper.getMatDetail(mcode),
+                () -> matMapper.selectLatestMatSuppliers(mcode),
+                (material, suppliers) -> {
+                    result.put("material", material);
+                    result.put("suppliers", suppliers);
+                    return result;
+                });
     }
 
     @Override
@@ -125,6 +139,7 @@ public class MatServiceImpl implements MatService {
         if (oldMat == null) {
             throw new RuntimeException("존재하지 않는 자재코드: " + newMat.getMcode());
         }
+        evictMasterCache(newMat.getMcode());
 
         // 2. 기존 공급사 목록 조회
         List<MatSupplierVO> oldSuppliers = matMapper.selectMatSuppliersByMaterial(
@@ -161,6 +176,8 @@ public class MatServiceImpl implements MatService {
 
             // ✅ 자식 테이블 버전 동기화
             versionSyncService.syncMaterialVersion(newMat.getMcode(), oldMat.getMateVerCd(), nextVer);
+            // BOM_D 의 자재 버전이 바뀌었으므로 BOM 전개 캐시 전체 무효화
+            bomExplosionService.evictAll();
 
             // ✅ 공급사 등록
             if (newMat.getSuppliers() != null && !newMat.getSuppliers().isEmpty()) {
@@ -204,6 +221,11 @@ public class MatServiceImpl implements MatService {
         return true;
     }
 
+    // 적재/LOT 발번이 보는 자재 기준정보 캐시 무효화 (커밋 후)
+    private void evictMasterCache(String mcode) {
+        TxUtil.afterCommit(() -> masterDataCache.evict(MasterRegion.MATERIAL, mcode));
+    }
+
     // 공급사 INSERT 공통 처리
     private void insertSuppliers(MatVO mat, String ver) {
         int index = 1;
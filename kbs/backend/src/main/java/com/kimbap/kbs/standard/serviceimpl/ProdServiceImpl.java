@@ -12,6 +12,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+import com.kimbap.kbs.common.util.TxUtil;
+import com.kimbap.kbs.production.service.BomExplosionService;
 import com.kimbap.kbs.standard.mapper.ProdMapper;
 import com.kimbap.kbs.standard.service.ChangeItemVO;
 import com.kimbap.kbs.standard.service.ProdService;
@@ -27,6 +31,12 @@ public class ProdServiceImpl implements ProdService{
     @Autowired
     private VersionSyncService versionSyncService;
 
+    @Autowired
+    private BomExplosionService bomExplosionService;
+
+    @Autowired
+    private MasterDataCache masterDataCache;
+
     @Override
     public List<ProdVO> getProdList() {
       return prodMapper.getProdList();
@@ -59,6 +69,8 @@ public class ProdServiceImpl implements ProdService{
 
         // 5. 등록 수행
         prodMapper.insertProd(prod);
+        bomExplosionService.evictProduct(pcode);
+        evictMasterCache(pcode);
         System.out.println("등록되는 VO : " + prod);
     }
 
@@ -69,6 +81,7 @@ public class ProdServiceImpl implements ProdService{
         if (oldProd == null) {
             throw new RuntimeException("존재하지 않는 제품코드: " + newProd.getPcode());
         }
+        evictMasterCache(newProd.getPcode());
 
         // 2. 내용 변경 여부 확인 (isUsed는 비교 대상에서 제외)
         boolean isChanged =
@@ -99,12 +112,15 @@ public class ProdServiceImpl implements ProdService{
                 oldProd.getProdVerCd(),
                 nextVer
             );
+            // BOM 전개 캐시 무효화 (이 제품을 반제품으로 쓰는 상위 제품 포함)
+            bomExplosionService.evictProduct(newProd.getPcode());
 
             System.out.println("🆕 내용 변경 → 버전 증가: " + newProd);
 
         } else if (!Objects.equals(oldProd.getIsUsed(), newProd.getIsUsed())) {
             // ✅ 내용은 동일하고 사용여부만 바뀐 경우 - update만
             prodMapper.updateIsUsedOnly(oldProd.getPcode(), oldProd.getProdVerCd(), newProd.getIsUsed(), newProd.getModi());
+            bomExplosionService.evictProduct(oldProd.getPcode());
             System.out.println("🛠 사용여부만 변경됨 → update: " + newProd.getIsUsed());
         } else {
             // ❌ 변경 없음
@@ -177,6 +193,11 @@ public class ProdServiceImpl implements ProdService{
         return changeItems;
     }
 
+    // 적재가 보는 제품 기준정보 캐시 무효화 (커밋 후)
+    private void evictMasterCache(String pcode) {
+        TxUtil.afterCommit(() -> masterDataCache.evict(MasterRegion.PRODUCT, pcode));
+    }
+
     // 버전 코드 생성 함수 (V001 -> V002)
     private String getNextVersion(String currentVer) {
         int verNum = Integer.parseInt(currentVer.replace("V", ""));
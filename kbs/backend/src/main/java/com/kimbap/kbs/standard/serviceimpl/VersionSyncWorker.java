@@ -0,0 +1,154 @@
+package com.kimbap.kbs.standard.serviceimpl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kimbap.kbs.standard.mapper.VersionSyncMapper;
+import com.kimbap.kbs.standard.service.VersionSyncJobVO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 버전 참조 동기화 작업 처리기 (ver_sync_job)
+ *
+ * - 작업 1건(버전 변경 1건 x 참조 테이블 1개)을 rowid 순 chunkSize 행씩 나눠서 바꾼다.
+ *   청크마다 별도 트랜잭션으로 UPDATE + 진행 기록(done_rows, last_rowid)을 같이 커밋하므로
+ *   한 번에 잡는 행 잠금은 청크 크기로 제한되고, 중단되면 last_rowid 다음부터 이어서 한다.
+ * - 구간을 끝까지 훑은 뒤 이번 패스에 바꾼 행이 있었으면 처음부터 한 번 더 훑는다
+ *   (처리 중에 이미 지나간 rowid 자리에 옛 버전 행이 들어온 경우). 남은 행이 없어야 완료.
+ * - 같은 테이블/코드의 앞선 작업이 끝나야 다음 작업을 시작한다 (V001→V002 다음 V002→V003).
+ * - 여러 노드가 떠 있어도 claim(임대) 으로 작업당 한 노드만 처리한다. 실패한 작업은 임대 시간 뒤 재시도.
+ * - 커밋 직후 깨우고, 재기동/다른 노드 작업을 위해 pollMs 마다도 확인한다.
+ */
+@Slf4j
+@Component
+public class VersionSyncWorker {
+
+    // 한 번에 가져올 작업 수
+    private static final int JOB_BATCH = 20;
+    // ${table}/${column} 으로 들어가므로 식별자 형식만 허용
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,29}");
+
+    private final VersionSyncMapper versionSyncMapper;
+    private final TransactionTemplate requiresNew;
+    private final int chunkSize;
+    private final int leaseSeconds;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean requested;
+
+    public VersionSyncWorker(VersionSyncMapper versionSyncMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${kbs.version-sync.chunk-size:5000}") int chunkSize,
+                             @Value("${kbs.version-sync.lease-seconds:300}") int leaseSeconds) {
+        this.versionSyncMapper = versionSyncMapper;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.leaseSeconds = Math.max(1, leaseSeconds);
+    }
+
+    // 처리 요청 - 처리 중이면 끝난 뒤 한 번 더 돈다
+    public void wakeUp() {
+        requested = true;
+        if (running.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("version-sync").start(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kbs.version-sync.poll-ms:30000}",
+               initialDelayString = "${kbs.version-sync.poll-ms:30000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    private void drain() {
+        try {
+            while (requested) {
+                requested = false;
+                runPending();
+            }
+        } catch (RuntimeException e) {
+            log.warn("버전 동기화 작업 조회 실패: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+        if (requested) {
+            wakeUp();
+        }
+    }
+
+    /**
+     * 지금 처리할 수 있는 작업을 모두 처리한다.
+     * @return 처리한 작업 수
+     */
+    int runPending() {
+        int processed = 0;
+        while (true) {
+            boolean progressed = false;
+            for (VersionSyncJobVO job : versionSyncMapper.selectRunnableJobs(leaseSeconds, JOB_BATCH)) {
+                Integer claimed = requiresNew.execute(status ->
+                    versionSyncMapper.claimJob(job.getJobId(), job.getTblName(), leaseSeconds));
+                if (claimed == null || claimed == 0) {
+                    continue; // 다른 노드가 처리 중
+                }
+                run(job);
+                processed++;
+                progressed = true;
+            }
+            if (!progressed) {
+                return processed;
+            }
+        }
+    }
+
+    private void run(VersionSyncJobVO job) {
+        try {
+            if (!IDENTIFIER.matcher(job.getTblName()).matches()
+                    || !IDENTIFIER.matcher(job.getCodeCol()).matches()
+                    || !IDENTIFIER.matcher(job.getVerCol()).matches()) {
+                throw new IllegalStateException("허용되지 않는 테이블/컬럼: " + job.getTblName());
+            }
+            long started = System.currentTimeMillis();
+            String after = job.getLastRowid();
+            boolean passUpdated = after != null; // 재개한 작업은 앞부분을 한 번 더 확인
+            int chunks = 0;
+            while (true) {
+                String end = versionSyncMapper.selectChunkEnd(job, after, chunkSize);
+                if (end == null) {
+                    if (after == null || !passUpdated) {
+                        break;
+                    }
+                    after = null;
+                    passUpdated = false;
+                    continue;
+                }
+                String from = after;
+                Integer updated = requiresNew.execute(status -> {
+                    int rows = versionSyncMapper.updateVersionRange(job, from, end);
+                    versionSyncMapper.updateProgress(job.getJobId(), job.getTblName(), rows, end);
+                    return rows;
+                });
+                passUpdated |= updated != null && updated > 0;
+                after = end;
+                chunks++;
+            }
+            requiresNew.executeWithoutResult(status -> versionSyncMapper.completeJob(job.getJobId(), job.getTblName()));
+            log.info("버전 동기화 완료 - {} {} {}={} {}→{} (청크 {}개, {}ms)", job.getJobId(), job.getTblName(),
+                job.getCodeCol(), job.getCode(), job.getOldVer(), job.getNewVer(), chunks,
+                System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.warn("버전 동기화 실패 - {} {}: {}", job.getJobId(), job.getTblName(), e.getMessage());
+            requiresNew.executeWithoutResult(status ->
+                versionSyncMapper.failJob(job.getJobId(), job.getTblName(), String.valueOf(e.getMessage())));
+        }
+    }
+}
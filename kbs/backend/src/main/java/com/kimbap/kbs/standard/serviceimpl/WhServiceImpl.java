@@ -12,6 +12,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+import com.kimbap.kbs.common.service.WarehouseOccupancyService;
+import com.kimbap.kbs.common.util.TxUtil;
 import com.kimbap.kbs.standard.mapper.WhMapper;
 import com.kimbap.kbs.standard.service.ChangeItemVO;
 import com.kimbap.kbs.standard.service.VersionSyncService;
@@ -28,6 +32,12 @@ public class WhServiceImpl implements WhService{
     @Autowired
     private VersionSyncService versionSyncService;
 
+    @Autowired
+    private WarehouseOccupancyService warehouseOccupancyService;
+
+    @Autowired
+    private MasterDataCache masterDataCache;
+
     // 창고 목록 조회
     @Override
     public List<WhVO> getWarehouseList() {
@@ -63,6 +73,7 @@ public class WhServiceImpl implements WhService{
 
         // 5. 창고 등록
         whMapper.insertWh(wh);
+        evictMasterCache(wh.getWcode());
         System.out.println("등록된 VO : " + wh);
 
         // ✅ 6. 상세구역 자동 생성 (ware_d)
@@ -92,6 +103,14 @@ public class WhServiceImpl implements WhService{
                 }
             }
         }
+
+        // 7. 창고구역 적재 현황 인덱스 다시 적재 (커밋 후)
+        TxUtil.afterCommit(warehouseOccupancyService::invalidate);
+    }
+
+    // 공장별 창고 목록 캐시 무효화 (커밋 후)
+    private void evictMasterCache(String wcode) {
+        TxUtil.afterCommit(() -> masterDataCache.evict(MasterRegion.WAREHOUSE, wcode));
     }
 
     // 버전 코드 생성 함수 (V001 -> V002)
@@ -187,6 +206,7 @@ public class WhServiceImpl implements WhService{
         if (oldWh == null) {
             throw new RuntimeException("존재하지 않는 창고코드: " + newWh.getWcode());
         }
+        evictMasterCache(newWh.getWcode());
 
         // 2. 내용 변경 여부 판단 (isUsed는 제외)
         boolean isChanged =
@@ -214,10 +234,12 @@ public class WhServiceImpl implements WhService{
                 oldWh.getWareVerCd(),  // V001
                 nextVer                // V002
             );
+            TxUtil.afterCommit(warehouseOccupancyService::invalidate);
 
         } else if (!Objects.equals(oldWh.getIsUsed(), newWh.getIsUsed())) {
             // ✅ 사용여부만 변경 → update만 수행
             whMapper.updateIsUsedOnly(oldWh.getWcode(), oldWh.getWareVerCd(), newWh.getIsUsed(), newWh.getModi());
+            TxUtil.afterCommit(warehouseOccupancyService::invalidate);
         } else {
             // ❌ 변경 없음
             System.out.println("⚠️ 창고 정보 변경 없음, 처리 생략");
@@ -0,0 +1,29 @@
+package com.kimbap.kbs.standard.web;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kimbap.kbs.standard.service.VersionSyncJobVO;
+import com.kimbap.kbs.standard.service.VersionSyncService;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/std/version-sync")
+public class VersionSyncController {
+
+    @Autowired
+    private VersionSyncService versionSyncService;
+
+    // 버전 참조 동기화 진행 현황 (기준코드 지정 시 해당 코드만)
+    @GetMapping("/jobs")
+    public List<VersionSyncJobVO> getJobs(@RequestParam(required = false) String code,
+                                          @RequestParam(defaultValue = "100") int limit) {
+        return versionSyncService.getJobs(code, Math.min(Math.max(limit, 1), 1000));
+    }
+}
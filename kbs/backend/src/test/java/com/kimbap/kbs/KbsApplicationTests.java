@@ -3,7 +3,8 @@ package com.kimbap.kbs;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// 통합 테스트는 SQL 실행 수 허용치를 넘으면 실패
+@SpringBootTest(properties = "kbs.query-budget.mode=fail")
 class KbsApplicationTests {
 
 	@Test
@@ -0,0 +1,93 @@
+package com.kimbap.kbs.common.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// mode=fail 에서 허용치를 넘는 요청은 넘는 문장에서 실패하고, 요청당 실행 수가 기록되는지 (실제 MyBatis 플러그인 + 내장 DB)
+@SpringBootTest(properties = {
+    "kbs.query-budget.mode=fail",
+    "kbs.query-budget.limits=GET /test/query-budget=5",
+    "kbs.query-budget.repeat-limit=100"
+})
+@AutoConfigureMockMvc
+class QueryBudgetMockMvcTests {
+
+  private static final String ENDPOINT = "GET /test/query-budget";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private MeterRegistry registry;
+
+  @Test
+  void requestOverBudgetFailsOnTheExceedingStatement() throws Exception {
+    mockMvc.perform(get("/test/query-budget").param("statements", "5"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("5"));
+
+    mockMvc.perform(get("/test/query-budget").param("statements", "8"))
+        .andExpect(status().isInternalServerError())
+        .andExpect(jsonPath("$.message", containsString("[" + ENDPOINT + "] 6번째 SQL 실행 (허용 5번)")));
+
+    // 요청마다 1건 - 통과한 요청은 5번, 실패한 요청은 허용치를 넘은 6번째 문장에서 멈춤
+    DistributionSummary statements = registry.get("kbs.query-budget.statements").tag("endpoint", ENDPOINT).summary();
+    assertEquals(2, statements.count());
+    assertEquals(6.0, statements.max());
+    assertEquals(11.0, statements.totalAmount());
+  }
+
+  // 테스트 전용 - 요청마다 문장을 n 번 실행
+  interface ProbeMapper {
+    @Select("SELECT 1 FROM DUAL")
+    Integer ping();
+  }
+
+  @RestController
+  static class ProbeController {
+    private final ProbeMapper probeMapper;
+
+    ProbeController(ProbeMapper probeMapper) {
+      this.probeMapper = probeMapper;
+    }
+
+    @GetMapping("/test/query-budget")
+    int run(@RequestParam int statements) {
+      int sum = 0;
+      for (int i = 0; i < statements; i++) {
+        sum += probeMapper.ping();
+      }
+      return sum;
+    }
+  }
+
+  @TestConfiguration
+  static class ProbeConfig {
+    @Bean
+    ProbeController probeController(SqlSessionFactory sqlSessionFactory, SqlSessionTemplate sqlSessionTemplate) {
+      sqlSessionFactory.getConfiguration().addMapper(ProbeMapper.class);
+      return new ProbeController(sqlSessionTemplate.getMapper(ProbeMapper.class));
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.kimbap.kbs.common.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.kimbap.kbs.common.exception.QueryBudgetExceededException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QueryBudgetTests {
+
+  private static final String RELEASE = "POST /api/distribution/release";
+
+  @AfterEach
+  void clearRequest() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  private static ServletRequestAttributes startRequest() {
+    ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+    RequestContextHolder.setRequestAttributes(attributes);
+    return attributes;
+  }
+
+  @Test
+  void countsStatementsPerRequestAndFlagsRepeatedShapesOnce() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    QueryBudget budget = new QueryBudget(QueryBudget.Mode.WARN, 50,
+        QueryBudget.parseLimits("POST /api/distribution/release=8, GET /api/order/list=3"), 3, registry);
+    assertEquals(8, budget.limitOf(RELEASE));
+    assertEquals(50, budget.limitOf("GET /api/materials/list"));
+
+    // 요청 1 - 상세마다 헤더를 다시 읽는 N+1 (10번)
+    ServletRequestAttributes first = startRequest();
+    budget.record(RELEASE, "DistributionMapper.selectReleaseLines");
+    for (int i = 0; i < 10; i++) {
+      budget.record(RELEASE, "StockMovementMapper.selectMoveRequest");
+    }
+    first.requestCompleted();
+
+    // 요청 2 - 허용치 안
+    ServletRequestAttributes second = startRequest();
+    budget.record(RELEASE, "DistributionMapper.selectReleaseLines");
+    second.requestCompleted();
+
+    // 요청 밖 (스케줄러) 은 세지 않는다
+    RequestContextHolder.resetRequestAttributes();
+    budget.record(StatementMetricsInterceptor.NO_ENDPOINT, "DistributionMapper.selectReleaseLines");
+
+    assertEquals(1.0, registry.get("kbs.query-budget.exceeded")
+        .tags("endpoint", RELEASE, "kind", "repeat", "statement", "StockMovementMapper.selectMoveRequest")
+        .counter().count());
+    assertEquals(1.0, registry.get("kbs.query-budget.exceeded")
+        .tags("endpoint", RELEASE, "kind", "total").counter().count());
+    assertEquals(2, registry.get("kbs.query-budget.statements").tags("endpoint", RELEASE).summary().count());
+    assertEquals(11.0, registry.get("kbs.query-budget.statements").tags("endpoint", RELEASE).summary().max());
+  }
+
+  @Test
+  void failModeThrowsOnTheStatementThatExceedsTheBudget() {
+    QueryBudget budget = new QueryBudget(QueryBudget.Mode.FAIL, 3, Map.of(), 10, null);
+    startRequest();
+    budget.record(RELEASE, "A.one");
+    budget.record(RELEASE, "A.two");
+    budget.record(RELEASE, "A.three");
+
+    QueryBudgetExceededException e = assertThrows(QueryBudgetExceededException.class,
+        () -> budget.record(RELEASE, "A.four"));
+    assertTrue(e.getMessage().contains("A.four"));
+  }
+}
@@ -0,0 +1,121 @@
+package com.kimbap.kbs.common.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StatementMetricsInterceptorTests {
+
+  private static final Configuration CONFIGURATION = new Configuration();
+
+  @AfterEach
+  void clearRequest() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  private static MappedStatement statement(String id, SqlCommandType type, String sql, String... params) {
+    List<ParameterMapping> mappings = Arrays.stream(params)
+        .map(p -> new ParameterMapping.Builder(CONFIGURATION, p, Object.class).build())
+        .toList();
+    return new MappedStatement.Builder(CONFIGURATION, id, new StaticSqlSource(CONFIGURATION, sql, mappings), type)
+        .build();
+  }
+
+  // query / update 결과만 돌려주는 Executor
+  private static Executor executor(Object result) {
+    return (Executor) Proxy.newProxyInstance(Executor.class.getClassLoader(), new Class<?>[] {Executor.class},
+        (proxy, method, args) -> {
+          if (result instanceof RuntimeException e) {
+            throw e;
+          }
+          return result;
+        });
+  }
+
+  // 실제 매퍼 호출과 같이 플러그인으로 감싼 Executor 를 호출
+  private static Object query(StatementMetricsInterceptor interceptor, MappedStatement ms, Object param,
+      Object result) throws Exception {
+    Executor executor = (Executor) interceptor.plugin(executor(result));
+    return executor.query(ms, param, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+  }
+
+  private static int update(StatementMetricsInterceptor interceptor, MappedStatement ms, Object result)
+      throws Exception {
+    Executor executor = (Executor) interceptor.plugin(executor(result));
+    return executor.update(ms, null);
+  }
+
+  @Test
+  void recordsTimerAndRowsPerStatementAndEndpoint() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    StatementMetricsInterceptor interceptor = new StatementMetricsInterceptor(registry, 60_000, null);
+    MappedStatement select = statement("com.kimbap.kbs.materials.mapper.MateMapper.selectLots",
+        SqlCommandType.SELECT, "SELECT 1 FROM dual");
+    MappedStatement insert = statement("com.kimbap.kbs.materials.mapper.MateMapper.insertLot",
+        SqlCommandType.INSERT, "INSERT INTO x VALUES (1)");
+
+    // 요청 밖 (스케줄러 등)
+    query(interceptor, select, null, List.of(1, 2, 3));
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/mat/lots/7");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/mat/lots/{id}");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    query(interceptor, select, null, List.of(1));
+    query(interceptor, select, null, List.of());
+    update(interceptor, insert, 4);
+    assertThrows(IllegalStateException.class,
+        () -> update(interceptor, insert, new IllegalStateException("ORA-00001")));
+
+    Timer scheduled = registry.get("kbs.mybatis.statement")
+        .tags("statement", "MateMapper.selectLots", "endpoint", "none", "outcome", "success").timer();
+    assertEquals(1, scheduled.count());
+    Timer web = registry.get("kbs.mybatis.statement")
+        .tags("statement", "MateMapper.selectLots", "type", "select", "endpoint", "GET /api/mat/lots/{id}",
+            "outcome", "success")
+        .timer();
+    assertEquals(2, web.count());
+    assertEquals(1.0, registry.get("kbs.mybatis.rows")
+        .tags("statement", "MateMapper.selectLots", "endpoint", "GET /api/mat/lots/{id}").summary().totalAmount());
+    assertEquals(4.0, registry.get("kbs.mybatis.rows")
+        .tags("statement", "MateMapper.insertLot", "type", "insert").summary().totalAmount());
+    assertEquals(1, registry.get("kbs.mybatis.statement")
+        .tags("statement", "MateMapper.insertLot", "outcome", "error").timer().count());
+  }
+
+  @Test
+  void slowQueryLogKeepsParameterTypesButNotValues() {
+    MappedStatement ms = statement("com.kimbap.kbs.order.mapper.OrderMapper.selectOrders",
+        SqlCommandType.SELECT,
+        "SELECT *\n  FROM orders\n WHERE cp_cd = ?\n   AND memo = 'it''s secret'\n   AND qty > ?",
+        "cpCd", "qty");
+    BoundSql boundSql = ms.getBoundSql(Map.of("cpCd", "CP-001", "qty", 10));
+
+    assertEquals("SELECT * FROM orders WHERE cp_cd = ? AND memo = '?' AND qty > ?",
+        StatementMetricsInterceptor.redact(boundSql.getSql()));
+    assertEquals(List.of("cpCd:String", "qty:Integer"),
+        StatementMetricsInterceptor.describeParameters(ms, boundSql));
+    assertEquals("OrderMapper.selectOrders", StatementMetricsInterceptor.shortId(ms.getId()));
+  }
+}
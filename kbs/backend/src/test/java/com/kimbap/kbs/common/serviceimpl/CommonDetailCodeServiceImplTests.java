@@ -0,0 +1,72 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kimbap.kbs.common.service.CommonCodeDictionary;
+import com.kimbap.kbs.common.service.CommonDetailCodeVO;
+
+class CommonDetailCodeServiceImplTests {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private static CommonDetailCodeVO code(String groupCd, String dCd, String cdInfo, int seq) {
+    // DB 에서 읽은 것처럼 매번 새 문자열
+    return new CommonDetailCodeVO(new String(dCd), cdInfo, seq, "f1", new String(groupCd));
+  }
+
+  private static List<CommonDetailCodeVO> rows() {
+    return new ArrayList<>(List.of(
+        code("0C", "c1", "요청", 1),
+        code("0C", "c2", "승인", 2),
+        code("0C", "c5", "입고완료", 3),
+        code("0H", "h1", "원자재", 1),
+        code("0H", "h2", "부자재", 2)));
+  }
+
+  @Test
+  void compilesGroupsIntoOrdinalsAndLabels() {
+    CommonCodeDictionary dictionary = CommonDetailCodeServiceImpl.compile(rows(), objectMapper);
+
+    assertEquals("승인", dictionary.label("0C", "c2"));
+    assertEquals("c9", dictionary.label("0C", "c9"));
+    assertEquals("c1", dictionary.label("0Z", "c1"));
+    assertEquals(2, dictionary.ordinal("0C", "c5"));
+    assertEquals(-1, dictionary.ordinal("0C", "c9"));
+    assertEquals(-1, dictionary.ordinal("0C", null));
+
+    CommonCodeDictionary.Group units = dictionary.group("0H");
+    assertEquals(2, units.size());
+    assertEquals("h2", units.codeAt(1));
+    assertEquals("부자재", units.labelAt(1));
+    assertSame("h1", units.codeAt(0));
+    assertEquals(0, dictionary.group("0Z").size());
+  }
+
+  @Test
+  void groupBodyMatchesListSerializationAndEtagFollowsContent() throws Exception {
+    CommonCodeDictionary dictionary = CommonDetailCodeServiceImpl.compile(rows(), objectMapper);
+    CommonCodeDictionary.Group status = dictionary.group("0C");
+
+    // 기존 List<CommonDetailCodeVO> 응답과 같은 본문
+    assertArrayEquals(objectMapper.writeValueAsBytes(rows().subList(0, 3)), status.json());
+    assertEquals("[]", new String(dictionary.group("0Z").json()));
+
+    CommonCodeDictionary reloaded = CommonDetailCodeServiceImpl.compile(rows(), objectMapper);
+    assertEquals(status.etag(), reloaded.group("0C").etag());
+
+    List<CommonDetailCodeVO> renamed = rows();
+    renamed.set(1, code("0C", "c2", "승인완료", 2));
+    CommonCodeDictionary changed = CommonDetailCodeServiceImpl.compile(renamed, objectMapper);
+    assertNotEquals(status.etag(), changed.group("0C").etag());
+    assertEquals(dictionary.group("0H").etag(), changed.group("0H").etag());
+  }
+}
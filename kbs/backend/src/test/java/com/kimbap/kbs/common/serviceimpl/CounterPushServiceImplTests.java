@@ -0,0 +1,133 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class CounterPushServiceImplTests {
+
+  private final CounterPushServiceImpl service = new CounterPushServiceImpl();
+
+  // 구독자 2,000 명, 8 스레드가 증감 20,000 건 방송 → 모든 구독자가 합계를 정확히 받는다
+  @Test
+  void twoThousandSubscribersReceiveEveryDelta() throws Exception {
+    int subscribers = 2000;
+    int publishers = 8;
+    int eventsPerPublisher = 2500;
+    List<AtomicLong> received = new ArrayList<>();
+    List<CounterPushServiceImpl.Subscriber> subs = new ArrayList<>();
+    for (int i = 0; i < subscribers; i++) {
+      AtomicLong sum = new AtomicLong();
+      received.add(sum);
+      subs.add(service.subscribe(deltas -> sum.addAndGet(deltas.getOrDefault("moveRequest.d2", 0))));
+    }
+    assertEquals(subscribers, service.getSubscriberCount());
+
+    ExecutorService pool = Executors.newFixedThreadPool(publishers);
+    CountDownLatch start = new CountDownLatch(1);
+    for (int p = 0; p < publishers; p++) {
+      pool.submit(() -> {
+        start.await();
+        for (int e = 0; e < eventsPerPublisher; e++) {
+          service.publish("moveRequest", Map.of("d1", -1, "d2", 1));
+        }
+        return null;
+      });
+    }
+    start.countDown();
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+    long expected = (long) publishers * eventsPerPublisher;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (received.stream().anyMatch(sum -> sum.get() != expected) && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    assertTrue(received.stream().allMatch(sum -> sum.get() == expected));
+    subs.forEach(CounterPushServiceImpl.Subscriber::close);
+    assertEquals(0, service.getSubscriberCount());
+  }
+
+  // 전송이 막힌 구독자도 쌓이는 것은 키 개수뿐
+  @Test
+  void stalledSubscriberKeepsBoundedBacklog() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger sends = new AtomicInteger();
+    CounterPushServiceImpl.Subscriber stalled = service.subscribe(deltas -> {
+      sends.incrementAndGet();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    for (int i = 0; i < 100_000; i++) {
+      service.publish("dashboard", Map.of("prodRel", 1));
+      service.publish("purchaseOrder", Map.of("c1", -1, "c2", 1));
+    }
+    assertTrue(stalled.pendingSize() <= 3);
+    release.countDown();
+    stalled.close();
+  }
+
+  @Test
+  void failedSendUnsubscribes() throws Exception {
+    CounterPushServiceImpl.Subscriber broken = service.subscribe(deltas -> {
+      throw new IOException("Broken pipe");
+    });
+    service.publish("dashboard", Map.of("prodInbo", 1));
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (service.getSubscriberCount() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(0, service.getSubscriberCount());
+    broken.close();
+  }
+
+  // 티켓은 한 번만 쓸 수 있고, 모르는 값/누락은 거절
+  @Test
+  void ticketIsSingleUse() {
+    String ticket = service.issueTicket("admin");
+    assertTrue(service.redeemTicket(ticket));
+    assertFalse(service.redeemTicket(ticket));
+    assertFalse(service.redeemTicket("forged"));
+    assertFalse(service.redeemTicket(null));
+  }
+
+  // 상태 이동은 from -1 / to +1, 새로 생긴 건은 to 만, 같은 상태는 보내지 않음
+  @Test
+  void transitionsPublishBothSides() throws Exception {
+    Map<String, Integer> received = new ConcurrentHashMap<>();
+    CounterPushServiceImpl.Subscriber sub = service.subscribe(
+        deltas -> deltas.forEach((key, delta) -> received.merge(key, delta, Integer::sum)));
+
+    service.publishTransition("order", "s7", "s8", 2);
+    service.publishTransition("order", null, "s1", 1);
+    service.publishTransition("order", "s3", "s3", 1);
+    service.publishTransition("return", "v1", "v2", 0);
+
+    Map<String, Integer> expected = Map.of("order.s7", -2, "order.s8", 2, "order.s1", 1);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!received.equals(expected) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(expected, received);
+    sub.close();
+  }
+}
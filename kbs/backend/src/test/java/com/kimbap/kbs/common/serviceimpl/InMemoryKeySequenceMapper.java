@@ -0,0 +1,89 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import com.kimbap.kbs.common.mapper.KeySequenceMapper;
+
+/**
+ * key_seq 테이블을 흉내 내는 테스트용 매퍼.
+ * 행 잠금은 synchronized 로, DB 왕복은 roundTripMicros 만큼의 대기로 흉내 낸다.
+ */
+class InMemoryKeySequenceMapper implements KeySequenceMapper {
+
+  private final Map<String, Long> rows = new HashMap<>();
+  private final long roundTripMicros;
+  final AtomicInteger reserveCalls = new AtomicInteger();
+
+  InMemoryKeySequenceMapper(long roundTripMicros) {
+    this.roundTripMicros = roundTripMicros;
+  }
+
+  @Override
+  public synchronized int increaseHighWater(String seqKey, String seqDt, int blockSize) {
+    roundTrip();
+    reserveCalls.incrementAndGet();
+    Long hi = rows.get(seqKey + ":" + seqDt);
+    if (hi == null) {
+      return 0;
+    }
+    rows.put(seqKey + ":" + seqDt, hi + blockSize);
+    return 1;
+  }
+
+  @Override
+  public synchronized int insertHighWater(String seqKey, String seqDt, long hiVal) {
+    roundTrip();
+    reserveCalls.incrementAndGet();
+    rows.put(seqKey + ":" + seqDt, hiVal);
+    return 1;
+  }
+
+  @Override
+  public synchronized long selectHighWater(String seqKey, String seqDt) {
+    roundTrip();
+    return rows.get(seqKey + ":" + seqDt);
+  }
+
+  @Override
+  public long selectSeedSequence(String seedTable, String seedColumn, String keyPrefix, int seqStart) {
+    roundTrip();
+    return 0;
+  }
+
+  private void roundTrip() {
+    if (roundTripMicros > 0) {
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+  }
+
+  // 커밋/롤백이 필요 없는 트랜잭션 매니저
+  static PlatformTransactionManager noOpTransactionManager() {
+    return new AbstractPlatformTransactionManager() {
+      @Override
+      protected Object doGetTransaction() {
+        return new Object();
+      }
+
+      @Override
+      protected void doBegin(Object transaction, TransactionDefinition definition) {
+      }
+
+      @Override
+      protected void doCommit(DefaultTransactionStatus status) {
+      }
+
+      @Override
+      protected void doRollback(DefaultTransactionStatus status) {
+      }
+    };
+  }
+}
@@ -0,0 +1,83 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.kimbap.kbs.common.mapper.StockLedgerMapper;
+import com.kimbap.kbs.common.service.StockBalanceVO;
+import com.kimbap.kbs.common.service.StockEntryVO;
+
+/**
+ * stock_ledger / stock_balance 테이블을 흉내 내는 테스트용 매퍼.
+ * ledger_id 는 추가 순서, 대사 기준(ware_stock 합계)은 wareQty 에 직접 넣는다.
+ */
+class InMemoryStockLedgerMapper implements StockLedgerMapper {
+
+  final List<StockEntryVO> ledger = new ArrayList<>();
+  final Map<String, StockBalanceVO> balances = new LinkedHashMap<>();
+  final Map<String, BigDecimal> wareQty = new LinkedHashMap<>();
+  int insertCalls;
+  int mergeCalls;
+  int mergedRows;
+
+  static String key(String itemCode, String verCd, String fcode) {
+    return itemCode + "|" + verCd + "|" + fcode;
+  }
+
+  @Override
+  public int insertEntries(List<StockEntryVO> entries) {
+    insertCalls++;
+    for (StockEntryVO entry : entries) {
+      entry.setLedgerId((long) ledger.size() + 1);
+      ledger.add(entry);
+    }
+    return entries.size();
+  }
+
+  @Override
+  public int mergeBalances(List<StockBalanceVO> deltas) {
+    mergeCalls++;
+    for (StockBalanceVO delta : deltas) {
+      String key = key(delta.getItemCode(), delta.getVerCd(), delta.getFcode());
+      // MERGE USING 의 원본 키가 겹치면 ORA-30926
+      if (deltas.stream().filter(d -> key(d.getItemCode(), d.getVerCd(), d.getFcode()).equals(key)).count() > 1) {
+        throw new IllegalStateException("ORA-30926: unable to get a stable set of rows");
+      }
+      StockBalanceVO balance = balances.computeIfAbsent(key, k -> StockBalanceVO.builder()
+          .itemCode(delta.getItemCode()).verCd(delta.getVerCd()).fcode(delta.getFcode())
+          .itemType(delta.getItemType()).qty(BigDecimal.ZERO).build());
+      balance.setQty(balance.getQty().add(delta.getQty()));
+      mergedRows++;
+    }
+    return deltas.size();
+  }
+
+  @Override
+  public List<StockBalanceVO> selectBalances(String itemCode, String verCd, String fcode) {
+    return balances.values().stream()
+        .filter(b -> b.getItemCode().equals(itemCode) && b.getVerCd().equals(verCd)
+            && (fcode == null || b.getFcode().equals(fcode)))
+        .toList();
+  }
+
+  @Override
+  public List<StockBalanceVO> selectBalanceDrift() {
+    List<StockBalanceVO> drift = new ArrayList<>();
+    Map<String, BigDecimal> keys = new LinkedHashMap<>(wareQty);
+    balances.keySet().forEach(k -> keys.putIfAbsent(k, BigDecimal.ZERO));
+    for (Map.Entry<String, BigDecimal> e : keys.entrySet()) {
+      StockBalanceVO balance = balances.get(e.getKey());
+      BigDecimal qty = balance != null ? balance.getQty() : BigDecimal.ZERO;
+      if (qty.compareTo(e.getValue()) != 0) {
+        String[] parts = e.getKey().split("\\|");
+        drift.add(StockBalanceVO.builder().itemCode(parts[0]).verCd(parts[1]).fcode(parts[2])
+            .qty(qty).wareQty(Objects.requireNonNullElse(wareQty.get(e.getKey()), BigDecimal.ZERO)).build());
+      }
+    }
+    return drift;
+  }
+}
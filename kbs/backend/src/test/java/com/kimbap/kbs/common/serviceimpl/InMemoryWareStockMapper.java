@@ -0,0 +1,90 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.kimbap.kbs.common.mapper.WarehouseOccupancyMapper;
+import com.kimbap.kbs.common.service.AreaOccupancyVO;
+
+/**
+ * ware_d / ware_stock 테이블을 흉내 내는 테스트용 매퍼.
+ * 재고행은 (구역, 품목, 수량)만 들고 있고, 조회는 실제 쿼리처럼 구역/품목별로 합산한다.
+ */
+class InMemoryWareStockMapper implements WarehouseOccupancyMapper {
+
+  final List<AreaOccupancyVO> areas = new ArrayList<>();
+  final List<StockRow> stocks = new ArrayList<>();
+  final AtomicInteger queries = new AtomicInteger();
+
+  static final class StockRow {
+    final String wareAreaCd;
+    final String itemCode;
+    int qty;
+
+    StockRow(String wareAreaCd, String itemCode, int qty) {
+      this.wareAreaCd = wareAreaCd;
+      this.itemCode = itemCode;
+      this.qty = qty;
+    }
+  }
+
+  // 창고 1개의 구역 생성 (W-001-A1-1 형식, 행은 rowLabels 순서)
+  InMemoryWareStockMapper warehouse(String wcode, String fcode, String[] rowLabels, int cols, int floors, int vol) {
+    for (String row : rowLabels) {
+      for (int c = 1; c <= cols; c++) {
+        for (int f = 1; f <= floors; f++) {
+          areas.add(AreaOccupancyVO.builder()
+              .wcode(wcode)
+              .fcode(fcode)
+              .wareAreaCd("W-" + wcode.replace("WARE-", "") + "-" + row + c + "-" + f)
+              .areaRow(row)
+              .areaCol(c)
+              .areaFloor(f)
+              .vol(vol)
+              .build());
+        }
+      }
+    }
+    return this;
+  }
+
+  StockRow stock(String wareAreaCd, String itemCode, int qty) {
+    StockRow row = new StockRow(wareAreaCd, itemCode, qty);
+    stocks.add(row);
+    return row;
+  }
+
+  @Override
+  public List<AreaOccupancyVO> selectAreas() {
+    queries.incrementAndGet();
+    List<AreaOccupancyVO> copy = new ArrayList<>();
+    for (AreaOccupancyVO area : areas) {
+      copy.add(AreaOccupancyVO.builder()
+          .wcode(area.getWcode()).fcode(area.getFcode()).wareAreaCd(area.getWareAreaCd())
+          .areaRow(area.getAreaRow()).areaCol(area.getAreaCol()).areaFloor(area.getAreaFloor())
+          .vol(area.getVol())
+          .build());
+    }
+    return copy;
+  }
+
+  @Override
+  public List<AreaOccupancyVO> selectOccupancy() {
+    queries.incrementAndGet();
+    Map<String, Integer> sums = new LinkedHashMap<>();
+    for (StockRow row : stocks) {
+      if (row.qty > 0) {
+        sums.merge(row.wareAreaCd + "|" + row.itemCode, row.qty, Integer::sum);
+      }
+    }
+    List<AreaOccupancyVO> rows = new ArrayList<>();
+    sums.forEach((key, qty) -> {
+      String[] parts = key.split("\\|");
+      rows.add(AreaOccupancyVO.builder().wareAreaCd(parts[0]).currentItem(parts[1]).currentVolume(qty).build());
+    });
+    return rows;
+  }
+}
@@ -0,0 +1,131 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.common.service.KeyFormat;
+import com.kimbap.kbs.common.service.KeyFormats;
+
+class KeyGeneratorServiceImplTests {
+
+  @Test
+  void concurrentKeysNeverDuplicate() throws Exception {
+    InMemoryKeySequenceMapper mapper = new InMemoryKeySequenceMapper(0);
+    KeyGeneratorServiceImpl service =
+        new KeyGeneratorServiceImpl(mapper, InMemoryKeySequenceMapper.noOpTransactionManager(), 20);
+
+    KeyFormat[] formats = {KeyFormats.mateLot("100"), KeyFormats.WARE_STOCK, KeyFormats.ORD, KeyFormats.CASH_IN};
+    int threads = 64;
+    int perThread = 500;
+    Set<String> keys = ConcurrentHashMap.newKeySet();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    for (int t = 0; t < threads; t++) {
+      KeyFormat format = formats[t % formats.length];
+      pool.submit(() -> {
+        start.await();
+        for (int i = 0; i < perThread; i++) {
+          keys.add(service.nextKey(format));
+        }
+        return null;
+      });
+    }
+    start.countDown();
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+    assertEquals(threads * perThread, keys.size());
+    // 단일 노드에서는 블록 단위로만 DB 를 갱신한다
+    assertTrue(mapper.reserveCalls.get() <= threads * perThread / 20 + formats.length * 2);
+  }
+
+  @Test
+  void sequenceIsKeptPerFormatAndBucket() {
+    KeyGeneratorServiceImpl service = new KeyGeneratorServiceImpl(
+        new InMemoryKeySequenceMapper(0), InMemoryKeySequenceMapper.noOpTransactionManager(), 5);
+
+    KeyFormat lot100 = KeyFormats.mateLot("100");
+    assertEquals(1, service.nextSequence(lot100, "20250530"));
+    assertEquals(2, service.nextSequence(lot100, "20250530"));
+    assertEquals(1, service.nextSequence(KeyFormats.mateLot("200"), "20250530"));
+    assertEquals(1, service.nextSequence(lot100, "20250531"));
+    // 일자가 바뀌면 이전 일자 블록은 버려지고, 다시 요청하면 새 블록에서 이어서 발번
+    assertTrue(service.nextSequence(lot100, "20250530") > 2);
+  }
+
+  @Test
+  void largeRequestReservesWholeRangeAtOnce() {
+    InMemoryKeySequenceMapper mapper = new InMemoryKeySequenceMapper(0);
+    KeyGeneratorServiceImpl service =
+        new KeyGeneratorServiceImpl(mapper, InMemoryKeySequenceMapper.noOpTransactionManager(), 20);
+
+    String first = service.nextKey(KeyFormats.ORD_D);
+    int callsBefore = mapper.reserveCalls.get();
+    List<String> range = service.nextKeys(KeyFormats.ORD_D, 1_000);
+
+    // 블록 20개를 차례로 예약하지 않고 상한을 한 번만 올린다
+    assertEquals(callsBefore + 1, mapper.reserveCalls.get());
+    assertEquals(1_000, new HashSet<>(range).size());
+    assertTrue(range.get(0).endsWith("-000021"));
+    assertTrue(range.get(999).endsWith("-001020"));
+    // 남아 있던 공유 블록은 계속 쓴다
+    String next = service.nextKey(KeyFormats.ORD_D);
+    assertTrue(next.endsWith("-000002"), first + " 다음 " + next);
+  }
+
+  @Test
+  void slowReservationOfOneFormatDoesNotStallOthers() throws Exception {
+    CountDownLatch reserving = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    InMemoryKeySequenceMapper mapper = new InMemoryKeySequenceMapper(0) {
+      @Override
+      public int increaseHighWater(String seqKey, String seqDt, int blockSize) {
+        if (seqKey.equals(KeyFormats.ORD.getName())) {
+          reserving.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return super.increaseHighWater(seqKey, seqDt, blockSize);
+      }
+    };
+    KeyGeneratorServiceImpl service =
+        new KeyGeneratorServiceImpl(mapper, InMemoryKeySequenceMapper.noOpTransactionManager(), 20);
+
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      var slow = pool.submit(() -> service.nextKey(KeyFormats.ORD));
+      assertTrue(reserving.await(5, TimeUnit.SECONDS));
+      // ORD 블록 예약(DB I/O)이 잡혀 있는 동안 다른 코드 종류는 그대로 발번된다
+      var other = pool.submit(() -> service.nextKeys(KeyFormats.CASH_IN, 30));
+      assertEquals(30, other.get(5, TimeUnit.SECONDS).size());
+      release.countDown();
+      assertTrue(slow.get(5, TimeUnit.SECONDS).startsWith("ORD-"));
+    } finally {
+      release.countDown();
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void formatPadsAndWidensPastWidth() {
+    assertEquals("LOT-100-20250530-001", KeyFormats.mateLot("100").format("20250530", 1));
+    assertEquals("ORD-20250001", KeyFormats.ORD.format("2025", 1));
+    assertEquals("PURC-007", KeyFormats.PURC.format(KeyFormat.NO_DATE_BUCKET, 7));
+    assertEquals("IN-999", KeyFormats.CASH_IN.format(KeyFormat.NO_DATE_BUCKET, 999));
+    assertEquals("IN-1000", KeyFormats.CASH_IN.format(KeyFormat.NO_DATE_BUCKET, 1000));
+  }
+}
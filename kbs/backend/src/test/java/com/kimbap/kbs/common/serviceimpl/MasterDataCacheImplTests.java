@@ -0,0 +1,136 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.common.service.MasterCacheStatsVO;
+import com.kimbap.kbs.common.service.MasterDataCache;
+import com.kimbap.kbs.common.service.MasterRegion;
+
+class MasterDataCacheImplTests {
+
+  private final AtomicLong now = new AtomicLong(1_000);
+
+  private static String key(String code) {
+    return MasterDataCache.key(code, MasterDataCache.LATEST, "loading");
+  }
+
+  @Test
+  void readThroughCachesValuesAbsentCodesAndListsUntilEvicted() {
+    MasterDataCacheImpl cache = new MasterDataCacheImpl(100, 60_000, now::get);
+    AtomicInteger queries = new AtomicInteger();
+    String factories = MasterDataCache.key(MasterDataCache.LIST, "active", "mate");
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals("H1", cache.get(MasterRegion.MATERIAL, key("MAT-1001"), () -> {
+        queries.incrementAndGet();
+        return "H1";
+      }));
+      assertNull(cache.get(MasterRegion.MATERIAL, key("MAT-9999"), () -> {
+        queries.incrementAndGet();
+        return null;
+      }));
+      cache.get(MasterRegion.FACTORY, factories, () -> {
+        queries.incrementAndGet();
+        return new ArrayList<>(List.of("FAC-001"));
+      });
+    }
+    assertEquals(3, queries.get());
+    List<String> cachedList = cache.get(MasterRegion.FACTORY, factories, () -> null);
+    assertThrows(UnsupportedOperationException.class, () -> cachedList.add("FAC-002"));
+
+    // 공장 하나가 바뀌면 그 코드와 목록 캐시가 같이 비워진다
+    cache.evict(MasterRegion.FACTORY, "FAC-001");
+    cache.get(MasterRegion.FACTORY, factories, () -> {
+      queries.incrementAndGet();
+      return List.of("FAC-001", "FAC-002");
+    });
+    // 다른 영역은 그대로
+    cache.get(MasterRegion.MATERIAL, key("MAT-1001"), () -> {
+      queries.incrementAndGet();
+      return "H1";
+    });
+    assertEquals(4, queries.get());
+
+    MasterCacheStatsVO material = stats(cache, MasterRegion.MATERIAL);
+    assertEquals(5, material.getHits());
+    assertEquals(2, material.getMisses());
+  }
+
+  @Test
+  void getAllLoadsOnlyMissingCodesInOneCall() {
+    MasterDataCacheImpl cache = new MasterDataCacheImpl(100, 60_000, now::get);
+    List<List<String>> calls = new ArrayList<>();
+    Function<List<String>, Map<String, String>> loader = missing -> {
+      calls.add(List.copyOf(missing));
+      Map<String, String> rows = new HashMap<>();
+      for (String code : missing) {
+        if (!code.equals("MAT-9")) {
+          rows.put(code, "EA");
+        }
+      }
+      return rows;
+    };
+
+    Map<String, String> first = cache.getAll(MasterRegion.MATERIAL, List.of("MAT-1", "MAT-2", "MAT-9"),
+        MasterDataCache.LATEST, "loading", loader);
+    Map<String, String> second = cache.getAll(MasterRegion.MATERIAL, List.of("MAT-1", "MAT-3", "MAT-9"),
+        MasterDataCache.LATEST, "loading", loader);
+
+    assertEquals(Map.of("MAT-1", "EA", "MAT-2", "EA"), first);
+    assertEquals(Map.of("MAT-1", "EA", "MAT-3", "EA"), second);
+    assertEquals(List.of(List.of("MAT-1", "MAT-2", "MAT-9"), List.of("MAT-3")), calls);
+    // 단건 조회도 같은 키를 본다
+    assertEquals("EA", cache.get(MasterRegion.MATERIAL, key("MAT-2"), () -> "x"));
+  }
+
+  @Test
+  void boundedByLeastRecentlyUsedAndExpiresAfterTtl() {
+    MasterDataCacheImpl cache = new MasterDataCacheImpl(2, 60_000, now::get);
+    AtomicInteger queries = new AtomicInteger();
+
+    cache.get(MasterRegion.PRODUCT, key("P1"), () -> queries.incrementAndGet());
+    cache.get(MasterRegion.PRODUCT, key("P2"), () -> queries.incrementAndGet());
+    cache.get(MasterRegion.PRODUCT, key("P1"), () -> queries.incrementAndGet()); // P1 최근 사용
+    cache.get(MasterRegion.PRODUCT, key("P3"), () -> queries.incrementAndGet()); // P2 밀려남
+    cache.get(MasterRegion.PRODUCT, key("P1"), () -> queries.incrementAndGet());
+    assertEquals(3, queries.get());
+    cache.get(MasterRegion.PRODUCT, key("P2"), () -> queries.incrementAndGet());
+    assertEquals(4, queries.get());
+    assertEquals(2, stats(cache, MasterRegion.PRODUCT).getEvictions());
+
+    now.addAndGet(60_000);
+    cache.get(MasterRegion.PRODUCT, key("P2"), () -> queries.incrementAndGet());
+    assertEquals(5, queries.get());
+  }
+
+  @Test
+  void loadStartedBeforeEvictIsNotStored() {
+    MasterDataCacheImpl cache = new MasterDataCacheImpl(100, 60_000, now::get);
+
+    // 조회 도중 (커밋 후) 무효화가 끼어든 경우 - 읽어 온 옛 값은 이번 호출에만 쓰고 저장하지 않는다
+    String stale = cache.get(MasterRegion.WAREHOUSE, key("WARE-1"), () -> {
+      cache.evict(MasterRegion.WAREHOUSE, "WARE-1");
+      return "V001";
+    });
+    String fresh = cache.get(MasterRegion.WAREHOUSE, key("WARE-1"), () -> "V002");
+
+    assertEquals("V001", stale);
+    assertEquals("V002", fresh);
+  }
+
+  private static MasterCacheStatsVO stats(MasterDataCacheImpl cache, MasterRegion region) {
+    return cache.stats().stream().filter(s -> s.getRegion().equals(region.name())).findFirst().orElseThrow();
+  }
+}
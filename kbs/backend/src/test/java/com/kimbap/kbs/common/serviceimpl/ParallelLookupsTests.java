@@ -0,0 +1,86 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kimbap.kbs.common.serviceimpl.ParallelLookups.Lookup;
+import com.kimbap.kbs.common.serviceimpl.ParallelLookups.Scope;
+
+class ParallelLookupsTests {
+
+  @Test
+  void forkedLookupsRunConcurrentlyWithinPermits() {
+    ParallelLookups lookups = new ParallelLookups(2);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+
+    List<Lookup<Integer>> results = new ArrayList<>();
+    long started = System.nanoTime();
+    try (Scope scope = lookups.open()) {
+      for (int i = 0; i < 6; i++) {
+        int n = i;
+        results.add(scope.fork(() -> {
+          peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+          Thread.sleep(50);
+          running.decrementAndGet();
+          return n;
+        }));
+      }
+      scope.join();
+    }
+    long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+    assertEquals(List.of(0, 1, 2, 3, 4, 5), results.stream().map(Lookup::get).toList());
+    // 허가 2개 + 허가가 없을 때 직접 실행하는 호출 스레드
+    assertEquals(3, peak.get());
+    // 50ms 씩 2번 (순차면 300ms)
+    assertTrue(elapsedMs < 200, "elapsed " + elapsedMs);
+  }
+
+  @Test
+  void insideTransactionLookupsRunOnCallerThread() {
+    ParallelLookups lookups = new ParallelLookups(4);
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      String caller = Thread.currentThread().getName();
+      String result = lookups.both(
+          () -> Thread.currentThread().getName(),
+          () -> Thread.currentThread().getName(),
+          (a, b) -> a + "|" + b);
+      assertEquals(caller + "|" + caller, result);
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+  }
+
+  @Test
+  void firstFailureCancelsSiblingsAndIsRethrown() {
+    ParallelLookups lookups = new ParallelLookups(4);
+    AtomicInteger finished = new AtomicInteger();
+
+    long started = System.nanoTime();
+    assertThrows(IllegalArgumentException.class, () -> {
+      try (Scope scope = lookups.open()) {
+        scope.fork(() -> {
+          Thread.sleep(5_000);
+          return finished.incrementAndGet();
+        });
+        scope.fork(() -> {
+          throw new IllegalArgumentException("없는 주문");
+        });
+        scope.join();
+      }
+    });
+
+    assertEquals(0, finished.get());
+    assertTrue((System.nanoTime() - started) / 1_000_000 < 2_000);
+  }
+}
@@ -0,0 +1,71 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.common.exception.PutAwayException;
+import com.kimbap.kbs.common.service.PutAwayAssignment;
+import com.kimbap.kbs.common.service.PutAwayLine;
+
+class PutAwayPlannerTests {
+
+  private static final String[] ROWS = {"A"};
+
+  @Test
+  void autoLinesFillSameItemAreasFirstThenLowestEmptyFloor() {
+    InMemoryWareStockMapper db = new InMemoryWareStockMapper()
+        .warehouse("WARE-001", "FAC-1", ROWS, 2, 2, 100);
+    db.stock("W-001-A1-2", "MAT-1", 40);
+    db.stock("W-001-A2-2", "MAT-1", 90);
+    WarehouseOccupancyServiceImpl occupancy = new WarehouseOccupancyServiceImpl(db);
+    PutAwayPlanner planner = new PutAwayPlanner(occupancy);
+
+    List<PutAwayAssignment> plan = planner.plan(List.of(
+        new PutAwayLine("MAT-1", 100, null, "FAC-1"),
+        new PutAwayLine("MAT-2", 50, null, "FAC-1")));
+
+    assertEquals(List.of(
+        new PutAwayAssignment(0, "W-001-A1-2", 60),
+        new PutAwayAssignment(0, "W-001-A2-2", 10),
+        new PutAwayAssignment(0, "W-001-A1-1", 30),
+        new PutAwayAssignment(1, "W-001-A2-1", 50)), plan);
+    // 계획은 인덱스를 바꾸지 않는다 (적재 확정 시 recordChange)
+    assertEquals(60, occupancy.getArea("W-001-A1-2").getAvailableVolume());
+    assertEquals(100, occupancy.getArea("W-001-A1-1").getAvailableVolume());
+  }
+
+  @Test
+  void explicitAreasAreValidatedBeforeAutoAssignment() {
+    InMemoryWareStockMapper db = new InMemoryWareStockMapper()
+        .warehouse("WARE-001", "FAC-1", ROWS, 2, 1, 100);
+    db.stock("W-001-A1-1", "MAT-1", 50);
+    PutAwayPlanner planner = new PutAwayPlanner(new WarehouseOccupancyServiceImpl(db));
+
+    // 자동 배정 라인이 먼저 와도 구역 지정 라인이 잡은 용량은 건드리지 않는다
+    List<PutAwayAssignment> plan = planner.plan(List.of(
+        new PutAwayLine("MAT-1", 60, null, "FAC-1"),
+        new PutAwayLine("MAT-1", 40, "W-001-A1-1", "FAC-1")));
+    assertEquals(List.of(
+        new PutAwayAssignment(0, "W-001-A1-1", 10),
+        new PutAwayAssignment(0, "W-001-A2-1", 50),
+        new PutAwayAssignment(1, "W-001-A1-1", 40)), plan);
+
+    PutAwayException otherItem = assertThrows(PutAwayException.class,
+        () -> planner.plan(List.of(new PutAwayLine("MAT-2", 10, "W-001-A1-1", "FAC-1"))));
+    assertTrue(otherItem.getMessage().contains("MAT-1"));
+    assertThrows(PutAwayException.class,
+        () -> planner.plan(List.of(new PutAwayLine("MAT-1", 51, "W-001-A1-1", "FAC-1"))));
+    assertThrows(PutAwayException.class,
+        () -> planner.plan(List.of(new PutAwayLine("MAT-1", 10, "W-001-Z9-9", "FAC-1"))));
+    // 공장 전체 잔여 용량(50 + 100)을 넘으면 실패
+    assertThrows(PutAwayException.class,
+        () -> planner.plan(List.of(new PutAwayLine("MAT-1", 151, null, "FAC-1"))));
+    assertThrows(PutAwayException.class,
+        () -> planner.plan(List.of(new PutAwayLine("MAT-1", 10, null, "FAC-2"))));
+  }
+}
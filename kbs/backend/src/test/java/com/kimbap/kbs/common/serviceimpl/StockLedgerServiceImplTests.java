@@ -0,0 +1,134 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.common.service.StockBalanceVO;
+import com.kimbap.kbs.common.service.StockEntryVO;
+import com.kimbap.kbs.common.service.StockLedgerService;
+
+class StockLedgerServiceImplTests {
+
+  private static final String[] ROWS = {"A", "B"};
+
+  @Test
+  void postWritesLedgerOnceAndRollsUpByFactory() {
+    InMemoryWareStockMapper ware = new InMemoryWareStockMapper()
+        .warehouse("WARE-001", "FAC-1", ROWS, 5, 2, 1000)
+        .warehouse("WARE-002", "FAC-2", ROWS, 5, 2, 1000);
+    InMemoryStockLedgerMapper db = new InMemoryStockLedgerMapper();
+    WarehouseOccupancyServiceImpl occupancy = new WarehouseOccupancyServiceImpl(ware);
+    StockLedgerServiceImpl service = new StockLedgerServiceImpl(db, occupancy);
+
+    // 적재 1,200행 (구역 40개에 돌아가며, 공장 2곳) + 버전 없는 행 + 구역 없는 행
+    List<StockEntryVO> entries = new ArrayList<>();
+    for (int i = 0; i < 1_200; i++) {
+      entries.add(entry("I", "MAT-1", "V001", ware.areas.get(i % 40).getWareAreaCd(), 2));
+    }
+    entries.add(entry("I", "MAT-2", null, "W-001-A1-1", 5));
+    entries.add(entry("O", "MAT-1", "V001", null, -7));
+    service.post(entries);
+
+    // 원장은 500행 단위 3번, 현재고는 (품목, 버전, 공장) 키 4개를 MERGE 1번
+    assertEquals(1_202, db.ledger.size());
+    assertEquals(3, db.insertCalls);
+    assertEquals(1, db.mergeCalls);
+    assertEquals(4, db.mergedRows);
+    assertEquals(0, new BigDecimal("1200").compareTo(service.getOnHand("MAT-1", "V001", "FAC-1")));
+    assertEquals(0, new BigDecimal("1200").compareTo(service.getOnHand("MAT-1", "V001", "FAC-2")));
+    assertEquals(0, new BigDecimal("-7").compareTo(service.getOnHand("MAT-1", "V001", StockLedgerService.NONE)));
+    assertEquals(0, new BigDecimal("2393").compareTo(service.getOnHand("MAT-1", "V001")));
+    assertEquals(0, new BigDecimal("5").compareTo(service.getOnHand("MAT-2", null)));
+    assertEquals("FAC-1", db.ledger.get(0).getFcode());
+    assertEquals(StockLedgerService.NONE, db.ledger.get(1_200).getVerCd());
+
+    // 구역 적재 현황도 같이 반영 (구역당 30행 x 2)
+    assertEquals(65, occupancy.getArea("W-001-A1-1").getCurrentVolume());
+    assertEquals(60, occupancy.getArea("W-002-B5-2").getCurrentVolume());
+  }
+
+  @Test
+  void moveWithinFactorySkipsBalanceAndReconcileReportsDrift() {
+    InMemoryWareStockMapper ware = new InMemoryWareStockMapper()
+        .warehouse("WARE-001", "FAC-1", ROWS, 2, 1, 100)
+        .warehouse("WARE-002", "FAC-2", ROWS, 2, 1, 100);
+    InMemoryStockLedgerMapper db = new InMemoryStockLedgerMapper();
+    WarehouseOccupancyServiceImpl occupancy = new WarehouseOccupancyServiceImpl(ware);
+    StockLedgerServiceImpl service = new StockLedgerServiceImpl(db, occupancy);
+
+    service.post(List.of(entry("I", "PRD-1", "V001", "W-001-A1-1", 40)));
+    // 같은 공장 안 이동 - 원장 2행, 현재고는 그대로
+    service.post(List.of(
+        entry("M", "PRD-1", "V001", "W-001-A1-1", -10),
+        entry("M", "PRD-1", "V001", "W-001-B2-1", 10)));
+    assertEquals(3, db.ledger.size());
+    assertEquals(1, db.mergedRows);
+    assertEquals(30, occupancy.getArea("W-001-A1-1").getCurrentVolume());
+    assertEquals(10, occupancy.getArea("W-001-B2-1").getCurrentVolume());
+
+    // 다른 공장으로 이동 - 공장별 현재고가 옮겨 간다
+    service.post(List.of(
+        entry("M", "PRD-1", "V001", "W-001-B2-1", -10),
+        entry("M", "PRD-1", "V001", "W-002-A1-1", 10)));
+    assertEquals(0, new BigDecimal("30").compareTo(service.getOnHand("PRD-1", "V001", "FAC-1")));
+    assertEquals(0, new BigDecimal("10").compareTo(service.getOnHand("PRD-1", "V001", "FAC-2")));
+    assertEquals(0, new BigDecimal("40").compareTo(service.getOnHand("PRD-1", "V001")));
+
+    db.wareQty.put(InMemoryStockLedgerMapper.key("PRD-1", "V001", "FAC-1"), new BigDecimal("30"));
+    db.wareQty.put(InMemoryStockLedgerMapper.key("PRD-1", "V001", "FAC-2"), new BigDecimal("10"));
+    assertTrue(service.reconcile().isEmpty());
+
+    // 원장을 거치지 않은 ware_stock 변경은 대사에서 드러난다
+    db.wareQty.put(InMemoryStockLedgerMapper.key("PRD-1", "V001", "FAC-2"), new BigDecimal("4"));
+    List<StockBalanceVO> drift = service.reconcile();
+    assertEquals(1, drift.size());
+    assertEquals("FAC-2", drift.get(0).getFcode());
+  }
+
+  @Test
+  void fractionalQtyReloadsAreaInsteadOfTruncating() {
+    InMemoryWareStockMapper ware = new InMemoryWareStockMapper()
+        .warehouse("WARE-001", "FAC-1", ROWS, 2, 1, 100);
+    InMemoryStockLedgerMapper db = new InMemoryStockLedgerMapper();
+    WarehouseOccupancyServiceImpl occupancy = new WarehouseOccupancyServiceImpl(ware);
+    StockLedgerServiceImpl service = new StockLedgerServiceImpl(db, occupancy);
+
+    service.post(List.of(entry("I", "MAT-1", "V001", "W-001-A1-1", 10)));
+    ware.stock("W-001-A1-1", "MAT-1", 10);
+    assertEquals(10, occupancy.getArea("W-001-A1-1").getCurrentVolume());
+    int queries = ware.queries.get();
+
+    // 소수 수량(0.5, 2.7)은 정수로 자르지 않고 구역을 DB 기준으로 다시 적재한다
+    ware.stocks.get(0).qty = 13;
+    service.post(List.of(
+        StockEntryVO.builder().entryType("I").itemCode("MAT-1").verCd("V001")
+            .wareAreaCd("W-001-A1-1").qty(new BigDecimal("0.5")).build(),
+        StockEntryVO.builder().entryType("I").itemCode("MAT-1").verCd("V001")
+            .wareAreaCd("W-001-A1-1").qty(new BigDecimal("2.7")).build()));
+    assertEquals(13, occupancy.getArea("W-001-A1-1").getCurrentVolume());
+    assertEquals(queries + 2, ware.queries.get());
+    assertEquals(0, new BigDecimal("13.2").compareTo(service.getOnHand("MAT-1", "V001")));
+
+    // 소수점만 붙은 정수(3.0)는 다시 적재 없이 메모리에 반영
+    service.post(List.of(StockEntryVO.builder().entryType("O").itemCode("MAT-1").verCd("V001")
+        .wareAreaCd("W-001-A1-1").qty(new BigDecimal("-3.0")).build()));
+    assertEquals(10, occupancy.getArea("W-001-A1-1").getCurrentVolume());
+    assertEquals(queries + 2, ware.queries.get());
+  }
+
+  private static StockEntryVO entry(String type, String itemCode, String verCd, String wareAreaCd, int qty) {
+    return StockEntryVO.builder()
+        .entryType(type)
+        .itemCode(itemCode)
+        .verCd(verCd)
+        .wareAreaCd(wareAreaCd)
+        .qty(BigDecimal.valueOf(qty))
+        .build();
+  }
+}
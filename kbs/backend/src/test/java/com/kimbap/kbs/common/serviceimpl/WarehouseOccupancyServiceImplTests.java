@@ -0,0 +1,202 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kimbap.kbs.common.service.AreaOccupancyVO;
+
+class WarehouseOccupancyServiceImplTests {
+
+  private static final String[] ROWS = {"1", "2", "10"};
+
+  @Test
+  void floorViewIsServedFromMemoryInRowColOrder() {
+    InMemoryWareStockMapper db = new InMemoryWareStockMapper()
+        .warehouse("WARE-001", "FAC-1", ROWS, 4, 3, 100);
+    db.stock("W-001-21-2", "MAT-1", 30);
+    db.stock("W-001-21-2", "MAT-1", 0);
+    WarehouseOccupancyServiceImpl service = new WarehouseOccupancyServiceImpl(db);
+
+    for (int i = 0; i < 10; i++) {
+      List<AreaOccupancyVO> floor2 = service.getAreasByFloor("WARE-001", 2);
+      assertEquals(12, floor2.size());
+      assertEquals("W-001-11-2", floor2.get(0).getWareAreaCd());
+      assertEquals("W-001-101-2", floor2.get(8).getWareAreaCd());
+      AreaOccupancyVO area = floor2.get(4);
+      assertEquals("W-001-21-2", area.getWareAreaCd());
+      assertEquals(30, area.getCurrentVolume());
+      assertEquals(70, area.getAvailableVolume());
+      assertEquals("MAT-1", area.getCurrentItem());
+    }
+    assertTrue(service.getAreasByFloor("WARE-001", 4).isEmpty());
+    assertNull(service.getArea("W-999-A1-1"));
+    // 구역 기준정보 1번 + 적재량 1번
+    assertEquals(2, db.queries.get());
+  }
+
+  @Test
+  void randomWritesReconcileWithDb() {
+    InMemoryWareStockMapper db = new InMemoryWareStockMapper()
+        .warehouse("WARE-001", "FAC-1", ROWS, 5, 4, 100)
+        .warehouse("WARE-002", "FAC-1", new String[] {"A", "B"}, 5, 4, 50)
+        .warehouse("WARE-003", "FAC-2", new String[] {"A"}, 3, 2, 80);
+    WarehouseOccupancyServiceImpl service = new WarehouseOccupancyServiceImpl(db);
+    service.getArea(db.areas.get(0).getWareAreaCd());
+
+    Random random = new Random(42);
+    String[] items = {"MAT-1", "MAT-2", "MAT-3", "PRD-1", "PRD-2"};
+    for (int op = 0; op < 5_000; op++) {
+      AreaOccupancyVO target = db.areas.get(random.nextInt(db.areas.size()));
+      AreaOccupancyVO view = service.getArea(target.getWareAreaCd());
+      int kind = random.nextInt(3);
+      if (kind == 0) {
+        // 적재: 비었거나 같은 품목인 구역에 잔여 용량만큼
+        String item = view.getCurrentItem() != null ? view.getCurrentItem() : items[random.nextInt(items.length)];
+        if (view.getAvailableVolume() > 0) {
+          int qty = 1 + random.nextInt(view.getAvailableVolume());
+          db.stock(target.getWareAreaCd(), item, qty);
+          service.recordChange(target.getWareAreaCd(), item, qty);
+        }
+      } else if (kind == 1) {
+        // 출고 / 생산출고: 재고행 하나에서 일부 차감
+        InMemoryWareStockMapper.StockRow row = anyRow(db, target.getWareAreaCd(), random);
+        if (row != null) {
+          int qty = 1 + random.nextInt(row.qty);
+          row.qty -= qty;
+          service.recordChange(row.wareAreaCd, row.itemCode, -qty);
+        }
+      } else {
+        // 이동: 같은 품목이거나 빈 구역으로
+        InMemoryWareStockMapper.StockRow row = anyRow(db, target.getWareAreaCd(), random);
+        AreaOccupancyVO arr = service.getArea(db.areas.get(random.nextInt(db.areas.size())).getWareAreaCd());
+        if (row != null && !arr.getWareAreaCd().equals(row.wareAreaCd) && arr.getAvailableVolume() > 0
+            && (arr.getCurrentItem() == null || arr.getCurrentItem().equals(row.itemCode))) {
+          int qty = 1 + random.nextInt(Math.min(row.qty, arr.getAvailableVolume()));
+          row.qty -= qty;
+          db.stock(arr.getWareAreaCd(), row.itemCode, qty);
+          service.recordChange(row.wareAreaCd, row.itemCode, -qty);
+          service.recordChange(arr.getWareAreaCd(), row.itemCode, qty);
+        }
+      }
+      if (op % 500 == 499) {
+        assertEquals(List.of(), service.reconcile(), "op " + op);
+      }
+    }
+
+    for (AreaOccupancyVO area : db.areas) {
+      int sum = 0;
+      for (InMemoryWareStockMapper.StockRow row : db.stocks) {
+        if (row.wareAreaCd.equals(area.getWareAreaCd())) {
+          sum += row.qty;
+        }
+      }
+      assertEquals(sum, service.getArea(area.getWareAreaCd()).getCurrentVolume(), area.getWareAreaCd());
+    }
+    List<AreaOccupancyVO> same = service.getSameItemAreas("MAT-1", "FAC-1", null);
+    for (int i = 0; i < same.size(); i++) {
+      assertEquals("MAT-1", service.getArea(same.get(i).getWareAreaCd()).getCurrentItem());
+      assertTrue(same.get(i).getAvailableVolume() > 0);
+      assertTrue(i == 0 || same.get(i - 1).getAvailableVolume() >= same.get(i).getAvailableVolume());
+      assertEquals("FAC-1", same.get(i).getFcode());
+    }
+  }
+
+  @Test
+  void reconcileReportsAndFixesDrift() {
+    InMemoryWareStockMapper db = new InMemoryWareStockMapper()
+        .warehouse("WARE-001", "FAC-1", ROWS, 2, 2, 100);
+    InMemoryWareStockMapper.StockRow row = db.stock("W-001-11-1", "MAT-1", 40);
+    WarehouseOccupancyServiceImpl service = new WarehouseOccupancyServiceImpl(db);
+    assertEquals(40, service.getArea("W-001-11-1").getCurrentVolume());
+
+    // 인덱스를 거치지 않은 쓰기
+    row.qty = 10;
+    db.stock("W-001-12-2", "PRD-1", 5);
+    assertEquals(List.of("W-001-11-1", "W-001-12-2"), sorted(service.reconcile()));
+    assertEquals(10, service.getArea("W-001-11-1").getCurrentVolume());
+    assertEquals("PRD-1", service.getArea("W-001-12-2").getCurrentItem());
+  }
+
+  @Test
+  void unknownStateIsReloadedOnNextRead() {
+    InMemoryWareStockMapper db = new InMemoryWareStockMapper()
+        .warehouse("WARE-001", "FAC-1", ROWS, 2, 2, 100);
+    // 품목이 섞인 구역 (대표 품목 MAT-1)
+    InMemoryWareStockMapper.StockRow mat1 = db.stock("W-001-11-1", "MAT-1", 40);
+    db.stock("W-001-11-1", "MAT-2", 20);
+    WarehouseOccupancyServiceImpl service = new WarehouseOccupancyServiceImpl(db);
+    assertEquals("MAT-1", service.getArea("W-001-11-1").getCurrentItem());
+
+    mat1.qty = 0;
+    service.recordChange("W-001-11-1", "MAT-1", -40);
+    AreaOccupancyVO area = service.getArea("W-001-11-1");
+    assertEquals("MAT-2", area.getCurrentItem());
+    assertEquals(20, area.getCurrentVolume());
+    assertEquals(4, db.queries.get());
+
+    // 구역을 모두 비우면 적재 품목도 비워진다 (재적재 없이)
+    service.recordChange("W-001-11-1", "MAT-2", -20);
+    assertNull(service.getArea("W-001-11-1").getCurrentItem());
+    assertEquals(4, db.queries.get());
+  }
+
+  // 스냅샷 전에 커밋된 증분은 커밋 후 반영이 재적재 중에 도착해도 두 번 세지 않는다
+  @Test
+  void changeCommittedBeforeSnapshotIsNotReplayed() throws Exception {
+    InMemoryWareStockMapper db = new InMemoryWareStockMapper()
+        .warehouse("WARE-001", "FAC-1", ROWS, 2, 2, 100);
+    db.stock("W-001-11-1", "MAT-1", 10);
+    WarehouseOccupancyServiceImpl service = new WarehouseOccupancyServiceImpl(db);
+    assertEquals(10, service.getArea("W-001-11-1").getCurrentVolume());
+
+    TransactionSynchronizationManager.initSynchronization();
+    Thread reloader;
+    try {
+      service.recordChange("W-001-11-1", "MAT-1", 5);
+      TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+      db.stock("W-001-11-1", "MAT-1", 5); // 커밋됨 - 아직 커밋 후 반영 전
+
+      service.invalidate();
+      reloader = new Thread(() -> service.getArea("W-001-11-1"));
+      reloader.start();
+      // 재적재는 커밋 후 반영이 끝날 때까지 스냅샷을 읽지 않고 기다린다
+      while (!service.commitFence.hasQueuedThreads() && reloader.isAlive()) {
+        Thread.onSpinWait();
+      }
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    reloader.join(10_000);
+
+    assertEquals(15, service.getArea("W-001-11-1").getCurrentVolume());
+    assertEquals(List.of(), service.reconcile());
+  }
+
+  private static InMemoryWareStockMapper.StockRow anyRow(InMemoryWareStockMapper db, String wareAreaCd, Random random) {
+    List<InMemoryWareStockMapper.StockRow> rows = new ArrayList<>();
+    for (InMemoryWareStockMapper.StockRow row : db.stocks) {
+      if (row.wareAreaCd.equals(wareAreaCd) && row.qty > 0) {
+        rows.add(row);
+      }
+    }
+    return rows.isEmpty() ? null : rows.get(random.nextInt(rows.size()));
+  }
+
+  private static List<String> sorted(List<String> codes) {
+    List<String> copy = new ArrayList<>(codes);
+    copy.sort(null);
+    return copy;
+  }
+}
@@ -0,0 +1,112 @@
+package com.kimbap.kbs.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+class ExportUtilTests {
+
+  record Row(String code, String name, BigDecimal qty, Date at) {
+  }
+
+  private static final List<ExportColumn<Row>> COLUMNS = List.of(
+      ExportColumn.of("코드", Row::code),
+      ExportColumn.of("이름", Row::name),
+      ExportColumn.of("수량", Row::qty),
+      ExportColumn.of("일자", Row::at));
+
+  private static final Date DAY = Date.from(LocalDate.of(2025, 6, 1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+  private static final List<Row> ROWS = List.of(
+      new Row("M-1", "김 <특>, \"A\"", new BigDecimal("12.5"), DAY),
+      new Row("M-2", "=SUM(A1)", null, null));
+
+  @Test
+  void xlsxIsAValidWorkbookWithOneRowPerRecord() throws Exception {
+    ResponseEntity<StreamingResponseBody> response =
+        new ExportUtil().export("재고현황", ExportFormat.XLSX, COLUMNS, consumer -> ROWS.forEach(consumer));
+    assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains(".xlsx"));
+
+    Map<String, byte[]> entries = unzip(write(response));
+    assertTrue(entries.keySet().containsAll(List.of("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+        "xl/_rels/workbook.xml.rels", "xl/styles.xml", "xl/worksheets/sheet1.xml")));
+
+    Document sheet = parse(entries.get("xl/worksheets/sheet1.xml"));
+    NodeList rows = sheet.getElementsByTagName("row");
+    assertEquals(3, rows.getLength());
+    assertEquals("코드이름수량일자", rows.item(0).getTextContent());
+    assertEquals("M-1김 <특>, \"A\"12.545809.0", rows.item(1).getTextContent());
+    assertEquals("M-2=SUM(A1)", rows.item(2).getTextContent());
+    for (byte[] xml : entries.values()) {
+      parse(xml);
+    }
+  }
+
+  @Test
+  void xlsxContinuesOnNextSheetWhenSheetIsFull() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    XlsxTableWriter writer = new XlsxTableWriter(out, 2);
+    writer.header(List.of("no"));
+    for (int i = 0; i < 5; i++) {
+      writer.row(new Object[] {i});
+    }
+    writer.finish();
+
+    Map<String, byte[]> entries = unzip(out.toByteArray());
+    assertEquals(3, parse(entries.get("xl/workbook.xml")).getElementsByTagName("sheet").getLength());
+    assertEquals(3, parse(entries.get("xl/worksheets/sheet1.xml")).getElementsByTagName("row").getLength());
+    assertEquals(2, parse(entries.get("xl/worksheets/sheet3.xml")).getElementsByTagName("row").getLength());
+  }
+
+  @Test
+  void csvIsGzippedUtf8WithQuotingAndFormulaGuard() throws Exception {
+    byte[] gz = write(new ExportUtil().export("재고현황", ExportFormat.CSV, COLUMNS, consumer -> ROWS.forEach(consumer)));
+    String csv = new String(new GZIPInputStream(new ByteArrayInputStream(gz)).readAllBytes(), StandardCharsets.UTF_8);
+
+    assertEquals("\uFEFF코드,이름,수량,일자\r\n"
+        + "M-1,\"김 <특>, \"\"A\"\"\",12.5,2025-06-01\r\n"
+        + "M-2,'=SUM(A1),,\r\n", csv);
+  }
+
+  private static byte[] write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    response.getBody().writeTo(out);
+    return out.toByteArray();
+  }
+
+  private static Map<String, byte[]> unzip(byte[] xlsx) throws Exception {
+    Map<String, byte[]> entries = new HashMap<>();
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(xlsx))) {
+      for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+        entries.put(entry.getName(), zip.readAllBytes());
+      }
+    }
+    return entries;
+  }
+
+  private static Document parse(byte[] xml) throws Exception {
+    return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+  }
+}
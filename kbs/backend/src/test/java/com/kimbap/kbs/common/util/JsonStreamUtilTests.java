@@ -0,0 +1,44 @@
+package com.kimbap.kbs.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class JsonStreamUtilTests {
+
+  @Test
+  void writesJsonArrayRowByRow() throws Exception {
+    JsonStreamUtil util = new JsonStreamUtil(new ObjectMapper());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    util.<Map<String, Object>>array(consumer -> {
+      for (int i = 0; i < 3; i++) {
+        consumer.accept(Map.of("no", i));
+      }
+    }).getBody().writeTo(out);
+    assertEquals("[{\"no\":0},{\"no\":1},{\"no\":2}]", out.toString());
+
+    out.reset();
+    util.<Map<String, Object>>array(consumer -> { }).getBody().writeTo(out);
+    assertEquals("[]", out.toString());
+  }
+
+  // 중간에 실패하면 배열을 닫지 않는다 - 잘린 목록이 정상 JSON 으로 보이지 않게
+  @Test
+  void failureMidStreamLeavesArrayOpen() {
+    JsonStreamUtil util = new JsonStreamUtil(new ObjectMapper());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThrows(IllegalStateException.class, () -> util.<Map<String, Object>>array(consumer -> {
+      consumer.accept(Map.of("no", 0));
+      throw new IllegalStateException("boom");
+    }).getBody().writeTo(out));
+    assertEquals("[{\"no\":0}", out.toString());
+  }
+}
@@ -0,0 +1,70 @@
+package com.kimbap.kbs.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.common.exception.InvalidCursorException;
+import com.kimbap.kbs.common.service.KeysetPage;
+
+class KeysetPagingTests {
+
+  @Test
+  void cursorRoundTripsTypedValues() {
+    Timestamp at = new Timestamp(1_750_000_000_000L);
+    Object[] keys = KeysetPaging.decode(KeysetPaging.encode(at, "MI-001"));
+    assertEquals(at, keys[0]);
+    assertEquals("MI-001", keys[1]);
+
+    keys = KeysetPaging.decode(KeysetPaging.encode(null, 42));
+    assertNull(keys[0]);
+    assertEquals(new BigDecimal("42"), keys[1]);
+
+    assertThrows(InvalidCursorException.class, () -> KeysetPaging.decode("!!not-base64"));
+    assertThrows(InvalidCursorException.class, () -> KeysetPaging.decode("bm8tc2VwYXJhdG9y"));
+  }
+
+  @Test
+  void pagesWalkTheWholeListWithoutGapsOrDuplicates() {
+    List<String> all = new ArrayList<>();
+    for (int i = 0; i < 1_234; i++) {
+      all.add(String.format("ORD-%05d", i));
+    }
+
+    List<String> seen = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      Map<String, Object> params = KeysetPaging.apply(new HashMap<>(), cursor, 100);
+      // XML 조건 (id > keysetId ORDER BY id FETCH FIRST keysetFetch ROWS ONLY) 흉내
+      String after = (String) params.get(KeysetPaging.ID);
+      int fetch = (Integer) params.get(KeysetPaging.FETCH);
+      List<String> rows = all.stream().filter(id -> after == null || id.compareTo(after) > 0).limit(fetch).toList();
+
+      KeysetPage<String> page = KeysetPaging.toPage(rows, params, id -> id);
+      seen.addAll(page.getItems());
+      cursor = page.getNextCursor();
+      assertEquals(cursor != null, page.isHasNext());
+      pages++;
+    } while (cursor != null);
+
+    assertEquals(all, seen);
+    assertEquals(13, pages);
+  }
+
+  @Test
+  void pageSizeIsCapped() {
+    assertEquals(KeysetPaging.DEFAULT_SIZE, KeysetPaging.pageSize(null));
+    assertEquals(1, KeysetPaging.pageSize(0));
+    assertEquals(KeysetPaging.MAX_SIZE, KeysetPaging.pageSize(100_000));
+  }
+}
@@ -0,0 +1,141 @@
+package com.kimbap.kbs.dashboard.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kimbap.kbs.common.serviceimpl.CounterPushServiceImpl;
+import com.kimbap.kbs.dashboard.mapper.ChartMapper;
+import com.kimbap.kbs.dashboard.service.ChartVO;
+
+class DashboardSnapshotServiceImplTests {
+
+  private static final String THIS_MONTH = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM"));
+  private static final String PREV_MONTH = LocalDate.now().minusMonths(1).format(DateTimeFormatter.ofPattern("yyyy-MM"));
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final AtomicInteger prodInbo = new AtomicInteger(3);
+  private final List<ChartVO> pie = new ArrayList<>(List.of(
+      ChartVO.builder().prodName("김밥").pieTotalQty(10).build()));
+  private final List<ChartVO> bar = new ArrayList<>(List.of(
+      ChartVO.builder().month(PREV_MONTH).totalSales(1000).build(),
+      ChartVO.builder().month(THIS_MONTH).totalSales(500).build()));
+  private final List<ChartVO> products = new ArrayList<>(List.of(
+      ChartVO.builder().pcode("P-1").prodName("김밥").build(),
+      ChartVO.builder().pcode("P-2").prodName("참치김밥").build()));
+
+  private final DashboardSnapshotServiceImpl service = new DashboardSnapshotServiceImpl(mapper(), new CounterPushServiceImpl());
+
+  @Test
+  void readsAreServedFromOneLoad() {
+    service.getCounters();
+    service.getPieData();
+    service.getBarData();
+    assertEquals(1, loads.get());
+    assertEquals(3, service.getCounters().getProdInbo());
+  }
+
+  @Test
+  void writesUpdateCountersAndCharts() {
+    service.recordProdInbound(2);
+    service.seed();
+    service.recordProdInbound(2);
+    service.recordProdReturn(1);
+    service.recordReleaseOrder(4);
+    service.recordProdRelease("P-2", lot(LocalDate.now()), 20, new BigDecimal("100"));
+    service.recordProdRelease("P-1", lot(LocalDate.now().minusMonths(1)), 3, new BigDecimal("10"));
+
+    ChartVO counters = service.getCounters();
+    assertEquals(5, counters.getProdInbo());
+    assertEquals(1, counters.getProdReturn());
+    assertEquals(4, counters.getReleaseOrd());
+    assertEquals(2, counters.getProdRel());
+
+    // 지난달 LOT 은 파이차트에서 제외, 매출은 LOT 월에 반영
+    List<ChartVO> pieData = service.getPieData();
+    assertEquals("참치김밥", pieData.get(0).getProdName());
+    assertEquals(20, pieData.get(0).getPieTotalQty());
+    assertEquals(10, pieData.get(1).getPieTotalQty());
+    List<ChartVO> barData = service.getBarData();
+    assertEquals(1030, barData.get(0).getTotalSales());
+    assertEquals(2500, barData.get(1).getTotalSales());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void unknownProductAndReconcileReloadFromDb() {
+    service.seed();
+    service.recordProdRelease("P-9", lot(LocalDate.now()), 5, BigDecimal.ONE);
+    products.add(ChartVO.builder().pcode("P-9").prodName("신제품").build());
+    pie.add(ChartVO.builder().prodName("신제품").pieTotalQty(5).build());
+
+    assertEquals(2, service.getPieData().size());
+    assertEquals(2, loads.get());
+
+    service.reconcile();
+    assertEquals(3, loads.get());
+  }
+
+  // 커밋이 재집계와 겹쳐도 스냅샷에 이미 들어간 증분을 다시 더하지 않는다
+  @Test
+  void changeCommittedBeforeSnapshotIsNotReplayed() throws Exception {
+    service.seed();
+
+    TransactionSynchronizationManager.initSynchronization();
+    Thread reloader;
+    try {
+      service.recordProdInbound(2);
+      TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+      prodInbo.addAndGet(2); // 커밋됨 - 아직 커밋 후 반영 전
+
+      reloader = new Thread(service::reconcile);
+      reloader.start();
+      // 재집계는 커밋 후 반영이 끝날 때까지 스냅샷을 읽지 않고 기다린다
+      while (!service.commitFence.hasQueuedThreads() && reloader.isAlive()) {
+        Thread.onSpinWait();
+      }
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    reloader.join(10_000);
+
+    assertEquals(2, loads.get());
+    assertEquals(5, service.getCounters().getProdInbo());
+  }
+
+  private static String lot(LocalDate date) {
+    return "LOT-100-" + date.format(DateTimeFormatter.BASIC_ISO_DATE) + "-001";
+  }
+
+  private ChartMapper mapper() {
+    return (ChartMapper) Proxy.newProxyInstance(ChartMapper.class.getClassLoader(),
+        new Class<?>[] {ChartMapper.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getChartData":
+              loads.incrementAndGet();
+              return ChartVO.builder().prodInbo(prodInbo.get()).build();
+            case "getPieData":
+              return new ArrayList<>(pie);
+            case "getBarData":
+              return new ArrayList<>(bar);
+            case "getProductNames":
+              return new ArrayList<>(products);
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+}
@@ -0,0 +1,153 @@
+package com.kimbap.kbs.distribution.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.common.exception.InsufficientStockException;
+import com.kimbap.kbs.distribution.service.ProdRelVO;
+
+class ReleaseEngineTests {
+
+    private static ReleaseEngine engine(ReleaseFixture db) {
+        return new ReleaseEngine(db.mapper(), ReleaseFixture.keys(), "l1=40,l2=10", 40);
+    }
+
+    @Test
+    void releaseAllocatesPerPackUnitAndRecomputesStatusesInOnePass() {
+        ReleaseFixture db = new ReleaseFixture(0)
+            .product("P-KIM", "l1")      // 40개/박스
+            .product("P-DAN", "l2")      // 10개/박스
+            .lot("P-KIM", "LOT-A", "A-1", 3, 50)
+            .lot("P-DAN", "LOT-B", "B-1", 1, 100)
+            .line("RM-1", "ORD-1", "OD-1", 3, 100)
+            .line("RM-1", "ORD-1", "OD-2", 5, 20)
+            .line("RM-2", "ORD-1", "OD-3", 1, 10);
+
+        ReleaseEngine.Result result = db.inTransaction(() -> engine(db).release(ReleaseFixture.request("RM-1", List.of(
+            ReleaseFixture.item("OD-1", "P-KIM", "LOT-A", "A-1", 3),
+            ReleaseFixture.item("OD-2", "P-DAN", "LOT-B", "B-1", 2)))));
+
+        // 3박스 x 40 = 120개 → 50 + 50 + 20 / 2박스 x 10 = 20개
+        assertEquals(30, db.lotQty("LOT-A"));
+        assertEquals(80, db.lotQty("LOT-B"));
+        assertEquals(List.of(30, 80), result.rels().stream().map(ProdRelVO::getRemainQty).toList());
+        assertEquals("V2", result.rels().get(0).getProdVerCd());
+        assertEquals(BigDecimal.valueOf(120 * 100 + 20 * 20), result.totalAmount());
+        assertEquals(4, result.entries().size());
+        assertEquals(result.rels().get(0).getProdRelCd(), result.entries().get(2).getRefCd());
+        assertEquals(result.rels().get(1).getProdRelCd(), result.entries().get(3).getRefCd());
+
+        // OD-1 전량(3박스) → t3, OD-2 는 2/5 → 지시서 부분출고, 주문은 잔여 있음
+        assertEquals("t3", db.detailStatus.get("OD-1"));
+        assertEquals(null, db.detailStatus.get("OD-2"));
+        assertEquals("m3", db.relStatus.get("RM-1"));
+        assertEquals("s8", db.customerStatus.get("ORD-1"));
+        // 출고지시(s7) → 부분출고(s8) 1건 이동 - 건수 푸시용
+        assertEquals(Map.of("s7", -1, "s8", 1), result.orderStatusDeltas());
+        // 조회 2 + 잠금 1 + 차감 1 + 이력 1 + 집계 1 + 상태 3 (라인/LOT 수와 무관)
+        assertEquals(9, db.roundTrips.get());
+    }
+
+    @Test
+    void shortageWritesNothing() {
+        ReleaseFixture db = new ReleaseFixture(0)
+            .product("P-KIM", "l1")
+            .lot("P-KIM", "LOT-A", "A-1", 1, 100)
+            .line("RM-1", "ORD-1", "OD-1", 3, 100)
+            .line("RM-1", "ORD-1", "OD-2", 3, 100);
+
+        // 같은 LOT 을 두 라인이 나눠 쓰면 앞 라인 차감분이 반영된다 (2박스 80개 + 1박스 40개 > 100개)
+        InsufficientStockException e = assertThrows(InsufficientStockException.class,
+            () -> db.inTransaction(() -> engine(db).release(ReleaseFixture.request("RM-1", List.of(
+                ReleaseFixture.item("OD-1", "P-KIM", "LOT-A", "A-1", 2),
+                ReleaseFixture.item("OD-2", "P-KIM", "LOT-A", "A-1", 1))))));
+
+        assertTrue(e.getMessage().contains("보유 20"), e.getMessage());
+        assertEquals(100, db.lotQty("LOT-A"));
+        assertTrue(db.prodRels.isEmpty());
+        assertTrue(db.relStatus.isEmpty());
+    }
+
+    @Test
+    void concurrentReleasesOfSameLotsNeverOverdraw() throws Exception {
+        ReleaseFixture db = new ReleaseFixture(50).product("P-KIM", "l1");
+        for (int l = 0; l < 4; l++) {
+            db.lot("P-KIM", "LOT-" + l, "A-1", 2, 200);
+        }
+        int threads = 16;
+        for (int t = 0; t < threads; t++) {
+            db.line("RM-" + t, "ORD-" + t, "OD-" + t, 10, 100);
+        }
+        ReleaseEngine engine = engine(db);
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int n = t;
+            pool.submit(() -> {
+                start.await();
+                // 스레드마다 LOT 순서를 다르게 요청 - 잠금은 기다리지 않고(NOWAIT) 재시도하므로 교착 없음
+                String first = "LOT-" + (n % 4);
+                String second = "LOT-" + ((n + 1) % 4);
+                try {
+                    db.inTransaction(() -> engine.release(ReleaseFixture.request("RM-" + n, List.of(
+                        ReleaseFixture.item("OD-" + n, "P-KIM", first, "A-1", 2, second, "A-1", 2)))));
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        // 재고 1,600개 / 요청당 160개 → 10건 성공, 나머지는 거절, 음수 재고 없음
+        int released = db.prodRels.stream().mapToInt(ProdRelVO::getRelQty).sum() * 40;
+        assertEquals(1_600, released + db.rows.values().stream().mapToInt(r -> r.qty).sum());
+        assertTrue(db.rows.values().stream().allMatch(r -> r.qty >= 0));
+        assertEquals(threads, db.prodRels.size() / 2 + rejected.get());
+    }
+
+    @Test
+    void lockedRowsAreRetriedInsteadOfWaitedOn() throws Exception {
+        ReleaseFixture db = new ReleaseFixture(0).product("P-KIM", "l1")
+            .lot("P-KIM", "LOT-A", "A-1", 1, 80)
+            .lot("P-KIM", "LOT-B", "A-1", 1, 80)
+            .line("RM-1", "ORD-1", "OD-1", 2, 100);
+
+        // 다른 트랜잭션이 LOT-B 를 잡고 있다가 잠금 실패가 한 번 난 뒤 커밋한다
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread other = new Thread(() -> db.inTransaction(() -> {
+            db.lockLot("LOT-B", "A-1");
+            locked.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (db.lockFailures.get() == 0 && System.nanoTime() - deadline < 0) {
+                Thread.onSpinWait();
+            }
+            return null;
+        }));
+        other.start();
+        locked.await();
+
+        ReleaseEngine.Result result = db.inTransaction(() -> engine(db).release(ReleaseFixture.request("RM-1", List.of(
+            ReleaseFixture.item("OD-1", "P-KIM", "LOT-A", "A-1", 1, "LOT-B", "A-1", 1)))));
+        other.join();
+
+        assertTrue(db.lockFailures.get() > 0);
+        assertEquals(2, result.rels().size());
+        assertEquals(80, db.lotQty("LOT-A") + db.lotQty("LOT-B"));
+    }
+}
@@ -0,0 +1,327 @@
+package com.kimbap.kbs.distribution.serviceimpl;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.dao.CannotAcquireLockException;
+
+import com.kimbap.kbs.common.service.KeyFormat;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.distribution.mapper.DistributionMapper;
+import com.kimbap.kbs.distribution.service.LotStockVO;
+import com.kimbap.kbs.distribution.service.ProdRelVO;
+import com.kimbap.kbs.distribution.service.ReleaseLineVO;
+import com.kimbap.kbs.distribution.service.ReleaseProgressVO;
+import com.kimbap.kbs.distribution.service.ReleaseRequestVO;
+import com.kimbap.kbs.standard.service.ProdVO;
+
+/**
+ * ware_stock / order_d / release_ord / prod_rel 을 흉내 내는 테스트/벤치마크용 데이터.
+ * FOR UPDATE 는 행별 ReentrantLock 으로, 커밋은 inTransaction 종료 시 잠금 해제로 흉내 낸다.
+ * ReleaseEngine 의 재고 잠금(NOWAIT)은 다른 스레드가 잡은 행이 있으면 기다리지 않고 CannotAcquireLockException.
+ * 조회/DML 마다 roundTripMicros 만큼 대기한다.
+ */
+class ReleaseFixture {
+
+    static final class Row {
+        final String wslcode;
+        final String lotNo;
+        final String wareAreaCd;
+        final String pcode;
+        final ReentrantLock lock = new ReentrantLock();
+        volatile int qty;
+
+        Row(String wslcode, String lotNo, String wareAreaCd, String pcode, int qty) {
+            this.wslcode = wslcode;
+            this.lotNo = lotNo;
+            this.wareAreaCd = wareAreaCd;
+            this.pcode = pcode;
+            this.qty = qty;
+        }
+    }
+
+    record Line(String ordCd, String ordDCd, int ordQty, BigDecimal unitPrice, String relOrdCd, String relMasCd) {
+    }
+
+    // wslcode 순 = LOT/구역 순
+    final Map<String, Row> rows = new TreeMap<>();
+    final Map<String, Line> lines = new HashMap<>();       // ordDCd → 주문상세 + 출고지시
+    final Map<String, ProdVO> products = new HashMap<>();
+    final List<ProdRelVO> prodRels = Collections.synchronizedList(new ArrayList<>());
+    final Map<String, String> detailStatus = new ConcurrentHashMap<>();
+    final Map<String, String> relStatus = new ConcurrentHashMap<>();
+    final Map<String, String> customerStatus = new ConcurrentHashMap<>();
+    final AtomicInteger roundTrips = new AtomicInteger();
+    final AtomicInteger lockFailures = new AtomicInteger();
+    private final long roundTripMicros;
+    private final ThreadLocal<List<ReentrantLock>> held = ThreadLocal.withInitial(ArrayList::new);
+
+    ReleaseFixture(long roundTripMicros) {
+        this.roundTripMicros = roundTripMicros;
+    }
+
+    ReleaseFixture product(String pcode, String pacUnit) {
+        products.put(pcode, ProdVO.builder().pcode(pcode).prodVerCd("V2").pacUnit(pacUnit).build());
+        return this;
+    }
+
+    // LOT 하나를 구역 하나에 rowCount 개 행으로 나눠 적재
+    ReleaseFixture lot(String pcode, String lotNo, String wareAreaCd, int rowCount, int qtyPerRow) {
+        for (int i = 0; i < rowCount; i++) {
+            String wslcode = lotNo + "/" + wareAreaCd + "/" + i;
+            rows.put(wslcode, new Row(wslcode, lotNo, wareAreaCd, pcode, qtyPerRow));
+        }
+        return this;
+    }
+
+    ReleaseFixture line(String relMasCd, String ordCd, String ordDCd, int ordQty, int unitPrice) {
+        lines.put(ordDCd, new Line(ordCd, ordDCd, ordQty, BigDecimal.valueOf(unitPrice), "RO-" + ordDCd, relMasCd));
+        return this;
+    }
+
+    static ReleaseRequestVO.ItemVO item(String ordDCd, String pcode, Object... lotAreaBoxes) {
+        ReleaseRequestVO.ItemVO item = new ReleaseRequestVO.ItemVO();
+        item.setRelOrdCd("RO-" + ordDCd);
+        item.setOrd_d_cd(ordDCd);
+        item.setPcode(pcode);
+        List<ReleaseRequestVO.LotVO> lots = new ArrayList<>();
+        for (int i = 0; i < lotAreaBoxes.length; i += 3) {
+            ReleaseRequestVO.LotVO lot = new ReleaseRequestVO.LotVO();
+            lot.setLotNo((String) lotAreaBoxes[i]);
+            lot.setWareAreaCd((String) lotAreaBoxes[i + 1]);
+            lot.setAllocQty((Integer) lotAreaBoxes[i + 2]);
+            lots.add(lot);
+        }
+        item.setLots(lots);
+        return item;
+    }
+
+    static ReleaseRequestVO request(String relMasCd, List<ReleaseRequestVO.ItemVO> items) {
+        ReleaseRequestVO vo = new ReleaseRequestVO();
+        vo.setRelMasCd(relMasCd);
+        vo.setCpCd("CP-1");
+        vo.setItems(items);
+        return vo;
+    }
+
+    int lotQty(String lotNo) {
+        return rows.values().stream().filter(r -> r.lotNo.equals(lotNo)).mapToInt(r -> r.qty).sum();
+    }
+
+    // 트랜잭션 경계 - 종료 시 이 스레드가 잡은 행 잠금 해제
+    <T> T inTransaction(Supplier<T> work) {
+        try {
+            return work.get();
+        } finally {
+            held.get().forEach(ReentrantLock::unlock);
+            held.get().clear();
+        }
+    }
+
+    // ===== 기존 건별 처리 (벤치마크 비교용) =====
+    List<Row> lockLot(String lotNo, String wareAreaCd) {
+        roundTrip();
+        List<Row> result = new ArrayList<>();
+        for (Row row : rows.values()) {
+            if (row.lotNo.equals(lotNo) && row.wareAreaCd.equals(wareAreaCd)) {
+                lock(row);
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    void decrease(Row row, int delta) {
+        roundTrip();
+        row.qty -= delta;
+    }
+
+    // 단건 조회/INSERT/UPDATE 한 번
+    void statement() {
+        roundTrip();
+    }
+
+    // ===== ReleaseEngine 용 =====
+    @SuppressWarnings("unchecked")
+    DistributionMapper mapper() {
+        return (DistributionMapper) Proxy.newProxyInstance(DistributionMapper.class.getClassLoader(),
+                new Class<?>[] {DistributionMapper.class}, (proxy, method, args) -> {
+                    roundTrip();
+                    switch (method.getName()) {
+                        case "selectReleaseLines": {
+                            List<ReleaseLineVO> result = new ArrayList<>();
+                            for (Line line : lines.values()) {
+                                if (((List<String>) args[0]).contains(line.relOrdCd())) {
+                                    result.add(lineVO(line, line.relOrdCd()));
+                                }
+                                if (((List<String>) args[1]).contains(line.ordDCd())) {
+                                    result.add(lineVO(line, null));
+                                }
+                            }
+                            return result;
+                        }
+                        case "selectLatestProducts": {
+                            List<ProdVO> result = new ArrayList<>();
+                            for (String pcode : (List<String>) args[0]) {
+                                if (products.containsKey(pcode)) {
+                                    result.add(products.get(pcode));
+                                }
+                            }
+                            return result;
+                        }
+                        case "selectLotStocksForUpdate": {
+                            List<LotStockVO> result = new ArrayList<>();
+                            int heldBefore = held.get().size();
+                            for (LotStockVO key : (List<LotStockVO>) args[0]) {
+                                for (Row row : rows.values()) {
+                                    if (row.lotNo.equals(key.getLotNo()) && row.wareAreaCd.equals(key.getWareAreaCd())) {
+                                        if (!tryLock(row)) {
+                                            // 문장 단위 롤백 - 이번 문장에서 잡은 잠금만 푼다
+                                            List<ReentrantLock> locks = held.get();
+                                            while (locks.size() > heldBefore) {
+                                                locks.remove(locks.size() - 1).unlock();
+                                            }
+                                            lockFailures.incrementAndGet();
+                                            throw new CannotAcquireLockException("ORA-00054: resource busy and acquire with NOWAIT specified");
+                                        }
+                                        LotStockVO stock = new LotStockVO();
+                                        stock.setWslcode(row.wslcode);
+                                        stock.setLotNo(row.lotNo);
+                                        stock.setWareAreaCd(row.wareAreaCd);
+                                        stock.setPcode(row.pcode);
+                                        stock.setProdVerCd("V1");
+                                        stock.setQty(row.qty);
+                                        result.add(stock);
+                                    }
+                                }
+                            }
+                            return result;
+                        }
+                        case "decreaseLotStocks": {
+                            int updated = 0;
+                            for (LotStockVO d : (List<LotStockVO>) args[0]) {
+                                Row row = rows.get(d.getWslcode());
+                                if (row.qty >= d.getQty()) {
+                                    row.qty -= d.getQty();
+                                    updated++;
+                                }
+                            }
+                            return updated;
+                        }
+                        case "insertProdRels":
+                            prodRels.addAll((List<ProdRelVO>) args[0]);
+                            return ((List<?>) args[0]).size();
+                        case "selectReleaseProgress":
+                            return progress((String) args[0], (List<String>) args[1]);
+                        case "updateOrderDetailStatusesToT3":
+                            ((List<String>) args[0]).forEach(ordDCd -> detailStatus.put(ordDCd, "t3"));
+                            return ((List<?>) args[0]).size();
+                        case "updateRelOrderStatus":
+                            relStatus.put((String) args[0], (String) args[1]);
+                            return 1;
+                        case "updateCustomerOrderStatuses":
+                            ((List<String>) args[0]).forEach(ordCd -> customerStatus.put(ordCd, (String) args[1]));
+                            return ((List<?>) args[0]).size();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private List<ReleaseProgressVO> progress(String relMasCd, List<String> ordCds) {
+        Map<String, Long> released = new HashMap<>();
+        synchronized (prodRels) {
+            for (ProdRelVO rel : prodRels) {
+                released.merge(rel.getOrdDCd(), (long) rel.getRelQty(), Long::sum);
+            }
+        }
+        List<ReleaseProgressVO> result = new ArrayList<>();
+        for (Line line : lines.values()) {
+            boolean inMas = line.relMasCd().equals(relMasCd);
+            if (inMas || ordCds.contains(line.ordCd())) {
+                ReleaseProgressVO p = new ReleaseProgressVO();
+                p.setOrdCd(line.ordCd());
+                p.setOrdDCd(line.ordDCd());
+                p.setOrdQty(line.ordQty());
+                p.setReleasedQty(released.getOrDefault(line.ordDCd(), 0L));
+                p.setMasLines(inMas ? 1 : 0);
+                p.setOrdStatusCustomer(customerStatus.getOrDefault(line.ordCd(), "s7"));
+                result.add(p);
+            }
+        }
+        return result;
+    }
+
+    private static ReleaseLineVO lineVO(Line line, String relOrdCd) {
+        ReleaseLineVO vo = new ReleaseLineVO();
+        vo.setRelOrdCd(relOrdCd);
+        vo.setOrdDCd(line.ordDCd());
+        vo.setOrdCd(line.ordCd());
+        vo.setOrdQty(line.ordQty());
+        vo.setUnitPrice(line.unitPrice());
+        return vo;
+    }
+
+    // 순번만 증가시키는 발번 서비스
+    static KeyGeneratorService keys() {
+        Map<String, AtomicLong> seqs = new ConcurrentHashMap<>();
+        return new KeyGeneratorService() {
+            @Override
+            public String nextKey(KeyFormat format) {
+                return format.format("TEST", nextSequence(format, "TEST"));
+            }
+
+            @Override
+            public List<String> nextKeys(KeyFormat format, int count) {
+                List<String> keys = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    keys.add(nextKey(format));
+                }
+                return keys;
+            }
+
+            @Override
+            public long nextSequence(KeyFormat format, String bucket) {
+                return seqs.computeIfAbsent(format.getName() + bucket, k -> new AtomicLong()).incrementAndGet();
+            }
+        };
+    }
+
+    private void lock(Row row) {
+        if (!row.lock.isHeldByCurrentThread()) {
+            row.lock.lock();
+            held.get().add(row.lock);
+        }
+    }
+
+    private boolean tryLock(Row row) {
+        if (row.lock.isHeldByCurrentThread()) {
+            return true;
+        }
+        if (!row.lock.tryLock()) {
+            return false;
+        }
+        held.get().add(row.lock);
+        return true;
+    }
+
+    private void roundTrip() {
+        roundTrips.incrementAndGet();
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        }
+    }
+}
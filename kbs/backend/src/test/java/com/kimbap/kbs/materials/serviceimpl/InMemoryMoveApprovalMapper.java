@@ -0,0 +1,249 @@
+package com.kimbap.kbs.materials.serviceimpl;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.dao.CannotAcquireLockException;
+
+import com.kimbap.kbs.common.service.KeyFormat;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.service.StockBalanceVO;
+import com.kimbap.kbs.common.service.StockEntryVO;
+import com.kimbap.kbs.common.service.StockLedgerService;
+import com.kimbap.kbs.materials.mapper.MoveApprovalMapper;
+import com.kimbap.kbs.materials.service.MoveStockVO;
+import com.kimbap.kbs.materials.service.StockMovementVO;
+
+/**
+ * move_req / move_req_d / ware_stock / ware_move_his 를 흉내 내는 테스트용 매퍼.
+ * 재고행은 입고건(자재 LOT 1개 = 입고 1건)과 구역 단위, 호출한 문장 수를 센다.
+ * busyRequestLocks / busyStockLocks 만큼 헤더/재고 잠금 조회(NOWAIT)가 다른 트랜잭션에 막힌 것처럼 실패한다.
+ */
+class InMemoryMoveApprovalMapper implements MoveApprovalMapper {
+
+    final Map<String, StockMovementVO> requests = new LinkedHashMap<>();
+    final List<StockMovementVO> details = new ArrayList<>();
+    final List<MoveStockVO> stocks = new ArrayList<>();
+    final List<StockMovementVO> histories = new ArrayList<>();
+    final List<StockEntryVO> ledger = new ArrayList<>();
+    int statements;
+    int busyRequestLocks;
+    int busyStockLocks;
+
+    InMemoryMoveApprovalMapper request(String moveReqCd, String status) {
+        requests.put(moveReqCd, StockMovementVO.builder().moveReqCd(moveReqCd).moveStatus(status).moveRea("재배치").build());
+        return this;
+    }
+
+    // 자재 LOT 이동 상세 1건
+    InMemoryMoveApprovalMapper detail(String moveReqCd, String mcode, String lotNo, int qty, String depa, String arr) {
+        details.add(StockMovementVO.builder()
+                .mrdcode(moveReqCd + "-" + (details.size() + 1))
+                .moveReqCd(moveReqCd)
+                .itemType("h1")
+                .mcode(mcode)
+                .mateVerCd("V001")
+                .lotNo(lotNo)
+                .moveQty(BigDecimal.valueOf(qty))
+                .unit("EA")
+                .depaAreaCd(depa)
+                .arrAreaCd(arr)
+                .build());
+        return this;
+    }
+
+    InMemoryMoveApprovalMapper stock(String mcode, String lotNo, String area, int qty) {
+        stocks.add(MoveStockVO.builder()
+                .wslcode("WSL-" + (stocks.size() + 1))
+                .mateInboCd("MI-" + lotNo)
+                .itemType("h1")
+                .itemCode(mcode)
+                .verCd("V001")
+                .lotNo(lotNo)
+                .wareAreaCd(area)
+                .qty(BigDecimal.valueOf(qty))
+                .build());
+        return this;
+    }
+
+    // 이동요청 requests 건 - 요청마다 lines 개 LOT 를 A 구역에서 B 구역으로 (LOT 마다 재고 100)
+    List<String> seed(int requests, int lines) {
+        List<String> codes = new ArrayList<>(requests);
+        for (int r = 0; r < requests; r++) {
+            String code = String.format("MR-%05d", r);
+            request(code, "d1");
+            for (int l = 0; l < lines; l++) {
+                String lotNo = code + "-L" + l;
+                String mcode = "MAT-" + (l % 40);
+                stock(mcode, lotNo, "A" + (r % 50), 100);
+                detail(code, mcode, lotNo, 30 + l, "A" + (r % 50), "B" + (r % 50));
+            }
+            codes.add(code);
+        }
+        return codes;
+    }
+
+    // 구역/품목/LOT 재고 합계
+    int qty(String mcode, String lotNo, String area) {
+        return stocks.stream()
+                .filter(s -> s.getItemCode().equals(mcode) && s.getLotNo().equals(lotNo) && s.getWareAreaCd().equals(area))
+                .mapToInt(s -> s.getQty().intValue())
+                .sum();
+    }
+
+    KeyGeneratorService keys() {
+        AtomicLong seq = new AtomicLong();
+        return new KeyGeneratorService() {
+            @Override
+            public String nextKey(KeyFormat format) {
+                return format.getPrefix() + seq.incrementAndGet();
+            }
+
+            @Override
+            public List<String> nextKeys(KeyFormat format, int count) {
+                statements++;
+                List<String> keys = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    keys.add(format.getPrefix() + seq.incrementAndGet());
+                }
+                return keys;
+            }
+
+            @Override
+            public long nextSequence(KeyFormat format, String bucket) {
+                return seq.incrementAndGet();
+            }
+        };
+    }
+
+    StockLedgerService ledger() {
+        return new StockLedgerService() {
+            @Override
+            public void post(List<StockEntryVO> entries) {
+                statements++;
+                ledger.addAll(entries);
+            }
+
+            @Override
+            public BigDecimal getOnHand(String itemCode, String verCd) {
+                return BigDecimal.ZERO;
+            }
+
+            @Override
+            public BigDecimal getOnHand(String itemCode, String verCd, String fcode) {
+                return BigDecimal.ZERO;
+            }
+
+            @Override
+            public List<StockBalanceVO> reconcile() {
+                return List.of();
+            }
+        };
+    }
+
+    @Override
+    public List<StockMovementVO> selectRequestsForUpdate(List<String> moveReqCds) {
+        statements++;
+        if (busyRequestLocks > 0) {
+            busyRequestLocks--;
+            throw busy();
+        }
+        return moveReqCds.stream().filter(requests::containsKey)
+                .map(code -> StockMovementVO.builder().moveReqCd(code)
+                        .moveStatus(requests.get(code).getMoveStatus()).moveRea(requests.get(code).getMoveRea()).build())
+                .toList();
+    }
+
+    @Override
+    public List<StockMovementVO> selectRequestDetails(List<String> moveReqCds) {
+        statements++;
+        Set<String> codes = new HashSet<>(moveReqCds);
+        List<StockMovementVO> rows = new ArrayList<>();
+        for (StockMovementVO detail : details) {
+            if (codes.contains(detail.getMoveReqCd())) {
+                rows.add(detail);
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public List<MoveStockVO> selectStocksForUpdate(List<MoveStockVO> mates, List<MoveStockVO> prods) {
+        statements++;
+        if (busyStockLocks > 0) {
+            busyStockLocks--;
+            throw busy();
+        }
+        Map<String, Boolean> lots = new HashMap<>();
+        for (MoveStockVO lot : mates) {
+            lots.put(lot.getItemCode() + "|" + lot.getVerCd() + "|" + lot.getLotNo(), true);
+        }
+        return stocks.stream()
+                .filter(s -> lots.containsKey(s.getItemCode() + "|" + s.getVerCd() + "|" + s.getLotNo()))
+                .sorted(Comparator.comparing(MoveStockVO::getWslcode))
+                .map(s -> s.toBuilder().build())
+                .toList();
+    }
+
+    @Override
+    public int approveRequests(List<String> moveReqCds, String appr, Timestamp appDt, String note) {
+        statements++;
+        int updated = 0;
+        for (String code : moveReqCds) {
+            StockMovementVO request = requests.get(code);
+            if (request != null && "d1".equals(request.getMoveStatus())) {
+                request.setMoveStatus("d2");
+                request.setAppr(appr);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public int insertWareMoveHistories(List<StockMovementVO> rows) {
+        statements++;
+        histories.addAll(rows);
+        return rows.size();
+    }
+
+    @Override
+    public int applyStockDeltas(List<MoveStockVO> deltas) {
+        statements++;
+        Map<String, MoveStockVO> byWslcode = new HashMap<>();
+        for (MoveStockVO stock : stocks) {
+            byWslcode.put(stock.getWslcode(), stock);
+        }
+        int updated = 0;
+        for (MoveStockVO delta : deltas) {
+            MoveStockVO stock = byWslcode.get(delta.getWslcode());
+            if (stock != null && stock.getQty().add(delta.getDelta()).signum() >= 0) {
+                stock.setQty(stock.getQty().add(delta.getDelta()));
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public int insertWareStocks(List<MoveStockVO> rows) {
+        statements++;
+        for (MoveStockVO row : rows) {
+            stocks.add(row.toBuilder().build());
+        }
+        return rows.size();
+    }
+
+    private static CannotAcquireLockException busy() {
+        return new CannotAcquireLockException("ORA-00054: resource busy and acquire with NOWAIT specified");
+    }
+}
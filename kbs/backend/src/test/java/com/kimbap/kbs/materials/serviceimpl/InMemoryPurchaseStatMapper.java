@@ -0,0 +1,158 @@
+package com.kimbap.kbs.materials.serviceimpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import com.kimbap.kbs.materials.mapper.PurchaseStatMapper;
+import com.kimbap.kbs.materials.service.PurchaseStatVO;
+
+/**
+ * purc_ord / purc_ord_d / purc_stat_d 를 흉내 내는 테스트용 매퍼.
+ * selectStatistics 는 GROUPING SETS 대신 집계 행을 기준별로 한 번씩 합친다.
+ */
+class InMemoryPurchaseStatMapper implements PurchaseStatMapper {
+
+    record Detail(String purcDCd, String purcCd, String status, String mcode, String cpCd, int qty, BigDecimal price) {
+    }
+
+    final Map<String, LocalDate> orders = new HashMap<>();
+    final Map<String, Detail> details = new LinkedHashMap<>();
+    final Map<String, String> companyNames = new HashMap<>();
+    final Map<String, String> materialNames = new HashMap<>();
+    // stat_dt|status|mcode|cp_cd → {건수, 금액}
+    final Map<String, Object[]> stats = new TreeMap<>();
+    final List<LocalDate> refreshedDays = new ArrayList<>();
+    int statisticsQueries;
+    int failInserts;
+
+    InMemoryPurchaseStatMapper order(String purcCd, LocalDate ordDt) {
+        orders.put(purcCd, ordDt);
+        return this;
+    }
+
+    InMemoryPurchaseStatMapper detail(String purcDCd, String purcCd, String status, String mcode, String cpCd,
+                                      int qty, int price) {
+        details.put(purcDCd, new Detail(purcDCd, purcCd, status, mcode, cpCd, qty, BigDecimal.valueOf(price)));
+        return this;
+    }
+
+    void status(String purcDCd, String status) {
+        Detail d = details.get(purcDCd);
+        details.put(purcDCd, new Detail(d.purcDCd(), d.purcCd(), status, d.mcode(), d.cpCd(), d.qty(), d.price()));
+    }
+
+    @Override
+    public List<LocalDate> selectOrderDays(List<String> purcCds, List<String> purcDCds) {
+        TreeSet<LocalDate> days = new TreeSet<>();
+        purcCds.forEach(purcCd -> {
+            if (orders.containsKey(purcCd)) {
+                days.add(orders.get(purcCd));
+            }
+        });
+        purcDCds.forEach(purcDCd -> {
+            Detail d = details.get(purcDCd);
+            if (d != null) {
+                days.add(orders.get(d.purcCd()));
+            }
+        });
+        return new ArrayList<>(days);
+    }
+
+    @Override
+    public List<LocalDate> selectAllOrderDays() {
+        return new ArrayList<>(new TreeSet<>(orders.values()));
+    }
+
+    @Override
+    public int deleteDays(List<LocalDate> days) {
+        int before = stats.size();
+        stats.keySet().removeIf(key -> days.contains(LocalDate.parse(key.substring(0, 10))));
+        return before - stats.size();
+    }
+
+    @Override
+    public int insertDays(List<LocalDate> days) {
+        if (failInserts > 0) {
+            failInserts--;
+            throw new IllegalStateException("insert 실패");
+        }
+        int rows = 0;
+        for (Detail d : details.values()) {
+            LocalDate day = orders.get(d.purcCd());
+            if (!days.contains(day)) {
+                continue;
+            }
+            String key = day + "|" + d.status() + "|" + d.mcode() + "|" + d.cpCd();
+            Object[] row = stats.computeIfAbsent(key, k -> new Object[] {0L, BigDecimal.ZERO});
+            row[0] = (long) row[0] + 1;
+            row[1] = ((BigDecimal) row[1]).add(d.price().multiply(BigDecimal.valueOf(d.qty())));
+            rows++;
+        }
+        refreshedDays.addAll(days);
+        return rows;
+    }
+
+    @Override
+    public int existsStatRows() {
+        return stats.isEmpty() ? 0 : 1;
+    }
+
+    @Override
+    public List<PurchaseStatVO> selectStatistics(LocalDate from, LocalDate to) {
+        statisticsQueries++;
+        Map<String, PurchaseStatVO> groups = new LinkedHashMap<>();
+        stats.forEach((key, row) -> {
+            String[] k = key.split("\\|");
+            LocalDate day = LocalDate.parse(k[0]);
+            if ((from != null && day.isBefore(from)) || (to != null && day.isAfter(to))) {
+                return;
+            }
+            add(groups, "status", k[1], null, row);
+            add(groups, "month", k[0].substring(0, 7), null, row);
+            add(groups, "supplier", k[3], companyNames.get(k[3]), row);
+            add(groups, "material", k[2], materialNames.get(k[2]), row);
+            add(groups, "total", null, null, row);
+        });
+        return new ArrayList<>(groups.values());
+    }
+
+    private static void add(Map<String, PurchaseStatVO> groups, String dim, String key, String name, Object[] row) {
+        PurchaseStatVO g = groups.computeIfAbsent(dim + "|" + key, k -> PurchaseStatVO.builder()
+            .statDim(dim).statKey(key).statName(name).amount(BigDecimal.ZERO).build());
+        g.setCnt(g.getCnt() + (long) row[0]);
+        g.setAmount(g.getAmount().add((BigDecimal) row[1]));
+    }
+
+    static PlatformTransactionManager noOpTransactionManager() {
+        return new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        };
+    }
+}
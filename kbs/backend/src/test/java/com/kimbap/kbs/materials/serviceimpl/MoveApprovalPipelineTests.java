@@ -0,0 +1,77 @@
+package com.kimbap.kbs.materials.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.materials.service.MoveApprovalResult;
+
+class MoveApprovalPipelineTests {
+
+    @Test
+    void failedRequestIsRolledBackInMemoryAndOthersApproved() {
+        InMemoryMoveApprovalMapper db = new InMemoryMoveApprovalMapper()
+                .stock("MAT-1", "L1", "A1", 100)
+                .stock("MAT-1", "L1", "B1", 20)
+                .stock("MAT-2", "L2", "A1", 10)
+                // 1: A1 → B1 60 (기존 B1 행에 가산)
+                .request("MR-1", "d1").detail("MR-1", "MAT-1", "L1", 60, "A1", "B1")
+                // 2: 첫 줄은 가능하지만 둘째 줄 재고 부족 → 요청 전체 실패, 첫 줄도 되돌림
+                .request("MR-2", "d1").detail("MR-2", "MAT-1", "L1", 30, "A1", "C1")
+                .detail("MR-2", "MAT-2", "L2", 11, "A1", "C1")
+                // 3: 1 이 옮겨 놓은 B1 재고를 다시 C1 으로 (새 재고행)
+                .request("MR-3", "d1").detail("MR-3", "MAT-1", "L1", 70, "B1", "C1")
+                .request("MR-4", "d2").detail("MR-4", "MAT-1", "L1", 1, "A1", "B1");
+        MoveApprovalPipeline pipeline = new MoveApprovalPipeline(db, db.keys(), db.ledger());
+
+        MoveApprovalResult result = pipeline.approve(List.of("MR-1", "MR-2", "MR-3", "MR-4", "MR-9"), "EMP-1", null);
+
+        assertEquals(List.of("MR-1", "MR-3"), result.approved());
+        assertEquals(List.of("MR-2", "MR-4", "MR-9"), List.copyOf(result.failed().keySet()));
+        assertTrue(result.failed().get("MR-2").contains("재고 부족"));
+        assertEquals("d1", db.requests.get("MR-2").getMoveStatus());
+        assertEquals("d2", db.requests.get("MR-3").getMoveStatus());
+
+        assertEquals(40, db.qty("MAT-1", "L1", "A1"));
+        assertEquals(10, db.qty("MAT-1", "L1", "B1"));
+        assertEquals(70, db.qty("MAT-1", "L1", "C1"));
+        assertEquals(10, db.qty("MAT-2", "L2", "A1"));
+        assertEquals(0, db.qty("MAT-2", "L2", "C1"));
+        assertEquals(2, db.histories.size());
+        assertEquals("재배치", db.histories.get(0).getMoveRea());
+        assertEquals(4, db.ledger.size());
+    }
+
+    @Test
+    void thousandApprovalsUseBoundedStatementCount() {
+        InMemoryMoveApprovalMapper db = new InMemoryMoveApprovalMapper();
+        List<String> codes = db.seed(1_000, 10);
+        MoveApprovalPipeline pipeline = new MoveApprovalPipeline(db, db.keys(), db.ledger());
+
+        MoveApprovalResult result = pipeline.approve(codes, "EMP-1", "일괄 승인");
+
+        assertEquals(1_000, result.approved().size());
+        assertTrue(result.failed().isEmpty());
+        assertEquals(10_000, db.histories.size());
+        // 헤더 2 + 상세 2 + 재고 20 + 승인 2 + 코드 발번 2 + 이력 20 + 증감 20 + 새 행 20 + 원장 1
+        assertEquals(89, db.statements);
+    }
+
+    @Test
+    void busyLocksAreRetriedInsteadOfWaitedOn() {
+        InMemoryMoveApprovalMapper db = new InMemoryMoveApprovalMapper();
+        List<String> codes = db.seed(10, 2);
+        db.busyRequestLocks = 2;
+        db.busyStockLocks = 1;
+        MoveApprovalPipeline pipeline = new MoveApprovalPipeline(db, db.keys(), db.ledger());
+
+        MoveApprovalResult result = pipeline.approve(codes, "EMP-1", null);
+
+        assertEquals(10, result.approved().size());
+        assertEquals(0, db.busyRequestLocks + db.busyStockLocks);
+        assertEquals(20, db.histories.size());
+    }
+}
@@ -0,0 +1,98 @@
+package com.kimbap.kbs.materials.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class PurchaseStatServiceImplTests {
+
+    private static final LocalDate JUL_1 = LocalDate.of(2025, 7, 1);
+    private static final LocalDate JUL_2 = LocalDate.of(2025, 7, 2);
+    private static final LocalDate AUG_1 = LocalDate.of(2025, 8, 1);
+
+    private static InMemoryPurchaseStatMapper db() {
+        InMemoryPurchaseStatMapper db = new InMemoryPurchaseStatMapper()
+            .order("PURC-001", JUL_1)
+            .order("PURC-002", JUL_2)
+            .order("PURC-003", AUG_1)
+            .detail("PURC-D-001", "PURC-001", "c1", "MAT-1", "CP-1", 10, 1_000)
+            .detail("PURC-D-002", "PURC-001", "c2", "MAT-2", "CP-1", 5, 2_000)
+            .detail("PURC-D-003", "PURC-002", "c1", "MAT-1", "CP-2", 1, 1_000)
+            .detail("PURC-D-004", "PURC-003", "c5", "MAT-1", "CP-2", 2, 1_000);
+        db.companyNames.put("CP-1", "김밥상사");
+        db.companyNames.put("CP-2", "해초유통");
+        db.materialNames.put("MAT-1", "김");
+        db.materialNames.put("MAT-2", "단무지");
+        return db;
+    }
+
+    private static PurchaseStatServiceImpl service(InMemoryPurchaseStatMapper db) {
+        return new PurchaseStatServiceImpl(db, InMemoryPurchaseStatMapper.noOpTransactionManager(), 35) {
+            @Override
+            public void wakeUp() {
+                // 테스트에서는 refreshPending 을 직접 호출
+            }
+        };
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void statisticsComeFromDailyAggregatesAndOnlyChangedDaysAreRefreshed() {
+        InMemoryPurchaseStatMapper db = db();
+        PurchaseStatServiceImpl stats = service(db);
+        stats.rebuild();
+        assertEquals(3, stats.refreshPending());
+
+        Map<String, Object> july = stats.getStatistics(JUL_1, LocalDate.of(2025, 7, 31));
+        assertEquals(3L, july.get("totalOrders"));
+        assertEquals(BigDecimal.valueOf(21_000), july.get("totalAmount"));
+        assertEquals(Map.of("c1", 2L, "c2", 1L), july.get("statusCounts"));
+        assertEquals(2L, july.get("pendingApproval"));
+        assertEquals(0L, july.get("completed"));
+        assertEquals(Map.of("2025-07", 3L), july.get("monthlyStats"));
+        assertEquals(List.of("김밥상사", "해초유통"), List.copyOf(((Map<String, Long>) july.get("topSuppliers")).keySet()));
+        assertEquals(List.of("김", "단무지"), List.copyOf(((Map<String, Long>) july.get("topMaterials")).keySet()));
+
+        // 같은 기간은 재집계 전까지 다시 조회하지 않는다
+        stats.getStatistics(JUL_1, LocalDate.of(2025, 7, 31));
+        assertEquals(1, db.statisticsQueries);
+
+        // 승인 - 그 발주일(7/2) 하루만 다시 집계
+        db.status("PURC-D-003", "c2");
+        db.refreshedDays.clear();
+        stats.detailsChanged("PURC-D-003", null);
+        assertEquals(1, stats.refreshPending());
+        assertEquals(List.of(JUL_2), db.refreshedDays);
+
+        Map<String, Object> after = stats.getStatistics(JUL_1, LocalDate.of(2025, 7, 31));
+        assertEquals(2, db.statisticsQueries);
+        assertEquals(Map.of("c1", 1L, "c2", 2L), after.get("statusCounts"));
+        assertEquals(4L, stats.getStatistics(null, null).get("totalOrders"));
+    }
+
+    @Test
+    void movedOrderDateRefreshesOldAndNewDayAndFailedDaysAreRetried() {
+        InMemoryPurchaseStatMapper db = db();
+        PurchaseStatServiceImpl stats = service(db);
+        stats.rebuild();
+        stats.refreshPending();
+
+        // 발주일 수정 7/1 → 8/1 (변경 전에 기록)
+        stats.ordersChanged("PURC-001");
+        db.orders.put("PURC-001", AUG_1);
+        db.refreshedDays.clear();
+        db.failInserts = 1;
+        assertThrows(IllegalStateException.class, stats::refreshPending);
+
+        assertEquals(2, stats.refreshPending());
+        assertEquals(List.of(JUL_1, AUG_1), db.refreshedDays);
+        assertEquals(0L, stats.getStatistics(JUL_1, JUL_1).get("totalOrders"));
+        assertEquals(3L, stats.getStatistics(AUG_1, AUG_1).get("totalOrders"));
+    }
+}
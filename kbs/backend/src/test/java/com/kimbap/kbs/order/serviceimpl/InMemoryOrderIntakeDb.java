@@ -0,0 +1,148 @@
+package com.kimbap.kbs.order.serviceimpl;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import com.kimbap.kbs.common.service.KeyFormat;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.order.mapper.OrderIntakeMapper;
+import com.kimbap.kbs.order.mapper.OrderMapper;
+import com.kimbap.kbs.order.service.OrderDetailVO;
+import com.kimbap.kbs.order.service.OrderIntakeResultVO;
+import com.kimbap.kbs.order.service.OrderVO;
+
+/**
+ * order_list / order_d / order_intake_key 를 흉내 내는 테스트용 DB.
+ * 트랜잭션 시작 시 스냅샷을 떠두고 롤백하면 되돌린다. 제품코드 BAD 는 FK 위반, BOOM 은 DB 밖의 예외로 취급한다.
+ */
+class InMemoryOrderIntakeDb implements OrderIntakeMapper {
+
+    Map<String, String> intakeKeys = new LinkedHashMap<>();   // cpCd|idemKey → ordCd
+    Map<String, OrderVO> orders = new LinkedHashMap<>();
+    Map<String, OrderDetailVO> details = new LinkedHashMap<>();
+    // 다음 selectIntakeKeys 에서 숨겼다가 insert 시점에 다른 노드가 먼저 등록한 것처럼 보이게 할 키
+    final Map<String, String> racingKeys = new LinkedHashMap<>();
+    final List<String> statements = new ArrayList<>();
+    private Object[] snapshot;
+
+    private final Map<String, AtomicLong> sequences = new LinkedHashMap<>();
+
+    @Override
+    public List<OrderIntakeResultVO> selectIntakeKeys(List<OrderIntakeResultVO> keys) {
+        statements.add("selectIntakeKeys");
+        List<OrderIntakeResultVO> rows = new ArrayList<>();
+        for (OrderIntakeResultVO key : keys) {
+            String ordCd = intakeKeys.get(key.getCpCd() + "|" + key.getIdemKey());
+            if (ordCd != null) {
+                rows.add(OrderIntakeResultVO.builder().cpCd(key.getCpCd()).idemKey(key.getIdemKey()).ordCd(ordCd).build());
+            }
+        }
+        // 조회 직후 다른 노드가 커밋
+        intakeKeys.putAll(racingKeys);
+        racingKeys.clear();
+        return rows;
+    }
+
+    @Override
+    public int insertIntakeKeys(List<OrderIntakeResultVO> keys) {
+        statements.add("insertIntakeKeys");
+        for (OrderIntakeResultVO key : keys) {
+            if (intakeKeys.putIfAbsent(key.getCpCd() + "|" + key.getIdemKey(), key.getOrdCd()) != null) {
+                throw new DuplicateKeyException("pk_order_intake_key");
+            }
+        }
+        return keys.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    OrderMapper orderMapper() {
+        return (OrderMapper) Proxy.newProxyInstance(OrderMapper.class.getClassLoader(),
+            new Class<?>[] {OrderMapper.class}, (proxy, method, args) -> {
+                statements.add(method.getName());
+                switch (method.getName()) {
+                    case "insertOrderMasters":
+                        for (OrderVO order : (List<OrderVO>) args[0]) {
+                            orders.put(order.getOrdCd(), order);
+                        }
+                        return ((List<?>) args[0]).size();
+                    case "insertOrderDetails":
+                        for (OrderDetailVO detail : (List<OrderDetailVO>) args[0]) {
+                            if ("BAD".equals(detail.getPcode())) {
+                                throw new DataIntegrityViolationException("fk_order_d_product");
+                            }
+                            if ("BOOM".equals(detail.getPcode())) {
+                                throw new IllegalStateException("boom");
+                            }
+                            details.put(detail.getOrdDCd(), detail);
+                        }
+                        return ((List<?>) args[0]).size();
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    KeyGeneratorService keyGenerator() {
+        return new KeyGeneratorService() {
+            @Override
+            public String nextKey(KeyFormat format) {
+                return nextKeys(format, 1).get(0);
+            }
+
+            @Override
+            public List<String> nextKeys(KeyFormat format, int count) {
+                statements.add("nextKeys");
+                List<String> keys = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    keys.add(format.format("2025", nextSequence(format, "2025")));
+                }
+                return keys;
+            }
+
+            @Override
+            public long nextSequence(KeyFormat format, String bucket) {
+                return sequences.computeIfAbsent(format.getName(), k -> new AtomicLong()).incrementAndGet();
+            }
+        };
+    }
+
+    PlatformTransactionManager transactionManager() {
+        return new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+                snapshot = new Object[] {new LinkedHashMap<>(intakeKeys), new LinkedHashMap<>(orders),
+                    new LinkedHashMap<>(details)};
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+                snapshot = null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            protected void doRollback(DefaultTransactionStatus status) {
+                intakeKeys = (Map<String, String>) snapshot[0];
+                orders = (Map<String, OrderVO>) snapshot[1];
+                details = (Map<String, OrderDetailVO>) snapshot[2];
+                snapshot = null;
+            }
+        };
+    }
+}
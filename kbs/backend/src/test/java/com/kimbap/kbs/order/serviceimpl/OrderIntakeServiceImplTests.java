@@ -0,0 +1,164 @@
+package com.kimbap.kbs.order.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.kimbap.kbs.common.service.CounterPushService;
+import com.kimbap.kbs.common.service.KeyFormat;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.common.util.TxUtil;
+import com.kimbap.kbs.order.service.OrderDetailVO;
+import com.kimbap.kbs.order.service.OrderIntakeResultVO;
+import com.kimbap.kbs.order.service.OrderVO;
+
+class OrderIntakeServiceImplTests {
+
+    // 커밋 후 방송된 건수 증감 (토픽 + 증감)
+    private final List<String> pushed = new ArrayList<>();
+    private final CounterPushService counterPush = new CounterPushService() {
+        @Override
+        public String issueTicket(String username) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean redeemTicket(String ticket) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SseEmitter subscribe() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void publish(String topic, Map<String, Integer> deltas) {
+            TxUtil.afterCommit(() -> pushed.add(topic + deltas));
+        }
+
+        @Override
+        public int getSubscriberCount() {
+            return 0;
+        }
+    };
+
+    private static OrderVO order(String idemKey, String pcode, int lines) {
+        List<OrderDetailVO> details = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            details.add(OrderDetailVO.builder().pcode(pcode).prodVerCd("V1").ordQty(i + 1).build());
+        }
+        return OrderVO.builder().cpCd("CP-1").idemKey(idemKey).orderDetails(details).build();
+    }
+
+    private OrderIntakeServiceImpl service(InMemoryOrderIntakeDb db) {
+        return new OrderIntakeServiceImpl(db.orderMapper(), db, db.keyGenerator(), counterPush, db.transactionManager());
+    }
+
+    private static List<OrderIntakeResultVO> intake(OrderIntakeServiceImpl service, List<OrderVO> orders) {
+        List<OrderIntakeResultVO> results = new ArrayList<>();
+        service.intake(orders, results::add);
+        return results;
+    }
+
+    @Test
+    void retriedRequestReturnsOriginalOrdersWithoutInsertingAgain() {
+        InMemoryOrderIntakeDb db = new InMemoryOrderIntakeDb();
+        OrderIntakeServiceImpl service = service(db);
+
+        List<OrderIntakeResultVO> first = intake(service, List.of(
+            order("K1", "P-1", 300), order("K2", "P-1", 300), order("K1", "P-1", 300), order("K3", "P-1", 1)));
+
+        assertEquals(List.of("CREATED", "CREATED", "DUPLICATE", "CREATED"),
+            first.stream().map(OrderIntakeResultVO::getResult).toList());
+        assertEquals(first.get(0).getOrdCd(), first.get(2).getOrdCd());
+        assertEquals(300, first.get(0).getLineCount());
+        assertEquals(3, db.orders.size());
+        assertEquals(601, db.details.size());
+        // 코드 발번 2번 + 키 조회 1번 + 키/마스터 1문장씩 + 상세 500행씩 2문장
+        assertEquals(List.of("selectIntakeKeys", "nextKeys", "nextKeys", "insertIntakeKeys",
+            "insertOrderMasters", "insertOrderDetails", "insertOrderDetails"), db.statements);
+        // 신규 3건 - 접수대기(s1) 건수 증가를 커밋 후 한 번에 방송
+        assertEquals(List.of("order{s1=3}"), pushed);
+
+        // 타임아웃 후 같은 요청 재시도
+        db.statements.clear();
+        List<OrderIntakeResultVO> retry = intake(service, List.of(
+            order("K1", "P-1", 300), order("K2", "P-1", 300), order("K1", "P-1", 300), order("K3", "P-1", 1)));
+
+        assertEquals(Collections.nCopies(4, "DUPLICATE"), retry.stream().map(OrderIntakeResultVO::getResult).toList());
+        assertEquals(first.stream().map(OrderIntakeResultVO::getOrdCd).toList(),
+            retry.stream().map(OrderIntakeResultVO::getOrdCd).toList());
+        assertEquals(List.of("selectIntakeKeys"), db.statements);
+        assertEquals(3, db.orders.size());
+        assertEquals(1, pushed.size());
+    }
+
+    @Test
+    void failedChunkIsRetriedPerOrderSoOnlyTheBadOrderFails() {
+        InMemoryOrderIntakeDb db = new InMemoryOrderIntakeDb();
+        // RACE 는 조회 직후 다른 노드의 재시도가 먼저 커밋한다
+        db.racingKeys.put("CP-1|RACE", "ORD-20259999");
+
+        List<OrderIntakeResultVO> results = intake(service(db), List.of(
+            order("OK", "P-1", 2), order("BAD", "BAD", 2), order("RACE", "P-1", 2), order(null, "P-1", 1)));
+
+        assertEquals(List.of("CREATED", "FAILED", "DUPLICATE", "FAILED"),
+            results.stream().map(OrderIntakeResultVO::getResult).toList());
+        assertEquals("ORD-20259999", results.get(2).getOrdCd());
+        assertNull(results.get(1).getOrdCd());
+        assertEquals(List.of(0, 1, 2, 3), results.stream().map(OrderIntakeResultVO::getSeq).toList());
+
+        // 실패한 묶음은 롤백되고 한 건씩 다시 등록한 정상 주문만 남는다
+        assertEquals(List.of(results.get(0).getOrdCd()), List.copyOf(db.orders.keySet()));
+        assertEquals(2, db.details.size());
+        assertEquals(2, db.intakeKeys.size());
+        // 롤백된 묶음은 방송하지 않고, 한 건씩 다시 등록해 커밋된 주문만 방송
+        assertEquals(List.of("order{s1=1}"), pushed);
+    }
+
+    @Test
+    void unexpectedErrorsStillAnswerEveryOrder() {
+        InMemoryOrderIntakeDb db = new InMemoryOrderIntakeDb();
+
+        // DB 밖의 예외로 묶음 등록이 실패해도 한 건씩 다시 등록
+        List<OrderIntakeResultVO> results = intake(service(db), List.of(order("OK", "P-1", 2), order("BOOM", "BOOM", 1)));
+        assertEquals(List.of("CREATED", "FAILED"), results.stream().map(OrderIntakeResultVO::getResult).toList());
+        assertEquals("boom", results.get(1).getMessage());
+
+        // 발번 실패 - 묶음의 주문마다 FAILED 를 돌려주고 아무것도 등록하지 않는다
+        KeyGeneratorService broken = new KeyGeneratorService() {
+            @Override
+            public String nextKey(KeyFormat format) {
+                throw new IllegalStateException("key_sequence unavailable");
+            }
+
+            @Override
+            public List<String> nextKeys(KeyFormat format, int count) {
+                throw new IllegalStateException("key_sequence unavailable");
+            }
+
+            @Override
+            public long nextSequence(KeyFormat format, String bucket) {
+                throw new IllegalStateException("key_sequence unavailable");
+            }
+        };
+        OrderIntakeServiceImpl failing = new OrderIntakeServiceImpl(db.orderMapper(), db, broken, counterPush, db.transactionManager());
+        List<OrderIntakeResultVO> failed = intake(failing, List.of(order("OK", "P-1", 1), order("K2", "P-1", 1), order("K3", "P-1", 1)));
+        assertEquals(List.of("DUPLICATE", "FAILED", "FAILED"), failed.stream().map(OrderIntakeResultVO::getResult).toList());
+        assertTrue(failed.get(1).getMessage().contains("key_sequence unavailable"));
+        assertEquals(1, db.orders.size());
+
+        // 같은 멱등키로 다시 보내면 등록된다
+        assertEquals(List.of("CREATED", "CREATED"), intake(service(db), List.of(order("K2", "P-1", 1), order("K3", "P-1", 1)))
+            .stream().map(OrderIntakeResultVO::getResult).toList());
+    }
+}
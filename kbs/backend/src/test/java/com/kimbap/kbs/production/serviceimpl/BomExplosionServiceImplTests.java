@@ -0,0 +1,123 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kimbap.kbs.common.exception.BomCycleException;
+import com.kimbap.kbs.production.service.BomDetailVO;
+
+class BomExplosionServiceImplTests {
+
+  @Test
+  void subAssembliesAreExplodedToLeafMaterials() {
+    InMemoryBomMapper mapper = new InMemoryBomMapper(0)
+        .add("P-1", "S-1", "2").add("P-1", "M-1", "1")
+        .add("S-1", "M-1", "3").add("S-1", "M-2", "0.5");
+    BomExplosionServiceImpl service = new BomExplosionServiceImpl(mapper);
+
+    List<BomDetailVO> materials = service.getUnitMaterials("P-1", "V1");
+
+    // M-1: 1 + 2 x 3 = 7, M-2: 2 x 0.5 = 1
+    assertEquals(2, materials.size());
+    assertQty("7", materials, "M-1");
+    assertQty("1", materials, "M-2");
+    assertEquals(2, mapper.queries.get());
+  }
+
+  @Test
+  void explosionIsCachedAndSharedSubAssembliesAreReused() {
+    InMemoryBomMapper mapper = new InMemoryBomMapper(0)
+        .add("P-1", "S-1", "1").add("P-2", "S-1", "2")
+        .add("S-1", "M-1", "3");
+    BomExplosionServiceImpl service = new BomExplosionServiceImpl(mapper);
+
+    service.getUnitMaterials("P-1", "V1");
+    service.getUnitMaterials("P-1", "V1");
+    assertEquals(2, mapper.queries.get());
+
+    // S-1 은 캐시되어 있으므로 P-2 한 단계만 조회
+    assertQty("6", service.getUnitMaterials("P-2", "V1"), "M-1");
+    assertEquals(3, mapper.queries.get());
+  }
+
+  @Test
+  void evictingSubAssemblyEvictsParents() {
+    InMemoryBomMapper mapper = new InMemoryBomMapper(0)
+        .add("P-1", "S-1", "2")
+        .add("S-1", "M-1", "3");
+    BomExplosionServiceImpl service = new BomExplosionServiceImpl(mapper);
+    assertQty("6", service.getUnitMaterials("P-1", "V1"), "M-1");
+
+    mapper.add("S-1", "M-1", "1");
+    service.evictProduct("S-1");
+
+    assertQty("8", service.getUnitMaterials("P-1", "V1"), "M-1");
+  }
+
+  @Test
+  void evictionWaitsForCommit() {
+    InMemoryBomMapper mapper = new InMemoryBomMapper(0).add("P-1", "M-1", "2");
+    BomExplosionServiceImpl service = new BomExplosionServiceImpl(mapper);
+    service.getUnitMaterials("P-1", "V1");
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      mapper.add("P-1", "M-1", "1");
+      service.evictProduct("P-1");
+      // 커밋 전 - 다른 요청의 전개는 아직 이전 결과를 본다 (커밋 전 BOM 으로 캐시가 다시 채워지지 않음)
+      assertQty("2", service.getUnitMaterials("P-1", "V1"), "M-1");
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertQty("3", service.getUnitMaterials("P-1", "V1"), "M-1");
+  }
+
+  @Test
+  void callerMutationDoesNotLeakIntoCache() {
+    InMemoryBomMapper mapper = new InMemoryBomMapper(0).add("P-1", "M-1", "2");
+    BomExplosionServiceImpl service = new BomExplosionServiceImpl(mapper);
+
+    service.getUnitMaterials("P-1", "V1").get(0).setNeedQty(new BigDecimal("100"));
+
+    assertQty("2", service.getUnitMaterials("P-1", "V1"), "M-1");
+  }
+
+  @Test
+  void cycleIsRejected() {
+    InMemoryBomMapper mapper = new InMemoryBomMapper(0)
+        .add("P-1", "S-1", "1")
+        .add("S-1", "S-2", "1")
+        .add("S-2", "S-1", "1");
+    BomExplosionServiceImpl service = new BomExplosionServiceImpl(mapper);
+
+    BomCycleException e = assertThrows(BomCycleException.class, () -> service.getUnitMaterials("P-1", "V1"));
+    assertEquals("BOM 순환 참조: P-1|V1 → S-1|V1 → S-2|V1 → S-1|V1", e.getMessage());
+  }
+
+  @Test
+  void deepSharedTreeIsReadOneLevelPerQuery() {
+    InMemoryBomMapper mapper = InMemoryBomMapper.deep(1, 6, 20, 0);
+    BomExplosionServiceImpl service = new BomExplosionServiceImpl(mapper);
+
+    List<BomDetailVO> materials = service.getUnitMaterials("P-0", "V1");
+
+    // 경로 수 20^6 / 자재 20종 = 자재당 20^5
+    assertEquals(20, materials.size());
+    assertQty("3200000", materials, "M-0");
+    assertEquals(6, mapper.queries.get());
+  }
+
+  private static void assertQty(String expected, List<BomDetailVO> materials, String mcode) {
+    BigDecimal qty = materials.stream().filter(m -> m.getMcode().equals(mcode))
+        .findFirst().orElseThrow().getNeedQty();
+    assertEquals(0, new BigDecimal(expected).compareTo(qty), mcode + " = " + qty);
+  }
+}
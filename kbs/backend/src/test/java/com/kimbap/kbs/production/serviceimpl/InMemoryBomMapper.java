@@ -0,0 +1,84 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.kimbap.kbs.production.mapper.BomMapper;
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.BomVO;
+
+/**
+ * bom/bom_d 테이블을 흉내 내는 테스트용 매퍼. 모든 품목 버전은 V1.
+ * 조회마다 roundTripMicros 만큼 대기한다.
+ */
+class InMemoryBomMapper implements BomMapper {
+
+  final Map<String, List<BomDetailVO>> bom = new HashMap<>();
+  final AtomicInteger queries = new AtomicInteger();
+  private final long roundTripMicros;
+
+  InMemoryBomMapper(long roundTripMicros) {
+    this.roundTripMicros = roundTripMicros;
+  }
+
+  // parent 의 BOM 에 component 를 needQty 만큼 추가
+  InMemoryBomMapper add(String parent, String component, String needQty) {
+    bom.computeIfAbsent(parent, k -> new ArrayList<>()).add(BomDetailVO.builder()
+        .pcode(parent).prodVerCd("V1").mcode(component).mateVerCd("V1")
+        .needQty(new BigDecimal(needQty)).unit("kg").build());
+    return this;
+  }
+
+  /**
+   * depth 단계, 단계마다 fanOut 개 반제품(마지막 단계는 자재)인 BOM.
+   * 각 품목은 다음 단계 품목 fanOut 개 전부를 1씩 쓴다 (반제품 공유).
+   * 최상위 제품은 roots 개 (P-0 ...).
+   */
+  static InMemoryBomMapper deep(int roots, int depth, int fanOut, long roundTripMicros) {
+    InMemoryBomMapper mapper = new InMemoryBomMapper(roundTripMicros);
+    for (int r = 0; r < roots; r++) {
+      for (int c = 0; c < fanOut; c++) {
+        mapper.add("P-" + r, item(1, depth, c), "1");
+      }
+    }
+    for (int level = 1; level < depth; level++) {
+      for (int i = 0; i < fanOut; i++) {
+        for (int c = 0; c < fanOut; c++) {
+          mapper.add(item(level, depth, i), item(level + 1, depth, c), "1");
+        }
+      }
+    }
+    return mapper;
+  }
+
+  private static String item(int level, int depth, int i) {
+    return (level == depth ? "M-" : "S" + level + "-") + i;
+  }
+
+  @Override
+  public List<BomDetailVO> selectBomComponents(List<BomVO> list) {
+    queries.incrementAndGet();
+    if (roundTripMicros > 0) {
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+    List<BomDetailVO> rows = new ArrayList<>();
+    for (BomVO parent : list) {
+      for (BomDetailVO row : bom.getOrDefault(parent.getPcode(), List.of())) {
+        BomDetailVO copy = BomDetailVO.builder()
+            .pcode(row.getPcode()).prodVerCd(row.getProdVerCd())
+            .mcode(row.getMcode()).mateVerCd(row.getMateVerCd())
+            .needQty(row.getNeedQty()).unit(row.getUnit())
+            .subAssembly(bom.containsKey(row.getMcode()))
+            .build();
+        rows.add(copy);
+      }
+    }
+    return rows;
+  }
+}
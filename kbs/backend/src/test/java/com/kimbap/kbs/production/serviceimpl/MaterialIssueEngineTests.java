@@ -0,0 +1,146 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.common.exception.InsufficientStockException;
+import com.kimbap.kbs.production.service.MateReleaseVO;
+import com.kimbap.kbs.production.service.ProdRequestDetailVO;
+
+class MaterialIssueEngineTests {
+
+  @Test
+  void linesAreIssuedFromOldestLotAcrossTheWholeRequest() {
+    StockFixture stock = new StockFixture(0).lots("M-1", 3, 10).lots("M-2", 1, 100);
+    MaterialIssueEngine engine = engine(stock, new InMemoryBomMapper(0)
+        .add("P-1", "M-1", "1").add("P-1", "M-2", "2")
+        .add("P-2", "M-1", "3"));
+
+    List<MateReleaseVO> releases = stock.inTransaction(() ->
+        engine.issue(List.of(line("PP-1", "P-1", 8), line("PP-2", "P-2", 4)), "tester"));
+
+    // P-1: M-1 8 (LOT 001), M-2 16 / P-2: M-1 12 (LOT 001 남은 2 + LOT 002 10)
+    assertEquals(4, releases.size());
+    assertEquals("LOT-100-20250530-002", releases.get(3).getLotNo());
+    assertEquals(0, BigDecimal.valueOf(130 - 36).compareTo(stock.totalQty()));
+    // 조회 1 + 차감 1 + 이력 1
+    assertEquals(3, stock.roundTrips.get());
+  }
+
+  @Test
+  void shortageWritesNothing() {
+    StockFixture stock = new StockFixture(0).lots("M-1", 1, 5);
+    MaterialIssueEngine engine = engine(stock, new InMemoryBomMapper(0).add("P-1", "M-1", "1"));
+
+    assertThrows(InsufficientStockException.class, () ->
+        stock.inTransaction(() -> engine.issue(List.of(line("PP-1", "P-1", 6)), "tester")));
+    assertEquals(0, BigDecimal.valueOf(5).compareTo(stock.totalQty()));
+    assertTrue(stock.releases.isEmpty());
+  }
+
+  @Test
+  void fractionalNeedIsIssuedExactly() {
+    StockFixture stock = new StockFixture(0).lots("M-1", 3, 1);
+    MaterialIssueEngine engine = engine(stock, new InMemoryBomMapper(0).add("P-1", "M-1", "0.5"));
+
+    List<MateReleaseVO> releases = stock.inTransaction(() ->
+        engine.issue(List.of(line("PP-1", "P-1", 5)), "tester"));
+
+    // 2.5 = LOT 001 1 + LOT 002 1 + LOT 003 0.5 (마지막 행을 올려서 1 을 빼지 않는다)
+    assertEquals(3, releases.size());
+    assertEquals(0, new BigDecimal("0.5").compareTo(releases.get(2).getRelQty()));
+    assertEquals(0, new BigDecimal("0.5").compareTo(stock.totalQty()));
+  }
+
+  @Test
+  void lockedRowsAreRetriedInsteadOfWaitedOn() throws Exception {
+    StockFixture stock = new StockFixture(0).lots("M-1", 2, 10);
+    MaterialIssueEngine engine = engine(stock, new InMemoryBomMapper(0).add("P-1", "M-1", "1"));
+
+    // 다른 트랜잭션이 LOT 002 를 잠시 잡고 있다
+    CountDownLatch locked = new CountDownLatch(1);
+    Thread other = new Thread(() -> stock.inTransaction(() -> {
+      stock.lockStocks("M-1");
+      locked.countDown();
+      sleep(50);
+      return null;
+    }));
+    other.start();
+    locked.await();
+
+    List<MateReleaseVO> releases = stock.inTransaction(() ->
+        engine.issue(List.of(line("PP-1", "P-1", 15)), "tester"));
+    other.join();
+
+    assertTrue(stock.lockFailures.get() > 0);
+    assertEquals(2, releases.size());
+    assertEquals(0, BigDecimal.valueOf(5).compareTo(stock.totalQty()));
+  }
+
+  /**
+   * 동시 요청이 재고를 음수로 만들거나 더 많이 출고하지 않는지 - 배분 계산과 잠금 재시도를 StockFixture(행별 잠금 흉내)로 확인한다.
+   * 실제 SQL(FOR UPDATE NOWAIT/MERGE) 상대 동시 실행은 kbs-bench 의 MaterialIssueConcurrencyTests (H2) 가 맡는다.
+   */
+  @Test
+  void competingRequestsNeverDriveStockNegative() throws Exception {
+    // LOT 5개 x 20 = 100, 요청 16건 x 10 → 10건만 성공
+    StockFixture stock = new StockFixture(50).lots("M-1", 5, 20);
+    MaterialIssueEngine engine = engine(stock, new InMemoryBomMapper(0).add("P-1", "M-1", "1"));
+
+    int requests = 16;
+    AtomicInteger succeeded = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(requests);
+    for (int r = 0; r < requests; r++) {
+      String produProdCd = "PP-" + r;
+      pool.submit(() -> {
+        start.await();
+        try {
+          stock.inTransaction(() -> engine.issue(List.of(line(produProdCd, "P-1", 10)), "tester"));
+          succeeded.incrementAndGet();
+        } catch (InsufficientStockException e) {
+          rejected.incrementAndGet();
+        }
+        return null;
+      });
+    }
+    start.countDown();
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+    assertEquals(10, succeeded.get());
+    assertEquals(6, rejected.get());
+    assertTrue(stock.rows.values().stream().allMatch(row -> row.qty.signum() >= 0));
+    assertEquals(0, stock.totalQty().signum());
+    BigDecimal released = stock.releases.stream().map(MateReleaseVO::getRelQty).reduce(BigDecimal.ZERO, BigDecimal::add);
+    assertEquals(0, BigDecimal.valueOf(100).compareTo(released));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  static MaterialIssueEngine engine(StockFixture stock, InMemoryBomMapper bom) {
+    return new MaterialIssueEngine(stock.mapper(), new BomExplosionServiceImpl(bom), StockFixture.keys());
+  }
+
+  static ProdRequestDetailVO line(String produProdCd, String pcode, int reqQty) {
+    return ProdRequestDetailVO.builder().produProdCd(produProdCd).pcode(pcode).prodVerCd("V1").reqQty(reqQty).build();
+  }
+}
@@ -0,0 +1,70 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.MateSupplierVO;
+import com.kimbap.kbs.production.service.MrpDetailVO;
+import com.kimbap.kbs.production.service.ProdPlanDetailVO;
+import com.kimbap.kbs.production.service.PurcOrdDetailVO;
+
+class MrpEngineTests {
+
+  @Test
+  void shortageIsSummedPerMaterialAndRoundedUpToMoq() {
+    MrpFixture fixture = new MrpFixture(0);
+    fixture.bomByProduct.put("P-1", List.of(bom("P-1", "M-1", "2"), bom("P-1", "M-2", "1")));
+    fixture.bomByProduct.put("P-2", List.of(bom("P-2", "M-1", "3")));
+    fixture.stockByMate.put("M-1", new BigDecimal("15"));
+    fixture.stockByMate.put("M-2", new BigDecimal("100"));
+    fixture.supplierByMate.put("M-1", MateSupplierVO.builder()
+        .mateCpCd("MCP-1").mcode("M-1").mateVerCd("V1").unitPrice(new BigDecimal("100")).ltime(3)
+        .moqty(new BigDecimal("10")).build());
+    List<ProdPlanDetailVO> plan = List.of(line("P-1", 5), line("P-2", 4), line("P-1", 5));
+    MrpEngine engine = fixture.engine();
+
+    List<MrpDetailVO> shortages = engine.explode(plan);
+
+    // M-1: 2 x 10 + 3 x 4 = 32, 재고 15 → 부족 17 / M-2: 10 필요, 재고 100 → 제외
+    assertEquals(1, shortages.size());
+    assertEquals("M-1", shortages.get(0).getMcode());
+    assertEquals(0, new BigDecimal("17").compareTo(shortages.get(0).getRequiredQty()));
+
+    LocalDate baseDt = LocalDate.of(2025, 5, 30);
+    List<PurcOrdDetailVO> orderDetails = engine.planPurchase(shortages, baseDt);
+    assertEquals(1, orderDetails.size());
+    assertEquals(0, new BigDecimal("20").compareTo(orderDetails.get(0).getPurcQty()));
+    assertEquals(0, new BigDecimal("2000").compareTo(orderDetails.get(0).getTotalAmount()));
+    assertEquals(baseDt.plusDays(3), orderDetails.get(0).getExDeliDt());
+  }
+
+  @Test
+  void largePlanUsesHandfulOfQueries() {
+    // 제품 200종 x BOM 50행 = 10,000행
+    MrpFixture fixture = MrpFixture.generate(200, 50, 2000, 0);
+    MrpEngine engine = fixture.engine();
+
+    List<MrpDetailVO> shortages = engine.explode(fixture.planDetails);
+    List<PurcOrdDetailVO> orderDetails = engine.planPurchase(shortages, LocalDate.now());
+
+    assertTrue(!shortages.isEmpty() && orderDetails.size() < shortages.size());
+    // BOM 1 + 재고 (자재수/500) + 공급사 (부족자재수/500)
+    assertTrue(fixture.roundTrips.get() <= 1 + 4 + 2, "round trips: " + fixture.roundTrips.get());
+  }
+
+  private static BomDetailVO bom(String pcode, String mcode, String needQty) {
+    return BomDetailVO.builder().pcode(pcode).prodVerCd("V1").mcode(mcode).mateVerCd("V1")
+        .needQty(new BigDecimal(needQty)).unit("kg").build();
+  }
+
+  private static ProdPlanDetailVO line(String pcode, int planQty) {
+    return ProdPlanDetailVO.builder().pcode(pcode).prodVerCd("V1").planQty(planQty).build();
+  }
+}
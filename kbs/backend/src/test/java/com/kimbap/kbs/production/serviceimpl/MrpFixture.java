@@ -0,0 +1,178 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.kimbap.kbs.production.mapper.ProdPlanMapper;
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.BomExplosionService;
+import com.kimbap.kbs.production.service.BomVO;
+import com.kimbap.kbs.production.service.MateSupplierVO;
+import com.kimbap.kbs.production.service.MrpDetailVO;
+import com.kimbap.kbs.production.service.ProdPlanDetailVO;
+
+/**
+ * MRP 테스트/벤치마크용 메모리 데이터 (BOM, 현재고, 공급사).
+ * mapper()/bomService() 는 MrpEngine 이 쓰는 일괄 조회/등록만 흉내 내며, 호출마다 roundTripMicros 만큼 대기한다.
+ * bomOf/stockOf/supplierOf 는 기존 건별 조회(1회 = 1왕복)를 흉내 낸다.
+ */
+class MrpFixture {
+
+  final Map<String, List<BomDetailVO>> bomByProduct = new HashMap<>();
+  final Map<String, BigDecimal> stockByMate = new HashMap<>();
+  final Map<String, MateSupplierVO> supplierByMate = new HashMap<>();
+  final List<ProdPlanDetailVO> planDetails = new ArrayList<>();
+  final AtomicInteger roundTrips = new AtomicInteger();
+  final AtomicInteger insertedRows = new AtomicInteger();
+
+  private final long roundTripMicros;
+
+  MrpFixture(long roundTripMicros) {
+    this.roundTripMicros = roundTripMicros;
+  }
+
+  /**
+   * 제품 products 종 x BOM bomPerProduct 행 (materials 종 자재 공유), 제품당 계획 1라인.
+   * 자재 절반은 재고 부족, 10종마다 1종은 공급사 없음.
+   */
+  static MrpFixture generate(int products, int bomPerProduct, int materials, long roundTripMicros) {
+    MrpFixture fixture = new MrpFixture(roundTripMicros);
+    for (int m = 0; m < materials; m++) {
+      String mcode = mcode(m);
+      fixture.stockByMate.put(mcode, BigDecimal.valueOf(m % 2 == 0 ? 0 : 100_000));
+      if (m % 10 != 8) {
+        fixture.supplierByMate.put(mcode, MateSupplierVO.builder()
+            .mateCpCd("MCP-" + m).mcode(mcode).mateVerCd("V1").cpCd("CP-" + (m % 7))
+            .unitPrice(BigDecimal.valueOf(100 + m % 50)).ltime(m % 5)
+            .cpName("공급사" + (m % 7)).mateName("자재" + m).moqty(BigDecimal.valueOf(10))
+            .build());
+      }
+    }
+    for (int p = 0; p < products; p++) {
+      String pcode = "P-" + p;
+      List<BomDetailVO> bom = new ArrayList<>();
+      for (int k = 0; k < bomPerProduct; k++) {
+        int m = (p * 37 + k * 41) % materials;
+        bom.add(BomDetailVO.builder()
+            .pcode(pcode).prodVerCd("V1").mcode(mcode(m)).mateVerCd("V1")
+            .needQty(BigDecimal.valueOf(1 + k % 3)).unit("kg").mateName("자재" + m)
+            .build());
+      }
+      fixture.bomByProduct.put(pcode, bom);
+      fixture.planDetails.add(ProdPlanDetailVO.builder()
+          .pcode(pcode).prodVerCd("V1").planQty(10 + p % 20).unit("ea").build());
+    }
+    return fixture;
+  }
+
+  static String mcode(int m) {
+    return "M-" + m;
+  }
+
+  // ===== 기존 건별 조회 =====
+  List<BomDetailVO> bomOf(String pcode) {
+    roundTrip();
+    return bomByProduct.getOrDefault(pcode, List.of());
+  }
+
+  BigDecimal stockOf(String mcode) {
+    roundTrip();
+    return stockByMate.getOrDefault(mcode, BigDecimal.ZERO);
+  }
+
+  MateSupplierVO supplierOf(String mcode) {
+    roundTrip();
+    return supplierByMate.get(mcode);
+  }
+
+  void insertRow() {
+    roundTrip();
+    insertedRows.incrementAndGet();
+  }
+
+  // ===== MrpEngine 용 일괄 조회/등록 =====
+  MrpEngine engine() {
+    return new MrpEngine(mapper(), bomService());
+  }
+
+  // 제품별 단일 단계 BOM 을 한 번에 돌려주는 전개 서비스
+  BomExplosionService bomService() {
+    return new BomExplosionService() {
+      @Override
+      public List<BomDetailVO> getUnitMaterials(String pcode, String prodVerCd) {
+        return getUnitMaterials(List.of(BomVO.builder().pcode(pcode).prodVerCd(prodVerCd).build())).get(0);
+      }
+
+      @Override
+      public List<List<BomDetailVO>> getUnitMaterials(List<BomVO> products) {
+        roundTrip();
+        List<List<BomDetailVO>> result = new ArrayList<>();
+        for (BomVO p : products) {
+          result.add(bomByProduct.getOrDefault(p.getPcode(), List.of()));
+        }
+        return result;
+      }
+
+      @Override
+      public void evictProduct(String pcode) {
+      }
+
+      @Override
+      public void evictAll() {
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  ProdPlanMapper mapper() {
+    return (ProdPlanMapper) Proxy.newProxyInstance(ProdPlanMapper.class.getClassLoader(),
+        new Class<?>[] {ProdPlanMapper.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "selectTotalStockByMates": {
+              roundTrip();
+              List<MrpDetailVO> rows = new ArrayList<>();
+              for (MrpDetailVO m : (List<MrpDetailVO>) args[0]) {
+                BigDecimal qty = stockByMate.get(m.getMcode());
+                if (qty != null) {
+                  rows.add(MrpDetailVO.builder()
+                      .mcode(m.getMcode()).mateVerCd(m.getMateVerCd()).currentStock(qty).build());
+                }
+              }
+              return rows;
+            }
+            case "selectBestSuppliersByMates": {
+              roundTrip();
+              List<MateSupplierVO> rows = new ArrayList<>();
+              for (MrpDetailVO m : (List<MrpDetailVO>) args[0]) {
+                MateSupplierVO supplier = supplierByMate.get(m.getMcode());
+                if (supplier != null) {
+                  rows.add(supplier);
+                }
+              }
+              return rows;
+            }
+            case "insertMrpDetails":
+            case "insertPurchaseOrderDetails":
+              roundTrip();
+              insertedRows.addAndGet(((List<?>) args[0]).size());
+              return null;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  private void roundTrip() {
+    roundTrips.incrementAndGet();
+    if (roundTripMicros > 0) {
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+  }
+}
@@ -0,0 +1,216 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.CannotAcquireLockException;
+
+import com.kimbap.kbs.common.service.KeyFormat;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.production.mapper.ProdRequestMapper;
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.MateReleaseVO;
+import com.kimbap.kbs.production.service.WaStockVO;
+
+/**
+ * ware_stock/mate_rel 을 흉내 내는 테스트/벤치마크용 데이터.
+ * FOR UPDATE 는 행별 ReentrantLock 으로, 커밋은 inTransaction 종료 시 잠금 해제로 흉내 낸다.
+ * selectAvailableStocksByMates 는 FOR UPDATE NOWAIT 처럼 잠긴 행이 있으면 이번 문장에서 잡은 잠금을 풀고 바로 실패한다.
+ * 조회/DML 마다 roundTripMicros 만큼 대기한다.
+ */
+class StockFixture {
+
+  // wslcode 순 = 자재코드/LOT 순 (wslcode 에 자재코드와 LOT 순번을 넣어 만든다)
+  final Map<String, Row> rows = new TreeMap<>();
+  final List<MateReleaseVO> releases = new ArrayList<>();
+  final AtomicInteger roundTrips = new AtomicInteger();
+  final AtomicInteger lockFailures = new AtomicInteger();
+  private final long roundTripMicros;
+  private final ThreadLocal<List<ReentrantLock>> held = ThreadLocal.withInitial(ArrayList::new);
+
+  StockFixture(long roundTripMicros) {
+    this.roundTripMicros = roundTripMicros;
+  }
+
+  static final class Row {
+    final String wslcode;
+    final String mcode;
+    final String lotNo;
+    final ReentrantLock lock = new ReentrantLock();
+    volatile BigDecimal qty;
+
+    Row(String wslcode, String mcode, String lotNo, BigDecimal qty) {
+      this.wslcode = wslcode;
+      this.mcode = mcode;
+      this.lotNo = lotNo;
+      this.qty = qty;
+    }
+  }
+
+  // 자재 mcode 에 LOT lots 개, LOT 당 qtyPerLot
+  StockFixture lots(String mcode, int lots, int qtyPerLot) {
+    for (int i = 0; i < lots; i++) {
+      String lotNo = String.format("LOT-100-20250530-%03d", i + 1);
+      String wslcode = mcode + "/" + lotNo;
+      rows.put(wslcode, new Row(wslcode, mcode, lotNo, BigDecimal.valueOf(qtyPerLot)));
+    }
+    return this;
+  }
+
+  BigDecimal totalQty() {
+    return rows.values().stream().map(r -> r.qty).reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+  // 트랜잭션 경계 - 종료 시 이 스레드가 잡은 행 잠금 해제
+  <T> T inTransaction(java.util.function.Supplier<T> work) {
+    try {
+      return work.get();
+    } finally {
+      held.get().forEach(ReentrantLock::unlock);
+      held.get().clear();
+    }
+  }
+
+  // ===== 기존 건별 처리 =====
+  List<Row> lockStocks(String mcode) {
+    roundTrip();
+    List<Row> result = new ArrayList<>();
+    for (Row row : rows.values()) {
+      if (row.mcode.equals(mcode)) {
+        lock(row);
+        if (row.qty.signum() > 0) {
+          result.add(row);
+        }
+      }
+    }
+    return result;
+  }
+
+  boolean decrease(Row row, BigDecimal delta) {
+    roundTrip();
+    if (row.qty.compareTo(delta) < 0) {
+      return false;
+    }
+    row.qty = row.qty.subtract(delta);
+    return true;
+  }
+
+  void insertRelease() {
+    roundTrip();
+  }
+
+  // ===== MaterialIssueEngine 용 =====
+  @SuppressWarnings("unchecked")
+  ProdRequestMapper mapper() {
+    return (ProdRequestMapper) Proxy.newProxyInstance(ProdRequestMapper.class.getClassLoader(),
+        new Class<?>[] {ProdRequestMapper.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "selectAvailableStocksByMates": {
+              roundTrip();
+              List<WaStockVO> result = new ArrayList<>();
+              int heldBefore = held.get().size();
+              for (BomDetailVO mate : (List<BomDetailVO>) args[0]) {
+                for (Row row : rows.values()) {
+                  if (row.mcode.equals(mate.getMcode())) {
+                    if (!tryLock(row)) {
+                      // 문장 단위 롤백 - 이번 문장에서 잡은 잠금만 푼다
+                      List<ReentrantLock> locks = held.get();
+                      while (locks.size() > heldBefore) {
+                        locks.remove(locks.size() - 1).unlock();
+                      }
+                      lockFailures.incrementAndGet();
+                      throw new CannotAcquireLockException("ORA-00054: resource busy and acquire with NOWAIT specified");
+                    }
+                    if (row.qty.signum() > 0) {
+                      result.add(WaStockVO.builder().wslcode(row.wslcode).qty(row.qty).lotNo(row.lotNo)
+                          .mcode(row.mcode).mateVerCd(mate.getMateVerCd()).build());
+                    }
+                  }
+                }
+              }
+              return result;
+            }
+            case "decreaseWareStocks": {
+              roundTrip();
+              int updated = 0;
+              for (WaStockVO d : (List<WaStockVO>) args[0]) {
+                Row row = rows.get(d.getWslcode());
+                if (row.qty.compareTo(d.getQty()) >= 0) {
+                  row.qty = row.qty.subtract(d.getQty());
+                  updated++;
+                }
+              }
+              return updated;
+            }
+            case "insertMateRels":
+              roundTrip();
+              synchronized (releases) {
+                releases.addAll((List<MateReleaseVO>) args[0]);
+              }
+              return null;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  // 순번만 증가시키는 발번 서비스
+  static KeyGeneratorService keys() {
+    Map<String, AtomicLong> seqs = new ConcurrentHashMap<>();
+    return new KeyGeneratorService() {
+      @Override
+      public String nextKey(KeyFormat format) {
+        return format.format("TEST", nextSequence(format, "TEST"));
+      }
+
+      @Override
+      public List<String> nextKeys(KeyFormat format, int count) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+          keys.add(nextKey(format));
+        }
+        return keys;
+      }
+
+      @Override
+      public long nextSequence(KeyFormat format, String bucket) {
+        return seqs.computeIfAbsent(format.getName() + bucket, k -> new AtomicLong()).incrementAndGet();
+      }
+    };
+  }
+
+  private void lock(Row row) {
+    if (!row.lock.isHeldByCurrentThread()) {
+      row.lock.lock();
+      held.get().add(row.lock);
+    }
+  }
+
+  private boolean tryLock(Row row) {
+    if (row.lock.isHeldByCurrentThread()) {
+      return true;
+    }
+    if (!row.lock.tryLock()) {
+      return false;
+    }
+    held.get().add(row.lock);
+    return true;
+  }
+
+  private void roundTrip() {
+    roundTrips.incrementAndGet();
+    if (roundTripMicros > 0) {
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.kimbap.kbs.security.filter;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.kimbap.kbs.simjaejine.mapper.MemberMapper;
+import com.kimbap.kbs.simjaejine.service.MemberVO;
+
+/**
+ * 메모리 회원 테이블 (getUserInfo / selectRolesByMemberId 만 구현, 호출마다 roundTripMicros 대기)
+ * 로그인 성공/실패 기록은 아무것도 하지 않는다.
+ */
+class InMemoryMemberMapper {
+
+  final Map<String, MemberVO> users = new ConcurrentHashMap<>();
+  final Map<String, List<String>> roles = new ConcurrentHashMap<>();
+  final AtomicInteger queries = new AtomicInteger();
+  private final long roundTripMicros;
+
+  InMemoryMemberMapper(long roundTripMicros) {
+    this.roundTripMicros = roundTripMicros;
+  }
+
+  MemberVO add(String id, String memCd, String cpCd, String... roleCds) {
+    MemberVO user = MemberVO.builder().id(id).memCd(memCd).cpCd(cpCd).pw("{noop}pw").idUsed("f1")
+        .authorities(List.of(roleCds)).build();
+    users.put(id, user);
+    roles.put(id, List.of(roleCds));
+    return user;
+  }
+
+  MemberMapper mapper() {
+    return (MemberMapper) Proxy.newProxyInstance(MemberMapper.class.getClassLoader(),
+        new Class<?>[] {MemberMapper.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getUserInfo":
+              roundTrip();
+              MemberVO user = users.get((String) args[0]);
+              return user == null ? null : copy(user);
+            case "selectRolesByMemberId":
+              roundTrip();
+              return roles.getOrDefault((String) args[0], List.of());
+            case "loginSuccess":
+            case "loginFailure":
+            case "recentLogin":
+              return 1;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  // DB 에서 읽은 것처럼 매번 새 객체
+  private static MemberVO copy(MemberVO user) {
+    return MemberVO.builder().id(user.getId()).memCd(user.getMemCd()).cpCd(user.getCpCd()).pw(user.getPw())
+        .idUsed(user.getIdUsed()).build();
+  }
+
+  private void roundTrip() {
+    queries.incrementAndGet();
+    if (roundTripMicros > 0) {
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.kimbap.kbs.security.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.kimbap.kbs.security.service.CustomUserDetailsService;
+import com.kimbap.kbs.security.service.JwtPrincipal;
+import com.kimbap.kbs.security.service.VerifiedTokenCache;
+import com.kimbap.kbs.security.util.JwtUtil;
+import com.kimbap.kbs.simjaejine.service.LoginSecurityVO;
+import com.kimbap.kbs.simjaejine.service.MemberVO;
+import com.kimbap.kbs.simjaejine.serviceimpl.MemberServiceImpl;
+
+class JwtAuthenticationFilterTests {
+
+  private final JwtUtil jwtUtil = new JwtUtil();
+  private InMemoryMemberMapper members;
+  private CustomUserDetailsService userDetailsService;
+  private JwtAuthenticationFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    members = new InMemoryMemberMapper(0);
+    userDetailsService = new CustomUserDetailsService(members.mapper(), 60_000);
+    filter = new JwtAuthenticationFilter(new VerifiedTokenCache(jwtUtil, 100), userDetailsService);
+  }
+
+  @AfterEach
+  void clearContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void authenticatesAndCachesLookups() throws Exception {
+    String token = jwtUtil.generateToken(members.add("admin", "MEM-1", "CP-1", "ADMIN"));
+
+    for (int i = 0; i < 3; i++) {
+      MockHttpServletRequest request = request(token);
+      Authentication auth = filter(request);
+
+      JwtPrincipal principal = assertInstanceOf(JwtPrincipal.class, auth.getPrincipal());
+      assertEquals("admin", auth.getName());
+      assertEquals("CP-1", principal.getCpCd());
+      assertEquals(List.of("ROLE_ADMIN"), auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+      assertEquals(Map.of("cpCd", "CP-1"), auth.getDetails());
+      assertEquals("CP-1", request.getAttribute("cpCd"));
+    }
+    // 사용자 + 권한 조회는 첫 요청에서 한 번씩만
+    assertEquals(2, members.queries.get());
+  }
+
+  @Test
+  void rejectsTamperedTokens() throws Exception {
+    String token = jwtUtil.generateToken(members.add("user1", "MEM-2", "CP-2", "USER"));
+    String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+    assertNull(filter(request(tampered)));
+    assertNull(filter(request("not.a.jwt")));
+    assertEquals(0, members.queries.get());
+  }
+
+  @Test
+  void lockedAccountIsRejectedOnceEvicted() throws Exception {
+    MemberVO user = members.add("user2", "MEM-3", "CP-3", "USER");
+    String token = jwtUtil.generateToken(user);
+    assertEquals("user2", filter(request(token)).getName());
+
+    // 로그인 실패 잠금 → MemberServiceImpl.loginFailure 가 evictMember 호출
+    user.setIdUsed("f2");
+    userDetailsService.evictMember("MEM-3");
+    assertNull(filter(request(token)));
+  }
+
+  @Test
+  void authoritiesComeFromUserLookupNotClaims() throws Exception {
+    String token = jwtUtil.generateToken(members.add("user3", "MEM-4", "CP-4", "ADMIN"));
+    assertEquals(List.of("ROLE_ADMIN"), roles(filter(request(token))));
+
+    // 권한 회수 - 토큰 클레임은 그대로 ADMIN 이지만 캐시가 비워지면 바로 USER
+    members.roles.put("user3", List.of("USER"));
+    userDetailsService.evictMember("MEM-4");
+    assertEquals(List.of("ROLE_USER"), roles(filter(request(token))));
+  }
+
+  @Test
+  void loginFailureEvictsAfterCommit() throws Exception {
+    MemberVO user = members.add("user4", "MEM-5", "CP-5", "USER");
+    String token = jwtUtil.generateToken(user);
+    assertEquals("user4", filter(request(token)).getName());
+    MemberServiceImpl memberService = new MemberServiceImpl(members.mapper(), null, userDetailsService);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      user.setIdUsed("f2");
+      memberService.loginFailure(LoginSecurityVO.builder().memCd("MEM-5").build());
+      // 커밋 전에는 캐시 그대로 (다른 요청이 잠기기 전 상태를 다시 캐시하지 않도록)
+      int queries = members.queries.get();
+      assertEquals("user4", filter(request(token)).getName());
+      assertEquals(queries, members.queries.get());
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertNull(filter(request(token)));
+    assertTrue(members.queries.get() > 2);
+  }
+
+  private static List<String> roles(Authentication auth) {
+    return auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+  }
+
+  private Authentication filter(MockHttpServletRequest request) throws Exception {
+    SecurityContextHolder.clearContext();
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    return SecurityContextHolder.getContext().getAuthentication();
+  }
+
+  private static MockHttpServletRequest request(String token) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/materials/inbound/page");
+    request.addHeader("Authorization", "Bearer " + token);
+    return request;
+  }
+}
@@ -0,0 +1,47 @@
+package com.kimbap.kbs.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.security.util.JwtUtil;
+
+class VerifiedTokenCacheTests {
+
+  private final long now = System.currentTimeMillis();
+  private final AtomicInteger parses = new AtomicInteger();
+
+  // 토큰 문자열 "이름:만료까지 남은 ms" 를 그대로 principal 로 만드는 파서 (서명 검증 없음)
+  private final JwtUtil jwtUtil = new JwtUtil() {
+    @Override
+    public JwtPrincipal parse(String token) {
+      parses.incrementAndGet();
+      String[] parts = token.split(":");
+      return new JwtPrincipal(parts[0], null, List.of(), now + Long.parseLong(parts[1]));
+    }
+  };
+
+  // 가득 차면 만료가 가장 가까운 토큰부터 비우고, 오래 남는 토큰은 다시 검증하지 않는다
+  @Test
+  void shrinkEvictsSoonestExpiringFirst() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 4);
+    List<String> tokens = List.of("c:300000", "a:100000", "d:400000", "b:200000");
+    tokens.forEach(token -> assertNotNull(cache.verify(token)));
+    assertEquals(4, cache.size());
+
+    cache.verify("e:500000"); // 가득 → 1/4 (a) 를 비우고 추가
+    assertEquals(4, cache.size());
+    assertEquals(5, parses.get());
+
+    for (String token : List.of("b:200000", "c:300000", "d:400000", "e:500000")) {
+      cache.verify(token);
+    }
+    assertEquals(5, parses.get());
+    cache.verify("a:100000");
+    assertEquals(6, parses.get());
+  }
+}
@@ -0,0 +1,256 @@
+package com.kimbap.kbs.standard.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import com.kimbap.kbs.standard.mapper.VersionSyncMapper;
+import com.kimbap.kbs.standard.service.VersionSyncJobVO;
+
+/**
+ * 참조 테이블과 ver_sync_job 을 흉내 내는 테스트용 매퍼.
+ * 테이블은 행 번호를 rowid 로 쓰는 코드/버전 배열이고 (rowid 문자열은 0 채운 10자리), 작업 행은 등록 순서가 cre_dt 순서다.
+ */
+class InMemoryVersionSyncMapper implements VersionSyncMapper {
+
+    final Map<String, Table> tables = new HashMap<>();
+    final List<VersionSyncJobVO> jobs = new ArrayList<>();
+
+    // true 면 진행(R)/실패(F) 작업의 임대가 끝난 것으로 본다
+    boolean leaseExpired;
+    // 이 횟수만큼 구간 UPDATE 가 성공한 다음 호출에서 실패 (-1 이면 실패 없음)
+    int failAfterUpdates = -1;
+    int rangeUpdates;
+    int maxRowsPerUpdate;
+
+    static final class Table {
+        final List<String> codes = new ArrayList<>();
+        final List<String> versions = new ArrayList<>();
+        final int[] code;
+        final byte[] ver;
+
+        Table(int rows) {
+            code = new int[rows];
+            ver = new byte[rows];
+        }
+
+        int codeId(String value) {
+            return id(codes, value);
+        }
+
+        int verId(String value) {
+            return id(versions, value);
+        }
+
+        String ver(int row) {
+            return versions.get(ver[row]);
+        }
+
+        String code(int row) {
+            return codes.get(code[row]);
+        }
+
+        private static int id(List<String> dict, String value) {
+            int id = dict.indexOf(value);
+            if (id < 0) {
+                dict.add(value);
+                id = dict.size() - 1;
+            }
+            return id;
+        }
+    }
+
+    // 행 i 의 코드는 codeOf[i % codeOf.length], 버전은 모두 ver
+    Table table(String name, int rows, String[] codeOf, String ver) {
+        Table table = new Table(rows);
+        int[] ids = new int[codeOf.length];
+        for (int i = 0; i < codeOf.length; i++) {
+            ids[i] = table.codeId(codeOf[i]);
+        }
+        byte verId = (byte) table.verId(ver);
+        for (int row = 0; row < rows; row++) {
+            table.code[row] = ids[row % ids.length];
+            table.ver[row] = verId;
+        }
+        tables.put(name, table);
+        return table;
+    }
+
+    VersionSyncJobVO job(String jobId, String tblName) {
+        return jobs.stream()
+            .filter(j -> j.getJobId().equals(jobId) && j.getTblName().equals(tblName))
+            .findFirst().orElse(null);
+    }
+
+    static String rowid(int row) {
+        return String.format("%010d", row);
+    }
+
+    static PlatformTransactionManager noOpTransactionManager() {
+        return new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        };
+    }
+
+    @Override
+    public int updateVersionDynamic(String table, String codeCol, String verCol, String code,
+                                    String oldVer, String newVer) {
+        Table t = tables.get(table);
+        return t == null ? 0 : update(t, code, oldVer, newVer, 0, t.code.length - 1);
+    }
+
+    @Override
+    public int insertJobs(List<VersionSyncJobVO> newJobs) {
+        for (VersionSyncJobVO job : newJobs) {
+            job.setStatus("P");
+            job.setDoneRows(0L);
+            jobs.add(job);
+        }
+        return newJobs.size();
+    }
+
+    @Override
+    public List<VersionSyncJobVO> selectRunnableJobs(int leaseSeconds, int limit) {
+        List<VersionSyncJobVO> runnable = new ArrayList<>();
+        for (int i = 0; i < jobs.size() && runnable.size() < limit; i++) {
+            VersionSyncJobVO job = jobs.get(i);
+            if (!claimable(job)) {
+                continue;
+            }
+            boolean blocked = false;
+            for (int p = 0; p < i; p++) {
+                VersionSyncJobVO prev = jobs.get(p);
+                blocked |= prev.getTblName().equals(job.getTblName()) && prev.getCode().equals(job.getCode())
+                    && !"C".equals(prev.getStatus());
+            }
+            if (!blocked) {
+                runnable.add(copy(job));
+            }
+        }
+        return runnable;
+    }
+
+    @Override
+    public int claimJob(String jobId, String tblName, int leaseSeconds) {
+        VersionSyncJobVO job = job(jobId, tblName);
+        if (job == null || !claimable(job)) {
+            return 0;
+        }
+        job.setStatus("R");
+        return 1;
+    }
+
+    @Override
+    public String selectChunkEnd(VersionSyncJobVO job, String afterRowid, int chunkSize) {
+        Table t = tables.get(job.getTblName());
+        if (t == null) {
+            return null;
+        }
+        int code = t.codeId(job.getCode());
+        int ver = t.verId(job.getOldVer());
+        int found = 0;
+        int last = -1;
+        for (int row = afterRowid == null ? 0 : Integer.parseInt(afterRowid) + 1; row < t.code.length; row++) {
+            if (t.code[row] == code && t.ver[row] == ver) {
+                last = row;
+                if (++found == chunkSize) {
+                    break;
+                }
+            }
+        }
+        return last < 0 ? null : rowid(last);
+    }
+
+    @Override
+    public int updateVersionRange(VersionSyncJobVO job, String afterRowid, String endRowid) {
+        if (failAfterUpdates >= 0 && rangeUpdates >= failAfterUpdates) {
+            failAfterUpdates = -1;
+            throw new IllegalStateException("ORA-00054: resource busy");
+        }
+        rangeUpdates++;
+        Table t = tables.get(job.getTblName());
+        int from = afterRowid == null ? 0 : Integer.parseInt(afterRowid) + 1;
+        int rows = update(t, job.getCode(), job.getOldVer(), job.getNewVer(), from, Integer.parseInt(endRowid));
+        maxRowsPerUpdate = Math.max(maxRowsPerUpdate, rows);
+        return rows;
+    }
+
+    @Override
+    public int updateProgress(String jobId, String tblName, int rows, String lastRowid) {
+        VersionSyncJobVO job = job(jobId, tblName);
+        job.setDoneRows(job.getDoneRows() + rows);
+        job.setLastRowid(lastRowid);
+        return 1;
+    }
+
+    @Override
+    public int completeJob(String jobId, String tblName) {
+        VersionSyncJobVO job = job(jobId, tblName);
+        job.setStatus("C");
+        job.setLastRowid(null);
+        job.setErrMsg(null);
+        return 1;
+    }
+
+    @Override
+    public int failJob(String jobId, String tblName, String errMsg) {
+        VersionSyncJobVO job = job(jobId, tblName);
+        job.setStatus("F");
+        job.setErrMsg(errMsg);
+        return 1;
+    }
+
+    @Override
+    public List<VersionSyncJobVO> selectJobs(String code, int limit) {
+        return jobs.stream().filter(j -> code == null || code.equals(j.getCode())).limit(limit).map(this::copy).toList();
+    }
+
+    private boolean claimable(VersionSyncJobVO job) {
+        return "P".equals(job.getStatus())
+            || (leaseExpired && ("R".equals(job.getStatus()) || "F".equals(job.getStatus())));
+    }
+
+    private static int update(Table t, String code, String oldVer, String newVer, int from, int to) {
+        int codeId = t.codeId(code);
+        int oldId = t.verId(oldVer);
+        byte newId = (byte) t.verId(newVer);
+        int rows = 0;
+        for (int row = from; row <= to; row++) {
+            if (t.code[row] == codeId && t.ver[row] == oldId) {
+                t.ver[row] = newId;
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    // DB 에서 읽은 행처럼 복사본을 돌려준다
+    private VersionSyncJobVO copy(VersionSyncJobVO job) {
+        return VersionSyncJobVO.builder()
+            .jobId(job.getJobId()).tblName(job.getTblName()).codeCol(job.getCodeCol()).verCol(job.getVerCol())
+            .code(job.getCode()).oldVer(job.getOldVer()).newVer(job.getNewVer()).status(job.getStatus())
+            .doneRows(job.getDoneRows()).lastRowid(job.getLastRowid()).errMsg(job.getErrMsg())
+            .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.kimbap.kbs.standard.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.kimbap.kbs.common.service.KeyFormat;
+import com.kimbap.kbs.common.service.KeyGeneratorService;
+import com.kimbap.kbs.standard.service.VersionSyncJobVO;
+import com.kimbap.kbs.standard.service.VersionSyncService;
+
+class VersionSyncWorkerTests {
+
+    private static final String[] MAT_1_X3 = {"MAT-1", "MAT-1", "MAT-1", "MAT-2"};
+
+    private final AtomicInteger wakeUps = new AtomicInteger();
+
+    @Test
+    void propagatesFiveMillionRowsInBoundedChunks() {
+        InMemoryVersionSyncMapper db = new InMemoryVersionSyncMapper();
+        db.table("MATE_INBO", 3_000_000, MAT_1_X3, "V001");
+        db.table("MOVE_REQ_D", 1_500_000, MAT_1_X3, "V001");
+        db.table("MATE_REL", 500_000, MAT_1_X3, "V001");
+        db.table("BOM_D", 40, MAT_1_X3, "V001");
+        VersionSyncWorker worker = worker(db, 10_000);
+        VersionSyncService service = new VersionSyncService(db, keys(), worker);
+
+        // 기록만 하고 돌아온다 - 이력 테이블은 그대로, BOM_D 만 바로 바뀜
+        service.syncMaterialVersion("MAT-1", "V001", "V002");
+        assertEquals(1, wakeUps.get());
+        assertEquals(6, db.jobs.size());
+        assertEquals(0, count(db.tables.get("MATE_INBO"), "MAT-1", "V002"));
+        assertEquals(30, count(db.tables.get("BOM_D"), "MAT-1", "V002"));
+
+        assertEquals(6, worker.runPending());
+
+        long target = 0;
+        for (String table : List.of("MATE_INBO", "MOVE_REQ_D", "MATE_REL")) {
+            InMemoryVersionSyncMapper.Table t = db.tables.get(table);
+            long rows = t.code.length * 3L / 4;
+            assertEquals(rows, count(t, "MAT-1", "V002"), table);
+            assertEquals(0, count(t, "MAT-1", "V001"), table);
+            assertEquals(t.code.length / 4, count(t, "MAT-2", "V001"), table);
+            VersionSyncJobVO job = db.job("VSYNC-1", table);
+            assertEquals("C", job.getStatus());
+            assertEquals(rows, job.getDoneRows());
+            target += rows;
+        }
+        assertEquals(3_750_000, target);
+        // 한 번의 UPDATE 가 잡는 행은 청크 크기 이하, 청크 수는 행 수 / 청크 크기
+        assertTrue(db.maxRowsPerUpdate <= 10_000);
+        assertEquals(225 + 113 + 38, db.rangeUpdates);
+    }
+
+    @Test
+    void resumesFromLastRowidAfterFailure() {
+        InMemoryVersionSyncMapper db = new InMemoryVersionSyncMapper();
+        InMemoryVersionSyncMapper.Table table = db.table("PROD_INBO", 100_000, new String[] {"PRD-1", "PRD-2"}, "V001");
+        VersionSyncWorker worker = worker(db, 1_000);
+        new VersionSyncService(db, keys(), worker).syncProductVersion("PRD-1", "V001", "V002");
+
+        db.failAfterUpdates = 30;
+        worker.runPending();
+        VersionSyncJobVO job = db.job("VSYNC-1", "PROD_INBO");
+        assertEquals("F", job.getStatus());
+        assertNotNull(job.getErrMsg());
+        assertEquals(30_000, job.getDoneRows());
+        assertEquals(InMemoryVersionSyncMapper.rowid(59_998), job.getLastRowid());
+
+        // 중단된 사이 이미 지나간 구간에 옛 버전 행이 다시 생김
+        table.ver[10] = (byte) table.verId("V001");
+        assertEquals(0, worker.runPending()); // 재시도 간격 전
+        db.leaseExpired = true;
+        worker.runPending();
+
+        assertEquals("C", job.getStatus());
+        assertEquals(50_001, job.getDoneRows());
+        assertEquals(50_000, count(table, "PRD-1", "V002"));
+        assertEquals(0, count(table, "PRD-1", "V001"));
+    }
+
+    @Test
+    void laterVersionChangeWaitsForEarlierOne() {
+        InMemoryVersionSyncMapper db = new InMemoryVersionSyncMapper();
+        InMemoryVersionSyncMapper.Table table = db.table("RELEASE_ORD", 50_000, new String[] {"WARE-1"}, "V001");
+        VersionSyncWorker worker = worker(db, 2_000);
+        VersionSyncService service = new VersionSyncService(db, keys(), worker);
+        service.syncWarehouseVersion("WARE-1", "V001", "V002");
+        service.syncWarehouseVersion("WARE-1", "V002", "V003");
+
+        db.failAfterUpdates = 5;
+        worker.runPending();
+        assertEquals("F", db.job("VSYNC-1", "RELEASE_ORD").getStatus());
+        assertEquals("P", db.job("VSYNC-2", "RELEASE_ORD").getStatus());
+        assertEquals(0, count(table, "WARE-1", "V003"));
+
+        db.leaseExpired = true;
+        assertEquals(2, worker.runPending());
+        assertEquals(50_000, count(table, "WARE-1", "V003"));
+        assertEquals(50_000, db.job("VSYNC-1", "RELEASE_ORD").getDoneRows());
+        assertEquals(50_000, db.job("VSYNC-2", "RELEASE_ORD").getDoneRows());
+    }
+
+    private VersionSyncWorker worker(InMemoryVersionSyncMapper db, int chunkSize) {
+        return new VersionSyncWorker(db, InMemoryVersionSyncMapper.noOpTransactionManager(), chunkSize, 300) {
+            @Override
+            public void wakeUp() {
+                wakeUps.incrementAndGet(); // 테스트에서는 runPending 을 직접 호출
+            }
+        };
+    }
+
+    private static long count(InMemoryVersionSyncMapper.Table table, String code, String ver) {
+        long rows = 0;
+        for (int row = 0; row < table.code.length; row++) {
+            if (table.code(row).equals(code) && table.ver(row).equals(ver)) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    // VSYNC-1, VSYNC-2 ... 순서대로 발번
+    private static KeyGeneratorService keys() {
+        AtomicLong seq = new AtomicLong();
+        return new KeyGeneratorService() {
+            @Override
+            public String nextKey(KeyFormat format) {
+                return "VSYNC-" + seq.incrementAndGet();
+            }
+
+            @Override
+            public List<String> nextKeys(KeyFormat format, int count) {
+                List<String> keys = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    keys.add(nextKey(format));
+                }
+                return keys;
+            }
+
+            @Override
+            public long nextSequence(KeyFormat format, String bucket) {
+                return seq.incrementAndGet();
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.kimbap.kbs.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 두 JMH JSON 결과 비교 (기준 커밋 vs 대상 커밋)
+ *
+ * - 벤치마크 이름 + 파라미터가 같은 항목끼리 비교한다. 한쪽에만 있는 항목은 건너뛴다.
+ * - 처리량(thrpt)은 높을수록, 나머지 모드(avgt/sample/ss)는 낮을수록 좋다.
+ * - 허용% 보다 나빠졌고 그 차이가 양쪽 오차 합보다 크면 회귀. 회귀가 하나라도 있으면 종료 코드 1.
+ */
+public final class BenchCompare {
+
+    static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BenchCompare() {
+    }
+
+    /** args: 기준.json 대상.json [허용%] */
+    static int run(String[] args, PrintStream out) throws IOException {
+        if (args.length < 2) {
+            out.println("사용법: compare <기준.json> <대상.json> [허용%, 기본 " + DEFAULT_THRESHOLD_PERCENT + "]");
+            return 2;
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, Score> base = read(new File(args[0]));
+        Map<String, Score> head = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> e : head.entrySet()) {
+            Score before = base.get(e.getKey());
+            if (before == null) {
+                continue;
+            }
+            Score after = e.getValue();
+            double change = (after.score - before.score) / before.score * 100.0;
+            double worse = after.higherIsBetter() ? -change : change;
+            boolean regressed = worse > threshold
+                && Math.abs(after.score - before.score) > before.error + after.error;
+            if (regressed) {
+                regressions++;
+            }
+            out.printf("%-4s %-70s %12.3f -> %12.3f %s (%+.1f%%)%n", regressed ? "회귀" : "",
+                e.getKey(), before.score, after.score, after.unit, change);
+        }
+        out.printf("회귀 %d건 (허용 %.1f%%)%n", regressions, threshold);
+        return regressions > 0 ? 1 : 0;
+    }
+
+    static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            JsonNode paramNode = result.path("params");
+            for (Iterator<Map.Entry<String, JsonNode>> it = paramNode.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> p = it.next();
+                params.put(p.getKey(), p.getValue().asText());
+            }
+            String benchmark = result.path("benchmark").asText();
+            String key = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1)
+                + (params.isEmpty() ? "" : " " + params);
+            JsonNode metric = result.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key, new Score(result.path("mode").asText(), metric.path("score").asDouble(),
+                Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    record Score(String mode, double score, double error, String unit) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.kimbap.kbs.bench;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.kimbap.kbs.distribution.service.ReleaseRequestVO;
+import com.kimbap.kbs.production.service.ProdPlanDetailVO;
+import com.kimbap.kbs.production.service.ProdRequestDetailVO;
+
+/**
+ * 결정적 합성 데이터 생성기
+ *
+ * - rows(대략의 총 행 수, 10k ~ 10M)에 비례해 자재/제품/BOM/재고/주문/출고지시/발주/회원을 만든다.
+ *   같은 rows 면 언제 어디서 만들어도 같은 데이터 - 커밋 간 측정값을 비교할 수 있다.
+ * - 값은 순번 + 고정 시드의 해시(splitmix64)로 정하므로 순서대로 만들 필요가 없고,
+ *   벤치마크가 요청(생산요청 상세, 출고 라인 등)을 만들 때도 같은 함수로 다시 계산한다.
+ * - 코드 형식은 운영 데이터와 비슷하게, 날짜는 기준일(BASE_DT)부터 1년.
+ */
+public final class BenchData {
+
+    public static final LocalDate BASE_DT = LocalDate.of(2025, 1, 1);
+    public static final String VER = "V1";
+    // kbs.release.units-per-pack 기본값 (l1=40)
+    public static final int UNITS_PER_BOX = 40;
+
+    static final int FACTORIES = 2;
+    static final int MEMBERS = 100;
+    static final int LINES_PER_ORDER = 4;
+    static final int ORDERS_PER_RELEASE = 10;
+    static final int DETAILS_PER_PURC = 5;
+    static final String[] PURC_STATUSES = {"c1", "c2", "c3", "c4", "c5"};
+
+    private static final long SEED = 0x4B42_5342_454E_4348L;
+    private static final int BATCH = 5_000;
+
+    public final int rows;
+    public final int materials;
+    public final int products;
+    public final int subAssemblies;
+    public final int suppliers;
+    public final int customers;
+    public final int mateLots;
+    public final int prodLots;
+    public final int orders;
+    public final int purcOrders;
+
+    private BenchData(int rows) {
+        this.rows = rows;
+        this.materials = clamp(rows / 200, 50, 50_000);
+        this.products = clamp(rows / 2_000, 10, 5_000);
+        this.subAssemblies = Math.max(2, products / 5);
+        this.suppliers = clamp(materials / 10, 5, 2_000);
+        this.customers = clamp(rows / 1_000, 10, 10_000);
+        this.mateLots = Math.max(materials * 2, rows / 8);      // LOT 당 재고 2행
+        this.prodLots = Math.max((products + subAssemblies) * 2, rows / 20);
+        this.orders = Math.max(ORDERS_PER_RELEASE * 2, rows / 40);
+        this.purcOrders = Math.max(50, rows / 25);
+    }
+
+    /** 스키마가 만들어진 DB 에 rows 규모 데이터를 적재 */
+    static BenchData seed(DataSource dataSource, int rows) {
+        BenchData data = new BenchData(rows);
+        try (Connection con = dataSource.getConnection()) {
+            con.setAutoCommit(false);
+            data.insertMembers(con);
+            data.insertStandards(con);
+            data.insertStocks(con);
+            data.insertOrders(con);
+            data.insertPurchases(con);
+            con.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("벤치마크 데이터 적재 실패", e);
+        }
+        return data;
+    }
+
+    // ===== 코드 =====
+
+    public static String mcode(int i) {
+        return String.format("MAT-%05d", i);
+    }
+
+    public static String pcode(int i) {
+        return String.format("PRD-%04d", i);
+    }
+
+    public static String subCode(int i) {
+        return String.format("SUB-%04d", i);
+    }
+
+    public static String memberId(int i) {
+        return String.format("user%03d", i);
+    }
+
+    static String supplierCd(int i) {
+        return String.format("CP-S%04d", i);
+    }
+
+    static String customerCd(int i) {
+        return String.format("CP-C%05d", i);
+    }
+
+    public static String prodLotNo(int lot) {
+        return "LOT-300-20250101-" + lot;
+    }
+
+    public static String prodArea(int lot) {
+        return "PA-" + (lot % 50);
+    }
+
+    public static String ordDCd(int line) {
+        return String.format("ORDD-%08d", line);
+    }
+
+    public static String relOrdCd(int line) {
+        return String.format("RO-%08d", line);
+    }
+
+    public static String relMasCd(int release) {
+        return String.format("RM-%06d", release);
+    }
+
+    public static String purcDCd(int line) {
+        return String.format("PURC-D-%08d", line);
+    }
+
+    // ===== 요청 만들기 =====
+
+    /** 생산계획 상세 - 제품 count 개, 계획수량은 제품마다 고정 */
+    public List<ProdPlanDetailVO> planDetails(int count) {
+        List<ProdPlanDetailVO> details = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, products); i++) {
+            ProdPlanDetailVO d = new ProdPlanDetailVO();
+            d.setPcode(pcode(i));
+            d.setProdVerCd(VER);
+            d.setPlanQty(100 + pick(i, 11, 900));
+            details.add(d);
+        }
+        return details;
+    }
+
+    /** 생산요청 상세 - 자재 출고(선입선출 LOT 배분) 대상 */
+    public List<ProdRequestDetailVO> requestDetails(int count) {
+        List<ProdRequestDetailVO> details = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, products); i++) {
+            ProdRequestDetailVO d = new ProdRequestDetailVO();
+            d.setProduProdCd(String.format("PP-%06d", i));
+            d.setPcode(pcode(i));
+            d.setProdVerCd(VER);
+            d.setReqQty(10 + pick(i, 12, 20));
+            details.add(d);
+        }
+        return details;
+    }
+
+    public int purcDetails() {
+        return purcOrders * DETAILS_PER_PURC;
+    }
+
+    public int releases() {
+        return orders / ORDERS_PER_RELEASE;
+    }
+
+    /** 출고지시서 release 의 전 라인 출고 요청 - 라인마다 제품 LOT 두 곳에서 나눠 출고 */
+    public ReleaseRequestVO releaseRequest(int release) {
+        ReleaseRequestVO vo = new ReleaseRequestVO();
+        vo.setRelMasCd(relMasCd(release));
+        List<ReleaseRequestVO.ItemVO> items = new ArrayList<>();
+        int firstLine = release * ORDERS_PER_RELEASE * LINES_PER_ORDER;
+        for (int line = firstLine; line < firstLine + ORDERS_PER_RELEASE * LINES_PER_ORDER; line++) {
+            int boxes = orderBoxes(line);
+            List<ReleaseRequestVO.LotVO> lots = new ArrayList<>();
+            int n = pick(line, 21, 1 << 20);
+            lots.add(lotVO(lotOf(orderProduct(line), n), boxes / 2));
+            lots.add(lotVO(lotOf(orderProduct(line), n + 1), boxes - boxes / 2));
+
+            ReleaseRequestVO.ItemVO item = new ReleaseRequestVO.ItemVO();
+            item.setRelOrdCd(relOrdCd(line));
+            item.setOrd_d_cd(ordDCd(line));
+            item.setPcode(pcode(orderProduct(line)));
+            item.setQty(boxes);
+            item.setLots(lots);
+            items.add(item);
+        }
+        vo.setItems(items);
+        return vo;
+    }
+
+    private static ReleaseRequestVO.LotVO lotVO(int lot, int boxes) {
+        ReleaseRequestVO.LotVO vo = new ReleaseRequestVO.LotVO();
+        vo.setLotNo(prodLotNo(lot));
+        vo.setWareAreaCd(prodArea(lot));
+        vo.setAllocQty(boxes);
+        return vo;
+    }
+
+    // 제품 p 의 n 번째 LOT (제품 LOT 은 제품 순번을 돌아가며 배정)
+    private int lotOf(int p, int n) {
+        int perItem = prodLots / (products + subAssemblies);
+        return p + (products + subAssemblies) * (n % perItem);
+    }
+
+    int orderProduct(int line) {
+        return pick(line, 20, products);
+    }
+
+    int orderBoxes(int line) {
+        return 2 + pick(line, 22, 4);
+    }
+
+    // ===== 적재 =====
+
+    private void insertMembers(Connection con) throws SQLException {
+        exec(con, "INSERT INTO department (dcode, dept_name) VALUES ('D01', '생산부')");
+        exec(con, "INSERT INTO team (team_code, team_name, dcode) VALUES ('T01', '생산1팀', 'D01')");
+        try (Batch emp = new Batch(con, "INSERT INTO employee (emp_cd, emp_name, tel, team_code) VALUES (?, ?, ?, 'T01')");
+             Batch mem = new Batch(con, "INSERT INTO member (mem_cd, id, pw, mem_type, is_used, emp_cd, cp_cd) VALUES (?, ?, ?, 'p1', 'f1', ?, NULL)");
+             Batch role = new Batch(con, "INSERT INTO member_role (mem_cd, role_cd) VALUES (?, ?)");
+             Batch sec = new Batch(con, "INSERT INTO login_security (mem_cd, lcount, id_used) VALUES (?, 0, 'f1')")) {
+            for (int i = 0; i < MEMBERS; i++) {
+                String memCd = String.format("MEM-%03d", i);
+                String empCd = String.format("EMP-%03d", i);
+                emp.add(empCd, "사원" + i, "010-0000-" + String.format("%04d", i));
+                mem.add(memCd, memberId(i), "{noop}bench", empCd);
+                role.add(memCd, "ROLE_USER");
+                if (i % 10 == 0) {
+                    role.add(memCd, "ROLE_ADMIN");
+                }
+                sec.add(memCd);
+            }
+        }
+    }
+
+    private void insertStandards(Connection con) throws SQLException {
+        try (Batch company = new Batch(con, "INSERT INTO company (cp_cd, cp_name, cp_type, is_used, loan_term, reg_dt) VALUES (?, ?, ?, 'f1', 30, ?)")) {
+            for (int i = 0; i < suppliers; i++) {
+                company.add(supplierCd(i), "공급사" + i, "t1", date(0));
+            }
+            for (int i = 0; i < customers; i++) {
+                company.add(customerCd(i), "고객사" + i, "t2", date(0));
+            }
+        }
+        try (Batch material = new Batch(con, "INSERT INTO material (mcode, mate_ver_cd, mate_name, mate_type, unit, moqty, safe_stock) VALUES (?, ?, ?, 'h1', 'g3', ?, ?)");
+             Batch supplier = new Batch(con, "INSERT INTO mate_supplier (mate_cp_cd, mcode, mate_ver_cd, cp_cd, unit_price, ltime) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int m = 0; m < materials; m++) {
+                material.add(mcode(m), VER, "자재" + m, BigDecimal.valueOf(10L * (1 + pick(m, 1, 10))), 100);
+                for (int s = 0; s < 3; s++) {
+                    supplier.add(String.format("MCP-%06d", m * 3 + s), mcode(m), VER, supplierCd(pick(m * 3 + s, 2, suppliers)),
+                        BigDecimal.valueOf(100 + pick(m * 3 + s, 3, 900)), 1 + pick(m * 3 + s, 4, 14));
+                }
+            }
+        }
+        // 완제품 BOM = 자재 6 + 반제품 2, 반제품 BOM = 자재 5
+        try (Batch product = new Batch(con, "INSERT INTO product (pcode, prod_ver_cd, prod_name, pac_unit) VALUES (?, ?, ?, 'l1')");
+             Batch bom = new Batch(con, "INSERT INTO bom (bcode, bom_ver_cd, pcode, prod_ver_cd, is_used) VALUES (?, ?, ?, ?, 'f1')");
+             Batch bomD = new Batch(con, "INSERT INTO bom_d (bom_d_cd, bcode, bom_ver_cd, mcode, mate_ver_cd, need_qty, unit, is_used) VALUES (?, ?, ?, ?, ?, ?, 'g3', 'f1')")) {
+            int d = 0;
+            for (int i = 0; i < products + subAssemblies; i++) {
+                boolean sub = i >= products;
+                String code = sub ? subCode(i - products) : pcode(i);
+                String bcode = String.format("BOM-%05d", i);
+                product.add(code, VER, (sub ? "반제품" : "제품") + i);
+                bom.add(bcode, VER, code, VER);
+                for (int c = 0; c < (sub ? 5 : 6); c++) {
+                    bomD.add(String.format("BOMD-%07d", d++), bcode, VER, mcode(pick(i * 8 + c, 5, materials)), VER,
+                        BigDecimal.valueOf(1 + pick(i * 8 + c, 6, 3)));
+                }
+                if (!sub) {
+                    for (int c = 0; c < 2; c++) {
+                        bomD.add(String.format("BOMD-%07d", d++), bcode, VER, subCode(pick(i * 2 + c, 7, subAssemblies)), VER,
+                            BigDecimal.ONE);
+                    }
+                }
+            }
+        }
+    }
+
+    private void insertStocks(Connection con) throws SQLException {
+        try (Batch inbo = new Batch(con, "INSERT INTO mate_inbo (mate_inbo_cd, mcode, mate_ver_cd, lot_no, inbo_dt) VALUES (?, ?, ?, ?, ?)");
+             Batch stock = new Batch(con, "INSERT INTO ware_stock (wslcode, ware_area_cd, mate_inbo_cd, prod_inbo_cd, qty) VALUES (?, ?, ?, ?, ?)")) {
+            int ws = 0;
+            for (int lot = 0; lot < mateLots; lot++) {
+                String inboCd = String.format("MI-%08d", lot);
+                inbo.add(inboCd, mcode(lot % materials), VER, "LOT-100-20250101-" + lot, date(lot % 365));
+                for (int r = 0; r < 2; r++) {
+                    stock.add(String.format("WS-%09d", ws++), "MA-" + pick(lot * 2 + r, 8, 50), inboCd, null, BigDecimal.valueOf(1_000));
+                }
+            }
+            // 제품 LOT 은 2행 x 2000개 = 100박스
+            try (Batch prodInbo = new Batch(con, "INSERT INTO prod_inbo (prod_inbo_cd, pcode, prod_ver_cd, lot_no, inbo_dt) VALUES (?, ?, ?, ?, ?)")) {
+                int items = products + subAssemblies;
+                for (int lot = 0; lot < prodLots; lot++) {
+                    String inboCd = String.format("PI-%08d", lot);
+                    int p = lot % items;
+                    prodInbo.add(inboCd, p < products ? pcode(p) : subCode(p - products), VER, prodLotNo(lot), date(lot % 365));
+                    for (int r = 0; r < 2; r++) {
+                        stock.add(String.format("WS-%09d", ws++), prodArea(lot), null, inboCd, BigDecimal.valueOf(2_000));
+                    }
+                }
+            }
+        }
+        // 현재고 집계 - 자재별 공장 2곳 (MRP 가 읽는 값), 필요량보다 모자라게 해서 발주 계획이 나오도록
+        try (Batch balance = new Batch(con, "INSERT INTO stock_balance (item_code, ver_cd, fcode, item_type, qty, upd_dt) VALUES (?, ?, ?, 'm', ?, ?)")) {
+            for (int m = 0; m < materials; m++) {
+                for (int f = 0; f < FACTORIES; f++) {
+                    balance.add(mcode(m), VER, "F" + f, BigDecimal.valueOf(pick(m * FACTORIES + f, 9, 2_000)), date(0));
+                }
+            }
+        }
+    }
+
+    private void insertOrders(Connection con) throws SQLException {
+        try (Batch order = new Batch(con, "INSERT INTO order_list (ord_cd, cp_cd, ord_status_customer) VALUES (?, ?, 'a1')");
+             Batch detail = new Batch(con, "INSERT INTO order_d (ord_d_cd, ord_cd, pcode, ord_qty, unit_price, ord_d_status) VALUES (?, ?, ?, ?, ?, 't1')");
+             Batch master = new Batch(con, "INSERT INTO release_ord_master (rel_mas_cd, rel_ord_status) VALUES (?, 'r1')");
+             Batch relOrd = new Batch(con, "INSERT INTO release_ord (rel_ord_cd, rel_mas_cd, ord_d_cd) VALUES (?, ?, ?)")) {
+            for (int o = 0; o < orders; o++) {
+                String ordCd = String.format("ORD-%07d", o);
+                order.add(ordCd, customerCd(pick(o, 10, customers)));
+                int release = o / ORDERS_PER_RELEASE;
+                boolean released = release < releases();
+                if (released && o % ORDERS_PER_RELEASE == 0) {
+                    master.add(relMasCd(release));
+                }
+                for (int l = 0; l < LINES_PER_ORDER; l++) {
+                    int line = o * LINES_PER_ORDER + l;
+                    detail.add(ordDCd(line), ordCd, pcode(orderProduct(line)), orderBoxes(line),
+                        BigDecimal.valueOf(1_000 + pick(line, 23, 9_000)));
+                    if (released) {
+                        relOrd.add(relOrdCd(line), relMasCd(release), ordDCd(line));
+                    }
+                }
+            }
+        }
+    }
+
+    private void insertPurchases(Connection con) throws SQLException {
+        try (Batch purc = new Batch(con, "INSERT INTO purc_ord (purc_cd, ord_dt) VALUES (?, ?)");
+             Batch detail = new Batch(con, "INSERT INTO purc_ord_d (purc_d_cd, purc_cd, mcode, mate_cp_cd, purc_qty, unit_price, purc_d_status) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int p = 0; p < purcOrders; p++) {
+                String purcCd = String.format("PURC-%07d", p);
+                purc.add(purcCd, date(pick(p, 30, 365)));
+                for (int d = 0; d < DETAILS_PER_PURC; d++) {
+                    int line = p * DETAILS_PER_PURC + d;
+                    int m = pick(line, 31, materials);
+                    int s = m * 3 + pick(line, 32, 3);
+                    detail.add(purcDCd(line), purcCd, mcode(m), String.format("MCP-%06d", s),
+                        10 + pick(line, 33, 490), BigDecimal.valueOf(100 + pick(s, 3, 900)),
+                        PURC_STATUSES[pick(line, 34, PURC_STATUSES.length)]);
+                }
+            }
+        }
+    }
+
+    // ===== 도구 =====
+
+    /** 순번 i, 용도 salt 에 대한 [0, bound) 결정적 값 */
+    static int pick(int i, int salt, int bound) {
+        long z = SEED + salt * 0x9E37_79B9_7F4A_7C15L + i * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        z = z ^ (z >>> 31);
+        return (int) Math.floorMod(z, (long) bound);
+    }
+
+    private static Date date(int plusDays) {
+        return Date.valueOf(BASE_DT.plusDays(plusDays));
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static void exec(Connection con, String sql) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.executeUpdate();
+        }
+    }
+
+    // BATCH 건마다 보내는 PreparedStatement
+    private static final class Batch implements AutoCloseable {
+
+        private final PreparedStatement ps;
+        private int pending;
+
+        Batch(Connection con, String sql) throws SQLException {
+            this.ps = con.prepareStatement(sql);
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                ps.setObject(i + 1, values[i]);
+            }
+            ps.addBatch();
+            if (++pending == BATCH) {
+                ps.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    ps.executeBatch();
+                }
+            } finally {
+                ps.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.kimbap.kbs.bench;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+/**
+ * 벤치마크용 H2 (Oracle 호환 모드) + MyBatis
+ *
+ * - 백엔드 jar 의 매퍼 XML(classpath:mapper/**)을 그대로 읽는다. H2 가 지원하지 않는 Oracle 문법을 쓰는 문장만
+ *   classpath:h2/*.xml 의 databaseId="h2" 문장이 먼저 등록되어 대신 쓰인다.
+ * - 설정은 운영과 같이 underscore → camelCase, VO 별칭(production/simjaejine/standard service 패키지).
+ * - 접속 URL 은 -Dkbs.bench.url 로 바꿀 수 있다 (10M 행 규모는 파일 DB 권장: jdbc:h2:file:./target/kbs-bench;MODE=Oracle).
+ */
+public final class BenchDatabase implements AutoCloseable {
+
+    public static final String URL_PROPERTY = "kbs.bench.url";
+
+    private static final String TYPE_ALIASES = "com.kimbap.kbs.production.service,"
+        + "com.kimbap.kbs.simjaejine.service,"
+        + "com.kimbap.kbs.standard.service";
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final HikariDataSource dataSource;
+    private final DataSourceTransactionManager transactionManager;
+    private final SqlSessionTemplate sqlSession;
+    private final BenchData data;
+
+    private BenchDatabase(String url, int rows) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername("sa");
+        config.setMaximumPoolSize(8);
+        config.setPoolName("kbs-bench");
+        config.setExceptionOverrideClassName(LockTimeoutKeepsConnection.class.getName());
+        this.dataSource = new HikariDataSource(config);
+        this.transactionManager = new DataSourceTransactionManager(dataSource);
+        // 파일 DB 를 다시 쓰는 경우 대비 - 항상 같은 데이터에서 시작
+        new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        new ResourceDatabasePopulator(new ClassPathResource("bench-schema.sql")).execute(dataSource);
+        this.data = BenchData.seed(dataSource, rows);
+        // 적재 후 통계 갱신 - 없으면 H2 가 조인 순서를 잘못 잡는다
+        new JdbcTemplate(dataSource).execute("ANALYZE");
+        this.sqlSession = new SqlSessionTemplate(sqlSessionFactory(dataSource));
+    }
+
+    /** 스키마 생성 + rows 규모의 합성 데이터 적재 */
+    public static BenchDatabase create(int rows) {
+        String url = System.getProperty(URL_PROPERTY,
+            "jdbc:h2:mem:kbs-bench-" + INSTANCES.incrementAndGet() + ";MODE=Oracle;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=256");
+        return new BenchDatabase(url, rows);
+    }
+
+    public <T> T mapper(Class<T> type) {
+        return sqlSession.getMapper(type);
+    }
+
+    public PlatformTransactionManager transactionManager() {
+        return transactionManager;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public BenchData data() {
+        return data;
+    }
+
+    /** 트랜잭션 안에서 실행하고 롤백 - 재고 차감/이력 등록이 있는 경로를 같은 데이터로 반복 측정 */
+    public <T> T rolledBack(Supplier<T> work) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        return tx.execute(status -> {
+            status.setRollbackOnly();
+            return work.get();
+        });
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+
+    /**
+     * H2 는 NOWAIT 잠금 실패(50200)를 SQLTimeoutException 으로 던지고, Hikari 는 SQLTimeoutException 이면 연결을 닫는다.
+     * Oracle 의 ORA-00054 는 일반 SQLException 이라 운영 풀은 연결을 유지하므로, 여기서도 같게 맞춘다.
+     */
+    public static final class LockTimeoutKeepsConnection implements SQLExceptionOverride {
+
+        private static final int H2_LOCK_TIMEOUT = 50200;
+
+        @java.lang.Override
+        public Override adjudicate(SQLException e) {
+            return e.getErrorCode() == H2_LOCK_TIMEOUT ? Override.DO_NOT_EVICT : Override.CONTINUE_EVICT;
+        }
+    }
+
+    private static SqlSessionFactory sqlSessionFactory(DataSource dataSource) {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        List<Resource> mappers = new ArrayList<>();
+        try {
+            // H2 대체 문장이 먼저 - 같은 id 의 databaseId 없는 문장은 건너뛴다
+            mappers.addAll(Arrays.asList(resolver.getResources("classpath*:h2/*.xml")));
+            mappers.addAll(Arrays.asList(resolver.getResources("classpath*:mapper/**/*.xml")));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Properties vendors = new Properties();
+        vendors.setProperty("H2", "h2");
+        VendorDatabaseIdProvider databaseIdProvider = new VendorDatabaseIdProvider();
+        databaseIdProvider.setProperties(vendors);
+
+        Configuration configuration = new Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+
+        SqlSessionFactoryBean factory = new SqlSessionFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setConfiguration(configuration);
+        factory.setDatabaseIdProvider(databaseIdProvider);
+        factory.setTypeAliasesPackage(TYPE_ALIASES);
+        factory.setMapperLocations(mappers.toArray(Resource[]::new));
+        try {
+            return factory.getObject();
+        } catch (Exception e) {
+            throw new IllegalStateException("MyBatis 설정 실패", e);
+        }
+    }
+}
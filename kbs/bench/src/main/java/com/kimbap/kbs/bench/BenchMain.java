@@ -0,0 +1,42 @@
+package com.kimbap.kbs.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.kimbap.kbs.bench.load.LoadMain;
+
+/**
+ * benchmarks.jar 진입점
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar                          전체 (rows=10000), 결과 jmh-result.json
+ * java -jar target/benchmarks.jar Release -p rows=1000000  출고처리만 100만 행 규모로
+ * java -jar target/benchmarks.jar -rff head.json           결과 파일 이름 지정
+ * java -jar target/benchmarks.jar Benchmark                메모리 매퍼 측정(*Benchmark)만 - 기존 방식 비교, DB 왕복은 대기로 흉내
+ * java -jar target/benchmarks.jar compare base.json head.json [허용%]
+ * java -jar target/benchmarks.jar load --base-url http://localhost:8080 --users 50   실행 중인 서버 부하 시험
+ * </pre>
+ *
+ * 옵션은 JMH 명령행 옵션 그대로. 결과 형식(-rf)을 주지 않으면 JSON 으로 남긴다 - 두 커밋의 결과를 compare 로 비교.
+ */
+public final class BenchMain {
+
+    private BenchMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "compare".equals(args[0])) {
+            System.exit(BenchCompare.run(Arrays.copyOfRange(args, 1, args.length), System.out));
+        }
+        if (args.length > 0 && "load".equals(args[0])) {
+            System.exit(LoadMain.run(Arrays.copyOfRange(args, 1, args.length), System.out));
+        }
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf")) {
+            jmhArgs.add("-rf");
+            jmhArgs.add("json");
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,17 @@
+package com.kimbap.kbs.bench;
+
+import java.math.BigDecimal;
+
+/**
+ * H2 에 없는 Oracle 내장 함수 (bench-schema.sql 의 CREATE ALIAS 로 등록)
+ */
+public final class H2Functions {
+
+    private H2Functions() {
+    }
+
+    // TO_NUMBER(문자열) - 발번 시드 조회(KeySequenceMapper.selectSeedSequence)에서 사용
+    public static BigDecimal toNumber(String value) {
+        return value == null ? null : new BigDecimal(value.trim());
+    }
+}
@@ -0,0 +1,134 @@
+package com.kimbap.kbs.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.kimbap.kbs.security.filter.JwtAuthenticationFilter;
+import com.kimbap.kbs.security.service.CustomUserDetailsService;
+import com.kimbap.kbs.security.service.VerifiedTokenCache;
+import com.kimbap.kbs.security.util.JwtUtil;
+import com.kimbap.kbs.simjaejine.mapper.MemberMapper;
+import com.kimbap.kbs.simjaejine.service.MemberVO;
+
+/**
+ * 요청당 JWT 필터 비용 (회원 100명이 돌아가며 요청)
+ *
+ * - warm : 검증된 토큰 캐시 + 사용자 조회 TTL 캐시가 찬 상태 (평상시)
+ * - cold : 매 요청 서명 검증 + 사용자/권한 조회 2회 (배포 직후, 캐시 만료)
+ * - legacy : 기존 필터 - 토큰 파싱 3회 + Base64 디코드, 사용자/권한 조회 2회, 요청마다 stdout 출력 (비교 기준)
+ *
+ * 토큰 생성 로그가 stdout 으로 나가므로 측정 중에는 버리는 스트림으로 돌린다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class JwtFilterBench {
+
+    @Param({"10000"})
+    int rows;
+
+    private PrintStream stdout;
+    private BenchDatabase db;
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final List<String> tokens = new ArrayList<>();
+    private JwtAuthenticationFilter warm;
+    private VerifiedTokenCache coldTokens;
+    private JwtAuthenticationFilter cold;
+    private CustomUserDetailsService uncached;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        db = BenchDatabase.create(rows);
+        MemberMapper members = db.mapper(MemberMapper.class);
+        for (int i = 0; i < BenchData.MEMBERS; i++) {
+            MemberVO member = members.getUserInfo(BenchData.memberId(i));
+            tokens.add(jwtUtil.generateToken(member));
+        }
+        warm = new JwtAuthenticationFilter(new VerifiedTokenCache(jwtUtil, 10_000),
+            new CustomUserDetailsService(members, 30_000));
+        coldTokens = new VerifiedTokenCache(jwtUtil, 10_000);
+        uncached = new CustomUserDetailsService(members, 0);
+        cold = new JwtAuthenticationFilter(coldTokens, uncached);
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public Object warm() throws Exception {
+        return filter(warm);
+    }
+
+    @Benchmark
+    public Object cold() throws Exception {
+        coldTokens.clear();
+        return filter(cold);
+    }
+
+    @Benchmark
+    public Object legacy() {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = request();
+        String authHeader = request.getHeader("Authorization");
+        String token = authHeader.substring(7);
+        System.out.println("🔍 JWT 토큰 발견, 길이: " + token.length());
+        String username = jwtUtil.getUsernameFromToken(token);
+        UserDetails userDetails = uncached.loadUserByUsername(username);
+        System.out.println("🔍 UserDetails 로드 완료: " + userDetails.getUsername());
+        if (jwtUtil.validateToken(token)) {
+            String cpCd = jwtUtil.getCpCdFromToken(token);
+            String payload = new String(Base64.getDecoder().decode(token.split("\\.")[1]));
+            System.out.println("🔍 JWT 페이로드 원본: " + payload);
+            request.setAttribute("cpCd", cpCd);
+            UsernamePasswordAuthenticationToken authToken
+                = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private Object filter(JwtAuthenticationFilter filter) throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/materials/inbound/page");
+        request.addHeader("Authorization", "Bearer " + tokens.get(next++ % tokens.size()));
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package com.kimbap.kbs.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.common.mapper.KeySequenceMapper;
+import com.kimbap.kbs.common.service.KeyFormats;
+import com.kimbap.kbs.common.serviceimpl.KeyGeneratorServiceImpl;
+
+/**
+ * LOT/업무코드 발번 (key_seq 블록 예약, REQUIRES_NEW 트랜잭션)
+ *
+ * - lot       : 자재 LOT 1건 (입고 처리 경로)
+ * - relBatch  : 출고처리코드 40건 한 번에 (출고지시서 1장 분량)
+ * - lotThreads: 4스레드가 같은 키를 동시에 발번 - 블록 크기에 따른 행 잠금 경합
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class KeyGenerationBench {
+
+    @Param({"10000"})
+    int rows;
+
+    @Param({"1", "20"})
+    int blockSize;
+
+    private BenchDatabase db;
+    private KeyGeneratorServiceImpl keyGenerator;
+
+    @Setup
+    public void setUp() {
+        db = BenchDatabase.create(rows);
+        keyGenerator = new KeyGeneratorServiceImpl(db.mapper(KeySequenceMapper.class), db.transactionManager(), blockSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public String lot() {
+        return keyGenerator.nextKey(KeyFormats.MATE_LOT_100);
+    }
+
+    @Benchmark
+    public List<String> relBatch() {
+        return keyGenerator.nextKeys(KeyFormats.PROD_REL, 40);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String lotThreads() {
+        return keyGenerator.nextKey(KeyFormats.MATE_LOT_100);
+    }
+}
@@ -0,0 +1,70 @@
+package com.kimbap.kbs.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.common.mapper.KeySequenceMapper;
+import com.kimbap.kbs.common.serviceimpl.KeyGeneratorServiceImpl;
+import com.kimbap.kbs.production.mapper.BomMapper;
+import com.kimbap.kbs.production.mapper.ProdRequestMapper;
+import com.kimbap.kbs.production.service.MateReleaseVO;
+import com.kimbap.kbs.production.service.ProdRequestDetailVO;
+import com.kimbap.kbs.production.serviceimpl.BomExplosionServiceImpl;
+import com.kimbap.kbs.production.serviceimpl.MaterialIssueEngine;
+
+/**
+ * 생산요청 자재 출고 (BOM 전개 → 재고 행 잠금 → 선입선출 LOT 배분 → 재고 차감 MERGE → 출고 이력 일괄 INSERT)
+ *
+ * 매번 롤백해서 같은 재고로 반복 측정한다 (출고코드 발번은 REQUIRES_NEW 라 커밋된다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class MaterialIssueBench {
+
+    @Param({"10000"})
+    int rows;
+
+    // 생산요청 상세 수 (제품 수보다 크면 제품 수)
+    @Param({"10"})
+    int requestLines;
+
+    private BenchDatabase db;
+    private MaterialIssueEngine engine;
+    private List<ProdRequestDetailVO> details;
+
+    @Setup
+    public void setUp() {
+        db = BenchDatabase.create(rows);
+        engine = new MaterialIssueEngine(db.mapper(ProdRequestMapper.class),
+            new BomExplosionServiceImpl(db.mapper(BomMapper.class)),
+            new KeyGeneratorServiceImpl(db.mapper(KeySequenceMapper.class), db.transactionManager(), 20));
+        details = db.data().requestDetails(requestLines);
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public List<MateReleaseVO> issue() {
+        return db.rolledBack(() -> engine.issue(details, "bench"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.kimbap.kbs.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kimbap.kbs.common.util.JsonStreamUtil;
+import com.kimbap.kbs.materials.service.MaterialsVO;
+
+/**
+ * MaterialsVO 목록 JSON 직렬화 (자재 입고/발주 목록 응답)
+ *
+ * - list   : 목록 전체를 ObjectMapper 로 한 번에 (일반 @ResponseBody)
+ * - stream : JsonStreamUtil 로 한 행씩 (페이지/내보내기 스트리밍 응답)
+ *
+ * ObjectMapper 는 Spring Boot 기본 설정과 같은 Jackson2ObjectMapperBuilder 로 만든다. 출력은 버린다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class MaterialsJsonBench {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private JsonStreamUtil jsonStreamUtil;
+    private List<MaterialsVO> materials;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jsonStreamUtil = new JsonStreamUtil(objectMapper);
+        materials = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            materials.add(MaterialsVO.builder()
+                .purcCd(String.format("PURC-%07d", i / 5))
+                .purcDCd(String.format("PURC-D-%08d", i))
+                .mcode(BenchData.mcode(i % 500))
+                .mateVerCd(BenchData.VER)
+                .mateName("자재" + (i % 500))
+                .mateType("h1")
+                .unit("g3")
+                .cpCd(String.format("CP-S%04d", i % 50))
+                .cpName("공급사" + (i % 50))
+                .purcQty(10 + BenchData.pick(i, 40, 490))
+                .unitPrice(BigDecimal.valueOf(100 + BenchData.pick(i, 41, 900)))
+                .totalAmount(BigDecimal.valueOf(1_000L + BenchData.pick(i, 42, 100_000)))
+                .ordDt(Date.valueOf(BenchData.BASE_DT.plusDays(i % 365)))
+                .exDeliDt(Date.valueOf(BenchData.BASE_DT.plusDays(i % 365 + 7)))
+                .purcStatus("c1")
+                .purcDStatus(BenchData.PURC_STATUSES[i % BenchData.PURC_STATUSES.length])
+                .lotNo("LOT-100-20250101-" + i)
+                .regi("EMP-001")
+                .empName("사원1")
+                .note(i % 10 == 0 ? "긴급 발주 - 납기 확인 필요" : null)
+                .build());
+        }
+    }
+
+    @Benchmark
+    public void list() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), materials);
+    }
+
+    @Benchmark
+    public void stream() throws IOException {
+        jsonStreamUtil.<MaterialsVO>array(materials::forEach).getBody().writeTo(OutputStream.nullOutputStream());
+    }
+}
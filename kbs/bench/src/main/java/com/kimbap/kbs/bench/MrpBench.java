@@ -0,0 +1,87 @@
+package com.kimbap.kbs.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.production.mapper.BomMapper;
+import com.kimbap.kbs.production.mapper.ProdPlanMapper;
+import com.kimbap.kbs.production.service.MrpDetailVO;
+import com.kimbap.kbs.production.service.ProdPlanDetailVO;
+import com.kimbap.kbs.production.service.PurcOrdDetailVO;
+import com.kimbap.kbs.production.serviceimpl.BomExplosionServiceImpl;
+import com.kimbap.kbs.production.serviceimpl.MrpEngine;
+
+/**
+ * MRP 전개 (생산계획 → BOM 전개 → 현재고 차감 → 부족 자재 발주 계획)
+ *
+ * - explode      : 부족량 계산까지
+ * - planPurchase : 부족량 + 최저가 공급사/최소발주단위/납기 계산
+ * - bomCache cold 는 매번 BOM 캐시를 비우고 (BOM 변경 직후), warm 은 캐시를 그대로 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class MrpBench {
+
+    @Param({"10000"})
+    int rows;
+
+    // 계획 상세 수 (제품 수보다 크면 제품 수)
+    @Param({"200"})
+    int planLines;
+
+    @Param({"cold", "warm"})
+    String bomCache;
+
+    private BenchDatabase db;
+    private BomExplosionServiceImpl bomExplosion;
+    private MrpEngine engine;
+    private List<ProdPlanDetailVO> details;
+
+    @Setup
+    public void setUp() {
+        db = BenchDatabase.create(rows);
+        bomExplosion = new BomExplosionServiceImpl(db.mapper(BomMapper.class));
+        engine = new MrpEngine(db.mapper(ProdPlanMapper.class), bomExplosion);
+        details = db.data().planDetails(planLines);
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public List<MrpDetailVO> explode() {
+        evictIfCold();
+        return engine.explode(details);
+    }
+
+    @Benchmark
+    public List<PurcOrdDetailVO> planPurchase() {
+        evictIfCold();
+        return engine.planPurchase(engine.explode(details), BenchData.BASE_DT);
+    }
+
+    private void evictIfCold() {
+        if ("cold".equals(bomCache)) {
+            bomExplosion.evictAll();
+        }
+    }
+}
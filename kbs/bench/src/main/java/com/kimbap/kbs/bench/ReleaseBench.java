@@ -0,0 +1,61 @@
+package com.kimbap.kbs.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.common.mapper.KeySequenceMapper;
+import com.kimbap.kbs.common.serviceimpl.KeyGeneratorServiceImpl;
+import com.kimbap.kbs.distribution.mapper.DistributionMapper;
+import com.kimbap.kbs.distribution.serviceimpl.ReleaseEngine;
+
+/**
+ * 제품 출고처리 - 출고지시서 1장 (주문 10건 x 4라인, 라인마다 LOT 2곳)
+ *
+ * 지시서를 돌아가며 쓰고 매번 롤백한다 (출고처리코드 발번은 REQUIRES_NEW 라 커밋된다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class ReleaseBench {
+
+    @Param({"10000"})
+    int rows;
+
+    private BenchDatabase db;
+    private ReleaseEngine engine;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        db = BenchDatabase.create(rows);
+        engine = new ReleaseEngine(db.mapper(DistributionMapper.class),
+            new KeyGeneratorServiceImpl(db.mapper(KeySequenceMapper.class), db.transactionManager(), 20),
+            "l1=" + BenchData.UNITS_PER_BOX, BenchData.UNITS_PER_BOX);
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public ReleaseEngine.Result release() {
+        int release = next++ % db.data().releases();
+        return db.rolledBack(() -> engine.release(db.data().releaseRequest(release)));
+    }
+}
@@ -0,0 +1,145 @@
+package com.kimbap.kbs.bench.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.kimbap.kbs.bench.load.LatencyStats.Outcome;
+
+/**
+ * 실행 중인 kbs 서버의 REST API 호출 + 응답시간/결과 기록
+ *
+ * - 요청 본문은 백엔드 VO 를 그대로 직렬화한다 (null 필드 제외).
+ * - 결과 분류: 상태코드 → 본문의 실패 표시(success=false, result_code=FAIL) → 오류 메시지의 교착/잠금 코드 순.
+ * - endpoint 이름은 경로 변수를 뺀 템플릿 (예: GET /api/distribution/details/{relMasCd}) - 같은 이름끼리 집계된다.
+ */
+final class ApiClient {
+
+    private static final Pattern DEADLOCK = Pattern.compile("ORA-00060|deadlock", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LOCK_TIMEOUT = Pattern.compile(
+        "ORA-00054|ORA-30006|Timeout trying to lock|lock wait timeout", Pattern.CASE_INSENSITIVE);
+
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final String baseUrl;
+    private final Duration timeout;
+    private final LatencyStats stats;
+    private volatile String token;
+
+    ApiClient(String baseUrl, Duration timeout, LatencyStats stats) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.stats = stats;
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    /** POST /api/login → 이후 요청에 Bearer 토큰. 로그인 응답은 집계하지 않는다 */
+    void login(String id, String pw) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request("/api/login")
+            .POST(body(Map.of("id", id, "pw", pw))).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("로그인 실패 (" + response.statusCode() + "): " + response.body());
+        }
+        token = json.readTree(response.body()).path("token").asText(null);
+    }
+
+    Response get(String endpoint, String path, Map<String, String> query) throws InterruptedException {
+        StringBuilder uri = new StringBuilder(path);
+        char sep = '?';
+        for (Map.Entry<String, String> q : query.entrySet()) {
+            uri.append(sep).append(q.getKey()).append('=').append(URLEncoder.encode(q.getValue(), StandardCharsets.UTF_8));
+            sep = '&';
+        }
+        return send("GET " + endpoint, request(uri.toString()).GET());
+    }
+
+    Response post(String path, Object body) throws InterruptedException {
+        return send("POST " + path, request(path).POST(body(body)));
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder builder) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, Outcome.IO_ERROR);
+            return new Response(0, MissingNode.getInstance(), String.valueOf(e.getMessage()), Outcome.IO_ERROR);
+        }
+        long elapsed = System.nanoTime() - start;
+        JsonNode body = parse(response.body());
+        Outcome outcome = classify(response.statusCode(), body, response.body());
+        stats.record(endpoint, elapsed, outcome);
+        return new Response(response.statusCode(), body, response.body(), outcome);
+    }
+
+    static Outcome classify(int status, JsonNode body, String text) {
+        boolean failed = status >= 400
+            || body.path("success").isBoolean() && !body.path("success").asBoolean()
+            || "FAIL".equals(body.path("result_code").asText());
+        if (!failed) {
+            return Outcome.OK;
+        }
+        if (DEADLOCK.matcher(text).find()) {
+            return Outcome.DEADLOCK;
+        }
+        if (LOCK_TIMEOUT.matcher(text).find()) {
+            return Outcome.LOCK_TIMEOUT;
+        }
+        return status >= 400 && status < 500 ? Outcome.CLIENT_ERROR : Outcome.SERVER_ERROR;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher body(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body), StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("요청 본문 직렬화 실패: " + body, e);
+        }
+    }
+
+    // 본문이 JSON 이 아니면(문자열 응답) 빈 노드
+    private JsonNode parse(String text) {
+        if (text == null || text.isBlank()) {
+            return MissingNode.getInstance();
+        }
+        char first = text.trim().charAt(0);
+        if (first != '{' && first != '[') {
+            return MissingNode.getInstance();
+        }
+        try {
+            return json.readTree(text);
+        } catch (JsonProcessingException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    record Response(int status, JsonNode body, String text, Outcome outcome) {
+
+        boolean ok() {
+            return outcome == Outcome.OK;
+        }
+    }
+}
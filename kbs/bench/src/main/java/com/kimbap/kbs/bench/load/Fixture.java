@@ -0,0 +1,93 @@
+package com.kimbap.kbs.bench.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 부하 시나리오가 쓰는 기준정보 코드 (대상 DB 에 이미 있어야 한다)
+ *
+ * 형식은 load-fixture.properties 참고. 코드/버전은 "코드/버전" 으로 적고 여러 개는 쉼표로 구분한다.
+ */
+record Fixture(List<String> customers,
+               List<Item> products,
+               List<Item> materials,
+               Item factory,
+               Item warehouse,
+               String supplier,
+               List<String> depositors,
+               String manager) {
+
+    static final String DEFAULT_RESOURCE = "load-fixture.properties";
+
+    /** 코드 + 버전 */
+    record Item(String code, String verCd) {
+
+        static Item parse(String text) {
+            String[] parts = text.trim().split("/", 2);
+            return new Item(parts[0].trim(), parts.length > 1 ? parts[1].trim() : "V001");
+        }
+    }
+
+    /** 파일이 없으면 클래스패스의 예시 fixture */
+    static Fixture load(Path file) throws IOException {
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                return of(read(reader));
+            }
+        }
+        try (InputStream in = Fixture.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) {
+                throw new IOException(DEFAULT_RESOURCE + " 가 클래스패스에 없습니다.");
+            }
+            return of(read(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        }
+    }
+
+    static Fixture of(Properties props) {
+        List<String> customers = list(props, "customers");
+        List<Item> products = list(props, "products").stream().map(Item::parse).toList();
+        List<Item> materials = list(props, "materials").stream().map(Item::parse).toList();
+        if (customers.isEmpty() || products.isEmpty() || materials.isEmpty()) {
+            throw new IllegalArgumentException("fixture 에 customers, products, materials 가 모두 있어야 합니다.");
+        }
+        List<String> depositors = list(props, "depositors");
+        return new Fixture(customers, products, materials,
+            Item.parse(required(props, "factory")),
+            Item.parse(required(props, "warehouse")),
+            required(props, "supplier"),
+            depositors.isEmpty() ? customers : depositors,
+            props.getProperty("manager", "loadtest").trim());
+    }
+
+    private static Properties read(Reader reader) throws IOException {
+        Properties props = new Properties();
+        props.load(reader);
+        return props;
+    }
+
+    private static String required(Properties props, String key) {
+        String value = props.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("fixture 에 " + key + " 가 없습니다.");
+        }
+        return value.trim();
+    }
+
+    private static List<String> list(Properties props, String key) {
+        List<String> values = new ArrayList<>();
+        for (String value : props.getProperty(key, "").split(",")) {
+            if (!value.isBlank()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,114 @@
+package com.kimbap.kbs.bench.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 엔드포인트별 응답시간 분포 + 결과 건수
+ *
+ * - 응답시간은 HdrHistogram Recorder (마이크로초, 유효숫자 3자리) - 여러 사용자 스레드가 잠금 없이 기록한다.
+ * - 워밍업이 끝나면 reset() 으로 그때까지의 기록을 버리고 측정 구간만 남긴다.
+ */
+final class LatencyStats {
+
+    /** 요청 결과 분류 - 교착/잠금대기 초과는 서버 오류 중 메시지로 따로 센다 */
+    enum Outcome {
+        OK,
+        CLIENT_ERROR,   // 4xx (재고부족/검증 실패 등)
+        SERVER_ERROR,   // 5xx 또는 200 + 실패 응답 (success=false, result_code=FAIL)
+        DEADLOCK,       // ORA-00060 / deadlock
+        LOCK_TIMEOUT,   // ORA-00054, ORA-30006 / 잠금 대기 초과
+        IO_ERROR        // 연결 실패/응답 시간 초과
+    }
+
+    static final String TOTAL = "전체";
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Endpoint all = new Endpoint();
+
+    void record(String endpoint, long elapsedNanos, Outcome outcome) {
+        endpoints.computeIfAbsent(endpoint, k -> new Endpoint()).record(elapsedNanos, outcome);
+        all.record(elapsedNanos, outcome);
+    }
+
+    /** 워밍업 구간 기록 버리기 */
+    void reset() {
+        endpoints.values().forEach(Endpoint::reset);
+        all.reset();
+    }
+
+    /** 모든 엔드포인트를 합친 집계 */
+    EndpointReport total(double seconds) {
+        return all.report(TOTAL, seconds);
+    }
+
+    /** 지금까지(마지막 reset 이후)의 엔드포인트별 집계 - 이름 순 */
+    List<EndpointReport> snapshot(double seconds) {
+        List<EndpointReport> reports = new ArrayList<>();
+        endpoints.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(e -> reports.add(e.getValue().report(e.getKey(), seconds)));
+        return reports;
+    }
+
+    /** 한 엔드포인트의 측정 결과 (시간은 밀리초) */
+    record EndpointReport(String endpoint, long requests, double throughput,
+                          double p50, double p99, double p999, double max,
+                          Map<Outcome, Long> outcomes) {
+
+        long errors() {
+            return requests - outcomes.getOrDefault(Outcome.OK, 0L);
+        }
+    }
+
+    private static final class Endpoint {
+
+        private final Recorder recorder = new Recorder(1, HIGHEST_MICROS, 3);
+        private final Histogram total = new Histogram(1, HIGHEST_MICROS, 3);
+        private final Map<Outcome, LongAdder> counts = new EnumMap<>(Outcome.class);
+
+        Endpoint() {
+            for (Outcome outcome : Outcome.values()) {
+                counts.put(outcome, new LongAdder());
+            }
+        }
+
+        void record(long elapsedNanos, Outcome outcome) {
+            long micros = Math.min(HIGHEST_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+            recorder.recordValue(micros);
+            counts.get(outcome).increment();
+        }
+
+        synchronized void reset() {
+            recorder.reset();
+            total.reset();
+            counts.values().forEach(LongAdder::reset);
+        }
+
+        synchronized EndpointReport report(String name, double seconds) {
+            total.add(recorder.getIntervalHistogram());
+            Map<Outcome, Long> outcomes = new EnumMap<>(Outcome.class);
+            counts.forEach((outcome, count) -> outcomes.put(outcome, count.sum()));
+            // 요청 수는 결과 건수 합으로 - 히스토그램과 건수는 따로 기록되므로 진행 중 집계에서 한 건씩 어긋날 수 있다
+            long requests = outcomes.values().stream().mapToLong(Long::longValue).sum();
+            return new EndpointReport(name, requests, seconds > 0 ? requests / seconds : 0,
+                millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(99)),
+                millis(total.getValueAtPercentile(99.9)), millis(total.getMaxValue()), outcomes);
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.kimbap.kbs.bench.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kimbap.kbs.bench.load.LatencyStats.EndpointReport;
+import com.kimbap.kbs.bench.load.LatencyStats.Outcome;
+import com.kimbap.kbs.bench.load.OrderToCashScenario.Operation;
+
+/**
+ * 닫힌 루프(closed-loop) 부하 실행 - benchmarks.jar load [옵션]
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar load --base-url http://localhost:8080 --users 50 --duration 300 --fixture my.properties
+ * </pre>
+ *
+ * - 사용자 N 명이 각자 "작업 → 지수분포 생각시간" 을 반복한다. 도착률 = 사용자 수 / (응답시간 + 평균 생각시간).
+ * - 사용자는 ramp 동안 고르게 투입되고, warmup 이 끝난 시점부터 duration 동안만 집계한다.
+ * - 결과: 엔드포인트별 처리량, p50/p99/p99.9/최대 응답시간, 오류/교착/잠금대기 초과 건수 (콘솔 + JSON).
+ */
+public final class LoadMain {
+
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    private LoadMain() {
+    }
+
+    /** 종료 코드: 0 정상, 1 오류율 초과(--max-error-pct) 또는 요청 없음, 2 옵션 오류 */
+    public static int run(String[] args, PrintStream out) throws IOException, InterruptedException {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            out.println(e.getMessage());
+            out.println(LoadOptions.USAGE);
+            return 2;
+        }
+        Fixture fixture = Fixture.load(options.fixture());
+        LatencyStats stats = new LatencyStats();
+        ApiClient api = new ApiClient(options.baseUrl(), options.timeout(), stats);
+        if (options.user() != null) {
+            api.login(options.user(), options.password());
+        }
+        // 이번 실행에서 만든 데이터 표시 + 클라이언트 발번 코드(자재입고) 구분용
+        String runTag = Long.toString(Instant.now().getEpochSecond(), 36);
+        OrderToCashScenario scenario = new OrderToCashScenario(api, fixture, options.mix(), runTag);
+
+        out.printf("%s: %s 사용자 %d명, 워밍업 %ds + 측정 %ds, 생각시간 평균 %dms, 실행표시 %s%n",
+            OrderToCashScenario.NAME, options.baseUrl(), options.users(), options.warmup().toSeconds(),
+            options.duration().toSeconds(), options.thinkMillis(), runTag);
+        Measured measured = drive(scenario, stats, options, out);
+        EndpointReport total = measured.total();
+        print(measured, out);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(options.out().toFile(), json(options, measured));
+        out.println("결과: " + options.out().toAbsolutePath());
+
+        if (total.requests() == 0) {
+            out.println("측정 구간에 완료된 요청이 없습니다.");
+            return 1;
+        }
+        double errorPercent = total.errors() * 100.0 / total.requests();
+        if (options.maxErrorPercent() != null && errorPercent > options.maxErrorPercent()) {
+            out.printf("오류율 %.2f%% > 허용 %.2f%%%n", errorPercent, options.maxErrorPercent());
+            return 1;
+        }
+        return 0;
+    }
+
+    /** 측정 구간 결과 */
+    record Measured(double seconds, List<EndpointReport> endpoints, EndpointReport total,
+                    Map<String, Long> executed, long scenarioErrors) {
+    }
+
+    private static Measured drive(OrderToCashScenario scenario, LatencyStats stats, LoadOptions options,
+                                  PrintStream out) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder scenarioErrors = new LongAdder();
+        long start = System.nanoTime();
+        List<Thread> users = new ArrayList<>(options.users());
+        for (int i = 0; i < options.users(); i++) {
+            long startAt = start + options.ramp().toNanos() * i / options.users();
+            SplittableRandom random = new SplittableRandom(options.seed() * 1_000_003L + i);
+            users.add(Thread.ofVirtual().name("load-user-" + i).start(
+                () -> user(scenario, random, startAt, options.thinkMillis(), running, scenarioErrors)));
+        }
+
+        Thread.sleep(options.warmup().toMillis());
+        stats.reset();
+        scenario.resetCounts();
+        scenarioErrors.reset();
+        long measureStart = System.nanoTime();
+        long measureEnd = measureStart + options.duration().toNanos();
+        for (long now = measureStart; now < measureEnd; now = System.nanoTime()) {
+            Thread.sleep(Math.min(PROGRESS_INTERVAL.toMillis(), TimeUnit.NANOSECONDS.toMillis(measureEnd - now) + 1));
+            double elapsed = (System.nanoTime() - measureStart) / 1e9;
+            EndpointReport sofar = stats.total(elapsed);
+            out.printf("  %5.0fs  요청 %d  %.1f/s  p99 %.1fms  오류 %d%n",
+                elapsed, sofar.requests(), sofar.throughput(), sofar.p99(), sofar.errors());
+        }
+        // 측정 끝 시점에 집계 - 진행 중인 요청은 기다리되 집계에는 넣지 않는다
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+        Measured measured = new Measured(seconds, stats.snapshot(seconds), stats.total(seconds),
+            scenario.executedCounts(), scenarioErrors.sum());
+        running.set(false);
+        for (Thread user : users) {
+            if (!user.join(options.timeout().plusSeconds(1))) {
+                user.interrupt();
+            }
+        }
+        return measured;
+    }
+
+    // 사용자 한 명: 작업 → 생각시간 반복
+    private static void user(OrderToCashScenario scenario, SplittableRandom random, long startAt, long thinkMillis,
+                             AtomicBoolean running, LongAdder scenarioErrors) {
+        try {
+            long delay = startAt - System.nanoTime();
+            if (delay > 0) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+            while (running.get()) {
+                Operation op = scenario.next(random);
+                try {
+                    scenario.execute(op, random);
+                } catch (RuntimeException e) {
+                    // 응답 모양이 예상과 다른 경우 등 - 시나리오 쪽 오류로 세고 계속
+                    scenarioErrors.increment();
+                }
+                if (thinkMillis > 0) {
+                    Thread.sleep(Math.round(-thinkMillis * Math.log(1 - random.nextDouble())));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void print(Measured measured, PrintStream out) {
+        out.printf("%-50s %8s %9s %9s %9s %9s %9s %7s %5s %5s%n",
+            "엔드포인트", "요청", "처리량/s", "p50ms", "p99ms", "p99.9ms", "maxms", "오류", "교착", "잠금");
+        List<EndpointReport> rows = new ArrayList<>(measured.endpoints());
+        rows.add(measured.total());
+        for (EndpointReport r : rows) {
+            out.printf("%-50s %8d %9.2f %9.1f %9.1f %9.1f %9.1f %7d %5d %5d%n",
+                r.endpoint(), r.requests(), r.throughput(), r.p50(), r.p99(), r.p999(), r.max(), r.errors(),
+                r.outcomes().get(Outcome.DEADLOCK), r.outcomes().get(Outcome.LOCK_TIMEOUT));
+        }
+        out.println("실행된 작업: " + measured.executed() + ", 시나리오 오류: " + measured.scenarioErrors());
+    }
+
+    private static Map<String, Object> json(LoadOptions options, Measured measured) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("scenario", OrderToCashScenario.NAME);
+        root.put("baseUrl", options.baseUrl());
+        root.put("users", options.users());
+        root.put("thinkMillis", options.thinkMillis());
+        root.put("seed", options.seed());
+        root.put("measuredSeconds", measured.seconds());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix().forEach((op, weight) -> mix.put(op.label, weight));
+        root.put("mix", mix);
+        root.put("executed", measured.executed());
+        root.put("scenarioErrors", measured.scenarioErrors());
+        root.put("total", json(measured.total()));
+        root.put("endpoints", measured.endpoints().stream().map(LoadMain::json).toList());
+        return root;
+    }
+
+    private static Map<String, Object> json(EndpointReport r) {
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("endpoint", r.endpoint());
+        node.put("requests", r.requests());
+        node.put("throughput", r.throughput());
+        node.put("p50Ms", r.p50());
+        node.put("p99Ms", r.p99());
+        node.put("p999Ms", r.p999());
+        node.put("maxMs", r.max());
+        node.put("errors", r.errors());
+        Map<String, Long> outcomes = new LinkedHashMap<>();
+        r.outcomes().forEach((outcome, count) -> outcomes.put(outcome.name(), count));
+        node.put("outcomes", outcomes);
+        return node;
+    }
+}
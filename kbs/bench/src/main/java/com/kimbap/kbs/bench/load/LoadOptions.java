@@ -0,0 +1,114 @@
+package com.kimbap.kbs.bench.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.kimbap.kbs.bench.load.OrderToCashScenario.Operation;
+
+/**
+ * load 명령 옵션 (--이름 값 또는 --이름=값)
+ *
+ * 시간은 초, 생각시간(think)은 밀리초. mix 는 "order=30,release=15" 처럼 일부만 바꿀 수 있다.
+ */
+record LoadOptions(String baseUrl,
+                   int users,
+                   Duration warmup,
+                   Duration duration,
+                   Duration ramp,
+                   long thinkMillis,
+                   long seed,
+                   Duration timeout,
+                   Map<Operation, Integer> mix,
+                   Path fixture,
+                   Path out,
+                   String user,
+                   String password,
+                   Double maxErrorPercent) {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+        "사용법: load [옵션]",
+        "  --base-url URL      대상 서버 (기본 http://localhost:8080)",
+        "  --users N           동시 사용자 수 (기본 20)",
+        "  --warmup 초         측정 전 워밍업 (기본 10)",
+        "  --duration 초       측정 시간 (기본 60)",
+        "  --ramp 초           사용자 투입 간격 합계 (기본 10)",
+        "  --think-ms 밀리초   요청 사이 평균 생각시간, 지수분포 (기본 500)",
+        "  --seed N            사용자별 난수 시드 기준 (기본 1)",
+        "  --timeout 초        요청 시간 제한 (기본 30)",
+        "  --mix 이름=비중,..  " + String.join("/", Operation.names()),
+        "  --fixture 파일      기준정보 코드 (기본 클래스패스 load-fixture.properties)",
+        "  --out 파일          결과 JSON (기본 load-result.json)",
+        "  --user ID --password PW   로그인 후 Bearer 토큰 사용",
+        "  --max-error-pct N   오류율(%)이 넘으면 종료 코드 1");
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else if (i + 1 < args.length) {
+                values.put(arg.substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException(arg + " 의 값이 없습니다.");
+            }
+        }
+
+        LoadOptions options = new LoadOptions(
+            values.getOrDefault("base-url", "http://localhost:8080"),
+            Integer.parseInt(values.getOrDefault("users", "20")),
+            seconds(values.getOrDefault("warmup", "10")),
+            seconds(values.getOrDefault("duration", "60")),
+            seconds(values.getOrDefault("ramp", "10")),
+            Long.parseLong(values.getOrDefault("think-ms", "500")),
+            Long.parseLong(values.getOrDefault("seed", "1")),
+            seconds(values.getOrDefault("timeout", "30")),
+            mix(values.get("mix")),
+            values.containsKey("fixture") ? Path.of(values.get("fixture")) : null,
+            Path.of(values.getOrDefault("out", "load-result.json")),
+            values.get("user"),
+            values.get("password"),
+            values.containsKey("max-error-pct") ? Double.valueOf(values.get("max-error-pct")) : null);
+        if (options.users < 1 || options.duration.isZero() || options.thinkMillis < 0) {
+            throw new IllegalArgumentException("users 는 1 이상, duration 은 0 보다 커야 합니다.");
+        }
+        return options;
+    }
+
+    private static Duration seconds(String value) {
+        return Duration.ofMillis(Math.round(Double.parseDouble(value) * 1000));
+    }
+
+    // 기본 비중에 지정한 것만 덮어쓴다
+    private static Map<Operation, Integer> mix(String text) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation op : Operation.values()) {
+            mix.put(op, op.weight);
+        }
+        if (text == null || text.isBlank()) {
+            return mix;
+        }
+        for (String entry : text.split(",")) {
+            String[] kv = entry.split("=", 2);
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("mix 형식 오류: " + entry);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("mix 비중은 0 이상: " + entry);
+            }
+            mix.put(Operation.of(kv[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("mix 비중 합이 0 입니다.");
+        }
+        return mix;
+    }
+}
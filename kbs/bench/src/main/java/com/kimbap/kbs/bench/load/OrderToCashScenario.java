@@ -0,0 +1,467 @@
+package com.kimbap.kbs.bench.load;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kimbap.kbs.bench.load.ApiClient.Response;
+import com.kimbap.kbs.bench.load.Fixture.Item;
+import com.kimbap.kbs.distribution.service.ReleaseMasterOrdVO;
+import com.kimbap.kbs.distribution.service.ReleaseOrdVO;
+import com.kimbap.kbs.distribution.service.ReleaseRequestVO;
+import com.kimbap.kbs.distribution.web.DistributionController.ReleaseOrderRequest;
+import com.kimbap.kbs.materials.service.MateLoadingVO;
+import com.kimbap.kbs.materials.service.MaterialsVO;
+import com.kimbap.kbs.order.service.OrderDetailVO;
+import com.kimbap.kbs.order.service.OrderVO;
+import com.kimbap.kbs.order.service.ReturnItemVO;
+import com.kimbap.kbs.order.service.ReturnRequestVO;
+import com.kimbap.kbs.payment.service.CashflowVO;
+import com.kimbap.kbs.production.service.ProdRequestDetailVO;
+import com.kimbap.kbs.production.service.ProdRequestFullVO;
+import com.kimbap.kbs.production.service.ProdRequestVO;
+
+/**
+ * 하루 주문 → 출고 → 반품/입금 흐름 (order-to-cash) 부하 시나리오
+ *
+ * - 사용자는 비중(mix)대로 작업을 골라 실제 화면과 같은 순서로 API 를 부른다 (조회 → 저장).
+ * - 앞 작업의 결과를 큐로 넘긴다: 주문 → 출고지시, 출고처리 → 반품, 자재입고 → 적재. 큐가 비면 앞 작업을 대신 한다.
+ * - 출고처리는 서버의 출고대기 목록에서 고르므로 여러 사용자가 같은 지시서/LOT 를 동시에 잡을 수 있다 - 잠금 경합 측정 대상.
+ */
+final class OrderToCashScenario {
+
+    static final String NAME = "order-to-cash";
+
+    /** 제품 1박스 = 40개 (kbs.release.default-units-per-pack) - LOT 재고(개)를 박스로 바꿀 때 */
+    static final int UNITS_PER_BOX = 40;
+
+    private static final int QUEUE_LIMIT = 1_000;
+    private static final int TRACKED_LINES_LIMIT = 10_000;
+    private static final int LOADING_BATCH = 5;
+    private static final BigDecimal UNIT_PRICE = BigDecimal.valueOf(10_000);
+
+    /** 작업 종류 + 기본 비중(%) */
+    enum Operation {
+        ORDER("order", 30),
+        RELEASE_ORDER("releaseOrder", 15),
+        RELEASE("release", 15),
+        INBOUND("inbound", 10),
+        LOADING("loading", 8),
+        PROD_REQUEST("prodRequest", 8),
+        RETURN("return", 5),
+        PAYMENT("payment", 9);
+
+        final String label;
+        final int weight;
+
+        Operation(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+
+        static Operation of(String label) {
+            for (Operation op : values()) {
+                if (op.label.equals(label)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("알 수 없는 작업: " + label + " (" + String.join("/", names()) + ")");
+        }
+
+        static List<String> names() {
+            return Arrays.stream(values()).map(op -> op.label).toList();
+        }
+    }
+
+    /** 등록한 주문 (출고지시 대기) */
+    record PlacedOrder(String ordCd, String cpCd, List<OrderLine> lines) {
+    }
+
+    record OrderLine(String ordDCd, String pcode, String prodVerCd, int qty) {
+    }
+
+    /** 출고된 주문상세 + LOT (반품 대상) */
+    record Shipped(String ordCd, OrderLine line, String lotNo) {
+    }
+
+    private final ApiClient api;
+    private final Fixture fixture;
+    private final String runTag;
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final Map<Operation, LongAdder> executed = new EnumMap<>(Operation.class);
+    private final BlockingQueue<PlacedOrder> placedOrders = new LinkedBlockingQueue<>(QUEUE_LIMIT);
+    private final BlockingQueue<MateLoadingVO> pendingLoadings = new LinkedBlockingQueue<>(QUEUE_LIMIT);
+    private final BlockingQueue<Shipped> shipped = new LinkedBlockingQueue<>(QUEUE_LIMIT);
+    private final Map<String, PlacedOrder> ordersByOrdDCd = new ConcurrentHashMap<>();
+    private final AtomicLong inboundSeq = new AtomicLong();
+
+    OrderToCashScenario(ApiClient api, Fixture fixture, Map<Operation, Integer> mix, String runTag) {
+        this.api = api;
+        this.fixture = fixture;
+        this.runTag = runTag;
+        List<Operation> ops = new ArrayList<>();
+        List<Integer> bounds = new ArrayList<>();
+        int sum = 0;
+        for (Map.Entry<Operation, Integer> e : mix.entrySet()) {
+            if (e.getValue() > 0) {
+                sum += e.getValue();
+                ops.add(e.getKey());
+                bounds.add(sum);
+            }
+        }
+        this.operations = ops.toArray(Operation[]::new);
+        this.cumulative = bounds.stream().mapToInt(Integer::intValue).toArray();
+        for (Operation op : Operation.values()) {
+            executed.put(op, new LongAdder());
+        }
+    }
+
+    /** 비중대로 작업 하나 고르기 */
+    Operation next(SplittableRandom random) {
+        int r = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /** 작업 실행 - 선행 결과가 없으면 선행 작업을 대신 실행한다 */
+    void execute(Operation op, SplittableRandom random) throws InterruptedException {
+        switch (op) {
+            case ORDER -> order(random);
+            case RELEASE_ORDER -> releaseOrder(random);
+            case RELEASE -> release(random);
+            case INBOUND -> inbound(random);
+            case LOADING -> loading(random);
+            case PROD_REQUEST -> prodRequest(random);
+            case RETURN -> returnItem(random);
+            case PAYMENT -> payment(random);
+        }
+    }
+
+    /** 실제 실행된 작업 수 (대체 실행 포함) */
+    Map<String, Long> executedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        executed.forEach((op, count) -> counts.put(op.label, count.sum()));
+        return counts;
+    }
+
+    void resetCounts() {
+        executed.values().forEach(LongAdder::reset);
+    }
+
+    // ===== 주문 등록 =====
+    private void order(SplittableRandom random) throws InterruptedException {
+        executed.get(Operation.ORDER).increment();
+        List<OrderDetailVO> details = new ArrayList<>();
+        for (Item product : distinct(fixture.products(), 1 + random.nextInt(3), random)) {
+            details.add(OrderDetailVO.builder()
+                .pcode(product.code())
+                .prodVerCd(product.verCd())
+                .ordQty(1 + random.nextInt(3))
+                .unitPrice(UNIT_PRICE)
+                .build());
+        }
+        String cpCd = pick(fixture.customers(), random);
+        OrderVO order = OrderVO.builder()
+            .cpCd(cpCd)
+            .ordDt(new Date())
+            .deliReqDt(daysLater(3))
+            .deliAdd("부하테스트 배송지")
+            .regi(fixture.manager())
+            .note(note())
+            .orderDetails(details)
+            .build();
+        Response response = api.post("/api/order/register", order);
+        if (!response.ok()) {
+            return;
+        }
+        JsonNode data = response.body().path("data");
+        List<OrderLine> lines = new ArrayList<>();
+        for (JsonNode d : data.path("orderDetails")) {
+            lines.add(new OrderLine(d.path("ordDCd").asText(), d.path("pcode").asText(),
+                d.path("prodVerCd").asText(null), d.path("ordQty").asInt()));
+        }
+        PlacedOrder placed = new PlacedOrder(data.path("ordCd").asText(), cpCd, lines);
+        if (placed.ordCd().isEmpty() || lines.isEmpty()) {
+            return;
+        }
+        if (placedOrders.offer(placed) && ordersByOrdDCd.size() < TRACKED_LINES_LIMIT) {
+            lines.forEach(line -> ordersByOrdDCd.put(line.ordDCd(), placed));
+        }
+    }
+
+    // ===== 출고지시서 등록 =====
+    private void releaseOrder(SplittableRandom random) throws InterruptedException {
+        PlacedOrder placed = placedOrders.poll();
+        if (placed == null) {
+            order(random);
+            return;
+        }
+        executed.get(Operation.RELEASE_ORDER).increment();
+        Response warehouses = api.get("/api/distribution/warehouseList", "/api/distribution/warehouseList",
+            Map.of("ordCd", placed.ordCd()));
+        JsonNode warehouse = warehouses.body().path(0);
+        String wcode = warehouse.path("wcode").asText(fixture.warehouse().code());
+        String wareVerCd = warehouse.path("wareVerCd").asText(fixture.warehouse().verCd());
+
+        ReleaseOrderRequest request = new ReleaseOrderRequest();
+        request.setMaster(ReleaseMasterOrdVO.builder()
+            .ordCd(placed.ordCd())
+            .cpCd(placed.cpCd())
+            .regi(fixture.manager())
+            .mname(fixture.manager())
+            .relDt(java.sql.Date.valueOf(LocalDate.now()))
+            .deliReqDt(java.sql.Date.valueOf(LocalDate.now().plusDays(3)))
+            .deliAdd("부하테스트 배송지")
+            .note(note())
+            .build());
+        List<ReleaseOrdVO> detailList = new ArrayList<>();
+        for (OrderLine line : placed.lines()) {
+            detailList.add(ReleaseOrdVO.builder()
+                .wcode(wcode)
+                .wareVerCd(wareVerCd)
+                .ordDCd(line.ordDCd())
+                .relQty(line.qty())
+                .build());
+        }
+        request.setDetailList(detailList);
+        api.post("/api/distribution/insertReleaseOrders", request);
+    }
+
+    // ===== 출고처리 (출고대기 지시서 → LOT FIFO 배분) =====
+    private void release(SplittableRandom random) throws InterruptedException {
+        Response waiting = api.get("/api/distribution/waiting", "/api/distribution/waiting", Map.of());
+        if (!waiting.ok() || waiting.body().size() == 0) {
+            releaseOrder(random);
+            return;
+        }
+        executed.get(Operation.RELEASE).increment();
+        String relMasCd = waiting.body().path(random.nextInt(waiting.body().size())).path("relMasCd").asText();
+        Response details = api.get("/api/distribution/details/{relMasCd}",
+            "/api/distribution/details/" + relMasCd, Map.of());
+        if (!details.ok()) {
+            return;
+        }
+
+        Map<String, JsonNode> lotsByPcode = new HashMap<>();
+        Map<String, Integer> usedBoxes = new HashMap<>();
+        List<ReleaseRequestVO.ItemVO> items = new ArrayList<>();
+        String cpCd = null;
+        for (JsonNode detail : details.body()) {
+            String pcode = detail.path("pcode").asText();
+            int need = detail.path("relOrdQty").asInt();
+            if (need <= 0) {
+                continue;
+            }
+            cpCd = cpCd != null ? cpCd : detail.path("cpCd").asText(null);
+            JsonNode lots = lotsByPcode.get(pcode);
+            if (lots == null) {
+                lots = api.get("/api/distribution/lots", "/api/distribution/lots", Map.of("pcode", pcode)).body();
+                lotsByPcode.put(pcode, lots);
+            }
+            List<ReleaseRequestVO.LotVO> allocations = new ArrayList<>();
+            int allocated = 0;
+            for (JsonNode lot : lots) {
+                if (allocated == need) {
+                    break;
+                }
+                String key = lot.path("lotNo").asText() + "|" + lot.path("wareAreaCd").asText();
+                int available = lot.path("qty").asInt() / UNITS_PER_BOX - usedBoxes.getOrDefault(key, 0);
+                int take = Math.min(need - allocated, available);
+                if (take <= 0) {
+                    continue;
+                }
+                ReleaseRequestVO.LotVO alloc = new ReleaseRequestVO.LotVO();
+                alloc.setLotNo(lot.path("lotNo").asText());
+                alloc.setWareAreaCd(lot.path("wareAreaCd").asText());
+                alloc.setAllocQty(take);
+                allocations.add(alloc);
+                usedBoxes.merge(key, take, Integer::sum);
+                allocated += take;
+            }
+            if (allocations.isEmpty()) {
+                continue;
+            }
+            ReleaseRequestVO.ItemVO item = new ReleaseRequestVO.ItemVO();
+            item.setRelOrdCd(detail.path("relOrdCd").asText());
+            item.setOrd_d_cd(detail.path("ordDCd").asText());
+            item.setPcode(pcode);
+            item.setQty(allocated);
+            item.setLots(allocations);
+            items.add(item);
+        }
+        if (items.isEmpty()) {
+            return; // 제품 재고 소진 - 출고할 것이 없다
+        }
+
+        ReleaseRequestVO request = new ReleaseRequestVO();
+        request.setRelMasCd(relMasCd);
+        request.setCpCd(cpCd);
+        request.setMemo(note());
+        request.setItems(items);
+        if (!api.post("/api/distribution/release", request).ok()) {
+            return;
+        }
+        for (ReleaseRequestVO.ItemVO item : items) {
+            PlacedOrder placed = ordersByOrdDCd.remove(item.getOrd_d_cd());
+            if (placed == null) {
+                continue; // 이번 실행에서 등록한 주문이 아니면 반품 대상에서 뺀다
+            }
+            placed.lines().stream()
+                .filter(line -> line.ordDCd().equals(item.getOrd_d_cd()))
+                .findFirst()
+                .ifPresent(line -> shipped.offer(new Shipped(placed.ordCd(), line, item.getLots().get(0).getLotNo())));
+        }
+    }
+
+    // ===== 자재입고 (적재대기 c5) =====
+    private void inbound(SplittableRandom random) throws InterruptedException {
+        executed.get(Operation.INBOUND).increment();
+        Item material = pick(fixture.materials(), random);
+        MaterialsVO inbound = MaterialsVO.builder()
+            .mateInboCd(String.format("MATI-L%s-%05d", runTag, inboundSeq.incrementAndGet()))
+            .mcode(material.code())
+            .mateVerCd(material.verCd())
+            .wcode(fixture.warehouse().code())
+            .wareVerCd(fixture.warehouse().verCd())
+            .fcode(fixture.factory().code())
+            .facVerCd(fixture.factory().verCd())
+            .cpCd(fixture.supplier())
+            .inboDt(new Date())
+            .deliDt(new Date())
+            .inboStatus("c5")
+            .totalQty(50 + random.nextInt(151))
+            .mname(fixture.manager())
+            .note(note())
+            .build();
+        if (!api.post("/api/materials/inbound", inbound).ok()) {
+            return;
+        }
+        pendingLoadings.offer(MateLoadingVO.builder()
+            .mateInboCd(inbound.getMateInboCd())
+            .mcode(inbound.getMcode())
+            .mateVerCd(inbound.getMateVerCd())
+            .qty(BigDecimal.valueOf(inbound.getTotalQty()))
+            .wcode(inbound.getWcode())
+            .wareVerCd(inbound.getWareVerCd())
+            .fcode(inbound.getFcode())
+            .facVerCd(inbound.getFacVerCd())
+            .regi(fixture.manager())
+            .build());
+    }
+
+    // ===== 자재적재 (대기건 최대 5건 묶음, 구역 자동 배정) =====
+    private void loading(SplittableRandom random) throws InterruptedException {
+        List<MateLoadingVO> batch = new ArrayList<>(LOADING_BATCH);
+        pendingLoadings.drainTo(batch, LOADING_BATCH);
+        if (batch.isEmpty()) {
+            inbound(random);
+            return;
+        }
+        executed.get(Operation.LOADING).increment();
+        api.post("/api/materials/mateLoading/processBatch", batch);
+    }
+
+    // ===== 생산요청 저장 (자재 LOT 출고 + 제품입고) =====
+    private void prodRequest(SplittableRandom random) throws InterruptedException {
+        executed.get(Operation.PROD_REQUEST).increment();
+        List<ProdRequestDetailVO> details = new ArrayList<>();
+        int seq = 1;
+        for (Item product : distinct(fixture.products(), 1 + random.nextInt(2), random)) {
+            details.add(ProdRequestDetailVO.builder()
+                .pcode(product.code())
+                .prodVerCd(product.verCd())
+                .reqQty(10 + random.nextInt(41))
+                .seq(seq++)
+                .exProduDt(new Date())
+                .build());
+        }
+        ProdRequestVO request = ProdRequestVO.builder()
+            .reqDt(new Date())
+            .deliDt(daysLater(3))
+            .requ(fixture.manager())
+            .fcode(fixture.factory().code())
+            .facVerCd(fixture.factory().verCd())
+            .note(note())
+            .build();
+        api.post("/api/prod/request/requestSave", new ProdRequestFullVO(request, details));
+    }
+
+    // ===== 반품 등록 =====
+    private void returnItem(SplittableRandom random) throws InterruptedException {
+        Shipped target = shipped.poll();
+        if (target == null) {
+            release(random);
+            return;
+        }
+        executed.get(Operation.RETURN).increment();
+        ReturnItemVO item = ReturnItemVO.builder()
+            .ordDCd(target.line().ordDCd())
+            .pcode(target.line().pcode())
+            .prodVerCd(target.line().prodVerCd())
+            .lotNo(target.lotNo())
+            .returnQty(1)
+            .unitPrice(UNIT_PRICE)
+            .returnRea("부하테스트 반품")
+            .build();
+        api.post("/api/return/register", new ReturnRequestVO(target.ordCd(), List.of(item)));
+    }
+
+    // ===== 입금 등록 =====
+    private void payment(SplittableRandom random) throws InterruptedException {
+        executed.get(Operation.PAYMENT).increment();
+        CashflowVO cashflow = CashflowVO.builder()
+            .transType("u1")
+            .depo(pick(fixture.depositors(), random))
+            .depositAmount(1_000 * (10 + random.nextInt(491)))
+            .bankName("부하테스트은행")
+            .regi(fixture.manager())
+            .note(note())
+            .build();
+        api.post("/api/pay/insert", cashflow);
+    }
+
+    private String note() {
+        return "loadtest " + runTag;
+    }
+
+    private static Date daysLater(int days) {
+        return Date.from(Instant.now().plus(days, ChronoUnit.DAYS));
+    }
+
+    private static <T> T pick(List<T> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    // 겹치지 않게 n 개 (목록보다 많으면 전부)
+    private static <T> List<T> distinct(List<T> values, int n, SplittableRandom random) {
+        List<T> shuffled = new ArrayList<>(values);
+        for (int i = shuffled.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T tmp = shuffled.get(i);
+            shuffled.set(i, shuffled.get(j));
+            shuffled.set(j, tmp);
+        }
+        return shuffled.subList(0, Math.min(n, shuffled.size()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.common.service.KeyFormats;
+
+/**
+ * 업무코드 발번 비교 (업무 스레드 64개 동시 처리, 결과는 keys/sec)
+ *
+ * - legacyMaxForUpdate : 기존 SELECT MAX(code)+1 방식.
+ *   중복을 막으려면 대상 코드 전체를 잠근 채 스캔/파싱해 MAX+1 을 구하고 INSERT 까지 잠금 유지.
+ * - blockAllocator     : KeyGeneratorServiceImpl. 블록 소진 시에만 key_seq 한 행 갱신.
+ *
+ * DB 왕복은 roundTripMicros 만큼의 대기로 흉내 낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class KeyGeneratorBenchmark {
+
+    @Param({"200"})
+    long roundTripMicros;
+
+    @Param({"20"})
+    int blockSize;
+
+    private KeyGeneratorServiceImpl service;
+
+    private final ReentrantLock forUpdateLock = new ReentrantLock();
+    private final List<String> todayLots = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        service = new KeyGeneratorServiceImpl(new InMemoryKeySequenceMapper(roundTripMicros),
+            InMemoryKeySequenceMapper.noOpTransactionManager(), blockSize);
+        todayLots.clear();
+    }
+
+    @Benchmark
+    public String legacyMaxForUpdate() {
+        forUpdateLock.lock();
+        try {
+            roundTrip();
+            int max = 0;
+            for (String lotNo : todayLots) {
+                String seq = lotNo.substring(lotNo.length() - 3);
+                if (seq.matches("^[0-9]{3}$")) {
+                    max = Math.max(max, Integer.parseInt(seq));
+                }
+            }
+            String lotNo = String.format("LOT-%s-%s-%03d", "100", "20250530", max + 1);
+            roundTrip();
+            todayLots.add(lotNo);
+            return lotNo;
+        } finally {
+            forUpdateLock.unlock();
+        }
+    }
+
+    @Benchmark
+    public String blockAllocator() {
+        return service.nextKey(KeyFormats.mateLot("100"));
+    }
+
+    private void roundTrip() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+}
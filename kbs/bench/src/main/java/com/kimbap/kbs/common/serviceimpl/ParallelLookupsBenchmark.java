@@ -0,0 +1,90 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.common.serviceimpl.ParallelLookups.Lookup;
+
+/**
+ * 독립 조회 N개 응답시간 분포 (결과는 p50/p99)
+ *
+ * - sequential : 기존처럼 한 줄씩 (주문 헤더 → 상세)
+ * - parallel   : ParallelLookups 로 동시에 (2개는 both). 허가 5개 = 기본 풀(10)의 절반,
+ *                풀에 빈 커넥션이 없으면 순차로
+ *
+ * 조회 1건은 커넥션 풀(10개)에서 커넥션을 잡고 1~3ms 대기(DB 왕복)로 흉내 낸다.
+ * 동시 요청 수는 -t 로 바꿔 본다 (기본 4, 포화 상태는 -t 16).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class ParallelLookupsBenchmark {
+
+    @Param({"2", "4"})
+    int lookups;
+
+    private ParallelLookups parallelLookups;
+
+    // 커넥션 풀 (기본 10개) - 두 방식 모두 조회마다 커넥션 하나를 잡는다
+    private final Semaphore pool = new Semaphore(10, true);
+
+    @Setup
+    public void setUp() {
+        parallelLookups = new ParallelLookups(5, () -> pool.availablePermits() == 0 || pool.hasQueuedThreads());
+    }
+
+    private int roundTrip() {
+        pool.acquireUninterruptibly();
+        try {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(1_000_000, 3_000_000));
+            return 1;
+        } finally {
+            pool.release();
+        }
+    }
+
+    @Benchmark
+    public int sequential() {
+        int rows = 0;
+        for (int i = 0; i < lookups; i++) {
+            rows += roundTrip();
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public int parallel() {
+        if (lookups == 2) {
+            return parallelLookups.both(this::roundTrip, this::roundTrip, Integer::sum);
+        }
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            List<Lookup<Integer>> results = new ArrayList<>(lookups);
+            for (int i = 0; i < lookups; i++) {
+                results.add(scope.fork(this::roundTrip));
+            }
+            scope.join();
+            return results.stream().mapToInt(Lookup::get).sum();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.kimbap.kbs.common.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.common.service.PutAwayLine;
+
+/**
+ * 일괄 적재 계획 시간 (입고 500건, 공장 2곳 x 창고 2개 x 10행 10열 5층, 구역 절반에 기존 재고)
+ *
+ * 라인의 1/5 은 구역 지정, 나머지는 자동 배정. 적재 현황 인덱스는 미리 올려 두므로 DB 조회는 없다.
+ * 목표는 계획 1회 50ms 미만.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class PutAwayBenchmark {
+
+    private static final int LINES = 500;
+    private static final int ITEMS = 80;
+    private static final String[] ROWS = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J"};
+
+    private PutAwayPlanner planner;
+    private List<PutAwayLine> lines;
+
+    @Setup
+    public void setUp() {
+        InMemoryWareStockMapper db = new InMemoryWareStockMapper()
+            .warehouse("WARE-001", "FAC-1", ROWS, 10, 5, 200)
+            .warehouse("WARE-002", "FAC-1", ROWS, 10, 5, 200)
+            .warehouse("WARE-003", "FAC-2", ROWS, 10, 5, 200)
+            .warehouse("WARE-004", "FAC-2", ROWS, 10, 5, 200);
+        Random random = new Random(7);
+        for (int i = 0; i < db.areas.size(); i += 2) {
+            db.stock(db.areas.get(i).getWareAreaCd(), "MAT-" + random.nextInt(ITEMS), 20 + random.nextInt(100));
+        }
+        WarehouseOccupancyServiceImpl occupancy = new WarehouseOccupancyServiceImpl(db);
+        planner = new PutAwayPlanner(occupancy);
+
+        lines = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            String fcode = i % 2 == 0 ? "FAC-1" : "FAC-2";
+            if (i % 5 == 0) {
+                // 구역 지정 라인 - 아직 빈 구역 (기존 재고는 짝수 번째 구역에만 있다)
+                String areaCd = db.areas.get(i * 4 + 1).getWareAreaCd();
+                lines.add(new PutAwayLine("MAT-" + random.nextInt(ITEMS), 50, areaCd, fcode));
+            } else {
+                lines.add(new PutAwayLine("MAT-" + random.nextInt(ITEMS), 30 + random.nextInt(150), null, fcode));
+            }
+        }
+        planner.plan(lines); // 인덱스 적재
+    }
+
+    @Benchmark
+    public int plan() {
+        return planner.plan(lines).size();
+    }
+}
@@ -0,0 +1,107 @@
+package com.kimbap.kbs.common.util;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.materials.service.MaterialsVO;
+
+/**
+ * 재고 현황 100만 행 파일 내보내기 (힙 256MB 로 실행)
+ *
+ * - xlsx : XlsxTableWriter (시트 XML 을 zip 엔트리에 바로 쓴다)
+ * - csv  : CsvTableWriter (gzip)
+ *
+ * 행은 ResultHandler 처럼 하나씩 만들어 넘긴다. 출력은 버리고, iteration 마다 출력 크기와 힙 사용량 최댓값을 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class ExportBenchmark {
+
+    private static final List<ExportColumn<MaterialsVO>> COLUMNS = List.of(
+        ExportColumn.of("자재코드", MaterialsVO::getMaterialCode),
+        ExportColumn.of("자재명", MaterialsVO::getMaterialName),
+        ExportColumn.of("자재유형", MaterialsVO::getMaterialTypeText),
+        ExportColumn.of("공장", MaterialsVO::getFactoryName),
+        ExportColumn.of("총재고", MaterialsVO::getTotalQuantity),
+        ExportColumn.of("단위", MaterialsVO::getUnitText),
+        ExportColumn.of("안전재고", MaterialsVO::getSafeStock),
+        ExportColumn.of("안전재고 대비(%)", MaterialsVO::getStockPercentage),
+        ExportColumn.of("재고상태", MaterialsVO::getStockStatus),
+        ExportColumn.of("최근 입고일", MaterialsVO::getLastInboundDate));
+
+    @Param({"1000000"})
+    int rows;
+
+    private ExportUtil exportUtil;
+    private JsonStreamBenchmark.FirstByteOutputStream out;
+    private JsonStreamBenchmark.HeapSampler heap;
+
+    @Setup
+    public void setUp() {
+        exportUtil = new ExportUtil();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        System.gc();
+        out = new JsonStreamBenchmark.FirstByteOutputStream();
+        heap = new JsonStreamBenchmark.HeapSampler();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() throws InterruptedException {
+        long peak = heap.stop();
+        System.out.printf("%n  %d MB written, peak heap %d MB%n", out.count >> 20, peak >> 20);
+    }
+
+    @Benchmark
+    public long xlsx() throws Exception {
+        exportUtil.export("재고현황", ExportFormat.XLSX, COLUMNS, this::source).getBody().writeTo(out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long csv() throws Exception {
+        exportUtil.export("재고현황", ExportFormat.CSV, COLUMNS, this::source).getBody().writeTo(out);
+        return out.count;
+    }
+
+    // ResultHandler 처럼 행을 하나씩 넘긴다
+    private void source(Consumer<MaterialsVO> consumer) {
+        long base = 1_750_000_000_000L;
+        for (int i = 0; i < rows; i++) {
+            MaterialsVO item = new MaterialsVO();
+            item.setMaterialCode("M-" + i);
+            item.setMaterialName("자재" + (i % 500));
+            item.setMaterialTypeText(i % 2 == 0 ? "원자재" : "부자재");
+            item.setFactoryName("공장" + (i % 3));
+            item.setTotalQuantity(i % 1000);
+            item.setUnitText("kg");
+            item.setSafeStock(500);
+            item.setStockPercentage((i % 1000) / 5.0);
+            item.setStockStatus(i % 1000 < 500 ? "shortage" : "normal");
+            item.setLastInboundDate(new Date(base - i * 60_000L));
+            consumer.accept(item);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.kimbap.kbs.common.util;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kimbap.kbs.materials.service.MaterialsVO;
+
+/**
+ * 자재입고 목록 100만 행 JSON 응답 비교
+ *
+ * - materialize : 기존 방식. List 로 전부 읽은 뒤 ObjectMapper.writeValue.
+ * - streaming   : ResultHandler + JsonStreamUtil. 한 행씩 읽어서 바로 쓴다.
+ *
+ * 행은 ResultHandler 처럼 하나씩 만들어 넘긴다 (DB 읽기 비용은 빼고 응답 쪽만 비교).
+ * 출력은 버리고, 첫 바이트까지 걸린 시간과 호출 중 힙 사용량 최댓값을 iteration 마다 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class JsonStreamBenchmark {
+
+    @Param({"1000000"})
+    int rows;
+
+    private ObjectMapper objectMapper;
+    private JsonStreamUtil jsonStreamUtil;
+    private FirstByteOutputStream out;
+    private HeapSampler heap;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        jsonStreamUtil = new JsonStreamUtil(objectMapper);
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        System.gc();
+        out = new FirstByteOutputStream();
+        heap = new HeapSampler();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() throws InterruptedException {
+        long peak = heap.stop();
+        System.out.printf("%n  first byte %d ms, peak heap %d MB%n",
+            TimeUnit.NANOSECONDS.toMillis(out.firstByteNanos - out.startNanos), peak >> 20);
+    }
+
+    @Benchmark
+    public long materialize() throws Exception {
+        List<MaterialsVO> list = new ArrayList<>();
+        source(list::add);
+        objectMapper.writeValue(out, list);
+        return out.count;
+    }
+
+    @Benchmark
+    public long streaming() throws Exception {
+        jsonStreamUtil.<MaterialsVO>array(this::source).getBody().writeTo(out);
+        return out.count;
+    }
+
+    // ResultHandler 처럼 행을 하나씩 넘긴다
+    private void source(Consumer<MaterialsVO> consumer) {
+        long base = 1_750_000_000_000L;
+        for (int i = 0; i < rows; i++) {
+            consumer.accept(MaterialsVO.builder()
+                .mateInboCd("MI-" + i)
+                .mcode("M-" + (i % 500))
+                .mateName("자재" + (i % 500))
+                .lotNo("LOT-" + i)
+                .inboDt(new Date(base - i * 60_000L))
+                .totalQty(i % 1000)
+                .supplierName("공급사" + (i % 50))
+                .wareName("창고" + (i % 5))
+                .build());
+        }
+    }
+
+    // 버리는 출력 (첫 쓰기 시각 기록)
+    static final class FirstByteOutputStream extends OutputStream {
+        final long startNanos = System.nanoTime();
+        long firstByteNanos;
+        long count;
+
+        @Override
+        public void write(int b) {
+            mark(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            mark(len);
+        }
+
+        private void mark(int len) {
+            if (count == 0) {
+                firstByteNanos = System.nanoTime();
+            }
+            count += len;
+        }
+    }
+
+    // 호출 중 사용 힙 최댓값 (10ms 간격 샘플)
+    static final class HeapSampler {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile long peak;
+
+        HeapSampler() {
+            thread = Thread.ofPlatform().daemon().start(() -> {
+                while (running) {
+                    peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        long stop() throws InterruptedException {
+            running = false;
+            thread.join();
+            return peak;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.kimbap.kbs.distribution.serviceimpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.distribution.service.ReleaseRequestVO;
+
+/**
+ * 출고처리 지연 비교 (출고 라인 50건 x LOT 2개, LOT/구역당 재고 행 2개)
+ *
+ * - legacyPerRow : 기존 insertRelease. 라인마다 단가 2회/버전 1회 조회, LOT 마다 잠금/코드 발번/INSERT,
+ *                  재고 행마다 UPDATE, 라인마다 수량/누적출고/주문코드 조회, 주문마다 잔여 확인/상태 UPDATE.
+ * - engine       : ReleaseEngine. 조회 2회 + 잠금 1회 + MERGE 1회 + INSERT ALL 1회 + 집계 1회 + 상태 UPDATE.
+ *
+ * 재고는 호출마다 새로 채운다. DB 왕복은 roundTripMicros 만큼의 대기로 흉내 낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class ReleaseBenchmark {
+
+    private static final int LINES = 50;
+    private static final int ORDERS = 5;
+
+    @Param({"200"})
+    long roundTripMicros;
+
+    private ReleaseFixture db;
+    private ReleaseRequestVO request;
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        db = new ReleaseFixture(roundTripMicros);
+        List<ReleaseRequestVO.ItemVO> items = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            String pcode = "P-" + i;
+            db.product(pcode, "l1")
+                .lot(pcode, "LOT-" + i + "-A", "A-1", 2, 100)
+                .lot(pcode, "LOT-" + i + "-B", "A-2", 2, 100)
+                .line("RM-1", "ORD-" + (i % ORDERS), "OD-" + i, 6, 1_000);
+            items.add(ReleaseFixture.item("OD-" + i, pcode, "LOT-" + i + "-A", "A-1", 3, "LOT-" + i + "-B", "A-2", 3));
+        }
+        request = ReleaseFixture.request("RM-1", items);
+    }
+
+    @Benchmark
+    public int legacyPerRow() {
+        return db.inTransaction(() -> {
+            int rels = 0;
+            for (ReleaseRequestVO.ItemVO item : request.getItems()) {
+                db.statement(); // selectUnitPriceByOrdDCd(relOrdCd)
+                db.statement(); // selectUnitPriceByOrdDCd(ord_d_cd)
+                db.statement(); // selectLatestProdVerCd
+                for (ReleaseRequestVO.LotVO lot : item.getLots()) {
+                    int remain = lot.getAllocQty() * 40;
+                    List<ReleaseFixture.Row> rows = db.lockLot(lot.getLotNo(), lot.getWareAreaCd());
+                    db.statement(); // nextProdRelCd
+                    db.statement(); // insertProdRel
+                    for (ReleaseFixture.Row row : rows) {
+                        if (remain <= 0) {
+                            break;
+                        }
+                        int dec = Math.min(row.qty, remain);
+                        db.decrease(row, dec);
+                        remain -= dec;
+                    }
+                    rels++;
+                }
+                db.statement(); // selectOrderQtyByOrdDCd
+                db.statement(); // sumReleasedQtyByOrdDCd
+                db.statement(); // updateOrderDetailStatusToT3
+                db.statement(); // selectOrdCdByOrdDCd
+            }
+            db.statement(); // selectTotalRequestQtyByRelMasCd
+            db.statement(); // selectTotalReleasedQtyAllByRelMasCd
+            db.statement(); // updateRelOrderStatus
+            for (int o = 0; o < ORDERS; o++) {
+                db.statement(); // countRemainingQtyByOrdCd
+                db.statement(); // updateCustomerOrderStatus
+            }
+            return rels;
+        });
+    }
+
+    @Benchmark
+    public int engine() {
+        ReleaseEngine engine = new ReleaseEngine(db.mapper(), ReleaseFixture.keys(), "l1=40", 40);
+        return db.inTransaction(() -> engine.release(request).rels().size());
+    }
+}
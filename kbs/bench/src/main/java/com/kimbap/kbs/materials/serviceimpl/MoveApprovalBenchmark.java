@@ -0,0 +1,50 @@
+package com.kimbap.kbs.materials.serviceimpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 이동요청 1,000건 (건당 상세 10줄) 일괄 승인 시간
+ *
+ * 매퍼는 메모리 구현이라 DB 왕복은 빠지고 조회/검증/묶음 구성 비용만 잰다.
+ * 문장 수는 MoveApprovalPipelineTests 에서 확인 (89개, 건별 승인이면 요청당 상세 x 5개 이상).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class MoveApprovalBenchmark {
+
+    private static final int REQUESTS = 1_000;
+    private static final int LINES = 10;
+
+    private InMemoryMoveApprovalMapper db;
+    private MoveApprovalPipeline pipeline;
+    private List<String> codes;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        db = new InMemoryMoveApprovalMapper();
+        codes = db.seed(REQUESTS, LINES);
+        pipeline = new MoveApprovalPipeline(db, db.keys(), db.ledger());
+    }
+
+    @Benchmark
+    public int approve() {
+        return pipeline.approve(codes, "EMP-1", null).approved().size();
+    }
+}
@@ -0,0 +1,146 @@
+package com.kimbap.kbs.materials.serviceimpl;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.kimbap.kbs.bench.BenchData;
+import com.kimbap.kbs.bench.BenchDatabase;
+import com.kimbap.kbs.materials.mapper.PurchaseStatMapper;
+import com.kimbap.kbs.materials.service.MaterialsVO;
+
+/**
+ * 발주 통계 (일별 집계 purc_stat_d)
+ *
+ * - legacy     : 기존 방식 - 발주 이력 전체를 VO 로 읽어 스트림 5번 (비교 기준)
+ * - query      : 1년 기간 집계 조회 + 응답 조립 (결과 캐시 없이)
+ * - cached     : 같은 기간 재조회 (재집계 전까지 보관한 결과)
+ * - refreshDay : 발주상세 1건 변경 → 그 날 재집계 (DELETE + INSERT ... SELECT GROUP BY)
+ *
+ * 재집계는 백그라운드 스레드 대신 측정 스레드에서 바로 돌린다 (refreshPending). 패키지 메서드라 이 패키지에 둔다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class PurchaseStatBench {
+
+    private static final LocalDate FROM = BenchData.BASE_DT;
+    private static final LocalDate TO = BenchData.BASE_DT.plusDays(364);
+
+    private static final String LEGACY = """
+        SELECT po.ord_dt, pod.purc_d_status, pod.purc_qty, pod.unit_price, m.mate_name, c.cp_name
+        FROM purc_ord po
+        LEFT JOIN purc_ord_d pod ON po.purc_cd = pod.purc_cd
+        LEFT JOIN material m ON pod.mcode = m.mcode
+        LEFT JOIN mate_supplier ms ON ms.mate_cp_cd = pod.mate_cp_cd
+        LEFT JOIN company c ON c.cp_cd = ms.cp_cd
+        ORDER BY po.ord_dt DESC
+        """;
+
+    @Param({"10000"})
+    int rows;
+
+    private BenchDatabase db;
+    private PurchaseStatMapper mapper;
+    private PurchaseStatServiceImpl service;
+    private JdbcTemplate jdbc;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        db = BenchDatabase.create(rows);
+        mapper = db.mapper(PurchaseStatMapper.class);
+        jdbc = new JdbcTemplate(db.dataSource());
+        service = new PurchaseStatServiceImpl(mapper, db.transactionManager(), 35) {
+            @Override
+            public void wakeUp() {
+                // 재집계는 refreshPending 을 직접 부른다
+            }
+        };
+        service.rebuild();
+        service.refreshPending();
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> legacy() {
+        List<MaterialsVO> allOrders = jdbc.query(LEGACY, (rs, i) -> MaterialsVO.builder()
+            .ordDt(rs.getDate(1))
+            .purcDStatus(rs.getString(2))
+            .purcQty(rs.getInt(3))
+            .unitPrice(rs.getBigDecimal(4))
+            .mateName(rs.getString(5))
+            .cpName(rs.getString(6))
+            .build());
+        Map<String, Long> statusCounts = allOrders.stream()
+            .collect(Collectors.groupingBy(o -> o.getPurcDStatus() != null ? o.getPurcDStatus() : "unknown", Collectors.counting()));
+        BigDecimal totalAmount = allOrders.stream()
+            .filter(o -> o.getUnitPrice() != null && o.getPurcQty() != null)
+            .map(o -> o.getUnitPrice().multiply(BigDecimal.valueOf(o.getPurcQty())))
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Map<String, Long> monthlyStats = allOrders.stream()
+            .filter(o -> o.getOrdDt() != null)
+            .collect(Collectors.groupingBy(o -> new SimpleDateFormat("yyyy-MM").format(o.getOrdDt()), Collectors.counting()));
+        Map<String, Long> supplierStats = allOrders.stream()
+            .filter(o -> o.getCpName() != null && !o.getCpName().isEmpty())
+            .collect(Collectors.groupingBy(MaterialsVO::getCpName, Collectors.counting()));
+        Map<String, Long> materialStats = allOrders.stream()
+            .filter(o -> o.getMateName() != null && !o.getMateName().isEmpty())
+            .collect(Collectors.groupingBy(MaterialsVO::getMateName, Collectors.counting()))
+            .entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(10)
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("totalOrders", allOrders.size());
+        statistics.put("totalAmount", totalAmount);
+        statistics.put("statusCounts", statusCounts);
+        statistics.put("monthlyStats", monthlyStats);
+        statistics.put("supplierStats", supplierStats);
+        statistics.put("topMaterials", materialStats);
+        return statistics;
+    }
+
+    @Benchmark
+    public Map<String, Object> query() {
+        return PurchaseStatServiceImpl.assemble(mapper.selectStatistics(FROM, TO));
+    }
+
+    @Benchmark
+    public Map<String, Object> cached() {
+        return service.getStatistics(FROM, TO);
+    }
+
+    @Benchmark
+    public int refreshDay() {
+        service.detailsChanged(BenchData.purcDCd(next++ % db.data().purcDetails()));
+        return service.refreshPending();
+    }
+}
@@ -0,0 +1,104 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.BomVO;
+
+/**
+ * 다단계 BOM 전개 비교 (깊이 6, 단계별 fan-out 20, 반제품 공유, 최상위 제품 50개)
+ *
+ * - nestedQueries : 품목마다 한 단계 BOM 을 조회하며 재귀 전개 (반제품 결과는 메모).
+ * - levelCold     : BomExplosionServiceImpl, 캐시 없이 단계별 일괄 조회.
+ * - levelWarm     : BomExplosionServiceImpl, 캐시 적중.
+ *
+ * DB 왕복은 roundTripMicros 만큼의 대기로 흉내 낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class BomExplosionBenchmark {
+
+    @Param({"6"})
+    int depth;
+
+    @Param({"20"})
+    int fanOut;
+
+    @Param({"200"})
+    long roundTripMicros;
+
+    private InMemoryBomMapper mapper;
+    private BomExplosionServiceImpl warm;
+    private List<BomVO> roots;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = InMemoryBomMapper.deep(50, depth, fanOut, roundTripMicros);
+        roots = new ArrayList<>();
+        for (int r = 0; r < 50; r++) {
+            roots.add(BomVO.builder().pcode("P-" + r).prodVerCd("V1").build());
+        }
+        warm = new BomExplosionServiceImpl(mapper);
+        warm.getUnitMaterials(roots);
+    }
+
+    @Benchmark
+    public int nestedQueries() {
+        Map<String, Map<String, BigDecimal>> memo = new LinkedHashMap<>();
+        int materials = 0;
+        for (BomVO root : roots) {
+            materials += nested(root.getPcode(), memo).size();
+        }
+        return materials;
+    }
+
+    @Benchmark
+    public int levelCold() {
+        return new BomExplosionServiceImpl(mapper).getUnitMaterials(roots).size();
+    }
+
+    @Benchmark
+    public int levelWarm() {
+        return warm.getUnitMaterials(roots).size();
+    }
+
+    private Map<String, BigDecimal> nested(String pcode, Map<String, Map<String, BigDecimal>> memo) {
+        Map<String, BigDecimal> done = memo.get(pcode);
+        if (done != null) {
+            return done;
+        }
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (BomDetailVO row : mapper.selectBomComponents(List.of(BomVO.builder().pcode(pcode).prodVerCd("V1").build()))) {
+            if (Boolean.TRUE.equals(row.getSubAssembly())) {
+                nested(row.getMcode(), memo).forEach((mcode, qty) ->
+                    result.merge(mcode, qty.multiply(row.getNeedQty()), BigDecimal::add));
+            } else {
+                result.merge(row.getMcode(), row.getNeedQty(), BigDecimal::add);
+            }
+        }
+        memo.put(pcode, result);
+        return result;
+    }
+}
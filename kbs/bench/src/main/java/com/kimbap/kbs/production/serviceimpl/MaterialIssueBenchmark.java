@@ -0,0 +1,103 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.ProdRequestDetailVO;
+
+/**
+ * 생산요청 저장 시 자재 출고 지연 비교 (라인 20건 x BOM 10행, 자재 50종 x LOT 10개)
+ *
+ * - legacyPerRow : 기존 방식. 라인/자재별 재고 조회(잠금), LOT 분할마다 재고 UPDATE / 출고코드 발번 / 이력 INSERT.
+ * - batched      : MaterialIssueEngine. 재고 일괄 조회(잠금) 1회 + MERGE 1회 + INSERT ALL 1회.
+ *
+ * 재고는 호출마다 새로 채운다. DB 왕복은 roundTripMicros 만큼의 대기로 흉내 낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class MaterialIssueBenchmark {
+
+    private static final int PRODUCTS = 20;
+    private static final int BOM_ROWS = 10;
+    private static final int MATERIALS = 50;
+
+    @Param({"200"})
+    long roundTripMicros;
+
+    private InMemoryBomMapper bomMapper;
+    private BomExplosionServiceImpl bomService;
+    private List<ProdRequestDetailVO> details;
+    private StockFixture stock;
+
+    @Setup
+    public void setUp() {
+        bomMapper = new InMemoryBomMapper(0);
+        details = new ArrayList<>();
+        for (int p = 0; p < PRODUCTS; p++) {
+            for (int m = 0; m < BOM_ROWS; m++) {
+                bomMapper.add("P-" + p, "M-" + ((p * 3 + m) % MATERIALS), "2");
+            }
+            details.add(MaterialIssueEngineTests.line("PP-" + p, "P-" + p, 3));
+        }
+        bomService = new BomExplosionServiceImpl(bomMapper);
+    }
+
+    @Setup(Level.Invocation)
+    public void fillStock() {
+        stock = new StockFixture(roundTripMicros);
+        for (int m = 0; m < MATERIALS; m++) {
+            stock.lots("M-" + m, 10, 20);
+        }
+    }
+
+    @Benchmark
+    public int legacyPerRow() {
+        return stock.inTransaction(() -> {
+            int releases = 0;
+            for (ProdRequestDetailVO detail : details) {
+                for (BomDetailVO material : bomService.getUnitMaterials(detail.getPcode(), detail.getProdVerCd())) {
+                    BigDecimal remaining = material.getNeedQty().multiply(BigDecimal.valueOf(detail.getReqQty()));
+                    for (StockFixture.Row row : stock.lockStocks(material.getMcode())) {
+                        if (remaining.signum() <= 0) {
+                            break;
+                        }
+                        BigDecimal delta = row.qty.min(remaining).setScale(0, RoundingMode.CEILING).min(row.qty);
+                        stock.decrease(row, delta);
+                        stock.insertRelease(); // 출고코드 발번
+                        stock.insertRelease();
+                        remaining = remaining.subtract(delta);
+                        releases++;
+                    }
+                }
+            }
+            return releases;
+        });
+    }
+
+    @Benchmark
+    public int batched() {
+        MaterialIssueEngine engine = new MaterialIssueEngine(stock.mapper(), bomService, StockFixture.keys());
+        return stock.inTransaction(() -> engine.issue(details, "bench").size());
+    }
+}
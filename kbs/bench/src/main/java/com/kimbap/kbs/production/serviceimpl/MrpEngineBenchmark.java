@@ -0,0 +1,97 @@
+package com.kimbap.kbs.production.serviceimpl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kimbap.kbs.production.service.BomDetailVO;
+import com.kimbap.kbs.production.service.MateSupplierVO;
+import com.kimbap.kbs.production.service.MrpDetailVO;
+import com.kimbap.kbs.production.service.PurcOrdDetailVO;
+
+/**
+ * MRP 실행 + 발주서 상세 생성 end-to-end 지연 비교 (제품 200종 x BOM 50행 = 10,000행)
+ *
+ * - legacyPerRow : 기존 방식. 계획 라인별 BOM 조회, 자재별 재고 조회, 부족 자재별
+ *                  MRP 상세 INSERT / 공급사 조회 / 자재정보 조회 / 상세코드 발번 / 발주상세 INSERT.
+ * - setBased     : MrpEngine. 일괄 조회 + INSERT ALL.
+ *
+ * DB 왕복은 roundTripMicros 만큼의 대기로 흉내 낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class MrpEngineBenchmark {
+
+    @Param({"200"})
+    long roundTripMicros;
+
+    private MrpFixture fixture;
+    private MrpEngine engine;
+
+    @Setup
+    public void setUp() {
+        fixture = MrpFixture.generate(200, 50, 2000, roundTripMicros);
+        engine = fixture.engine();
+    }
+
+    @Benchmark
+    public int legacyPerRow() {
+        Map<String, BigDecimal> required = new LinkedHashMap<>();
+        fixture.planDetails.forEach(detail -> {
+            BigDecimal planQty = BigDecimal.valueOf(detail.getPlanQty());
+            for (BomDetailVO bom : fixture.bomOf(detail.getPcode())) {
+                required.merge(bom.getMcode(), bom.getNeedQty().multiply(planQty), BigDecimal::add);
+            }
+        });
+        List<String> shortages = new ArrayList<>();
+        required.forEach((mcode, qty) -> {
+            if (qty.subtract(fixture.stockOf(mcode)).signum() > 0) {
+                fixture.insertRow();
+                shortages.add(mcode);
+            }
+        });
+        int lines = 0;
+        for (String mcode : shortages) {
+            MateSupplierVO supplier = fixture.supplierOf(mcode);
+            if (supplier == null) {
+                continue;
+            }
+            MateSupplierVO material = fixture.supplierOf(mcode); // 자재 기본정보 조회
+            fixture.supplierOf(mcode);                           // 발주상세코드 발번
+            required.get(mcode).divide(material.getMoqty(), 0, RoundingMode.UP);
+            fixture.insertRow();
+            lines++;
+        }
+        return lines;
+    }
+
+    @Benchmark
+    public int setBased() {
+        List<MrpDetailVO> shortages = engine.explode(fixture.planDetails);
+        engine.insertMrpDetails(shortages);
+        List<PurcOrdDetailVO> orderDetails = engine.planPurchase(shortages, LocalDate.now());
+        engine.insertPurchaseOrderDetails(orderDetails);
+        return orderDetails.size();
+    }
+}
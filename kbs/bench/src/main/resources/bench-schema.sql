@@ -0,0 +1,274 @@
+-- kbs-bench H2 (MODE=Oracle) 스키마
+-- 측정 대상 매퍼 문장이 읽고 쓰는 테이블/컬럼만 운영 DDL(매퍼 XML 주석)과 같은 이름/타입으로 만든다.
+
+-- Oracle 내장 함수 중 H2 에 없는 것
+CREATE ALIAS IF NOT EXISTS TO_NUMBER FOR 'com.kimbap.kbs.bench.H2Functions.toNumber';
+
+-- ===== 발번 =====
+CREATE TABLE key_seq (
+    seq_key  VARCHAR2(30) NOT NULL,
+    seq_dt   VARCHAR2(8)  NOT NULL,
+    hi_val   NUMBER(12)   NOT NULL,
+    upd_dt   DATE DEFAULT SYSDATE,
+    CONSTRAINT pk_key_seq PRIMARY KEY (seq_key, seq_dt)
+);
+
+-- ===== 회원 / 거래처 =====
+CREATE TABLE company (
+    cp_cd      VARCHAR2(20) PRIMARY KEY,
+    cp_name    VARCHAR2(100),
+    cp_type    VARCHAR2(10),
+    repname    VARCHAR2(50),
+    tel        VARCHAR2(30),
+    cp_email   VARCHAR2(100),
+    fax_num    VARCHAR2(30),
+    loan_term  NUMBER(5),
+    mname      VARCHAR2(50),
+    address    VARCHAR2(200),
+    is_used    VARCHAR2(10),
+    cha_rea    VARCHAR2(200),
+    reg_dt     DATE,
+    note       VARCHAR2(500),
+    regi       VARCHAR2(30),
+    modi       VARCHAR2(30),
+    unsettled_amount  NUMBER(18,2)
+);
+
+CREATE TABLE department (
+    dcode      VARCHAR2(20) PRIMARY KEY,
+    dept_name  VARCHAR2(50)
+);
+
+CREATE TABLE team (
+    team_code  VARCHAR2(20) PRIMARY KEY,
+    team_name  VARCHAR2(50),
+    dcode      VARCHAR2(20)
+);
+
+CREATE TABLE employee (
+    emp_cd     VARCHAR2(20) PRIMARY KEY,
+    emp_name   VARCHAR2(50),
+    tel        VARCHAR2(30),
+    team_code  VARCHAR2(20)
+);
+
+CREATE TABLE member (
+    mem_cd     VARCHAR2(20) PRIMARY KEY,
+    id         VARCHAR2(50) NOT NULL,
+    pw         VARCHAR2(100),
+    mem_type   VARCHAR2(10),
+    is_used    VARCHAR2(10),
+    emp_cd     VARCHAR2(20),
+    cp_cd      VARCHAR2(20),
+    ldate      DATE
+);
+CREATE UNIQUE INDEX ux_member_id ON member (id);
+
+CREATE TABLE member_role (
+    mem_cd     VARCHAR2(20) NOT NULL,
+    role_cd    VARCHAR2(30) NOT NULL,
+    CONSTRAINT pk_member_role PRIMARY KEY (mem_cd, role_cd)
+);
+
+CREATE TABLE login_security (
+    mem_cd     VARCHAR2(20) PRIMARY KEY,
+    lcount     NUMBER(3) DEFAULT 0,
+    id_used    VARCHAR2(10)
+);
+
+-- ===== 기준정보 =====
+CREATE TABLE material (
+    mcode        VARCHAR2(20) NOT NULL,
+    mate_ver_cd  VARCHAR2(20) NOT NULL,
+    mate_name    VARCHAR2(100),
+    mate_type    VARCHAR2(10),
+    unit         VARCHAR2(10),
+    moqty        NUMBER(12,3),
+    safe_stock   NUMBER(12),
+    CONSTRAINT pk_material PRIMARY KEY (mcode, mate_ver_cd)
+);
+
+CREATE TABLE mate_supplier (
+    mate_cp_cd   VARCHAR2(20) PRIMARY KEY,
+    mcode        VARCHAR2(20),
+    mate_ver_cd  VARCHAR2(20),
+    cp_cd        VARCHAR2(20),
+    unit_price   NUMBER(12,2),
+    ltime        NUMBER(5)
+);
+CREATE INDEX ix_mate_supplier_mate ON mate_supplier (mcode, mate_ver_cd);
+
+CREATE TABLE product (
+    pcode        VARCHAR2(20) NOT NULL,
+    prod_ver_cd  VARCHAR2(20) NOT NULL,
+    prod_name    VARCHAR2(100),
+    pac_unit     VARCHAR2(10),
+    CONSTRAINT pk_product PRIMARY KEY (pcode, prod_ver_cd)
+);
+
+CREATE TABLE bom (
+    bcode        VARCHAR2(20) NOT NULL,
+    bom_ver_cd   VARCHAR2(20) NOT NULL,
+    pcode        VARCHAR2(20) NOT NULL,
+    prod_ver_cd  VARCHAR2(20) NOT NULL,
+    is_used      VARCHAR2(10),
+    CONSTRAINT pk_bom PRIMARY KEY (bcode, bom_ver_cd)
+);
+CREATE INDEX ix_bom_prod ON bom (pcode, prod_ver_cd);
+
+CREATE TABLE bom_d (
+    bom_d_cd     VARCHAR2(20) PRIMARY KEY,
+    bcode        VARCHAR2(20) NOT NULL,
+    bom_ver_cd   VARCHAR2(20) NOT NULL,
+    mcode        VARCHAR2(20) NOT NULL,
+    mate_ver_cd  VARCHAR2(20) NOT NULL,
+    need_qty     NUMBER(12,3),
+    unit         VARCHAR2(10),
+    is_used      VARCHAR2(10)
+);
+CREATE INDEX ix_bom_d_bom ON bom_d (bcode, bom_ver_cd);
+
+-- ===== 재고 =====
+CREATE TABLE mate_inbo (
+    mate_inbo_cd  VARCHAR2(30) PRIMARY KEY,
+    mcode         VARCHAR2(20),
+    mate_ver_cd   VARCHAR2(20),
+    lot_no        VARCHAR2(50),
+    inbo_dt       DATE
+);
+CREATE INDEX ix_mate_inbo_mate ON mate_inbo (mcode, mate_ver_cd);
+CREATE INDEX ix_mate_inbo_lot ON mate_inbo (lot_no);
+
+CREATE TABLE prod_inbo (
+    prod_inbo_cd  VARCHAR2(30) PRIMARY KEY,
+    pcode         VARCHAR2(20),
+    prod_ver_cd   VARCHAR2(20),
+    lot_no        VARCHAR2(50),
+    inbo_dt       DATE
+);
+CREATE INDEX ix_prod_inbo_lot ON prod_inbo (lot_no);
+
+CREATE TABLE ware_stock (
+    wslcode       VARCHAR2(30) PRIMARY KEY,
+    ware_area_cd  VARCHAR2(30),
+    mate_inbo_cd  VARCHAR2(30),
+    prod_inbo_cd  VARCHAR2(30),
+    qty           NUMBER(15,3)
+);
+CREATE INDEX ix_ware_stock_mate_inbo ON ware_stock (mate_inbo_cd);
+CREATE INDEX ix_ware_stock_prod_inbo ON ware_stock (prod_inbo_cd);
+
+CREATE TABLE warehouse (
+    wcode         VARCHAR2(20),
+    ware_ver_cd   VARCHAR2(20),
+    fcode         VARCHAR2(20),
+    PRIMARY KEY (wcode, ware_ver_cd)
+);
+
+CREATE TABLE ware_d (
+    ware_area_cd  VARCHAR2(30) PRIMARY KEY,
+    wcode         VARCHAR2(20),
+    ware_ver_cd   VARCHAR2(20),
+    area_row      VARCHAR2(10),
+    area_col      NUMBER(5),
+    area_floor    NUMBER(5),
+    vol           NUMBER(15),
+    is_used       VARCHAR2(10)
+);
+
+CREATE TABLE stock_balance (
+    item_code  VARCHAR2(30)  NOT NULL,
+    ver_cd     VARCHAR2(30)  NOT NULL,
+    fcode      VARCHAR2(30)  NOT NULL,
+    item_type  VARCHAR2(2),
+    qty        NUMBER(15,3)  NOT NULL,
+    upd_dt     DATE,
+    CONSTRAINT pk_stock_balance PRIMARY KEY (item_code, ver_cd, fcode)
+);
+
+CREATE TABLE mate_rel (
+    mate_rel_cd    VARCHAR2(30) PRIMARY KEY,
+    produ_prod_cd  VARCHAR2(30),
+    mcode          VARCHAR2(20),
+    mate_ver_cd    VARCHAR2(20),
+    wslcode        VARCHAR2(30),
+    lot_no         VARCHAR2(50),
+    rel_qty        NUMBER(15,3),
+    unit           VARCHAR2(10),
+    rel_dt         DATE,
+    rel_type       VARCHAR2(10),
+    mname          VARCHAR2(50),
+    cre_dt         DATE
+);
+
+-- ===== 주문 / 출고 =====
+CREATE TABLE order_list (
+    ord_cd               VARCHAR2(30) PRIMARY KEY,
+    cp_cd                VARCHAR2(20),
+    ord_status_customer  VARCHAR2(10)
+);
+
+CREATE TABLE order_d (
+    ord_d_cd      VARCHAR2(30) PRIMARY KEY,
+    ord_cd        VARCHAR2(30),
+    pcode         VARCHAR2(20),
+    ord_qty       NUMBER(12),
+    unit_price    NUMBER(12,2),
+    ord_d_status  VARCHAR2(10)
+);
+CREATE INDEX ix_order_d_ord ON order_d (ord_cd);
+
+CREATE TABLE release_ord_master (
+    rel_mas_cd      VARCHAR2(30) PRIMARY KEY,
+    rel_ord_status  VARCHAR2(10)
+);
+
+CREATE TABLE release_ord (
+    rel_ord_cd  VARCHAR2(30) PRIMARY KEY,
+    rel_mas_cd  VARCHAR2(30),
+    ord_d_cd    VARCHAR2(30)
+);
+CREATE INDEX ix_release_ord_mas ON release_ord (rel_mas_cd);
+CREATE INDEX ix_release_ord_ord_d ON release_ord (ord_d_cd);
+
+CREATE TABLE prod_rel (
+    prod_rel_cd       VARCHAR2(30) PRIMARY KEY,
+    lot_no            VARCHAR2(50),
+    rel_qty           NUMBER(12),
+    remain_qty        NUMBER(12),
+    unit_price        NUMBER(12,2),
+    rel_total_amount  NUMBER(18,2),
+    rel_dt            TIMESTAMP,
+    rel_ord_cd        VARCHAR2(30),
+    pcode             VARCHAR2(20),
+    prod_ver_cd       VARCHAR2(20)
+);
+CREATE INDEX ix_prod_rel_rel_ord ON prod_rel (rel_ord_cd);
+
+-- ===== 발주 =====
+CREATE TABLE purc_ord (
+    purc_cd  VARCHAR2(30) PRIMARY KEY,
+    ord_dt   DATE
+);
+CREATE INDEX ix_purc_ord_ord_dt ON purc_ord (ord_dt);
+
+CREATE TABLE purc_ord_d (
+    purc_d_cd      VARCHAR2(30) PRIMARY KEY,
+    purc_cd        VARCHAR2(30),
+    mcode          VARCHAR2(20),
+    mate_cp_cd     VARCHAR2(20),
+    purc_qty       NUMBER(12),
+    unit_price     NUMBER(12,2),
+    purc_d_status  VARCHAR2(10)
+);
+CREATE INDEX ix_purc_ord_d_purc ON purc_ord_d (purc_cd);
+
+CREATE TABLE purc_stat_d (
+    stat_dt        DATE          NOT NULL,
+    purc_d_status  VARCHAR2(10)  NOT NULL,
+    mcode          VARCHAR2(20)  NOT NULL,
+    cp_cd          VARCHAR2(20)  NOT NULL,
+    d_cnt          NUMBER(10)    NOT NULL,
+    amount         NUMBER(18,2)  NOT NULL,
+    CONSTRAINT pk_purc_stat_d PRIMARY KEY (stat_dt, purc_d_status, mcode, cp_cd)
+);
@@ -0,0 +1,129 @@
+package com.kimbap.kbs.bench;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 벤치마크 경로가 작은 규모에서 끝까지 도는지 (측정 없이 한 번씩 실행)
+ */
+class BenchSmokeTests {
+
+    private static final int ROWS = 10_000;
+
+    @Test
+    void seedsTheSameDataForTheSameScale() {
+        try (BenchDatabase db = BenchDatabase.create(ROWS)) {
+            JdbcTemplate jdbc = new JdbcTemplate(db.dataSource());
+            BenchData data = db.data();
+            assertEquals(data.purcDetails(), jdbc.queryForObject("SELECT COUNT(*) FROM purc_ord_d", Integer.class));
+            assertEquals(data.orders * BenchData.LINES_PER_ORDER,
+                jdbc.queryForObject("SELECT COUNT(*) FROM order_d", Integer.class));
+            // 해시로 정한 값이라 실행마다 같다
+            assertEquals(BenchData.pick(7, 20, data.products), data.orderProduct(7));
+            assertEquals("PRD-" + String.format("%04d", data.orderProduct(7)),
+                jdbc.queryForObject("SELECT pcode FROM order_d WHERE ord_d_cd = ?", String.class, BenchData.ordDCd(7)));
+        }
+    }
+
+    @Test
+    void runsEveryHotPathOnce() throws Exception {
+        KeyGenerationBench keys = new KeyGenerationBench();
+        keys.rows = ROWS;
+        keys.blockSize = 20;
+        keys.setUp();
+        try {
+            assertTrue(keys.lot().startsWith("LOT-100-"));
+            assertEquals(40, keys.relBatch().size());
+        } finally {
+            keys.tearDown();
+        }
+
+        MrpBench mrp = new MrpBench();
+        mrp.rows = ROWS;
+        mrp.planLines = 200;
+        mrp.bomCache = "cold";
+        mrp.setUp();
+        try {
+            assertFalse(mrp.explode().isEmpty());
+            assertFalse(mrp.planPurchase().isEmpty());
+        } finally {
+            mrp.tearDown();
+        }
+
+        MaterialIssueBench issue = new MaterialIssueBench();
+        issue.rows = ROWS;
+        issue.requestLines = 10;
+        issue.setUp();
+        try {
+            // 롤백하므로 두 번 돌려도 같은 결과
+            assertEquals(issue.issue().size(), issue.issue().size());
+        } finally {
+            issue.tearDown();
+        }
+
+        ReleaseBench release = new ReleaseBench();
+        release.rows = ROWS;
+        release.setUp();
+        try {
+            assertEquals(80, release.release().rels().size());
+        } finally {
+            release.tearDown();
+        }
+
+        JwtFilterBench jwt = new JwtFilterBench();
+        jwt.rows = ROWS;
+        jwt.setUp();
+        try {
+            assertNotNull(jwt.warm());
+            assertNotNull(jwt.cold());
+            assertNotNull(jwt.legacy());
+        } finally {
+            jwt.tearDown();
+        }
+
+        MaterialsJsonBench json = new MaterialsJsonBench();
+        json.size = 100;
+        json.setUp();
+        json.list();
+        json.stream();
+    }
+
+    @Test
+    void compareFailsOnlyOnRegressionsBeyondThresholdAndError(@TempDir Path dir) throws IOException {
+        File base = write(dir.resolve("base.json"), 100.0, 2.0, 50.0);
+        File head = write(dir.resolve("head.json"), 130.0, 2.0, 45.0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int code = BenchCompare.run(new String[] {base.getPath(), head.getPath()}, new PrintStream(out, true, StandardCharsets.UTF_8));
+
+        assertEquals(1, code);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("회귀 1건"));
+        assertEquals(0, BenchCompare.run(new String[] {base.getPath(), head.getPath(), "50"}, new PrintStream(new ByteArrayOutputStream())));
+    }
+
+    private static File write(Path path, double release, double error, double mrp) throws IOException {
+        Files.writeString(path, """
+            [
+              {"benchmark": "com.kimbap.kbs.bench.ReleaseBench.release", "mode": "avgt", "params": {"rows": "10000"},
+               "primaryMetric": {"score": %s, "scoreError": %s, "scoreUnit": "us/op"}},
+              {"benchmark": "com.kimbap.kbs.bench.MrpBench.explode", "mode": "avgt", "params": {"rows": "10000", "bomCache": "cold"},
+               "primaryMetric": {"score": %s, "scoreError": "NaN", "scoreUnit": "us/op"}}
+            ]
+            """.formatted(release, error, mrp));
+        return path.toFile();
+    }
+}
@@ -0,0 +1,155 @@
+package com.kimbap.kbs.bench;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.kimbap.kbs.common.mapper.WarehouseOccupancyMapper;
+import com.kimbap.kbs.common.serviceimpl.WarehouseOccupancyServiceImpl;
+
+/**
+ * 창고 적재 인덱스를 실제 매퍼 SQL 상대로 돌린다 - 재고 쓰기 트랜잭션이 커밋되는 동안 인덱스를 다시 적재해도
+ * 구역마다 인덱스 적재량이 DB 합계와 같아야 한다 (H2, Oracle 호환 모드).
+ * 라운드마다 쓰기와 재적재 1번을 겹쳐 돌리고 쓰기가 멈춘 뒤 비교한다 - 다음 재적재가 앞선 어긋남을 덮지 않게.
+ */
+class WarehouseOccupancyConcurrencyTests {
+
+    private static final int ROWS = 1_000;
+    private static final String[] AREA_ROWS = {"A", "B", "C"};
+    private static final int COLS = 4;
+    private static final int FLOORS = 2;
+    private static final int WRITERS = 4;
+    private static final int ROUNDS = 40;
+    private static final int TX_PER_ROUND = 10;
+
+    @Test
+    void indexMatchesDbAfterReloadsOverlappingCommits() throws Exception {
+        try (BenchDatabase db = BenchDatabase.create(ROWS)) {
+            JdbcTemplate jdbc = new JdbcTemplate(db.dataSource());
+            // 구역마다 품목 1개 (자재 입고 1건) - 품목이 섞이지 않아 인덱스가 스스로 다시 적재할 일이 없다
+            List<String> inbos = jdbc.queryForList(
+                "SELECT MIN(mate_inbo_cd) FROM mate_inbo GROUP BY mcode ORDER BY 1", String.class);
+            jdbc.update("INSERT INTO warehouse (wcode, ware_ver_cd, fcode) VALUES ('WT', 'V001', 'FAC-T')");
+            List<String> areas = new ArrayList<>();
+            Map<String, String> inboByArea = new HashMap<>();
+            Map<String, String> itemByArea = new HashMap<>();
+            for (String row : AREA_ROWS) {
+                for (int c = 1; c <= COLS; c++) {
+                    for (int f = 1; f <= FLOORS; f++) {
+                        String area = "WT-" + row + c + "-" + f;
+                        jdbc.update("INSERT INTO ware_d (ware_area_cd, wcode, ware_ver_cd, area_row, area_col, area_floor, vol, is_used)"
+                            + " VALUES (?, 'WT', 'V001', ?, ?, ?, 1000000, 'f1')", area, row, c, f);
+                        String inbo = inbos.get(areas.size() % inbos.size());
+                        inboByArea.put(area, inbo);
+                        itemByArea.put(area, jdbc.queryForObject(
+                            "SELECT mcode FROM mate_inbo WHERE mate_inbo_cd = ?", String.class, inbo));
+                        areas.add(area);
+                    }
+                }
+            }
+
+            WarehouseOccupancyServiceImpl service = new WarehouseOccupancyServiceImpl(db.mapper(WarehouseOccupancyMapper.class));
+            assertEquals(0, service.getArea(areas.get(0)).getCurrentVolume());
+            TransactionTemplate tx = new TransactionTemplate(db.transactionManager());
+
+            // 쓰기 스레드마다 자기가 넣은 재고행(own) → {구역 번호, 수량}
+            List<Callable<Object>> writers = new ArrayList<>();
+            for (int t = 0; t < WRITERS; t++) {
+                int writer = t;
+                Map<String, int[]> own = new HashMap<>();
+                int[] seq = new int[1];
+                writers.add(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < TX_PER_ROUND; i++) {
+                        String wslcode = String.format("WT-%d-%06d", writer, seq[0]++);
+                        List<String> ownRows = new ArrayList<>(own.keySet());
+                        String target = !ownRows.isEmpty() && random.nextInt(3) == 0
+                            ? ownRows.get(random.nextInt(ownRows.size())) : null;
+                        int areaNo = target != null ? own.get(target)[0] : random.nextInt(areas.size());
+                        int delta = target != null ? -random.nextInt(own.get(target)[1] + 1) : 1 + random.nextInt(50);
+                        boolean rollback = random.nextInt(10) == 0;
+                        String area = areas.get(areaNo);
+                        tx.executeWithoutResult(status -> {
+                            if (target == null) {
+                                jdbc.update("INSERT INTO ware_stock (wslcode, ware_area_cd, mate_inbo_cd, prod_inbo_cd, qty)"
+                                    + " VALUES (?, ?, ?, NULL, ?)", wslcode, area, inboByArea.get(area), delta);
+                            } else {
+                                jdbc.update("UPDATE ware_stock SET qty = qty + ? WHERE wslcode = ?", delta, target);
+                            }
+                            // 커밋 후 작업이 먼저 하나 더 있는 것처럼 (건수 푸시 등) - 커밋과 인덱스 반영 사이를 벌린다
+                            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                                @Override
+                                public void afterCommit() {
+                                    sleep(random.nextInt(3));
+                                }
+                            });
+                            service.recordChange(area, itemByArea.get(area), delta);
+                            if (rollback) {
+                                status.setRollbackOnly();
+                            }
+                        });
+                        if (!rollback) {
+                            if (target == null) {
+                                own.put(wslcode, new int[] {areaNo, delta});
+                            } else {
+                                own.get(target)[1] += delta;
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+            try {
+                for (int round = 0; round < ROUNDS; round++) {
+                    List<Future<Object>> futures = new ArrayList<>();
+                    writers.forEach(writer -> futures.add(pool.submit(writer)));
+                    sleep(ThreadLocalRandom.current().nextInt(1, 10));
+                    if (round % 2 == 0) {
+                        service.reconcile();
+                    } else {
+                        service.invalidate();
+                        service.getArea(areas.get(0));
+                    }
+                    for (Future<Object> future : futures) {
+                        future.get(60, TimeUnit.SECONDS);
+                    }
+
+                    // 인덱스 = 실제 SQL 합계 (구역마다)
+                    for (String area : areas) {
+                        Integer sum = jdbc.queryForObject("SELECT COALESCE(SUM(qty), 0) FROM ware_stock"
+                            + " WHERE ware_area_cd = ? AND qty > 0", Integer.class, area);
+                        assertEquals(sum, service.getArea(area).getCurrentVolume(), "round " + round + " " + area);
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            assertEquals(List.of(), service.reconcile());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.kimbap.kbs.bench.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.kimbap.kbs.bench.load.LatencyStats.Outcome;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 부하 시나리오가 흐름 전체(주문 → 출고지시 → 출고 → 반품, 입고 → 적재, 생산요청, 입금)를 돌고 결과를 남기는지 - 가짜 API 서버 상대
+ */
+class LoadMainTests {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void drivesTheWholeOrderToCashFlowAndReportsPerEndpoint() throws Exception {
+        FakeApi api = new FakeApi();
+        HttpServer server = api.start();
+        try {
+            Path out = dir.resolve("load.json");
+            ByteArrayOutputStream console = new ByteArrayOutputStream();
+            int exit = LoadMain.run(new String[] {
+                "--base-url", "http://localhost:" + server.getAddress().getPort(),
+                // 워밍업 동안 주문 → 출고지시 → 출고 대기열이 차서 측정 구간에 반품까지 반드시 돈다
+                "--users", "4", "--warmup", "0.5", "--ramp", "0", "--duration", "1.5", "--think-ms", "2",
+                "--mix", "return=15",
+                "--out", out.toString()
+            }, new PrintStream(console, true, StandardCharsets.UTF_8));
+            assertEquals(0, exit, console.toString(StandardCharsets.UTF_8));
+
+            JsonNode result = JSON.readTree(out.toFile());
+            Set<String> endpoints = new TreeSet<>();
+            for (JsonNode endpoint : result.path("endpoints")) {
+                endpoints.add(endpoint.path("endpoint").asText());
+            }
+            assertTrue(endpoints.containsAll(List.of(
+                "POST /api/order/register",
+                "POST /api/distribution/insertReleaseOrders",
+                "POST /api/distribution/release",
+                "POST /api/materials/inbound",
+                "POST /api/materials/mateLoading/processBatch",
+                "POST /api/prod/request/requestSave",
+                "POST /api/return/register",
+                "POST /api/pay/insert",
+                "GET /api/distribution/details/{relMasCd}")), endpoints.toString());
+
+            // 가짜 서버가 출고 3건 중 1건을 교착으로 실패시킨다
+            JsonNode total = result.path("total");
+            assertTrue(total.path("outcomes").path("DEADLOCK").asLong() > 0);
+            assertEquals(total.path("errors").asLong(), total.path("outcomes").path("DEADLOCK").asLong(), total.toString());
+            assertTrue(total.path("p50Ms").asDouble() <= total.path("p999Ms").asDouble());
+            assertEquals(0, result.path("scenarioErrors").asLong());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void classifiesFailuresFromStatusBodyAndMessage() throws Exception {
+        assertEquals(Outcome.OK, ApiClient.classify(200, JSON.readTree("{\"success\":true}"), ""));
+        assertEquals(Outcome.SERVER_ERROR, ApiClient.classify(200, JSON.readTree("{\"success\":false}"), ""));
+        assertEquals(Outcome.SERVER_ERROR,
+            ApiClient.classify(500, JSON.readTree("{\"result_code\":\"FAIL\"}"), "{\"result_code\":\"FAIL\"}"));
+        assertEquals(Outcome.CLIENT_ERROR, ApiClient.classify(400, MissingNode.getInstance(), "재고부족"));
+        assertEquals(Outcome.DEADLOCK, ApiClient.classify(500, MissingNode.getInstance(),
+            "ORA-00060: deadlock detected while waiting for resource"));
+        assertEquals(Outcome.LOCK_TIMEOUT, ApiClient.classify(200,
+            JSON.readTree("{\"success\":false,\"message\":\"ORA-30006: resource busy\"}"),
+            "{\"success\":false,\"message\":\"ORA-30006: resource busy\"}"));
+    }
+
+    /** 시나리오가 부르는 API 만 흉내내는 서버 (상태는 메모리) */
+    private static final class FakeApi {
+
+        private final AtomicInteger seq = new AtomicInteger();
+        private final AtomicInteger releases = new AtomicInteger();
+        private final Map<String, String> pcodeByOrdD = new HashMap<>();
+        private final Map<String, List<Map<String, Object>>> waiting = new LinkedHashMap<>();
+
+        HttpServer start() throws IOException {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", this::handle);
+            server.setExecutor(Executors.newFixedThreadPool(4));
+            server.start();
+            return server;
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            JsonNode body = exchange.getRequestMethod().equals("POST")
+                ? JSON.readTree(exchange.getRequestBody()) : MissingNode.getInstance();
+            Object response;
+            int status = 200;
+            synchronized (this) {
+                switch (path) {
+                    case "/api/order/register" -> {
+                        List<Map<String, Object>> details = new ArrayList<>();
+                        for (JsonNode d : body.path("orderDetails")) {
+                            String ordDCd = "ORDD-" + seq.incrementAndGet();
+                            pcodeByOrdD.put(ordDCd, d.path("pcode").asText());
+                            details.add(Map.of("ordDCd", ordDCd, "pcode", d.path("pcode").asText(),
+                                "prodVerCd", d.path("prodVerCd").asText(), "ordQty", d.path("ordQty").asInt()));
+                        }
+                        response = Map.of("result_code", "SUCCESS",
+                            "data", Map.of("ordCd", "ORD-" + seq.incrementAndGet(), "orderDetails", details));
+                    }
+                    case "/api/distribution/warehouseList" -> response = List.of(Map.of("wcode", "WH001", "wareVerCd", "V001"));
+                    case "/api/distribution/insertReleaseOrders" -> {
+                        List<Map<String, Object>> details = new ArrayList<>();
+                        for (JsonNode d : body.path("detailList")) {
+                            String ordDCd = d.path("ordDCd").asText();
+                            details.add(Map.of("relOrdCd", "REL-" + seq.incrementAndGet(), "ordDCd", ordDCd,
+                                "pcode", pcodeByOrdD.get(ordDCd), "relOrdQty", d.path("relQty").asInt(), "cpCd", "CP-101"));
+                        }
+                        waiting.put("RELM-" + seq.incrementAndGet(), details);
+                        response = "출고지시서 저장 완료";
+                    }
+                    case "/api/distribution/waiting" -> response = waiting.keySet().stream()
+                        .map(relMasCd -> Map.of("relMasCd", relMasCd)).toList();
+                    case "/api/distribution/lots" -> response = List.of(
+                        Map.of("lotNo", "LOT-1", "wareAreaCd", "A-1", "qty", OrderToCashScenario.UNITS_PER_BOX * 2),
+                        Map.of("lotNo", "LOT-2", "wareAreaCd", "A-2", "qty", OrderToCashScenario.UNITS_PER_BOX * 1000));
+                    case "/api/distribution/release" -> {
+                        if (releases.incrementAndGet() % 3 == 0) {
+                            status = 500;
+                            response = Map.of("message", "서버 오류 발생: ORA-00060: deadlock detected");
+                        } else {
+                            waiting.remove(body.path("relMasCd").asText());
+                            response = "PREL-" + seq.incrementAndGet();
+                        }
+                    }
+                    case "/api/materials/inbound", "/api/prod/request/requestSave" -> response = "성공";
+                    case "/api/materials/mateLoading/processBatch", "/api/pay/insert" -> response = Map.of("success", true);
+                    case "/api/return/register" -> response = Map.of("result_code", "SUCCESS");
+                    default -> {
+                        if (path.startsWith("/api/distribution/details/")) {
+                            response = waiting.getOrDefault(path.substring("/api/distribution/details/".length()), List.of());
+                        } else {
+                            status = 404;
+                            response = Map.of("message", path);
+                        }
+                    }
+                }
+            }
+            byte[] bytes = response instanceof String text
+                ? text.getBytes(StandardCharsets.UTF_8) : JSON.writeValueAsBytes(response);
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.kimbap.kbs.materials.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class PurchaseStatBenchTests {
+
+    @Test
+    void queriesTheSameTotalsWithAndWithoutTheRollupCache() {
+        PurchaseStatBench bench = new PurchaseStatBench();
+        bench.rows = 10_000;
+        bench.setUp();
+        try {
+            Map<String, Object> queried = bench.query();
+            assertEquals(2_000L, queried.get("totalOrders"));
+            assertEquals(queried.get("totalOrders"), bench.cached().get("totalOrders"));
+            assertSame(bench.cached(), bench.cached());
+            assertEquals(1, bench.refreshDay());
+            // 기존 방식은 기간 없이 이력 전체
+            assertTrue((Integer) bench.legacy().get("totalOrders") >= 2_000);
+        } finally {
+            bench.tearDown();
+        }
+    }
+}
@@ -18,4 +18,9 @@ export const dashboardBarData = () => {
 // 금일 주문요청 데이터
 export const dashboardOrderData = () => {
   return axios.get('/api/dashboard/orderData');
+};
+
+// 대시보드 첫 화면 데이터 한 번에 (건수/파이/바/금일 주문요청)
+export const dashboardSummary = () => {
+  return axios.get('/api/dashboard/summary');
 };
\ No newline at end of file
@@ -0,0 +1,11 @@
+import axios from 'axios';
+
+// 건수 푸시 구독 티켓 발급 (EventSource 는 Authorization 헤더를 못 보내므로 일회용 티켓으로 연결)
+export const issuePushTicket = () => {
+  return axios.post('/api/push/ticket');
+};
+
+// 건수 푸시 구독 주소
+export const counterStreamUrl = (ticket) => {
+  return `/api/push/counters?ticket=${encodeURIComponent(ticket)}`;
+};
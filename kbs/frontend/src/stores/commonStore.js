@@ -6,15 +6,24 @@ import { getCommonCodesByGroupCd } from '@/api/common' // API 파일에서 가
 export const useCommonStore = defineStore('common', () => {
   // 공통코드 객체 (key: groupCd, value: 코드 리스트)
   const commonCodes = ref({})
+  // 진행 중인 조회 (같은 그룹을 여러 컴포넌트가 동시에 부르면 한 번만 요청)
+  const pending = {}
 
-  // 공통코드 fetch
-  const fetchCommonCodes = async (groupCd) => {
-    try {
-      const res = await getCommonCodesByGroupCd(groupCd)
-      commonCodes.value[groupCd] = res.data
-    } catch (err) {
-      console.error(`공통코드(${groupCd}) 조회 실패:`, err)
+  // 공통코드 fetch - 서버가 ETag 를 주므로 다시 부르면 브라우저가 If-None-Match 로 확인하고 변경 없으면 304
+  const fetchCommonCodes = (groupCd) => {
+    if (!pending[groupCd]) {
+      pending[groupCd] = getCommonCodesByGroupCd(groupCd)
+        .then((res) => {
+          commonCodes.value[groupCd] = res.data
+        })
+        .catch((err) => {
+          console.error(`공통코드(${groupCd}) 조회 실패:`, err)
+        })
+        .finally(() => {
+          delete pending[groupCd]
+        })
     }
+    return pending[groupCd]
   }
 
   // getter-like computed 함수
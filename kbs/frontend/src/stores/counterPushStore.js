@@ -0,0 +1,122 @@
+import { defineStore } from 'pinia';
+import { ref } from 'vue';
+import { issuePushTicket, counterStreamUrl } from '@/api/push';
+
+// 재연결 대기시간 (ms)
+const RETRY_MIN_MS = 1000;
+const RETRY_MAX_MS = 30000;
+
+/**
+ * 건수 푸시(SSE) 구독 - 화면 여러 곳이 연결 하나를 같이 쓴다.
+ * - subscribe(토픽, 증감 콜백, 다시읽기 콜백) → 해제 함수
+ * - 증감 콜백은 {키: 증감} 을 받는다 (예: dashboard → {prodRel: 1})
+ * - 연결이 끊겼다 다시 붙으면 그 사이 증감을 놓쳤을 수 있으므로 다시읽기 콜백으로 기준값을 새로 읽게 한다.
+ * - 티켓은 한 번만 쓸 수 있어서 브라우저 자동 재연결 대신 새 티켓으로 직접 다시 연결한다.
+ */
+export const useCounterPushStore = defineStore('counterPush', () => {
+  const connected = ref(false);
+
+  const listeners = new Map(); // 토픽 → Set<{ onDelta, onResync }>
+  let source = null;
+  let retryTimer = null;
+  let connecting = false;
+  let retryMs = RETRY_MIN_MS;
+  let everConnected = false;
+
+  const subscribe = (topic, onDelta, onResync) => {
+    const listener = { onDelta, onResync };
+    if (!listeners.has(topic)) {
+      listeners.set(topic, new Set());
+    }
+    listeners.get(topic).add(listener);
+    if (!source && !retryTimer && !connecting) {
+      connect();
+    }
+    return () => {
+      listeners.get(topic)?.delete(listener);
+      if (listeners.get(topic)?.size === 0) {
+        listeners.delete(topic);
+      }
+      if (listeners.size === 0) {
+        disconnect();
+      }
+    };
+  };
+
+  const connect = async () => {
+    retryTimer = null;
+    connecting = true;
+    try {
+      const res = await issuePushTicket();
+      if (listeners.size === 0) {
+        return; // 티켓 받는 사이 구독이 모두 해제됨
+      }
+      source = new EventSource(counterStreamUrl(res.data.ticket));
+      source.addEventListener('counters', (event) => dispatch(JSON.parse(event.data)));
+      source.onopen = () => {
+        connected.value = true;
+        retryMs = RETRY_MIN_MS;
+        if (everConnected) {
+          resyncAll();
+        }
+        everConnected = true;
+      };
+      source.onerror = () => {
+        closeSource();
+        scheduleRetry();
+      };
+    } catch (error) {
+      console.error('건수 푸시 구독 실패:', error);
+      scheduleRetry();
+    } finally {
+      connecting = false;
+    }
+  };
+
+  const scheduleRetry = () => {
+    if (listeners.size === 0 || retryTimer) {
+      return;
+    }
+    retryTimer = setTimeout(connect, retryMs);
+    retryMs = Math.min(retryMs * 2, RETRY_MAX_MS);
+  };
+
+  // 이벤트 {"토픽.키": 증감} 을 토픽별로 나눠 전달
+  const dispatch = (deltas) => {
+    const byTopic = {};
+    Object.entries(deltas).forEach(([name, delta]) => {
+      const dot = name.indexOf('.');
+      const topic = name.substring(0, dot);
+      (byTopic[topic] ??= {})[name.substring(dot + 1)] = delta;
+    });
+    Object.entries(byTopic).forEach(([topic, topicDeltas]) => {
+      listeners.get(topic)?.forEach(listener => listener.onDelta(topicDeltas));
+    });
+  };
+
+  const resyncAll = () => {
+    listeners.forEach(set => set.forEach(listener => listener.onResync?.()));
+  };
+
+  const closeSource = () => {
+    if (source) {
+      source.close();
+      source = null;
+    }
+    connected.value = false;
+  };
+
+  const disconnect = () => {
+    clearTimeout(retryTimer);
+    retryTimer = null;
+    retryMs = RETRY_MIN_MS;
+    everConnected = false;
+    closeSource();
+  };
+
+  return {
+    connected,
+    subscribe,
+    disconnect
+  };
+});